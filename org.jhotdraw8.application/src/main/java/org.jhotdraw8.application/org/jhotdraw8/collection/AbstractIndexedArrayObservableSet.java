@@ -12,13 +12,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -63,26 +67,114 @@ public abstract class AbstractIndexedArrayObservableSet<E> extends ObservableLis
         setAll(col);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Replaces the backing array in a single step, and fires a single
+     * change event.
+     */
     @Override
     public boolean setAll(@NonNull Collection<? extends E> col) {
+        final LinkedHashSet<E> newElements = toAddableElements(col);
+        final List<E> oldElements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            oldElements.add(elementData(i));
+        }
+        final Object[] newData = newElements.toArray();
+        final boolean changed = !Arrays.equals(data, 0, size, newData, 0, newData.length);
+        data = newData;
+        size = newData.length;
         beginChange();
         try {
-            clear();
-            addAll(col);
+            if (changed) {
+                if (oldElements.isEmpty()) {
+                    nextAdd(0, size);
+                } else if (size == 0) {
+                    nextRemove(0, oldElements);
+                } else {
+                    nextReplace(0, size, oldElements);
+                }
+                ++modCount;
+            }
+            for (E e : oldElements) {
+                onRemoved(e);
+            }
+            for (E e : newElements) {
+                onAdded(e);
+            }
         } finally {
             endChange();
         }
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Adds the elements in a single step, and fires a single change event.
+     * An element that is already in this set is moved to the end of the set,
+     * as if it had been added with {@link #add(Object)}.
+     */
     @Override
     public boolean addAll(@NonNull Collection<? extends E> c) {
+        final LinkedHashSet<E> newElements = toAddableElements(c);
+        if (newElements.isEmpty()) {
+            return false;
+        }
+
+        // Find the elements that are already in this set
+        boolean mustSearch = false;
+        for (E e : newElements) {
+            if (!Boolean.FALSE.equals(onContains(e))) {
+                mustSearch = true;
+                break;
+            }
+        }
+        final Set<Object> moved = new HashSet<>();
+        if (mustSearch) {
+            for (int i = 0; i < size; i++) {
+                if (newElements.contains(data[i])) {
+                    moved.add(data[i]);
+                }
+            }
+        }
+        final int movedCount = moved.size();
+        if (movedCount > 0 && movedCount == newElements.size()) {
+            // Check if the elements are already at the end of the set
+            int i = size - movedCount;
+            boolean atEnd = true;
+            for (E e : newElements) {
+                if (!Objects.equals(data[i++], e)) {
+                    atEnd = false;
+                    break;
+                }
+            }
+            if (atEnd) {
+                return false;
+            }
+        }
+
         beginChange();
         try {
-            return super.addAll(c);
+            if (movedCount > 0) {
+                compact(moved::contains, false);
+            }
+            final int from = size;
+            ensureCapacity(size + newElements.size());
+            for (E e : newElements) {
+                data[size++] = e;
+            }
+            nextAdd(from, size);
+            ++modCount;
+            for (E e : newElements) {
+                if (!moved.contains(e)) {
+                    onAdded(e);
+                }
+            }
         } finally {
             endChange();
         }
+        return movedCount < newElements.size();
     }
 
     @Override
@@ -95,26 +187,119 @@ public abstract class AbstractIndexedArrayObservableSet<E> extends ObservableLis
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Removes the elements in a single pass over the backing array, and
+     * fires a single change event.
+     */
     @Override
     public boolean removeAll(@NonNull Collection<?> c) {
+        if (isEmpty() || c.isEmpty()) {
+            return false;
+        }
+        final Collection<?> lookup = c instanceof Set<?> ? c : new HashSet<>(c);
         beginChange();
         try {
-            return super.removeAll(c);
+            return compact(lookup::contains, true) > 0;
         } finally {
             endChange();
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Removes the elements in a single pass over the backing array, and
+     * fires a single change event.
+     */
     @Override
     public boolean retainAll(@NonNull Collection<?> c) {
+        if (isEmpty()) {
+            return false;
+        }
+        final Collection<?> lookup = c instanceof Set<?> ? c : new HashSet<>(c);
         beginChange();
         try {
-            return super.retainAll(c);
+            return compact(o -> !lookup.contains(o), true) > 0;
         } finally {
             endChange();
         }
     }
 
+    /**
+     * Removes all elements that match the specified predicate in a single
+     * pass over the backing array.
+     * <p>
+     * Must be called between {@link #beginChange()} and {@link #endChange()}.
+     * Reports one removal for each run of adjacent removed elements.
+     *
+     * @param isRemoved      the predicate
+     * @param notifySubclass whether {@link #onRemoved} is invoked for the
+     *                       removed elements
+     * @return the number of removed elements
+     */
+    private int compact(@NonNull Predicate<Object> isRemoved, boolean notifySubclass) {
+        final Object[] data = this.data;
+        List<E> removed = null;
+        List<E> run = null;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked") final E e = (E) data[i];
+            if (isRemoved.test(e)) {
+                if (run == null) {
+                    run = new ArrayList<>();
+                }
+                run.add(e);
+            } else {
+                if (run != null) {
+                    nextRemove(j, run);
+                    if (removed == null) {
+                        removed = new ArrayList<>();
+                    }
+                    removed.addAll(run);
+                    run = null;
+                }
+                data[j++] = e;
+            }
+        }
+        if (run != null) {
+            nextRemove(j, run);
+            if (removed == null) {
+                removed = new ArrayList<>();
+            }
+            removed.addAll(run);
+        }
+        if (removed == null) {
+            return 0;
+        }
+        Arrays.fill(data, j, size, null);
+        size = j;
+        ++modCount;
+        if (notifySubclass) {
+            for (E e : removed) {
+                onRemoved(e);
+            }
+        }
+        return removed.size();
+    }
+
+    /**
+     * Returns the distinct elements of the specified collection that
+     * may be added to this set. If an element occurs more than once, its
+     * last occurrence determines its position.
+     */
+    private @NonNull LinkedHashSet<E> toAddableElements(@NonNull Collection<? extends E> c) {
+        final LinkedHashSet<E> elements = new LinkedHashSet<>(max(16, c.size() * 2));
+        for (E e : c) {
+            if (mayBeAdded(e) && !elements.add(e)) {
+                elements.remove(e);
+                elements.add(e);
+            }
+        }
+        return elements;
+    }
+
     @Override
     public void add(int index, E element) {
         doAdd(index, element);
@@ -260,7 +445,7 @@ public abstract class AbstractIndexedArrayObservableSet<E> extends ObservableLis
             for (int i = fromIndex; i < toIndex; i++) {
                 removed.add((E) data[i]);
             }
-            System.arraycopy(data, fromIndex, data, toIndex, size - fromIndex - 1);
+            System.arraycopy(data, toIndex, data, fromIndex, size - toIndex);
             for (int i = size - removedCount; i < size; i++) {
                 data[i] = null;
             }
@@ -0,0 +1,260 @@
+/*
+ * @(#)AbstractOffHeapArrayList.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * Abstract base class for array lists of primitive elements that are
+ * stored outside the Java heap.
+ * <p>
+ * The elements are stored in direct byte buffers of a fixed size
+ * ("chunks"). The list grows by allocating additional chunks, so that
+ * existing elements are never copied when the list grows. The garbage
+ * collector does not need to scan or move the elements.
+ * <p>
+ * The list must be closed when it is no longer needed. Closing the list
+ * releases all references to its chunks, so that their memory can be freed.
+ * Note that the memory of a direct byte buffer is freed when the buffer
+ * has been garbage collected.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <E> the boxed element type
+ */
+abstract class AbstractOffHeapArrayList<E> extends AbstractList<E> implements AutoCloseable {
+    private static final ByteBuffer[] EMPTY = new ByteBuffer[0];
+    /**
+     * Number of bits needed to address an element inside a chunk.
+     */
+    static final int CHUNK_SHIFT = 16;
+    /**
+     * Number of elements in a chunk.
+     */
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * Number of bits needed to address a byte inside an element.
+     */
+    private final int elementShift;
+    private ByteBuffer @NonNull [] chunks = EMPTY;
+    private int numChunks;
+    private boolean closed;
+    /**
+     * Holds the size of the list. Invariant: size >= 0.
+     */
+    int size;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param elementShift    number of bits needed to address a byte inside
+     *                        an element: 2 for 4-byte elements, 3 for 8-byte
+     *                        elements
+     * @param initialCapacity the initial capacity
+     */
+    AbstractOffHeapArrayList(int elementShift, int initialCapacity) {
+        this.elementShift = elementShift;
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity=" + initialCapacity);
+        }
+        grow(initialCapacity);
+    }
+
+    /**
+     * Returns the chunk that contains the element with the specified index.
+     *
+     * @param index an element index
+     * @return the chunk
+     */
+    final @NonNull ByteBuffer chunk(int index) {
+        return chunks[index >>> CHUNK_SHIFT];
+    }
+
+    /**
+     * Returns the byte offset of the element with the specified index
+     * inside its chunk.
+     *
+     * @param index an element index
+     * @return the byte offset
+     */
+    final int offset(int index) {
+        return (index & CHUNK_MASK) << elementShift;
+    }
+
+    /**
+     * Ensures that this list can hold the specified number of elements.
+     *
+     * @param capacity the desired capacity
+     * @throws IllegalStateException if this list has been closed
+     */
+    final void grow(int capacity) {
+        if (closed) {
+            throw new IllegalStateException("List is closed.");
+        }
+        int neededChunks = (int) (((long) capacity + CHUNK_MASK) >>> CHUNK_SHIFT);
+        if (neededChunks > numChunks) {
+            if (neededChunks > chunks.length) {
+                chunks = Arrays.copyOf(chunks, Math.max(neededChunks, chunks.length * 2));
+            }
+            for (int i = numChunks; i < neededChunks; i++) {
+                chunks[i] = ByteBuffer.allocateDirect(CHUNK_SIZE << elementShift).order(ByteOrder.nativeOrder());
+            }
+            numChunks = neededChunks;
+        }
+    }
+
+    /**
+     * Moves the elements in the range {@code [from, size)} by the
+     * specified distance. This list must have the capacity for the
+     * moved elements.
+     *
+     * @param from     index of the first element to be moved
+     * @param distance the distance, a positive value moves the elements
+     *                 towards the end of the list
+     */
+    final void shift(int from, int distance) {
+        if (elementShift == 2) {
+            if (distance > 0) {
+                for (int i = size - 1; i >= from; i--) {
+                    chunk(i + distance).putInt(offset(i + distance), chunk(i).getInt(offset(i)));
+                }
+            } else {
+                for (int i = from; i < size; i++) {
+                    chunk(i + distance).putInt(offset(i + distance), chunk(i).getInt(offset(i)));
+                }
+            }
+        } else {
+            if (distance > 0) {
+                for (int i = size - 1; i >= from; i--) {
+                    chunk(i + distance).putLong(offset(i + distance), chunk(i).getLong(offset(i)));
+                }
+            } else {
+                for (int i = from; i < size; i++) {
+                    chunk(i + distance).putLong(offset(i + distance), chunk(i).getLong(offset(i)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a view on the specified chunk in native byte order.
+     * The position of the view is 0 and its limit is the capacity of
+     * the chunk.
+     *
+     * @param chunkIndex the index of a chunk
+     * @return a view on the chunk
+     */
+    final @NonNull ByteBuffer chunkView(int chunkIndex) {
+        return chunks[chunkIndex].duplicate().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns the number of chunks that hold the elements of this list.
+     *
+     * @return the number of chunks in use
+     */
+    final int usedChunks() {
+        return (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+    }
+
+    /**
+     * Returns the number of elements in the specified chunk.
+     *
+     * @param chunkIndex the index of a chunk
+     * @return the number of elements in the chunk
+     */
+    final int usedElements(int chunkIndex) {
+        return Math.min(CHUNK_SIZE, size - (chunkIndex << CHUNK_SHIFT));
+    }
+
+    /**
+     * Returns zero-copy views on the elements of this list in native byte
+     * order, one view per chunk. The views can be passed to a
+     * {@link java.nio.channels.GatheringByteChannel}.
+     * <p>
+     * The views share their content with this list. They must not be
+     * used after the list has been modified structurally or closed.
+     *
+     * @return the views
+     */
+    public ByteBuffer @NonNull [] asByteBuffers() {
+        ByteBuffer[] views = new ByteBuffer[usedChunks()];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = chunkView(i);
+            views[i].limit(usedElements(i) << elementShift);
+        }
+        return views;
+    }
+
+    /**
+     * Clears the list in O(1). Keeps the capacity of the list.
+     */
+    @Override
+    public void clear() {
+        // Performance: do not fill the chunks with 0 values
+        size = 0;
+    }
+
+    /**
+     * Closes this list. Releases all chunks and sets the size of the list
+     * to 0. Adding elements to a closed list throws an
+     * {@link IllegalStateException}.
+     * <p>
+     * Closing a list that is already closed has no effect.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        chunks = EMPTY;
+        numChunks = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns true if this list has been closed.
+     *
+     * @return true if closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns true if size==0.
+     *
+     * @return true if empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the size
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Trims the capacity of the list to its current size, by releasing
+     * chunks that do not hold any elements.
+     */
+    public void trimToSize() {
+        int used = usedChunks();
+        Arrays.fill(chunks, used, numChunks, null);
+        numChunks = used;
+    }
+}
@@ -22,6 +22,9 @@ public class ImmutableLists {
         if (collection == null || collection.isEmpty()) {
             return of(item);
         }
+        if (collection instanceof PersistentTrieList) {
+            return ((PersistentTrieList<T>) collection).copyAdd(item);
+        }
         Object[] a = new Object[collection.size() + 1];
         a = collection.toArray(a);
         a[a.length - 1] = item;
@@ -55,6 +58,9 @@ public class ImmutableLists {
         if (collection == null || collection.isEmpty() && index == 0) {
             return of(item);
         }
+        if (collection instanceof PersistentTrieList) {
+            return ((PersistentTrieList<T>) collection).copyAdd(index, item);
+        }
         Object[] a = new Object[collection.size()];
         a = collection.toArray(a);
         Object[] b = new Object[a.length + 1];
@@ -136,6 +142,9 @@ public class ImmutableLists {
         if (collection == null || collection.size() == 1 && index == 0) {
             return emptyList();
         }
+        if (collection instanceof PersistentTrieList) {
+            return ((PersistentTrieList<T>) collection).copyRemoveAt(index);
+        }
         Object[] a = new Object[collection.size()];
         a = collection.toArray(a);
         Object[] b = new Object[a.length - 1];
@@ -172,6 +181,9 @@ public class ImmutableLists {
     }
 
     public static @NonNull <T> ImmutableList<T> set(@NonNull ReadOnlyCollection<T> collection, int index, T item) {
+        if (collection instanceof PersistentTrieList) {
+            return ((PersistentTrieList<T>) collection).copySet(index, item);
+        }
         Object[] a = new Object[collection.size()];
         a = collection.toArray(a);
         a[index] = item;
@@ -0,0 +1,157 @@
+/*
+ * @(#)IndexedStringTable.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+import org.jhotdraw8.util.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * Interns strings into consecutive {@code int} indices.
+ * <p>
+ * The first string that is interned gets index 0, the second gets index 1,
+ * and so on. Interning a string that is already in the table returns its
+ * existing index.
+ * <p>
+ * The table does not box indices: it consists of an array with the strings
+ * in index order, and an open-addressing hash table with linear probing
+ * that maps the hash code of a string to its index.
+ *
+ * @author Werner Randelshofer
+ */
+public class IndexedStringTable {
+    private final static String[] EMPTY = new String[0];
+    /**
+     * The strings in index order.
+     */
+    private @NonNull String[] strings;
+    /**
+     * The hash table. Each slot holds the index of a string plus 1,
+     * or 0 if the slot is empty. The length is a power of two.
+     */
+    private @NonNull int[] table;
+    /**
+     * Holds the number of strings in the table.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty instance.
+     */
+    public IndexedStringTable() {
+        this(16);
+    }
+
+    /**
+     * Creates a new empty instance with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity
+     */
+    public IndexedStringTable(int initialCapacity) {
+        strings = initialCapacity == 0 ? EMPTY : new String[initialCapacity];
+        table = new int[tableSizeFor(initialCapacity)];
+    }
+
+    private static int tableSizeFor(int capacity) {
+        // keep the load factor at or below 0.5
+        return Math.max(16, Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) << 1);
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the index of the specified string. Adds the string to the table
+     * if it is not yet present.
+     *
+     * @param str a string
+     * @return the index of the string
+     */
+    public int intern(@NonNull String str) {
+        final int mask = table.length - 1;
+        int slot = mix(str.hashCode()) & mask;
+        for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (strings[entry - 1].equals(str)) {
+                return entry - 1;
+            }
+        }
+        final int index = size;
+        if (index == strings.length) {
+            strings = (String[]) ListHelper.grow(size, Math.max(16, size * 2), 1, strings);
+        }
+        strings[size++] = str;
+        table[slot] = index + 1;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the specified string.
+     *
+     * @param str a string
+     * @return the index of the string or -1 if the string is not in the table
+     */
+    public int indexOf(@Nullable String str) {
+        if (str == null) {
+            return -1;
+        }
+        final int mask = table.length - 1;
+        for (int slot = mix(str.hashCode()) & mask, entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (strings[entry - 1].equals(str)) {
+                return entry - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the string with the specified index.
+     *
+     * @param index an index
+     * @return the string
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public @NonNull String get(int index) {
+        Preconditions.checkIndex(index, size);
+        return strings[index];
+    }
+
+    /**
+     * Returns the number of strings in the table.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all strings from the table. Retains the allocated capacity,
+     * so that the table can be reused.
+     */
+    public void clear() {
+        Arrays.fill(strings, 0, size, null);
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+
+    private void rehash(int newTableSize) {
+        final int[] newTable = new int[newTableSize];
+        final int mask = newTableSize - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = mix(strings[i].hashCode()) & mask;
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newTable[slot] = i + 1;
+        }
+        table = newTable;
+    }
+}
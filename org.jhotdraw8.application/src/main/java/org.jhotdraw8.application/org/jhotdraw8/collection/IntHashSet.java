@@ -0,0 +1,234 @@
+/*
+ * @(#)IntHashSet.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+
+/**
+ * A lightweight hash set of int elements for performance critical code.
+ * <p>
+ * This set uses open addressing with linear probing, and removes elements
+ * with backward shifting, so that no tombstones are needed. It does not
+ * box its elements.
+ * <p>
+ * Unlike {@link DenseIntSet8Bit}, this set is suited for sparse elements.
+ * Clearing the set keeps its capacity, so that the set can be reused
+ * without allocating a new array.
+ */
+public class IntHashSet implements IntSet {
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * The element 0 marks a free slot. The element 0 is stored outside
+     * of the table.
+     */
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+    private int mask;
+    private int maxFill;
+    /**
+     * Holds the number of elements in the table, excluding the element 0.
+     */
+    private int tableSize;
+    private boolean hasZeroKey;
+
+    /**
+     * Creates a new empty set.
+     */
+    public IntHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty set that can hold the specified number of elements
+     * without growing.
+     *
+     * @param expectedSize the expected number of elements
+     */
+    public IntHashSet(int expectedSize) {
+        allocate(PrimitiveHashing.tableSize(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        maxFill = PrimitiveHashing.maxFill(capacity);
+    }
+
+    @Override
+    public boolean addAsInt(int e) {
+        if (e == FREE_KEY) {
+            boolean added = !hasZeroKey;
+            hasZeroKey = true;
+            return added;
+        }
+        int pos = find(e);
+        if (pos >= 0) {
+            return false;
+        }
+        keys[-pos - 1] = e;
+        if (++tableSize > maxFill) {
+            rehash(PrimitiveHashing.grow(keys.length));
+        }
+        return true;
+    }
+
+    /**
+     * Removes all elements from this set. Keeps the capacity of the set.
+     */
+    @Override
+    public void clear() {
+        if (tableSize != 0) {
+            Arrays.fill(keys, FREE_KEY);
+            tableSize = 0;
+        }
+        hasZeroKey = false;
+    }
+
+    @Override
+    public boolean containsAsInt(int e) {
+        return e == FREE_KEY ? hasZeroKey : find(e) >= 0;
+    }
+
+    /**
+     * Returns an enumerator over the elements of this set.
+     * <p>
+     * The set must not be modified while the enumerator is in use.
+     *
+     * @return a new enumerator
+     */
+    public @NonNull IntEnumerator enumerator() {
+        return new AbstractIntEnumerator(size(), Spliterator.SIZED | Spliterator.DISTINCT) {
+            /**
+             * The current slot; -1 is the element 0.
+             */
+            private int pos = -2;
+
+            @Override
+            public boolean moveNext() {
+                if (pos == -2) {
+                    pos = -1;
+                    if (hasZeroKey) {
+                        current = FREE_KEY;
+                        return true;
+                    }
+                }
+                final int[] keys = IntHashSet.this.keys;
+                while (++pos < keys.length) {
+                    if (keys[pos] != FREE_KEY) {
+                        current = keys[pos];
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the slot of the specified element, or
+     * {@code -insertionSlot - 1} if the set does not contain the element.
+     */
+    private int find(int e) {
+        final int[] keys = this.keys;
+        for (int pos = PrimitiveHashing.mix(e) & mask; ; pos = (pos + 1) & mask) {
+            int k = keys[pos];
+            if (k == e) {
+                return pos;
+            }
+            if (k == FREE_KEY) {
+                return -pos - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns true if this set is empty.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private void rehash(int capacity) {
+        final int[] oldKeys = keys;
+        allocate(capacity);
+        for (int k : oldKeys) {
+            if (k != FREE_KEY) {
+                int pos = PrimitiveHashing.mix(k) & mask;
+                while (keys[pos] != FREE_KEY) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = k;
+            }
+        }
+    }
+
+    @Override
+    public boolean removeAsInt(int e) {
+        if (e == FREE_KEY) {
+            boolean removed = hasZeroKey;
+            hasZeroKey = false;
+            return removed;
+        }
+        int pos = find(e);
+        if (pos < 0) {
+            return false;
+        }
+        shiftKeys(pos);
+        tableSize--;
+        return true;
+    }
+
+    /**
+     * Removes the element at the specified slot, and shifts the elements
+     * that follow it in the probe sequence backwards.
+     */
+    private void shiftKeys(int pos) {
+        final int[] keys = this.keys;
+        for (; ; ) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            int k;
+            for (; ; pos = (pos + 1) & mask) {
+                k = keys[pos];
+                if (k == FREE_KEY) {
+                    keys[last] = FREE_KEY;
+                    return;
+                }
+                int slot = PrimitiveHashing.mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+            }
+            keys[last] = k;
+        }
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return the size
+     */
+    public int size() {
+        return hasZeroKey ? tableSize + 1 : tableSize;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("[");
+        for (IntEnumerator e = enumerator(); e.moveNext(); ) {
+            if (b.length() > 1) {
+                b.append(", ");
+            }
+            b.append(e.currentAsInt());
+        }
+        return b.append(']').toString();
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * @(#)LongObjectHashMap.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.LongFunction;
+
+/**
+ * A lightweight hash map from long keys to object values for performance
+ * critical code.
+ * <p>
+ * This map uses open addressing with linear probing, and removes entries
+ * with backward shifting, so that no tombstones are needed. It does not
+ * box its keys.
+ * <p>
+ * Clearing the map keeps its capacity, so that the map can be reused
+ * without allocating new arrays.
+ *
+ * @param <V> the value type
+ */
+public class LongObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * The key 0 marks a free slot. The entry with key 0 is stored outside
+     * of the table.
+     */
+    private static final long FREE_KEY = 0;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int maxFill;
+    /**
+     * Holds the number of entries in the table, excluding the entry with
+     * key 0.
+     */
+    private int tableSize;
+    private boolean hasZeroKey;
+    private @Nullable V zeroValue;
+
+    /**
+     * Creates a new empty map.
+     */
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty map that can hold the specified number of entries
+     * without growing.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    public LongObjectHashMap(int expectedSize) {
+        allocate(PrimitiveHashing.tableSize(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        maxFill = PrimitiveHashing.maxFill(capacity);
+    }
+
+    /**
+     * Removes all entries from this map. Keeps the capacity of the map.
+     */
+    public void clear() {
+        if (tableSize != 0) {
+            Arrays.fill(keys, FREE_KEY);
+            Arrays.fill(values, null);
+            tableSize = 0;
+        }
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    /**
+     * Returns the value of the specified key. If this map does not contain
+     * the key, computes the value with the specified function and puts it
+     * into the map.
+     *
+     * @param key             a key
+     * @param mappingFunction the mapping function
+     * @return the value
+     */
+    public V computeIfAbsent(long key, @NonNull LongFunction<? extends V> mappingFunction) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                zeroValue = mappingFunction.apply(key);
+                hasZeroKey = true;
+            }
+            return zeroValue;
+        }
+        int pos = find(key);
+        if (pos >= 0) {
+            @SuppressWarnings("unchecked")
+            V value = (V) values[pos];
+            return value;
+        }
+        V value = mappingFunction.apply(key);
+        // the mapping function must not modify this map
+        insert(-pos - 1, key, value);
+        return value;
+    }
+
+    /**
+     * Returns true if this map contains the specified key.
+     *
+     * @param key a key
+     * @return true if this map contains the key
+     */
+    public boolean containsKey(long key) {
+        return key == FREE_KEY ? hasZeroKey : find(key) >= 0;
+    }
+
+    /**
+     * Returns a cursor over the entries of this map.
+     * <p>
+     * The map must not be structurally modified while the cursor is in use.
+     *
+     * @return a new cursor
+     */
+    public @NonNull Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the slot of the specified key, or {@code -insertionSlot - 1}
+     * if the map does not contain the key.
+     */
+    private int find(long key) {
+        final long[] keys = this.keys;
+        for (int pos = PrimitiveHashing.mix(key) & mask; ; pos = (pos + 1) & mask) {
+            long k = keys[pos];
+            if (k == key) {
+                return pos;
+            }
+            if (k == FREE_KEY) {
+                return -pos - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the specified key, or null if this map does not
+     * contain the key.
+     *
+     * @param key a key
+     * @return the value or null
+     */
+    public @Nullable V get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Returns the value of the specified key, or the default value if this
+     * map does not contain the key.
+     *
+     * @param key          a key
+     * @param defaultValue the default value
+     * @return the value
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        final long[] keys = this.keys;
+        for (int pos = PrimitiveHashing.mix(key) & mask; ; pos = (pos + 1) & mask) {
+            long k = keys[pos];
+            if (k == key) {
+                return (V) values[pos];
+            }
+            if (k == FREE_KEY) {
+                return defaultValue;
+            }
+        }
+    }
+
+    private void insert(int pos, long key, @Nullable V value) {
+        keys[pos] = key;
+        values[pos] = value;
+        if (++tableSize > maxFill) {
+            rehash(PrimitiveHashing.grow(keys.length));
+        }
+    }
+
+    /**
+     * Returns true if this map is empty.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Associates the specified value with the specified key.
+     *
+     * @param key   a key
+     * @param value a value
+     * @return the previous value of the key, or null if the map did not
+     * contain the key
+     */
+    public @Nullable V put(long key, @Nullable V value) {
+        if (key == FREE_KEY) {
+            V previous = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+        int pos = find(key);
+        if (pos >= 0) {
+            @SuppressWarnings("unchecked")
+            V previous = (V) values[pos];
+            values[pos] = value;
+            return previous;
+        }
+        insert(-pos - 1, key, value);
+        return null;
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k != FREE_KEY) {
+                int pos = PrimitiveHashing.mix(k) & mask;
+                while (keys[pos] != FREE_KEY) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = k;
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Removes the specified key from this map.
+     *
+     * @param key a key
+     * @return the removed value, or null if the map did not contain the key
+     */
+    public @Nullable V remove(long key) {
+        if (key == FREE_KEY) {
+            V removed = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            return removed;
+        }
+        int pos = find(key);
+        if (pos < 0) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        V removed = (V) values[pos];
+        shiftKeys(pos);
+        tableSize--;
+        return removed;
+    }
+
+    /**
+     * Removes the entry at the specified slot, and shifts the entries that
+     * follow it in the probe sequence backwards.
+     */
+    private void shiftKeys(int pos) {
+        final long[] keys = this.keys;
+        for (; ; ) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            long k;
+            for (; ; pos = (pos + 1) & mask) {
+                k = keys[pos];
+                if (k == FREE_KEY) {
+                    keys[last] = FREE_KEY;
+                    values[last] = null;
+                    return;
+                }
+                int slot = PrimitiveHashing.mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    /**
+     * Returns the number of entries in this map.
+     *
+     * @return the size
+     */
+    public int size() {
+        return hasZeroKey ? tableSize + 1 : tableSize;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("{");
+        for (Cursor c = cursor(); c.moveNext(); ) {
+            if (b.length() > 1) {
+                b.append(", ");
+            }
+            b.append(c.key()).append('=').append(c.value());
+        }
+        return b.append('}').toString();
+    }
+
+    /**
+     * A cursor over the entries of an {@link LongObjectHashMap}.
+     * <p>
+     * Usage:
+     * <pre>
+     * for (LongObjectHashMap&lt;V&gt;.Cursor c = map.cursor(); c.moveNext(); ) {
+     *     long key = c.key();
+     *     V value = c.value();
+     * }
+     * </pre>
+     */
+    public final class Cursor {
+        /**
+         * The current slot; -1 is the entry with key 0.
+         */
+        private int pos = -2;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves the cursor to the next entry.
+         *
+         * @return true on success, false if there are no more entries
+         */
+        public boolean moveNext() {
+            if (pos == -2) {
+                pos = -1;
+                if (hasZeroKey) {
+                    return true;
+                }
+            }
+            final long[] keys = LongObjectHashMap.this.keys;
+            while (++pos < keys.length) {
+                if (keys[pos] != FREE_KEY) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the key of the current entry.
+         *
+         * @return the key
+         */
+        public long key() {
+            checkCurrent();
+            return pos == -1 ? FREE_KEY : keys[pos];
+        }
+
+        /**
+         * Returns the value of the current entry.
+         *
+         * @return the value
+         */
+        @SuppressWarnings("unchecked")
+        public V value() {
+            checkCurrent();
+            return pos == -1 ? zeroValue : (V) values[pos];
+        }
+
+        /**
+         * Sets the value of the current entry.
+         *
+         * @param value the new value
+         */
+        public void setValue(@Nullable V value) {
+            checkCurrent();
+            if (pos == -1) {
+                zeroValue = value;
+            } else {
+                values[pos] = value;
+            }
+        }
+
+        private void checkCurrent() {
+            if (pos < -1 || pos >= keys.length) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+}
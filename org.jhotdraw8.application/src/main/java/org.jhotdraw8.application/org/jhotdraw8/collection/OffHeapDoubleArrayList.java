@@ -0,0 +1,324 @@
+/*
+ * @(#)OffHeapDoubleArrayList.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.util.Preconditions;
+
+import java.nio.DoubleBuffer;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A double array list that stores its elements outside the Java heap.
+ * <p>
+ * Use this list instead of {@link DoubleArrayList} for very large lists:
+ * the list grows without copying its elements, and the elements do not
+ * add to the garbage collection pause times.
+ * <p>
+ * The list must be closed when it is no longer needed:
+ * <pre>{@code
+ * try (OffHeapDoubleArrayList list = new OffHeapDoubleArrayList()) {
+ *     ...
+ * }
+ * }</pre>
+ * <p>
+ * Performance characteristics:
+ * <ul>
+ *     <li>{@code addAsDouble}, {@code getAsDouble}, {@code setAsDouble}: O(1)</li>
+ *     <li>{@code addAsDouble(index, e)}, {@code removeAtAsDouble}: O(n)</li>
+ * </ul>
+ */
+public class OffHeapDoubleArrayList extends AbstractOffHeapArrayList<Double> {
+
+    /**
+     * Creates a new empty instance with 0 initial capacity.
+     */
+    public OffHeapDoubleArrayList() {
+        this(0);
+    }
+
+    /**
+     * Creates a new empty instance with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity
+     */
+    public OffHeapDoubleArrayList(int initialCapacity) {
+        super(3, initialCapacity);
+    }
+
+    /**
+     * Adds a new item to the end of the list.
+     *
+     * @param newItem the new item
+     */
+    public void addAsDouble(double newItem) {
+        grow(size + 1);
+        chunk(size).putDouble(offset(size), newItem);
+        size++;
+    }
+
+    /**
+     * Inserts a new item at the specified index into this list.
+     *
+     * @param index   the index
+     * @param newItem the new item
+     */
+    public void addAsDouble(int index, double newItem) {
+        Preconditions.checkIndex(index, size + 1);
+        grow(size + 1);
+        shift(index, 1);
+        chunk(index).putDouble(offset(index), newItem);
+        size++;
+    }
+
+    /**
+     * Adds all remaining items of the specified buffer to this list.
+     * Advances the position of the buffer to its limit.
+     *
+     * @param src the source buffer
+     */
+    public void addAllAsDouble(@NonNull DoubleBuffer src) {
+        grow(size + src.remaining());
+        while (src.hasRemaining()) {
+            int length = Math.min(CHUNK_SIZE - (size & CHUNK_MASK), src.remaining());
+            DoubleBuffer dst = chunkView(size >>> CHUNK_SHIFT).asDoubleBuffer();
+            dst.position(size & CHUNK_MASK);
+            DoubleBuffer part = src.duplicate();
+            part.limit(part.position() + length);
+            dst.put(part);
+            src.position(src.position() + length);
+            size += length;
+        }
+    }
+
+    /**
+     * Adds the specified items of the array to this list.
+     *
+     * @param array  an array
+     * @param offset the index of the first item in the array
+     * @param length the number of items
+     */
+    public void addAllAsDouble(double @NonNull [] array, int offset, int length) {
+        Preconditions.checkFromIndexSize(offset, length, array.length);
+        addAllAsDouble(DoubleBuffer.wrap(array, offset, length));
+    }
+
+    @Override
+    public boolean add(Double e) {
+        addAsDouble(e);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Double e) {
+        addAsDouble(index, e);
+    }
+
+    /**
+     * Returns zero-copy views on the elements of this list, one view per
+     * chunk. The views can be used for bulk I/O.
+     * <p>
+     * The views share their content with this list. They must not be
+     * used after the list has been modified structurally or closed.
+     *
+     * @return the views
+     */
+    public DoubleBuffer @NonNull [] asDoubleBuffers() {
+        DoubleBuffer[] views = new DoubleBuffer[usedChunks()];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = chunkView(i).asDoubleBuffer();
+            views[i].limit(usedElements(i));
+        }
+        return views;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof Double) {
+            return indexOfAsDouble((double) o) != -1;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the item at the specified index.
+     *
+     * @param index an index
+     * @return the item at the index
+     */
+    public double getAsDouble(int index) {
+        Preconditions.checkIndex(index, size);
+        return chunk(index).getDouble(offset(index));
+    }
+
+    @Override
+    public Double get(int index) {
+        return getAsDouble(index);
+    }
+
+    public double getFirstAsDouble() {
+        return getAsDouble(0);
+    }
+
+    public double getLastAsDouble() {
+        return getAsDouble(size - 1);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Double.hashCode(chunk(i).getDouble(offset(i)));
+        }
+        return result;
+    }
+
+    public int indexOfAsDouble(double item) {
+        for (int i = 0; i < size; i++) {
+            if (chunk(i).getDouble(offset(i)) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOfAsDouble(double item) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (chunk(i).getDouble(offset(i)) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns an iterator for this list.
+     *
+     * @return an iterator over the elements of this list
+     */
+    @Override
+    public @NonNull PrimitiveIterator.OfDouble iterator() {
+        return new PrimitiveIterator.OfDouble() {
+            private int index = 0;
+            private final int size = OffHeapDoubleArrayList.this.size;
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int i = index++;
+                return chunk(i).getDouble(offset(i));
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+        };
+    }
+
+    /**
+     * Returns a spliterator for this list.
+     *
+     * @return a spliterator over the elements of this list
+     */
+    @Override
+    public @NonNull Spliterator.OfDouble spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a stream for processing the items of this list.
+     *
+     * @return a stream
+     */
+    public @NonNull DoubleStream doubleStream() {
+        return StreamSupport.doubleStream(spliterator(), false);
+    }
+
+    /**
+     * Removes the item at the specified index from this list.
+     *
+     * @param index an index
+     * @return the removed item
+     */
+    public double removeAtAsDouble(int index) {
+        Preconditions.checkIndex(index, size);
+        double removedItem = chunk(index).getDouble(offset(index));
+        shift(index + 1, -1);
+        --size;
+        return removedItem;
+    }
+
+    @Override
+    public Double remove(int index) {
+        return removeAtAsDouble(index);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o instanceof Double) {
+            int index = indexOfAsDouble((double) o);
+            if (index != -1) {
+                removeAtAsDouble(index);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the last item
+     *
+     * @return the removed item
+     * @throws NoSuchElementException if the list is empty
+     */
+    public double removeLastAsDouble() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty.");
+        }
+        --size;
+        return chunk(size).getDouble(offset(size));
+    }
+
+    /**
+     * Replaces the item at the specified index.
+     *
+     * @param index   an index
+     * @param newItem the new item
+     * @return the old item
+     */
+    public double setAsDouble(int index, double newItem) {
+        Preconditions.checkIndex(index, size);
+        double removedItem = chunk(index).getDouble(offset(index));
+        chunk(index).putDouble(offset(index), newItem);
+        return removedItem;
+    }
+
+    @Override
+    public Double set(int index, Double e) {
+        return setAsDouble(index, e);
+    }
+
+    /**
+     * Returns a new array containing all the elements in this collection.
+     *
+     * @return array
+     */
+    public double @NonNull [] toDoubleArray() {
+        double[] result = new double[size];
+        DoubleBuffer[] views = asDoubleBuffers();
+        for (int i = 0; i < views.length; i++) {
+            views[i].get(result, i << CHUNK_SHIFT, views[i].remaining());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * @(#)OffHeapIntArrayList.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.util.Preconditions;
+
+import java.nio.IntBuffer;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An int array list that stores its elements outside the Java heap.
+ * <p>
+ * Use this list instead of {@link IntArrayList} for very large lists:
+ * the list grows without copying its elements, and the elements do not
+ * add to the garbage collection pause times.
+ * <p>
+ * The list must be closed when it is no longer needed:
+ * <pre>{@code
+ * try (OffHeapIntArrayList list = new OffHeapIntArrayList()) {
+ *     ...
+ * }
+ * }</pre>
+ * <p>
+ * Performance characteristics:
+ * <ul>
+ *     <li>{@code addAsInt}, {@code getAsInt}, {@code setAsInt}: O(1)</li>
+ *     <li>{@code addAsInt(index, e)}, {@code removeAtAsInt}: O(n)</li>
+ * </ul>
+ */
+public class OffHeapIntArrayList extends AbstractOffHeapArrayList<Integer> implements IntList {
+
+    /**
+     * Creates a new empty instance with 0 initial capacity.
+     */
+    public OffHeapIntArrayList() {
+        this(0);
+    }
+
+    /**
+     * Creates a new empty instance with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity
+     */
+    public OffHeapIntArrayList(int initialCapacity) {
+        super(2, initialCapacity);
+    }
+
+    /**
+     * Adds a new item to the end of the list.
+     *
+     * @param newItem the new item
+     */
+    @Override
+    public void addAsInt(int newItem) {
+        grow(size + 1);
+        chunk(size).putInt(offset(size), newItem);
+        size++;
+    }
+
+    /**
+     * Inserts a new item at the specified index into this list.
+     *
+     * @param index   the index
+     * @param newItem the new item
+     */
+    @Override
+    public void addAsInt(int index, int newItem) {
+        Preconditions.checkIndex(index, size + 1);
+        grow(size + 1);
+        shift(index, 1);
+        chunk(index).putInt(offset(index), newItem);
+        size++;
+    }
+
+    /**
+     * Adds all remaining items of the specified buffer to this list.
+     * Advances the position of the buffer to its limit.
+     *
+     * @param src the source buffer
+     */
+    public void addAllAsInt(@NonNull IntBuffer src) {
+        grow(size + src.remaining());
+        while (src.hasRemaining()) {
+            int length = Math.min(CHUNK_SIZE - (size & CHUNK_MASK), src.remaining());
+            IntBuffer dst = chunkView(size >>> CHUNK_SHIFT).asIntBuffer();
+            dst.position(size & CHUNK_MASK);
+            IntBuffer part = src.duplicate();
+            part.limit(part.position() + length);
+            dst.put(part);
+            src.position(src.position() + length);
+            size += length;
+        }
+    }
+
+    @Override
+    public void addLastAllAsInt(int @NonNull [] array, int offset, int length) {
+        Preconditions.checkFromIndexSize(offset, length, array.length);
+        addAllAsInt(IntBuffer.wrap(array, offset, length));
+    }
+
+    @Override
+    public boolean add(Integer e) {
+        addAsInt(e);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Integer e) {
+        addAsInt(index, e);
+    }
+
+    /**
+     * Returns zero-copy views on the elements of this list, one view per
+     * chunk. The views can be used for bulk I/O.
+     * <p>
+     * The views share their content with this list. They must not be
+     * used after the list has been modified structurally or closed.
+     *
+     * @return the views
+     */
+    public IntBuffer @NonNull [] asIntBuffers() {
+        IntBuffer[] views = new IntBuffer[usedChunks()];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = chunkView(i).asIntBuffer();
+            views[i].limit(usedElements(i));
+        }
+        return views;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof Integer) {
+            return indexOfAsInt((int) o) != -1;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the item at the specified index.
+     *
+     * @param index an index
+     * @return the item at the index
+     */
+    @Override
+    public int getAsInt(int index) {
+        Preconditions.checkIndex(index, size);
+        return chunk(index).getInt(offset(index));
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getAsInt(index);
+    }
+
+    @Override
+    public int getFirstAsInt() {
+        return getAsInt(0);
+    }
+
+    @Override
+    public int getLastAsInt() {
+        return getAsInt(size - 1);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + chunk(i).getInt(offset(i));
+        }
+        return result;
+    }
+
+    @Override
+    public int indexOfAsInt(int item) {
+        for (int i = 0; i < size; i++) {
+            if (chunk(i).getInt(offset(i)) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOfAsInt(int item) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (chunk(i).getInt(offset(i)) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns an iterator for this list.
+     *
+     * @return an iterator over the elements of this list
+     */
+    @Override
+    public @NonNull PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index = 0;
+            private final int size = OffHeapIntArrayList.this.size;
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int i = index++;
+                return chunk(i).getInt(offset(i));
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+        };
+    }
+
+    /**
+     * Returns a spliterator for this list.
+     *
+     * @return a spliterator over the elements of this list
+     */
+    @Override
+    public @NonNull Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a stream for processing the items of this list.
+     *
+     * @return a stream
+     */
+    public @NonNull IntStream intStream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    /**
+     * Removes the item at the specified index from this list.
+     *
+     * @param index an index
+     * @return the removed item
+     */
+    @Override
+    public int removeAtAsInt(int index) {
+        Preconditions.checkIndex(index, size);
+        int removedItem = chunk(index).getInt(offset(index));
+        shift(index + 1, -1);
+        --size;
+        return removedItem;
+    }
+
+    @Override
+    public Integer remove(int index) {
+        return removeAtAsInt(index);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o instanceof Integer) {
+            int index = indexOfAsInt((int) o);
+            if (index != -1) {
+                removeAtAsInt(index);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the last item
+     *
+     * @return the removed item
+     * @throws NoSuchElementException if the list is empty
+     */
+    @Override
+    public int removeLastAsInt() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty.");
+        }
+        --size;
+        return chunk(size).getInt(offset(size));
+    }
+
+    /**
+     * Replaces the item at the specified index.
+     *
+     * @param index   an index
+     * @param newItem the new item
+     * @return the old item
+     */
+    public int setAsInt(int index, int newItem) {
+        Preconditions.checkIndex(index, size);
+        int removedItem = chunk(index).getInt(offset(index));
+        chunk(index).putInt(offset(index), newItem);
+        return removedItem;
+    }
+
+    @Override
+    public Integer set(int index, Integer e) {
+        return setAsInt(index, e);
+    }
+
+    /**
+     * Returns a new array containing all the elements in this collection.
+     *
+     * @return array
+     */
+    public int @NonNull [] toIntArray() {
+        int[] result = new int[size];
+        IntBuffer[] views = asIntBuffers();
+        for (int i = 0; i < views.length; i++) {
+            views[i].get(result, i << CHUNK_SHIFT, views[i].remaining());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * @(#)OffHeapLongArrayList.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.util.Preconditions;
+
+import java.nio.LongBuffer;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A long array list that stores its elements outside the Java heap.
+ * <p>
+ * Use this list instead of {@link LongArrayList} for very large lists:
+ * the list grows without copying its elements, and the elements do not
+ * add to the garbage collection pause times.
+ * <p>
+ * The list must be closed when it is no longer needed:
+ * <pre>{@code
+ * try (OffHeapLongArrayList list = new OffHeapLongArrayList()) {
+ *     ...
+ * }
+ * }</pre>
+ * <p>
+ * Performance characteristics:
+ * <ul>
+ *     <li>{@code addAsLong}, {@code getAsLong}, {@code setAsLong}: O(1)</li>
+ *     <li>{@code addAsLong(index, e)}, {@code removeAtAsLong}: O(n)</li>
+ * </ul>
+ */
+public class OffHeapLongArrayList extends AbstractOffHeapArrayList<Long> {
+
+    /**
+     * Creates a new empty instance with 0 initial capacity.
+     */
+    public OffHeapLongArrayList() {
+        this(0);
+    }
+
+    /**
+     * Creates a new empty instance with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity
+     */
+    public OffHeapLongArrayList(int initialCapacity) {
+        super(3, initialCapacity);
+    }
+
+    /**
+     * Adds a new item to the end of the list.
+     *
+     * @param newItem the new item
+     */
+    public void addAsLong(long newItem) {
+        grow(size + 1);
+        chunk(size).putLong(offset(size), newItem);
+        size++;
+    }
+
+    /**
+     * Inserts a new item at the specified index into this list.
+     *
+     * @param index   the index
+     * @param newItem the new item
+     */
+    public void addAsLong(int index, long newItem) {
+        Preconditions.checkIndex(index, size + 1);
+        grow(size + 1);
+        shift(index, 1);
+        chunk(index).putLong(offset(index), newItem);
+        size++;
+    }
+
+    /**
+     * Adds all remaining items of the specified buffer to this list.
+     * Advances the position of the buffer to its limit.
+     *
+     * @param src the source buffer
+     */
+    public void addAllAsLong(@NonNull LongBuffer src) {
+        grow(size + src.remaining());
+        while (src.hasRemaining()) {
+            int length = Math.min(CHUNK_SIZE - (size & CHUNK_MASK), src.remaining());
+            LongBuffer dst = chunkView(size >>> CHUNK_SHIFT).asLongBuffer();
+            dst.position(size & CHUNK_MASK);
+            LongBuffer part = src.duplicate();
+            part.limit(part.position() + length);
+            dst.put(part);
+            src.position(src.position() + length);
+            size += length;
+        }
+    }
+
+    /**
+     * Adds the specified items of the array to this list.
+     *
+     * @param array  an array
+     * @param offset the index of the first item in the array
+     * @param length the number of items
+     */
+    public void addAllAsLong(long @NonNull [] array, int offset, int length) {
+        Preconditions.checkFromIndexSize(offset, length, array.length);
+        addAllAsLong(LongBuffer.wrap(array, offset, length));
+    }
+
+    @Override
+    public boolean add(Long e) {
+        addAsLong(e);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Long e) {
+        addAsLong(index, e);
+    }
+
+    /**
+     * Returns zero-copy views on the elements of this list, one view per
+     * chunk. The views can be used for bulk I/O.
+     * <p>
+     * The views share their content with this list. They must not be
+     * used after the list has been modified structurally or closed.
+     *
+     * @return the views
+     */
+    public LongBuffer @NonNull [] asLongBuffers() {
+        LongBuffer[] views = new LongBuffer[usedChunks()];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = chunkView(i).asLongBuffer();
+            views[i].limit(usedElements(i));
+        }
+        return views;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof Long) {
+            return indexOfAsLong((long) o) != -1;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the item at the specified index.
+     *
+     * @param index an index
+     * @return the item at the index
+     */
+    public long getAsLong(int index) {
+        Preconditions.checkIndex(index, size);
+        return chunk(index).getLong(offset(index));
+    }
+
+    @Override
+    public Long get(int index) {
+        return getAsLong(index);
+    }
+
+    public long getFirstAsLong() {
+        return getAsLong(0);
+    }
+
+    public long getLastAsLong() {
+        return getAsLong(size - 1);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Long.hashCode(chunk(i).getLong(offset(i)));
+        }
+        return result;
+    }
+
+    public int indexOfAsLong(long item) {
+        for (int i = 0; i < size; i++) {
+            if (chunk(i).getLong(offset(i)) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOfAsLong(long item) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (chunk(i).getLong(offset(i)) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns an iterator for this list.
+     *
+     * @return an iterator over the elements of this list
+     */
+    @Override
+    public @NonNull PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int index = 0;
+            private final int size = OffHeapLongArrayList.this.size;
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int i = index++;
+                return chunk(i).getLong(offset(i));
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+        };
+    }
+
+    /**
+     * Returns a spliterator for this list.
+     *
+     * @return a spliterator over the elements of this list
+     */
+    @Override
+    public @NonNull Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a stream for processing the items of this list.
+     *
+     * @return a stream
+     */
+    public @NonNull LongStream longStream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    /**
+     * Removes the item at the specified index from this list.
+     *
+     * @param index an index
+     * @return the removed item
+     */
+    public long removeAtAsLong(int index) {
+        Preconditions.checkIndex(index, size);
+        long removedItem = chunk(index).getLong(offset(index));
+        shift(index + 1, -1);
+        --size;
+        return removedItem;
+    }
+
+    @Override
+    public Long remove(int index) {
+        return removeAtAsLong(index);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o instanceof Long) {
+            int index = indexOfAsLong((long) o);
+            if (index != -1) {
+                removeAtAsLong(index);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the last item
+     *
+     * @return the removed item
+     * @throws NoSuchElementException if the list is empty
+     */
+    public long removeLastAsLong() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty.");
+        }
+        --size;
+        return chunk(size).getLong(offset(size));
+    }
+
+    /**
+     * Replaces the item at the specified index.
+     *
+     * @param index   an index
+     * @param newItem the new item
+     * @return the old item
+     */
+    public long setAsLong(int index, long newItem) {
+        Preconditions.checkIndex(index, size);
+        long removedItem = chunk(index).getLong(offset(index));
+        chunk(index).putLong(offset(index), newItem);
+        return removedItem;
+    }
+
+    @Override
+    public Long set(int index, Long e) {
+        return setAsLong(index, e);
+    }
+
+    /**
+     * Returns a new array containing all the elements in this collection.
+     *
+     * @return array
+     */
+    public long @NonNull [] toLongArray() {
+        long[] result = new long[size];
+        LongBuffer[] views = asLongBuffers();
+        for (int i = 0; i < views.length; i++) {
+            views[i].get(result, i << CHUNK_SHIFT, views[i].remaining());
+        }
+        return result;
+    }
+}
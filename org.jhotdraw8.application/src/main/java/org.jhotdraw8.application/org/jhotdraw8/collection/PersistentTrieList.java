@@ -0,0 +1,232 @@
+/*
+ * @(#)PersistentTrieList.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.TrieListHelper.LeafIterator;
+import org.jhotdraw8.collection.TrieListHelper.Node;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A persistent list that is based on a Relaxed Radix Balanced Tree
+ * (RRB-tree) with 32 children per node.
+ * <p>
+ * Performance characteristics:
+ * <ul>
+ *     <li>{@code get}: O(log₃₂ n)</li>
+ *     <li>{@code copySet}, {@code copyAdd}: O(log₃₂ n)</li>
+ *     <li>{@code copySubList}, {@code copyRemoveRange}: O(log₃₂ n)</li>
+ *     <li>{@code copyAddAll} of another {@code PersistentTrieList}: O(log₃₂ n)</li>
+ *     <li>{@code copyAdd(index, e)}, {@code copyRemoveAt}: O(log₃₂ n)</li>
+ * </ul>
+ * <p>
+ * Use {@link TrieList} to build a list with many elements.
+ *
+ * @param <E> the element type
+ */
+public class PersistentTrieList<E> extends AbstractReadOnlyList<E> implements PersistentList<E>, ImmutableList<E>, Serializable {
+    private final static long serialVersionUID = 0L;
+
+    private static final PersistentTrieList<?> EMPTY_LIST = new PersistentTrieList<>(TrieListHelper.emptyLeaf(), 0);
+
+    final @NonNull Node<E> root;
+    final int level;
+    final int size;
+
+    PersistentTrieList(@NonNull Node<E> root, int size) {
+        this.root = root;
+        this.level = TrieListHelper.levelOf(root);
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> @NonNull PersistentTrieList<E> copyOf(@NonNull Iterable<? extends E> list) {
+        if (list instanceof PersistentTrieList) {
+            return (PersistentTrieList<E>) list;
+        } else if (list instanceof TrieList) {
+            return ((TrieList<E>) list).toPersistent();
+        }
+        TrieList<E> tr = new TrieList<>();
+        tr.addAll(list);
+        return tr.toPersistent();
+    }
+
+    @SafeVarargs
+    public static <E> @NonNull PersistentTrieList<E> of(@NonNull E... elements) {
+        return copyOf(Arrays.asList(elements));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> @NonNull PersistentTrieList<E> of() {
+        return (PersistentTrieList<E>) EMPTY_LIST;
+    }
+
+    private @NonNull PersistentTrieList<E> concat(@NonNull PersistentTrieList<E> that) {
+        if (that.isEmpty()) {
+            return this;
+        }
+        if (this.isEmpty()) {
+            return that;
+        }
+        return new PersistentTrieList<>(TrieListHelper.concat(null, root, level, that.root, that.level),
+                size + that.size);
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copyClear(@NonNull E element) {
+        return isEmpty() ? this : of();
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copyAdd(@NonNull E element) {
+        return new PersistentTrieList<>(TrieListHelper.concat(null, root, level,
+                TrieListHelper.newLeafNode(null, new Object[]{element}), 0), size + 1);
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copyAdd(int index, @NonNull E element) {
+        Objects.checkIndex(index, size + 1);
+        if (index == size) {
+            return copyAdd(element);
+        }
+        return copySubList(0, index).copyAdd(element).concat(copySubList(index, size));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NonNull PersistentTrieList<E> copyAddAll(@NonNull Iterable<? extends E> c) {
+        if (c instanceof PersistentTrieList) {
+            return concat((PersistentTrieList<E>) c);
+        }
+        TrieList<E> t = toMutable();
+        return t.addAll(c) ? t.toPersistent() : this;
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copyAddAll(int index, @NonNull Iterable<? extends E> c) {
+        Objects.checkIndex(index, size + 1);
+        if (index == size) {
+            return copyAddAll(c);
+        }
+        PersistentTrieList<E> that = copyOf(c);
+        if (that.isEmpty()) {
+            return this;
+        }
+        return copySubList(0, index).concat(that).concat(copySubList(index, size));
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copyRemove(@NonNull E element) {
+        int index = indexOf(element);
+        return index < 0 ? this : copyRemoveAt(index);
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copyRemoveAt(int index) {
+        Objects.checkIndex(index, size);
+        return copyRemoveRange(index, index + 1);
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copyRemoveRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        if (fromIndex == toIndex) {
+            return this;
+        }
+        return copySubList(0, fromIndex).concat(copySubList(toIndex, size));
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copyRemoveAll(@NonNull Iterable<? extends E> c) {
+        if (isEmpty()) {
+            return this;
+        }
+        Set<Object> set = new HashSet<>();
+        for (E e : c) {
+            set.add(e);
+        }
+        return set.isEmpty() ? this : filter(e -> !set.contains(e));
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copyRetainAll(@NonNull Collection<? extends E> c) {
+        if (isEmpty()) {
+            return this;
+        }
+        return c.isEmpty() ? of() : filter(c::contains);
+    }
+
+    private @NonNull PersistentTrieList<E> filter(@NonNull Predicate<E> predicate) {
+        TrieList<E> t = new TrieList<>();
+        for (E e : this) {
+            if (predicate.test(e)) {
+                t.add(e);
+            }
+        }
+        return t.size() == size ? this : t.toPersistent();
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copySet(int index, @NonNull E element) {
+        Objects.checkIndex(index, size);
+        if (Objects.equals(get(index), element)) {
+            return this;
+        }
+        return new PersistentTrieList<>(TrieListHelper.set(null, root, level, index, element), size);
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> copySubList(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        if (fromIndex == 0 && toIndex == size) {
+            return this;
+        }
+        if (fromIndex == toIndex) {
+            return of();
+        }
+        return new PersistentTrieList<>(TrieListHelper.slice(null, root, level, fromIndex, toIndex), toIndex - fromIndex);
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return TrieListHelper.get(root, level, index);
+    }
+
+    @Override
+    public @NonNull Iterator<E> iterator() {
+        return new LeafIterator<>(root, level, size);
+    }
+
+    @Override
+    public @NonNull PersistentTrieList<E> readOnlySubList(int fromIndex, int toIndex) {
+        return copySubList(fromIndex, toIndex);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of this list that is mutable.
+     * <p>
+     * This operation is performed in O(1) because the mutable list shares
+     * the underlying tree nodes with this list.
+     *
+     * @return a mutable trie list
+     */
+    private @NonNull TrieList<E> toMutable() {
+        return new TrieList<>(this);
+    }
+}
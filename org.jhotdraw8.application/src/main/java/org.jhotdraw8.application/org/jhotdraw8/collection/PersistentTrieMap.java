@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
 
 public class PersistentTrieMap<K, V> extends TrieMapHelper.BitmapIndexedNode<K, V> implements PersistentMap<K, V>, ImmutableMap<K, V>, Serializable {
     private final static long serialVersionUID = 0L;
@@ -19,10 +20,20 @@ public class PersistentTrieMap<K, V> extends TrieMapHelper.BitmapIndexedNode<K,
     private static final PersistentTrieMap<?, ?> EMPTY_MAP = new PersistentTrieMap<>(TrieMapHelper.EMPTY_NODE, 0);
 
     final int size;
+    /**
+     * Caches the hash code of this map. The value 0 means that the hash
+     * code has not been computed yet, unless {@link #hashIsZero} is set.
+     * <p>
+     * {@link #copyPut} and {@link #copyRemove} update the cached hash code
+     * incrementally.
+     */
+    private transient int hash;
+    private transient boolean hashIsZero;
 
     PersistentTrieMap(@NonNull TrieMapHelper.BitmapIndexedNode<K, V> root, int size) {
         super(root.nodeMap(), root.dataMap(), root.nodes);
         this.size = size;
+        this.hashIsZero = size == 0;
     }
 
     public static <K, V> PersistentTrieMap<K, V> copyOf(@NonNull ReadOnlyMap<? extends K, ? extends V> map) {
@@ -107,7 +118,8 @@ public class PersistentTrieMap<K, V> extends TrieMapHelper.BitmapIndexedNode<K,
 
         if (other instanceof PersistentTrieMap) {
             PersistentTrieMap<?, ?> that = (PersistentTrieMap<?, ?>) other;
-            if (this.size != that.size) {
+            if (this.size != that.size
+                    || this.isHashCached() && that.isHashCached() && this.hash != that.hash) {
                 return false;
             }
             return this.equivalent(that);
@@ -143,7 +155,24 @@ public class PersistentTrieMap<K, V> extends TrieMapHelper.BitmapIndexedNode<K,
 
     @Override
     public int hashCode() {
-        return ReadOnlyMap.iterableToHashCode(entries());
+        int h = hash;
+        if (h == 0 && !hashIsZero) {
+            h = ReadOnlyMap.iterableToHashCode(entries());
+            cacheHash(h);
+        }
+        return h;
+    }
+
+    private boolean isHashCached() {
+        return hash != 0 || hashIsZero;
+    }
+
+    private void cacheHash(int h) {
+        if (h == 0) {
+            hashIsZero = true;
+        } else {
+            hash = h;
+        }
     }
 
     @Override
@@ -160,6 +189,74 @@ public class PersistentTrieMap<K, V> extends TrieMapHelper.BitmapIndexedNode<K,
         return keyIterator();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The spliterator of the returned set splits at trie-node boundaries.
+     * It reports an exact size until it is split.
+     */
+    @Override
+    public @NonNull ReadOnlySet<Map.Entry<K, V>> readOnlyEntrySet() {
+        return new ReadOnlySet<Map.Entry<K, V>>() {
+            @Override
+            public @NonNull Iterator<Map.Entry<K, V>> iterator() {
+                return entryIterator();
+            }
+
+            @Override
+            public @NonNull Spliterator<Map.Entry<K, V>> spliterator() {
+                return new TrieMapHelper.MapEntrySpliterator<>(PersistentTrieMap.this, size, Spliterator.IMMUTABLE);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry<?, ?>)) {
+                    return false;
+                }
+                @SuppressWarnings("unchecked") Map.Entry<K, V> e = (Map.Entry<K, V>) o;
+                K key = e.getKey();
+                TrieMapHelper.SearchResult<V> result = findByKey(key, Objects.hashCode(key), 0);
+                return result.keyExists() && Objects.equals(result.get(), e.getValue());
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The spliterator of the returned set splits at trie-node boundaries.
+     * It reports an exact size until it is split.
+     */
+    @Override
+    public @NonNull ReadOnlySet<K> readOnlyKeySet() {
+        return new ReadOnlySet<K>() {
+            @Override
+            public @NonNull Iterator<K> iterator() {
+                return keyIterator();
+            }
+
+            @Override
+            public @NonNull Spliterator<K> spliterator() {
+                return new TrieMapHelper.MapKeySpliterator<>(PersistentTrieMap.this, size, Spliterator.IMMUTABLE);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
     @Override
     public int size() {
         return size;
@@ -173,14 +270,21 @@ public class PersistentTrieMap<K, V> extends TrieMapHelper.BitmapIndexedNode<K,
                 keyHash, 0, details);
 
         if (details.isModified()) {
+            final int valHash = Objects.hashCode(value);
             if (details.hasReplacedValue()) {
-                return new PersistentTrieMap<>(newRootNode,
-                        size);
+                final PersistentTrieMap<K, V> result = new PersistentTrieMap<>(newRootNode, size);
+                if (isHashCached()) {
+                    final int oldValHash = Objects.hashCode(details.getOldValue());
+                    result.cacheHash(hash - (keyHash ^ oldValHash) + (keyHash ^ valHash));
+                }
+                return result;
             }
 
-            final int valHash = Objects.hashCode(value);
-            return new PersistentTrieMap<>(newRootNode,
-                    size + 1);
+            final PersistentTrieMap<K, V> result = new PersistentTrieMap<>(newRootNode, size + 1);
+            if (isHashCached()) {
+                result.cacheHash(hash + (keyHash ^ valHash));
+            }
+            return result;
         }
 
         return this;
@@ -196,6 +300,36 @@ public class PersistentTrieMap<K, V> extends TrieMapHelper.BitmapIndexedNode<K,
         return modified ? t.toPersistent() : this;
     }
 
+    /**
+     * Returns a copy of this map that contains all entries
+     * of this map with entries from the specified map added or updated.
+     * <p>
+     * If the specified map is a {@link PersistentTrieMap}, this operation
+     * merges the tries node by node, shares sub-nodes that only occur in
+     * one of the maps, and skips sub-nodes that are identical in both maps.
+     *
+     * @param map another map
+     * @return this map instance if it already contains the same entries, or
+     * a different map instance with the entries added or updated
+     */
+    public @NonNull PersistentTrieMap<K, V> copyPutAll(@NonNull ReadOnlyMap<? extends K, ? extends V> map) {
+        if (map == this || map.isEmpty()) {
+            return this;
+        }
+        if (map instanceof PersistentTrieMap) {
+            @SuppressWarnings("unchecked")
+            PersistentTrieMap<K, V> that = (PersistentTrieMap<K, V>) map;
+            if (isEmpty()) {
+                return that;
+            }
+            TrieMapHelper.BulkChangeEvent bulkChange = new TrieMapHelper.BulkChangeEvent();
+            TrieMapHelper.BitmapIndexedNode<K, V> newRootNode = (TrieMapHelper.BitmapIndexedNode<K, V>)
+                    TrieMapHelper.union(null, this, that, 0, bulkChange);
+            return newRootNode == this ? this : new PersistentTrieMap<>(newRootNode, size + bulkChange.sizeChange);
+        }
+        return copyPutAll(map.asMap());
+    }
+
     public @NonNull PersistentTrieMap<K, V> copyRemove(@NonNull K key) {
         final int keyHash = Objects.hashCode(key);
         final TrieMapHelper.ChangeEvent<V> details = new TrieMapHelper.ChangeEvent<>();
@@ -204,14 +338,22 @@ public class PersistentTrieMap<K, V> extends TrieMapHelper.BitmapIndexedNode<K,
         if (details.isModified()) {
             assert details.hasReplacedValue();
             final int valHash = Objects.hashCode(details.getOldValue());
-            return new PersistentTrieMap<>(newRootNode,
-                    size - 1);
+            final PersistentTrieMap<K, V> result = new PersistentTrieMap<>(newRootNode, size - 1);
+            if (isHashCached()) {
+                result.cacheHash(hash - (keyHash ^ valHash));
+            }
+            return result;
         }
         return this;
     }
 
     @Override
     public @NonNull PersistentTrieMap<K, V> copyRemoveAll(@NonNull Iterable<? extends K> c) {
+        if (c instanceof PersistentTrieSet) {
+            return copyRetainOrRemoveAllFromTrieSet((PersistentTrieSet<?>) c, false);
+        } else if (c instanceof TrieSet) {
+            return copyRetainOrRemoveAllFromTrieSet(((TrieSet<?>) c).toPersistent(), false);
+        }
         final TrieMap<K, V> t = this.toMutable();
         boolean modified = false;
         for (K key : c) {
@@ -223,6 +365,9 @@ public class PersistentTrieMap<K, V> extends TrieMapHelper.BitmapIndexedNode<K,
 
     @Override
     public @NonNull PersistentTrieMap<K, V> copyRetainAll(@NonNull Collection<? extends K> c) {
+        if (c instanceof TrieSet) {
+            return copyRetainOrRemoveAllFromTrieSet(((TrieSet<?>) c).toPersistent(), true);
+        }
         final TrieMap<K, V> t = this.toMutable();
         boolean modified = false;
         for (K key : this.readOnlyKeySet()) {
@@ -234,6 +379,39 @@ public class PersistentTrieMap<K, V> extends TrieMapHelper.BitmapIndexedNode<K,
         return modified ? t.toPersistent() : this;
     }
 
+    /**
+     * Returns a copy of this map that contains only entries
+     * that are in this map and in the specified set.
+     * <p>
+     * This operation walks the tries of this map and of the specified set
+     * node by node, and shares sub-nodes that are retained completely.
+     *
+     * @param c a set with keys of entries to be retained in this map
+     * @return this map instance if it has not changed, or
+     * a different map instance with entries removed
+     */
+    public @NonNull PersistentTrieMap<K, V> copyRetainAll(@NonNull PersistentTrieSet<? extends K> c) {
+        return copyRetainOrRemoveAllFromTrieSet(c, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NonNull PersistentTrieMap<K, V> copyRetainOrRemoveAllFromTrieSet(@NonNull PersistentTrieSet<?> c, boolean retain) {
+        if (isEmpty()) {
+            return this;
+        }
+        if (c.isEmpty()) {
+            return retain ? of() : this;
+        }
+        TrieMapHelper.BulkChangeEvent bulkChange = new TrieMapHelper.BulkChangeEvent();
+        TrieMapHelper.BitmapIndexedNode<K, V> newRootNode = (TrieMapHelper.BitmapIndexedNode<K, V>)
+                TrieMapHelper.retainOrRemove(null, this, (TrieSetHelper.Node<K>) c, 0, retain, bulkChange);
+        if (newRootNode == this) {
+            return this;
+        }
+        int newSize = size + bulkChange.sizeChange;
+        return newSize == 0 ? of() : new PersistentTrieMap<>(newRootNode, newSize);
+    }
+
     @Override
     public String toString() {
         return ReadOnlyMap.mapToString(this);
@@ -11,12 +11,14 @@ import org.jhotdraw8.collection.TrieSetHelper.BitmapIndexedNode;
 import org.jhotdraw8.collection.TrieSetHelper.BulkChangeEvent;
 import org.jhotdraw8.collection.TrieSetHelper.ChangeEvent;
 import org.jhotdraw8.collection.TrieSetHelper.TrieIterator;
+import org.jhotdraw8.collection.TrieSetHelper.TrieSpliterator;
 
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.Spliterator;
 
 import static org.jhotdraw8.collection.TrieSetHelper.EMPTY_NODE;
 
@@ -27,10 +29,20 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
     private static final PersistentTrieSet<?> EMPTY_SET = new PersistentTrieSet<>(EMPTY_NODE, 0);
 
     final int size;
+    /**
+     * Caches the hash code of this set. The value 0 means that the hash
+     * code has not been computed yet, unless {@link #hashIsZero} is set.
+     * <p>
+     * {@link #copyAdd} and {@link #copyRemove} update the cached hash code
+     * incrementally.
+     */
+    private transient int hash;
+    private transient boolean hashIsZero;
 
     PersistentTrieSet(BitmapIndexedNode<E> root, int size) {
         super(root.nodeMap, root.dataMap, root.nodes);
         this.size = size;
+        this.hashIsZero = size == 0;
     }
 
     @SuppressWarnings("unchecked")
@@ -67,7 +79,11 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
         final ChangeEvent changeEvent = new ChangeEvent();
         final BitmapIndexedNode<E> newRootNode = updated(null, key, keyHash, 0, changeEvent);
         if (changeEvent.isModified) {
-            return new PersistentTrieSet<>(newRootNode, size + 1);
+            final PersistentTrieSet<E> result = new PersistentTrieSet<>(newRootNode, size + 1);
+            if (isHashCached()) {
+                result.cacheHash(hash + keyHash);
+            }
+            return result;
         }
 
         return this;
@@ -81,12 +97,11 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
             return this;
         }
 
-        /*
         if (set instanceof PersistentTrieSet) {
             return copyAddAllFromTrieSet((PersistentTrieSet<E>) set);
         } else if (set instanceof TrieSet) {
             return copyAddAllFromTrieSet(((TrieSet<E>) set).toPersistent());
-        }*/
+        }
 
         final TrieSet<E> t = this.toMutable();
         boolean modified = false;
@@ -96,6 +111,15 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
         return modified ? t.toPersistent() : this;
     }
 
+    /**
+     * Adds all elements of the specified set by merging the two tries
+     * node by node.
+     * <p>
+     * This operation only visits nodes that differ in the two tries.
+     *
+     * @param that a set
+     * @return this set instance if it has not changed, or a new set
+     */
     private @NonNull PersistentTrieSet<E> copyAddAllFromTrieSet(final @NonNull PersistentTrieSet<E> that) {
         if (that.isEmpty()) {
             return this;
@@ -104,12 +128,30 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
             return that;
         }
         BulkChangeEvent bulkChange = new BulkChangeEvent();
-        bulkChange.sizeChange = that.size;
-        BitmapIndexedNode<E> newNode = copyAddAll(that, 0, bulkChange, new UniqueIdentity());
-        if (newNode != this) {
-            return new PersistentTrieSet<>(newNode,
-                    this.size + bulkChange.sizeChange
-            );
+        BitmapIndexedNode<E> newNode = (BitmapIndexedNode<E>) TrieSetHelper.union(null, this, that, 0, bulkChange);
+        if (bulkChange.sizeChange != 0) {
+            return new PersistentTrieSet<>(newNode, this.size + bulkChange.sizeChange);
+        }
+        return this;
+    }
+
+    /**
+     * Retains or removes all elements of the specified set by merging the
+     * two tries node by node.
+     * <p>
+     * This operation only visits nodes that differ in the two tries.
+     *
+     * @param that   a set
+     * @param retain {@code true} for retain, {@code false} for remove
+     * @return this set instance if it has not changed, or a new set
+     */
+    private @NonNull PersistentTrieSet<E> copyRetainOrRemoveAllFromTrieSet(final @NonNull PersistentTrieSet<?> that, boolean retain) {
+        @SuppressWarnings("unchecked")
+        PersistentTrieSet<E> unchecked = (PersistentTrieSet<E>) that;
+        BulkChangeEvent bulkChange = new BulkChangeEvent();
+        BitmapIndexedNode<E> newNode = (BitmapIndexedNode<E>) TrieSetHelper.retainOrRemove(null, this, unchecked, 0, retain, bulkChange);
+        if (bulkChange.sizeChange != 0) {
+            return size + bulkChange.sizeChange == 0 ? of() : new PersistentTrieSet<>(newNode, size + bulkChange.sizeChange);
         }
         return this;
     }
@@ -125,7 +167,11 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
         final BitmapIndexedNode<E> newRootNode = (BitmapIndexedNode<E>) removed(null, key,
                 keyHash, 0, changeEvent);
         if (changeEvent.isModified) {
-            return new PersistentTrieSet<>(newRootNode, size - 1);
+            final PersistentTrieSet<E> result = new PersistentTrieSet<>(newRootNode, size - 1);
+            if (isHashCached()) {
+                result.cacheHash(hash - keyHash);
+            }
+            return result;
         }
 
         return this;
@@ -140,6 +186,11 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
         if (set == this) {
             return of();
         }
+        if (set instanceof PersistentTrieSet) {
+            return copyRetainOrRemoveAllFromTrieSet((PersistentTrieSet<?>) set, false);
+        } else if (set instanceof TrieSet) {
+            return copyRetainOrRemoveAllFromTrieSet(((TrieSet<?>) set).toPersistent(), false);
+        }
         final TrieSet<E> t = this.toMutable();
         boolean modified = false;
         for (final E key : set) {
@@ -161,6 +212,9 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
         if (set.isEmpty()) {
             return of();
         }
+        if (set instanceof TrieSet) {
+            return copyRetainOrRemoveAllFromTrieSet(((TrieSet<?>) set).toPersistent(), true);
+        }
 
         final TrieSet<E> t = this.toMutable();
         boolean modified = false;
@@ -176,6 +230,17 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
         return modified ? t.toPersistent() : this;
     }
 
+    @Override
+    public @NonNull PersistentTrieSet<E> copyRetainAll(final @NonNull ReadOnlyCollection<? extends E> c) {
+        if (c instanceof PersistentTrieSet) {
+            if (this.isEmpty() || c == this) {
+                return this;
+            }
+            return c.isEmpty() ? of() : copyRetainOrRemoveAllFromTrieSet((PersistentTrieSet<?>) c, true);
+        }
+        return copyRetainAll(c.asCollection());
+    }
+
     @Override
     public boolean equals(final Object other) {
         if (other == this) {
@@ -187,7 +252,8 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
 
         if (other instanceof PersistentTrieSet) {
             PersistentTrieSet<?> that = (PersistentTrieSet<?>) other;
-            if (this.size != that.size) {
+            if (this.size != that.size
+                    || this.isHashCached() && that.isHashCached() && this.hash != that.hash) {
                 return false;
             }
             return this.equivalent(that);
@@ -205,7 +271,24 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
 
     @Override
     public int hashCode() {
-        return ReadOnlySet.iteratorToHashCode(iterator());
+        int h = hash;
+        if (h == 0 && !hashIsZero) {
+            h = ReadOnlySet.iteratorToHashCode(iterator());
+            cacheHash(h);
+        }
+        return h;
+    }
+
+    private boolean isHashCached() {
+        return hash != 0 || hashIsZero;
+    }
+
+    private void cacheHash(int h) {
+        if (h == 0) {
+            hashIsZero = true;
+        } else {
+            hash = h;
+        }
     }
 
     @Override
@@ -213,6 +296,19 @@ public class PersistentTrieSet<E> extends BitmapIndexedNode<E> implements Persis
         return new TrieIterator<>(this);
     }
 
+    /**
+     * Returns a spliterator over the elements of this set.
+     * <p>
+     * The spliterator splits at trie-node boundaries. It reports an exact
+     * size until it is split.
+     *
+     * @return a spliterator
+     */
+    @Override
+    public @NonNull Spliterator<E> spliterator() {
+        return new TrieSpliterator<>(this, size, Spliterator.IMMUTABLE);
+    }
+
     @Override
     public int size() {
         return size;
@@ -0,0 +1,92 @@
+/*
+ * @(#)PrimitiveHashing.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+/**
+ * Package private class with code for the open-addressing hash tables
+ * of primitive keys: {@link IntIntHashMap}, {@link IntObjectHashMap},
+ * {@link LongObjectHashMap} and {@link IntHashSet}.
+ */
+class PrimitiveHashing {
+    /**
+     * The maximal capacity of a table, a power of two.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private PrimitiveHashing() {
+    }
+
+    /**
+     * Returns the maximal number of entries in a table with the specified
+     * capacity. The load factor is 3/4, and at least one slot stays free,
+     * so that probing always terminates.
+     *
+     * @param capacity the capacity, a power of two
+     * @return the maximal number of entries
+     */
+    static int maxFill(int capacity) {
+        return Math.min(capacity - (capacity >>> 2), capacity - 1);
+    }
+
+    /**
+     * Spreads the bits of an int key over the whole int.
+     * <p>
+     * Multiplies with the golden ratio (Fibonacci hashing), and folds the
+     * high bits into the low bits, because tables use the low bits.
+     *
+     * @param key a key
+     * @return the hash of the key
+     */
+    static int mix(int key) {
+        final int h = key * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Spreads the bits of a long key over an int.
+     *
+     * @param key a key
+     * @return the hash of the key
+     */
+    static int mix(long key) {
+        final long h = key * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32)) ^ (int) (h >>> 16);
+    }
+
+    /**
+     * Returns the capacity of a table that can hold the specified number
+     * of entries without growing.
+     *
+     * @param expectedSize the expected number of entries
+     * @return the capacity, a power of two
+     */
+    static int tableSize(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize=" + expectedSize + " must be >= 0.");
+        }
+        int capacity = 2;
+        while (capacity < MAX_CAPACITY && maxFill(capacity) < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns the capacity of a table that replaces a full table with the
+     * specified capacity.
+     *
+     * @param capacity the capacity of the full table
+     * @return the new capacity
+     */
+    static int grow(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table is full. capacity=" + capacity);
+        }
+        return capacity << 1;
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * @(#)SequencedPersistentMap.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * A persistent map that iterates over its entries in the order in which
+ * their keys were added. Replacing the value of a key does not change the
+ * position of the key.
+ * <p>
+ * The map assigns a sequence number to each key. A CHAMP trie maps the keys
+ * to their sequence numbers, and an RRB-tree holds the entries in sequence.
+ * Removed entries leave an empty slot in the RRB-tree; the map renumbers its
+ * keys when the tree contains more empty slots than entries.
+ * <p>
+ * Performance characteristics:
+ * <ul>
+ *     <li>{@code containsKey}: O(1) amortized</li>
+ *     <li>{@code get}, {@code copyPut}, {@code copyRemove}: O(log n) amortized</li>
+ *     <li>{@code firstEntry}, {@code lastEntry}: O(log n)</li>
+ *     <li>iteration: O(n) in insertion order</li>
+ * </ul>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class SequencedPersistentMap<K, V> extends AbstractReadOnlyMap<K, V>
+        implements PersistentMap<K, V>, ImmutableMap<K, V>, Serializable {
+    private final static long serialVersionUID = 0L;
+
+    private static final SequencedPersistentMap<?, ?> EMPTY_MAP = new SequencedPersistentMap<>(
+            PersistentTrieMap.of(), PersistentTrieList.of(), 0);
+
+    /**
+     * Maps each key to its sequence number.
+     */
+    private final @NonNull PersistentTrieMap<K, Integer> sequenceNumbers;
+    /**
+     * Holds the entry with sequence number {@code offset + i} at index
+     * {@code i}, or null if the slot is empty. The first and the last slot
+     * are never empty.
+     */
+    private final @NonNull PersistentTrieList<Map.Entry<K, V>> sequence;
+    private final int offset;
+
+    private SequencedPersistentMap(@NonNull PersistentTrieMap<K, Integer> sequenceNumbers,
+                                   @NonNull PersistentTrieList<Map.Entry<K, V>> sequence, int offset) {
+        this.sequenceNumbers = sequenceNumbers;
+        this.sequence = sequence;
+        this.offset = offset;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NonNull SequencedPersistentMap<K, V> copyOf(@NonNull ReadOnlyMap<? extends K, ? extends V> map) {
+        if (map instanceof SequencedPersistentMap) {
+            return (SequencedPersistentMap<K, V>) map;
+        }
+        return SequencedPersistentMap.<K, V>of().copyPutAll(map);
+    }
+
+    public static <K, V> @NonNull SequencedPersistentMap<K, V> copyOf(@NonNull Map<? extends K, ? extends V> map) {
+        return SequencedPersistentMap.<K, V>of().copyPutAll(map);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NonNull SequencedPersistentMap<K, V> of() {
+        return (SequencedPersistentMap<K, V>) EMPTY_MAP;
+    }
+
+    @SafeVarargs
+    public static <K, V> @NonNull SequencedPersistentMap<K, V> ofEntries(@NonNull Map.Entry<K, V>... entries) {
+        SequencedPersistentMap<K, V> m = of();
+        for (Map.Entry<K, V> entry : entries) {
+            m = m.copyPut(entry.getKey(), entry.getValue());
+        }
+        return m;
+    }
+
+    public static <K, V> @NonNull SequencedPersistentMap<K, V> ofEntries(@NonNull Iterable<? extends Map.Entry<? extends K, ? extends V>> entries) {
+        return SequencedPersistentMap.<K, V>of().copyPutAll(entries.iterator());
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return sequenceNumbers.containsKey(key);
+    }
+
+    @Override
+    public @NonNull SequencedPersistentMap<K, V> copyPut(@NonNull K key, @Nullable V value) {
+        Integer seq = sequenceNumbers.get(key);
+        if (seq != null) {
+            int index = seq - offset;
+            if (Objects.equals(sequence.get(index).getValue(), value)) {
+                return this;
+            }
+            return new SequencedPersistentMap<>(sequenceNumbers,
+                    sequence.copySet(index, PersistentMaps.entry(key, value)), offset);
+        }
+        if ((long) offset + sequence.size() > Integer.MAX_VALUE) {
+            return renumbered(sequence, size()).copyPut(key, value);
+        }
+        return new SequencedPersistentMap<>(sequenceNumbers.copyPut(key, offset + sequence.size()),
+                sequence.copyAdd(PersistentMaps.entry(key, value)), offset);
+    }
+
+    @Override
+    public @NonNull SequencedPersistentMap<K, V> copyPutAll(@NonNull Map<? extends K, ? extends V> m) {
+        return copyPutAll(m.entrySet().iterator());
+    }
+
+    public @NonNull SequencedPersistentMap<K, V> copyPutAll(@NonNull ReadOnlyMap<? extends K, ? extends V> m) {
+        if (m == this) {
+            return this;
+        }
+        if (isEmpty() && m instanceof SequencedPersistentMap) {
+            @SuppressWarnings("unchecked")
+            SequencedPersistentMap<K, V> that = (SequencedPersistentMap<K, V>) m;
+            return that;
+        }
+        return copyPutAll(m.readOnlyEntrySet().iterator());
+    }
+
+    private @NonNull SequencedPersistentMap<K, V> copyPutAll(@NonNull Iterator<? extends Map.Entry<? extends K, ? extends V>> entries) {
+        if ((long) offset + sequence.size() > Integer.MAX_VALUE / 2) {
+            return renumbered(sequence, size()).copyPutAll(entries);
+        }
+        TrieMap<K, Integer> newSequenceNumbers = new TrieMap<>(sequenceNumbers);
+        TrieList<Map.Entry<K, V>> newSequence = new TrieList<>(sequence);
+        boolean changed = false;
+        while (entries.hasNext()) {
+            Map.Entry<? extends K, ? extends V> entry = entries.next();
+            K key = entry.getKey();
+            V value = entry.getValue();
+            Integer seq = newSequenceNumbers.get(key);
+            if (seq == null) {
+                newSequenceNumbers.put(key, offset + newSequence.size());
+                newSequence.add(PersistentMaps.entry(key, value));
+                changed = true;
+            } else if (!Objects.equals(newSequence.get(seq - offset).getValue(), value)) {
+                newSequence.set(seq - offset, PersistentMaps.entry(key, value));
+                changed = true;
+            }
+        }
+        return changed ? new SequencedPersistentMap<>(newSequenceNumbers.toPersistent(), newSequence.toPersistent(), offset)
+                : this;
+    }
+
+    @Override
+    public @NonNull SequencedPersistentMap<K, V> copyRemove(@NonNull K key) {
+        Integer seq = sequenceNumbers.get(key);
+        if (seq == null) {
+            return this;
+        }
+        PersistentTrieMap<K, Integer> newSequenceNumbers = sequenceNumbers.copyRemove(key);
+        if (newSequenceNumbers.isEmpty()) {
+            return of();
+        }
+
+        // Empty the slot, and trim empty slots at the front and at the end
+        int index = seq - offset;
+        PersistentTrieList<Map.Entry<K, V>> newSequence = sequence.copySet(index, null);
+        int from = 0, to = newSequence.size();
+        if (index == 0) {
+            while (newSequence.get(from) == null) {
+                from++;
+            }
+        }
+        if (index == to - 1) {
+            while (newSequence.get(to - 1) == null) {
+                to--;
+            }
+        }
+        newSequence = newSequence.copySubList(from, to);
+        if (newSequence.size() > 2 * newSequenceNumbers.size()) {
+            return renumbered(newSequence, newSequenceNumbers.size());
+        }
+        return new SequencedPersistentMap<>(newSequenceNumbers, newSequence, offset + from);
+    }
+
+    @Override
+    public @NonNull SequencedPersistentMap<K, V> copyRemoveAll(@NonNull Iterable<? extends K> c) {
+        SequencedPersistentMap<K, V> m = this;
+        for (K key : c) {
+            m = m.copyRemove(key);
+        }
+        return m;
+    }
+
+    @Override
+    public @NonNull SequencedPersistentMap<K, V> copyRetainAll(@NonNull Collection<? extends K> c) {
+        if (isEmpty()) {
+            return this;
+        }
+        TrieMap<K, Integer> newSequenceNumbers = new TrieMap<>();
+        TrieList<Map.Entry<K, V>> newSequence = new TrieList<>();
+        for (Iterator<Map.Entry<K, V>> i = entries(); i.hasNext(); ) {
+            Map.Entry<K, V> entry = i.next();
+            if (c.contains(entry.getKey())) {
+                newSequenceNumbers.put(entry.getKey(), newSequence.size());
+                newSequence.add(entry);
+            }
+        }
+        if (newSequence.size() == size()) {
+            return this;
+        }
+        return newSequence.isEmpty() ? of()
+                : new SequencedPersistentMap<>(newSequenceNumbers.toPersistent(), newSequence.toPersistent(), 0);
+    }
+
+    @Override
+    public @NonNull Iterator<Map.Entry<K, V>> entries() {
+        return new Iterator<Map.Entry<K, V>>() {
+            private final Iterator<Map.Entry<K, V>> it = sequence.iterator();
+            private int remaining = size();
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                if (remaining <= 0) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<K, V> e;
+                do {
+                    e = it.next();
+                } while (e == null);
+                remaining--;
+                return e;
+            }
+        };
+    }
+
+    /**
+     * Returns the first entry of this map.
+     *
+     * @return the first entry
+     * @throws NoSuchElementException if this map is empty
+     */
+    public @NonNull Map.Entry<K, V> firstEntry() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return sequence.get(0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof Map) {
+            Map<?, ?> that = (Map<?, ?>) o;
+            if (that.size() != size()) {
+                return false;
+            }
+            for (Map.Entry<?, ?> e : that.entrySet()) {
+                Object key = e.getKey();
+                if (!containsKey(key) || !Objects.equals(get(key), e.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public @Nullable V get(@NonNull Object key) {
+        Integer seq = sequenceNumbers.get(key);
+        return seq == null ? null : sequence.get(seq - offset).getValue();
+    }
+
+    @Override
+    public int hashCode() {
+        return ReadOnlyMap.iterableToHashCode(entries());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return sequenceNumbers.isEmpty();
+    }
+
+    @Override
+    public @NonNull Iterator<K> keys() {
+        return new Iterator<K>() {
+            private final Iterator<Map.Entry<K, V>> it = entries();
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public K next() {
+                return it.next().getKey();
+            }
+        };
+    }
+
+    /**
+     * Returns the last entry of this map.
+     *
+     * @return the last entry
+     * @throws NoSuchElementException if this map is empty
+     */
+    public @NonNull Map.Entry<K, V> lastEntry() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return sequence.get(sequence.size() - 1);
+    }
+
+    @Override
+    public @NonNull ReadOnlySet<Map.Entry<K, V>> readOnlyEntrySet() {
+        return new AbstractReadOnlySet<Map.Entry<K, V>>() {
+            @Override
+            public @NonNull Iterator<Map.Entry<K, V>> iterator() {
+                return entries();
+            }
+
+            @Override
+            public @NonNull Spliterator<Map.Entry<K, V>> spliterator() {
+                return Spliterators.spliterator(entries(), size(),
+                        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.IMMUTABLE);
+            }
+
+            @Override
+            public int size() {
+                return SequencedPersistentMap.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry<?, ?>)) {
+                    return false;
+                }
+                Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                Object key = e.getKey();
+                return containsKey(key) && Objects.equals(get(key), e.getValue());
+            }
+
+            @Override
+            public int hashCode() {
+                return ReadOnlySet.iteratorToHashCode(iterator());
+            }
+        };
+    }
+
+    @Override
+    public @NonNull ReadOnlySet<K> readOnlyKeySet() {
+        return new AbstractReadOnlySet<K>() {
+            @Override
+            public @NonNull Iterator<K> iterator() {
+                return keys();
+            }
+
+            @Override
+            public @NonNull Spliterator<K> spliterator() {
+                return Spliterators.spliterator(keys(), size(),
+                        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.IMMUTABLE);
+            }
+
+            @Override
+            public int size() {
+                return SequencedPersistentMap.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public int hashCode() {
+                return ReadOnlySet.iteratorToHashCode(iterator());
+            }
+        };
+    }
+
+    /**
+     * Returns a copy of this map, where the sequence numbers of the keys
+     * are renumbered from 0, and the empty slots are removed.
+     */
+    private static <K, V> @NonNull SequencedPersistentMap<K, V> renumbered(
+            @NonNull PersistentTrieList<Map.Entry<K, V>> sequence, int size) {
+        TrieMap<K, Integer> newSequenceNumbers = new TrieMap<>();
+        TrieList<Map.Entry<K, V>> newSequence = new TrieList<>();
+        for (Map.Entry<K, V> e : sequence) {
+            if (e != null) {
+                newSequenceNumbers.put(e.getKey(), newSequence.size());
+                newSequence.add(e);
+            }
+        }
+        assert newSequence.size() == size;
+        return new SequencedPersistentMap<>(newSequenceNumbers.toPersistent(), newSequence.toPersistent(), 0);
+    }
+
+    @Override
+    public int size() {
+        return sequenceNumbers.size();
+    }
+}
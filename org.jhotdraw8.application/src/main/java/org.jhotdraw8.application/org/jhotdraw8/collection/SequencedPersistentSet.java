@@ -0,0 +1,332 @@
+/*
+ * @(#)SequencedPersistentSet.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * A persistent set that iterates over its elements in the order in which
+ * they were added.
+ * <p>
+ * The set assigns a sequence number to each element. A CHAMP trie maps the
+ * elements to their sequence numbers, and an RRB-tree holds the elements in
+ * sequence. Removed elements leave an empty slot in the RRB-tree; the set
+ * renumbers its elements when the tree contains more empty slots than
+ * elements.
+ * <p>
+ * Performance characteristics:
+ * <ul>
+ *     <li>{@code contains}: O(1) amortized</li>
+ *     <li>{@code copyAdd}, {@code copyRemove}: O(log n) amortized</li>
+ *     <li>{@code getFirst}, {@code getLast}: O(log n)</li>
+ *     <li>iteration: O(n) in insertion order</li>
+ * </ul>
+ *
+ * @param <E> the element type
+ */
+public class SequencedPersistentSet<E> extends AbstractReadOnlySet<E>
+        implements PersistentSet<E>, ImmutableSet<E>, ReadOnlySequencedCollection<E>, Serializable {
+    private final static long serialVersionUID = 0L;
+
+    private static final SequencedPersistentSet<?> EMPTY_SET = new SequencedPersistentSet<>(
+            PersistentTrieMap.of(), PersistentTrieList.of(), 0);
+
+    /**
+     * Maps each element to its sequence number.
+     */
+    private final @NonNull PersistentTrieMap<E, Integer> sequenceNumbers;
+    /**
+     * Holds the element with sequence number {@code offset + i} at index
+     * {@code i}, or {@link Tombstone#TOMBSTONE} if the slot is empty.
+     * The first and the last slot are never empty.
+     */
+    private final @NonNull PersistentTrieList<Object> sequence;
+    private final int offset;
+
+    private SequencedPersistentSet(@NonNull PersistentTrieMap<E, Integer> sequenceNumbers,
+                                   @NonNull PersistentTrieList<Object> sequence, int offset) {
+        this.sequenceNumbers = sequenceNumbers;
+        this.sequence = sequence;
+        this.offset = offset;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> @NonNull SequencedPersistentSet<E> copyOf(@NonNull Iterable<? extends E> set) {
+        if (set instanceof SequencedPersistentSet) {
+            return (SequencedPersistentSet<E>) set;
+        }
+        return SequencedPersistentSet.<E>of().copyAddAll(set);
+    }
+
+    @SafeVarargs
+    public static <E> @NonNull SequencedPersistentSet<E> of(@NonNull E... elements) {
+        return SequencedPersistentSet.<E>of().copyAddAll(Arrays.asList(elements));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> @NonNull SequencedPersistentSet<E> of() {
+        return (SequencedPersistentSet<E>) EMPTY_SET;
+    }
+
+    @Override
+    public boolean contains(@Nullable Object o) {
+        return sequenceNumbers.containsKey(o);
+    }
+
+    @Override
+    public @NonNull SequencedPersistentSet<E> copyAdd(@NonNull E element) {
+        if (contains(element)) {
+            return this;
+        }
+        if ((long) offset + sequence.size() > Integer.MAX_VALUE) {
+            return SequencedPersistentSet.<E>renumbered(sequence, size()).copyAdd(element);
+        }
+        return new SequencedPersistentSet<>(sequenceNumbers.copyPut(element, offset + sequence.size()),
+                sequence.copyAdd(element), offset);
+    }
+
+    @Override
+    public @NonNull SequencedPersistentSet<E> copyAddAll(@NonNull Iterable<? extends E> c) {
+        if (c == this) {
+            return this;
+        }
+        if (isEmpty() && c instanceof SequencedPersistentSet) {
+            @SuppressWarnings("unchecked")
+            SequencedPersistentSet<E> that = (SequencedPersistentSet<E>) c;
+            return that;
+        }
+        if ((long) offset + sequence.size() > Integer.MAX_VALUE / 2) {
+            return SequencedPersistentSet.<E>renumbered(sequence, size()).copyAddAll(c);
+        }
+        TrieMap<E, Integer> newSequenceNumbers = new TrieMap<>(sequenceNumbers);
+        TrieList<Object> newSequence = new TrieList<>(sequence);
+        for (E e : c) {
+            if (!newSequenceNumbers.containsKey(e)) {
+                newSequenceNumbers.put(e, offset + newSequence.size());
+                newSequence.add(e);
+            }
+        }
+        return newSequence.size() == sequence.size() ? this
+                : new SequencedPersistentSet<>(newSequenceNumbers.toPersistent(), newSequence.toPersistent(), offset);
+    }
+
+    /**
+     * Returns a copy of this set that contains all elements of this set,
+     * and the specified element as its first element.
+     *
+     * @param element an element
+     * @return this set instance if the element is already the first element,
+     * or a different set instance with the element added or moved to the front
+     */
+    public @NonNull SequencedPersistentSet<E> copyAddFirst(@NonNull E element) {
+        if (!isEmpty() && getFirst().equals(element)) {
+            return this;
+        }
+        SequencedPersistentSet<E> s = copyRemove(element);
+        if ((long) s.offset - 1 < Integer.MIN_VALUE) {
+            s = SequencedPersistentSet.<E>renumbered(s.sequence, s.size());
+        }
+        int newOffset = s.isEmpty() ? 0 : s.offset - 1;
+        return new SequencedPersistentSet<>(s.sequenceNumbers.copyPut(element, newOffset),
+                s.sequence.copyAdd(0, element), newOffset);
+    }
+
+    /**
+     * Returns a copy of this set that contains all elements of this set,
+     * and the specified element as its last element.
+     *
+     * @param element an element
+     * @return this set instance if the element is already the last element,
+     * or a different set instance with the element added or moved to the end
+     */
+    public @NonNull SequencedPersistentSet<E> copyAddLast(@NonNull E element) {
+        if (!isEmpty() && getLast().equals(element)) {
+            return this;
+        }
+        return copyRemove(element).copyAdd(element);
+    }
+
+    @Override
+    public @NonNull SequencedPersistentSet<E> copyClear(@NonNull E element) {
+        return of();
+    }
+
+    @Override
+    public @NonNull SequencedPersistentSet<E> copyRemove(@NonNull E element) {
+        Integer seq = sequenceNumbers.get(element);
+        if (seq == null) {
+            return this;
+        }
+        PersistentTrieMap<E, Integer> newSequenceNumbers = sequenceNumbers.copyRemove(element);
+        if (newSequenceNumbers.isEmpty()) {
+            return of();
+        }
+
+        // Empty the slot, and trim empty slots at the front and at the end
+        int index = seq - offset;
+        PersistentTrieList<Object> newSequence = sequence.copySet(index, Tombstone.TOMBSTONE);
+        int from = 0, to = newSequence.size();
+        if (index == 0) {
+            while (newSequence.get(from) == Tombstone.TOMBSTONE) {
+                from++;
+            }
+        }
+        if (index == to - 1) {
+            while (newSequence.get(to - 1) == Tombstone.TOMBSTONE) {
+                to--;
+            }
+        }
+        newSequence = newSequence.copySubList(from, to);
+        if (newSequence.size() > 2 * newSequenceNumbers.size()) {
+            return renumbered(newSequence, newSequenceNumbers.size());
+        }
+        return new SequencedPersistentSet<>(newSequenceNumbers, newSequence, offset + from);
+    }
+
+    @Override
+    public @NonNull SequencedPersistentSet<E> copyRemoveAll(@NonNull Iterable<? extends E> c) {
+        SequencedPersistentSet<E> s = this;
+        for (E e : c) {
+            s = s.copyRemove(e);
+        }
+        return s;
+    }
+
+    /**
+     * Returns a copy of this set without its first element.
+     *
+     * @return a different set instance with the first element removed
+     * @throws NoSuchElementException if this set is empty
+     */
+    public @NonNull SequencedPersistentSet<E> copyRemoveFirst() {
+        return copyRemove(getFirst());
+    }
+
+    /**
+     * Returns a copy of this set without its last element.
+     *
+     * @return a different set instance with the last element removed
+     * @throws NoSuchElementException if this set is empty
+     */
+    public @NonNull SequencedPersistentSet<E> copyRemoveLast() {
+        return copyRemove(getLast());
+    }
+
+    @Override
+    public @NonNull SequencedPersistentSet<E> copyRetainAll(@NonNull Collection<? extends E> c) {
+        if (isEmpty()) {
+            return this;
+        }
+        TrieMap<E, Integer> newSequenceNumbers = new TrieMap<>();
+        TrieList<Object> newSequence = new TrieList<>();
+        for (E e : this) {
+            if (c.contains(e)) {
+                newSequenceNumbers.put(e, newSequence.size());
+                newSequence.add(e);
+            }
+        }
+        if (newSequence.size() == size()) {
+            return this;
+        }
+        return newSequence.isEmpty() ? of()
+                : new SequencedPersistentSet<>(newSequenceNumbers.toPersistent(), newSequence.toPersistent(), 0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E getFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return (E) sequence.get(0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E getLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return (E) sequence.get(sequence.size() - 1);
+    }
+
+    @Override
+    public int hashCode() {
+        return ReadOnlySet.iteratorToHashCode(iterator());
+    }
+
+    @Override
+    public @NonNull Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private final Iterator<Object> it = sequence.iterator();
+            private int remaining = size();
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (remaining <= 0) {
+                    throw new NoSuchElementException();
+                }
+                Object e;
+                do {
+                    e = it.next();
+                } while (e == Tombstone.TOMBSTONE);
+                remaining--;
+                return (E) e;
+            }
+        };
+    }
+
+    /**
+     * Returns a copy of this set, where the sequence numbers of the
+     * elements are renumbered from 0, and the empty slots are removed.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> @NonNull SequencedPersistentSet<E> renumbered(@NonNull PersistentTrieList<Object> sequence, int size) {
+        TrieMap<E, Integer> newSequenceNumbers = new TrieMap<>();
+        TrieList<Object> newSequence = new TrieList<>();
+        for (Object e : sequence) {
+            if (e != Tombstone.TOMBSTONE) {
+                newSequenceNumbers.put((E) e, newSequence.size());
+                newSequence.add(e);
+            }
+        }
+        assert newSequence.size() == size;
+        return new SequencedPersistentSet<>(newSequenceNumbers.toPersistent(), newSequence.toPersistent(), 0);
+    }
+
+    @Override
+    public int size() {
+        return sequenceNumbers.size();
+    }
+
+    @Override
+    public @NonNull Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Marks an empty slot in the sequence. This is an enum, so that
+     * the marker keeps its identity when the set is deserialized.
+     */
+    private enum Tombstone {
+        TOMBSTONE
+    }
+}
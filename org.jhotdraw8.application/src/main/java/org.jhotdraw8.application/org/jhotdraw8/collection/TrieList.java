@@ -0,0 +1,259 @@
+/*
+ * @(#)TrieList.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.TrieListHelper.Node;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+import static org.jhotdraw8.collection.TrieListHelper.RRB_M;
+
+/**
+ * A mutable list that is based on a Relaxed Radix Balanced Tree (RRB-tree).
+ * <p>
+ * This list is the transient counterpart of {@link PersistentTrieList}.
+ * It updates tree nodes in place, as long as it owns them exclusively, and
+ * collects added elements in a tail buffer before it appends them as a leaf
+ * node to the tree.
+ *
+ * @param <E> the element type
+ */
+public class TrieList<E> extends AbstractList<E> implements Serializable {
+    private final static long serialVersionUID = 0L;
+    private transient UniqueIdentity mutator;
+    private @NonNull Node<E> root;
+    private int level;
+    private int treeSize;
+    private final @NonNull Object[] tail = new Object[RRB_M];
+    private int tailLength;
+
+    /**
+     * Constructs an empty list.
+     */
+    public TrieList() {
+        this.root = TrieListHelper.emptyLeaf();
+    }
+
+    /**
+     * Constructs a list containing the elements in the specified iterable.
+     *
+     * @param c an iterable
+     */
+    @SuppressWarnings("unchecked")
+    public TrieList(@NonNull Iterable<? extends E> c) {
+        if (c instanceof PersistentTrieList<?>) {
+            PersistentTrieList<E> that = (PersistentTrieList<E>) c;
+            this.root = that.root;
+            this.level = that.level;
+            this.treeSize = that.size;
+        } else {
+            this.root = TrieListHelper.emptyLeaf();
+            addAll(c);
+        }
+    }
+
+    /**
+     * Appends the specified element to the end of this list.
+     *
+     * @param e an element
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(E e) {
+        if (tailLength == RRB_M) {
+            flushTail();
+        }
+        tail[tailLength++] = e;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the specified index.
+     *
+     * @param index an index
+     * @param e     an element
+     */
+    @Override
+    public void add(int index, E e) {
+        Objects.checkIndex(index, size() + 1);
+        if (index == size()) {
+            add(e);
+            return;
+        }
+        flushTail();
+        UniqueIdentity m = getOrCreateMutator();
+        Node<E> head = TrieListHelper.slice(m, root, level, 0, index);
+        head = TrieListHelper.concat(m, head, TrieListHelper.levelOf(head),
+                TrieListHelper.newLeafNode(m, new Object[]{e}), 0);
+        Node<E> rest = TrieListHelper.slice(m, root, level, index, treeSize);
+        setRoot(TrieListHelper.concat(m, head, TrieListHelper.levelOf(head), rest, TrieListHelper.levelOf(rest)), treeSize + 1);
+        modCount++;
+    }
+
+    /**
+     * Appends all elements of the specified collection.
+     *
+     * @param c a collection of elements
+     * @return {@code true} if this list changed
+     */
+    @Override
+    public boolean addAll(@NonNull Collection<? extends E> c) {
+        return addAll((Iterable<? extends E>) c);
+    }
+
+    /**
+     * Appends all elements of the specified iterable.
+     * <p>
+     * This operation is performed in O(log n) if the iterable is a
+     * {@link PersistentTrieList}.
+     *
+     * @param c an iterable of elements
+     * @return {@code true} if this list changed
+     */
+    @SuppressWarnings("unchecked")
+    public boolean addAll(@NonNull Iterable<? extends E> c) {
+        if (c instanceof PersistentTrieList<?>) {
+            PersistentTrieList<E> that = (PersistentTrieList<E>) c;
+            if (that.isEmpty()) {
+                return false;
+            }
+            flushTail();
+            setRoot(TrieListHelper.concat(getOrCreateMutator(), root, level, that.root, that.level), treeSize + that.size);
+            modCount++;
+            return true;
+        }
+        boolean modified = false;
+        for (E e : c) {
+            modified |= add(e);
+        }
+        return modified;
+    }
+
+    /**
+     * Removes all elements from this list.
+     */
+    @Override
+    public void clear() {
+        setRoot(TrieListHelper.emptyLeaf(), 0);
+        Arrays.fill(tail, 0, tailLength, null);
+        tailLength = 0;
+        modCount++;
+    }
+
+    /**
+     * Appends the elements in the tail buffer as a leaf node to the tree.
+     */
+    private void flushTail() {
+        if (tailLength == 0) {
+            return;
+        }
+        UniqueIdentity m = getOrCreateMutator();
+        setRoot(TrieListHelper.concat(m, root, level,
+                TrieListHelper.newLeafNode(m, Arrays.copyOf(tail, tailLength)), 0), treeSize + tailLength);
+        Arrays.fill(tail, 0, tailLength, null);
+        tailLength = 0;
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size());
+        @SuppressWarnings("unchecked")
+        E e = index >= treeSize ? (E) tail[index - treeSize] : TrieListHelper.get(root, level, index);
+        return e;
+    }
+
+    private @NonNull UniqueIdentity getOrCreateMutator() {
+        if (mutator == null) {
+            mutator = new UniqueIdentity();
+        }
+        return mutator;
+    }
+
+    /**
+     * Removes the element at the specified index.
+     *
+     * @param index an index
+     * @return the removed element
+     */
+    @Override
+    public E remove(int index) {
+        E removed = get(index);
+        removeRange(index, index + 1);
+        return removed;
+    }
+
+    /**
+     * Removes the elements in the specified range.
+     * <p>
+     * This operation is performed in O(log n).
+     *
+     * @param fromIndex from index (inclusive)
+     * @param toIndex   to index (exclusive)
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size());
+        if (fromIndex == toIndex) {
+            return;
+        }
+        flushTail();
+        UniqueIdentity m = getOrCreateMutator();
+        Node<E> head = TrieListHelper.slice(m, root, level, 0, fromIndex);
+        Node<E> rest = TrieListHelper.slice(m, root, level, toIndex, treeSize);
+        setRoot(TrieListHelper.concat(m, head, TrieListHelper.levelOf(head), rest, TrieListHelper.levelOf(rest)),
+                treeSize - (toIndex - fromIndex));
+        modCount++;
+    }
+
+    /**
+     * Replaces the element at the specified index.
+     *
+     * @param index an index
+     * @param e     an element
+     * @return the previous element at the index
+     */
+    @Override
+    public E set(int index, E e) {
+        E old = get(index);
+        if (index >= treeSize) {
+            tail[index - treeSize] = e;
+        } else {
+            root = TrieListHelper.set(getOrCreateMutator(), root, level, index, e);
+        }
+        return old;
+    }
+
+    private void setRoot(@NonNull Node<E> root, int treeSize) {
+        this.root = root;
+        this.level = TrieListHelper.levelOf(root);
+        this.treeSize = treeSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return treeSize + tailLength;
+    }
+
+    /**
+     * Returns a persistent copy of this list.
+     *
+     * @return a persistent trie list
+     */
+    public @NonNull PersistentTrieList<E> toPersistent() {
+        flushTail();
+        mutator = null;
+        return treeSize == 0 ? PersistentTrieList.of() : new PersistentTrieList<>(root, treeSize);
+    }
+}
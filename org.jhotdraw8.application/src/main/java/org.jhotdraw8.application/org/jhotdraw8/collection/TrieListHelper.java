@@ -8,116 +8,384 @@ package org.jhotdraw8.collection;
 import org.jhotdraw8.annotation.NonNull;
 import org.jhotdraw8.annotation.Nullable;
 
+import java.io.Serializable;
 import java.util.Arrays;
-
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Package private class with code for {@link PersistentTrieList},
+ * {@link TrieList} and {@link TrieArray}.
+ * <p>
+ * {@link PersistentTrieList} and {@link TrieList} are based on a
+ * Relaxed Radix Balanced Tree (RRB-tree).
+ * <p>
+ * Invariants:
+ * <ul>
+ *     <li>The tree consists of internal nodes and leaf nodes.</li>
+ *     <li>The children of an internal node are internal nodes or leaf
+ *     nodes.</li>
+ *     <li>The children of a leaf node are data elements.</li>
+ *     <li>All leaf nodes are at the same depth in the tree.</li>
+ *     <li>A node has between {@code 1} and {@code m} children.</li>
+ *     <li>An internal node stores the cumulative sizes of its children.
+ *     Since a child never holds more elements than a child of a dense trie,
+ *     the radix of an index is a lower bound for the index of the child
+ *     that contains the element.</li>
+ *     <li>When two trees are concatenated, each level of the tree along the
+ *     seam has at most {@code RRB_EXTRAS} nodes more than the optimal
+ *     number of nodes. Otherwise, the nodes of the level are compacted.</li>
+ * </ul>
+ * References:
+ * <dl>
+ *     <dt>Phil Bagwell, Tiark Rompf. (2011). RRB-Trees: Efficient Immutable
+ *     Vectors.</dt>
+ *     <dd><a href="https://infoscience.epfl.ch/record/169879/files/RMTrees.pdf">epfl.ch</a></dd>
+ *     <dt>Jean Niklas L'orange. (2014). Improving RRB-Tree Performance through
+ *     Transience</dt>
+ *     <dd><a href="https://hypirion.com/thesis.pdf">hypirion.com</a></dd>
+ * </dl>
+ */
 class TrieListHelper {
-    final static LeafNode<?> EMPTY_LEAF = new LeafNode<>(new Object[0]);
     static final int BIT_PARTITION_SIZE = 2;
     static final int BIT_MASK = (1 << BIT_PARTITION_SIZE) - 1;
     static final int M = 1 << BIT_PARTITION_SIZE;
 
-    static <E> @NonNull LeafNode<E> merge(@Nullable UniqueIdentity mutator, @NonNull LeafNode<E> left, @NonNull LeafNode<E> right) {
-        E[] leftData = left.data;
-        E[] rightData = right.data;
-        E[] mergedData = Arrays.copyOf(leftData, leftData.length + rightData.length);
-        System.arraycopy(rightData, 0, mergedData, leftData.length, rightData.length);
-        return newLeafNode(mutator, mergedData);
+    /**
+     * The number of bits of an index, that select a child of a node in
+     * the RRB-tree.
+     */
+    static final int RRB_BIT_PARTITION_SIZE = 5;
+    /**
+     * The maximal number of children of a node in the RRB-tree.
+     */
+    static final int RRB_M = 1 << RRB_BIT_PARTITION_SIZE;
+    /**
+     * The number of nodes that a level of the RRB-tree may have in excess
+     * of the optimal number of nodes, before it is compacted.
+     */
+    static final int RRB_EXTRAS = 2;
+
+    static final LeafNode<?> EMPTY_LEAF = new LeafNode<>(new Object[0]);
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private TrieListHelper() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> @NonNull LeafNode<E> emptyLeaf() {
+        return (LeafNode<E>) EMPTY_LEAF;
     }
 
-    static <E> @NonNull InternalNode<E> newAbove(@Nullable UniqueIdentity mutator, @Nullable InternalNode<E> left, @Nullable InternalNode<E> centre, @Nullable InternalNode<E> right) {
-        int leftLen = left == null ? 0 : left.children.length - 1;
-        int centreLen = centre == null ? 0 : centre.children.length;
-        int rightLen = right == null ? 0 : right.children.length - 1;
+    static <E> @NonNull LeafNode<E> newLeafNode(@Nullable UniqueIdentity mutator, @NonNull Object[] data) {
+        return mutator == null ? new LeafNode<>(data) : new MutableLeafNode<>(mutator, data);
+    }
 
-        int[] mergedSizes = new int[leftLen + centreLen + rightLen];
-        @SuppressWarnings("unchecked")
-        Node<E>[] mergedChildren = (Node<E>[]) new Node[leftLen + centreLen + rightLen];
-        if (left != null) {
-            System.arraycopy(left.sizes, 0, mergedSizes, 0, leftLen);
-            System.arraycopy(left.children, 0, mergedChildren, 0, leftLen);
+    static <E> @NonNull InternalNode<E> newInternalNode(@Nullable UniqueIdentity mutator, @NonNull Node<E>[] children) {
+        int[] sizes = new int[children.length];
+        int size = 0;
+        for (int i = 0; i < children.length; i++) {
+            size += children[i].size();
+            sizes[i] = size;
         }
-        if (centre != null) {
-            System.arraycopy(centre.sizes, 0, mergedSizes, leftLen, centreLen);
-            System.arraycopy(centre.children, 0, mergedChildren, leftLen, centreLen);
+        return mutator == null ? new InternalNode<>(sizes, children) : new MutableInternalNode<>(mutator, sizes, children);
+    }
+
+    @SafeVarargs
+    private static <E> @NonNull Node<E>[] nodes(@NonNull Node<E>... nodes) {
+        return nodes;
+    }
+
+    /**
+     * Returns the level of the specified node. Leaf nodes have level 0.
+     *
+     * @param node a node
+     * @return the level of the node
+     */
+    static int levelOf(@NonNull Node<?> node) {
+        int level = 0;
+        while (node instanceof InternalNode) {
+            node = ((InternalNode<?>) node).children[0];
+            level++;
         }
-        if (right != null) {
-            System.arraycopy(right.sizes, 0, mergedSizes, leftLen + centreLen, rightLen);
-            System.arraycopy(right.children, 0, mergedChildren, leftLen + centreLen, rightLen);
+        return level;
+    }
+
+    /**
+     * Returns the index of the child that contains the specified element.
+     *
+     * @param sizes the cumulative sizes of the children
+     * @param level the level of the node
+     * @param index the index of the element relative to the node
+     * @return the index of the child
+     */
+    static int findChild(@NonNull int[] sizes, int level, int index) {
+        int i = index >>> (level * RRB_BIT_PARTITION_SIZE);
+        while (sizes[i] <= index) {
+            i++;
         }
-        return newInternalNode(mutator, mergedSizes, mergedChildren);
+        return i;
     }
 
-    static <E> @NonNull InternalNode<E> newAbove1(@Nullable UniqueIdentity mutator, @NonNull Node<E> child) {
-        int[] sizes = new int[]{child.getLength()};
-        @SuppressWarnings("unchecked") Node<E>[] children = new Node[]{child};
-        return newInternalNode(mutator, sizes, children);
+    @SuppressWarnings("unchecked")
+    static <E> E get(@NonNull Node<E> node, int level, int index) {
+        for (; level > 0; level--) {
+            InternalNode<E> internal = (InternalNode<E>) node;
+            int i = findChild(internal.sizes, level, index);
+            if (i > 0) {
+                index -= internal.sizes[i - 1];
+            }
+            node = internal.children[i];
+        }
+        return (E) ((LeafNode<E>) node).data[index];
     }
 
-    static <E> @NonNull InternalNode<E> newInternalNode(@Nullable UniqueIdentity mutator,
-                                                        @NonNull int[] sizes, @NonNull Node<E>[] children) {
-        return mutator == null ? new InternalNode<E>(sizes, children) : new MutableInternalNode<E>(mutator, sizes, children);
+    /**
+     * Replaces the element at the specified index.
+     * <p>
+     * Updates nodes that are owned by the mutator in place, and copies
+     * all other nodes on the path to the element.
+     *
+     * @param mutator the mutator
+     * @param node    the root node
+     * @param level   the level of the root node
+     * @param index   the index of the element
+     * @param e       the new element
+     * @param <E>     the element type
+     * @return the new root node
+     */
+    static <E> @NonNull Node<E> set(@Nullable UniqueIdentity mutator, @NonNull Node<E> node, int level, int index, E e) {
+        if (level == 0) {
+            LeafNode<E> leaf = (LeafNode<E>) node;
+            if (leaf.isAllowedToEdit(mutator)) {
+                leaf.data[index] = e;
+                return leaf;
+            }
+            Object[] newData = leaf.data.clone();
+            newData[index] = e;
+            return newLeafNode(mutator, newData);
+        }
+        InternalNode<E> internal = (InternalNode<E>) node;
+        int i = findChild(internal.sizes, level, index);
+        Node<E> child = internal.children[i];
+        Node<E> newChild = set(mutator, child, level - 1, i == 0 ? index : index - internal.sizes[i - 1], e);
+        if (internal.isAllowedToEdit(mutator)) {
+            internal.children[i] = newChild;
+            return internal;
+        }
+        Node<E>[] newChildren = internal.children.clone();
+        newChildren[i] = newChild;
+        // the sizes do not change, and are never updated in place
+        return mutator == null ? new InternalNode<>(internal.sizes, newChildren)
+                : new MutableInternalNode<>(mutator, internal.sizes, newChildren);
     }
 
-    static <E> @NonNull LeafNode<E> newLeafNode(@Nullable UniqueIdentity mutator, @NonNull E[] data) {
-        return mutator == null ? new LeafNode<E>(data) : new MutableLeafNode<E>(mutator, data);
+    /**
+     * Removes internal nodes with a single child from the top of the tree.
+     *
+     * @param node the root node
+     * @param <E>  the element type
+     * @return the new root node
+     */
+    static <E> @NonNull Node<E> trim(@NonNull Node<E> node) {
+        while (node instanceof InternalNode && ((InternalNode<E>) node).children.length == 1) {
+            node = ((InternalNode<E>) node).children[0];
+        }
+        return node;
     }
 
     /**
-     * Relaxed Radix Balanced Tree.
+     * Concatenates two trees.
      * <p>
-     * This is almost a trie, because the path from the root down to an element
-     * is approximately encoded by its index.
+     * This operation is performed in {@code O(log n)}.
+     *
+     * @param mutator    the mutator
+     * @param left       the root node of the left tree
+     * @param leftLevel  the level of the left root node
+     * @param right      the root node of the right tree
+     * @param rightLevel the level of the right root node
+     * @param <E>        the element type
+     * @return the root node of the concatenated tree
+     */
+    static <E> @NonNull Node<E> concat(@Nullable UniqueIdentity mutator,
+                                       @NonNull Node<E> left, int leftLevel,
+                                       @NonNull Node<E> right, int rightLevel) {
+        if (right.size() == 0) {
+            return left;
+        }
+        if (left.size() == 0) {
+            return right;
+        }
+        for (; leftLevel < rightLevel; leftLevel++) {
+            left = newInternalNode(mutator, nodes(left));
+        }
+        for (; rightLevel < leftLevel; rightLevel++) {
+            right = newInternalNode(mutator, nodes(right));
+        }
+        Node<E>[] merged = concatSameLevel(mutator, left, right, leftLevel);
+        return trim(merged.length == 1 ? merged[0] : newInternalNode(mutator, merged));
+    }
+
+    /**
+     * Concatenates two nodes of the same level.
+     *
+     * @return one or two nodes of the same level
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> @NonNull Node<E>[] concatSameLevel(@Nullable UniqueIdentity mutator,
+                                                         @NonNull Node<E> left, @NonNull Node<E> right, int level) {
+        if (level == 0) {
+            Object[] leftData = ((LeafNode<E>) left).data;
+            Object[] rightData = ((LeafNode<E>) right).data;
+            if (leftData.length + rightData.length > RRB_M) {
+                return nodes(left, right);
+            }
+            Object[] mergedData = Arrays.copyOf(leftData, leftData.length + rightData.length);
+            System.arraycopy(rightData, 0, mergedData, leftData.length, rightData.length);
+            return nodes(newLeafNode(mutator, mergedData));
+        }
+
+        // Merge the right edge of the left node with the left edge of the right node
+        Node<E>[] leftChildren = ((InternalNode<E>) left).children;
+        Node<E>[] rightChildren = ((InternalNode<E>) right).children;
+        Node<E>[] centre = concatSameLevel(mutator, leftChildren[leftChildren.length - 1], rightChildren[0], level - 1);
+        int leftLen = leftChildren.length - 1;
+        int rightLen = rightChildren.length - 1;
+        Node<E>[] merged = (Node<E>[]) new Node[leftLen + centre.length + rightLen];
+        System.arraycopy(leftChildren, 0, merged, 0, leftLen);
+        System.arraycopy(centre, 0, merged, leftLen, centre.length);
+        System.arraycopy(rightChildren, 1, merged, leftLen + centre.length, rightLen);
+        merged = rebalance(mutator, merged, level - 1);
+
+        if (merged.length <= RRB_M) {
+            return nodes(newInternalNode(mutator, merged));
+        }
+        return nodes(newInternalNode(mutator, Arrays.copyOfRange(merged, 0, RRB_M)),
+                newInternalNode(mutator, Arrays.copyOfRange(merged, RRB_M, merged.length)));
+    }
+
+    /**
+     * Compacts the specified nodes if there are more than
+     * {@link #RRB_EXTRAS} nodes in excess of the optimal number of nodes.
      * <p>
-     * Invariants:
-     * <ul>
-     *     <li>The data structure contains of a tree and of a tail.</li>
-     *     <li>The tree consists of inner nodes and leaf nodes.</li>
-     *     <li>The children of an inner node are inner nodes or leaf nodes.</li>
-     *     <li>The children of a leaf node are data element.</li>
-     *     <li>All leaf nodes are at the same depth in the tree.</li>
-     *     <li>All nodes except the root have between {@code m - 1}
-     *     and {@code m} children.</li>
-     *     <li>The root node has between {@code 1} and {@code m} children.</li>
-     *     <li>The tail has between {@code 0} and {@code m} data elements</li>
-     *     <li>A tree of height {@code h} has between {@code (m-1)^h + |tail|}
-     *     and {@code m^h + |tail|} elements.</li>
-     * </ul>
+     * The paper of Bagwell and Rompf only redistributes the children of the
+     * smallest nodes. We redistribute all children, because a level of
+     * the seam has at most {@code 2 * m} nodes.
      *
-     * @param <E>
+     * @param mutator the mutator
+     * @param nodes   the nodes
+     * @param level   the level of the nodes
+     * @return the compacted nodes or the specified nodes
      */
-    static class RrbTree<E> {
-        private int size;
-        private int shift;
-        private LeafNode<E> head;
-        private LeafNode<E> tail;
-        private InternalNode<E> root;
-        private UniqueIdentity mutator = new UniqueIdentity();
+    @SuppressWarnings("unchecked")
+    private static <E> @NonNull Node<E>[] rebalance(@Nullable UniqueIdentity mutator, @NonNull Node<E>[] nodes, int level) {
+        int slots = 0;
+        for (Node<E> node : nodes) {
+            slots += node.length();
+        }
+        int optimal = (slots + RRB_M - 1) / RRB_M;
+        if (nodes.length <= optimal + RRB_EXTRAS) {
+            return nodes;
+        }
 
-        @SuppressWarnings("unchecked")
-        public RrbTree() {
-            head = tail = (LeafNode<E>) EMPTY_LEAF;
-            root = newInternalNode(mutator, new int[]{0}, new LeafNode[]{EMPTY_LEAF});
-            size = 0;
-            shift = 0;
+        Node<E>[] compacted = (Node<E>[]) new Node[optimal];
+        if (level == 0) {
+            Object[] data = new Object[slots];
+            int offset = 0;
+            for (Node<E> node : nodes) {
+                Object[] nodeData = ((LeafNode<E>) node).data;
+                System.arraycopy(nodeData, 0, data, offset, nodeData.length);
+                offset += nodeData.length;
+            }
+            for (int i = 0; i < optimal; i++) {
+                compacted[i] = newLeafNode(mutator, Arrays.copyOfRange(data, i * RRB_M, Math.min(slots, (i + 1) * RRB_M)));
+            }
+        } else {
+            Node<E>[] children = (Node<E>[]) new Node[slots];
+            int offset = 0;
+            for (Node<E> node : nodes) {
+                Node<E>[] nodeChildren = ((InternalNode<E>) node).children;
+                System.arraycopy(nodeChildren, 0, children, offset, nodeChildren.length);
+                offset += nodeChildren.length;
+            }
+            for (int i = 0; i < optimal; i++) {
+                compacted[i] = newInternalNode(mutator, Arrays.copyOfRange(children, i * RRB_M, Math.min(slots, (i + 1) * RRB_M)));
+            }
         }
+        return compacted;
+    }
 
-        public E get(int index) {
-            throw new UnsupportedOperationException();
+    /**
+     * Returns a tree with the elements in the specified range.
+     * <p>
+     * This operation is performed in {@code O(log n)}.
+     *
+     * @param mutator   the mutator
+     * @param node      the root node
+     * @param level     the level of the root node
+     * @param fromIndex from index (inclusive)
+     * @param toIndex   to index (exclusive)
+     * @param <E>       the element type
+     * @return the root node of the new tree
+     */
+    static <E> @NonNull Node<E> slice(@Nullable UniqueIdentity mutator, @NonNull Node<E> node, int level, int fromIndex, int toIndex) {
+        if (fromIndex == toIndex) {
+            return emptyLeaf();
         }
+        return trim(drop(mutator, take(mutator, node, level, toIndex), level, fromIndex));
+    }
 
-        @SuppressWarnings("unchecked")
-        public void add(E e) {
-            @NonNull Node<E>[] newNodes = root.insert(mutator, (E[]) new Object[]{e}, size, shift);
-            root = (InternalNode<E>) newNodes[0];
+    /**
+     * Returns a tree with the first {@code n} elements, {@code n > 0}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> @NonNull Node<E> take(@Nullable UniqueIdentity mutator, @NonNull Node<E> node, int level, int n) {
+        if (n == node.size()) {
+            return node;
+        }
+        if (level == 0) {
+            return newLeafNode(mutator, Arrays.copyOf(((LeafNode<E>) node).data, n));
         }
+        InternalNode<E> internal = (InternalNode<E>) node;
+        int i = findChild(internal.sizes, level, n - 1);
+        Node<E>[] newChildren = Arrays.copyOf(internal.children, i + 1);
+        newChildren[i] = take(mutator, internal.children[i], level - 1, i == 0 ? n : n - internal.sizes[i - 1]);
+        return newInternalNode(mutator, newChildren);
+    }
 
-        public int size() {
-            return size;
+    /**
+     * Returns a tree without the first {@code n} elements, {@code n < size}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> @NonNull Node<E> drop(@Nullable UniqueIdentity mutator, @NonNull Node<E> node, int level, int n) {
+        if (n == 0) {
+            return node;
+        }
+        if (level == 0) {
+            Object[] data = ((LeafNode<E>) node).data;
+            return newLeafNode(mutator, Arrays.copyOfRange(data, n, data.length));
         }
+        InternalNode<E> internal = (InternalNode<E>) node;
+        int i = findChild(internal.sizes, level, n);
+        Node<E>[] newChildren = Arrays.copyOfRange(internal.children, i, internal.children.length);
+        newChildren[0] = drop(mutator, internal.children[i], level - 1, i == 0 ? n : n - internal.sizes[i - 1]);
+        return newInternalNode(mutator, newChildren);
     }
 
-    static abstract class Node<E> {
-        protected abstract int getLength();
+    abstract static class Node<E> implements Serializable {
+        private final static long serialVersionUID = 0L;
+
+        /**
+         * Returns the number of children or data elements of this node.
+         */
+        abstract int length();
+
+        /**
+         * Returns the number of data elements in the subtree of this node.
+         */
+        abstract int size();
 
         @Nullable UniqueIdentity getMutator() {
             return null;
@@ -127,139 +395,126 @@ class TrieListHelper {
             UniqueIdentity x = getMutator();
             return x != null && x == y;
         }
-
-        @SuppressWarnings("unchecked")
-        protected abstract @NonNull Node<E>[] insert(@Nullable UniqueIdentity mutator,
-                                                     @Nullable E[] elements,
-                                                     int index,
-                                                     int shift);
-
     }
 
     static class LeafNode<E> extends Node<E> {
-        private @NonNull E[] data;
+        private final static long serialVersionUID = 0L;
+        final @NonNull Object[] data;
 
-        LeafNode(@NonNull E[] newData) {
-            this.data = newData;
-        }
-
-        LeafNode<E> dec(@Nullable UniqueIdentity mutator) {
-            E[] newData = Arrays.copyOf(data, data.length - 1);
-            if (isAllowedToEdit(mutator)) {
-                data = newData;
-                return this;
-            } else {
-                return new LeafNode<>(newData);
-            }
+        LeafNode(@NonNull Object[] data) {
+            this.data = data;
         }
 
         @Override
-        protected int getLength() {
+        int length() {
             return data.length;
         }
 
-        @SuppressWarnings("unchecked")
-        protected @NonNull Node<E>[] insert(@Nullable UniqueIdentity mutator,
-                                            @Nullable E[] elements,
-                                            int index,
-                                            int shift) {
-            E[] newData = ArrayHelper.copyAddAll(data, index, elements);
-            if (isAllowedToEdit(mutator)) {
-                this.data = newData;
-                return new Node[]{this};
-            } else {
-                return new Node[]{newLeafNode(mutator, newData)};
-            }
-        }
-
-        LeafNode<E> inc(@Nullable UniqueIdentity mutator) {
-            E[] newData = Arrays.copyOf(data, data.length + 1);
-            if (isAllowedToEdit(mutator)) {
-                data = newData;
-                return this;
-            } else {
-                return new LeafNode<>(newData);
-            }
+        @Override
+        int size() {
+            return data.length;
         }
-
     }
 
     static class InternalNode<E> extends Node<E> {
-        private int[] sizes;
-        private @NonNull Node<E>[] children;
+        private final static long serialVersionUID = 0L;
+        final @NonNull int[] sizes;
+        final @NonNull Node<E>[] children;
 
-        public InternalNode(@NonNull int[] sizes, @NonNull Node<E>[] children) {
+        InternalNode(@NonNull int[] sizes, @NonNull Node<E>[] children) {
             this.sizes = sizes;
             this.children = children;
         }
 
-        @SuppressWarnings("unchecked")
-        protected @NonNull Node<E>[] insert(@Nullable UniqueIdentity mutator,
-                                            @Nullable E[] elements,
-                                            int index,
-                                            int shift) {
-            int i = Arrays.binarySearch(sizes, index);
-            if (i < 0) {
-                i = ~i;
-            }
-            int length = getLength();
-            Node<E>[] updated = children[i].insert(mutator, elements, index - sizes[i], shift - 1);
-            if (updated.length == 1) {
-                int insertLength = elements.length;
-                int[] newSizes = Arrays.copyOf(sizes, sizes.length);
-                for (int j = i; j < length; j++) {
-                    newSizes[j] += insertLength;
-                }
-                @NonNull Node<E>[] newChildren = Arrays.copyOf(children, children.length);
-                if (isAllowedToEdit(mutator)) {
-                    this.sizes = newSizes;
-                    this.children = newChildren;
-                    return new Node[]{this};
-                } else {
-                    return new Node[]{newInternalNode(mutator, newSizes, newChildren)};
-                }
-            } else {
-                throw new UnsupportedOperationException("implement me");
-            }
-        }
-
-        protected int getSize(int i) {
-            return i == 0 ? sizes[i] : sizes[i] - sizes[i - 1];
-        }
-
         @Override
-        protected int getLength() {
+        int length() {
             return children.length;
         }
 
+        @Override
+        int size() {
+            return sizes[sizes.length - 1];
+        }
     }
 
     static class MutableLeafNode<E> extends LeafNode<E> {
-        private final @NonNull UniqueIdentity mutator;
+        private final static long serialVersionUID = 0L;
+        private transient final @NonNull UniqueIdentity mutator;
 
-        MutableLeafNode(@NonNull UniqueIdentity mutator, @NonNull E[] data) {
+        MutableLeafNode(@NonNull UniqueIdentity mutator, @NonNull Object[] data) {
             super(data);
             this.mutator = mutator;
         }
 
+        @Override
         @NonNull UniqueIdentity getMutator() {
             return mutator;
         }
     }
 
     static class MutableInternalNode<E> extends InternalNode<E> {
-        private final @NonNull UniqueIdentity mutator;
+        private final static long serialVersionUID = 0L;
+        private transient final @NonNull UniqueIdentity mutator;
 
         MutableInternalNode(@NonNull UniqueIdentity mutator, @NonNull int[] sizes, @NonNull Node<E>[] children) {
             super(sizes, children);
             this.mutator = mutator;
         }
 
+        @Override
         @NonNull UniqueIdentity getMutator() {
             return mutator;
         }
     }
 
+    /**
+     * Iterates over the elements of a tree. Descends into the tree
+     * only once per leaf node.
+     */
+    static class LeafIterator<E> implements Iterator<E> {
+        private final @NonNull Node<E> root;
+        private final int level;
+        private final int size;
+        private int index;
+        private @Nullable Object[] leaf;
+        private int leafOffset;
+
+        LeafIterator(@NonNull Node<E> root, int level, int size) {
+            this.root = root;
+            this.level = level;
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            int i = index - leafOffset;
+            if (leaf == null || i >= leaf.length) {
+                Node<E> node = root;
+                i = index;
+                for (int l = level; l > 0; l--) {
+                    InternalNode<E> internal = (InternalNode<E>) node;
+                    int child = findChild(internal.sizes, l, i);
+                    if (child > 0) {
+                        i -= internal.sizes[child - 1];
+                    }
+                    node = internal.children[child];
+                }
+                leaf = ((LeafNode<E>) node).data;
+                leafOffset = index - i;
+            }
+            index++;
+            return (E) leaf[i];
+        }
+    }
 
     abstract static class TrieNode<E> {
         abstract E get(int index, int shift);
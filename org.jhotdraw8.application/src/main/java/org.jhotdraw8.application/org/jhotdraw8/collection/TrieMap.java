@@ -15,6 +15,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
 
 public class TrieMap<K, V> extends AbstractMap<K, V> implements Serializable, Cloneable {
     private final static long serialVersionUID = 0L;
@@ -95,6 +96,18 @@ public class TrieMap<K, V> extends AbstractMap<K, V> implements Serializable, Cl
                 return new TransientMapEntryIterator<K, V>(TrieMap.this);
             }
 
+            /**
+             * Returns a spliterator that splits at trie-node boundaries.
+             * It traverses a snapshot of this map: the map loses exclusive
+             * ownership of all trie nodes, so that subsequent updates do
+             * not affect the spliterator.
+             */
+            @Override
+            public Spliterator<Entry<K, V>> spliterator() {
+                mutator = null;
+                return new TrieMapHelper.MapEntrySpliterator<>(root, size, 0);
+            }
+
             @Override
             public boolean remove(Object o) {
                 if (o instanceof Entry) {
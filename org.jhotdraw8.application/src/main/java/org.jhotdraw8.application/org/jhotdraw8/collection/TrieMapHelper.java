@@ -15,6 +15,8 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * Package private class with code for {@link PersistentTrieMap}
@@ -268,6 +270,11 @@ class TrieMapHelper {
                 return true;
             }
             BitmapIndexedNode<?, ?> that = (BitmapIndexedNode<?, ?>) other;
+            if (nodes == that.nodes && nodeMap() == that.nodeMap() && dataMap() == that.dataMap()) {
+                // Shared trie: the root of a persistent collection shares
+                // the nodes array with the node that it was created from.
+                return true;
+            }
 
             // nodes array: we compare local payload from 0 to splitAt (excluded)
             // and then we compare the nested nodes from splitAt to length (excluded)
@@ -654,6 +661,67 @@ class TrieMapHelper {
             return this;
         }
 
+        /**
+         * Computes the union of this node and the specified node.
+         * The specified node must be a node with the same hash.
+         * The values of the specified node win.
+         */
+        @NonNull Node<K, V> union(@Nullable UniqueIdentity mutator, @NonNull Node<K, V> that,
+                                  @NonNull BulkChangeEvent bulkChange) {
+            Object[] entriesNew = entries;
+            int added = 0;
+            for (int i = 0, n = that.payloadArity(); i < n; i++) {
+                K key = that.getKey(i);
+                V val = that.getValue(i);
+                int index = payloadIndex(key, hash, 0);
+                if (index < 0) {
+                    if (added == 0) {
+                        entriesNew = Arrays.copyOf(entriesNew, entries.length + TUPLE_LENGTH * (n - i));
+                    }
+                    entriesNew[entries.length + TUPLE_LENGTH * added] = key;
+                    entriesNew[entries.length + TUPLE_LENGTH * added + 1] = val;
+                    added++;
+                } else if (!Objects.equals(getValue(index), val)) {
+                    if (entriesNew == entries) {
+                        entriesNew = entries.clone();
+                    }
+                    entriesNew[TUPLE_LENGTH * index + 1] = val;
+                }
+            }
+            if (entriesNew == entries) {
+                return this;
+            }
+            bulkChange.sizeChange += added;
+            return newHashCollisionNode(mutator, hash,
+                    Arrays.copyOf(entriesNew, entries.length + TUPLE_LENGTH * added));
+        }
+
+        /**
+         * Retains or removes the entries of this node whose keys are
+         * contained in the specified node of a set trie.
+         */
+        @NonNull Node<K, V> retainOrRemove(@Nullable UniqueIdentity mutator, TrieSetHelper.@NonNull Node<K> that, int shift,
+                                           boolean retain, @NonNull BulkChangeEvent bulkChange) {
+            Object[] kept = new Object[entries.length];
+            int keptLength = 0;
+            for (int i = 0; i < entries.length; i += TUPLE_LENGTH) {
+                @SuppressWarnings("unchecked") K key = (K) entries[i];
+                if (that.contains(key, hash, shift) == retain) {
+                    kept[keptLength++] = key;
+                    kept[keptLength++] = entries[i + 1];
+                }
+            }
+            bulkChange.sizeChange -= (entries.length - keptLength) / TUPLE_LENGTH;
+            if (keptLength == 0) {
+                return emptyNode();
+            } else if (keptLength == TUPLE_LENGTH) {
+                return newBitmapIndexedNode(mutator, 0, bitpos(mask(hash, 0)), new Object[]{kept[0], kept[1]});
+            } else if (keptLength == entries.length) {
+                return this;
+            }
+            return newHashCollisionNode(mutator, hash, Arrays.copyOf(kept, keptLength));
+        }
+
         @Override
         public SizeClass sizePredicate() {
             return SizeClass.SIZE_MORE_THAN_ONE;
@@ -832,6 +900,197 @@ class TrieMapHelper {
         }
     }
 
+    /**
+     * Spliterator skeleton that splits at trie-node boundaries.
+     * <p>
+     * A spliterator covers a range of the payload of a node, and a range of
+     * the sub-nodes of the same node. It splits off half of its sub-nodes;
+     * if it covers only one sub-node, it descends into it.
+     * <p>
+     * Only the size of the unsplit spliterator is exact. Counting the
+     * entries of the split-off sub-nodes would take linear time, so a
+     * split distributes the estimated size over the sub-nodes, and both
+     * spliterators report {@link Spliterator#SIZED} no longer.
+     */
+    static abstract class AbstractMapSpliterator<K, V, E> implements Spliterator<E> {
+        private @NonNull Node<K, V> node;
+        private int dataLo;
+        private int dataHi;
+        private int childLo;
+        private int childHi;
+        private @Nullable AbstractMapSpliterator<K, V, E> current;
+        private long size;
+        protected int characteristics;
+
+        AbstractMapSpliterator(@NonNull Node<K, V> node, int dataLo, int dataHi, int childLo, int childHi,
+                               long size, int characteristics) {
+            this.node = node;
+            this.dataLo = dataLo;
+            this.dataHi = dataHi;
+            this.childLo = childLo;
+            this.childHi = childHi;
+            this.size = size;
+            this.characteristics = characteristics | Spliterator.DISTINCT;
+        }
+
+        abstract E element(@NonNull Node<K, V> node, int index);
+
+        abstract @NonNull AbstractMapSpliterator<K, V, E> newSpliterator(@NonNull Node<K, V> node, int dataLo, int dataHi,
+                                                                         int childLo, int childHi, long size);
+
+        @Override
+        public boolean tryAdvance(@NonNull Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            for (; ; ) {
+                if (dataLo < dataHi) {
+                    if (size > 0) {
+                        size--;
+                    }
+                    action.accept(element(node, dataLo++));
+                    return true;
+                }
+                if (current != null && current.tryAdvance(action)) {
+                    if (size > 0) {
+                        size--;
+                    }
+                    return true;
+                }
+                current = null;
+                if (childLo == childHi) {
+                    return false;
+                }
+                Node<K, V> child = node.getNode(childLo++);
+                current = newSpliterator(child, 0, child.payloadArity(), 0, child.nodeArity(), 0);
+            }
+        }
+
+        @Override
+        public void forEachRemaining(@NonNull Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            for (; dataLo < dataHi; dataLo++) {
+                action.accept(element(node, dataLo));
+            }
+            if (current != null) {
+                current.forEachRemaining(action);
+                current = null;
+            }
+            for (; childLo < childHi; childLo++) {
+                forEach(node.getNode(childLo), action);
+            }
+            size = 0;
+        }
+
+        private void forEach(@NonNull Node<K, V> node, @NonNull Consumer<? super E> action) {
+            for (int i = 0, n = node.payloadArity(); i < n; i++) {
+                action.accept(element(node, i));
+            }
+            for (int i = 0, n = node.nodeArity(); i < n; i++) {
+                forEach(node.getNode(i), action);
+            }
+        }
+
+        @Override
+        public @Nullable Spliterator<E> trySplit() {
+            boolean busy = dataLo < dataHi || current != null;
+            int children = childHi - childLo;
+            if (children >= 2 || children == 1 && busy) {
+                int mid = children == 1 ? childHi : (childLo + childHi) >>> 1;
+                characteristics &= ~Spliterator.SIZED;
+                long prefixSize = estimateChildren(childLo, mid);
+                AbstractMapSpliterator<K, V, E> prefix = newSpliterator(node, 0, 0, childLo, mid, prefixSize);
+                childLo = mid;
+                size = Math.max(0, size - prefixSize);
+                return prefix;
+            }
+            if (children == 1) {
+                // descend into the only sub-node, the size does not change
+                node = node.getNode(childLo);
+                dataLo = 0;
+                dataHi = node.payloadArity();
+                childLo = 0;
+                childHi = node.nodeArity();
+                current = null;
+                return trySplit();
+            }
+            if (current == null && dataHi - dataLo >= 2) {
+                int mid = (dataLo + dataHi) >>> 1;
+                characteristics &= ~Spliterator.SIZED;
+                AbstractMapSpliterator<K, V, E> prefix = newSpliterator(node, dataLo, mid, 0, 0, mid - dataLo);
+                size = Math.max(0, size - (mid - dataLo));
+                dataLo = mid;
+                return prefix;
+            }
+            return null;
+        }
+
+        /**
+         * Estimates the number of entries in the specified sub-nodes, by
+         * distributing the entries that are not in the payload evenly
+         * over the remaining sub-nodes. A sub-node holds at least one
+         * entry.
+         */
+        private long estimateChildren(int from, int to) {
+            long childrenSize = Math.max(0, size - (dataHi - dataLo));
+            return Math.max(to - from, childrenSize * (to - from) / (childHi - childLo));
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+    }
+
+    static class MapEntrySpliterator<K, V> extends AbstractMapSpliterator<K, V, Map.Entry<K, V>> {
+        MapEntrySpliterator(@NonNull Node<K, V> root, int size, int characteristics) {
+            this(root, 0, root.payloadArity(), 0, root.nodeArity(), size,
+                    characteristics | Spliterator.SIZED);
+        }
+
+        private MapEntrySpliterator(@NonNull Node<K, V> node, int dataLo, int dataHi, int childLo, int childHi,
+                                    long size, int characteristics) {
+            super(node, dataLo, dataHi, childLo, childHi, size, characteristics);
+        }
+
+        @Override
+        Map.Entry<K, V> element(@NonNull Node<K, V> node, int index) {
+            return node.getKeyValueEntry(index);
+        }
+
+        @Override
+        @NonNull MapEntrySpliterator<K, V> newSpliterator(@NonNull Node<K, V> node, int dataLo, int dataHi,
+                                                          int childLo, int childHi, long size) {
+            return new MapEntrySpliterator<>(node, dataLo, dataHi, childLo, childHi, size, characteristics);
+        }
+    }
+
+    static class MapKeySpliterator<K, V> extends AbstractMapSpliterator<K, V, K> {
+        MapKeySpliterator(@NonNull Node<K, V> root, int size, int characteristics) {
+            this(root, 0, root.payloadArity(), 0, root.nodeArity(), size,
+                    characteristics | Spliterator.SIZED);
+        }
+
+        private MapKeySpliterator(@NonNull Node<K, V> node, int dataLo, int dataHi, int childLo, int childHi,
+                                  long size, int characteristics) {
+            super(node, dataLo, dataHi, childLo, childHi, size, characteristics);
+        }
+
+        @Override
+        K element(@NonNull Node<K, V> node, int index) {
+            return node.getKey(index);
+        }
+
+        @Override
+        @NonNull MapKeySpliterator<K, V> newSpliterator(@NonNull Node<K, V> node, int dataLo, int dataHi,
+                                                        int childLo, int childHi, long size) {
+            return new MapKeySpliterator<>(node, dataLo, dataHi, childLo, childHi, size, characteristics);
+        }
+    }
+
     protected static class MapKeyIterator<K, V> extends AbstractMapIterator<K, V>
             implements Iterator<K> {
 
@@ -920,6 +1179,259 @@ class TrieMapHelper {
         }
     }
 
+    static class BulkChangeEvent {
+        int sizeChange;
+    }
+
+    /**
+     * Computes the union of two tries node by node. If both tries contain
+     * the same key, the value of the second trie wins.
+     * <p>
+     * Shares sub-nodes that only occur in one of the tries, and skips
+     * sub-nodes that are identical in both tries.
+     *
+     * @param mutator    the mutator
+     * @param a          a node of the first trie
+     * @param b          a node of the second trie at the same position
+     * @param shift      the shift of both nodes
+     * @param bulkChange accumulates the number of added entries
+     * @param <K>        the key type
+     * @param <V>        the value type
+     * @return the union; returns {@code a} if no entries were added or updated
+     */
+    static <K, V> @NonNull Node<K, V> union(@Nullable UniqueIdentity mutator, @NonNull Node<K, V> a, @NonNull Node<K, V> b,
+                                            int shift, @NonNull BulkChangeEvent bulkChange) {
+        if (a == b) {
+            return a;
+        }
+        if (a instanceof HashCollisionNode) {
+            return ((HashCollisionNode<K, V>) a).union(mutator, b, bulkChange);
+        }
+        BitmapIndexedNode<K, V> x = (BitmapIndexedNode<K, V>) a;
+        BitmapIndexedNode<K, V> y = (BitmapIndexedNode<K, V>) b;
+        int subShift = shift + BIT_PARTITION_SIZE;
+        int bitmap = x.dataMap | x.nodeMap | y.dataMap | y.nodeMap;
+        NodeBuilder<K, V> builder = new NodeBuilder<>(Integer.bitCount(bitmap));
+        for (; bitmap != 0; bitmap ^= Integer.lowestOneBit(bitmap)) {
+            final int bitpos = Integer.lowestOneBit(bitmap);
+            if ((x.dataMap & bitpos) != 0) {
+                int dataIndex = x.dataIndex(bitpos);
+                K key = x.getKey(dataIndex);
+                V val = x.getValue(dataIndex);
+                if ((y.dataMap & bitpos) != 0) {
+                    int otherIndex = y.dataIndex(bitpos);
+                    K otherKey = y.getKey(otherIndex);
+                    V otherVal = y.getValue(otherIndex);
+                    if (Objects.equals(key, otherKey)) {
+                        builder.addData(bitpos, key, Objects.equals(val, otherVal) ? val : otherVal);
+                    } else {
+                        builder.addNode(bitpos, Node.mergeTwoKeyValPairs(mutator, key, val, Objects.hashCode(key),
+                                otherKey, otherVal, Objects.hashCode(otherKey), subShift));
+                        bulkChange.sizeChange++;
+                    }
+                } else if ((y.nodeMap & bitpos) != 0) {
+                    Node<K, V> otherNode = y.nodeAt(bitpos);
+                    int keyHash = Objects.hashCode(key);
+                    if (otherNode.findByKey(key, keyHash, subShift).keyExists()) {
+                        builder.addNode(bitpos, otherNode);
+                        bulkChange.sizeChange += countElements(otherNode) - 1;
+                    } else {
+                        builder.addNode(bitpos, otherNode.updated(mutator, key, val, keyHash, subShift, new ChangeEvent<>()));
+                        bulkChange.sizeChange += countElements(otherNode);
+                    }
+                } else {
+                    builder.addData(bitpos, key, val);
+                }
+            } else if ((x.nodeMap & bitpos) != 0) {
+                Node<K, V> subNode = x.nodeAt(bitpos);
+                if ((y.dataMap & bitpos) != 0) {
+                    int otherIndex = y.dataIndex(bitpos);
+                    K otherKey = y.getKey(otherIndex);
+                    ChangeEvent<V> details = new ChangeEvent<>();
+                    builder.addNode(bitpos, subNode.updated(mutator, otherKey, y.getValue(otherIndex),
+                            Objects.hashCode(otherKey), subShift, details));
+                    if (details.isModified() && !details.hasReplacedValue()) {
+                        bulkChange.sizeChange++;
+                    }
+                } else if ((y.nodeMap & bitpos) != 0) {
+                    builder.addNode(bitpos, union(mutator, subNode, y.nodeAt(bitpos), subShift, bulkChange));
+                } else {
+                    builder.addNode(bitpos, subNode);
+                }
+            } else if ((y.dataMap & bitpos) != 0) {
+                int otherIndex = y.dataIndex(bitpos);
+                builder.addData(bitpos, y.getKey(otherIndex), y.getValue(otherIndex));
+                bulkChange.sizeChange++;
+            } else {
+                Node<K, V> otherNode = y.nodeAt(bitpos);
+                builder.addNode(bitpos, otherNode);
+                bulkChange.sizeChange += countElements(otherNode);
+            }
+        }
+        return builder.build(mutator, x);
+    }
+
+    /**
+     * Retains or removes the entries of a trie whose keys are contained in
+     * a trie of a {@link PersistentTrieSet}, node by node.
+     * <p>
+     * Both tries use the same hash function for the keys, and thus have
+     * the same shape. Shares sub-nodes that are retained completely.
+     *
+     * @param mutator    the mutator
+     * @param a          a node of the map trie
+     * @param b          a node of the set trie at the same position
+     * @param shift      the shift of both nodes
+     * @param retain     {@code true} retains the entries with keys in the
+     *                   set, {@code false} removes them
+     * @param bulkChange accumulates the negated number of removed entries
+     * @param <K>        the key type
+     * @param <V>        the value type
+     * @return the new node, may be a node with zero or one entry;
+     * returns {@code a} if no entries were removed
+     */
+    static <K, V> @NonNull Node<K, V> retainOrRemove(@Nullable UniqueIdentity mutator, @NonNull Node<K, V> a,
+                                                     TrieSetHelper.@NonNull Node<K> b, int shift, boolean retain,
+                                                     @NonNull BulkChangeEvent bulkChange) {
+        if (a instanceof HashCollisionNode) {
+            return ((HashCollisionNode<K, V>) a).retainOrRemove(mutator, b, shift, retain, bulkChange);
+        }
+        BitmapIndexedNode<K, V> x = (BitmapIndexedNode<K, V>) a;
+        TrieSetHelper.BitmapIndexedNode<K> y = (TrieSetHelper.BitmapIndexedNode<K>) b;
+        int subShift = shift + BIT_PARTITION_SIZE;
+        int bitmap = x.dataMap | x.nodeMap;
+        NodeBuilder<K, V> builder = new NodeBuilder<>(Integer.bitCount(bitmap));
+        for (; bitmap != 0; bitmap ^= Integer.lowestOneBit(bitmap)) {
+            final int bitpos = Integer.lowestOneBit(bitmap);
+            if ((x.dataMap & bitpos) != 0) {
+                int dataIndex = x.dataIndex(bitpos);
+                K key = x.getKey(dataIndex);
+                boolean contained = (y.dataMap & bitpos) != 0 ? Objects.equals(key, y.getKey(Node.index(y.dataMap, bitpos)))
+                        : (y.nodeMap & bitpos) != 0
+                        && y.getNode(Node.index(y.nodeMap, bitpos)).contains(key, Objects.hashCode(key), subShift);
+                if (contained == retain) {
+                    builder.addData(bitpos, key, x.getValue(dataIndex));
+                } else {
+                    bulkChange.sizeChange--;
+                }
+            } else {
+                Node<K, V> subNode = x.nodeAt(bitpos);
+                if ((y.dataMap & bitpos) != 0) {
+                    K otherKey = y.getKey(Node.index(y.dataMap, bitpos));
+                    int otherKeyHash = Objects.hashCode(otherKey);
+                    if (retain) {
+                        Map.Entry<K, V> found = findEntry(subNode, otherKey, otherKeyHash, subShift);
+                        bulkChange.sizeChange -= countElements(subNode);
+                        if (found != null) {
+                            builder.addData(bitpos, found.getKey(), found.getValue());
+                            bulkChange.sizeChange++;
+                        }
+                    } else {
+                        ChangeEvent<V> details = new ChangeEvent<>();
+                        builder.addNode(bitpos, subNode.removed(mutator, otherKey, otherKeyHash, subShift, details));
+                        if (details.isModified()) {
+                            bulkChange.sizeChange--;
+                        }
+                    }
+                } else if ((y.nodeMap & bitpos) != 0) {
+                    builder.addNode(bitpos, retainOrRemove(mutator, subNode, y.getNode(Node.index(y.nodeMap, bitpos)),
+                            subShift, retain, bulkChange));
+                } else if (retain) {
+                    bulkChange.sizeChange -= countElements(subNode);
+                } else {
+                    builder.addNode(bitpos, subNode);
+                }
+            }
+        }
+        return builder.build(mutator, x);
+    }
+
+    /**
+     * Returns the entry of the trie with the specified key, or null.
+     */
+    private static <K, V> Map.@Nullable Entry<K, V> findEntry(@NonNull Node<K, V> node, @Nullable K key, int keyHash, int shift) {
+        for (; ; shift += BIT_PARTITION_SIZE) {
+            int index = node.payloadIndex(key, keyHash, shift);
+            if (index >= 0 && Objects.equals(node.getKey(index), key)) {
+                return node.getKeyValueEntry(index);
+            }
+            index = node.nodeIndex(keyHash, shift);
+            if (index < 0) {
+                return null;
+            }
+            node = node.getNode(index);
+        }
+    }
+
+    /**
+     * Counts the entries in the specified trie.
+     */
+    static int countElements(@NonNull Node<?, ?> node) {
+        int count = node.payloadArity();
+        for (int i = 0, n = node.nodeArity(); i < n; i++) {
+            count += countElements(node.getNode(i));
+        }
+        return count;
+    }
+
+    /**
+     * Collects the entries and sub-nodes of a new bitmap indexed node in
+     * ascending order of their bit-positions.
+     */
+    private static class NodeBuilder<K, V> {
+        private final @NonNull Object[] data;
+        private final @NonNull Object[] subNodes;
+        private int dataLength;
+        private int nodeLength;
+        private int dataMap;
+        private int nodeMap;
+
+        NodeBuilder(int capacity) {
+            data = new Object[TUPLE_LENGTH * capacity];
+            subNodes = new Object[capacity];
+        }
+
+        void addData(int bitpos, K key, V val) {
+            data[dataLength++] = key;
+            data[dataLength++] = val;
+            dataMap |= bitpos;
+        }
+
+        /**
+         * Adds a sub-node. Inlines the sub-node if it has only one entry,
+         * and drops the sub-node if it is empty.
+         */
+        void addNode(int bitpos, @NonNull Node<K, V> node) {
+            switch (node.sizePredicate()) {
+            case SIZE_EMPTY:
+                break;
+            case SIZE_ONE:
+                addData(bitpos, node.getKey(0), node.getValue(0));
+                break;
+            default:
+                subNodes[nodeLength++] = node;
+                nodeMap |= bitpos;
+                break;
+            }
+        }
+
+        /**
+         * Builds the node. Returns the original node if nothing has changed.
+         */
+        @NonNull BitmapIndexedNode<K, V> build(@Nullable UniqueIdentity mutator, @NonNull BitmapIndexedNode<K, V> original) {
+            Object[] nodes = new Object[dataLength + nodeLength];
+            System.arraycopy(data, 0, nodes, 0, dataLength);
+            for (int i = 0; i < nodeLength; i++) {
+                nodes[nodes.length - 1 - i] = subNodes[i];
+            }
+            if (dataMap == original.dataMap && nodeMap == original.nodeMap
+                    && ArrayHelper.equals(nodes, 0, nodes.length, original.nodes, 0, original.nodes.length, (p, q) -> p == q)) {
+                return original;
+            }
+            return newBitmapIndexedNode(mutator, nodeMap, dataMap, nodes);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     static <K, V> TrieMapHelper.BitmapIndexedNode<K, V> emptyNode() {
         return (TrieMapHelper.BitmapIndexedNode<K, V>) TrieMapHelper.EMPTY_NODE;
@@ -8,8 +8,10 @@ package org.jhotdraw8.collection;
 import org.jhotdraw8.annotation.NonNull;
 import org.jhotdraw8.annotation.Nullable;
 import org.jhotdraw8.collection.TrieSetHelper.BitmapIndexedNode;
+import org.jhotdraw8.collection.TrieSetHelper.BulkChangeEvent;
 import org.jhotdraw8.collection.TrieSetHelper.ChangeEvent;
 import org.jhotdraw8.collection.TrieSetHelper.TrieIterator;
+import org.jhotdraw8.collection.TrieSetHelper.TrieSpliterator;
 
 import java.io.Serializable;
 import java.util.AbstractSet;
@@ -17,6 +19,7 @@ import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.Spliterator;
 
 public class TrieSet<E> extends AbstractSet<E> implements Serializable, Cloneable {
     private final static long serialVersionUID = 0L;
@@ -93,29 +96,20 @@ public class TrieSet<E> extends AbstractSet<E> implements Serializable, Cloneabl
             return false;
         }
 
-        /*
         if (c instanceof TrieSet<?>) {
             c = ((TrieSet<? extends E>) c).toPersistent();
         }
         if (c instanceof PersistentTrieSet<?>) {
             PersistentTrieSet<E> that = (PersistentTrieSet<E>) c;
             BulkChangeEvent bulkChange = new BulkChangeEvent();
-            bulkChange.sizeChange=that.size;
-            root = root.copyAddAll(that, 0, bulkChange, getOrCreateMutator());
-            if (bulkChange.sizeChange != 0) {
-                this.size += bulkChange.sizeChange;
-                modCount++;
-                return true;
-            } else {
-                return false;
-            }
-        } else {*/
-            boolean modified = false;
-            for (E e : c) {
-                modified |= add(e);
-            }
-            return modified;
-        //}
+            root = (BitmapIndexedNode<E>) TrieSetHelper.union(getOrCreateMutator(), root, that, 0, bulkChange);
+            return updateSize(bulkChange);
+        }
+        boolean modified = false;
+        for (E e : c) {
+            modified |= add(e);
+        }
+        return modified;
     }
 
     /**
@@ -174,6 +168,22 @@ public class TrieSet<E> extends AbstractSet<E> implements Serializable, Cloneabl
         return new MutableTrieIterator<>(this);
     }
 
+    /**
+     * Returns a spliterator over the elements of this set.
+     * <p>
+     * The spliterator splits at trie-node boundaries. It reports an exact
+     * size until it is split. It traverses a snapshot of this set: this set loses exclusive
+     * ownership of all trie nodes, so that subsequent updates do not
+     * affect the spliterator.
+     *
+     * @return a spliterator
+     */
+    @Override
+    public @NonNull Spliterator<E> spliterator() {
+        mutator = null;
+        return new TrieSpliterator<>(root, size, 0);
+    }
+
     /**
      * Removes the specified element if it is in this set.
      *
@@ -219,6 +229,12 @@ public class TrieSet<E> extends AbstractSet<E> implements Serializable, Cloneabl
             clear();
             return true;
         }
+        if (c instanceof TrieSet<?>) {
+            c = ((TrieSet<?>) c).toPersistent();
+        }
+        if (c instanceof PersistentTrieSet<?>) {
+            return retainOrRemoveAll((PersistentTrieSet<?>) c, false);
+        }
         boolean modified = false;
         for (Object o : c) {
             modified |= remove(o);
@@ -226,6 +242,44 @@ public class TrieSet<E> extends AbstractSet<E> implements Serializable, Cloneabl
         return modified;
     }
 
+    /**
+     * Retains all elements that are in the specified collection.
+     *
+     * @param c a collection of elements
+     * @returns {@code true} if this set changed
+     */
+    @Override
+    public boolean retainAll(@NonNull Collection<?> c) {
+        if (isEmpty() || c == this) {
+            return false;
+        }
+        if (c instanceof TrieSet<?>) {
+            return retainOrRemoveAll(((TrieSet<?>) c).toPersistent(), true);
+        }
+        return super.retainAll(c);
+    }
+
+    /**
+     * Retains or removes all elements of the specified set by merging the
+     * two tries node by node.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean retainOrRemoveAll(@NonNull PersistentTrieSet<?> that, boolean retain) {
+        BulkChangeEvent bulkChange = new BulkChangeEvent();
+        root = (BitmapIndexedNode<E>) TrieSetHelper.retainOrRemove(getOrCreateMutator(), root, (PersistentTrieSet<E>) that,
+                0, retain, bulkChange);
+        return updateSize(bulkChange);
+    }
+
+    private boolean updateSize(@NonNull BulkChangeEvent bulkChange) {
+        if (bulkChange.sizeChange == 0) {
+            return false;
+        }
+        size += bulkChange.sizeChange;
+        modCount++;
+        return true;
+    }
+
     /**
      * {@inheritDoc
      */
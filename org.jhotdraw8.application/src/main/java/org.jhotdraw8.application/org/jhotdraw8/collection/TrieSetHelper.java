@@ -11,11 +11,12 @@ import org.jhotdraw8.annotation.Nullable;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * Package private class with code for {@link PersistentTrieSet}
@@ -47,6 +48,247 @@ class TrieSetHelper {
         int sizeChange;
     }
 
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * Computes the union of two tries node by node.
+     * <p>
+     * Shares sub-nodes that only occur in one of the tries, and skips
+     * sub-nodes that are identical in both tries.
+     *
+     * @param mutator    the mutator
+     * @param a          a node of the first trie
+     * @param b          a node of the second trie at the same position
+     * @param shift      the shift of both nodes
+     * @param bulkChange accumulates the number of added elements
+     * @param <K>        the element type
+     * @return the union; returns {@code a} if no elements were added
+     */
+    static <K> @NonNull Node<K> union(@Nullable UniqueIdentity mutator, @NonNull Node<K> a, @NonNull Node<K> b,
+                                      int shift, @NonNull BulkChangeEvent bulkChange) {
+        if (a == b) {
+            return a;
+        }
+        if (a instanceof HashCollisionNode) {
+            return ((HashCollisionNode<K>) a).union(mutator, b, shift, bulkChange);
+        }
+        BitmapIndexedNode<K> x = (BitmapIndexedNode<K>) a;
+        BitmapIndexedNode<K> y = (BitmapIndexedNode<K>) b;
+        int subShift = shift + BIT_PARTITION_SIZE;
+        int bitmap = x.dataMap | x.nodeMap | y.dataMap | y.nodeMap;
+        NodeBuilder<K> builder = new NodeBuilder<>(Integer.bitCount(bitmap));
+        for (; bitmap != 0; bitmap ^= Integer.lowestOneBit(bitmap)) {
+            final int bitpos = Integer.lowestOneBit(bitmap);
+            if ((x.dataMap & bitpos) != 0) {
+                K key = x.keyAt(bitpos);
+                if ((y.dataMap & bitpos) != 0) {
+                    K otherKey = y.keyAt(bitpos);
+                    if (Objects.equals(key, otherKey)) {
+                        builder.addData(bitpos, key);
+                    } else {
+                        builder.addNode(bitpos, x.mergeTwoKeyValPairs(mutator, key, Objects.hashCode(key),
+                                otherKey, Objects.hashCode(otherKey), subShift));
+                        bulkChange.sizeChange++;
+                    }
+                } else if ((y.nodeMap & bitpos) != 0) {
+                    Node<K> otherNode = y.nodeAt(bitpos);
+                    ChangeEvent changeEvent = new ChangeEvent();
+                    Node<K> subNodeNew = otherNode.updated(mutator, key, Objects.hashCode(key), subShift, changeEvent);
+                    bulkChange.sizeChange += countElements(otherNode) - (changeEvent.isModified ? 0 : 1);
+                    builder.addNode(bitpos, subNodeNew);
+                } else {
+                    builder.addData(bitpos, key);
+                }
+            } else if ((x.nodeMap & bitpos) != 0) {
+                Node<K> subNode = x.nodeAt(bitpos);
+                if ((y.dataMap & bitpos) != 0) {
+                    K otherKey = y.keyAt(bitpos);
+                    ChangeEvent changeEvent = new ChangeEvent();
+                    Node<K> subNodeNew = subNode.updated(mutator, otherKey, Objects.hashCode(otherKey), subShift, changeEvent);
+                    if (changeEvent.isModified) {
+                        bulkChange.sizeChange++;
+                    }
+                    builder.addNode(bitpos, subNodeNew);
+                } else if ((y.nodeMap & bitpos) != 0) {
+                    builder.addNode(bitpos, union(mutator, subNode, y.nodeAt(bitpos), subShift, bulkChange));
+                } else {
+                    builder.addNode(bitpos, subNode);
+                }
+            } else if ((y.dataMap & bitpos) != 0) {
+                builder.addData(bitpos, y.keyAt(bitpos));
+                bulkChange.sizeChange++;
+            } else {
+                Node<K> otherNode = y.nodeAt(bitpos);
+                builder.addNode(bitpos, otherNode);
+                bulkChange.sizeChange += countElements(otherNode);
+            }
+        }
+        return builder.build(mutator, x);
+    }
+
+    /**
+     * Computes the intersection or the difference of two tries node by node.
+     * <p>
+     * Shares sub-nodes that are retained completely, and skips sub-nodes that
+     * are identical in both tries.
+     *
+     * @param mutator    the mutator
+     * @param a          a node of the first trie
+     * @param b          a node of the second trie at the same position
+     * @param shift      the shift of both nodes
+     * @param retain     {@code true} computes the intersection,
+     *                   {@code false} computes the difference {@code a - b}
+     * @param bulkChange accumulates the negated number of removed elements
+     * @param <K>        the element type
+     * @return the intersection or the difference, may be a node with
+     * zero or one element; returns {@code a} if no elements were removed
+     */
+    static <K> @NonNull Node<K> retainOrRemove(@Nullable UniqueIdentity mutator, @NonNull Node<K> a, @NonNull Node<K> b,
+                                               int shift, boolean retain, @NonNull BulkChangeEvent bulkChange) {
+        if (a == b) {
+            if (retain) {
+                return a;
+            }
+            bulkChange.sizeChange -= countElements(a);
+            return emptyNode();
+        }
+        if (a instanceof HashCollisionNode) {
+            return ((HashCollisionNode<K>) a).retainOrRemove(mutator, b, shift, retain, bulkChange);
+        }
+        BitmapIndexedNode<K> x = (BitmapIndexedNode<K>) a;
+        BitmapIndexedNode<K> y = (BitmapIndexedNode<K>) b;
+        int subShift = shift + BIT_PARTITION_SIZE;
+        int bitmap = x.dataMap | x.nodeMap;
+        NodeBuilder<K> builder = new NodeBuilder<>(Integer.bitCount(bitmap));
+        for (; bitmap != 0; bitmap ^= Integer.lowestOneBit(bitmap)) {
+            final int bitpos = Integer.lowestOneBit(bitmap);
+            if ((x.dataMap & bitpos) != 0) {
+                K key = x.keyAt(bitpos);
+                boolean contained = (y.dataMap & bitpos) != 0 ? Objects.equals(key, y.keyAt(bitpos))
+                        : (y.nodeMap & bitpos) != 0 && y.nodeAt(bitpos).contains(key, Objects.hashCode(key), subShift);
+                if (contained == retain) {
+                    builder.addData(bitpos, key);
+                } else {
+                    bulkChange.sizeChange--;
+                }
+            } else {
+                Node<K> subNode = x.nodeAt(bitpos);
+                if ((y.dataMap & bitpos) != 0) {
+                    K otherKey = y.keyAt(bitpos);
+                    int otherKeyHash = Objects.hashCode(otherKey);
+                    if (retain) {
+                        Object found = findKey(subNode, otherKey, otherKeyHash, subShift);
+                        bulkChange.sizeChange -= countElements(subNode);
+                        if (found != NOT_FOUND) {
+                            @SuppressWarnings("unchecked") K foundKey = (K) found;
+                            builder.addData(bitpos, foundKey);
+                            bulkChange.sizeChange++;
+                        }
+                    } else {
+                        ChangeEvent changeEvent = new ChangeEvent();
+                        builder.addNode(bitpos, subNode.removed(mutator, otherKey, otherKeyHash, subShift, changeEvent));
+                        if (changeEvent.isModified) {
+                            bulkChange.sizeChange--;
+                        }
+                    }
+                } else if ((y.nodeMap & bitpos) != 0) {
+                    builder.addNode(bitpos, retainOrRemove(mutator, subNode, y.nodeAt(bitpos), subShift, retain, bulkChange));
+                } else if (retain) {
+                    bulkChange.sizeChange -= countElements(subNode);
+                } else {
+                    builder.addNode(bitpos, subNode);
+                }
+            }
+        }
+        return builder.build(mutator, x);
+    }
+
+    /**
+     * Returns the element of the trie that is equal to the specified key,
+     * or {@link #NOT_FOUND}.
+     */
+    private static <K> @Nullable Object findKey(@NonNull Node<K> node, @Nullable K key, int keyHash, int shift) {
+        for (; ; shift += BIT_PARTITION_SIZE) {
+            int index = node.payloadIndex(key, keyHash, shift);
+            if (index >= 0 && Objects.equals(node.getKey(index), key)) {
+                return node.getKey(index);
+            }
+            index = node.nodeIndex(keyHash, shift);
+            if (index < 0) {
+                return NOT_FOUND;
+            }
+            node = node.getNode(index);
+        }
+    }
+
+    /**
+     * Counts the elements in the specified trie.
+     */
+    static int countElements(@NonNull Node<?> node) {
+        int count = node.payloadArity();
+        for (int i = 0, n = node.nodeArity(); i < n; i++) {
+            count += countElements(node.getNode(i));
+        }
+        return count;
+    }
+
+    /**
+     * Collects the elements and sub-nodes of a new bitmap indexed node in
+     * ascending order of their bit-positions.
+     */
+    private static class NodeBuilder<K> {
+        private final @NonNull Object[] data;
+        private final @NonNull Object[] subNodes;
+        private int dataLength;
+        private int nodeLength;
+        private int dataMap;
+        private int nodeMap;
+
+        NodeBuilder(int capacity) {
+            data = new Object[capacity];
+            subNodes = new Object[capacity];
+        }
+
+        void addData(int bitpos, K key) {
+            data[dataLength++] = key;
+            dataMap |= bitpos;
+        }
+
+        /**
+         * Adds a sub-node. Inlines the sub-node if it has only one element,
+         * and drops the sub-node if it is empty.
+         */
+        void addNode(int bitpos, @NonNull Node<K> node) {
+            switch (node.sizePredicate()) {
+            case SIZE_EMPTY:
+                break;
+            case SIZE_ONE:
+                addData(bitpos, node.getKey(0));
+                break;
+            default:
+                subNodes[nodeLength++] = node;
+                nodeMap |= bitpos;
+                break;
+            }
+        }
+
+        /**
+         * Builds the node. Returns the original node if nothing has changed.
+         */
+        @NonNull BitmapIndexedNode<K> build(@Nullable UniqueIdentity mutator, @NonNull BitmapIndexedNode<K> original) {
+            Object[] nodes = new Object[dataLength + nodeLength];
+            System.arraycopy(data, 0, nodes, 0, dataLength);
+            for (int i = 0; i < nodeLength; i++) {
+                nodes[nodes.length - 1 - i] = subNodes[i];
+            }
+            if (dataMap == original.dataMap && nodeMap == original.nodeMap
+                    && ArrayHelper.equals(nodes, 0, nodes.length, original.nodes, 0, original.nodes.length, (p, q) -> p == q)) {
+                return original;
+            }
+            return newBitmapIndexedNode(mutator, nodeMap, dataMap, nodes);
+        }
+    }
+
     static class BitmapIndexedNode<K> extends Node<K> {
         private final static long serialVersionUID = 0L;
         final @NonNull Object[] nodes;
@@ -79,165 +321,6 @@ class TrieSetHelper {
             return false;
         }
 
-        /**
-         * Creates a copy of this trie with all elements of the specified
-         * trie added to it.
-         * <p>
-         *
-         * @param o          the trie to be added to this trie
-         * @param shift      the shift for both tries
-         * @param bulkChange The field {@code sizeChange} must be set to the
-         *                   size of trie {@code o}
-         * @param mutator    the mutator
-         * @return
-         */
-        @Override
-        @NonNull BitmapIndexedNode<K> copyAddAll(@NonNull Node<K> o, int shift, @NonNull BulkChangeEvent bulkChange, @Nullable UniqueIdentity mutator) {
-            // Given the same bit-position in this and that:
-            // case                   this.dataMap this.nodeMap that.dataMap  that.nodeMap
-            // ---------------------------------------------------------------------------
-            //.0    do nothing                -          -            -                -
-            //.1    put "a" in dataMap        "a"        -            -                -
-            //.2    put x in nodeMap          -          x            -                -
-            // 3    illegal                   "a"        x            -                -
-            //.4    put "b" in dataMap        -          -            "b"              -
-            //.5.1  put "a" in dataMap        "a"        -            "a"              -   values are equal
-            //.5.2  put {"a","b"} in nodeMap  "a"        -            "b"              -   values are not equal
-            //.6    put x ∪ {"b"} in nodeMap  -          x            "b"              -
-            // 7    illegal                   "a"        x            "b"              -
-            //.8    put y in nodeMap          -          -            -                y
-            //.9    put {"a"} ∪ y in nodeMap  "a"        -            -                y
-            //.10.1 put x in nodeMap          -          x            -                x   nodes are equivalent
-            //.10.2 put x ∪ y in nodeMap      -          x            -                y   nodes are not equivalent
-            // 11   illegal                   "a"        x            -                y
-            // 12   illegal                   -          -            "b"              y
-            // 13   illegal                   "a"        -            "b"              y
-            // 14   illegal                   -          x            "b"              y
-            // 15   illegal                   "a"        x            "b"              y
-
-            if (o == this) {
-                return this;
-            }
-            BitmapIndexedNode<K> that = (BitmapIndexedNode<K>) o;
-
-            int newNodeLength = Integer.bitCount(this.nodeMap | this.dataMap | that.nodeMap | that.dataMap);
-            Object[] nodesNew = new Object[newNodeLength];
-            int nodeMapNew = this.nodeMap | that.nodeMap;
-            int dataMapNew = this.dataMap | that.dataMap;
-            int thisNodeMapToDo = this.nodeMap;
-            int thatNodeMapToDo = that.nodeMap;
-
-            // case 0:
-            // we will not have to do any changes
-            ChangeEvent changeEvent = new ChangeEvent();
-            boolean changed = false;
-
-
-            // Step 1: Merge that.dataMap and this.dataMap into dataMapNew.
-            //         We may have to merge data nodes into sub-nodes.
-            // -------
-            // iterate over all bit-positions in dataMapNew which have a non-zero bit
-            int dataIndex = 0;
-            for (int mapToDo = dataMapNew; mapToDo != 0; mapToDo ^= Integer.lowestOneBit(mapToDo)) {
-                int mask = Integer.numberOfTrailingZeros(mapToDo);
-                int bitpos = bitpos(mask);
-                boolean thisHasData = (this.dataMap & bitpos) != 0;
-                boolean thatHasData = (that.dataMap & bitpos) != 0;
-                if (thisHasData && thatHasData) {
-                    K thisKey = this.getKey(index(this.dataMap, bitpos));
-                    K thatKey = that.getKey(index(that.dataMap, bitpos));
-                    if (Objects.equals(thisKey, thatKey)) {
-                        // case 5.1:
-                        nodesNew[dataIndex++] = thisKey;
-                        bulkChange.sizeChange--;
-                    } else {
-                        // case 5.2:
-                        dataMapNew ^= bitpos;
-                        nodeMapNew |= bitpos;
-                        int thatKeyHash = Objects.hashCode(thatKey);
-                        Node<K> subNodeNew = mergeTwoKeyValPairs(mutator, thisKey, Objects.hashCode(thisKey), thatKey, thatKeyHash, shift + BIT_PARTITION_SIZE);
-                        nodesNew[nodeIndexAt(nodesNew, nodeMapNew, bitpos)] = subNodeNew;
-                        changed = true;
-                    }
-                } else if (thisHasData) {
-                    K thisKey = this.getKey(index(this.dataMap, bitpos));
-                    boolean thatHasNode = (that.nodeMap & bitpos) != 0;
-                    if (thatHasNode) {
-                        // case 9:
-                        dataMapNew ^= bitpos;
-                        thatNodeMapToDo ^= bitpos;
-                        int thisKeyHash = Objects.hashCode(thisKey);
-                        changeEvent.isModified = false;
-                        Node<K> subNode = that.nodeAt(bitpos);
-                        Node<K> subNodeNew = subNode.updated(mutator, thisKey, thisKeyHash, shift + BIT_PARTITION_SIZE, changeEvent);
-                        nodesNew[nodeIndexAt(nodesNew, nodeMapNew, bitpos)] = subNodeNew;
-                        changed = true;
-                    } else {
-                        // case 1:
-                        nodesNew[dataIndex++] = thisKey;
-                    }
-                } else {
-                    assert thatHasData;
-                    K thatKey = that.getKey(index(that.dataMap, bitpos));
-                    int thatKeyHash = Objects.hashCode(thatKey);
-                    boolean thisHasNode = (this.nodeMap & bitpos) != 0;
-                    if (thisHasNode) {
-                        // case 6:
-                        dataMapNew ^= bitpos;
-                        thisNodeMapToDo ^= bitpos;
-                        changeEvent.isModified = false;
-                        Node<K> subNode = this.getNode(index(this.nodeMap, bitpos));
-                        Node<K> subNodeNew = subNode.updated(mutator, thatKey, thatKeyHash, shift + BIT_PARTITION_SIZE, changeEvent);
-                        if (changeEvent.isModified) {
-                            changed = true;
-                            nodesNew[nodeIndexAt(nodesNew, nodeMapNew, bitpos)] = subNodeNew;
-                        }
-                    } else {
-                        // case 4:
-                        changed = true;
-                        nodesNew[dataIndex++] = thatKey;
-                    }
-                }
-            }
-
-            // Step 2: Merge remaining sub-nodes
-            // -------
-            int nodeMapToDo = thisNodeMapToDo | thatNodeMapToDo;
-            for (int mapToDo = nodeMapToDo; mapToDo != 0; mapToDo ^= Integer.lowestOneBit(mapToDo)) {
-                int mask = Integer.numberOfTrailingZeros(mapToDo);
-                int bitpos = bitpos(mask);
-                boolean thisHasNodeToDo = (thisNodeMapToDo & bitpos) != 0;
-                boolean thatHasNodeToDo = (thatNodeMapToDo & bitpos) != 0;
-                if (thisHasNodeToDo && thatHasNodeToDo) {
-                    //cases 10.1 and 10.2
-                    Node<K> thisSubNode = this.getNode(index(this.nodeMap, bitpos));
-                    Node<K> thatSubNode = that.getNode(index(that.nodeMap, bitpos));
-                    Node<K> subNodeNew = thisSubNode.copyAddAll(thatSubNode, shift + BIT_PARTITION_SIZE, bulkChange, mutator);
-                    changed |= subNodeNew != thisSubNode;
-                    nodesNew[nodeIndexAt(nodesNew, nodeMapNew, bitpos)] = subNodeNew;
-
-                } else if (thatHasNodeToDo) {
-                    // case 8
-                    Node<K> thatSubNode = that.getNode(index(that.nodeMap, bitpos));
-                    nodesNew[nodeIndexAt(nodesNew, nodeMapNew, bitpos)] = thatSubNode;
-                    changed = true;
-                } else {
-                    // case 2
-                    assert thisHasNodeToDo;
-                    Node<K> thisSubNode = this.getNode(index(this.nodeMap, bitpos));
-                    nodesNew[nodeIndexAt(nodesNew, nodeMapNew, bitpos)] = thisSubNode;
-                }
-            }
-
-            // Step 3: create new node if it has changed
-            // ------
-            if (changed) {
-                return newBitmapIndexedNode(mutator, nodeMapNew, dataMapNew, nodesNew);
-            }
-
-            return this;
-        }
-
         private BitmapIndexedNode<K> copyAndInsertValue(final UniqueIdentity mutator, final int bitpos,
                                                         final K key) {
             final int idx = TUPLE_LENGTH * dataIndex(bitpos);
@@ -316,6 +399,10 @@ class TrieSetHelper {
             return Integer.bitCount(dataMap() & (bitpos - 1));
         }
 
+        private K keyAt(final int bitpos) {
+            return getKey(dataIndex(bitpos));
+        }
+
         private int dataMap() {
             return dataMap;
         }
@@ -326,6 +413,11 @@ class TrieSetHelper {
                 return true;
             }
             BitmapIndexedNode<?> that = (BitmapIndexedNode<?>) other;
+            if (nodes == that.nodes && nodeMap() == that.nodeMap() && dataMap() == that.dataMap()) {
+                // Shared trie: the root of a persistent collection shares
+                // the nodes array with the node that it was created from.
+                return true;
+            }
 
             // nodes array: we compare local payload from 0 to splitAt (excluded)
             // and then we compare the nested nodes from splitAt to length (excluded)
@@ -614,8 +706,6 @@ class TrieSetHelper {
 
         abstract boolean contains(final K key, final int keyHash, final int shift);
 
-        abstract @NonNull Node<K> copyAddAll(@NonNull Node<K> that, final int shift, BulkChangeEvent bulkChange, UniqueIdentity mutator);
-
         abstract boolean equivalent(final @NonNull Node<?> other);
 
         abstract K getKey(final int index);
@@ -683,46 +773,56 @@ class TrieSetHelper {
             return false;
         }
 
-        @Override
-        @NonNull Node<K> copyAddAll(@NonNull Node<K> o, int shift, BulkChangeEvent bulkChange, UniqueIdentity mutator) {
-            if (o == this) {
+        /**
+         * Computes the union of this node and the specified node.
+         * The specified node must be a node with the same hash.
+         */
+        @NonNull Node<K> union(@Nullable UniqueIdentity mutator, @NonNull Node<K> that, int shift,
+                               @NonNull BulkChangeEvent bulkChange) {
+            List<K> added = new ArrayList<>();
+            for (int i = 0, n = that.payloadArity(); i < n; i++) {
+                K key = that.getKey(i);
+                if (!contains(key, hash, shift)) {
+                    added.add(key);
+                }
+            }
+            if (added.isEmpty()) {
                 return this;
             }
-            // The other node must be a HashCollisionNode
-            HashCollisionNode<K> that = (HashCollisionNode<K>) o;
-
-            List<K> list = new ArrayList<>(this.keys.length + that.keys.length);
-
-            // Step 1: Add all this.keys to list
-            list.addAll(Arrays.asList(this.keys));
-
-            // Step 2: Add all that.keys to list which are not in this.keys
-            //         This is quadratic.
-            //         If the sets are disjoint, we can do nothing about it.
-            //         If the sets intersect, we can mark those which are
-            //         equal in a bitset, so that we do not need to check
-            //         them over and over again.
-            BitSet bs = new BitSet(this.keys.length);
-            outer:
-            for (int j = 0; j < that.keys.length; j++) {
-                K key = that.keys[j];
-                for (int i = bs.nextClearBit(0); i >= 0 && i < this.keys.length; i = bs.nextClearBit(i + 1)) {
-                    if (Objects.equals(key, this.keys[i])) {
-                        bs.set(i);
-                        bulkChange.sizeChange--;
-                        continue outer;
-                    }
-                }
-                list.add(key);
+            bulkChange.sizeChange += added.size();
+            K[] keysNew = Arrays.copyOf(keys, keys.length + added.size());
+            for (int i = 0; i < added.size(); i++) {
+                keysNew[keys.length + i] = added.get(i);
             }
+            return newHashCollisionNode(mutator, hash, keysNew);
+        }
 
-            if (list.size() > this.keys.length) {
+        /**
+         * Computes the intersection or the difference of this node and the
+         * specified node.
+         */
+        @NonNull Node<K> retainOrRemove(@Nullable UniqueIdentity mutator, @NonNull Node<K> that, int shift,
+                                        boolean retain, @NonNull BulkChangeEvent bulkChange) {
+            List<K> kept = new ArrayList<>(keys.length);
+            for (K key : keys) {
+                if (that.contains(key, hash, shift) == retain) {
+                    kept.add(key);
+                }
+            }
+            bulkChange.sizeChange -= keys.length - kept.size();
+            switch (kept.size()) {
+            case 0:
+                return emptyNode();
+            case 1:
+                return newBitmapIndexedNode(mutator, 0, bitpos(BitmapIndexedNode.mask(hash, 0)), new Object[]{kept.get(0)});
+            default:
+                if (kept.size() == keys.length) {
+                    return this;
+                }
                 @SuppressWarnings("unchecked")
-                HashCollisionNode<K> unchecked = newHashCollisionNode(mutator, hash, (K[]) list.toArray());
-                return unchecked;
+                K[] keysNew = (K[]) kept.toArray();
+                return newHashCollisionNode(mutator, hash, keysNew);
             }
-
-            return this;
         }
 
         @Override
@@ -1022,6 +1122,150 @@ class TrieSetHelper {
         }
     }
 
+    /**
+     * Spliterator that splits at trie-node boundaries.
+     * <p>
+     * A spliterator covers a range of the payload of a node, and a range of
+     * the sub-nodes of the same node. It splits off half of its sub-nodes;
+     * if it covers only one sub-node, it descends into it.
+     * <p>
+     * Only the size of the unsplit spliterator is exact. Counting the
+     * elements of the split-off sub-nodes would take linear time, so a
+     * split distributes the estimated size over the sub-nodes, and both
+     * spliterators report {@link Spliterator#SIZED} no longer.
+     */
+    static class TrieSpliterator<K> implements Spliterator<K> {
+        private @NonNull Node<K> node;
+        private int dataLo;
+        private int dataHi;
+        private int childLo;
+        private int childHi;
+        private @Nullable TrieSpliterator<K> current;
+        private long size;
+        private int characteristics;
+
+        TrieSpliterator(@NonNull Node<K> root, long size, int characteristics) {
+            this(root, 0, root.payloadArity(), 0, root.nodeArity(), size,
+                    characteristics | Spliterator.SIZED);
+        }
+
+        private TrieSpliterator(@NonNull Node<K> node, int dataLo, int dataHi, int childLo, int childHi,
+                                long size, int characteristics) {
+            this.node = node;
+            this.dataLo = dataLo;
+            this.dataHi = dataHi;
+            this.childLo = childLo;
+            this.childHi = childHi;
+            this.size = size;
+            this.characteristics = characteristics | Spliterator.DISTINCT;
+        }
+
+        @Override
+        public boolean tryAdvance(@NonNull Consumer<? super K> action) {
+            Objects.requireNonNull(action, "action");
+            for (; ; ) {
+                if (dataLo < dataHi) {
+                    if (size > 0) {
+                        size--;
+                    }
+                    action.accept(node.getKey(dataLo++));
+                    return true;
+                }
+                if (current != null && current.tryAdvance(action)) {
+                    if (size > 0) {
+                        size--;
+                    }
+                    return true;
+                }
+                current = null;
+                if (childLo == childHi) {
+                    return false;
+                }
+                current = new TrieSpliterator<>(node.getNode(childLo++), 0, characteristics);
+            }
+        }
+
+        @Override
+        public void forEachRemaining(@NonNull Consumer<? super K> action) {
+            Objects.requireNonNull(action, "action");
+            for (; dataLo < dataHi; dataLo++) {
+                action.accept(node.getKey(dataLo));
+            }
+            if (current != null) {
+                current.forEachRemaining(action);
+                current = null;
+            }
+            for (; childLo < childHi; childLo++) {
+                forEach(node.getNode(childLo), action);
+            }
+            size = 0;
+        }
+
+        private static <K> void forEach(@NonNull Node<K> node, @NonNull Consumer<? super K> action) {
+            for (int i = 0, n = node.payloadArity(); i < n; i++) {
+                action.accept(node.getKey(i));
+            }
+            for (int i = 0, n = node.nodeArity(); i < n; i++) {
+                forEach(node.getNode(i), action);
+            }
+        }
+
+        @Override
+        public @Nullable Spliterator<K> trySplit() {
+            boolean busy = dataLo < dataHi || current != null;
+            int children = childHi - childLo;
+            if (children >= 2 || children == 1 && busy) {
+                int mid = children == 1 ? childHi : (childLo + childHi) >>> 1;
+                characteristics &= ~Spliterator.SIZED;
+                long prefixSize = estimateChildren(childLo, mid);
+                TrieSpliterator<K> prefix = new TrieSpliterator<>(node, 0, 0, childLo, mid, prefixSize, characteristics);
+                childLo = mid;
+                size = Math.max(0, size - prefixSize);
+                return prefix;
+            }
+            if (children == 1) {
+                // descend into the only sub-node, the size does not change
+                node = node.getNode(childLo);
+                dataLo = 0;
+                dataHi = node.payloadArity();
+                childLo = 0;
+                childHi = node.nodeArity();
+                current = null;
+                return trySplit();
+            }
+            if (current == null && dataHi - dataLo >= 2) {
+                int mid = (dataLo + dataHi) >>> 1;
+                characteristics &= ~Spliterator.SIZED;
+                TrieSpliterator<K> prefix = new TrieSpliterator<>(node, dataLo, mid, 0, 0, mid - dataLo, characteristics);
+                size = Math.max(0, size - (mid - dataLo));
+                dataLo = mid;
+                return prefix;
+            }
+            return null;
+        }
+
+        /**
+         * Estimates the number of elements in the specified sub-nodes, by
+         * distributing the elements that are not in the payload evenly
+         * over the remaining sub-nodes. A sub-node holds at least one
+         * element.
+         */
+        private long estimateChildren(int from, int to) {
+            long childrenSize = Math.max(0, size - (dataHi - dataLo));
+            return Math.max(to - from, childrenSize * (to - from) / (childHi - childLo));
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+    }
+
     static <K> HashCollisionNode<K> newHashCollisionNode(@Nullable UniqueIdentity mutator, int hash, @NonNull K[] nodes) {
         return mutator == null
                 ? new HashCollisionNode<>(hash, nodes)
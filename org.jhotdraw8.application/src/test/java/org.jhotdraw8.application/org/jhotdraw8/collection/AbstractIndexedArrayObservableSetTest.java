@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -121,12 +122,50 @@ public abstract class AbstractIndexedArrayObservableSetTest {
 
     }
 
+    public void testBulk(@NonNull String initialList, @NonNull Consumer<AbstractIndexedArrayObservableSet<Character>> bulkOperation,
+                         @NonNull String expectedListStr, String expectedChanges) throws Exception {
+        AbstractIndexedArrayObservableSet<Character> list = newInstance(asList(initialList));
+
+        AbstractIndexedArrayObservableSetTest.ChangeRecorder recorder = new AbstractIndexedArrayObservableSetTest.ChangeRecorder();
+        list.addListener(recorder);
+        bulkOperation.accept(list);
+
+        List<Character> expectedList = asList(expectedListStr);
+        assertEquals(expectedList, list);
+        assertEquals(expectedChanges, recorder.getChanges());
+        assertEquals(expectedChanges.isEmpty() ? 0 : 1, recorder.getEventCount(), "number of change events");
+        assertTrue(list.containsAll(expectedList));
+        for (Character c : asList("abcdef")) {
+            assertEquals(expectedList.contains(c), list.contains(c));
+        }
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsBulk() {
+        return Arrays.asList(
+                dynamicTest("addAll new", () -> testBulk("abc", l -> l.addAll(asList("de")), "abcde", "add(3,[d, e])")),
+                dynamicTest("addAll at end", () -> testBulk("abc", l -> l.addAll(asList("bc")), "abc", "")),
+                dynamicTest("addAll moved", () -> testBulk("abc", l -> l.addAll(asList("ad")), "bcad", "rem(0,[a])add(2,[a, d])")),
+                dynamicTest("addAll duplicates", () -> testBulk("abc", l -> l.addAll(asList("dad")), "bcad", "rem(0,[a])add(2,[a, d])")),
+                dynamicTest("removeAll", () -> testBulk("abcdef", l -> l.removeAll(asList("bcf")), "ade", "rem(1,[b, c])rem(3,[f])")),
+                dynamicTest("removeAll none", () -> testBulk("abc", l -> l.removeAll(asList("d")), "abc", "")),
+                dynamicTest("retainAll", () -> testBulk("abcdef", l -> l.retainAll(asList("bcf")), "bcf", "rem(0,[a])rem(2,[d, e])")),
+                dynamicTest("retainAll all", () -> testBulk("abc", l -> l.retainAll(asList("abc")), "abc", "")),
+                dynamicTest("setAll", () -> testBulk("abc", l -> l.setAll(asList("cbd")), "cbd", "rep([a, b, c]->[c, b, d])")),
+                dynamicTest("setAll same", () -> testBulk("abc", l -> l.setAll(asList("abc")), "abc", "")),
+                dynamicTest("setAll empty", () -> testBulk("abc", l -> l.setAll(asList("")), "", "rem(0,[a, b, c])")),
+                dynamicTest("clear", () -> testBulk("abc", List::clear, "", "rem(0,[a, b, c])"))
+        );
+    }
+
     private static class ChangeRecorder implements ListChangeListener<Character> {
 
         private @NonNull StringBuilder buf = new StringBuilder();
+        private int eventCount;
 
         @Override
         public void onChanged(@NonNull ListChangeListener.Change<? extends Character> c) {
+            eventCount++;
             while (c.next()) {
                 if (c.wasPermutated()) {
                     buf.append("perm(");
@@ -158,6 +197,10 @@ public abstract class AbstractIndexedArrayObservableSetTest {
         private @NonNull String getChanges() {
             return buf.toString();
         }
+
+        private int getEventCount() {
+            return eventCount;
+        }
     }
 
     private static @NonNull List<Character> asList(@NonNull String str) {
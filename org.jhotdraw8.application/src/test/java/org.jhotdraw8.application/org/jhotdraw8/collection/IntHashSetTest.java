@@ -0,0 +1,50 @@
+/*
+ * @(#)IntHashSetTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntHashSetTest {
+    @Test
+    public void testRandomOperationsAgainstHashSet() {
+        Random rng = new Random(0);
+        IntHashSet actual = new IntHashSet(0);
+        for (int bound : new int[]{8, 100, 10_000}) {
+            Set<Integer> expected = new HashSet<>();
+            // the set is reused after clear
+            actual.clear();
+            for (int i = 0; i < 20_000; i++) {
+                int e = rng.nextInt(bound) - bound / 2;
+                switch (rng.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.add(e), actual.addAsInt(e));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(e), actual.removeAsInt(e));
+                    break;
+                default:
+                    assertEquals(expected.contains(e), actual.containsAsInt(e));
+                    break;
+                }
+                assertEquals(expected.size(), actual.size());
+            }
+            Set<Integer> set = new HashSet<>();
+            IntEnumerator enumerator = actual.enumerator();
+            assertEquals(expected.size(), enumerator.getExactSizeIfKnown());
+            while (enumerator.moveNext()) {
+                assertTrue(set.add(enumerator.currentAsInt()));
+            }
+            assertEquals(expected, set);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * @(#)IntIntHashMapTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntIntHashMapTest {
+    @Test
+    public void testRandomOperationsAgainstHashMap() {
+        Random rng = new Random(0);
+        IntIntHashMap actual = new IntIntHashMap(0);
+        for (int bound : new int[]{8, 100, 10_000}) {
+            Map<Integer, Integer> expected = new HashMap<>();
+            // the map is reused after clear
+            actual.clear();
+            for (int i = 0; i < 20_000; i++) {
+                int key = rng.nextInt(bound) - bound / 2;
+                int value = rng.nextInt();
+                switch (rng.nextInt(4)) {
+                case 0:
+                    assertEquals(!expected.containsKey(key), actual.put(key, value));
+                    expected.put(key, value);
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key) != null, actual.remove(key));
+                    break;
+                case 2:
+                    assertEquals(expected.merge(key, 1, Integer::sum).intValue(), actual.addTo(key, 1));
+                    break;
+                default:
+                    assertEquals(expected.containsKey(key), actual.containsKey(key));
+                    assertEquals(expected.getOrDefault(key, -1).intValue(), actual.getOrDefault(key, -1));
+                    break;
+                }
+                assertEquals(expected.size(), actual.size());
+            }
+            assertEquals(expected, toMap(actual));
+        }
+    }
+
+    @Test
+    public void testCursorSetValue() {
+        IntIntHashMap map = new IntIntHashMap();
+        for (int i = -5; i <= 5; i++) {
+            map.put(i, i);
+        }
+        for (IntIntHashMap.Cursor c = map.cursor(); c.moveNext(); ) {
+            c.setValue(c.value() * 2);
+        }
+        for (int i = -5; i <= 5; i++) {
+            assertEquals(2 * i, map.getOrDefault(i, -1));
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.cursor().moveNext());
+        assertFalse(map.containsKey(0));
+    }
+
+    private static Map<Integer, Integer> toMap(IntIntHashMap map) {
+        Map<Integer, Integer> result = new HashMap<>();
+        for (IntIntHashMap.Cursor c = map.cursor(); c.moveNext(); ) {
+            assertEquals(null, result.put(c.key(), c.value()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * @(#)LongObjectHashMapTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class LongObjectHashMapTest {
+    @Test
+    public void testRandomOperationsAgainstHashMap() {
+        Random rng = new Random(0);
+        LongObjectHashMap<String> actual = new LongObjectHashMap<>(0);
+        for (int bound : new int[]{8, 100, 10_000}) {
+            Map<Long, String> expected = new HashMap<>();
+            // the map is reused after clear
+            actual.clear();
+            for (int i = 0; i < 20_000; i++) {
+                long key = (rng.nextInt(bound) - bound / 2) * 0x1_0000_0001L;
+                String value = Integer.toString(rng.nextInt(100));
+                switch (rng.nextInt(4)) {
+                case 0:
+                    assertEquals(expected.put(key, value), actual.put(key, value));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), actual.remove(key));
+                    break;
+                case 2:
+                    assertEquals(expected.computeIfAbsent(key, k -> value), actual.computeIfAbsent(key, k -> value));
+                    break;
+                default:
+                    assertEquals(expected.containsKey(key), actual.containsKey(key));
+                    assertEquals(expected.get(key), actual.get(key));
+                    break;
+                }
+                assertEquals(expected.size(), actual.size());
+            }
+            Map<Long, String> map = new HashMap<>();
+            for (LongObjectHashMap<String>.Cursor c = actual.cursor(); c.moveNext(); ) {
+                assertNull(map.put(c.key(), c.value()));
+            }
+            assertEquals(expected, map);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * @(#)OffHeapDoubleArrayListTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link OffHeapDoubleArrayList}.
+ */
+public class OffHeapDoubleArrayListTest {
+    private static final int SIZE = 2 * AbstractOffHeapArrayList.CHUNK_SIZE + 17;
+
+    @Test
+    public void testManyElementsAcrossChunks() {
+        try (OffHeapDoubleArrayList instance = new OffHeapDoubleArrayList()) {
+            List<Double> expected = new ArrayList<>();
+            for (int i = 0; i < SIZE; i++) {
+                double value = i * 0.25;
+                instance.addAsDouble(value);
+                expected.add(value);
+            }
+            assertEquals(expected, instance);
+            assertEquals(expected.hashCode(), instance.hashCode());
+
+            // shifts the elements of all chunks towards the end
+            int index = AbstractOffHeapArrayList.CHUNK_SIZE - 1;
+            instance.addAsDouble(index, -1.0);
+            expected.add(index, -1.0);
+            assertEquals(expected, instance);
+            assertEquals(expected.get(AbstractOffHeapArrayList.CHUNK_SIZE), instance.get(AbstractOffHeapArrayList.CHUNK_SIZE));
+
+            // shifts the elements of all chunks towards the front
+            assertEquals((double) expected.remove(3), instance.removeAtAsDouble(3));
+            assertEquals(expected, instance);
+            assertEquals(expected.hashCode(), instance.hashCode());
+            assertEquals(index - 1, instance.indexOfAsDouble(-1.0));
+            assertEquals(expected.size() - 1, instance.lastIndexOfAsDouble((SIZE - 1) * 0.25));
+
+            assertTrue(instance.remove((Object) (-1.0)));
+            expected.remove((Object) (-1.0));
+            assertFalse(instance.contains(-1.0));
+            assertEquals(expected, instance);
+        }
+    }
+
+    @Test
+    public void testAddAllBufferAcrossChunks() {
+        try (OffHeapDoubleArrayList instance = new OffHeapDoubleArrayList()) {
+            // starts in the middle of the first chunk
+            instance.addAsDouble(7);
+            double[] array = new double[SIZE + 1];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = -i * 0.5;
+            }
+            DoubleBuffer src = DoubleBuffer.wrap(array);
+            src.position(1);
+            instance.addAllAsDouble(src);
+            assertEquals(src.limit(), src.position());
+            array[0] = 7;
+            assertArrayEquals(array, instance.toDoubleArray());
+
+            instance.addAllAsDouble(array, 2, 3);
+            assertEquals(SIZE + 4, instance.size());
+            assertEquals(-2.0, instance.getLastAsDouble());
+        }
+    }
+
+    @Test
+    public void testBufferViews() {
+        try (OffHeapDoubleArrayList instance = new OffHeapDoubleArrayList()) {
+            double[] expected = new double[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                expected[i] = i * 3.0;
+            }
+            instance.addAllAsDouble(DoubleBuffer.wrap(expected));
+            assertArrayEquals(expected, instance.toDoubleArray());
+
+            DoubleBuffer[] views = instance.asDoubleBuffers();
+            assertEquals(3, views.length);
+            assertEquals(AbstractOffHeapArrayList.CHUNK_SIZE, views[0].remaining());
+            assertEquals(17, views[2].remaining());
+            assertEquals(expected[AbstractOffHeapArrayList.CHUNK_SIZE], views[1].get(0));
+            views[2].put(0, 42.0);
+            assertEquals(42.0, instance.getAsDouble(2 * AbstractOffHeapArrayList.CHUNK_SIZE));
+
+            int bytes = 0;
+            for (var b : instance.asByteBuffers()) {
+                bytes += b.remaining();
+            }
+            assertEquals(SIZE * Double.BYTES, bytes);
+        }
+    }
+
+    @Test
+    public void testHashCodeAndEqualsWithSpecialValues() {
+        try (OffHeapDoubleArrayList instance = new OffHeapDoubleArrayList()) {
+            List<Double> expected = new ArrayList<>();
+            double[] values = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                    Double.MIN_VALUE, Double.MAX_VALUE, 1.5};
+            for (int i = 0; i < SIZE; i++) {
+                double value = values[i % values.length];
+                instance.addAsDouble(value);
+                expected.add(value);
+            }
+            assertEquals(expected.hashCode(), instance.hashCode());
+            assertEquals(expected, instance);
+            assertEquals(instance, expected);
+
+            // moving the elements preserves the bits of the values
+            instance.addAsDouble(0, 1.0);
+            expected.add(0, 1.0);
+            assertEquals(expected.hashCode(), instance.hashCode());
+            assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(instance.getAsDouble(2)));
+            assertTrue(Double.isNaN(instance.getAsDouble(AbstractOffHeapArrayList.CHUNK_SIZE + 3)));
+        }
+    }
+
+    @Test
+    public void testClose() {
+        OffHeapDoubleArrayList instance = new OffHeapDoubleArrayList(10);
+        instance.addAsDouble(1);
+        instance.close();
+        assertTrue(instance.isClosed());
+        assertTrue(instance.isEmpty());
+        assertThrows(IllegalStateException.class, () -> instance.addAsDouble(2));
+        instance.close();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * @(#)OffHeapIntArrayListTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link OffHeapIntArrayList}.
+ */
+public class OffHeapIntArrayListTest extends AbstractIntSequencedCollectionTest {
+    private static final int SIZE = 2 * AbstractOffHeapArrayList.CHUNK_SIZE + 17;
+
+    @Override
+    protected @NonNull IntSequencedCollection newInstance() {
+        return new OffHeapIntArrayList();
+    }
+
+    @Test
+    public void testManyElementsAcrossChunks() {
+        try (OffHeapIntArrayList instance = new OffHeapIntArrayList()) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < SIZE; i++) {
+                instance.addAsInt(i);
+                expected.add(i);
+            }
+            assertEquals(expected, instance);
+            assertEquals(expected.hashCode(), instance.hashCode());
+
+            int index = AbstractOffHeapArrayList.CHUNK_SIZE - 1;
+            instance.addAsInt(index, -1);
+            expected.add(index, -1);
+            assertEquals(expected, instance);
+
+            assertEquals(expected.remove(3), instance.removeAtAsInt(3));
+            assertEquals(expected, instance);
+            assertEquals(expected.size() - 1, instance.lastIndexOfAsInt(SIZE - 1));
+        }
+    }
+
+    @Test
+    public void testBufferViews() {
+        try (OffHeapIntArrayList instance = new OffHeapIntArrayList()) {
+            int[] expected = new int[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                expected[i] = i * 3;
+            }
+            instance.addAllAsInt(IntBuffer.wrap(expected));
+            assertArrayEquals(expected, instance.toIntArray());
+
+            IntBuffer[] views = instance.asIntBuffers();
+            assertEquals(3, views.length);
+            assertEquals(17, views[2].remaining());
+            views[2].put(0, 42);
+            assertEquals(42, instance.getAsInt(2 * AbstractOffHeapArrayList.CHUNK_SIZE));
+
+            int bytes = 0;
+            for (var b : instance.asByteBuffers()) {
+                bytes += b.remaining();
+            }
+            assertEquals(SIZE * Integer.BYTES, bytes);
+        }
+    }
+
+    @Test
+    public void testClose() {
+        OffHeapIntArrayList instance = new OffHeapIntArrayList(10);
+        instance.addAsInt(1);
+        instance.close();
+        assertTrue(instance.isClosed());
+        assertTrue(instance.isEmpty());
+        assertThrows(IllegalStateException.class, () -> instance.addAsInt(2));
+        instance.close();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * @(#)OffHeapLongArrayListTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link OffHeapLongArrayList}.
+ */
+public class OffHeapLongArrayListTest {
+    private static final int SIZE = 2 * AbstractOffHeapArrayList.CHUNK_SIZE + 17;
+
+    @Test
+    public void testManyElementsAcrossChunks() {
+        try (OffHeapLongArrayList instance = new OffHeapLongArrayList()) {
+            List<Long> expected = new ArrayList<>();
+            for (int i = 0; i < SIZE; i++) {
+                long value = (long) i << 32 | i;
+                instance.addAsLong(value);
+                expected.add(value);
+            }
+            assertEquals(expected, instance);
+            assertEquals(expected.hashCode(), instance.hashCode());
+
+            // shifts the elements of all chunks towards the end
+            int index = AbstractOffHeapArrayList.CHUNK_SIZE - 1;
+            instance.addAsLong(index, -1L);
+            expected.add(index, -1L);
+            assertEquals(expected, instance);
+            assertEquals(expected.get(AbstractOffHeapArrayList.CHUNK_SIZE), instance.get(AbstractOffHeapArrayList.CHUNK_SIZE));
+
+            // shifts the elements of all chunks towards the front
+            assertEquals((long) expected.remove(3), instance.removeAtAsLong(3));
+            assertEquals(expected, instance);
+            assertEquals(expected.hashCode(), instance.hashCode());
+            assertEquals(index - 1, instance.indexOfAsLong(-1L));
+            assertEquals(expected.size() - 1, instance.lastIndexOfAsLong((long) (SIZE - 1) << 32 | (SIZE - 1)));
+
+            assertTrue(instance.remove((Object) (-1L)));
+            expected.remove((Object) (-1L));
+            assertFalse(instance.contains(-1L));
+            assertEquals(expected, instance);
+        }
+    }
+
+    @Test
+    public void testAddAllBufferAcrossChunks() {
+        try (OffHeapLongArrayList instance = new OffHeapLongArrayList()) {
+            // starts in the middle of the first chunk
+            instance.addAsLong(7);
+            long[] array = new long[SIZE + 1];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = -i;
+            }
+            LongBuffer src = LongBuffer.wrap(array);
+            src.position(1);
+            instance.addAllAsLong(src);
+            assertEquals(src.limit(), src.position());
+            array[0] = 7;
+            assertArrayEquals(array, instance.toLongArray());
+
+            instance.addAllAsLong(array, 2, 3);
+            assertEquals(SIZE + 4, instance.size());
+            assertEquals(-4L, instance.getLastAsLong());
+        }
+    }
+
+    @Test
+    public void testBufferViews() {
+        try (OffHeapLongArrayList instance = new OffHeapLongArrayList()) {
+            long[] expected = new long[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                expected[i] = i * 3L;
+            }
+            instance.addAllAsLong(LongBuffer.wrap(expected));
+            assertArrayEquals(expected, instance.toLongArray());
+
+            LongBuffer[] views = instance.asLongBuffers();
+            assertEquals(3, views.length);
+            assertEquals(AbstractOffHeapArrayList.CHUNK_SIZE, views[0].remaining());
+            assertEquals(17, views[2].remaining());
+            assertEquals(expected[AbstractOffHeapArrayList.CHUNK_SIZE], views[1].get(0));
+            views[2].put(0, 42);
+            assertEquals(42, instance.getAsLong(2 * AbstractOffHeapArrayList.CHUNK_SIZE));
+
+            int bytes = 0;
+            for (var b : instance.asByteBuffers()) {
+                bytes += b.remaining();
+            }
+            assertEquals(SIZE * Long.BYTES, bytes);
+        }
+    }
+
+    @Test
+    public void testClose() {
+        OffHeapLongArrayList instance = new OffHeapLongArrayList(10);
+        instance.addAsLong(1);
+        instance.close();
+        assertTrue(instance.isClosed());
+        assertTrue(instance.isEmpty());
+        assertThrows(IllegalStateException.class, () -> instance.addAsLong(2));
+        instance.close();
+    }
+}
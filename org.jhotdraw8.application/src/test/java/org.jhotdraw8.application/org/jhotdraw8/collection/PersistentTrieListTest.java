@@ -0,0 +1,202 @@
+/*
+ * @(#)PersistentTrieListTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.jhotdraw8.collection.TrieListHelper.RRB_M;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+public class PersistentTrieListTest {
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsCopyOf() {
+        return Arrays.asList(
+                dynamicTest("empty", () -> doTestCopyOf(0)),
+                dynamicTest("height 0 full", () -> doTestCopyOf(RRB_M)),
+                dynamicTest("height 1 barely filled", () -> doTestCopyOf(RRB_M + 1)),
+                dynamicTest("height 1 full", () -> doTestCopyOf(RRB_M * RRB_M)),
+                dynamicTest("height 2 barely filled", () -> doTestCopyOf(RRB_M * RRB_M + 1)),
+                dynamicTest("height 2 partially filled", () -> doTestCopyOf(RRB_M * RRB_M * 5 + 17))
+        );
+    }
+
+    private void doTestCopyOf(int size) {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            expected.add(i);
+        }
+        PersistentTrieList<Integer> instance = PersistentTrieList.copyOf(expected);
+        assertEqualList(expected, instance);
+
+        // WHEN: every element is replaced
+        // THEN: the original instance must not change
+        PersistentTrieList<Integer> updated = instance;
+        for (int i = 0; i < size; i++) {
+            updated = updated.copySet(i, -i - 1);
+        }
+        assertEqualList(expected, instance);
+        for (int i = 0; i < size; i++) {
+            assertEquals(-i - 1, updated.get(i));
+        }
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsRandomOperations() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (int seed = 0; seed < 20; seed++) {
+            int s = seed;
+            tests.add(dynamicTest("seed " + s, () -> doTestRandomOperations(s)));
+        }
+        return tests;
+    }
+
+    private void doTestRandomOperations(int seed) {
+        Random rnd = new Random(seed);
+        List<Integer> expected = new ArrayList<>();
+        PersistentTrieList<Integer> instance = PersistentTrieList.of();
+        List<List<Integer>> history = new ArrayList<>();
+        List<PersistentTrieList<Integer>> instanceHistory = new ArrayList<>();
+        for (int step = 0; step < 400; step++) {
+            int size = expected.size();
+            switch (rnd.nextInt(8)) {
+            case 0: {
+                int e = rnd.nextInt();
+                expected.add(e);
+                instance = instance.copyAdd(e);
+                break;
+            }
+            case 1: {
+                int index = rnd.nextInt(size + 1);
+                int e = rnd.nextInt();
+                expected.add(index, e);
+                instance = instance.copyAdd(index, e);
+                break;
+            }
+            case 2: {
+                if (size > 0) {
+                    int index = rnd.nextInt(size);
+                    int e = rnd.nextInt();
+                    expected.set(index, e);
+                    instance = instance.copySet(index, e);
+                }
+                break;
+            }
+            case 3: {
+                if (size > 0) {
+                    int index = rnd.nextInt(size);
+                    expected.remove(index);
+                    instance = instance.copyRemoveAt(index);
+                }
+                break;
+            }
+            case 4: {
+                int from = rnd.nextInt(size + 1);
+                int to = from + rnd.nextInt(Math.min(size - from, 100) + 1);
+                expected.subList(from, to).clear();
+                instance = instance.copyRemoveRange(from, to);
+                break;
+            }
+            case 5: {
+                int from = rnd.nextInt(size + 1);
+                int to = from + rnd.nextInt(size - from + 1);
+                expected = new ArrayList<>(expected.subList(from, to));
+                instance = instance.copySubList(from, to);
+                break;
+            }
+            case 6: {
+                // concatenate with a previous version of the list
+                int i = rnd.nextInt(history.size() + 1);
+                if (i < history.size()) {
+                    expected.addAll(history.get(i));
+                    instance = instance.copyAddAll(instanceHistory.get(i));
+                }
+                break;
+            }
+            default: {
+                int index = rnd.nextInt(size + 1);
+                List<Integer> added = new ArrayList<>();
+                for (int i = rnd.nextInt(3 * RRB_M); i > 0; i--) {
+                    added.add(rnd.nextInt());
+                }
+                expected.addAll(index, added);
+                instance = instance.copyAddAll(index, added);
+                break;
+            }
+            }
+            assertEqualList(expected, instance);
+            if (expected.size() < 100_000) {
+                history.add(new ArrayList<>(expected));
+                instanceHistory.add(instance);
+            }
+        }
+
+        // all previous versions must be unchanged
+        for (int i = 0; i < history.size(); i++) {
+            assertEqualList(history.get(i), instanceHistory.get(i));
+        }
+    }
+
+    @Test
+    public void testMutableListDoesNotChangePersistentList() {
+        List<Integer> expected = new ArrayList<>();
+        TrieList<Integer> mutable = new TrieList<>();
+        for (int i = 0; i < 5000; i++) {
+            expected.add(i);
+            mutable.add(i);
+        }
+        PersistentTrieList<Integer> persistent = mutable.toPersistent();
+        for (int i = 0; i < 5000; i += 7) {
+            mutable.set(i, -1);
+        }
+        mutable.add(100, 42);
+        mutable.remove(4000);
+        assertEqualList(expected, persistent);
+
+        TrieList<Integer> other = new TrieList<>(persistent);
+        other.set(0, -1);
+        assertEqualList(expected, persistent);
+        assertEquals(-1, other.get(0));
+    }
+
+    @Test
+    public void testRandomInsertionsKeepTreeShallow() {
+        Random rnd = new Random(0);
+        PersistentTrieList<Integer> instance = PersistentTrieList.of();
+        for (int i = 0; i < 50_000; i++) {
+            instance = instance.copyAdd(rnd.nextInt(i + 1), i);
+        }
+        // a dense tree with 50'000 elements has level 3
+        assertTrue(instance.level <= 4, "level=" + instance.level);
+    }
+
+    @Test
+    public void testCopySetWithEqualElementReturnsThis() {
+        PersistentTrieList<String> instance = PersistentTrieList.of("a", "b", "c");
+        assertSame(instance, instance.copySet(1, "b"));
+        assertSame(instance, instance.copyRemove("d"));
+        assertEquals(PersistentTrieList.of("a", "c"), instance.copyRemove("b"));
+    }
+
+    private static void assertEqualList(@NonNull List<Integer> expected, @NonNull PersistentTrieList<Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+        assertEquals(expected, actual.asList());
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+}
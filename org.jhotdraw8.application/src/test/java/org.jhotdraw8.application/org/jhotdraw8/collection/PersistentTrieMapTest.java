@@ -6,8 +6,26 @@
 package org.jhotdraw8.collection;
 
 import org.jhotdraw8.annotation.NonNull;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
 public class PersistentTrieMapTest extends AbstractPersistentMapTest {
     @Override
@@ -35,4 +53,149 @@ public class PersistentTrieMapTest extends AbstractPersistentMapTest {
     protected @NonNull PersistentTrieMap<HashCollider, HashCollider> copyOf(@NonNull Iterable<? extends Map.Entry<? extends HashCollider, ? extends HashCollider>> entries) {
         return PersistentTrieMap.ofEntries(entries);
     }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsBulkOperations() {
+        return Arrays.asList(
+                dynamicTest("32-bits hash", () -> testBulkOperations(-1)),
+                dynamicTest("4-bits hash", () -> testBulkOperations(15)),
+                dynamicTest("0-bits hash", () -> testBulkOperations(0))
+        );
+    }
+
+    private void testBulkOperations(int hashBitMask) {
+        Random rng = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            LinkedHashMap<HashCollider, HashCollider> expectedA = new LinkedHashMap<>();
+            LinkedHashMap<HashCollider, HashCollider> expectedB = new LinkedHashMap<>();
+            LinkedHashSet<HashCollider> expectedKeys = new LinkedHashSet<>();
+            int n = rng.nextInt(200);
+            for (int j = 0; j < n; j++) {
+                expectedA.put(new HashCollider(rng.nextInt(400), hashBitMask), new HashCollider(rng.nextInt(4), -1));
+                expectedB.put(new HashCollider(rng.nextInt(400), hashBitMask), new HashCollider(rng.nextInt(4), -1));
+                expectedKeys.add(new HashCollider(rng.nextInt(400), hashBitMask));
+            }
+            PersistentTrieMap<HashCollider, HashCollider> a = PersistentTrieMap.copyOf(expectedA);
+            PersistentTrieMap<HashCollider, HashCollider> b = PersistentTrieMap.copyOf(expectedB);
+            assertPutAll(expectedA, a, expectedB, b);
+            assertRetainAndRemoveAll(expectedA, a, expectedKeys, PersistentTrieSet.copyOf(expectedKeys));
+            assertRetainAndRemoveAll(expectedA, a, expectedA.keySet(), PersistentTrieSet.copyOf(expectedA.keySet()));
+
+            // c shares most of its structure with a
+            LinkedHashMap<HashCollider, HashCollider> expectedC = new LinkedHashMap<>(expectedA);
+            PersistentTrieMap<HashCollider, HashCollider> c = a;
+            for (int j = 0; j < 5; j++) {
+                HashCollider put = new HashCollider(rng.nextInt(400), hashBitMask);
+                HashCollider value = new HashCollider(rng.nextInt(4), -1);
+                HashCollider removed = new HashCollider(rng.nextInt(400), hashBitMask);
+                expectedC.put(put, value);
+                expectedC.remove(removed);
+                c = c.copyPut(put, value).copyRemove(removed);
+            }
+            assertPutAll(expectedA, a, expectedC, c);
+            assertPutAll(expectedC, c, expectedA, a);
+        }
+    }
+
+    private void assertPutAll(LinkedHashMap<HashCollider, HashCollider> expectedA, PersistentTrieMap<HashCollider, HashCollider> a,
+                              LinkedHashMap<HashCollider, HashCollider> expectedB, PersistentTrieMap<HashCollider, HashCollider> b) {
+        LinkedHashMap<HashCollider, HashCollider> expected = new LinkedHashMap<>(expectedA);
+        expected.putAll(expectedB);
+        PersistentTrieMap<HashCollider, HashCollider> actual = a.copyPutAll(b);
+        assertEquals(expected, actual.asMap());
+        assertEquals(expected.size(), actual.size());
+        if (expected.equals(expectedA)) {
+            assertSame(a, actual);
+        }
+    }
+
+    private void assertRetainAndRemoveAll(LinkedHashMap<HashCollider, HashCollider> expectedA, PersistentTrieMap<HashCollider, HashCollider> a,
+                                          Set<HashCollider> expectedKeys, PersistentTrieSet<HashCollider> keys) {
+        LinkedHashMap<HashCollider, HashCollider> expected = new LinkedHashMap<>(expectedA);
+        expected.keySet().retainAll(expectedKeys);
+        PersistentTrieMap<HashCollider, HashCollider> actual = a.copyRetainAll(keys);
+        assertEquals(expected, actual.asMap());
+        assertEquals(expected.size(), actual.size());
+        if (expected.size() == a.size()) {
+            assertSame(a, actual);
+        }
+
+        expected = new LinkedHashMap<>(expectedA);
+        expected.keySet().removeAll(expectedKeys);
+        actual = a.copyRemoveAll(keys);
+        assertEquals(expected, actual.asMap());
+        assertEquals(expected.size(), actual.size());
+        actual = a.copyRemoveAll(new TrieSet<>(keys));
+        assertEquals(expected, actual.asMap());
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsHashCode() {
+        return Arrays.asList(
+                dynamicTest("32-bits hash", () -> testHashCode(-1)),
+                dynamicTest("4-bits hash", () -> testHashCode(15)),
+                dynamicTest("0-bits hash", () -> testHashCode(0))
+        );
+    }
+
+    private void testHashCode(int hashBitMask) {
+        Random rng = new Random(0);
+        HashMap<HashCollider, HashCollider> expected = new HashMap<>();
+        PersistentTrieMap<HashCollider, HashCollider> cached = PersistentTrieMap.of();
+        for (int i = 0; i < 1000; i++) {
+            HashCollider k = new HashCollider(rng.nextInt(200), hashBitMask);
+            if (rng.nextBoolean()) {
+                HashCollider v = new HashCollider(rng.nextInt(4), hashBitMask);
+                expected.put(k, v);
+                cached = cached.copyPut(k, v);
+            } else {
+                expected.remove(k);
+                cached = cached.copyRemove(k);
+            }
+            assertEquals(expected.hashCode(), cached.hashCode());
+
+            // a map created with a bulk operation computes its hash code lazily
+            PersistentTrieMap<HashCollider, HashCollider> lazy = PersistentTrieMap.copyOf(expected);
+            assertEquals(cached, lazy);
+            assertEquals(lazy, cached);
+            assertEquals(expected.hashCode(), lazy.hashCode());
+            assertEquals(cached, lazy);
+        }
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsSpliterator() {
+        return Arrays.asList(
+                dynamicTest("32-bits hash", () -> testSpliterator(-1)),
+                dynamicTest("4-bits hash", () -> testSpliterator(15)),
+                dynamicTest("0-bits hash", () -> testSpliterator(0))
+        );
+    }
+
+    private void testSpliterator(int hashBitMask) {
+        for (int n : new int[]{0, 1, 2, 31, 33, 1000, 10_000}) {
+            Map<HashCollider, HashCollider> expected = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                expected.put(new HashCollider(i * 7, hashBitMask), new HashCollider(i, -1));
+            }
+            PersistentTrieMap<HashCollider, HashCollider> map = PersistentTrieMap.copyOf(expected);
+            Spliterator<Map.Entry<HashCollider, HashCollider>> spliterator = map.readOnlyEntrySet().spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+            assertFalse(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+            assertEquals(n, spliterator.getExactSizeIfKnown());
+            Spliterator<Map.Entry<HashCollider, HashCollider>> prefix = spliterator.trySplit();
+            if (prefix != null) {
+                // only the unsplit spliterator reports an exact size
+                assertFalse(prefix.hasCharacteristics(Spliterator.SIZED));
+                assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+                assertTrue(prefix.estimateSize() + spliterator.estimateSize() >= n);
+            }
+
+            assertEquals(expected, map.readOnlyEntrySet().stream().parallel()
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+            assertEquals(expected.keySet(), map.readOnlyKeySet().stream().parallel().collect(Collectors.toSet()));
+            assertEquals(new HashSet<>(expected.entrySet()),
+                    new TrieMap<>(map).entrySet().parallelStream().collect(Collectors.toSet()));
+        }
+    }
 }
@@ -6,6 +6,26 @@
 package org.jhotdraw8.collection;
 
 import org.jhotdraw8.annotation.NonNull;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
 public class PersistentTrieSetTest extends AbstractPersistentSetTest {
 
@@ -23,4 +43,172 @@ public class PersistentTrieSetTest extends AbstractPersistentSetTest {
     protected PersistentSet<HashCollider> copyOf(@NonNull Iterable<? extends HashCollider> set) {
         return PersistentTrieSet.copyOf(set);
     }
-}
\ No newline at end of file
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsBulkOperations() {
+        return Arrays.asList(
+                dynamicTest("32-bits hash", () -> testBulkOperations(-1)),
+                dynamicTest("4-bits hash", () -> testBulkOperations(15)),
+                dynamicTest("0-bits hash", () -> testBulkOperations(0))
+        );
+    }
+
+    private void testBulkOperations(int hashBitMask) {
+        Random rng = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            LinkedHashSet<HashCollider> expectedA = new LinkedHashSet<>();
+            LinkedHashSet<HashCollider> expectedB = new LinkedHashSet<>();
+            int n = rng.nextInt(200);
+            for (int j = 0; j < n; j++) {
+                expectedA.add(new HashCollider(rng.nextInt(400), hashBitMask));
+                expectedB.add(new HashCollider(rng.nextInt(400), hashBitMask));
+            }
+            PersistentTrieSet<HashCollider> a = PersistentTrieSet.copyOf(expectedA);
+            PersistentTrieSet<HashCollider> b = PersistentTrieSet.copyOf(expectedB);
+            assertBulkOperations(expectedA, a, expectedB, b);
+
+            // b shares most of its structure with a
+            LinkedHashSet<HashCollider> expectedC = new LinkedHashSet<>(expectedA);
+            PersistentTrieSet<HashCollider> c = a;
+            for (int j = 0; j < 5; j++) {
+                HashCollider added = new HashCollider(rng.nextInt(400), hashBitMask);
+                HashCollider removed = new HashCollider(rng.nextInt(400), hashBitMask);
+                expectedC.add(added);
+                expectedC.remove(removed);
+                c = c.copyAdd(added).copyRemove(removed);
+            }
+            assertBulkOperations(expectedA, a, expectedC, c);
+            assertBulkOperations(expectedC, c, expectedA, a);
+        }
+    }
+
+    private void assertBulkOperations(LinkedHashSet<HashCollider> expectedA, PersistentTrieSet<HashCollider> a,
+                                      LinkedHashSet<HashCollider> expectedB, PersistentTrieSet<HashCollider> b) {
+        LinkedHashSet<HashCollider> expected = new LinkedHashSet<>(expectedA);
+        expected.addAll(expectedB);
+        PersistentTrieSet<HashCollider> actual = a.copyAddAll(b);
+        assertEquals(expected, actual.asSet());
+        assertEquals(expected.size(), actual.size());
+        if (expected.size() == a.size()) {
+            assertSame(a, actual);
+        }
+        TrieSet<HashCollider> mutable = new TrieSet<>(a);
+        mutable.addAll(b);
+        assertEquals(expected, mutable);
+
+        expected = new LinkedHashSet<>(expectedA);
+        expected.removeAll(expectedB);
+        actual = a.copyRemoveAll(b);
+        assertEquals(expected, actual.asSet());
+        assertEquals(expected.size(), actual.size());
+        mutable = new TrieSet<>(a);
+        mutable.removeAll(new TrieSet<>(b));
+        assertEquals(expected, mutable);
+
+        expected = new LinkedHashSet<>(expectedA);
+        expected.retainAll(expectedB);
+        actual = a.copyRetainAll(b);
+        assertEquals(expected, actual.asSet());
+        assertEquals(expected.size(), actual.size());
+        mutable = new TrieSet<>(a);
+        mutable.retainAll(new TrieSet<>(b));
+        assertEquals(expected, mutable);
+
+        assertEquals(expectedA.equals(expectedB), a.equals(b));
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsHashCode() {
+        return Arrays.asList(
+                dynamicTest("32-bits hash", () -> testHashCode(-1)),
+                dynamicTest("4-bits hash", () -> testHashCode(15)),
+                dynamicTest("0-bits hash", () -> testHashCode(0))
+        );
+    }
+
+    private void testHashCode(int hashBitMask) {
+        Random rng = new Random(0);
+        HashSet<HashCollider> expected = new HashSet<>();
+        PersistentTrieSet<HashCollider> cached = PersistentTrieSet.of();
+        for (int i = 0; i < 1000; i++) {
+            HashCollider e = new HashCollider(rng.nextInt(200), hashBitMask);
+            if (rng.nextBoolean()) {
+                expected.add(e);
+                cached = cached.copyAdd(e);
+            } else {
+                expected.remove(e);
+                cached = cached.copyRemove(e);
+            }
+            assertEquals(expected.hashCode(), cached.hashCode());
+
+            // a set created with a bulk operation computes its hash code lazily
+            PersistentTrieSet<HashCollider> lazy = PersistentTrieSet.copyOf(expected);
+            assertEquals(cached, lazy);
+            assertEquals(lazy, cached);
+            assertEquals(expected.hashCode(), lazy.hashCode());
+            assertEquals(cached, lazy);
+        }
+        PersistentTrieSet<HashCollider> other = cached.copyAdd(new HashCollider(1000, hashBitMask))
+                .copyRemove(new HashCollider(1000, hashBitMask));
+        assertEquals(cached, other);
+        assertEquals(cached.hashCode(), other.hashCode());
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsSpliterator() {
+        return Arrays.asList(
+                dynamicTest("32-bits hash", () -> testSpliterator(-1)),
+                dynamicTest("4-bits hash", () -> testSpliterator(15)),
+                dynamicTest("0-bits hash", () -> testSpliterator(0))
+        );
+    }
+
+    private void testSpliterator(int hashBitMask) {
+        for (int n : new int[]{0, 1, 2, 31, 33, 1000, 10_000}) {
+            Set<HashCollider> expected = new HashSet<>();
+            for (int i = 0; i < n; i++) {
+                expected.add(new HashCollider(i * 7, hashBitMask));
+            }
+            PersistentTrieSet<HashCollider> set = PersistentTrieSet.copyOf(expected);
+            Spliterator<HashCollider> spliterator = set.spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+            assertFalse(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+            assertEquals(n, spliterator.getExactSizeIfKnown());
+
+            // split recursively, and traverse the splits alternately with
+            // tryAdvance and forEachRemaining
+            List<HashCollider> actual = new ArrayList<>();
+            splitAndTraverse(spliterator, actual, 0);
+            assertEquals(n, actual.size());
+            assertEquals(expected, new HashSet<>(actual));
+
+            assertEquals(expected, StreamSupport.stream(set.spliterator(), true).collect(Collectors.toSet()));
+            TrieSet<HashCollider> mutable = new TrieSet<>(set);
+            assertEquals(expected, mutable.parallelStream().collect(Collectors.toSet()));
+        }
+    }
+
+    private static void splitAndTraverse(Spliterator<HashCollider> spliterator, List<HashCollider> actual, int depth) {
+        long size = spliterator.getExactSizeIfKnown();
+        Spliterator<HashCollider> prefix = spliterator.trySplit();
+        if (prefix == null) {
+            assertNull(spliterator.trySplit());
+            while (spliterator.tryAdvance(actual::add)) {
+                if (size >= 0) {
+                    assertEquals(--size, spliterator.getExactSizeIfKnown());
+                }
+                assertTrue(spliterator.estimateSize() >= 0);
+            }
+            return;
+        }
+        // only the unsplit spliterator reports an exact size
+        assertFalse(prefix.hasCharacteristics(Spliterator.SIZED));
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        if (depth % 2 == 0) {
+            prefix.forEachRemaining(actual::add);
+        } else {
+            splitAndTraverse(prefix, actual, depth + 1);
+        }
+        splitAndTraverse(spliterator, actual, depth + 1);
+    }
+}
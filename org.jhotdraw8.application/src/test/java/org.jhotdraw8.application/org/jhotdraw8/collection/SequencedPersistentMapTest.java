@@ -0,0 +1,110 @@
+/*
+ * @(#)SequencedPersistentMapTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+public class SequencedPersistentMapTest extends AbstractPersistentMapTest {
+    @Override
+    protected @NonNull SequencedPersistentMap<HashCollider, HashCollider> of() {
+        return SequencedPersistentMap.of();
+    }
+
+    @Override
+    @SafeVarargs
+    protected final @NonNull SequencedPersistentMap<HashCollider, HashCollider> of(Map.@NonNull Entry<HashCollider, HashCollider>... entries) {
+        return SequencedPersistentMap.ofEntries(entries);
+    }
+
+    @Override
+    protected @NonNull SequencedPersistentMap<HashCollider, HashCollider> copyOf(@NonNull Map<? extends HashCollider, ? extends HashCollider> map) {
+        return SequencedPersistentMap.copyOf(map);
+    }
+
+    @Override
+    protected @NonNull SequencedPersistentMap<HashCollider, HashCollider> copyOf(@NonNull ReadOnlyMap<? extends HashCollider, ? extends HashCollider> map) {
+        return SequencedPersistentMap.copyOf(map);
+    }
+
+    @Override
+    protected @NonNull SequencedPersistentMap<HashCollider, HashCollider> copyOf(@NonNull Iterable<? extends Map.Entry<? extends HashCollider, ? extends HashCollider>> entries) {
+        return SequencedPersistentMap.ofEntries(entries);
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsSequence() {
+        return Arrays.asList(
+                dynamicTest("32-bits hash", () -> testSequence(-1)),
+                dynamicTest("4-bits hash", () -> testSequence(15)),
+                dynamicTest("0-bits hash", () -> testSequence(0))
+        );
+    }
+
+    private void testSequence(int hashBitMask) {
+        Random rng = new Random(0);
+        LinkedHashMap<HashCollider, HashCollider> expected = new LinkedHashMap<>();
+        SequencedPersistentMap<HashCollider, HashCollider> actual = SequencedPersistentMap.of();
+        for (int i = 0; i < 5000; i++) {
+            HashCollider k = new HashCollider(rng.nextInt(200), hashBitMask);
+            HashCollider v = new HashCollider(rng.nextInt(10), -1);
+            if (rng.nextInt(5) < 3) {
+                expected.put(k, v);
+                actual = actual.copyPut(k, v);
+            } else {
+                expected.remove(k);
+                actual = actual.copyRemove(k);
+            }
+            assertSequence(expected, actual);
+        }
+
+        // Remove all but one entry, so that the map renumbers its keys
+        List<HashCollider> keys = new ArrayList<>(expected.keySet());
+        for (int i = 0; i < keys.size() - 1; i++) {
+            expected.remove(keys.get(i + (i & 1)));
+            actual = actual.copyRemove(keys.get(i + (i & 1)));
+            assertSequence(expected, actual);
+        }
+    }
+
+    private void assertSequence(@NonNull LinkedHashMap<HashCollider, HashCollider> expected,
+                                @NonNull SequencedPersistentMap<HashCollider, HashCollider> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.readOnlyEntrySet().asSet()));
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.readOnlyKeySet().asSet()));
+        if (!expected.isEmpty()) {
+            List<Map.Entry<HashCollider, HashCollider>> entries = new ArrayList<>(expected.entrySet());
+            assertEquals(entries.get(0), actual.firstEntry());
+            assertEquals(entries.get(entries.size() - 1), actual.lastEntry());
+        }
+    }
+
+    @Test
+    public void testPutKeepsPosition() {
+        SequencedPersistentMap<String, Integer> actual = SequencedPersistentMap.<String, Integer>of()
+                .copyPut("a", 1).copyPut("b", 2).copyPut("c", 3);
+        assertSame(actual, actual.copyPut("b", 2));
+        SequencedPersistentMap<String, Integer> updated = actual.copyPut("a", 4);
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(updated.readOnlyKeySet().asSet()));
+        assertEquals(4, updated.get("a"));
+        assertEquals(1, actual.get("a"));
+        assertEquals(Arrays.asList("b", "c", "a"),
+                new ArrayList<>(updated.copyRemove("a").copyPut("a", 5).readOnlyKeySet().asSet()));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * @(#)SequencedPersistentSetTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.collection;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+public class SequencedPersistentSetTest extends AbstractPersistentSetTest {
+
+    @Override
+    protected PersistentSet<HashCollider> of() {
+        return SequencedPersistentSet.of();
+    }
+
+    @Override
+    protected PersistentSet<HashCollider> of(@NonNull HashCollider... keys) {
+        return SequencedPersistentSet.of(keys);
+    }
+
+    @Override
+    protected PersistentSet<HashCollider> copyOf(@NonNull Iterable<? extends HashCollider> set) {
+        return SequencedPersistentSet.copyOf(set);
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsSequence() {
+        return Arrays.asList(
+                dynamicTest("32-bits hash", () -> testSequence(-1)),
+                dynamicTest("4-bits hash", () -> testSequence(15)),
+                dynamicTest("0-bits hash", () -> testSequence(0))
+        );
+    }
+
+    private void testSequence(int hashBitMask) {
+        Random rng = new Random(0);
+        LinkedHashSet<HashCollider> expected = new LinkedHashSet<>();
+        SequencedPersistentSet<HashCollider> actual = SequencedPersistentSet.of();
+        for (int i = 0; i < 5000; i++) {
+            HashCollider e = new HashCollider(rng.nextInt(200), hashBitMask);
+            switch (rng.nextInt(6)) {
+            case 0:
+            case 1:
+                expected.add(e);
+                actual = actual.copyAdd(e);
+                break;
+            case 2:
+            case 3:
+                expected.remove(e);
+                actual = actual.copyRemove(e);
+                break;
+            case 4:
+                expected.remove(e);
+                expected.add(e);
+                actual = actual.copyAddLast(e);
+                break;
+            case 5:
+                if (!expected.isEmpty()) {
+                    HashCollider first = expected.iterator().next();
+                    expected.remove(first);
+                    actual = actual.copyRemoveFirst();
+                }
+                break;
+            }
+            assertSequence(expected, actual);
+        }
+
+        // Remove all but one element, so that the set renumbers its elements
+        List<HashCollider> list = new ArrayList<>(expected);
+        for (int i = 0; i < list.size() - 1; i++) {
+            expected.remove(list.get(i + (i & 1)));
+            actual = actual.copyRemove(list.get(i + (i & 1)));
+            assertSequence(expected, actual);
+        }
+    }
+
+    private void assertSequence(@NonNull LinkedHashSet<HashCollider> expected, @NonNull SequencedPersistentSet<HashCollider> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(actual.asSet()));
+        assertEquals(new ArrayList<>(expected), actual.stream().collect(Collectors.toList()));
+        if (!expected.isEmpty()) {
+            assertEquals(expected.iterator().next(), actual.getFirst());
+            assertEquals(new ArrayList<>(expected).get(expected.size() - 1), actual.getLast());
+        }
+    }
+
+    @Test
+    public void testAddFirstAndAddLast() {
+        SequencedPersistentSet<String> actual = SequencedPersistentSet.of("a", "b", "c");
+        assertSame(actual, actual.copyAdd("b"));
+        assertSame(actual, actual.copyAddFirst("a"));
+        assertSame(actual, actual.copyAddLast("c"));
+        assertEquals(Arrays.asList("c", "a", "b"), new ArrayList<>(actual.copyAddFirst("c").asSet()));
+        assertEquals(Arrays.asList("b", "c", "a"), new ArrayList<>(actual.copyAddLast("a").asSet()));
+        assertEquals(Arrays.asList("d", "a", "b", "c"), new ArrayList<>(actual.copyAddFirst("d").asSet()));
+        assertEquals(Arrays.asList("b", "c"), new ArrayList<>(actual.copyRemoveFirst().asSet()));
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(actual.copyRemoveLast().asSet()));
+        assertThrows(NoSuchElementException.class, () -> SequencedPersistentSet.of().getFirst());
+        assertThrows(NoSuchElementException.class, () -> SequencedPersistentSet.of().getLast());
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * @(#)BenchmarkMain.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Runs the benchmarks and writes the results to a JSON file, so that
+ * the results of different runs can be compared.
+ * <p>
+ * Accepts the same command line options as {@link Main}. Unless the
+ * command line specifies a result format or a result file with
+ * {@code -rf} or {@code -rff}, the results are written in JSON format
+ * to the file {@code jmh-result-yyyyMMdd-HHmmss.json} in the current
+ * directory.
+ */
+public class BenchmarkMain {
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> list = new ArrayList<>(Arrays.asList(args));
+        if (!list.contains("-rf") && !list.contains("-rff")) {
+            list.add(0, "-rf");
+            list.add(1, "json");
+            list.add(2, "-rff");
+            list.add(3, "jmh-result-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json");
+        }
+        Main.main(list.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * @(#)CollectionFootprint.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.collection;
+
+import io.vavr.collection.Vector;
+import org.jhotdraw8.collection.ImmutableArrayList;
+import org.jhotdraw8.collection.IntArrayDeque;
+import org.jhotdraw8.collection.IntArrayList;
+import org.jhotdraw8.collection.PersistentTrieList;
+import org.jhotdraw8.collection.PersistentTrieMap;
+import org.jhotdraw8.collection.PersistentTrieSet;
+import org.jhotdraw8.collection.SharedKeysMap;
+import org.jhotdraw8.collection.TrieMap;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Prints the retained sizes of the collections that are compared by the
+ * benchmarks in this package.
+ * <p>
+ * The {@code gc.alloc.rate.norm} of the {@code mCopyOf*} and
+ * {@code mCreate*} benchmarks is the memory that is allocated per
+ * collection. It includes temporary objects, and the arrays and nodes
+ * that are replaced while a collection grows. This class measures the
+ * memory that a collection retains after it has been created.
+ * <p>
+ * The retained size is the total size of all objects that are reachable
+ * from the collection, as computed by {@link GraphLayout#totalSize()},
+ * minus the size of the elements. The elements are the same objects in
+ * all collections. The {@code SharedKeysMap} does not retain the map
+ * with the shared keys.
+ * <pre>
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ *
+ * Collection                 (size)     Retained  Units
+ * HashMap                      1000        40272  B
+ * JdkImmutableMap              1000        16048  B
+ * PersistentTrieMap            1000        23344  B
+ * TrieMap                      1000        23376  B
+ * VavrHashMap                  1000        42488  B
+ * HashSet                      1000        40288  B
+ * JdkImmutableSet              1000         8040  B
+ * PersistentTrieSet            1000        19592  B
+ * VavrHashSet                  1000        42488  B
+ * ArrayList                    1000         4040  B
+ * JdkImmutableList             1000         4040  B
+ * ImmutableArrayList           1000         4032  B
+ * PersistentTrieList           1000         5632  B
+ * VavrVector                   1000         4720  B
+ * IntArrayList                 1000         4136  B
+ * ArrayDeque                   1000         5072  B
+ * IntArrayDeque                1000         4136  B
+ * HashMap                    100000      4248592  B
+ * JdkImmutableMap            100000      1600016  B
+ * PersistentTrieMap          100000      2487880  B
+ * TrieMap                    100000      2487912  B
+ * VavrHashMap                100000      4266552  B
+ * HashSet                    100000      4248608  B
+ * JdkImmutableSet            100000       800024  B
+ * PersistentTrieSet          100000      2118904  B
+ * VavrHashSet                100000      5866520  B
+ * ArrayList                  100000       400040  B
+ * JdkImmutableList           100000       400040  B
+ * ImmutableArrayList         100000       400032  B
+ * PersistentTrieList         100000       556632  B
+ * VavrVector                 100000       464624  B
+ * IntArrayList               100000       524328  B
+ * ArrayDeque                 100000       434696  B
+ * IntArrayDeque              100000       524328  B
+ * HashMap                         8          384  B
+ * SharedKeysMap                   8          456  B
+ * </pre>
+ */
+public class CollectionFootprint {
+    private static final int[] SIZES = {1000, 100000};
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private CollectionFootprint() {
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("%-26s %6s %12s  %s%n", "Collection", "(size)", "Retained", "Units");
+        for (int size : SIZES) {
+            Random rnd = new Random(0);
+            Integer[] keys = new Integer[size];
+            HashMap<Integer, Integer> hashMap = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                keys[i] = rnd.nextInt();
+                hashMap.put(keys[i], i);
+            }
+            Object[] entries = new Object[2 * hashMap.size()];
+            int j = 0;
+            for (Map.Entry<Integer, Integer> entry : hashMap.entrySet()) {
+                entries[j++] = entry.getKey();
+                entries[j++] = entry.getValue();
+            }
+            TrieMap<Integer, Integer> trieMap = new TrieMap<>();
+            trieMap.putAll(hashMap);
+            print("HashMap", size, hashMap, entries);
+            print("JdkImmutableMap", size, Map.copyOf(hashMap), entries);
+            print("PersistentTrieMap", size, PersistentTrieMap.copyOf(hashMap), entries);
+            print("TrieMap", size, trieMap, entries);
+            print("VavrHashMap", size, io.vavr.collection.HashMap.ofAll(hashMap), entries);
+
+            HashSet<Integer> hashSet = new HashSet<>(hashMap.keySet());
+            print("HashSet", size, hashSet, keys);
+            print("JdkImmutableSet", size, Set.copyOf(hashSet), keys);
+            print("PersistentTrieSet", size, PersistentTrieSet.copyOf(hashSet), keys);
+            print("VavrHashSet", size, io.vavr.collection.HashSet.ofAll(hashSet), keys);
+
+            ArrayList<Integer> arrayList = new ArrayList<>(size);
+            IntArrayList intArrayList = new IntArrayList();
+            ArrayDeque<Integer> arrayDeque = new ArrayDeque<>();
+            IntArrayDeque intArrayDeque = new IntArrayDeque();
+            for (Integer key : keys) {
+                arrayList.add(key);
+                intArrayList.addAsInt(key);
+                arrayDeque.addLast(key);
+                intArrayDeque.addLastAsInt(key);
+            }
+            print("ArrayList", size, arrayList, keys);
+            print("JdkImmutableList", size, List.copyOf(arrayList), keys);
+            print("ImmutableArrayList", size, new ImmutableArrayList<>(arrayList), keys);
+            print("PersistentTrieList", size, PersistentTrieList.copyOf(arrayList), keys);
+            print("VavrVector", size, Vector.ofAll(arrayList), keys);
+            print("IntArrayList", size, intArrayList, keys);
+            print("ArrayDeque", size, arrayDeque, keys);
+            print("IntArrayDeque", size, intArrayDeque, keys);
+        }
+
+        // a map with 8 values, for a set of 100 shared keys,
+        // as in SharedKeysMapBenchmark
+        String[] keys = new String[100];
+        Map<String, Integer> keyMap = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "key" + i;
+            keyMap.put(keys[i], i);
+        }
+        SharedKeysMap<String, Object> sharedKeysMap = new SharedKeysMap<>(keyMap);
+        HashMap<String, Object> hashMap = new HashMap<>();
+        for (int i = 0; i < 8; i++) {
+            sharedKeysMap.put(keys[i * 3], keys);
+            hashMap.put(keys[i * 3], keys);
+        }
+        print("HashMap", 8, hashMap, keys, keyMap);
+        print("SharedKeysMap", 8, sharedKeysMap, keys, keyMap);
+    }
+
+    /**
+     * Prints the retained size of a collection, without the specified
+     * objects and the objects that are reachable from them.
+     *
+     * @param name       the name of the collection
+     * @param size       the number of elements in the collection
+     * @param collection the collection
+     * @param shared     the objects that are shared with other collections
+     */
+    private static void print(String name, int size, Object collection, Object... shared) {
+        long retained = GraphLayout.parseInstance(collection)
+                .subtract(GraphLayout.parseInstance(shared)).totalSize();
+        System.out.printf("%-26s %6d %12d  %s%n", name, size, retained, "B");
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * @(#)ImmutableArrayListBenchmark.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.collection;
+
+import io.vavr.collection.Vector;
+import org.jhotdraw8.collection.ImmutableArrayList;
+import org.jhotdraw8.collection.ImmutableList;
+import org.jhotdraw8.collection.ImmutableLists;
+import org.jhotdraw8.collection.PersistentTrieList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ImmutableArrayList} with {@link ArrayList}, with the
+ * immutable list that is returned by {@link List#copyOf}, with
+ * {@link PersistentTrieList}, and with the persistent {@link Vector} of
+ * Vavr.
+ * <ul>
+ *     <li>{@code mGet*}: gets all elements by index.</li>
+ *     <li>{@code mIterate*}: iterates over all elements.</li>
+ *     <li>{@code mCopyAdd*}: creates a copy of the list with one
+ *     element added.</li>
+ *     <li>{@code mCopyOf*}: creates a list from an {@code ArrayList}.
+ *     Run with {@code -prof gc}: the {@code gc.alloc.rate.norm} is the
+ *     memory that is allocated per copy, including temporary objects.
+ *     {@link CollectionFootprint} measures the retained size of the
+ *     lists.</li>
+ * </ul>
+ * <pre>
+ * # JMH version: 1.35
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ * # Processor: Intel(R) Xeon(R) Processor, 1 core
+ *
+ * Benchmark                                      (size)  Mode  Cnt        Score   Units
+ * mCopyAddArrayList                                1000  avgt    3        1.867   us/op
+ * mCopyAddArrayList                              100000  avgt    3      187.174   us/op
+ * mCopyAddImmutableArrayList                       1000  avgt    3        0.977   us/op
+ * mCopyAddImmutableArrayList                     100000  avgt    3       91.689   us/op
+ * mCopyAddPersistentTrieList                       1000  avgt    3        0.222   us/op
+ * mCopyAddPersistentTrieList                     100000  avgt    3        0.553   us/op
+ * mCopyOfImmutableArrayList                        1000  avgt    3        0.948   us/op
+ * mCopyOfImmutableArrayList:·gc.alloc.rate.norm    1000  avgt    3     4035.573    B/op
+ * mCopyOfImmutableArrayList                      100000  avgt    3      115.112   us/op
+ * mCopyOfImmutableArrayList:·gc.alloc.rate.norm  100000  avgt    3   400388.493    B/op
+ * mCopyOfJdkImmutableList                          1000  avgt    3        2.947   us/op
+ * mCopyOfJdkImmutableList:·gc.alloc.rate.norm      1000  avgt    3     8063.247    B/op
+ * mCopyOfJdkImmutableList                        100000  avgt    3      381.444   us/op
+ * mCopyOfJdkImmutableList:·gc.alloc.rate.norm    100000  avgt    3   800787.544    B/op
+ * mCopyOfPersistentTrieList                        1000  avgt    3       13.599   us/op
+ * mCopyOfPersistentTrieList:·gc.alloc.rate.norm    1000  avgt    3    15190.883    B/op
+ * mCopyOfPersistentTrieList                      100000  avgt    3     1985.129   us/op
+ * mCopyOfPersistentTrieList:·gc.alloc.rate.norm  100000  avgt    3  2806297.482    B/op
+ * mGetArrayList                                    1000  avgt    3        0.679   us/op
+ * mGetArrayList                                  100000  avgt    3       99.357   us/op
+ * mGetImmutableArrayList                           1000  avgt    3        0.802   us/op
+ * mGetImmutableArrayList                         100000  avgt    3       93.628   us/op
+ * mGetJdkImmutableList                             1000  avgt    3        0.613   us/op
+ * mGetJdkImmutableList                           100000  avgt    3       96.360   us/op
+ * mGetPersistentTrieList                           1000  avgt    3        6.125   us/op
+ * mGetPersistentTrieList                         100000  avgt    3     1284.085   us/op
+ * mIterateArrayList                                1000  avgt    3        0.833   us/op
+ * mIterateArrayList                              100000  avgt    3      107.711   us/op
+ * mIterateImmutableArrayList                       1000  avgt    3        0.970   us/op
+ * mIterateImmutableArrayList                     100000  avgt    3      114.332   us/op
+ * mIterateJdkImmutableList                         1000  avgt    3        0.797   us/op
+ * mIterateJdkImmutableList                       100000  avgt    3       76.757   us/op
+ * mIteratePersistentTrieList                       1000  avgt    3        2.452   us/op
+ * mIteratePersistentTrieList                     100000  avgt    3      292.003   us/op
+ *
+ * Vavr, with 2 warmup iterations and 3 measurement iterations of 1 s:
+ * Benchmark                              (size)  Mode  Cnt        Score   Units
+ * mCopyAddVavrVector                       1000  avgt    3        0.159   us/op
+ * mCopyAddVavrVector                     100000  avgt    3        0.189   us/op
+ * mCopyOfVavrVector                        1000  avgt    3        2.110   us/op
+ * mCopyOfVavrVector:·gc.alloc.rate.norm    1000  avgt    3     8727.784   B/op
+ * mCopyOfVavrVector                      100000  avgt    3      211.660   us/op
+ * mCopyOfVavrVector:·gc.alloc.rate.norm  100000  avgt    3   878343.525   B/op
+ * mGetVavrVector                           1000  avgt    3        4.045   us/op
+ * mGetVavrVector                         100000  avgt    3     1606.807   us/op
+ * mIterateVavrVector                       1000  avgt    3        4.885   us/op
+ * mIterateVavrVector                     100000  avgt    3      667.993   us/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class ImmutableArrayListBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final ArrayList<Integer> arrayList = new ArrayList<>();
+    private List<Integer> jdkImmutableList;
+    private ImmutableArrayList<Integer> immutableArrayList;
+    private PersistentTrieList<Integer> persistentTrieList;
+    private Vector<Integer> vavrVector;
+    private final Integer element = -1;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(0);
+        for (int i = 0; i < size; i++) {
+            arrayList.add(rnd.nextInt());
+        }
+        jdkImmutableList = List.copyOf(arrayList);
+        immutableArrayList = new ImmutableArrayList<>(arrayList);
+        persistentTrieList = PersistentTrieList.copyOf(arrayList);
+        vavrVector = Vector.ofAll(arrayList);
+    }
+
+    @Benchmark
+    public int mGetImmutableArrayList() {
+        int sum = 0;
+        for (int i = 0, n = immutableArrayList.size(); i < n; i++) {
+            sum += immutableArrayList.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mGetArrayList() {
+        int sum = 0;
+        for (int i = 0, n = arrayList.size(); i < n; i++) {
+            sum += arrayList.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mGetJdkImmutableList() {
+        int sum = 0;
+        for (int i = 0, n = jdkImmutableList.size(); i < n; i++) {
+            sum += jdkImmutableList.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mGetPersistentTrieList() {
+        int sum = 0;
+        for (int i = 0, n = persistentTrieList.size(); i < n; i++) {
+            sum += persistentTrieList.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mGetVavrVector() {
+        int sum = 0;
+        for (int i = 0, n = vavrVector.size(); i < n; i++) {
+            sum += vavrVector.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateImmutableArrayList() {
+        int sum = 0;
+        for (Integer e : immutableArrayList) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateArrayList() {
+        int sum = 0;
+        for (Integer e : arrayList) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateJdkImmutableList() {
+        int sum = 0;
+        for (Integer e : jdkImmutableList) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIteratePersistentTrieList() {
+        int sum = 0;
+        for (Integer e : persistentTrieList) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateVavrVector() {
+        int sum = 0;
+        for (Integer e : vavrVector) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public ImmutableList<Integer> mCopyAddImmutableArrayList() {
+        return ImmutableLists.add(immutableArrayList, element);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> mCopyAddArrayList() {
+        ArrayList<Integer> copy = new ArrayList<>(arrayList.size() + 1);
+        copy.addAll(arrayList);
+        copy.add(element);
+        return copy;
+    }
+
+    @Benchmark
+    public PersistentTrieList<Integer> mCopyAddPersistentTrieList() {
+        return persistentTrieList.copyAdd(element);
+    }
+
+    @Benchmark
+    public Vector<Integer> mCopyAddVavrVector() {
+        return vavrVector.append(element);
+    }
+
+    @Benchmark
+    public ImmutableArrayList<Integer> mCopyOfImmutableArrayList() {
+        return new ImmutableArrayList<>(arrayList);
+    }
+
+    @Benchmark
+    public List<Integer> mCopyOfJdkImmutableList() {
+        return List.copyOf(arrayList);
+    }
+
+    @Benchmark
+    public PersistentTrieList<Integer> mCopyOfPersistentTrieList() {
+        return PersistentTrieList.copyOf(arrayList);
+    }
+
+    @Benchmark
+    public Vector<Integer> mCopyOfVavrVector() {
+        return Vector.ofAll(arrayList);
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * @(#)PersistentTrieMapBenchmark.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.collection;
+
+import io.vavr.Tuple2;
+import org.jhotdraw8.collection.PersistentTrieMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link PersistentTrieMap} with the persistent
+ * {@link io.vavr.collection.HashMap} of Vavr, with {@link HashMap} and
+ * with the immutable map that is returned by {@link Map#copyOf}.
+ * <p>
+ * {@code java.util} has no persistent map. The {@code HashMap}
+ * baseline of the {@code mCopy*} benchmarks copies the map and then
+ * modifies the copy.
+ * <ul>
+ *     <li>{@code mContainsKey*}: looks up all keys.</li>
+ *     <li>{@code mIterate*}: iterates over all entries.</li>
+ *     <li>{@code mCopyPut*}: adds a key that is not in the map.</li>
+ *     <li>{@code mCopyRemove*}: removes a key that is in the map.</li>
+ *     <li>{@code mCopyPutHashCodePersistentTrieMap}: computes the hash code of a
+ *     map that was created with {@code copyPut} from a map whose hash
+ *     code is known.</li>
+ *     <li>{@code mCopyOf*}: creates a map from a {@code HashMap}. Run
+ *     with {@code -prof gc}: the {@code gc.alloc.rate.norm} is the
+ *     memory that is allocated per copy, including temporary objects.
+ *     {@link CollectionFootprint} measures the retained size of the
+ *     maps.</li>
+ * </ul>
+ * <pre>
+ * # JMH version: 1.35
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ * # Processor: Intel(R) Xeon(R) Processor, 1 core
+ *
+ * Benchmark                                     (size)  Mode  Cnt        Score   Units
+ * mContainsKeyHashMap                             1000  avgt    3        3.406   us/op
+ * mContainsKeyHashMap                           100000  avgt    3     1629.642   us/op
+ * mContainsKeyJdkImmutableMap                     1000  avgt    3        5.733   us/op
+ * mContainsKeyJdkImmutableMap                   100000  avgt    3     3383.146   us/op
+ * mContainsKeyPersistentTrieMap                   1000  avgt    3       22.176   us/op
+ * mContainsKeyPersistentTrieMap                 100000  avgt    3     8810.035   us/op
+ * mCopyOfHashMap                                  1000  avgt    3       25.603   us/op
+ * mCopyOfHashMap:·gc.alloc.rate.norm              1000  avgt    3    40292.473    B/op
+ * mCopyOfHashMap                                100000  avgt    3     6696.262   us/op
+ * mCopyOfHashMap:·gc.alloc.rate.norm            100000  avgt    3  4252874.506    B/op
+ * mCopyOfJdkImmutableMap                          1000  avgt    3       41.996   us/op
+ * mCopyOfJdkImmutableMap:·gc.alloc.rate.norm      1000  avgt    3    28158.088    B/op
+ * mCopyOfJdkImmutableMap                        100000  avgt    3     9615.212   us/op
+ * mCopyOfJdkImmutableMap:·gc.alloc.rate.norm    100000  avgt    3  2802999.967    B/op
+ * mCopyOfPersistentTrieMap                        1000  avgt    3       97.528   us/op
+ * mCopyOfPersistentTrieMap:·gc.alloc.rate.norm    1000  avgt    3   177945.374    B/op
+ * mCopyOfPersistentTrieMap                      100000  avgt    3    44930.119   us/op
+ * mCopyOfPersistentTrieMap:·gc.alloc.rate.norm  100000  avgt    3  17253227.033    B/op
+ * mCopyPutHashMap                                 1000  avgt    3       23.144   us/op
+ * mCopyPutHashMap                               100000  avgt    3     5196.056   us/op
+ * mCopyPutPersistentTrieMap                       1000  avgt    3        0.090   us/op
+ * mCopyPutPersistentTrieMap                     100000  avgt    3        0.158   us/op
+ * mCopyRemoveHashMap                              1000  avgt    3       21.139   us/op
+ * mCopyRemoveHashMap                            100000  avgt    3     5681.975   us/op
+ * mCopyRemovePersistentTrieMap                    1000  avgt    3        0.077   us/op
+ * mCopyRemovePersistentTrieMap                  100000  avgt    3        0.170   us/op
+ * mIterateHashMap                                 1000  avgt    3        4.789   us/op
+ * mIterateHashMap                               100000  avgt    3     1976.951   us/op
+ * mIterateJdkImmutableMap                         1000  avgt    3        4.183   us/op
+ * mIterateJdkImmutableMap                       100000  avgt    3     1697.695   us/op
+ * mIteratePersistentTrieMap                       1000  avgt    3       13.493   us/op
+ * mIteratePersistentTrieMap                     100000  avgt    3     3526.991   us/op
+ *
+ * With a hash code that is computed on each call:
+ * Benchmark                          (size)  Mode  Cnt      Score   Units
+ * mCopyPutHashCodePersistentTrieMap    1000  avgt    3      9.846   us/op
+ * mCopyPutHashCodePersistentTrieMap  100000  avgt    3   2441.704   us/op
+ *
+ * With a hash code that is cached and updated incrementally:
+ * Benchmark                          (size)  Mode  Cnt      Score   Units
+ * mCopyPutHashCodePersistentTrieMap    1000  avgt    3      0.065   us/op
+ * mCopyPutHashCodePersistentTrieMap  100000  avgt    3      0.144   us/op
+ *
+ * Vavr, with 2 warmup iterations and 3 measurement iterations of 1 s:
+ * Benchmark                               (size)  Mode  Cnt        Score   Units
+ * mContainsKeyVavrHashMap                   1000  avgt    3       68.369   us/op
+ * mContainsKeyVavrHashMap                 100000  avgt    3    42524.362   us/op
+ * mCopyOfVavrHashMap                        1000  avgt    3      302.037   us/op
+ * mCopyOfVavrHashMap:·gc.alloc.rate.norm    1000  avgt    3   314138.615   B/op
+ * mCopyOfVavrHashMap                      100000  avgt    3   179762.810   us/op
+ * mCopyOfVavrHashMap:·gc.alloc.rate.norm  100000  avgt    3  54610310.794   B/op
+ * mCopyPutVavrHashMap                       1000  avgt    3        0.237   us/op
+ * mCopyPutVavrHashMap                     100000  avgt    3        0.413   us/op
+ * mCopyRemoveVavrHashMap                    1000  avgt    3        0.128   us/op
+ * mCopyRemoveVavrHashMap                  100000  avgt    3        0.203   us/op
+ * mIterateVavrHashMap                       1000  avgt    3       28.113   us/op
+ * mIterateVavrHashMap                     100000  avgt    3    13692.145   us/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class PersistentTrieMapBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Integer[] keys;
+    private Integer absentKey;
+    private final HashMap<Integer, Integer> hashMap = new HashMap<>();
+    private Map<Integer, Integer> jdkImmutableMap;
+    private PersistentTrieMap<Integer, Integer> persistentTrieMap;
+    private io.vavr.collection.HashMap<Integer, Integer> vavrHashMap;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(0);
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = rnd.nextInt();
+            hashMap.put(keys[i], i);
+        }
+        do {
+            absentKey = rnd.nextInt();
+        } while (hashMap.containsKey(absentKey));
+        jdkImmutableMap = Map.copyOf(hashMap);
+        persistentTrieMap = PersistentTrieMap.copyOf(hashMap);
+        persistentTrieMap.hashCode();
+        vavrHashMap = io.vavr.collection.HashMap.ofAll(hashMap);
+    }
+
+    @Benchmark
+    public int mContainsKeyPersistentTrieMap() {
+        int count = 0;
+        for (Integer key : keys) {
+            if (persistentTrieMap.containsKey(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mContainsKeyHashMap() {
+        int count = 0;
+        for (Integer key : keys) {
+            if (hashMap.containsKey(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mContainsKeyJdkImmutableMap() {
+        int count = 0;
+        for (Integer key : keys) {
+            if (jdkImmutableMap.containsKey(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mContainsKeyVavrHashMap() {
+        int count = 0;
+        for (Integer key : keys) {
+            if (vavrHashMap.containsKey(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mIteratePersistentTrieMap() {
+        int sum = 0;
+        for (Map.Entry<Integer, Integer> entry : persistentTrieMap.readOnlyEntrySet()) {
+            sum += entry.getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateHashMap() {
+        int sum = 0;
+        for (Map.Entry<Integer, Integer> entry : hashMap.entrySet()) {
+            sum += entry.getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateJdkImmutableMap() {
+        int sum = 0;
+        for (Map.Entry<Integer, Integer> entry : jdkImmutableMap.entrySet()) {
+            sum += entry.getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateVavrHashMap() {
+        int sum = 0;
+        for (Tuple2<Integer, Integer> entry : vavrHashMap) {
+            sum += entry._2;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public PersistentTrieMap<Integer, Integer> mCopyPutPersistentTrieMap() {
+        return persistentTrieMap.copyPut(absentKey, 0);
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> mCopyPutHashMap() {
+        HashMap<Integer, Integer> copy = new HashMap<>(hashMap);
+        copy.put(absentKey, 0);
+        return copy;
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashMap<Integer, Integer> mCopyPutVavrHashMap() {
+        return vavrHashMap.put(absentKey, 0);
+    }
+
+    @Benchmark
+    public PersistentTrieMap<Integer, Integer> mCopyRemovePersistentTrieMap() {
+        return persistentTrieMap.copyRemove(keys[0]);
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> mCopyRemoveHashMap() {
+        HashMap<Integer, Integer> copy = new HashMap<>(hashMap);
+        copy.remove(keys[0]);
+        return copy;
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashMap<Integer, Integer> mCopyRemoveVavrHashMap() {
+        return vavrHashMap.remove(keys[0]);
+    }
+
+    @Benchmark
+    public PersistentTrieMap<Integer, Integer> mCopyOfPersistentTrieMap() {
+        return PersistentTrieMap.copyOf(hashMap);
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> mCopyOfHashMap() {
+        return new HashMap<>(hashMap);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> mCopyOfJdkImmutableMap() {
+        return Map.copyOf(hashMap);
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashMap<Integer, Integer> mCopyOfVavrHashMap() {
+        return io.vavr.collection.HashMap.ofAll(hashMap);
+    }
+
+    @Benchmark
+    public int mCopyPutHashCodePersistentTrieMap() {
+        return persistentTrieMap.copyPut(absentKey, 0).hashCode();
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * @(#)PersistentTrieSetBenchmark.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.collection;
+
+import org.jhotdraw8.collection.PersistentTrieSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link PersistentTrieSet} with the persistent
+ * {@link io.vavr.collection.HashSet} of Vavr, with {@link HashSet} and
+ * with the immutable set that is returned by {@link Set#copyOf}.
+ * <p>
+ * {@code java.util} has no persistent set. The {@code HashSet}
+ * baseline of the {@code mCopy*} benchmarks copies the set and then
+ * modifies the copy.
+ * <ul>
+ *     <li>{@code mContains*}: looks up all elements.</li>
+ *     <li>{@code mIterate*}: iterates over all elements.</li>
+ *     <li>{@code mCopyAdd*}: adds an element that is not in the set.</li>
+ *     <li>{@code mCopyRemove*}: removes an element that is in the set.</li>
+ *     <li>{@code mCopyAddHashCodePersistentTrieSet}: computes the hash code of a
+ *     set that was created with {@code copyAdd} from a set whose hash
+ *     code is known.</li>
+ *     <li>{@code mCopyOf*}: creates a set from a {@code HashSet}. Run
+ *     with {@code -prof gc}: the {@code gc.alloc.rate.norm} is the
+ *     memory that is allocated per copy, including temporary objects.
+ *     {@link CollectionFootprint} measures the retained size of the
+ *     sets.</li>
+ * </ul>
+ * <pre>
+ * # JMH version: 1.35
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ * # Processor: Intel(R) Xeon(R) Processor, 1 core
+ *
+ * Benchmark                                     (size)  Mode  Cnt        Score   Units
+ * mContainsHashSet                                1000  avgt    3        3.603   us/op
+ * mContainsHashSet                              100000  avgt    3     1391.113   us/op
+ * mContainsJdkImmutableSet                        1000  avgt    3        5.624   us/op
+ * mContainsJdkImmutableSet                      100000  avgt    3     4357.143   us/op
+ * mContainsPersistentTrieSet                      1000  avgt    3       16.785   us/op
+ * mContainsPersistentTrieSet                    100000  avgt    3    13086.637   us/op
+ * mCopyAddHashSet                                 1000  avgt    3       28.822   us/op
+ * mCopyAddHashSet                               100000  avgt    3     6059.228   us/op
+ * mCopyAddPersistentTrieSet                       1000  avgt    3        0.114   us/op
+ * mCopyAddPersistentTrieSet                     100000  avgt    3        0.174   us/op
+ * mCopyOfHashSet                                  1000  avgt    3       18.612   us/op
+ * mCopyOfHashSet:·gc.alloc.rate.norm              1000  avgt    3    40348.593    B/op
+ * mCopyOfHashSet                                100000  avgt    3     5330.532   us/op
+ * mCopyOfHashSet:·gc.alloc.rate.norm            100000  avgt    3  4252799.994    B/op
+ * mCopyOfJdkImmutableSet                          1000  avgt    3       36.428   us/op
+ * mCopyOfJdkImmutableSet:·gc.alloc.rate.norm      1000  avgt    3    52417.154    B/op
+ * mCopyOfJdkImmutableSet                        100000  avgt    3    12788.455   us/op
+ * mCopyOfJdkImmutableSet:·gc.alloc.rate.norm    100000  avgt    3  5454205.142    B/op
+ * mCopyOfPersistentTrieSet                        1000  avgt    3       96.629   us/op
+ * mCopyOfPersistentTrieSet:·gc.alloc.rate.norm    1000  avgt    3   132241.533    B/op
+ * mCopyOfPersistentTrieSet                      100000  avgt    3    29059.611   us/op
+ * mCopyOfPersistentTrieSet:·gc.alloc.rate.norm  100000  avgt    3  13567205.921    B/op
+ * mCopyRemoveHashSet                              1000  avgt    3       23.006   us/op
+ * mCopyRemoveHashSet                            100000  avgt    3     5122.248   us/op
+ * mCopyRemovePersistentTrieSet                    1000  avgt    3        0.077   us/op
+ * mCopyRemovePersistentTrieSet                  100000  avgt    3        0.158   us/op
+ * mIterateHashSet                                 1000  avgt    3        4.753   us/op
+ * mIterateHashSet                               100000  avgt    3     2139.590   us/op
+ * mIterateJdkImmutableSet                         1000  avgt    3        3.709   us/op
+ * mIterateJdkImmutableSet                       100000  avgt    3     1334.969   us/op
+ * mIteratePersistentTrieSet                       1000  avgt    3        5.241   us/op
+ * mIteratePersistentTrieSet                     100000  avgt    3     2353.962   us/op
+ *
+ * With a hash code that is computed on each call:
+ * Benchmark                          (size)  Mode  Cnt      Score   Units
+ * mCopyAddHashCodePersistentTrieSet    1000  avgt    3      5.081   us/op
+ * mCopyAddHashCodePersistentTrieSet  100000  avgt    3   2972.882   us/op
+ *
+ * With a hash code that is cached and updated incrementally:
+ * Benchmark                          (size)  Mode  Cnt      Score   Units
+ * mCopyAddHashCodePersistentTrieSet    1000  avgt    3      0.065   us/op
+ * mCopyAddHashCodePersistentTrieSet  100000  avgt    3      0.134   us/op
+ *
+ * Vavr, with 2 warmup iterations and 3 measurement iterations of 1 s:
+ * Benchmark                               (size)  Mode  Cnt        Score   Units
+ * mContainsVavrHashSet                      1000  avgt    3       32.525   us/op
+ * mContainsVavrHashSet                    100000  avgt    3    20826.661   us/op
+ * mCopyAddVavrHashSet                       1000  avgt    3        0.134   us/op
+ * mCopyAddVavrHashSet                     100000  avgt    3        0.226   us/op
+ * mCopyOfVavrHashSet                        1000  avgt    3      141.483   us/op
+ * mCopyOfVavrHashSet:·gc.alloc.rate.norm    1000  avgt    3   314155.309   B/op
+ * mCopyOfVavrHashSet                      100000  avgt    3    72164.284   us/op
+ * mCopyOfVavrHashSet:·gc.alloc.rate.norm  100000  avgt    3  54607620.279   B/op
+ * mCopyRemoveVavrHashSet                    1000  avgt    3        0.134   us/op
+ * mCopyRemoveVavrHashSet                  100000  avgt    3        0.187   us/op
+ * mIterateVavrHashSet                       1000  avgt    3       23.796   us/op
+ * mIterateVavrHashSet                     100000  avgt    3    12308.976   us/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class PersistentTrieSetBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Integer[] elements;
+    private Integer absentElement;
+    private final HashSet<Integer> hashSet = new HashSet<>();
+    private Set<Integer> jdkImmutableSet;
+    private PersistentTrieSet<Integer> persistentTrieSet;
+    private io.vavr.collection.HashSet<Integer> vavrHashSet;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(0);
+        elements = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = rnd.nextInt();
+            hashSet.add(elements[i]);
+        }
+        do {
+            absentElement = rnd.nextInt();
+        } while (hashSet.contains(absentElement));
+        jdkImmutableSet = Set.copyOf(hashSet);
+        persistentTrieSet = PersistentTrieSet.copyOf(hashSet);
+        persistentTrieSet.hashCode();
+        vavrHashSet = io.vavr.collection.HashSet.ofAll(hashSet);
+    }
+
+    @Benchmark
+    public int mContainsPersistentTrieSet() {
+        int count = 0;
+        for (Integer e : elements) {
+            if (persistentTrieSet.contains(e)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mContainsHashSet() {
+        int count = 0;
+        for (Integer e : elements) {
+            if (hashSet.contains(e)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mContainsJdkImmutableSet() {
+        int count = 0;
+        for (Integer e : elements) {
+            if (jdkImmutableSet.contains(e)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mContainsVavrHashSet() {
+        int count = 0;
+        for (Integer e : elements) {
+            if (vavrHashSet.contains(e)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mIteratePersistentTrieSet() {
+        int sum = 0;
+        for (Integer e : persistentTrieSet) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateHashSet() {
+        int sum = 0;
+        for (Integer e : hashSet) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateJdkImmutableSet() {
+        int sum = 0;
+        for (Integer e : jdkImmutableSet) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateVavrHashSet() {
+        int sum = 0;
+        for (Integer e : vavrHashSet) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public PersistentTrieSet<Integer> mCopyAddPersistentTrieSet() {
+        return persistentTrieSet.copyAdd(absentElement);
+    }
+
+    @Benchmark
+    public HashSet<Integer> mCopyAddHashSet() {
+        HashSet<Integer> copy = new HashSet<>(hashSet);
+        copy.add(absentElement);
+        return copy;
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashSet<Integer> mCopyAddVavrHashSet() {
+        return vavrHashSet.add(absentElement);
+    }
+
+    @Benchmark
+    public PersistentTrieSet<Integer> mCopyRemovePersistentTrieSet() {
+        return persistentTrieSet.copyRemove(elements[0]);
+    }
+
+    @Benchmark
+    public HashSet<Integer> mCopyRemoveHashSet() {
+        HashSet<Integer> copy = new HashSet<>(hashSet);
+        copy.remove(elements[0]);
+        return copy;
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashSet<Integer> mCopyRemoveVavrHashSet() {
+        return vavrHashSet.remove(elements[0]);
+    }
+
+    @Benchmark
+    public PersistentTrieSet<Integer> mCopyOfPersistentTrieSet() {
+        return PersistentTrieSet.copyOf(hashSet);
+    }
+
+    @Benchmark
+    public HashSet<Integer> mCopyOfHashSet() {
+        return new HashSet<>(hashSet);
+    }
+
+    @Benchmark
+    public Set<Integer> mCopyOfJdkImmutableSet() {
+        return Set.copyOf(hashSet);
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashSet<Integer> mCopyOfVavrHashSet() {
+        return io.vavr.collection.HashSet.ofAll(hashSet);
+    }
+
+    @Benchmark
+    public int mCopyAddHashCodePersistentTrieSet() {
+        return persistentTrieSet.copyAdd(absentElement).hashCode();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * @(#)PrimitiveDequeBenchmark.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.collection;
+
+import org.jhotdraw8.collection.IntArrayDeque;
+import org.jhotdraw8.collection.LongArrayDeque;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive array deques with {@link ArrayDeque}.
+ * <ul>
+ *     <li>{@code mQueue*}: adds {@code size} elements at the end,
+ *     and removes them from the front.</li>
+ *     <li>{@code mStack*}: adds {@code size} elements at the front,
+ *     and removes them from the front.</li>
+ *     <li>{@code mCreate*}: creates a new deque with {@code size}
+ *     elements. Run with {@code -prof gc}: the {@code gc.alloc.rate.norm}
+ *     is the memory that is allocated per deque, including the arrays
+ *     that are replaced while the deque grows.
+ *     {@link CollectionFootprint} measures the retained size of the
+ *     deques.</li>
+ * </ul>
+ * <pre>
+ * # JMH version: 1.35
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ * # Processor: Intel(R) Xeon(R) Processor, 1 core
+ *
+ * Benchmark                                 (size)  Mode  Cnt        Score   Units
+ * mCreateArrayDeque                           1000  avgt    3       10.568   us/op
+ * mCreateArrayDeque:·gc.alloc.rate.norm       1000  avgt    3    30955.530    B/op
+ * mCreateArrayDeque                         100000  avgt    3      967.547   us/op
+ * mCreateArrayDeque:·gc.alloc.rate.norm     100000  avgt    3  2906623.280    B/op
+ * mCreateIntArrayDeque                        1000  avgt    3        3.417   us/op
+ * mCreateIntArrayDeque:·gc.alloc.rate.norm    1000  avgt    3     8319.516    B/op
+ * mCreateIntArrayDeque                      100000  avgt    3      365.474   us/op
+ * mCreateIntArrayDeque:·gc.alloc.rate.norm  100000  avgt    3  1049758.133    B/op
+ * mQueueArrayDeque                            1000  avgt    3       13.418   us/op
+ * mQueueArrayDeque                          100000  avgt    3      970.335   us/op
+ * mQueueIntArrayDeque                         1000  avgt    3        2.231   us/op
+ * mQueueIntArrayDeque                       100000  avgt    3      274.395   us/op
+ * mQueueLongArrayDeque                        1000  avgt    3        4.027   us/op
+ * mQueueLongArrayDeque                      100000  avgt    3      296.495   us/op
+ * mStackArrayDeque                            1000  avgt    3       11.168   us/op
+ * mStackArrayDeque                          100000  avgt    3     1022.848   us/op
+ * mStackIntArrayDeque                         1000  avgt    3        3.628   us/op
+ * mStackIntArrayDeque                       100000  avgt    3      290.540   us/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class PrimitiveDequeBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[] ints;
+    private final ArrayDeque<Integer> arrayDeque = new ArrayDeque<>();
+    private final IntArrayDeque intArrayDeque = new IntArrayDeque();
+    private final LongArrayDeque longArrayDeque = new LongArrayDeque();
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(0);
+        ints = new int[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = rnd.nextInt();
+        }
+    }
+
+    @Benchmark
+    public int mQueueArrayDeque() {
+        final ArrayDeque<Integer> deque = arrayDeque;
+        for (int e : ints) {
+            deque.addLast(e);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mQueueIntArrayDeque() {
+        final IntArrayDeque deque = intArrayDeque;
+        for (int e : ints) {
+            deque.addLastAsInt(e);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirstAsInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long mQueueLongArrayDeque() {
+        final LongArrayDeque deque = longArrayDeque;
+        for (int e : ints) {
+            deque.addLastAsLong(e);
+        }
+        long sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirstAsLong();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mStackArrayDeque() {
+        final ArrayDeque<Integer> deque = arrayDeque;
+        for (int e : ints) {
+            deque.addFirst(e);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mStackIntArrayDeque() {
+        final IntArrayDeque deque = intArrayDeque;
+        for (int e : ints) {
+            deque.addFirstAsInt(e);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirstAsInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public ArrayDeque<Integer> mCreateArrayDeque() {
+        ArrayDeque<Integer> deque = new ArrayDeque<>();
+        for (int e : ints) {
+            deque.addLast(e);
+        }
+        return deque;
+    }
+
+    @Benchmark
+    public IntArrayDeque mCreateIntArrayDeque() {
+        IntArrayDeque deque = new IntArrayDeque();
+        for (int e : ints) {
+            deque.addLastAsInt(e);
+        }
+        return deque;
+    }
+}
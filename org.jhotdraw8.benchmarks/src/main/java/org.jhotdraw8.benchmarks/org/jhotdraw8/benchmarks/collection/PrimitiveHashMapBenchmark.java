@@ -0,0 +1,143 @@
+/*
+ * @(#)PrimitiveHashMapBenchmark.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.collection;
+
+import org.jhotdraw8.collection.IntIntHashMap;
+import org.jhotdraw8.collection.IntObjectHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the open-addressing primitive hash maps with {@link HashMap}.
+ * <p>
+ * Each operation processes {@code size} random keys.
+ * <ul>
+ *     <li>{@code mGet*}: looks up all keys in a filled map.</li>
+ *     <li>{@code mPut*}: clears a map and puts all keys into it.</li>
+ * </ul>
+ * <pre>
+ * # JMH version: 1.35
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ * # Processor: Intel(R) Xeon(R) Processor, 1 core
+ *
+ * Benchmark             (size)  Mode  Cnt     Score   Units
+ * mGetHashMap             1000  avgt    3     9.057   us/op
+ * mGetHashMap           100000  avgt    3  5318.556   us/op
+ * mGetIntIntHashMap       1000  avgt    3     2.675   us/op
+ * mGetIntIntHashMap     100000  avgt    3  1017.915   us/op
+ * mGetIntObjectHashMap    1000  avgt    3     2.364   us/op
+ * mGetIntObjectHashMap  100000  avgt    3  1057.451   us/op
+ * mGetObjectHashMap       1000  avgt    3     7.879   us/op
+ * mGetObjectHashMap     100000  avgt    3  4545.738   us/op
+ * mPutHashMap             1000  avgt    3    19.427   us/op
+ * mPutHashMap           100000  avgt    3  8998.441   us/op
+ * mPutIntIntHashMap       1000  avgt    3     5.087   us/op
+ * mPutIntIntHashMap     100000  avgt    3  2082.036   us/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class PrimitiveHashMapBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[] keys;
+    private final IntIntHashMap intIntHashMap = new IntIntHashMap();
+    private final IntObjectHashMap<Object> intObjectHashMap = new IntObjectHashMap<>();
+    private final HashMap<Integer, Integer> hashMap = new HashMap<>();
+    private final HashMap<Integer, Object> objectHashMap = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(0);
+        keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = rnd.nextInt();
+        }
+        for (int i = 0; i < size; i++) {
+            intIntHashMap.put(keys[i], i);
+            intObjectHashMap.put(keys[i], keys);
+            hashMap.put(keys[i], i);
+            objectHashMap.put(keys[i], keys);
+        }
+    }
+
+    @Benchmark
+    public int mGetIntIntHashMap() {
+        int sum = 0;
+        for (int key : keys) {
+            sum += intIntHashMap.getOrDefault(key, 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mGetHashMap() {
+        int sum = 0;
+        for (int key : keys) {
+            sum += hashMap.getOrDefault(key, 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mGetIntObjectHashMap() {
+        int count = 0;
+        for (int key : keys) {
+            if (intObjectHashMap.get(key) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mGetObjectHashMap() {
+        int count = 0;
+        for (int key : keys) {
+            if (objectHashMap.get(key) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mPutIntIntHashMap() {
+        final IntIntHashMap map = intIntHashMap;
+        map.clear();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        return map.size();
+    }
+
+    @Benchmark
+    public int mPutHashMap() {
+        final HashMap<Integer, Integer> map = hashMap;
+        map.clear();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        return map.size();
+    }
+}
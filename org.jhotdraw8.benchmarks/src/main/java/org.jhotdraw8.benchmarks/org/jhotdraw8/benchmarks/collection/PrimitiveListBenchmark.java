@@ -0,0 +1,253 @@
+/*
+ * @(#)PrimitiveListBenchmark.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.collection;
+
+import org.jhotdraw8.collection.DoubleArrayList;
+import org.jhotdraw8.collection.IntArrayList;
+import org.jhotdraw8.collection.LongArrayList;
+import org.jhotdraw8.collection.OffHeapDoubleArrayList;
+import org.jhotdraw8.collection.OffHeapIntArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive array lists with {@link ArrayList}.
+ * <ul>
+ *     <li>{@code mAdd*}: creates a new list and adds {@code size}
+ *     elements one by one. Run with {@code -prof gc}: the
+ *     {@code gc.alloc.rate.norm} is the memory that is allocated per
+ *     list, including the arrays that are replaced while the list grows.
+ *     {@link CollectionFootprint} measures the retained size of the
+ *     on-heap lists.</li>
+ *     <li>{@code mAddAll*}: clears a list and adds all elements in
+ *     bulk.</li>
+ *     <li>{@code mGet*}: gets all elements by index.</li>
+ *     <li>{@code mIterate*}: iterates over all elements.</li>
+ * </ul>
+ * <pre>
+ * # JMH version: 1.35
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ * # Processor: Intel(R) Xeon(R) Processor, 1 core
+ *
+ * Benchmark                                       (size)  Mode  Cnt        Score   Units
+ * mAddAllIntArrayList                               1000  avgt    3        2.755   us/op
+ * mAddAllIntArrayList                             100000  avgt    3      180.136   us/op
+ * mAddAllOffHeapIntArrayList                        1000  avgt    3        0.098   us/op
+ * mAddAllOffHeapIntArrayList                      100000  avgt    3       15.533   us/op
+ * mAddArrayList                                     1000  avgt    3        8.080   us/op
+ * mAddArrayList:·gc.alloc.rate.norm                 1000  avgt    3    31027.535    B/op
+ * mAddArrayList                                   100000  avgt    3      929.055   us/op
+ * mAddArrayList:·gc.alloc.rate.norm               100000  avgt    3  2883550.522    B/op
+ * mAddDoubleArrayList                               1000  avgt    3        4.948   us/op
+ * mAddDoubleArrayList:·gc.alloc.rate.norm           1000  avgt    3    16566.852    B/op
+ * mAddDoubleArrayList                             100000  avgt    3      551.231   us/op
+ * mAddDoubleArrayList:·gc.alloc.rate.norm         100000  avgt    3  2099368.382    B/op
+ * mAddIntArrayList                                  1000  avgt    3        2.801   us/op
+ * mAddIntArrayList:·gc.alloc.rate.norm              1000  avgt    3     8375.565    B/op
+ * mAddIntArrayList                                100000  avgt    3      270.759   us/op
+ * mAddIntArrayList:·gc.alloc.rate.norm            100000  avgt    3  1049801.942    B/op
+ * mAddLongArrayList                                 1000  avgt    3        4.516   us/op
+ * mAddLongArrayList:·gc.alloc.rate.norm             1000  avgt    3    16566.785    B/op
+ * mAddLongArrayList                               100000  avgt    3      503.090   us/op
+ * mAddLongArrayList:·gc.alloc.rate.norm           100000  avgt    3  2099362.673    B/op
+ * mAddOffHeapDoubleArrayList                        1000  avgt    3      151.594   us/op
+ * mAddOffHeapDoubleArrayList:·gc.alloc.rate.norm    1000  avgt    3      213.199    B/op
+ * mAddOffHeapDoubleArrayList                      100000  avgt    3      900.952   us/op
+ * mAddOffHeapDoubleArrayList:·gc.alloc.rate.norm  100000  avgt    3      391.756    B/op
+ * mAddOffHeapIntArrayList                           1000  avgt    3       93.117   us/op
+ * mAddOffHeapIntArrayList:·gc.alloc.rate.norm       1000  avgt    3      206.536    B/op
+ * mAddOffHeapIntArrayList                         100000  avgt    3      576.348   us/op
+ * mAddOffHeapIntArrayList:·gc.alloc.rate.norm     100000  avgt    3      369.699    B/op
+ * mGetArrayList                                     1000  avgt    3        0.848   us/op
+ * mGetArrayList                                   100000  avgt    3      121.456   us/op
+ * mGetIntArrayList                                  1000  avgt    3        0.405   us/op
+ * mGetIntArrayList                                100000  avgt    3       43.929   us/op
+ * mGetOffHeapIntArrayList                           1000  avgt    3        2.600   us/op
+ * mGetOffHeapIntArrayList                         100000  avgt    3      317.129   us/op
+ * mIterateArrayList                                 1000  avgt    3        0.798   us/op
+ * mIterateArrayList                               100000  avgt    3       83.567   us/op
+ * mIterateIntArrayList                              1000  avgt    3        0.405   us/op
+ * mIterateIntArrayList                            100000  avgt    3       41.339   us/op
+ * mIterateOffHeapIntArrayList                       1000  avgt    3        2.993   us/op
+ * mIterateOffHeapIntArrayList                     100000  avgt    3      287.436   us/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class PrimitiveListBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[] ints;
+    private ArrayList<Integer> arrayList;
+    private IntArrayList intArrayList;
+    private OffHeapIntArrayList offHeapIntArrayList;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(0);
+        ints = new int[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = rnd.nextInt();
+        }
+        arrayList = new ArrayList<>();
+        intArrayList = new IntArrayList();
+        offHeapIntArrayList = new OffHeapIntArrayList();
+        for (int e : ints) {
+            arrayList.add(e);
+            intArrayList.addAsInt(e);
+            offHeapIntArrayList.addAsInt(e);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        offHeapIntArrayList.close();
+    }
+
+    @Benchmark
+    public int mAddArrayList() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int e : ints) {
+            list.add(e);
+        }
+        return list.size();
+    }
+
+    @Benchmark
+    public int mAddIntArrayList() {
+        IntArrayList list = new IntArrayList();
+        for (int e : ints) {
+            list.addAsInt(e);
+        }
+        return list.size();
+    }
+
+    @Benchmark
+    public int mAddLongArrayList() {
+        LongArrayList list = new LongArrayList();
+        for (int e : ints) {
+            list.addAsLong(e);
+        }
+        return list.size();
+    }
+
+    @Benchmark
+    public int mAddDoubleArrayList() {
+        DoubleArrayList list = new DoubleArrayList();
+        for (int e : ints) {
+            list.add(e);
+        }
+        return list.size();
+    }
+
+    @Benchmark
+    public int mAddOffHeapIntArrayList() {
+        try (OffHeapIntArrayList list = new OffHeapIntArrayList()) {
+            for (int e : ints) {
+                list.addAsInt(e);
+            }
+            return list.size();
+        }
+    }
+
+    @Benchmark
+    public int mAddOffHeapDoubleArrayList() {
+        try (OffHeapDoubleArrayList list = new OffHeapDoubleArrayList()) {
+            for (int e : ints) {
+                list.addAsDouble(e);
+            }
+            return list.size();
+        }
+    }
+
+    @Benchmark
+    public int mAddAllIntArrayList() {
+        intArrayList.clear();
+        intArrayList.addLastAllAsInt(ints);
+        return intArrayList.size();
+    }
+
+    @Benchmark
+    public int mAddAllOffHeapIntArrayList() {
+        offHeapIntArrayList.clear();
+        offHeapIntArrayList.addAllAsInt(IntBuffer.wrap(ints));
+        return offHeapIntArrayList.size();
+    }
+
+    @Benchmark
+    public int mGetArrayList() {
+        int sum = 0;
+        for (int i = 0, n = arrayList.size(); i < n; i++) {
+            sum += arrayList.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mGetIntArrayList() {
+        int sum = 0;
+        for (int i = 0, n = intArrayList.size(); i < n; i++) {
+            sum += intArrayList.getAsInt(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mGetOffHeapIntArrayList() {
+        int sum = 0;
+        for (int i = 0, n = offHeapIntArrayList.size(); i < n; i++) {
+            sum += offHeapIntArrayList.getAsInt(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateArrayList() {
+        int sum = 0;
+        for (Integer e : arrayList) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateIntArrayList() {
+        int sum = 0;
+        for (PrimitiveIterator.OfInt it = intArrayList.iterator(); it.hasNext(); ) {
+            sum += it.nextInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateOffHeapIntArrayList() {
+        int sum = 0;
+        for (PrimitiveIterator.OfInt it = offHeapIntArrayList.iterator(); it.hasNext(); ) {
+            sum += it.nextInt();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * @(#)SharedKeysMapBenchmark.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.collection;
+
+import org.jhotdraw8.collection.SharedKeysMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link SharedKeysMap} with {@link HashMap} for a set of 100
+ * shared keys, of which a map typically uses only a few.
+ * <ul>
+ *     <li>{@code mCreate*}: creates a map with 8 values. Run with
+ *     {@code -prof gc}: the {@code gc.alloc.rate.norm} is the memory
+ *     that is allocated per map, including temporary objects.
+ *     {@link CollectionFootprint} measures the retained size of the
+ *     maps.</li>
+ *     <li>{@code mGet*}: looks up all 100 keys.</li>
+ *     <li>{@code mIterate*}: iterates over all entries.</li>
+ * </ul>
+ * <pre>
+ * # JMH version: 1.35
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ * # Processor: Intel(R) Xeon(R) Processor, 1 core
+ *
+ * Benchmark                                 Mode  Cnt        Score   Units
+ * mCreateHashMap                            avgt    3      108.147   ns/op
+ * mCreateHashMap:·gc.alloc.rate.norm        avgt    3      384.344    B/op
+ * mCreateSharedKeysMap                      avgt    3      130.323   ns/op
+ * mCreateSharedKeysMap:·gc.alloc.rate.norm  avgt    3      456.406    B/op
+ * mGetHashMap                               avgt    3      257.141   ns/op
+ * mGetSharedKeysMap                         avgt    3      539.061   ns/op
+ * mIterateHashMap                           avgt    3       34.431   ns/op
+ * mIterateSharedKeysMap                     avgt    3      931.007   ns/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class SharedKeysMapBenchmark {
+    private static final int NUM_KEYS = 100;
+    private final String[] keys = new String[NUM_KEYS];
+    private final Map<String, Integer> keyMap = new HashMap<>();
+    private SharedKeysMap<String, Object> sharedKeysMap;
+    private HashMap<String, Object> hashMap;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keys[i] = "key" + i;
+            keyMap.put(keys[i], i);
+        }
+        sharedKeysMap = mCreateSharedKeysMap();
+        hashMap = mCreateHashMap();
+    }
+
+    @Benchmark
+    public SharedKeysMap<String, Object> mCreateSharedKeysMap() {
+        SharedKeysMap<String, Object> map = new SharedKeysMap<>(keyMap);
+        for (int i = 0; i < 8; i++) {
+            map.put(keys[i * 3], keys);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public HashMap<String, Object> mCreateHashMap() {
+        HashMap<String, Object> map = new HashMap<>();
+        for (int i = 0; i < 8; i++) {
+            map.put(keys[i * 3], keys);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public int mGetSharedKeysMap() {
+        int count = 0;
+        for (String key : keys) {
+            if (sharedKeysMap.get(key) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mGetHashMap() {
+        int count = 0;
+        for (String key : keys) {
+            if (hashMap.get(key) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mIterateSharedKeysMap() {
+        int count = 0;
+        for (Map.Entry<String, Object> entry : sharedKeysMap.entrySet()) {
+            if (entry.getValue() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mIterateHashMap() {
+        int count = 0;
+        for (Map.Entry<String, Object> entry : hashMap.entrySet()) {
+            if (entry.getValue() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
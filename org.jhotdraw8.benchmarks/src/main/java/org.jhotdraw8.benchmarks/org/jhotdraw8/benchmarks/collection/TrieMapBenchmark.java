@@ -0,0 +1,175 @@
+/*
+ * @(#)TrieMapBenchmark.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.collection;
+
+import org.jhotdraw8.collection.PersistentTrieMap;
+import org.jhotdraw8.collection.TrieMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the mutable {@link TrieMap} with {@link HashMap}.
+ * <ul>
+ *     <li>{@code mGet*}: looks up all keys.</li>
+ *     <li>{@code mIterate*}: iterates over all entries.</li>
+ *     <li>{@code mPut*}: creates a new map and puts all keys into it.
+ *     Run with {@code -prof gc}: the {@code gc.alloc.rate.norm} is the
+ *     memory that is allocated per map, including the arrays and nodes
+ *     that are replaced while the map grows.
+ *     {@link CollectionFootprint} measures the retained size of the
+ *     maps.</li>
+ *     <li>{@code mPutRemove*}: puts a key that is not in the map, and
+ *     removes it again.</li>
+ *     <li>{@code mToPersistentTrieMap}: creates a mutable copy of a
+ *     persistent map, puts a key, and converts it back.</li>
+ * </ul>
+ * <pre>
+ * # JMH version: 1.35
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ * # Processor: Intel(R) Xeon(R) Processor, 1 core
+ *
+ * Benchmark                        (size)  Mode  Cnt        Score   Units
+ * mGetHashMap                        1000  avgt    3        5.244   us/op
+ * mGetHashMap                      100000  avgt    3     2361.732   us/op
+ * mGetTrieMap                        1000  avgt    3       16.733   us/op
+ * mGetTrieMap                      100000  avgt    3    15597.275   us/op
+ * mIterateHashMap                    1000  avgt    3        5.197   us/op
+ * mIterateHashMap                  100000  avgt    3     3430.044   us/op
+ * mIterateTrieMap                    1000  avgt    3       10.220   us/op
+ * mIterateTrieMap                  100000  avgt    3     1608.079   us/op
+ * mPutHashMap                        1000  avgt    3       25.938   us/op
+ * mPutHashMap:·gc.alloc.rate.norm    1000  avgt    3    62503.761    B/op
+ * mPutHashMap                      100000  avgt    3    18443.707   us/op
+ * mPutHashMap:·gc.alloc.rate.norm  100000  avgt    3  6902274.965    B/op
+ * mPutRemoveHashMap                  1000  avgt    3        0.015   us/op
+ * mPutRemoveHashMap                100000  avgt    3        0.019   us/op
+ * mPutRemoveTrieMap                  1000  avgt    3        0.176   us/op
+ * mPutRemoveTrieMap                100000  avgt    3        0.191   us/op
+ * mPutTrieMap                        1000  avgt    3       90.055   us/op
+ * mPutTrieMap:·gc.alloc.rate.norm    1000  avgt    3   190028.196    B/op
+ * mPutTrieMap                      100000  avgt    3    45458.908   us/op
+ * mPutTrieMap:·gc.alloc.rate.norm  100000  avgt    3  18892522.718    B/op
+ * mToPersistentTrieMap               1000  avgt    3        0.106   us/op
+ * mToPersistentTrieMap             100000  avgt    3        0.206   us/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class TrieMapBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Integer[] keys;
+    private Integer absentKey;
+    private final HashMap<Integer, Integer> hashMap = new HashMap<>();
+    private final TrieMap<Integer, Integer> trieMap = new TrieMap<>();
+    private PersistentTrieMap<Integer, Integer> persistentTrieMap;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(0);
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = rnd.nextInt();
+            hashMap.put(keys[i], i);
+            trieMap.put(keys[i], i);
+        }
+        do {
+            absentKey = rnd.nextInt();
+        } while (hashMap.containsKey(absentKey));
+        persistentTrieMap = trieMap.toPersistent();
+    }
+
+    @Benchmark
+    public int mGetTrieMap() {
+        int sum = 0;
+        for (Integer key : keys) {
+            sum += trieMap.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mGetHashMap() {
+        int sum = 0;
+        for (Integer key : keys) {
+            sum += hashMap.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateTrieMap() {
+        int sum = 0;
+        for (Map.Entry<Integer, Integer> entry : trieMap.entrySet()) {
+            sum += entry.getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mIterateHashMap() {
+        int sum = 0;
+        for (Map.Entry<Integer, Integer> entry : hashMap.entrySet()) {
+            sum += entry.getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public TrieMap<Integer, Integer> mPutTrieMap() {
+        TrieMap<Integer, Integer> map = new TrieMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> mPutHashMap() {
+        HashMap<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Integer mPutRemoveTrieMap() {
+        trieMap.put(absentKey, 0);
+        return trieMap.remove(absentKey);
+    }
+
+    @Benchmark
+    public Integer mPutRemoveHashMap() {
+        hashMap.put(absentKey, 0);
+        return hashMap.remove(absentKey);
+    }
+
+    @Benchmark
+    public PersistentTrieMap<Integer, Integer> mToPersistentTrieMap() {
+        TrieMap<Integer, Integer> map = new TrieMap<>(persistentTrieMap);
+        map.put(absentKey, 0);
+        return map.toPersistent();
+    }
+}
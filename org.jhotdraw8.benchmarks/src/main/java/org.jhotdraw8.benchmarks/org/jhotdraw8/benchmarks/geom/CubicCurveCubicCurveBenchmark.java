@@ -0,0 +1,106 @@
+/*
+ * @(#)CubicCurveCubicCurveBenchmark.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.geom;
+
+import org.jhotdraw8.geom.Geom;
+import org.jhotdraw8.geom.intersect.CubicCurveCubicCurveIntersector;
+import org.jhotdraw8.geom.intersect.IntersectionBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link CubicCurveCubicCurveIntersector} strategies.
+ * <p>
+ * Each operation intersects 256 pairs of cubic curves.
+ * <ul>
+ *     <li>{@code mRandom}: the control points are random.</li>
+ *     <li>{@code mNearTangent}: an arch and an upside down arch that
+ *     touches it, moved apart by a random distance in [-1e-3, 1e-3].</li>
+ * </ul>
+ * <pre>
+ * # JMH version: 1.35
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ * # Processor: Intel(R) Xeon(R) Processor, 1 core
+ *
+ * Benchmark      (engine)          Mode  Cnt         Score   Units
+ * mRandom        BEZOUT            avgt    5  11384878.611   ns/op
+ * mRandom        BEZIER_CLIPPING   avgt    5   1665430.190   ns/op
+ * mNearTangent   BEZOUT            avgt    5   8187365.360   ns/op
+ * mNearTangent   BEZIER_CLIPPING   avgt    5   2474842.482   ns/op
+ * </pre>
+ * The Bézout strategy finds no intersections in the near tangent case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class CubicCurveCubicCurveBenchmark {
+    private static final int COUNT = 256;
+    private final double[] random = new double[COUNT * 16];
+    private final double[] nearTangent = new double[COUNT * 16];
+    private final IntersectionBuffer buffer = new IntersectionBuffer();
+
+    @Param({"BEZOUT", "BEZIER_CLIPPING"})
+    public String engine;
+    private CubicCurveCubicCurveIntersector intersector;
+
+    @Setup
+    public void setUp() {
+        intersector = engine.equals("BEZOUT")
+                ? CubicCurveCubicCurveIntersector.BEZOUT
+                : CubicCurveCubicCurveIntersector.BEZIER_CLIPPING;
+        Random rnd = new Random(0);
+        for (int i = 0; i < random.length; i++) {
+            random[i] = rnd.nextDouble() * 100;
+        }
+        for (int i = 0; i < nearTangent.length; i += 16) {
+            double d = (rnd.nextDouble() * 2 - 1) * 1e-3;
+            double[] c = {0, 0, 100 / 3.0, 50, 200 / 3.0, 50, 100, 0,
+                    0, 75 - d, 100 / 3.0, 25 - d, 200 / 3.0, 25 - d, 100, 75 - d};
+            System.arraycopy(c, 0, nearTangent, i, 16);
+        }
+    }
+
+    @Benchmark
+    public void mRandom(Blackhole bh) {
+        intersect(random, bh);
+    }
+
+    @Benchmark
+    public void mNearTangent(Blackhole bh) {
+        intersect(nearTangent, bh);
+    }
+
+    private void intersect(double[] c, Blackhole bh) {
+        final IntersectionBuffer b = buffer;
+        for (int i = 0; i < c.length; i += 16) {
+            b.clear();
+            try {
+                intersector.intersect(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5], c[i + 6], c[i + 7],
+                        c[i + 8], c[i + 9], c[i + 10], c[i + 11], c[i + 12], c[i + 13], c[i + 14], c[i + 15],
+                        Geom.REAL_THRESHOLD, b);
+            } catch (AssertionError e) {
+                // The Bézout strategy asserts that it finds the intersection
+                // points from both curves.
+            }
+            bh.consume(b.size());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * @(#)IntersectionBenchmark.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.benchmarks.geom;
+
+import org.jhotdraw8.geom.Geom;
+import org.jhotdraw8.geom.intersect.IntersectCircleLine;
+import org.jhotdraw8.geom.intersect.IntersectCubicCurveLine;
+import org.jhotdraw8.geom.intersect.IntersectLineLine;
+import org.jhotdraw8.geom.intersect.IntersectLinePathIterator;
+import org.jhotdraw8.geom.intersect.IntersectionBuffer;
+import org.jhotdraw8.geom.intersect.IntersectionResultEx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.geom.Ellipse2D;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the object variants of the {@code Intersect*} methods with the
+ * variants that write into an {@link IntersectionBuffer}.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rates.
+ * Each operation intersects 1024 random lines. The path iterator
+ * benchmarks allocate the path iterator of the ellipse in both variants.
+ * <pre>
+ * # JMH version: 1.35
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ * # Processor: Intel(R) Xeon(R) Processor, 1 core
+ *
+ * Benchmark                                      Mode  Cnt       Score   Units
+ * mLineLineObject                                avgt    3  105810.678   ns/op
+ * mLineLineObject:gc.alloc.rate.norm             avgt    3  549349.776    B/op
+ * mLineLineBuffer                                avgt    3    9936.939   ns/op
+ * mLineLineBuffer:gc.alloc.rate.norm             avgt    3       0.004    B/op
+ * mLineCircleObject                              avgt    3  129996.047   ns/op
+ * mLineCircleObject:gc.alloc.rate.norm           avgt    3  428076.347    B/op
+ * mLineCircleBuffer                              avgt    3   39153.128   ns/op
+ * mLineCircleBuffer:gc.alloc.rate.norm           avgt    3       0.018    B/op
+ * mLineCubicCurveLegacy                          avgt    3  271948.047   ns/op
+ * mLineCubicCurveLegacy:gc.alloc.rate.norm       avgt    3  508990.290    B/op
+ * mLineCubicCurveBuffer                          avgt    3  140000.264   ns/op
+ * mLineCubicCurveBuffer:gc.alloc.rate.norm       avgt    3       0.061    B/op
+ * mLinePathIteratorObject                        avgt    3  952127.616   ns/op
+ * mLinePathIteratorBuffer                        avgt    3  708009.131   ns/op
+ * mLinePathIteratorBuffer:gc.alloc.rate.norm     avgt    3   57400.395    B/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class IntersectionBenchmark {
+    private static final int COUNT = 1024;
+    private final double[] coords = new double[COUNT * 12];
+    private final Ellipse2D.Double ellipse = new Ellipse2D.Double(25, 25, 50, 50);
+    private final IntersectionBuffer buffer = new IntersectionBuffer();
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(0);
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = rnd.nextDouble() * 100;
+        }
+    }
+
+    @Benchmark
+    public void mLineLineObject(Blackhole bh) {
+        final double[] c = coords;
+        for (int i = 0; i < c.length; i += 12) {
+            IntersectionResultEx r = IntersectLineLine.intersectLineLineEx(
+                    c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5], c[i + 6], c[i + 7],
+                    Geom.REAL_THRESHOLD);
+            bh.consume(r.isEmpty() ? 0.0 : r.getFirst().getArgumentA());
+        }
+    }
+
+    @Benchmark
+    public void mLineLineBuffer(Blackhole bh) {
+        final double[] c = coords;
+        final IntersectionBuffer b = buffer;
+        for (int i = 0; i < c.length; i += 12) {
+            b.clear();
+            IntersectLineLine.intersectLineLineEx(
+                    c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5], c[i + 6], c[i + 7],
+                    Geom.REAL_THRESHOLD, b);
+            bh.consume(b.isEmpty() ? 0.0 : b.getArgumentA(0));
+        }
+    }
+
+    @Benchmark
+    public void mLineCircleObject(Blackhole bh) {
+        final double[] c = coords;
+        for (int i = 0; i < c.length; i += 12) {
+            IntersectionResultEx r = IntersectCircleLine.intersectLineCircleEx(
+                    c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5], c[i + 6] / 2,
+                    Geom.REAL_THRESHOLD);
+            bh.consume(r.isEmpty() ? 0.0 : r.getFirst().getArgumentA());
+        }
+    }
+
+    @Benchmark
+    public void mLineCircleBuffer(Blackhole bh) {
+        final double[] c = coords;
+        final IntersectionBuffer b = buffer;
+        for (int i = 0; i < c.length; i += 12) {
+            b.clear();
+            IntersectCircleLine.intersectLineCircleEx(
+                    c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5], c[i + 6] / 2,
+                    Geom.REAL_THRESHOLD, b);
+            bh.consume(b.isEmpty() ? 0.0 : b.getArgumentA(0));
+        }
+    }
+
+    /**
+     * The object variant before the buffer variant was introduced:
+     * allocates {@code Point2D}s, a {@code Polynomial} and an
+     * {@code IntersectionResult}.
+     */
+    @Benchmark
+    public void mLineCubicCurveLegacy(Blackhole bh) {
+        final double[] c = coords;
+        for (int i = 0; i < c.length; i += 12) {
+            bh.consume(IntersectCubicCurveLine.intersectCubicCurveLine(
+                    c[i + 4], c[i + 5], c[i + 6], c[i + 7], c[i + 8], c[i + 9], c[i + 10], c[i + 11],
+                    c[i], c[i + 1], c[i + 2], c[i + 3],
+                    Geom.REAL_THRESHOLD).size());
+        }
+    }
+
+    @Benchmark
+    public void mLineCubicCurveBuffer(Blackhole bh) {
+        final double[] c = coords;
+        final IntersectionBuffer b = buffer;
+        for (int i = 0; i < c.length; i += 12) {
+            b.clear();
+            IntersectCubicCurveLine.intersectLineCubicCurveEx(
+                    c[i], c[i + 1], c[i + 2], c[i + 3],
+                    c[i + 4], c[i + 5], c[i + 6], c[i + 7], c[i + 8], c[i + 9], c[i + 10], c[i + 11],
+                    Geom.REAL_THRESHOLD, b);
+            bh.consume(b.size());
+        }
+    }
+
+    @Benchmark
+    public void mLinePathIteratorObject(Blackhole bh) {
+        final double[] c = coords;
+        for (int i = 0; i < c.length; i += 12) {
+            IntersectionResultEx r = IntersectLinePathIterator.intersectLinePathIteratorEx(
+                    c[i], c[i + 1], c[i + 2], c[i + 3], ellipse.getPathIterator(null));
+            bh.consume(r.size());
+        }
+    }
+
+    @Benchmark
+    public void mLinePathIteratorBuffer(Blackhole bh) {
+        final double[] c = coords;
+        final IntersectionBuffer b = buffer;
+        for (int i = 0; i < c.length; i += 12) {
+            b.clear();
+            IntersectLinePathIterator.intersectLinePathIteratorEx(
+                    c[i], c[i + 1], c[i + 2], c[i + 3], ellipse.getPathIterator(null), b);
+            bh.consume(b.size());
+        }
+    }
+}
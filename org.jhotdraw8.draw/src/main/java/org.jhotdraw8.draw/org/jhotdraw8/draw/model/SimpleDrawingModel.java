@@ -14,6 +14,7 @@ import org.jhotdraw8.collection.Enumerator;
 import org.jhotdraw8.collection.Key;
 import org.jhotdraw8.collection.MapAccessor;
 import org.jhotdraw8.collection.NonNullMapAccessor;
+import org.jhotdraw8.collection.ReadOnlySet;
 import org.jhotdraw8.css.CssPoint2D;
 import org.jhotdraw8.css.CssSize;
 import org.jhotdraw8.draw.figure.Drawing;
@@ -23,8 +24,7 @@ import org.jhotdraw8.draw.figure.TransformCachingFigure;
 import org.jhotdraw8.draw.render.RenderContext;
 import org.jhotdraw8.draw.render.SimpleRenderContext;
 import org.jhotdraw8.event.Listener;
-import org.jhotdraw8.graph.SimpleMutableDirectedGraph;
-import org.jhotdraw8.graph.algo.TopologicalSortAlgo;
+import org.jhotdraw8.graph.IncrementalTopologicalOrder;
 import org.jhotdraw8.tree.TreeModelEvent;
 
 import java.util.AbstractMap;
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -110,6 +111,16 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
      * Performance: Every figure has a unique reference. IdentityHashMap is faster than HashMap in this case.
      */
     private final @NonNull Map<Figure, DirtyMask> dirties = new IdentityHashMap<>();
+    /**
+     * The layout dependencies between figures. Holds an arrow from each
+     * layout subject to each of its layout observers.
+     * <p>
+     * The dependencies are updated incrementally, when figures are
+     * validated, so that {@link #validate(RenderContext)} only needs to
+     * sort the figures that must be laid out, instead of building and
+     * sorting a new graph.
+     */
+    private final @NonNull IncrementalTopologicalOrder<Figure> layoutDependencies = new IncrementalTopologicalOrder<>(true);
     private final Listener<FigurePropertyChangeEvent> propertyChangeHandler = this::onPropertyChanged;
     private final @NonNull ObjectProperty<Drawing> root = new SimpleObjectProperty<Drawing>(this, ROOT_PROPERTY) {
         @Override
@@ -388,10 +399,14 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
                 if (dm.intersects(dmLayoutSubject)) {
                     Figure f = entry.getKey();
                     f.layoutSubjectChanged();
+                    for (Figure subject : f.getLayoutSubjects()) {
+                        layoutDependencies.setNext(subject, subject.getReadOnlyLayoutObservers());
+                    }
                 }
                 if (dm.intersects(dmLayoutObserversAddRemove)) {
                     Figure f = entry.getKey();
                     f.layoutObserverChanged();
+                    layoutDependencies.setNext(f, f.getReadOnlyLayoutObservers());
                 }
             }
 
@@ -480,37 +495,40 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
                     }
                 }
             }
-            // build a graph which includes all figures that must be laid out and all their observers
-            // transitively
+            // collect all figures that must be laid out and all their observers
+            // transitively, and update their layout dependencies.
+            // Every transitive observer depends on a changed figure, and must
+            // be laid out, so this walk visits no more figures than are laid
+            // out below. The suffix of the topological order that starts at
+            // the first dirty figure is no alternative: it also contains all
+            // unrelated figures that happen to come later in the order.
             visited.clear();
-            SimpleMutableDirectedGraph<Figure, Figure> graphBuilder = new SimpleMutableDirectedGraph<>();
+            List<Figure> layoutOrder = new ArrayList<>(todo.size());
             ArrayDeque<Figure> queue = new ArrayDeque<>(todo);
             while (!queue.isEmpty()) {
                 Figure f = queue.removeFirst();
                 if (visited.add(f)) {
-                    graphBuilder.addVertex(f);
-                    for (Figure obs : f.getReadOnlyLayoutObservers()) {
-                        graphBuilder.addVertex(obs);
-                        graphBuilder.addArrow(f, obs, f);
+                    layoutOrder.add(f);
+                    ReadOnlySet<Figure> observers = f.getReadOnlyLayoutObservers();
+                    layoutDependencies.setNext(f, observers);
+                    for (Figure obs : observers) {
                         if (!visited.contains(obs)) {
                             queue.add(obs);
                         }
                     }
                 }
             }
-            visited.clear();
-            if (graphBuilder.getVertexCount() > 0) {
-                for (Figure f : new TopologicalSortAlgo().sortTopologically(graphBuilder)) {
-                    if (visited.add(f)) {
-                        if (!f.getLayoutSubjects().isEmpty()) {
-                            // The :leftToRight pseudo class may have changed,
-                            // if the layout subject of the label has changed its layout.
-                            f.stylesheetChanged(ctx);
-                        }
-                        f.layoutChanged(ctx);
-                        markDirty(f, DirtyBits.NODE);
-                    }
+            // the maintained topological order of all figures is also a
+            // topological order of the figures that must be laid out
+            layoutDependencies.sort(layoutOrder);
+            for (Figure f : layoutOrder) {
+                if (!f.getLayoutSubjects().isEmpty()) {
+                    // The :leftToRight pseudo class may have changed,
+                    // if the layout subject of the label has changed its layout.
+                    f.stylesheetChanged(ctx);
                 }
+                f.layoutChanged(ctx);
+                markDirty(f, DirtyBits.NODE);
             }
 
             // For all figures with dirty flag Node
@@ -618,6 +636,7 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
                     figure.removedFromDrawing((Drawing) event.getRoot());
                 }
                 removeDirty(figure);
+                layoutDependencies.removeVertex(figure);
                 break;
             case NODE_REMOVED_FROM_PARENT:
                 markDirty(event.getParent(), DirtyBits.LAYOUT_OBSERVERS, DirtyBits.NODE);
@@ -629,6 +648,7 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
                 break;
             case ROOT_CHANGED:
                 dirties.clear();
+                layoutDependencies.clear();
                 valid = true;
                 break;
             case SUBTREE_NODES_CHANGED:
@@ -12,6 +12,7 @@ import org.jhotdraw8.annotation.NonNull;
 import org.jhotdraw8.annotation.Nullable;
 import org.jhotdraw8.collection.ImmutableList;
 import org.jhotdraw8.collection.ImmutableLists;
+import org.jhotdraw8.collection.PersistentTrieList;
 import org.jhotdraw8.css.CssPoint2D;
 import org.jhotdraw8.draw.DrawingEditor;
 import org.jhotdraw8.draw.DrawingView;
@@ -21,14 +22,13 @@ import org.jhotdraw8.draw.figure.LayerFigure;
 import org.jhotdraw8.draw.handle.HandleType;
 import org.jhotdraw8.draw.key.BezierNodeListStyleableKey;
 import org.jhotdraw8.draw.model.DrawingModel;
-import org.jhotdraw8.geom.BezierFit;
 import org.jhotdraw8.geom.BezierNode;
 import org.jhotdraw8.geom.BezierNodePathBuilder;
 import org.jhotdraw8.geom.FXTransforms;
+import org.jhotdraw8.geom.IncrementalBezierFit;
 import org.jhotdraw8.util.Resources;
 
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -50,6 +50,24 @@ public class BezierCreationTool extends AbstractCreationTool<Figure> {
      * The bezier nodes being created.
      */
     private @Nullable ArrayList<BezierNode> points;
+    /**
+     * Fits a curve to the points while the user drags the mouse.
+     */
+    private @Nullable IncrementalBezierFit fit;
+    /**
+     * The points before the current drag, followed by the nodes of the
+     * fitted curve that do not change anymore.
+     */
+    private @Nullable PersistentTrieList<BezierNode> fittedPoints;
+    /**
+     * The number of finalized segments of {@link #fit}, whose start nodes
+     * are in {@link #fittedPoints}.
+     */
+    private int fittedSegments;
+    /**
+     * The last point that the user dragged the mouse to.
+     */
+    private @Nullable Point2D dragEnd;
     /**
      * The rubber band shows where the next point will be added.
      */
@@ -114,12 +132,15 @@ public class BezierCreationTool extends AbstractCreationTool<Figure> {
             Point2D c2 = createdFigure.worldToParent(dv.viewToWorld(x2, y2));
             DrawingModel dm = dv.getModel();
             if (dragStartIndex < 0) {
-                points.add(new BezierNode(c2));
-                dragStartIndex = points.size() - 1;
-            } else {
-                points.add(new BezierNode(c2));
+                dragStartIndex = points.size();
+                fit = new IncrementalBezierFit(5 / dv.getZoomFactor());
+                fittedPoints = PersistentTrieList.copyOf(points);
+                fittedSegments = 0;
             }
-            dm.set(createdFigure, key, ImmutableLists.copyOf(points));
+            assert fit != null;
+            fit.addPoint(c2.getX(), c2.getY());
+            dragEnd = c2;
+            dm.set(createdFigure, key, getFittedPoints(c2));
         }
         event.consume();
     }
@@ -188,34 +209,56 @@ public class BezierCreationTool extends AbstractCreationTool<Figure> {
         if (createdFigure == null || points == null) {
             return;
         }
-        if (dragStartIndex != -1) {
-            List<Point2D> digitized = new ArrayList<>(points.size() - dragStartIndex);
-            for (int i = dragStartIndex, n = points.size(); i < n; i++) {
-                digitized.add(points.get(i).getC0());
-            }
-            BezierNodePathBuilder builder = new BezierNodePathBuilder();
-            double error = 5 / dv.getZoomFactor();
-            BezierFit.fitBezierPath(builder, digitized, error);
-            final ImmutableList<BezierNode> built = builder.build();
-            ArrayList<BezierNode> newList = new ArrayList<>(dragStartIndex + built.size());
-            for (int i = 0; i < dragStartIndex; i++) {
-                newList.add(points.get(i));
-            }
-
-            for (int i = 0, n = built.size(); i < n; i++) {
-                if (i == 0) {
-                    newList.add(built.get(i).setMask(built.get(i).getMask() & (~BezierNode.MOVE_MASK)));
-                } else {
-                    newList.add(built.get(i));
-                }
-            }
-            newList.add(points.get(points.size() - 1));
-            points = newList;
+        if (dragStartIndex != -1 && fit != null && dragEnd != null) {
+            ImmutableList<BezierNode> fitted = getFittedPoints(dragEnd);
+            points = fitted.toArrayList();
 
             DrawingModel dm = dv.getModel();
-            dm.set(createdFigure, key, ImmutableLists.copyOf(points));
+            dm.set(createdFigure, key, fitted);
             dragStartIndex = -1;
+            fit = null;
+            fittedPoints = null;
+            dragEnd = null;
+        }
+    }
+
+    /**
+     * Returns the points before the current drag, followed by the curve
+     * fitted to the dragged points, followed by the specified end point.
+     * <p>
+     * The node at the start of a fitted segment does not change anymore
+     * when the segment is finalized. These nodes are appended to
+     * {@link #fittedPoints}, and are not built again. Therefore this method
+     * only builds the nodes of the segments that have been finalized since
+     * the last call, and of the trailing segment.
+     *
+     * @param end the end point
+     * @return the points
+     */
+    private @NonNull ImmutableList<BezierNode> getFittedPoints(@NonNull Point2D end) {
+        assert fittedPoints != null && fit != null;
+
+        // Start one segment early, because the first built node lacks the
+        // control point of its incoming curve.
+        final int from = Math.max(0, fittedSegments - 1);
+        final ImmutableList<BezierNode> built = fit.build(from, new BezierNodePathBuilder());
+        final int first = fittedSegments - from;
+        final int finalizedSegments = fit.getFinalizedSegmentCount();
+        final ArrayList<BezierNode> stable = new ArrayList<>();
+        final ArrayList<BezierNode> trailing = new ArrayList<>();
+        for (int i = first, n = built.size(); i < n; i++) {
+            BezierNode node = built.get(i);
+            if (from + i == 0) {
+                node = node.setMask(node.getMask() & (~BezierNode.MOVE_MASK));
+            }
+            (from + i < finalizedSegments ? stable : trailing).add(node);
+        }
+        if (!stable.isEmpty()) {
+            fittedPoints = fittedPoints.copyAddAll(stable);
+            fittedSegments = finalizedSegments;
         }
+        trailing.add(new BezierNode(end));
+        return fittedPoints.copyAddAll(trailing);
     }
 
     @Override
@@ -225,6 +268,9 @@ public class BezierCreationTool extends AbstractCreationTool<Figure> {
 
             createdFigure = null;
             points = null;
+            fit = null;
+            fittedPoints = null;
+            dragEnd = null;
         }
     }
 
@@ -0,0 +1,364 @@
+/*
+ * @(#)ArcLengthTable.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.util.Preconditions;
+
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+
+/**
+ * A lookup table that maps between the arc length {@code s} of a path and
+ * the parameter {@code t} of its segments.
+ * <p>
+ * The segments of the table are the line, quadratic and cubic segments of
+ * the path, in the order in which they were added, including the line
+ * segments that are created by 'close path' commands. Arcs are added as
+ * cubic segments. Segments with zero length are kept, so that the segment
+ * indices match the drawing commands of the path.
+ * <p>
+ * Each curve segment is divided into {@value #CURVE_INTERVALS} intervals
+ * of equal parameter width. The arc length of each interval is computed
+ * once with Gauss-Legendre quadrature. A query locates the segment and the
+ * interval with a binary search, and then refines the parameter with
+ * Newton's method within the interval. So queries take
+ * {@code O(log n)} time in the number of segments.
+ * <p>
+ * Build the table once per geometry change with {@link ArcLengthTableBuilder},
+ * or with {@link #of(PathIterator)}. The table is immutable.
+ */
+public class ArcLengthTable {
+    /**
+     * Number of intervals into which a curve segment is divided.
+     */
+    static final int CURVE_INTERVALS = 16;
+    /**
+     * Nodes of the Gauss-Legendre quadrature on [-1,1].
+     */
+    private static final double[] GAUSS_NODES = {
+            -0.9061798459386640, -0.5384693101056831, 0.0, 0.5384693101056831, 0.9061798459386640};
+    /**
+     * Weights of the Gauss-Legendre quadrature.
+     */
+    private static final double[] GAUSS_WEIGHTS = {
+            0.2369268850561891, 0.4786286704993665, 0.5688888888888889, 0.4786286704993665, 0.2369268850561891};
+    private static final int MAX_NEWTON_ITERATIONS = 8;
+
+    /**
+     * The degree of each segment: 1, 2 or 3.
+     */
+    private final int @NonNull [] degrees;
+    /**
+     * The control points of each segment, 8 values per segment.
+     */
+    private final double @NonNull [] coords;
+    /**
+     * The arc length from the start of the path to the end of each segment.
+     */
+    private final double @NonNull [] ends;
+    /**
+     * The arc length from the start of the segment to the end of each
+     * interval of a curve segment, {@value #CURVE_INTERVALS} values per
+     * segment. Line segments have no intervals.
+     */
+    private final double @NonNull [] intervals;
+    /**
+     * The offset of the intervals of each segment in {@link #intervals}.
+     */
+    private final int @NonNull [] intervalOffsets;
+    private final int size;
+    private final double lastX, lastY;
+
+    ArcLengthTable(int @NonNull [] degrees, double @NonNull [] coords, double @NonNull [] ends,
+                   double @NonNull [] intervals, int @NonNull [] intervalOffsets, int size,
+                   double lastX, double lastY) {
+        this.degrees = degrees;
+        this.coords = coords;
+        this.ends = ends;
+        this.intervals = intervals;
+        this.intervalOffsets = intervalOffsets;
+        this.size = size;
+        this.lastX = lastX;
+        this.lastY = lastY;
+    }
+
+    /**
+     * Creates an arc length table for the specified shape.
+     *
+     * @param shape a shape
+     * @return the arc length table
+     */
+    public static @NonNull ArcLengthTable of(@NonNull Shape shape) {
+        return of(shape.getPathIterator(null));
+    }
+
+    /**
+     * Creates an arc length table for the specified path.
+     *
+     * @param it a path iterator
+     * @return the arc length table
+     */
+    public static @NonNull ArcLengthTable of(@NonNull PathIterator it) {
+        return SvgPaths.buildFromPathIterator(new ArcLengthTableBuilder(), it).build();
+    }
+
+    /**
+     * Returns the number of segments.
+     *
+     * @return the number of segments
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the arc length of the path.
+     *
+     * @return the arc length
+     */
+    public double getLength() {
+        return size == 0 ? 0 : ends[size - 1];
+    }
+
+    /**
+     * Returns the arc length of the specified segment.
+     *
+     * @param segment the index of the segment
+     * @return the arc length of the segment
+     */
+    public double getLength(int segment) {
+        Preconditions.checkIndex(segment, size);
+        return ends[segment] - start(segment);
+    }
+
+    /**
+     * Returns the arc length from the start of the path to the point at
+     * parameter {@code t} of the specified segment.
+     *
+     * @param segment the index of the segment
+     * @param t       the parameter in [0,1], is clamped to this range
+     * @return the arc length from the start of the path
+     */
+    public double getLengthAt(int segment, double t) {
+        Preconditions.checkIndex(segment, size);
+        return start(segment) + lengthInSegment(segment, Geom.clamp(t, 0, 1));
+    }
+
+    /**
+     * Returns the index of the segment that contains the point at the
+     * specified arc length. Segments with zero length are skipped.
+     *
+     * @param s the arc length from the start of the path, is clamped
+     *          to the range [0, {@link #getLength()}]
+     * @return the index of the segment, or -1 if the table has no segments
+     */
+    public int getSegmentAt(double s) {
+        if (size == 0) {
+            return -1;
+        }
+        // Find the first segment that ends at or after s
+        int lo = 0, hi = size - 1;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (ends[mid] < s) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        // Skip segments with zero length
+        int segment = lo;
+        while (segment < size - 1 && ends[segment] == start(segment)) {
+            segment++;
+        }
+        while (segment > 0 && ends[segment] == start(segment)) {
+            segment--;
+        }
+        return segment;
+    }
+
+    /**
+     * Returns the parameter {@code t} of the point at the specified arc
+     * length on the specified segment.
+     *
+     * @param segment the index of the segment
+     * @param s       the arc length from the start of the path, is clamped
+     *                to the range of the segment
+     * @return the parameter {@code t} in [0,1]
+     */
+    public double getArgumentAt(int segment, double s) {
+        Preconditions.checkIndex(segment, size);
+        final double start = start(segment);
+        final double length = ends[segment] - start;
+        if (length <= 0) {
+            return 0;
+        }
+        final double sInSegment = Geom.clamp(s - start, 0, length);
+        if (degrees[segment] == 1) {
+            return sInSegment / length;
+        }
+
+        // Find the interval that contains s
+        final int off = intervalOffsets[segment];
+        int lo = 0, hi = CURVE_INTERVALS - 1;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (intervals[off + mid] < sInSegment) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        final double t0 = (double) lo / CURVE_INTERVALS;
+        final double t1 = (double) (lo + 1) / CURVE_INTERVALS;
+        final double s0 = lo == 0 ? 0 : intervals[off + lo - 1];
+        final double s1 = intervals[off + lo];
+        final double target = sInSegment - s0;
+        if (s1 <= s0) {
+            return t0;
+        }
+
+        // Newton's method, starting with linear interpolation.
+        // We keep the bracket [a,b], in case that Newton steps out of it.
+        double a = t0, b = t1;
+        double t = t0 + (t1 - t0) * target / (s1 - s0);
+        for (int i = 0; i < MAX_NEWTON_ITERATIONS; i++) {
+            final double error = integrate(segment, t0, t) - target;
+            if (error == 0) {
+                return t;
+            } else if (error > 0) {
+                b = t;
+            } else {
+                a = t;
+            }
+            final double speed = speed(segment, t);
+            double next = speed > 0 ? t - error / speed : 0.5 * (a + b);
+            if (Math.abs(next - t) <= Math.ulp(t) * 4) {
+                return next;
+            }
+            if (!(next > a && next < b)) {
+                next = 0.5 * (a + b);
+            }
+            t = next;
+        }
+        return t;
+    }
+
+    /**
+     * Returns the point and tangent at the specified arc length.
+     * <p>
+     * If the table has no segments, or only segments with zero length,
+     * returns the last point of the path with the tangent (1,0).
+     *
+     * @param s the arc length from the start of the path, is clamped
+     *          to the range [0, {@link #getLength()}]
+     * @return the point and tangent
+     */
+    public @NonNull PointAndTangent getPointAndTangentAt(double s) {
+        final int segment = getSegmentAt(s);
+        if (segment < 0 || getLength() <= 0) {
+            return new PointAndTangent(lastX, lastY, 1, 0);
+        }
+        return getPointAndTangentAt(segment, getArgumentAt(segment, s));
+    }
+
+    /**
+     * Returns the point and tangent at parameter {@code t} of the specified
+     * segment.
+     *
+     * @param segment the index of the segment
+     * @param t       the parameter in [0,1]
+     * @return the point and tangent
+     */
+    public @NonNull PointAndTangent getPointAndTangentAt(int segment, double t) {
+        Preconditions.checkIndex(segment, size);
+        final double[] c = coords;
+        final int o = segment * 8;
+        switch (degrees[segment]) {
+        case 1:
+            return new PointAndTangent(Geom.lerp(c[o], c[o + 2], t), Geom.lerp(c[o + 1], c[o + 3], t),
+                    c[o + 2] - c[o], c[o + 3] - c[o + 1]);
+        case 2: {
+            Point2D.Double p = BezierCurves.evalQuadCurve(c[o], c[o + 1], c[o + 2], c[o + 3], c[o + 4], c[o + 5], t);
+            Point2D.Double d = BezierCurves.evalQuadCurveTangent(c[o], c[o + 1], c[o + 2], c[o + 3], c[o + 4], c[o + 5], t);
+            return new PointAndTangent(p.x, p.y, d.x, d.y);
+        }
+        default: {
+            Point2D.Double p = BezierCurves.evalCubicCurve(c[o], c[o + 1], c[o + 2], c[o + 3], c[o + 4], c[o + 5], c[o + 6], c[o + 7], t);
+            Point2D.Double d = BezierCurves.evalCubicCurveTangent(c[o], c[o + 1], c[o + 2], c[o + 3], c[o + 4], c[o + 5], c[o + 6], c[o + 7], t);
+            return new PointAndTangent(p.x, p.y, d.x, d.y);
+        }
+        }
+    }
+
+    private double start(int segment) {
+        return segment == 0 ? 0 : ends[segment - 1];
+    }
+
+    /**
+     * Returns the arc length from the start of the segment to parameter t.
+     */
+    private double lengthInSegment(int segment, double t) {
+        if (degrees[segment] == 1) {
+            return (ends[segment] - start(segment)) * t;
+        }
+        final int i = Math.min((int) (t * CURVE_INTERVALS), CURVE_INTERVALS - 1);
+        final double s0 = i == 0 ? 0 : intervals[intervalOffsets[segment] + i - 1];
+        return s0 + integrate(segment, (double) i / CURVE_INTERVALS, t);
+    }
+
+    /**
+     * Integrates the speed of a curve segment from t0 to t1.
+     */
+    private double integrate(int segment, double t0, double t1) {
+        return integrate(degrees[segment], coords, segment * 8, t0, t1);
+    }
+
+    private double speed(int segment, double t) {
+        return speed(degrees[segment], coords, segment * 8, t);
+    }
+
+    /**
+     * Integrates the speed of a curve from t0 to t1 with the 5-point
+     * Gauss-Legendre quadrature.
+     *
+     * @param degree the degree of the curve
+     * @param c      the coordinates of the control points
+     * @param o      the offset of the first control point
+     * @param t0     the start parameter
+     * @param t1     the end parameter
+     * @return the arc length
+     */
+    static double integrate(int degree, double @NonNull [] c, int o, double t0, double t1) {
+        final double half = 0.5 * (t1 - t0);
+        final double mid = 0.5 * (t0 + t1);
+        double sum = 0;
+        for (int i = 0; i < GAUSS_NODES.length; i++) {
+            sum += GAUSS_WEIGHTS[i] * speed(degree, c, o, mid + half * GAUSS_NODES[i]);
+        }
+        return sum * half;
+    }
+
+    /**
+     * Returns the length of the first derivative of a curve.
+     */
+    static double speed(int degree, double @NonNull [] c, int o, double t) {
+        final double u = 1 - t;
+        switch (degree) {
+        case 1:
+            return Math.hypot(c[o + 2] - c[o], c[o + 3] - c[o + 1]);
+        case 2:
+            return 2 * Math.hypot(
+                    u * (c[o + 2] - c[o]) + t * (c[o + 4] - c[o + 2]),
+                    u * (c[o + 3] - c[o + 1]) + t * (c[o + 5] - c[o + 3]));
+        default:
+            return 3 * Math.hypot(
+                    u * u * (c[o + 2] - c[o]) + 2 * u * t * (c[o + 4] - c[o + 2]) + t * t * (c[o + 6] - c[o + 4]),
+                    u * u * (c[o + 3] - c[o + 1]) + 2 * u * t * (c[o + 5] - c[o + 3]) + t * t * (c[o + 7] - c[o + 5]));
+        }
+    }
+}
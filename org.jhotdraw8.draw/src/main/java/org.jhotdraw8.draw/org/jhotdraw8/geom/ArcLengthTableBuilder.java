@@ -0,0 +1,126 @@
+/*
+ * @(#)ArcLengthTableBuilder.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.DoubleArrayList;
+import org.jhotdraw8.collection.IntArrayList;
+
+/**
+ * Builds an {@link ArcLengthTable} from the commands of a path.
+ * <p>
+ * Usage:
+ * <pre>{@code
+ * ArcLengthTableBuilder b = new ArcLengthTableBuilder();
+ * b.moveTo(0, 0);
+ * b.curveTo(10, 0, 10, 10, 0, 10);
+ * ArcLengthTable table = b.build();
+ * PointAndTangent p = table.getPointAndTangentAt(table.getLength() / 2);
+ * }</pre>
+ */
+public class ArcLengthTableBuilder extends AbstractPathBuilder<ArcLengthTable> {
+    private final @NonNull IntArrayList degrees = new IntArrayList();
+    private final @NonNull DoubleArrayList coords = new DoubleArrayList();
+    private final @NonNull DoubleArrayList ends = new DoubleArrayList();
+    private final @NonNull DoubleArrayList intervals = new DoubleArrayList();
+    private final @NonNull IntArrayList intervalOffsets = new IntArrayList();
+    private final double @NonNull [] segment = new double[8];
+    private double length;
+    private double startX, startY;
+
+    /**
+     * Creates a new instance.
+     */
+    public ArcLengthTableBuilder() {
+    }
+
+    @Override
+    protected void doClosePath() {
+        addLine(getLastX(), getLastY(), startX, startY);
+        setLastX(startX);
+        setLastY(startY);
+    }
+
+    @Override
+    protected void doPathDone() {
+        // empty
+    }
+
+    @Override
+    protected void doCurveTo(double x1, double y1, double x2, double y2, double x, double y) {
+        final double[] c = segment;
+        c[0] = getLastX();
+        c[1] = getLastY();
+        c[2] = x1;
+        c[3] = y1;
+        c[4] = x2;
+        c[5] = y2;
+        c[6] = x;
+        c[7] = y;
+        addCurve(3);
+    }
+
+    @Override
+    protected void doLineTo(double x, double y) {
+        addLine(getLastX(), getLastY(), x, y);
+    }
+
+    @Override
+    protected void doMoveTo(double x, double y) {
+        startX = x;
+        startY = y;
+    }
+
+    @Override
+    protected void doQuadTo(double x1, double y1, double x, double y) {
+        final double[] c = segment;
+        c[0] = getLastX();
+        c[1] = getLastY();
+        c[2] = x1;
+        c[3] = y1;
+        c[4] = x;
+        c[5] = y;
+        c[6] = 0;
+        c[7] = 0;
+        addCurve(2);
+    }
+
+    private void addLine(double x0, double y0, double x1, double y1) {
+        degrees.addAsInt(1);
+        coords.add(x0);
+        coords.add(y0);
+        coords.add(x1);
+        coords.add(y1);
+        for (int i = 4; i < 8; i++) {
+            coords.add(0);
+        }
+        intervalOffsets.addAsInt(intervals.size());
+        length += Geom.length(x0, y0, x1, y1);
+        ends.add(length);
+    }
+
+    private void addCurve(int degree) {
+        degrees.addAsInt(degree);
+        for (double v : segment) {
+            coords.add(v);
+        }
+        intervalOffsets.addAsInt(intervals.size());
+        double s = 0;
+        for (int i = 0; i < ArcLengthTable.CURVE_INTERVALS; i++) {
+            s += ArcLengthTable.integrate(degree, segment, 0,
+                    (double) i / ArcLengthTable.CURVE_INTERVALS, (double) (i + 1) / ArcLengthTable.CURVE_INTERVALS);
+            intervals.add(s);
+        }
+        length += s;
+        ends.add(length);
+    }
+
+    @Override
+    public @NonNull ArcLengthTable build() {
+        return new ArcLengthTable(degrees.toIntArray(), coords.toArray(), ends.toArray(),
+                intervals.toArray(), intervalOffsets.toIntArray(), degrees.size(),
+                getLastX(), getLastY());
+    }
+}
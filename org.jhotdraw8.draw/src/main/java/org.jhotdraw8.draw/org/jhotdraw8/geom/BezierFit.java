@@ -267,7 +267,6 @@ public class BezierFit {
         double squaredDistance = minDistance * minDistance;
 
         int previousCorner = -1;
-        double previousCornerAngle = 0;
 
         for (int i = 1, n = digitizedPoints.size(); i < n - 1; i++) {
             Point2D p = digitizedPoints.get(i);
@@ -298,22 +297,36 @@ public class BezierFit {
                 continue;
             }
 
-            double aPrev = Geom.atan2(prev.getY() - p.getY(), prev.getX() - p.getX());
-            double aNext = Geom.atan2(next.getY() - p.getY(), next.getX() - p.getX());
-            double angle = Math.abs(aPrev - aNext);
-            if (angle < Math.PI - minAngle || angle > Math.PI + minAngle) {
+            if (isCorner(prev, p, next, minAngle)) {
                 if (intersectsPreviousCorner) {
                     cornerIndices.setAsInt(cornerIndices.size() - 1, i);
                 } else {
                     cornerIndices.addAsInt(i);
                 }
                 previousCorner = i;
-                previousCornerAngle = angle;
             }
         }
         return cornerIndices;
     }
 
+    /**
+     * Returns true if the angle at point {@code p} between its predecessor
+     * and its successor deviates by more than the specified angle from a
+     * straight line.
+     *
+     * @param prev     the predecessor
+     * @param p        the point
+     * @param next     the successor
+     * @param minAngle minimal angle for corner points
+     * @return true if p is a corner point
+     */
+    static boolean isCorner(@NonNull Point2D prev, @NonNull Point2D p, @NonNull Point2D next, double minAngle) {
+        double aPrev = Geom.atan2(prev.getY() - p.getY(), prev.getX() - p.getX());
+        double aNext = Geom.atan2(next.getY() - p.getY(), next.getX() - p.getX());
+        double angle = Math.abs(aPrev - aNext);
+        return angle < Math.PI - minAngle || angle > Math.PI + minAngle;
+    }
+
     /**
      * Reduces noise from the digitized points, by applying an approximation of
      * a gaussian filter to the data.
@@ -362,7 +375,7 @@ public class BezierFit {
      * @param errorSquared User-defined errorSquared squared.
      * @param builder      Path to which the bezier curve segments are added.
      */
-    private static void fitCubic(@NonNull PathBuilder<?> builder, @NonNull ArrayList<Point2D> d, int first, int last,
+    static void fitCubic(@NonNull PathBuilder<?> builder, @NonNull ArrayList<Point2D> d, int first, int last,
                                  Point2D tHat1, Point2D tHat2,
                                  double errorSquared) {
 
@@ -483,7 +496,7 @@ public class BezierFit {
      * @param d   Digitized points.
      * @param end Index to "left" end of region.
      */
-    private static Point2D computeLeftTangent(@NonNull ArrayList<Point2D> d, int end) {
+    static Point2D computeLeftTangent(@NonNull ArrayList<Point2D> d, int end) {
         Point2D tHat1;
         tHat1 = v2SubII(d.get(end + 1), d.get(end));
         tHat1 = v2Normalize(tHat1);
@@ -496,7 +509,7 @@ public class BezierFit {
      * @param d   Digitized points.
      * @param end Index to "right" end of region.
      */
-    private static Point2D computeRightTangent(@NonNull ArrayList<Point2D> d, int end) {
+    static Point2D computeRightTangent(@NonNull ArrayList<Point2D> d, int end) {
         Point2D tHat2;
         tHat2 = v2SubII(d.get(end - 1), d.get(end));
         tHat2 = v2Normalize(tHat2);
@@ -509,7 +522,7 @@ public class BezierFit {
      * @param d      Digitized points.
      * @param center Index to "center" end of region.
      */
-    private static Point2D computeCenterTangent(@NonNull ArrayList<Point2D> d, int center) {
+    static Point2D computeCenterTangent(@NonNull ArrayList<Point2D> d, int center) {
         Point2D V1, V2,
                 tHatCenter;
 
@@ -728,7 +741,7 @@ public class BezierFit {
     /**
      * Return the distance between two points
      */
-    private static double v2SquaredDistanceBetween2Points(@NonNull Point2D a, @NonNull Point2D b) {
+    static double v2SquaredDistanceBetween2Points(@NonNull Point2D a, @NonNull Point2D b) {
         double dx = a.getX() - b.getX();
         double dy = a.getY() - b.getY();
         return (dx * dx) + (dy * dy);
@@ -790,7 +803,7 @@ public class BezierFit {
     /**
      * Negates the input vector and returns it.
      */
-    private static @NonNull Point2D v2Negate(@NonNull Point2D v) {
+    static @NonNull Point2D v2Negate(@NonNull Point2D v) {
         return new Point2D(-v.getX(),
                 -v.getY());
     }
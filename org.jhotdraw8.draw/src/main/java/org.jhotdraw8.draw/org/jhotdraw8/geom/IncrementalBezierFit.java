@@ -0,0 +1,436 @@
+/*
+ * @(#)IncrementalBezierFit.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom;
+
+import javafx.geometry.Point2D;
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+import org.jhotdraw8.collection.DoubleArrayList;
+import org.jhotdraw8.collection.IntArrayList;
+
+import java.awt.geom.PathIterator;
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * Fits a bezier path to digitized points that arrive one at a time,
+ * for example while the user is drawing a freehand stroke.
+ * <p>
+ * Performs the same steps as {@link BezierFit#fitBezierPath}, but
+ * incrementally:
+ * <ul>
+ *     <li>Points which are too close to their predecessor are dropped
+ *     (see {@link BezierFit#removeClosePoints}).</li>
+ *     <li>Corners are detected on the remaining points, as soon as the
+ *     successor of a point is known (see {@link BezierFit#findCorners}).</li>
+ *     <li>Noise is reduced on each point, as soon as its successor
+ *     is known (see {@link BezierFit#reduceNoise}).</li>
+ * </ul>
+ * The fitter keeps a list of finalized curve segments, and an open trailing
+ * segment. Each added point only refits the trailing segment. The trailing
+ * segment is finalized at corners, when it can not be fitted with a single
+ * curve, and when it contains more than {@code maxTrailingPoints} points.
+ * Therefore the work per added point is bounded, regardless of the length
+ * of the stroke.
+ * <p>
+ * Finalized segments do not change anymore. The resulting path may differ
+ * slightly from the path that {@link BezierFit#fitBezierPath} computes
+ * for all points at once.
+ */
+public class IncrementalBezierFit {
+    /**
+     * Corner angle used by {@link BezierFit#fitBezierPath}.
+     */
+    private static final double CORNER_ANGLE = 77 / 180d * Math.PI;
+    /**
+     * Noise reduction weight used by {@link BezierFit#fitBezierPath}.
+     */
+    private static final double NOISE_WEIGHT = 0.8;
+    /**
+     * The default value for the maximal number of points in the trailing
+     * segment.
+     */
+    public static final int DEFAULT_MAX_TRAILING_POINTS = 64;
+
+    private final double errorSquared;
+    private final double minDistanceSquared;
+    private final int maxTrailingPoints;
+
+    /**
+     * The finalized curve segments.
+     */
+    private final @NonNull SegmentList finalized = new SegmentList();
+    /**
+     * The curve segments of the trailing segment.
+     */
+    private final @NonNull SegmentList trailing = new SegmentList();
+    /**
+     * The points of the trailing segment. The first point is the end point
+     * of the finalized segments. All points except the last one have been
+     * cleaned up. The last point is the most recent accepted point.
+     */
+    private final @NonNull ArrayList<Point2D> tail = new ArrayList<>();
+    /**
+     * Unit tangent vector at the start of the trailing segment, null if the
+     * trailing segment starts at a corner.
+     */
+    private @Nullable Point2D tHat1;
+    private @Nullable Point2D start;
+    /**
+     * The accepted point before {@link #lastAccepted}.
+     */
+    private @Nullable Point2D prevAccepted;
+    private @Nullable Point2D lastAccepted;
+    /**
+     * The most recently added point, which may be too close to
+     * {@link #lastAccepted} to be accepted.
+     */
+    private @Nullable Point2D lastAdded;
+
+    /**
+     * Creates a new instance with {@link #DEFAULT_MAX_TRAILING_POINTS}.
+     *
+     * @param error the maximal allowed error between the bezier path and the
+     *              digitized points.
+     */
+    public IncrementalBezierFit(double error) {
+        this(error, DEFAULT_MAX_TRAILING_POINTS);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param error             the maximal allowed error between the bezier
+     *                          path and the digitized points.
+     * @param maxTrailingPoints the maximal number of points in the trailing
+     *                          segment, must be at least 3
+     */
+    public IncrementalBezierFit(double error, int maxTrailingPoints) {
+        if (maxTrailingPoints < 3) {
+            throw new IllegalArgumentException("maxTrailingPoints=" + maxTrailingPoints);
+        }
+        this.errorSquared = error * error;
+        this.minDistanceSquared = 4 * error * error;
+        this.maxTrailingPoints = maxTrailingPoints;
+    }
+
+    /**
+     * Adds a digitized point and refits the trailing segment.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     */
+    public void addPoint(double x, double y) {
+        Point2D p = new Point2D(x, y);
+        lastAdded = p;
+        if (lastAccepted == null) {
+            start = p;
+            lastAccepted = p;
+            tail.add(p);
+        } else if (BezierFit.v2SquaredDistanceBetween2Points(lastAccepted, p) > minDistanceSquared) {
+            accept(p);
+        }
+        fitTrailing();
+    }
+
+    private void accept(@NonNull Point2D p) {
+        int last = tail.size() - 1;
+        if (prevAccepted != null && last > 0) {
+            if (BezierFit.isCorner(prevAccepted, lastAccepted, p, CORNER_ANGLE)) {
+                finalizeUpTo(last, BezierFit.computeRightTangent(tail, last));
+                tHat1 = null;
+            } else {
+                double pnWeight = (1d - NOISE_WEIGHT) / 2d;
+                tail.set(last, new Point2D(
+                        lastAccepted.getX() * NOISE_WEIGHT + pnWeight * prevAccepted.getX() + pnWeight * p.getX(),
+                        lastAccepted.getY() * NOISE_WEIGHT + pnWeight * prevAccepted.getY() + pnWeight * p.getY()));
+            }
+        }
+        tail.add(p);
+        prevAccepted = lastAccepted;
+        lastAccepted = p;
+    }
+
+    /**
+     * Fits the trailing segment, and finalizes parts of it until it can
+     * be fitted with a single curve that is not too long.
+     */
+    private void fitTrailing() {
+        while (true) {
+            fitTail(trailing, tail.size() - 1, null, lastAdded);
+            int n = tail.size();
+            if (trailing.size() > 1) {
+                // Finalize all curves except the last one
+                int joint = indexOfTailPoint(trailing.getEndX(trailing.size() - 2), trailing.getEndY(trailing.size() - 2));
+                if (joint > 0 && joint < n - 1) {
+                    finalizeUpTo(joint, BezierFit.computeCenterTangent(tail, joint));
+                    continue;
+                }
+            }
+            if (n > maxTrailingPoints) {
+                finalizeUpTo(n - 2, BezierFit.computeCenterTangent(tail, n - 2));
+                continue;
+            }
+            break;
+        }
+    }
+
+    /**
+     * Fits the points {@code tail[0..last]} into the specified segment list.
+     *
+     * @param segments the segment list, is cleared by this method
+     * @param last     the index of the last point
+     * @param tHat2    the unit tangent vector at the last point, null to
+     *                 compute it from the points
+     * @param end      the end point of the segment, replaces the last point
+     */
+    private void fitTail(@NonNull SegmentList segments, int last, @Nullable Point2D tHat2, @NonNull Point2D end) {
+        segments.clear();
+        Point2D lastPoint = tail.get(last);
+        boolean appended = false;
+        if (!end.equals(lastPoint)) {
+            if (last == 0) {
+                tail.add(end);
+                last++;
+                appended = true;
+            } else {
+                tail.set(last, end);
+            }
+        }
+        if (last > 0) {
+            segments.moveTo(tail.get(0).getX(), tail.get(0).getY());
+            BezierFit.fitCubic(segments, tail, 0, last,
+                    tHat1 == null ? BezierFit.computeLeftTangent(tail, 0) : tHat1,
+                    tHat2 == null ? BezierFit.computeRightTangent(tail, last) : tHat2,
+                    errorSquared);
+        }
+        if (appended) {
+            tail.remove(last);
+        } else {
+            tail.set(last, lastPoint);
+        }
+    }
+
+    /**
+     * Moves the points {@code tail[0..index]} into the finalized segments.
+     *
+     * @param index the index of the last point
+     * @param tHat2 the unit tangent vector at the last point
+     */
+    private void finalizeUpTo(int index, @NonNull Point2D tHat2) {
+        fitTail(trailing, index, tHat2, tail.get(index));
+        finalized.addAll(trailing);
+        trailing.clear();
+        tail.subList(0, index).clear();
+        tHat1 = BezierFit.v2Negate(tHat2);
+    }
+
+    private int indexOfTailPoint(double x, double y) {
+        for (int i = tail.size() - 1; i >= 0; i--) {
+            Point2D p = tail.get(i);
+            if (p.getX() == x && p.getY() == y) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of finalized curve segments.
+     *
+     * @return the number of finalized curve segments
+     */
+    public int getFinalizedSegmentCount() {
+        return finalized.size();
+    }
+
+    /**
+     * Returns the number of points in the trailing segment.
+     *
+     * @return the number of points in the trailing segment
+     */
+    public int getTrailingPointCount() {
+        return tail.size();
+    }
+
+    /**
+     * Returns true if no points have been added.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return start == null;
+    }
+
+    /**
+     * Removes all points.
+     */
+    public void clear() {
+        finalized.clear();
+        trailing.clear();
+        tail.clear();
+        tHat1 = null;
+        start = prevAccepted = lastAccepted = lastAdded = null;
+    }
+
+    /**
+     * Replays the fitted path into the specified builder, invokes
+     * {@link PathBuilder#pathDone()}, and returns the built object.
+     * <p>
+     * The path consists of the finalized segments followed by the trailing
+     * segment.
+     *
+     * @param builder a builder
+     * @param <T>     the product type of the builder
+     * @return the product of the builder
+     */
+    public <T> T build(@NonNull PathBuilder<T> builder) {
+        return build(0, builder);
+    }
+
+    /**
+     * Replays the fitted path, starting at the specified finalized segment,
+     * into the specified builder, invokes {@link PathBuilder#pathDone()},
+     * and returns the built object.
+     * <p>
+     * The path starts with a move-to the start point of the specified
+     * segment, followed by the finalized segments from the specified
+     * segment on, followed by the trailing segment. Since finalized
+     * segments do not change, a caller can keep the product of the
+     * finalized segments, and only replay the segments that have been
+     * finalized since then.
+     *
+     * @param fromSegment the index of the first finalized segment, in
+     *                    range {@code [0, getFinalizedSegmentCount()]}
+     * @param builder     a builder
+     * @param <T>         the product type of the builder
+     * @return the product of the builder
+     */
+    public <T> T build(int fromSegment, @NonNull PathBuilder<T> builder) {
+        Objects.checkIndex(fromSegment, finalized.size() + 1);
+        if (start != null) {
+            if (fromSegment == 0) {
+                builder.moveTo(start.getX(), start.getY());
+            } else {
+                builder.moveTo(finalized.getEndX(fromSegment - 1), finalized.getEndY(fromSegment - 1));
+            }
+            finalized.replay(fromSegment, builder);
+            trailing.replay(0, builder);
+        }
+        builder.pathDone();
+        return builder.build();
+    }
+
+    /**
+     * Records the segments that {@link BezierFit} produces.
+     * Each segment takes 6 coordinates. A quadratic curve uses the first two
+     * and the last two, line and close-path segments only use the last two.
+     */
+    private static class SegmentList extends AbstractPathBuilder<Void> {
+        private final @NonNull DoubleArrayList coords = new DoubleArrayList();
+        private final @NonNull IntArrayList ops = new IntArrayList();
+        private double moveX, moveY;
+
+        int size() {
+            return ops.size();
+        }
+
+        double getEndX(int i) {
+            return coords.get(i * 6 + 4);
+        }
+
+        double getEndY(int i) {
+            return coords.get(i * 6 + 5);
+        }
+
+        void clear() {
+            coords.clear();
+            ops.clear();
+        }
+
+        void addAll(@NonNull SegmentList that) {
+            coords.addAll(that.coords);
+            ops.addAllAsInt(that.ops);
+        }
+
+        void replay(int from, @NonNull PathBuilder<?> builder) {
+            for (int i = from, j = from * 6, n = ops.size(); i < n; i++, j += 6) {
+                int op = ops.getAsInt(i);
+                if (op == PathIterator.SEG_LINETO) {
+                    builder.lineTo(coords.get(j + 4), coords.get(j + 5));
+                } else if (op == PathIterator.SEG_QUADTO) {
+                    builder.quadTo(coords.get(j), coords.get(j + 1), coords.get(j + 4), coords.get(j + 5));
+                } else if (op == PathIterator.SEG_CLOSE) {
+                    builder.closePath();
+                } else {
+                    builder.curveTo(coords.get(j), coords.get(j + 1), coords.get(j + 2), coords.get(j + 3),
+                            coords.get(j + 4), coords.get(j + 5));
+                }
+            }
+        }
+
+        @Override
+        protected void doClosePath() {
+            // the end point of a close-path segment is the start point of
+            // the subpath
+            ops.addAsInt(PathIterator.SEG_CLOSE);
+            for (int i = 0; i < 3; i++) {
+                coords.add(moveX);
+                coords.add(moveY);
+            }
+        }
+
+        @Override
+        protected void doPathDone() {
+            // empty
+        }
+
+        @Override
+        protected void doCurveTo(double x1, double y1, double x2, double y2, double x, double y) {
+            ops.addAsInt(PathIterator.SEG_CUBICTO);
+            coords.add(x1);
+            coords.add(y1);
+            coords.add(x2);
+            coords.add(y2);
+            coords.add(x);
+            coords.add(y);
+        }
+
+        @Override
+        protected void doLineTo(double x, double y) {
+            ops.addAsInt(PathIterator.SEG_LINETO);
+            coords.add(x);
+            coords.add(y);
+            coords.add(x);
+            coords.add(y);
+            coords.add(x);
+            coords.add(y);
+        }
+
+        @Override
+        protected void doMoveTo(double x, double y) {
+            // the start point of a segment is implied by the preceding
+            // segment, we only need it for close-path segments
+            moveX = x;
+            moveY = y;
+        }
+
+        @Override
+        protected void doQuadTo(double x1, double y1, double x, double y) {
+            ops.addAsInt(PathIterator.SEG_QUADTO);
+            coords.add(x1);
+            coords.add(y1);
+            coords.add(x1);
+            coords.add(y1);
+            coords.add(x);
+            coords.add(y);
+        }
+
+        @Override
+        public @Nullable Void build() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,575 @@
+/*
+ * @(#)PackedPath.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+import org.jhotdraw8.xml.text.XmlNumberConverter;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable path that is packed into an array of opcodes and an array
+ * of coordinates.
+ * <p>
+ * The opcodes are the segment types of {@link PathIterator}. The
+ * coordinates of all segments are stored consecutively in one array: 2
+ * coordinates for {@link PathIterator#SEG_MOVETO} and
+ * {@link PathIterator#SEG_LINETO}, 4 for {@link PathIterator#SEG_QUADTO},
+ * 6 for {@link PathIterator#SEG_CUBICTO}, and none for
+ * {@link PathIterator#SEG_CLOSE}. Every subpath starts with a
+ * {@link PathIterator#SEG_MOVETO}.
+ * <p>
+ * A figure can cache a packed path, and replay it into a
+ * {@link PathBuilder} with {@link #build(PathBuilder)}, instead of parsing
+ * or rebuilding the path each time it needs an AWT or JavaFX shape.
+ * <p>
+ * The bulk operations {@link #transform}, {@link #getBounds2D},
+ * {@link #flatten}, {@link #reverse} and {@link #toSvgString} are
+ * implemented as loops over the two arrays. Transform and bounds do not
+ * need to look at the opcodes at all, because all coordinates are (x, y)
+ * pairs.
+ */
+public final class PackedPath {
+    private static final byte @NonNull [] EMPTY_OPS = new byte[0];
+    private static final double @NonNull [] EMPTY_COORDS = new double[0];
+    /**
+     * The empty path.
+     */
+    public static final @NonNull PackedPath EMPTY = new PackedPath(EMPTY_OPS, 0, EMPTY_COORDS, 0, PathIterator.WIND_NON_ZERO);
+    /**
+     * The maximal number of line segments into which {@link #flatten}
+     * subdivides a curve segment.
+     */
+    private static final int MAX_FLATTEN_SEGMENTS = 1 << 10;
+
+    private final byte @NonNull [] ops;
+    private final int numOps;
+    private final double @NonNull [] coords;
+    private final int numCoords;
+    private final int windingRule;
+
+    /**
+     * Creates a new instance. The arrays are not copied.
+     *
+     * @param ops         the opcodes
+     * @param numOps      the number of opcodes
+     * @param coords      the coordinates
+     * @param numCoords   the number of coordinates
+     * @param windingRule the winding rule
+     */
+    PackedPath(byte @NonNull [] ops, int numOps, double @NonNull [] coords, int numCoords, int windingRule) {
+        this.ops = ops;
+        this.numOps = numOps;
+        this.coords = coords;
+        this.numCoords = numCoords;
+        this.windingRule = windingRule;
+    }
+
+    /**
+     * Packs the specified shape.
+     *
+     * @param shape a shape
+     * @return the packed path
+     */
+    public static @NonNull PackedPath of(@NonNull Shape shape) {
+        return of(shape.getPathIterator(null));
+    }
+
+    /**
+     * Packs the segments of the specified path iterator.
+     *
+     * @param iter a path iterator
+     * @return the packed path
+     */
+    public static @NonNull PackedPath of(@NonNull PathIterator iter) {
+        return SvgPaths.buildFromPathIterator(new PackedPathBuilder(iter.getWindingRule()), iter).build();
+    }
+
+    /**
+     * Returns the number of segments, including the
+     * {@link PathIterator#SEG_MOVETO} and {@link PathIterator#SEG_CLOSE}
+     * segments.
+     *
+     * @return the number of segments
+     */
+    public int size() {
+        return numOps;
+    }
+
+    /**
+     * Returns true if this path has no segments.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return numOps == 0;
+    }
+
+    /**
+     * Returns the winding rule.
+     *
+     * @return {@link PathIterator#WIND_EVEN_ODD} or
+     * {@link PathIterator#WIND_NON_ZERO}
+     */
+    public int getWindingRule() {
+        return windingRule;
+    }
+
+    /**
+     * Returns the number of coordinates of the specified segment type.
+     *
+     * @param op a segment type
+     * @return the number of coordinates
+     */
+    static int coordCount(int op) {
+        switch (op) {
+        case PathIterator.SEG_MOVETO:
+        case PathIterator.SEG_LINETO:
+            return 2;
+        case PathIterator.SEG_QUADTO:
+            return 4;
+        case PathIterator.SEG_CUBICTO:
+            return 6;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Replays this path into the specified builder, invokes
+     * {@link PathBuilder#pathDone()}, and returns the built object.
+     *
+     * @param builder a builder
+     * @param <T>     the product type of the builder
+     * @return the product of the builder
+     */
+    public <T> T build(@NonNull PathBuilder<T> builder) {
+        final byte[] ops = this.ops;
+        final double[] c = this.coords;
+        for (int i = 0, j = 0; i < numOps; i++) {
+            switch (ops[i]) {
+            case PathIterator.SEG_MOVETO:
+                builder.moveTo(c[j], c[j + 1]);
+                j += 2;
+                break;
+            case PathIterator.SEG_LINETO:
+                builder.lineTo(c[j], c[j + 1]);
+                j += 2;
+                break;
+            case PathIterator.SEG_QUADTO:
+                builder.quadTo(c[j], c[j + 1], c[j + 2], c[j + 3]);
+                j += 4;
+                break;
+            case PathIterator.SEG_CUBICTO:
+                builder.curveTo(c[j], c[j + 1], c[j + 2], c[j + 3], c[j + 4], c[j + 5]);
+                j += 6;
+                break;
+            case PathIterator.SEG_CLOSE:
+                builder.closePath();
+                break;
+            }
+        }
+        builder.pathDone();
+        return builder.build();
+    }
+
+    /**
+     * Returns a path iterator over this path.
+     *
+     * @param tx an optional transform that is applied to the coordinates
+     * @return a path iterator
+     */
+    public @NonNull PathIterator getPathIterator(@Nullable AffineTransform tx) {
+        return new PackedPathIterator(tx);
+    }
+
+    /**
+     * Returns this path transformed by the specified transform.
+     *
+     * @param tx a transform
+     * @return the transformed path
+     */
+    public @NonNull PackedPath transform(@NonNull AffineTransform tx) {
+        if (tx.isIdentity()) {
+            return this;
+        }
+        final double[] c = coords;
+        final double[] out = new double[numCoords];
+        final double m00 = tx.getScaleX(), m01 = tx.getShearX(), m02 = tx.getTranslateX(),
+                m10 = tx.getShearY(), m11 = tx.getScaleY(), m12 = tx.getTranslateY();
+        if ((tx.getType() & ~AffineTransform.TYPE_TRANSLATION) == 0) {
+            for (int i = 0; i < numCoords; i += 2) {
+                out[i] = c[i] + m02;
+                out[i + 1] = c[i + 1] + m12;
+            }
+        } else {
+            for (int i = 0; i < numCoords; i += 2) {
+                final double x = c[i], y = c[i + 1];
+                out[i] = m00 * x + m01 * y + m02;
+                out[i + 1] = m10 * x + m11 * y + m12;
+            }
+        }
+        return new PackedPath(ops, numOps, out, numCoords, windingRule);
+    }
+
+    /**
+     * Returns the bounds of the control points of this path.
+     * <p>
+     * Like {@link BoundingBoxBuilder}, this includes the control points of
+     * curve segments, and is therefore not a tight bound.
+     *
+     * @return the bounds, an empty rectangle at the origin if the path is
+     * empty
+     */
+    public @NonNull Rectangle2D.Double getBounds2D() {
+        if (numCoords == 0) {
+            return new Rectangle2D.Double();
+        }
+        final double[] c = coords;
+        double minX = c[0], minY = c[1], maxX = minX, maxY = minY;
+        for (int i = 2; i < numCoords; i += 2) {
+            final double x = c[i], y = c[i + 1];
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        return new Rectangle2D.Double(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    /**
+     * Returns this path with all curve segments replaced by line segments.
+     * <p>
+     * The number of line segments for a curve segment is computed up
+     * front with Wang's formula, so that the distance between the curve
+     * and the line segments does not exceed the flatness. The points are
+     * then evaluated in a loop without recursion.
+     *
+     * @param flatness the maximal distance between the curve segments and
+     *                 the line segments
+     * @return the flattened path
+     */
+    public @NonNull PackedPath flatten(double flatness) {
+        if (!(flatness > 0)) {
+            throw new IllegalArgumentException("flatness (" + flatness + ") must be greater than 0");
+        }
+        final byte[] ops = this.ops;
+        final double[] c = this.coords;
+
+        // compute the number of line segments per segment
+        final int[] counts = new int[numOps];
+        int outOps = 0;
+        for (int i = 0, j = 0; i < numOps; i++) {
+            final int op = ops[i];
+            int n = 1;
+            if (op == PathIterator.SEG_QUADTO) {
+                double ddx = c[j - 2] - 2 * c[j] + c[j + 2];
+                double ddy = c[j - 1] - 2 * c[j + 1] + c[j + 3];
+                n = segmentCount(0.25 * Math.sqrt(ddx * ddx + ddy * ddy), flatness);
+            } else if (op == PathIterator.SEG_CUBICTO) {
+                double ddx1 = c[j - 2] - 2 * c[j] + c[j + 2];
+                double ddy1 = c[j - 1] - 2 * c[j + 1] + c[j + 3];
+                double ddx2 = c[j] - 2 * c[j + 2] + c[j + 4];
+                double ddy2 = c[j + 1] - 2 * c[j + 3] + c[j + 5];
+                n = segmentCount(0.75 * Math.sqrt(Math.max(ddx1 * ddx1 + ddy1 * ddy1, ddx2 * ddx2 + ddy2 * ddy2)),
+                        flatness);
+            }
+            counts[i] = n;
+            outOps += n;
+            j += coordCount(op);
+        }
+
+        final byte[] newOps = new byte[outOps];
+        final double[] newCoords = new double[outOps * 2];
+        int k = 0, m = 0;
+        for (int i = 0, j = 0; i < numOps; i++) {
+            final int op = ops[i];
+            final int n = counts[i];
+            switch (op) {
+            case PathIterator.SEG_MOVETO:
+            case PathIterator.SEG_LINETO:
+                newOps[k++] = (byte) op;
+                newCoords[m++] = c[j];
+                newCoords[m++] = c[j + 1];
+                break;
+            case PathIterator.SEG_QUADTO: {
+                // power basis: p(t) = (a*t + b)*t + p0
+                final double x0 = c[j - 2], y0 = c[j - 1];
+                final double bx = 2 * (c[j] - x0), by = 2 * (c[j + 1] - y0);
+                final double ax = c[j + 2] - 2 * c[j] + x0, ay = c[j + 3] - 2 * c[j + 1] + y0;
+                for (int s = 1; s < n; s++) {
+                    final double t = (double) s / n;
+                    newCoords[m++] = (ax * t + bx) * t + x0;
+                    newCoords[m++] = (ay * t + by) * t + y0;
+                }
+                newCoords[m++] = c[j + 2];
+                newCoords[m++] = c[j + 3];
+                Arrays.fill(newOps, k, k + n, (byte) PathIterator.SEG_LINETO);
+                k += n;
+                break;
+            }
+            case PathIterator.SEG_CUBICTO: {
+                // power basis: p(t) = ((a*t + b)*t + d)*t + p0
+                final double x0 = c[j - 2], y0 = c[j - 1];
+                final double dx = 3 * (c[j] - x0), dy = 3 * (c[j + 1] - y0);
+                final double bx = 3 * (c[j + 2] - 2 * c[j] + x0), by = 3 * (c[j + 3] - 2 * c[j + 1] + y0);
+                final double ax = c[j + 4] - x0 - dx - bx, ay = c[j + 5] - y0 - dy - by;
+                for (int s = 1; s < n; s++) {
+                    final double t = (double) s / n;
+                    newCoords[m++] = ((ax * t + bx) * t + dx) * t + x0;
+                    newCoords[m++] = ((ay * t + by) * t + dy) * t + y0;
+                }
+                newCoords[m++] = c[j + 4];
+                newCoords[m++] = c[j + 5];
+                Arrays.fill(newOps, k, k + n, (byte) PathIterator.SEG_LINETO);
+                k += n;
+                break;
+            }
+            case PathIterator.SEG_CLOSE:
+                newOps[k++] = (byte) op;
+                break;
+            }
+            j += coordCount(op);
+        }
+        return new PackedPath(newOps, k, newCoords, m, windingRule);
+    }
+
+    /**
+     * Computes the number of line segments with Wang's formula.
+     *
+     * @param bound    the degree dependent factor times the maximal length
+     *                 of the second differences of the control points
+     * @param flatness the flatness
+     * @return the number of line segments
+     */
+    private static int segmentCount(double bound, double flatness) {
+        double n = Math.ceil(Math.sqrt(bound / flatness));
+        return n < 1 || Double.isNaN(n) ? 1 : (int) Math.min(n, MAX_FLATTEN_SEGMENTS);
+    }
+
+    /**
+     * Returns this path with the direction of all subpaths reversed.
+     * <p>
+     * The subpaths keep their order. A closed subpath starts at the same
+     * point as before, and ends with a {@link PathIterator#SEG_CLOSE}.
+     *
+     * @return the reversed path
+     */
+    public @NonNull PackedPath reverse() {
+        final byte[] ops = this.ops;
+        final double[] c = this.coords;
+        // a closed subpath may need an additional line segment
+        final byte[] newOps = new byte[numOps * 2];
+        final double[] newCoords = new double[numCoords * 2];
+        int k = 0, m = 0;
+        int i = 0, j = 0;
+        while (i < numOps) {
+            // find the end of the subpath
+            final int start = i, startCoords = j;
+            i++;
+            j += 2;
+            boolean closed = false;
+            while (i < numOps && ops[i] != PathIterator.SEG_MOVETO) {
+                if (ops[i] == PathIterator.SEG_CLOSE) {
+                    closed = true;
+                    i++;
+                    break;
+                }
+                j += coordCount(ops[i]);
+                i++;
+            }
+            final int end = closed ? i - 1 : i;
+
+            final double x0 = c[startCoords], y0 = c[startCoords + 1];
+            final double xn = c[j - 2], yn = c[j - 1];
+            newOps[k++] = PathIterator.SEG_MOVETO;
+            if (closed) {
+                newCoords[m++] = x0;
+                newCoords[m++] = y0;
+                if (xn != x0 || yn != y0) {
+                    newOps[k++] = PathIterator.SEG_LINETO;
+                    newCoords[m++] = xn;
+                    newCoords[m++] = yn;
+                }
+            } else {
+                newCoords[m++] = xn;
+                newCoords[m++] = yn;
+            }
+
+            // emit the segments backwards, each segment ends at the start point of the original segment
+            int segEnd = j;
+            for (int s = end - 1; s > start; s--) {
+                final int op = ops[s];
+                final int count = coordCount(op);
+                final int segStart = segEnd - count;
+                newOps[k++] = (byte) op;
+                // control points in reverse order
+                for (int p = segEnd - 4; p >= segStart; p -= 2) {
+                    newCoords[m++] = c[p];
+                    newCoords[m++] = c[p + 1];
+                }
+                // end point is the end point of the previous segment
+                newCoords[m++] = c[segStart - 2];
+                newCoords[m++] = c[segStart - 1];
+                segEnd = segStart;
+            }
+            if (closed) {
+                newOps[k++] = PathIterator.SEG_CLOSE;
+            }
+        }
+        return new PackedPath(Arrays.copyOf(newOps, k), k, Arrays.copyOf(newCoords, m), m, windingRule);
+    }
+
+    /**
+     * Converts this path to an SVG path string with double precision.
+     * <p>
+     * The string is identical to the string that
+     * {@link SvgPaths#doubleSvgStringFromAwt(PathIterator)} produces for
+     * the path iterator of this path.
+     *
+     * @return SVG path string
+     */
+    public @NonNull String toSvgString() {
+        final XmlNumberConverter nb = new XmlNumberConverter();
+        final StringBuilder buf = new StringBuilder(numCoords * 8);
+        final byte[] ops = this.ops;
+        final double[] c = this.coords;
+        char next = 'Z'; // next instruction
+        for (int i = 0, j = 0; i < numOps; i++) {
+            if (buf.length() != 0) {
+                buf.append(' ');
+            }
+            final int op = ops[i];
+            switch (op) {
+            case PathIterator.SEG_MOVETO:
+                buf.append('M');
+                next = 'L'; // move implies line
+                break;
+            case PathIterator.SEG_LINETO:
+                if (next != 'L') {
+                    buf.append(next = 'L');
+                }
+                break;
+            case PathIterator.SEG_QUADTO:
+                if (next != 'Q') {
+                    buf.append(next = 'Q');
+                }
+                break;
+            case PathIterator.SEG_CUBICTO:
+                if (next != 'C') {
+                    buf.append(next = 'C');
+                }
+                break;
+            case PathIterator.SEG_CLOSE:
+                if (next != 'Z') {
+                    buf.append(next = 'Z');
+                }
+                break;
+            }
+            for (int end = j + coordCount(op); j < end; j++) {
+                buf.append(nb.toString(c[j]));
+                if (j + 1 < end) {
+                    buf.append(',');
+                }
+            }
+        }
+        return buf.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PackedPath that = (PackedPath) o;
+        return windingRule == that.windingRule
+                && Arrays.equals(ops, 0, numOps, that.ops, 0, that.numOps)
+                && Arrays.equals(coords, 0, numCoords, that.coords, 0, that.numCoords);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = windingRule;
+        for (int i = 0; i < numOps; i++) {
+            result = 31 * result + ops[i];
+        }
+        for (int i = 0; i < numCoords; i++) {
+            result = 31 * result + Double.hashCode(coords[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "PackedPath{" + toSvgString() + '}';
+    }
+
+    private class PackedPathIterator implements PathIterator {
+        private final @Nullable AffineTransform tx;
+        private int index;
+        private int coordIndex;
+
+        PackedPathIterator(@Nullable AffineTransform tx) {
+            this.tx = tx == null || tx.isIdentity() ? null : tx;
+        }
+
+        @Override
+        public int getWindingRule() {
+            return windingRule;
+        }
+
+        @Override
+        public boolean isDone() {
+            return index >= numOps;
+        }
+
+        @Override
+        public void next() {
+            coordIndex += coordCount(ops[index]);
+            index++;
+        }
+
+        @Override
+        public int currentSegment(float @NonNull [] coords) {
+            if (isDone()) {
+                throw new NoSuchElementException("path iterator out of bounds");
+            }
+            final int op = ops[index];
+            final int count = coordCount(op);
+            if (tx == null) {
+                for (int i = 0; i < count; i++) {
+                    coords[i] = (float) PackedPath.this.coords[coordIndex + i];
+                }
+            } else {
+                tx.transform(PackedPath.this.coords, coordIndex, coords, 0, count / 2);
+            }
+            return op;
+        }
+
+        @Override
+        public int currentSegment(double @NonNull [] coords) {
+            if (isDone()) {
+                throw new NoSuchElementException("path iterator out of bounds");
+            }
+            final int op = ops[index];
+            final int count = coordCount(op);
+            if (tx == null) {
+                System.arraycopy(PackedPath.this.coords, coordIndex, coords, 0, count);
+            } else {
+                tx.transform(PackedPath.this.coords, coordIndex, coords, 0, count / 2);
+            }
+            return op;
+        }
+    }
+}
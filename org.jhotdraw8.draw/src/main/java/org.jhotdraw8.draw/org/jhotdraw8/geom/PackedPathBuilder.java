@@ -0,0 +1,135 @@
+/*
+ * @(#)PackedPathBuilder.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom;
+
+import org.jhotdraw8.annotation.NonNull;
+
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+
+/**
+ * Builds a {@link PackedPath}.
+ * <p>
+ * If a segment follows a {@code closePath} without a {@code moveTo},
+ * the builder inserts a {@code moveTo} to the start point of the closed
+ * subpath.
+ */
+public class PackedPathBuilder extends AbstractPathBuilder<PackedPath> {
+    private byte @NonNull [] ops = new byte[16];
+    private int numOps;
+    private double @NonNull [] coords = new double[32];
+    private int numCoords;
+    private final int windingRule;
+    private double startX, startY;
+    private boolean needsMoveTo;
+
+    /**
+     * Creates a new instance with winding rule
+     * {@link PathIterator#WIND_NON_ZERO}.
+     */
+    public PackedPathBuilder() {
+        this(PathIterator.WIND_NON_ZERO);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param windingRule {@link PathIterator#WIND_EVEN_ODD} or
+     *                    {@link PathIterator#WIND_NON_ZERO}
+     */
+    public PackedPathBuilder(int windingRule) {
+        this.windingRule = windingRule;
+    }
+
+    @Override
+    protected void doClosePath() {
+        if (needsMoveTo) {
+            return;
+        }
+        addOp(PathIterator.SEG_CLOSE, 0);
+        setLastX(startX);
+        setLastY(startY);
+        needsMoveTo = true;
+    }
+
+    @Override
+    protected void doCurveTo(double x1, double y1, double x2, double y2, double x, double y) {
+        ensureMoveTo();
+        int j = addOp(PathIterator.SEG_CUBICTO, 6);
+        coords[j] = x1;
+        coords[j + 1] = y1;
+        coords[j + 2] = x2;
+        coords[j + 3] = y2;
+        coords[j + 4] = x;
+        coords[j + 5] = y;
+    }
+
+    @Override
+    protected void doLineTo(double x, double y) {
+        ensureMoveTo();
+        int j = addOp(PathIterator.SEG_LINETO, 2);
+        coords[j] = x;
+        coords[j + 1] = y;
+    }
+
+    @Override
+    protected void doMoveTo(double x, double y) {
+        int j = addOp(PathIterator.SEG_MOVETO, 2);
+        coords[j] = x;
+        coords[j + 1] = y;
+        startX = x;
+        startY = y;
+        needsMoveTo = false;
+    }
+
+    @Override
+    protected void doQuadTo(double x1, double y1, double x, double y) {
+        ensureMoveTo();
+        int j = addOp(PathIterator.SEG_QUADTO, 4);
+        coords[j] = x1;
+        coords[j + 1] = y1;
+        coords[j + 2] = x;
+        coords[j + 3] = y;
+    }
+
+    @Override
+    protected void doPathDone() {
+        // empty
+    }
+
+    private void ensureMoveTo() {
+        if (needsMoveTo) {
+            doMoveTo(startX, startY);
+        }
+    }
+
+    /**
+     * Adds an opcode and reserves space for its coordinates.
+     *
+     * @return the index of the first reserved coordinate
+     */
+    private int addOp(int op, int coordCount) {
+        if (numOps == ops.length) {
+            ops = Arrays.copyOf(ops, numOps * 2);
+        }
+        ops[numOps++] = (byte) op;
+        int j = numCoords;
+        numCoords += coordCount;
+        if (numCoords > coords.length) {
+            coords = Arrays.copyOf(coords, Math.max(numCoords, coords.length * 2));
+        }
+        return j;
+    }
+
+    @Override
+    public @NonNull PackedPath build() {
+        if (numOps == 0) {
+            return windingRule == PathIterator.WIND_NON_ZERO ? PackedPath.EMPTY
+                    : new PackedPath(ops, 0, coords, 0, windingRule);
+        }
+        return new PackedPath(Arrays.copyOf(ops, numOps), numOps, Arrays.copyOf(coords, numCoords), numCoords,
+                windingRule);
+    }
+}
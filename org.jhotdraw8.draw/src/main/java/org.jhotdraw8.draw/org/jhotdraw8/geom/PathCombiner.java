@@ -0,0 +1,95 @@
+/*
+ * @(#)PathCombiner.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.geom.contour.ContourCombiner;
+import org.jhotdraw8.geom.contour.PolyArcPath;
+import org.jhotdraw8.geom.contour.PolyArcPathBuilder;
+
+import java.awt.geom.PathIterator;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Combines paths with Boolean operations.
+ * <p>
+ * Converts the paths into {@link PolyArcPath}s, and combines them with
+ * {@link ContourCombiner}. Quadratic and cubic curves are approximated
+ * with circular arcs, and the arcs of the result are converted back
+ * into cubic curves.
+ * <p>
+ * Each subpath is treated as a closed polyline. The subpaths of a path must
+ * not intersect themselves or each other. A subpath that lies inside an odd
+ * number of other subpaths is a hole.
+ */
+public class PathCombiner {
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private PathCombiner() {
+    }
+
+    /**
+     * Converts a path into closed polylines.
+     *
+     * @param iter      the path
+     * @param tolerance the maximal distance between a curve and the arcs
+     *                  that approximate it
+     * @return the polylines
+     */
+    public static @NonNull List<PolyArcPath> polyArcPathsFromAwt(@NonNull PathIterator iter, double tolerance) {
+        List<PolyArcPath> plines = SvgPaths.buildFromPathIterator(new PolyArcPathBuilder(tolerance), iter).build();
+        for (PolyArcPath pline : plines) {
+            pline.isClosed(true);
+        }
+        return plines;
+    }
+
+    /**
+     * Combines two paths.
+     *
+     * @param a         the first path
+     * @param b         the second path
+     * @param mode      the Boolean operation
+     * @param tolerance the maximal distance between a curve and the arcs
+     *                  that approximate it
+     * @param builder   the builder for the result
+     * @param <T>       the product type of the builder
+     * @return the product of the builder
+     */
+    public static <T> T combine(@NonNull PathIterator a, @NonNull PathIterator b, ContourCombiner.@NonNull CombineMode mode,
+                                double tolerance, @NonNull PathBuilder<T> builder) {
+        return build(ContourCombiner.combine(polyArcPathsFromAwt(a, tolerance), polyArcPathsFromAwt(b, tolerance), mode),
+                builder);
+    }
+
+    /**
+     * Computes the union of many paths.
+     *
+     * @param paths     the paths
+     * @param tolerance the maximal distance between a curve and the arcs
+     *                  that approximate it
+     * @param builder   the builder for the result
+     * @param <T>       the product type of the builder
+     * @return the product of the builder
+     * @see ContourCombiner#unionAll
+     */
+    public static <T> T unionAll(@NonNull Iterable<PathIterator> paths, double tolerance, @NonNull PathBuilder<T> builder) {
+        List<List<PolyArcPath>> operands = new ArrayList<>();
+        for (PathIterator iter : paths) {
+            operands.add(polyArcPathsFromAwt(iter, tolerance));
+        }
+        return build(ContourCombiner.unionAll(operands), builder);
+    }
+
+    private static <T> T build(@NonNull List<PolyArcPath> plines, @NonNull PathBuilder<T> builder) {
+        for (PolyArcPath pline : plines) {
+            SvgPaths.buildFromPathIterator(builder, pline.getPathIterator(null), false);
+        }
+        builder.pathDone();
+        return builder.build();
+    }
+}
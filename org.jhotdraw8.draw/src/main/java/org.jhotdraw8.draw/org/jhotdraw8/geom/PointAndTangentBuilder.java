@@ -6,6 +6,7 @@
 package org.jhotdraw8.geom;
 
 import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
 
 import java.awt.Shape;
 import java.awt.geom.CubicCurve2D;
@@ -31,10 +32,16 @@ import java.util.List;
  * <p>
  * If the path is empty, then all {@code t} are mapped to {@code point=(0,0),
  * tangent=(1,0)}.
+ * <p>
+ * {@link #getPointAndTangentAt(double)} maps {@code t} linearly to the
+ * parameter of a segment, which is only an approximation of the arc length
+ * for curved segments. {@link #getPointAndTangentAtLength(double)} uses an
+ * {@link ArcLengthTable} instead.
  */
 public class PointAndTangentBuilder {
     private final @NonNull List<Segment> segments = new ArrayList<>();
     private final double length;
+    private @Nullable ArcLengthTable arcLengthTable;
 
     /**
      * If all segments are degenerated, the builder will create a point and
@@ -180,6 +187,51 @@ public class PointAndTangentBuilder {
         }
     }
 
+    /**
+     * Returns the point and tangent at the specified arc length from the
+     * start of the path.
+     *
+     * @param s the arc length, is clamped to the range
+     *          [0, {@code getArcLengthTable().getLength()}]
+     * @return the point and tangent
+     */
+    public @NonNull PointAndTangent getPointAndTangentAtLength(double s) {
+        if (segments.isEmpty()) {
+            return new PointAndTangent(degeneratedX, degeneratedY, 1, 0);
+        }
+        return getArcLengthTable().getPointAndTangentAt(s);
+    }
+
+    /**
+     * Returns the arc length table of the non-empty segments of the path.
+     * The table is created on the first call of this method.
+     *
+     * @return the arc length table
+     */
+    public @NonNull ArcLengthTable getArcLengthTable() {
+        if (arcLengthTable == null) {
+            ArcLengthTableBuilder b = new ArcLengthTableBuilder();
+            for (Segment seg : segments) {
+                if (seg.shape instanceof Line2D.Double) {
+                    Line2D.Double line = (Line2D.Double) seg.shape;
+                    b.moveTo(line.x1, line.y1);
+                    b.lineTo(line.x2, line.y2);
+                } else if (seg.shape instanceof QuadCurve2D.Double) {
+                    QuadCurve2D.Double quadCurve = (QuadCurve2D.Double) seg.shape;
+                    b.moveTo(quadCurve.x1, quadCurve.y1);
+                    b.quadTo(quadCurve.ctrlx, quadCurve.ctrly, quadCurve.x2, quadCurve.y2);
+                } else {
+                    CubicCurve2D.Double cubicCurve = (CubicCurve2D.Double) seg.shape;
+                    b.moveTo(cubicCurve.x1, cubicCurve.y1);
+                    b.curveTo(cubicCurve.ctrlx1, cubicCurve.ctrly1, cubicCurve.ctrlx2, cubicCurve.ctrly2,
+                            cubicCurve.x2, cubicCurve.y2);
+                }
+            }
+            arcLengthTable = b.build();
+        }
+        return arcLengthTable;
+    }
+
     /**
      * Computes the length of the provided path.
      *
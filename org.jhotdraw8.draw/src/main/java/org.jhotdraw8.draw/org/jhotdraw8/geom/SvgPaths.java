@@ -652,6 +652,22 @@ public class SvgPaths {
         return b.build();
     }
 
+    /**
+     * Returns a value as a {@link PackedPath}.
+     * <p>
+     * Also supports elliptical arc commands 'a' and 'A' as specified in
+     * http://www.w3.org/TR/SVG/paths.html#PathDataEllipticalArcCommands
+     *
+     * @param str the SVG path
+     * @return the packed path
+     * @throws ParseException if the String is not a valid path
+     */
+    public static @NonNull PackedPath packedPathFromSvgString(@NonNull String str) throws ParseException {
+        PackedPathBuilder b = new PackedPathBuilder();
+        buildFromSvgString(b, str);
+        return b.build();
+    }
+
     /**
      * Fits the specified SVGPath into the given bounds.
      * <p>
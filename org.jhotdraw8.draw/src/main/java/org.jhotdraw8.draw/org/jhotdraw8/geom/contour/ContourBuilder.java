@@ -25,11 +25,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
-import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntPredicate;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static org.jhotdraw8.geom.contour.BulgeConversionFunctions.arcRadiusAndCenter;
 import static org.jhotdraw8.geom.contour.ContourIntersections.allSelfIntersects;
@@ -52,9 +52,27 @@ import static org.jhotdraw8.geom.contour.Utils.sliceJoinThreshold;
 import static org.jhotdraw8.geom.contour.Utils.unitPerp;
 
 public class ContourBuilder {
+    /**
+     * The default number of raw offset segments with intersects, at which
+     * the slices of an offset are validated in parallel.
+     */
+    static final int PARALLEL_SLICE_THRESHOLD = 256;
 
+    private final int parallelSliceThreshold;
 
     public ContourBuilder() {
+        this(PARALLEL_SLICE_THRESHOLD);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param parallelSliceThreshold the number of raw offset segments with
+     *                               intersects, at which the slices of an
+     *                               offset are validated in parallel
+     */
+    ContourBuilder(int parallelSliceThreshold) {
+        this.parallelSliceThreshold = parallelSliceThreshold;
     }
 
     /// Function to test if a point is a valid distance from the original polyline.
@@ -87,6 +105,25 @@ public class ContourBuilder {
         return pointValid[0];
     }
 
+    /// Function to test if a segment intersects the original polyline.
+    static boolean intersectsOrigPline(PolyArcPath originalPline, StaticSpatialIndex spatialIndex,
+                                       PlineVertex v1, PlineVertex v2, IntArrayDeque queryStack) {
+        AABB approxBB = createFastApproxBoundingBox(v1, v2);
+        boolean[] hasIntersect = {false};
+        IntPredicate visitor = (int i) -> {
+            int j = Utils.nextWrappingIndex(i, originalPline);
+            IntrPlineSegsResult intrResult =
+                    intrPlineSegs(v1, v2, originalPline.get(i), originalPline.get(j));
+            hasIntersect[0] = intrResult.intrType != PlineSegIntrType.NoIntersect;
+            return !hasIntersect[0];
+        };
+
+        spatialIndex.visitQuery(approxBB.getMinX(), approxBB.getMinY(),
+                approxBB.getMaxX(), approxBB.getMaxY(),
+                visitor, queryStack);
+        return hasIntersect[0];
+    }
+
     void addOrReplaceIfSamePos(PolyArcPath pline, final PlineVertex vertex) {
         addOrReplaceIfSamePos(pline, vertex, realPrecision);
     }
@@ -464,12 +501,19 @@ public class ContourBuilder {
     List<OpenPolylineSlice> dualSliceAtIntersectsForOffset(final PolyArcPath originalPline,
                                                            final PolyArcPath rawOffsetPline,
                                                            final PolyArcPath dualRawOffsetPline, double offset) {
+        return dualSliceAtIntersectsForOffset(originalPline, createApproxSpatialIndex(originalPline),
+                rawOffsetPline, dualRawOffsetPline, offset);
+    }
+
+    List<OpenPolylineSlice> dualSliceAtIntersectsForOffset(final PolyArcPath originalPline,
+                                                           final StaticSpatialIndex origPlineSpatialIndex,
+                                                           final PolyArcPath rawOffsetPline,
+                                                           final PolyArcPath dualRawOffsetPline, double offset) {
         List<OpenPolylineSlice> result = new ArrayList<>();
         if (rawOffsetPline.size() < 2) {
             return result;
         }
 
-        StaticSpatialIndex origPlineSpatialIndex = createApproxSpatialIndex(originalPline);
 
         Map<Integer, List<Point2D.Double>> intersectsLookup = computeIntersectionsOfRawWithSelfWithDualRawAndAtEndPoints(originalPline, rawOffsetPline, dualRawOffsetPline, offset);
 
@@ -497,23 +541,6 @@ public class ContourBuilder {
             entry.getValue().sort(cmp);
         }
 
-        BiPredicate<PlineVertex, PlineVertex> intersectsOrigPline = (final PlineVertex v1, final PlineVertex v2) -> {
-            AABB approxBB = createFastApproxBoundingBox(v1, v2);
-            boolean[] intersects = {false};
-            IntPredicate visitor = (int i) -> {
-                int j = Utils.nextWrappingIndex(i, originalPline);
-                IntrPlineSegsResult intrResult =
-                        intrPlineSegs(v1, v2, originalPline.get(i), originalPline.get(j));
-                intersects[0] = intrResult.intrType != PlineSegIntrType.NoIntersect;
-                return !intersects[0];
-            };
-
-            origPlineSpatialIndex.visitQuery(approxBB.getMinX(), approxBB.getMinY(),
-                    approxBB.getMaxX(), approxBB.getMaxY(),
-                    visitor, queryStack);
-
-            return intersects[0];
-        };
 
         if (!originalPline.isClosed()) {
             // build first open polyline that ends at the first intersect since we will not wrap back to
@@ -537,7 +564,8 @@ public class ContourBuilder {
                     }
 
                     // index check (only test segment if we're not adding the first vertex)
-                    if (index != 0 && intersectsOrigPline.test(firstSlice.lastVertex(), rawOffsetPline.get(index))) {
+                    if (index != 0 && intersectsOrigPline(originalPline, origPlineSpatialIndex, firstSlice.lastVertex(),
+                            rawOffsetPline.get(index), queryStack)) {
                         break;
                     }
 
@@ -560,7 +588,8 @@ public class ContourBuilder {
                         break;
                     }
 
-                    if (intersectsOrigPline.test(split.updatedStart, sliceEndVertex)) {
+                    if (intersectsOrigPline(originalPline, origPlineSpatialIndex, split.updatedStart, sliceEndVertex,
+                            queryStack)) {
                         break;
                     }
 
@@ -574,151 +603,159 @@ public class ContourBuilder {
             }
         }
 
-        for (final Map.Entry<Integer, List<Point2D.Double>> kvp : intersectsLookup.entrySet()) {
-            // start index for the slice we're about to build
-            int sIndex = kvp.getKey();
-            // self intersect list for this start index
-            List<Point2D.Double> siList = kvp.getValue();
-
-            final PlineVertex startVertex = rawOffsetPline.get(sIndex);
-            int nextIndex = Utils.nextWrappingIndex(sIndex, rawOffsetPline);
-            final PlineVertex endVertex = rawOffsetPline.get(nextIndex);
-
-            if (siList.size() != 1) {
-                // build all the segments between the N intersects in siList (N > 1), skipping the first
-                // segment (to be processed at the end)
-                SplitResult firstSplit = splitAtPoint(startVertex, endVertex, siList.get(0));
-                PlineVertex prevVertex = firstSplit.splitVertex;
-                for (int i = 1; i < siList.size(); ++i) {
-                    SplitResult split = splitAtPoint(prevVertex, endVertex, siList.get(i));
-                    // update prevVertex for next loop iteration
-                    prevVertex = split.splitVertex;
-                    // skip if they're ontop of each other
-                    if (Geom.almostEqual(split.updatedStart.pos(), split.splitVertex.pos(),
-                            Utils.realPrecision)) {
-                        continue;
-                    }
+        buildSlices(intersectsLookup, queryStack, result, (sIndex, siList, stack, slices) ->
+                dualSliceAtIntersects(originalPline, origPlineSpatialIndex, rawOffsetPline, offset, intersectsLookup,
+                        sIndex, siList, stack, slices));
 
-                    // test start point
-                    if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
-                            split.updatedStart.pos(), queryStack)) {
-                        continue;
-                    }
+        return result;
+    }
 
-                    // test end point
-                    if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
-                            split.splitVertex.pos(), queryStack)) {
-                        continue;
-                    }
+    /// Builds the slices that start at the intersects of the raw offset segment
+    /// with the specified index, and validates them against the original polyline.
+    private void dualSliceAtIntersects(final PolyArcPath originalPline,
+                                       final StaticSpatialIndex origPlineSpatialIndex,
+                                       final PolyArcPath rawOffsetPline, double offset,
+                                       final Map<Integer, List<Point2D.Double>> intersectsLookup,
+                                       int sIndex, List<Point2D.Double> siList,
+                                       IntArrayDeque queryStack, List<OpenPolylineSlice> result) {
+        final PlineVertex startVertex = rawOffsetPline.get(sIndex);
+        int nextIndex = Utils.nextWrappingIndex(sIndex, rawOffsetPline);
+        final PlineVertex endVertex = rawOffsetPline.get(nextIndex);
+
+        if (siList.size() != 1) {
+            // build all the segments between the N intersects in siList (N > 1), skipping the first
+            // segment (to be processed at the end)
+            SplitResult firstSplit = splitAtPoint(startVertex, endVertex, siList.get(0));
+            PlineVertex prevVertex = firstSplit.splitVertex;
+            for (int i = 1; i < siList.size(); ++i) {
+                SplitResult split = splitAtPoint(prevVertex, endVertex, siList.get(i));
+                // update prevVertex for next loop iteration
+                prevVertex = split.splitVertex;
+                // skip if they're ontop of each other
+                if (Geom.almostEqual(split.updatedStart.pos(), split.splitVertex.pos(),
+                        Utils.realPrecision)) {
+                    continue;
+                }
 
-                    // test mid point
-                    Point2D.Double midpoint = segMidpoint(split.updatedStart, split.splitVertex);
-                    if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, midpoint,
-                            queryStack)) {
-                        continue;
-                    }
+                // test start point
+                if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
+                        split.updatedStart.pos(), queryStack)) {
+                    continue;
+                }
 
-                    // test intersection with original polyline
-                    if (intersectsOrigPline.test(split.updatedStart, split.splitVertex)) {
-                        continue;
-                    }
-                    OpenPolylineSlice back = new OpenPolylineSlice(sIndex);
-                    back.pline.addVertex(split.updatedStart);
-                    back.pline.addVertex(split.splitVertex);
-                    result.add(back);
+                // test end point
+                if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
+                        split.splitVertex.pos(), queryStack)) {
+                    continue;
+                }
+
+                // test mid point
+                Point2D.Double midpoint = segMidpoint(split.updatedStart, split.splitVertex);
+                if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, midpoint,
+                        queryStack)) {
+                    continue;
                 }
+
+                // test intersection with original polyline
+                if (intersectsOrigPline(originalPline, origPlineSpatialIndex, split.updatedStart, split.splitVertex,
+                        queryStack)) {
+                    continue;
+                }
+                OpenPolylineSlice back = new OpenPolylineSlice(sIndex);
+                back.pline.addVertex(split.updatedStart);
+                back.pline.addVertex(split.splitVertex);
+                result.add(back);
             }
+        }
+
+        // build the segment between the last intersect in siList and the next intersect found
+
+        // check that the first point is valid
+        if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, siList.get(siList.size() - 1),
+                queryStack)) {
+            return;
+        }
 
-            // build the segment between the last intersect in siList and the next intersect found
+        SplitResult split = splitAtPoint(startVertex, endVertex, siList.get(siList.size() - 1));
+        PolyArcPath currSlice = new PolyArcPath();
+        currSlice.addVertex(split.splitVertex.clone());
+
+        int index = nextIndex;
+        boolean isValidPline = true;
+        int loopCount = 0;
+        final int maxLoopCount = rawOffsetPline.size();
+        while (true) {
+            if (loopCount++ > maxLoopCount) {
+                assert false : "Bug detected, should never loop this many times!";
+                // break to avoid infinite loop
+                break;
+            }
+            // check that vertex point is valid
+            if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
+                    rawOffsetPline.get(index).pos(), queryStack)) {
+                isValidPline = false;
+                break;
+            }
 
-            // check that the first point is valid
-            if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, siList.get(siList.size() - 1),
+            // check that the segment does not intersect original polyline
+            if (intersectsOrigPline(originalPline, origPlineSpatialIndex, currSlice.lastVertex(), rawOffsetPline.get(index),
                     queryStack)) {
-                continue;
+                isValidPline = false;
+                break;
             }
 
-            SplitResult split = splitAtPoint(startVertex, endVertex, siList.get(siList.size() - 1));
-            PolyArcPath currSlice = new PolyArcPath();
-            currSlice.addVertex(split.splitVertex.clone());
+            // add vertex
+            addOrReplaceIfSamePos(currSlice, rawOffsetPline.get(index).clone());
 
-            int index = nextIndex;
-            boolean isValidPline = true;
-            int loopCount = 0;
-            final int maxLoopCount = rawOffsetPline.size();
-            while (true) {
-                if (loopCount++ > maxLoopCount) {
-                    assert false : "Bug detected, should never loop this many times!";
-                    // break to avoid infinite loop
-                    break;
-                }
-                // check that vertex point is valid
+            // check if segment that starts at vertex we just added has an intersect
+            List<Point2D.Double> nextIntr = intersectsLookup.get(index);
+            if (nextIntr != null) {
+                // there is an intersect, slice is done, check if final segment is valid
+
+                // check intersect pos is valid (which will also be end vertex position)
+                final Point2D.Double intersectPos = nextIntr.get(0);
                 if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
-                        rawOffsetPline.get(index).pos(), queryStack)) {
+                        intersectPos, queryStack)) {
                     isValidPline = false;
                     break;
                 }
 
-                // check that the segment does not intersect original polyline
-                if (intersectsOrigPline.test(currSlice.lastVertex(), rawOffsetPline.get(index))) {
+                nextIndex = Utils.nextWrappingIndex(index, rawOffsetPline);
+                split =
+                        splitAtPoint(currSlice.lastVertex(), rawOffsetPline.get(nextIndex), intersectPos);
+
+                PlineVertex sliceEndVertex = new PlineVertex(intersectPos, 0.0);
+                // check mid point is valid
+                Point2D.Double mp = segMidpoint(split.updatedStart, sliceEndVertex);
+                if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, mp,
+                        queryStack)) {
                     isValidPline = false;
                     break;
                 }
 
-                // add vertex
-                addOrReplaceIfSamePos(currSlice, rawOffsetPline.get(index));
-
-                // check if segment that starts at vertex we just added has an intersect
-                List<Point2D.Double> nextIntr = intersectsLookup.get(index);
-                if (nextIntr != null) {
-                    // there is an intersect, slice is done, check if final segment is valid
-
-                    // check intersect pos is valid (which will also be end vertex position)
-                    final Point2D.Double intersectPos = nextIntr.get(0);
-                    if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
-                            intersectPos, queryStack)) {
-                        isValidPline = false;
-                        break;
-                    }
-
-                    nextIndex = Utils.nextWrappingIndex(index, rawOffsetPline);
-                    split =
-                            splitAtPoint(currSlice.lastVertex(), rawOffsetPline.get(nextIndex), intersectPos);
-
-                    PlineVertex sliceEndVertex = new PlineVertex(intersectPos, 0.0);
-                    // check mid point is valid
-                    Point2D.Double mp = segMidpoint(split.updatedStart, sliceEndVertex);
-                    if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, mp,
-                            queryStack)) {
-                        isValidPline = false;
-                        break;
-                    }
-
-                    // trim last added vertex and add final intersect position
-                    currSlice.lastVertex(split.updatedStart);
-                    addOrReplaceIfSamePos(currSlice, sliceEndVertex);
+                // trim last added vertex and add final intersect position
+                currSlice.lastVertex(split.updatedStart);
+                addOrReplaceIfSamePos(currSlice, sliceEndVertex);
 
-                    break;
-                }
-                // else there is not an intersect, increment index and continue
-                if (index == rawOffsetPline.size() - 1) {
-                    if (originalPline.isClosed()) {
-                        // wrap index
-                        index = 0;
-                    } else {
-                        // open polyline, we're done
-                        break;
-                    }
+                break;
+            }
+            // else there is not an intersect, increment index and continue
+            if (index == rawOffsetPline.size() - 1) {
+                if (originalPline.isClosed()) {
+                    // wrap index
+                    index = 0;
                 } else {
-                    index += 1;
+                    // open polyline, we're done
+                    break;
                 }
-            }
-
-            if (isValidPline && currSlice.size() > 1) {
-                result.add(new OpenPolylineSlice(sIndex, currSlice));
+            } else {
+                index += 1;
             }
         }
 
-        return result;
+        if (isValidPline && currSlice.size() > 1) {
+            result.add(new OpenPolylineSlice(sIndex, currSlice));
+        }
     }
 
     private @NonNull Map<Integer, List<Point2D.Double>> computeIntersectionsOfRawWithSelfWithDualRawAndAtEndPoints(
@@ -991,38 +1028,75 @@ public class ContourBuilder {
      * @return offset polyline
      */
     public @NonNull List<PolyArcPath> parallelOffset(@NonNull PolyArcPath pline, double offset) {
-        return parallelOffset(pline, offset, true);
+        if (pline.size() < 2) {
+            return new ArrayList<>();
+        }
+        return parallelOffset(pline, createApproxSpatialIndex(pline), offset, true);
+    }
+
+    /**
+     * Creates the parallel offset polylines to the polyline given, for
+     * each of the offsets given.
+     * <p>
+     * The offsets are computed in parallel on the common fork/join pool.
+     * The spatial index of the input polyline is only built once, and is
+     * shared by all offsets.
+     *
+     * @param pline   input polyline
+     * @param offsets offsets
+     * @return a list of offset polylines for each offset, in the order
+     * of the offsets
+     */
+    public @NonNull List<List<PolyArcPath>> parallelOffsets(@NonNull PolyArcPath pline, double @NonNull ... offsets) {
+        if (pline.size() < 2) {
+            List<List<PolyArcPath>> result = new ArrayList<>(offsets.length);
+            for (int i = 0; i < offsets.length; i++) {
+                result.add(new ArrayList<>());
+            }
+            return result;
+        }
+        StaticSpatialIndex spatialIndex = createApproxSpatialIndex(pline);
+        return Arrays.stream(offsets).parallel()
+                .mapToObj(offset -> parallelOffset(pline, spatialIndex, offset, true))
+                .collect(Collectors.toList());
     }
 
     /**
      * Creates the parallel offset polylines to the polyline given.
      *
-     * @param pline                 input polyline
+     * @param pline                 input polyline, must have at least 2 vertices
+     * @param plineSpatialIndex     spatial index of the input polyline
      * @param offset                offset
      * @param mayHaveSelfIntersects true if the polyline may have self-intersects
      * @return list of offset polylines
      */
-    private @NonNull List<PolyArcPath> parallelOffset(@NonNull PolyArcPath pline, double offset,
+    private @NonNull List<PolyArcPath> parallelOffset(@NonNull PolyArcPath pline,
+                                                      @NonNull StaticSpatialIndex plineSpatialIndex,
+                                                      double offset,
                                                       boolean mayHaveSelfIntersects) {
-
-        if (pline.size() < 2) {
-            return new ArrayList<>();
-        }
         PolyArcPath rawOffset = createRawOffsetPline(pline, offset);
         if (pline.isClosed() && !mayHaveSelfIntersects) {
-            List<OpenPolylineSlice> slices = slicesFromRawOffset(pline, rawOffset, offset);
+            List<OpenPolylineSlice> slices = slicesFromRawOffset(pline, plineSpatialIndex, rawOffset, offset);
             return stitchOffsetSlicesTogether(slices, pline.isClosed(), rawOffset.size() - 1);
         }
 
         // not closed polyline or has self intersects, must apply dual clipping
         PolyArcPath dualRawOffset = createRawOffsetPline(pline, -offset);
-        List<OpenPolylineSlice> slices = dualSliceAtIntersectsForOffset(pline, rawOffset, dualRawOffset, offset);
+        List<OpenPolylineSlice> slices = dualSliceAtIntersectsForOffset(pline, plineSpatialIndex, rawOffset,
+                dualRawOffset, offset);
         return stitchOffsetSlicesTogether(slices, pline.isClosed(), rawOffset.size() - 1);
     }
 
     List<OpenPolylineSlice> slicesFromRawOffset(final PolyArcPath originalPline,
                                                 final PolyArcPath rawOffsetPline,
                                                 double offset) {
+        return slicesFromRawOffset(originalPline, createApproxSpatialIndex(originalPline), rawOffsetPline, offset);
+    }
+
+    List<OpenPolylineSlice> slicesFromRawOffset(final PolyArcPath originalPline,
+                                                final StaticSpatialIndex origPlineSpatialIndex,
+                                                final PolyArcPath rawOffsetPline,
+                                                double offset) {
         assert originalPline.isClosed() : "use dual slice at intersects for open polylines";
 
         List<OpenPolylineSlice> result = new ArrayList<>();
@@ -1030,7 +1104,6 @@ public class ContourBuilder {
             return result;
         }
 
-        StaticSpatialIndex origPlineSpatialIndex = createApproxSpatialIndex(originalPline);
         StaticSpatialIndex rawOffsetPlineSpatialIndex = createApproxSpatialIndex(rawOffsetPline);
 
         List<PlineIntersect> selfIntersects = new ArrayList<>();
@@ -1065,168 +1138,195 @@ public class ContourBuilder {
             kvp.getValue().sort(cmp);
         }
 
-        BiPredicate<PlineVertex, PlineVertex> intersectsOrigPline = (final PlineVertex v1, final PlineVertex v2) -> {
-            AABB approxBB = createFastApproxBoundingBox(v1, v2);
-            boolean[] hasIntersect = new boolean[]{false};
-            IntPredicate visitor = (int i) -> {
-                int j = Utils.nextWrappingIndex(i, originalPline);
-                IntrPlineSegsResult intrResult =
-                        intrPlineSegs(v1, v2, originalPline.get(i), originalPline.get(j));
-                hasIntersect[0] = intrResult.intrType != PlineSegIntrType.NoIntersect;
-                return !hasIntersect[0];
-            };
-
-            origPlineSpatialIndex.visitQuery(approxBB.getMinX(), approxBB.getMinY(),
-                    approxBB.getMaxX(), approxBB.getMaxY(),
-                    visitor, queryStack);
-
-            return hasIntersect[0];
-        };
+        buildSlices(intersectsLookup, queryStack, result, (sIndex, siList, stack, slices) ->
+                sliceAtIntersects(originalPline, origPlineSpatialIndex, rawOffsetPline, offset, intersectsLookup,
+                        sIndex, siList, stack, slices));
 
-        for (final Map.Entry<Integer, List<Point2D.Double>> kvp : intersectsLookup.entrySet()) {
-            // start index for the slice we're about to build
-            int sIndex = kvp.getKey();
-            // self intersect list for this start index
-            List<Point2D.Double> siList = kvp.getValue();
-
-            final PlineVertex startVertex = rawOffsetPline.get(sIndex);
-            int nextIndex = Utils.nextWrappingIndex(sIndex, rawOffsetPline);
-            final PlineVertex endVertex = rawOffsetPline.get(nextIndex);
-
-            if (siList.size() != 1) {
-                // build all the segments between the N intersects in siList (N > 1), skipping the first
-                // segment (to be processed at the end)
-                SplitResult firstSplit = splitAtPoint(startVertex, endVertex, siList.get(0));
-                PlineVertex prevVertex = firstSplit.splitVertex;
-                for (int i = 1; i < siList.size(); ++i) {
-                    SplitResult split = splitAtPoint(prevVertex, endVertex, siList.get(i));
-                    // update prevVertex for next loop iteration
-                    prevVertex = split.splitVertex;
-                    // skip if they're ontop of each other
-                    if (Geom.almostEqual(split.updatedStart.pos(), split.splitVertex.pos(),
-                            Utils.realPrecision)) {
-                        continue;
-                    }
+        return result;
+    }
 
-                    // test start point
-                    if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
-                            split.updatedStart.pos(), queryStack)) {
-                        continue;
-                    }
+    /// Builds the slices that start at the intersects of the raw offset segment
+    /// with the specified index, and validates them against the original polyline.
+    private void sliceAtIntersects(final PolyArcPath originalPline,
+                                   final StaticSpatialIndex origPlineSpatialIndex,
+                                   final PolyArcPath rawOffsetPline, double offset,
+                                   final Map<Integer, List<Point2D.Double>> intersectsLookup,
+                                   int sIndex, List<Point2D.Double> siList,
+                                   IntArrayDeque queryStack, List<OpenPolylineSlice> result) {
+        final PlineVertex startVertex = rawOffsetPline.get(sIndex);
+        int nextIndex = Utils.nextWrappingIndex(sIndex, rawOffsetPline);
+        final PlineVertex endVertex = rawOffsetPline.get(nextIndex);
+
+        if (siList.size() != 1) {
+            // build all the segments between the N intersects in siList (N > 1), skipping the first
+            // segment (to be processed at the end)
+            SplitResult firstSplit = splitAtPoint(startVertex, endVertex, siList.get(0));
+            PlineVertex prevVertex = firstSplit.splitVertex;
+            for (int i = 1; i < siList.size(); ++i) {
+                SplitResult split = splitAtPoint(prevVertex, endVertex, siList.get(i));
+                // update prevVertex for next loop iteration
+                prevVertex = split.splitVertex;
+                // skip if they're ontop of each other
+                if (Geom.almostEqual(split.updatedStart.pos(), split.splitVertex.pos(),
+                        Utils.realPrecision)) {
+                    continue;
+                }
 
-                    // test end point
-                    if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
-                            split.splitVertex.pos(), queryStack)) {
-                        continue;
-                    }
+                // test start point
+                if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
+                        split.updatedStart.pos(), queryStack)) {
+                    continue;
+                }
 
-                    // test mid point
-                    Point2D.Double midpoint = segMidpoint(split.updatedStart, split.splitVertex);
-                    if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, midpoint,
-                            queryStack)) {
-                        continue;
-                    }
+                // test end point
+                if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
+                        split.splitVertex.pos(), queryStack)) {
+                    continue;
+                }
 
-                    // test intersection with original polyline
-                    if (intersectsOrigPline.test(split.updatedStart, split.splitVertex)) {
-                        continue;
-                    }
+                // test mid point
+                Point2D.Double midpoint = segMidpoint(split.updatedStart, split.splitVertex);
+                if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, midpoint,
+                        queryStack)) {
+                    continue;
+                }
 
-                    OpenPolylineSlice back = new OpenPolylineSlice(sIndex);
-                    back.pline.addVertex(split.updatedStart);
-                    back.pline.addVertex(split.splitVertex);
-                    result.add(back);
+                // test intersection with original polyline
+                if (intersectsOrigPline(originalPline, origPlineSpatialIndex, split.updatedStart, split.splitVertex,
+                        queryStack)) {
+                    continue;
                 }
+
+                OpenPolylineSlice back = new OpenPolylineSlice(sIndex);
+                back.pline.addVertex(split.updatedStart);
+                back.pline.addVertex(split.splitVertex);
+                result.add(back);
             }
+        }
 
-            // build the segment between the last intersect in siList and the next intersect found
+        // build the segment between the last intersect in siList and the next intersect found
 
-            // check that the first point is valid
-            if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, siList.get(siList.size() - 1),
+        // check that the first point is valid
+        if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, siList.get(siList.size() - 1),
+                queryStack)) {
+            return;
+        }
+
+        SplitResult split = splitAtPoint(startVertex, endVertex, siList.get(siList.size() - 1));
+        PolyArcPath currSlice = new PolyArcPath();
+        currSlice.addVertex(split.splitVertex);
+
+        int index = nextIndex;
+        boolean isValidPline = true;
+        int loopCount = 0;
+        final int maxLoopCount = rawOffsetPline.size();
+        while (true) {
+            if (loopCount++ > maxLoopCount) {
+                assert false : "Bug detected, should never loop this many times!";
+                // break to avoid infinite loop
+                break;
+            }
+            // check that vertex point is valid
+            if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
+                    rawOffsetPline.get(index).pos(), queryStack)) {
+                isValidPline = false;
+                break;
+            }
+
+            // check that the segment does not intersect original polyline
+            if (intersectsOrigPline(originalPline, origPlineSpatialIndex, currSlice.lastVertex(), rawOffsetPline.get(index),
                     queryStack)) {
-                continue;
+                isValidPline = false;
+                break;
             }
 
-            SplitResult split = splitAtPoint(startVertex, endVertex, siList.get(siList.size() - 1));
-            PolyArcPath currSlice = new PolyArcPath();
-            currSlice.addVertex(split.splitVertex);
+            // add vertex
+            addOrReplaceIfSamePos(currSlice, rawOffsetPline.get(index).clone());
 
-            int index = nextIndex;
-            boolean isValidPline = true;
-            int loopCount = 0;
-            final int maxLoopCount = rawOffsetPline.size();
-            while (true) {
-                if (loopCount++ > maxLoopCount) {
-                    assert false : "Bug detected, should never loop this many times!";
-                    // break to avoid infinite loop
-                    break;
-                }
-                // check that vertex point is valid
+            // check if segment that starts at vertex we just added has an intersect
+            List<Point2D.Double> nextIntr = intersectsLookup.get(index);
+            if (nextIntr != null) {
+                // there is an intersect, slice is done, check if final segment is valid
+
+                // check intersect pos is valid (which will also be end vertex position)
+                final Point2D.Double intersectPos = nextIntr.get(0);
                 if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
-                        rawOffsetPline.get(index).pos(), queryStack)) {
+                        intersectPos, queryStack)) {
                     isValidPline = false;
                     break;
                 }
 
-                // check that the segment does not intersect original polyline
-                if (intersectsOrigPline.test(currSlice.lastVertex(), rawOffsetPline.get(index))) {
+                nextIndex = Utils.nextWrappingIndex(index, rawOffsetPline);
+                split =
+                        splitAtPoint(currSlice.lastVertex(), rawOffsetPline.get(nextIndex), intersectPos);
+
+                PlineVertex sliceEndVertex = new PlineVertex(intersectPos, 0.0);
+                // check mid point is valid
+                Point2D.Double mp = segMidpoint(split.updatedStart, sliceEndVertex);
+                if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, mp,
+                        queryStack)) {
                     isValidPline = false;
                     break;
                 }
 
-                // add vertex
-                addOrReplaceIfSamePos(currSlice, rawOffsetPline.get(index));
-
-                // check if segment that starts at vertex we just added has an intersect
-                List<Point2D.Double> nextIntr = intersectsLookup.get(index);
-                if (nextIntr != null) {
-                    // there is an intersect, slice is done, check if final segment is valid
+                // trim last added vertex and add final intersect position
+                currSlice.lastVertex(split.updatedStart);
+                addOrReplaceIfSamePos(currSlice, sliceEndVertex);
 
-                    // check intersect pos is valid (which will also be end vertex position)
-                    final Point2D.Double intersectPos = nextIntr.get(0);
-                    if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex,
-                            intersectPos, queryStack)) {
-                        isValidPline = false;
-                        break;
-                    }
-
-                    nextIndex = Utils.nextWrappingIndex(index, rawOffsetPline);
-                    split =
-                            splitAtPoint(currSlice.lastVertex(), rawOffsetPline.get(nextIndex), intersectPos);
-
-                    PlineVertex sliceEndVertex = new PlineVertex(intersectPos, 0.0);
-                    // check mid point is valid
-                    Point2D.Double mp = segMidpoint(split.updatedStart, sliceEndVertex);
-                    if (!pointValidForOffset(originalPline, offset, origPlineSpatialIndex, mp,
-                            queryStack)) {
-                        isValidPline = false;
-                        break;
-                    }
-
-                    // trim last added vertex and add final intersect position
-                    currSlice.lastVertex(split.updatedStart);
-                    addOrReplaceIfSamePos(currSlice, sliceEndVertex);
-
-                    break;
-                }
-                // else there is not an intersect, increment index and continue
-                index = Utils.nextWrappingIndex(index, rawOffsetPline);
+                break;
             }
+            // else there is not an intersect, increment index and continue
+            index = Utils.nextWrappingIndex(index, rawOffsetPline);
+        }
 
-            isValidPline = isValidPline && currSlice.size() > 1;
+        isValidPline = isValidPline && currSlice.size() > 1;
 
-            if (isValidPline && Geom.almostEqual(currSlice.get(0).pos(), currSlice.lastVertex().pos())) {
-                // discard very short slice loops (invalid loops may arise due to valid offset distance
-                // thresholding)
-                isValidPline = currSlice.getPathLength() > 1e-2;
-            }
+        if (isValidPline && Geom.almostEqual(currSlice.get(0).pos(), currSlice.lastVertex().pos())) {
+            // discard very short slice loops (invalid loops may arise due to valid offset distance
+            // thresholding)
+            isValidPline = currSlice.getPathLength() > 1e-2;
+        }
 
-            if (isValidPline) {
-                result.add(new OpenPolylineSlice(sIndex, currSlice));
+        if (isValidPline) {
+            result.add(new OpenPolylineSlice(sIndex, currSlice));
+        }
+    }
+
+    /// Builds the slices for all entries of the intersects lookup.
+    ///
+    /// The slices of each entry are built and validated independently of each other. If there are
+    /// many entries, we build them in parallel. Each task uses its own query stack. The slices are
+    /// collected in the iteration order of the lookup, so that the result does not depend on
+    /// whether we run in parallel.
+    ///
+    /// The vertices of the raw offset polyline are shared by all tasks. The slice builders copy
+    /// them before adding them to a slice, because {@link #addOrReplaceIfSamePos} changes the
+    /// bulge of the last vertex of a slice.
+    private void buildSlices(final Map<Integer, List<Point2D.Double>> intersectsLookup,
+                             final IntArrayDeque queryStack,
+                             final List<OpenPolylineSlice> result,
+                             final SliceBuilder sliceBuilder) {
+        if (intersectsLookup.size() < parallelSliceThreshold) {
+            for (final Map.Entry<Integer, List<Point2D.Double>> kvp : intersectsLookup.entrySet()) {
+                sliceBuilder.build(kvp.getKey(), kvp.getValue(), queryStack, result);
             }
+            return;
         }
 
-        return result;
+        List<Map.Entry<Integer, List<Point2D.Double>>> entries = new ArrayList<>(intersectsLookup.entrySet());
+        result.addAll(entries.parallelStream()
+                .flatMap(kvp -> {
+                    List<OpenPolylineSlice> slices = new ArrayList<>();
+                    sliceBuilder.build(kvp.getKey(), kvp.getValue(), new IntArrayDeque(8), slices);
+                    return slices.stream();
+                })
+                .collect(Collectors.toList()));
+    }
+
+    @FunctionalInterface
+    private interface SliceBuilder {
+        void build(int sIndex, List<Point2D.Double> siList, IntArrayDeque queryStack,
+                   List<OpenPolylineSlice> result);
     }
 
     protected List<PolyArcPath> stitchOffsetSlicesTogether(
@@ -0,0 +1,577 @@
+/*
+ * @(#)ContourCombiner.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom.contour;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+import org.jhotdraw8.collection.IntArrayDeque;
+import org.jhotdraw8.collection.IntArrayList;
+import org.jhotdraw8.geom.AABB;
+import org.jhotdraw8.geom.Geom;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.jhotdraw8.geom.contour.BulgeConversionFunctions.arcRadiusAndCenter;
+import static org.jhotdraw8.geom.contour.ContourIntersections.findIntersects;
+import static org.jhotdraw8.geom.contour.PlineVertex.closestPointOnSeg;
+import static org.jhotdraw8.geom.contour.PlineVertex.createFastApproxBoundingBox;
+import static org.jhotdraw8.geom.contour.PlineVertex.segMidpoint;
+import static org.jhotdraw8.geom.contour.PlineVertex.splitAtPoint;
+import static org.jhotdraw8.geom.contour.PolyArcPath.createApproxSpatialIndex;
+import static org.jhotdraw8.geom.contour.Utils.realPrecision;
+import static org.jhotdraw8.geom.contour.Utils.sliceJoinThreshold;
+
+/**
+ * Combines closed {@link PolyArcPath}s with Boolean operations.
+ * <p>
+ * An operand is a list of closed polylines. The polylines must not
+ * intersect themselves or each other. The direction of the polylines
+ * is ignored: a polyline that lies inside an odd number of other polylines
+ * of the same operand is a hole.
+ * <p>
+ * The polylines of the result are counter clockwise for outer boundaries,
+ * and clockwise for holes (see {@link PolyArcPath#getArea()}). The result
+ * can be filled with the even-odd or with the non-zero winding rule.
+ * <p>
+ * The algorithm slices the polylines of both operands at their
+ * intersections (see {@link ContourIntersections}), keeps the slices that
+ * lie on the boundary of the result, and stitches them together into
+ * closed polylines.
+ */
+public class ContourCombiner {
+    /**
+     * Boolean operations.
+     */
+    public enum CombineMode {
+        /**
+         * The area that is in the first or in the second operand.
+         */
+        UNION,
+        /**
+         * The area that is in the first and in the second operand.
+         */
+        INTERSECTION,
+        /**
+         * The area that is in the first operand but not in the second.
+         */
+        DIFFERENCE,
+        /**
+         * The area that is in exactly one of the two operands.
+         */
+        XOR
+    }
+
+    /**
+     * Location of a slice relative to the other operand.
+     */
+    private enum Location {
+        OUTSIDE, INSIDE,
+        /**
+         * On the boundary of the other operand, with the same direction.
+         */
+        SAME_BOUNDARY,
+        /**
+         * On the boundary of the other operand, with the opposite direction.
+         */
+        OPPOSITE_BOUNDARY
+    }
+
+    /**
+     * A closed polyline of an operand.
+     */
+    private static class Loop {
+        final @NonNull PolyArcPath pline;
+        final @NonNull StaticSpatialIndex spatialIndex;
+        final @NonNull AABB bounds;
+        /**
+         * Split points of each segment, null if the segment has none.
+         */
+        final @NonNull List<List<Point2D.Double>> splitPoints;
+
+        Loop(@NonNull PolyArcPath pline) {
+            this.pline = pline;
+            this.spatialIndex = createApproxSpatialIndex(pline);
+            this.bounds = getApproxBounds(pline);
+            this.splitPoints = new ArrayList<>(Collections.nCopies(pline.size(), null));
+        }
+
+        void addSplitPoint(int segIndex, @NonNull Point2D.Double point) {
+            List<Point2D.Double> points = splitPoints.get(segIndex);
+            if (points == null) {
+                points = new ArrayList<>();
+                splitPoints.set(segIndex, points);
+            }
+            points.add(point);
+        }
+    }
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private ContourCombiner() {
+    }
+
+    /**
+     * Combines two closed polylines.
+     *
+     * @param a    the first operand
+     * @param b    the second operand
+     * @param mode the Boolean operation
+     * @return the closed polylines of the result
+     */
+    public static @NonNull List<PolyArcPath> combine(@NonNull PolyArcPath a, @NonNull PolyArcPath b, @NonNull CombineMode mode) {
+        return combine(Collections.singletonList(a), Collections.singletonList(b), mode);
+    }
+
+    /**
+     * Combines two operands that consist of closed polylines.
+     *
+     * @param a    the closed polylines of the first operand
+     * @param b    the closed polylines of the second operand
+     * @param mode the Boolean operation
+     * @return the closed polylines of the result
+     */
+    public static @NonNull List<PolyArcPath> combine(@NonNull List<PolyArcPath> a, @NonNull List<PolyArcPath> b, @NonNull CombineMode mode) {
+        List<Loop> loopsA = createLoops(a);
+        List<Loop> loopsB = createLoops(b);
+        findSplitPoints(loopsA, loopsB);
+
+        List<PolyArcPath> result = new ArrayList<>();
+        List<PolyArcPath> slices = new ArrayList<>();
+        IntArrayList queryResults = new IntArrayList();
+        IntArrayDeque queryStack = new IntArrayDeque(8);
+        collectSlices(loopsA, loopsB, mode, true, slices, result, queryResults, queryStack);
+        collectSlices(loopsB, loopsA, mode, false, slices, result, queryResults, queryStack);
+        stitchSlices(slices, result, queryResults, queryStack);
+        return result;
+    }
+
+    /**
+     * Computes the union of many operands.
+     * <p>
+     * Keeps the closed polylines of the union computed so far in a
+     * {@link DynamicSpatialIndex}. Each operand is only combined with the
+     * polylines whose bounds overlap with its bounds.
+     *
+     * @param operands the operands, each operand consists of closed polylines
+     * @return the closed polylines of the union
+     */
+    public static @NonNull List<PolyArcPath> unionAll(@NonNull Iterable<? extends List<PolyArcPath>> operands) {
+        DynamicSpatialIndex spatialIndex = new DynamicSpatialIndex();
+        List<PolyArcPath> items = new ArrayList<>();
+        IntArrayList queryResults = new IntArrayList();
+        IntArrayDeque queryStack = new IntArrayDeque(8);
+        for (List<PolyArcPath> operand : operands) {
+            AABB bounds = null;
+            for (PolyArcPath pline : operand) {
+                if (pline.size() > 1) {
+                    bounds = union(bounds, getApproxBounds(pline));
+                }
+            }
+            if (bounds == null) {
+                continue;
+            }
+
+            queryResults.clear();
+            spatialIndex.query(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY(), queryResults, queryStack);
+            List<PolyArcPath> overlapping = new ArrayList<>(queryResults.size());
+            for (int i = 0, n = queryResults.size(); i < n; i++) {
+                int item = queryResults.getAsInt(i);
+                overlapping.add(items.get(item));
+                items.set(item, null);
+                spatialIndex.remove(item);
+            }
+
+            for (PolyArcPath pline : combine(overlapping, operand, CombineMode.UNION)) {
+                AABB b = getApproxBounds(pline);
+                int item = spatialIndex.add(b.getMinX(), b.getMinY(), b.getMaxX(), b.getMaxY());
+                while (items.size() <= item) {
+                    items.add(null);
+                }
+                items.set(item, pline);
+            }
+        }
+
+        List<PolyArcPath> result = new ArrayList<>(spatialIndex.size());
+        for (PolyArcPath pline : items) {
+            if (pline != null) {
+                result.add(pline);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates loops from the specified polylines. Removes repeated
+     * vertices and degenerate polylines, and orients the polylines,
+     * so that outer boundaries are counter clockwise and holes are
+     * clockwise.
+     */
+    private static @NonNull List<Loop> createLoops(@NonNull List<PolyArcPath> plines) {
+        List<PolyArcPath> cleaned = new ArrayList<>(plines.size());
+        for (PolyArcPath pline : plines) {
+            PolyArcPath c = removeRepeatedVertices(pline);
+            if (c.size() > 1 && Math.abs(c.getArea()) > realPrecision * realPrecision) {
+                cleaned.add(c);
+            }
+        }
+
+        List<AABB> bounds = new ArrayList<>(cleaned.size());
+        for (PolyArcPath pline : cleaned) {
+            bounds.add(getApproxBounds(pline));
+        }
+        List<Loop> loops = new ArrayList<>(cleaned.size());
+        for (int i = 0, n = cleaned.size(); i < n; i++) {
+            PolyArcPath pline = cleaned.get(i);
+            Point2D.Double p = segMidpoint(pline.get(0), pline.get(1));
+            int depth = 0;
+            for (int j = 0; j < n; j++) {
+                if (j != i && contains(bounds.get(j), p) && cleaned.get(j).getWindingNumber(p) != 0) {
+                    depth++;
+                }
+            }
+            boolean isHole = (depth & 1) == 1;
+            if ((pline.getArea() > 0) == isHole) {
+                PolyArcPath.invertDirection(pline);
+            }
+            loops.add(new Loop(pline));
+        }
+        return loops;
+    }
+
+    /**
+     * Returns a closed copy of the polyline without repeated vertices.
+     */
+    private static @NonNull PolyArcPath removeRepeatedVertices(@NonNull PolyArcPath pline) {
+        PolyArcPath result = new PolyArcPath(pline.size());
+        result.isClosed(true);
+        for (PlineVertex v : pline) {
+            if (!result.isEmpty() && Geom.almostEqual(result.lastVertex().pos(), v.pos(), realPrecision)) {
+                result.lastVertex().bulge(v.bulge());
+            } else {
+                result.add(new PlineVertex(v.getX(), v.getY(), v.bulge()));
+            }
+        }
+        while (result.size() > 1 && Geom.almostEqual(result.lastVertex().pos(), result.get(0).pos(), realPrecision)) {
+            result.removeLast();
+        }
+        return result;
+    }
+
+    /**
+     * Adds the intersections between the loops of a and the loops of b
+     * as split points to the loops.
+     */
+    private static void findSplitPoints(@NonNull List<Loop> loopsA, @NonNull List<Loop> loopsB) {
+        for (Loop a : loopsA) {
+            for (Loop b : loopsB) {
+                if (!intersects(a.bounds, b.bounds)) {
+                    continue;
+                }
+                PlineIntersectsResult intersects = new PlineIntersectsResult();
+                findIntersects(a.pline, b.pline, a.spatialIndex, intersects);
+                for (PlineIntersect intr : intersects.intersects) {
+                    a.addSplitPoint(intr.sIndex1, intr.pos);
+                    b.addSplitPoint(intr.sIndex2, intr.pos);
+                }
+                for (PlineCoincidentIntersect intr : intersects.coincidentIntersects) {
+                    a.addSplitPoint(intr.sIndex1, intr.point1);
+                    a.addSplitPoint(intr.sIndex1, intr.point2);
+                    b.addSplitPoint(intr.sIndex2, intr.point1);
+                    b.addSplitPoint(intr.sIndex2, intr.point2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Slices the loops at their split points, and adds the slices that
+     * are on the boundary of the result to the slices list. Adds loops
+     * without split points that are on the boundary of the result to the
+     * result list.
+     */
+    private static void collectSlices(@NonNull List<Loop> loops, @NonNull List<Loop> others, @NonNull CombineMode mode,
+                                      boolean isFirstOperand,
+                                      @NonNull List<PolyArcPath> slices, @NonNull List<PolyArcPath> result,
+                                      @NonNull IntArrayList queryResults, @NonNull IntArrayDeque queryStack) {
+        for (Loop loop : loops) {
+            List<PolyArcPath> loopSlices = sliceAtSplitPoints(loop);
+            if (loopSlices == null) {
+                PolyArcPath pline = loop.pline.clone();
+                int direction = getDirection(mode, isFirstOperand, locate(pline, true, others, queryResults, queryStack));
+                if (direction != 0) {
+                    if (direction < 0) {
+                        PolyArcPath.invertDirection(pline);
+                    }
+                    result.add(pline);
+                }
+            } else {
+                for (PolyArcPath slice : loopSlices) {
+                    Location location = locate(slice, false, others, queryResults, queryStack);
+                    int direction = location == null ? 0 : getDirection(mode, isFirstOperand, location);
+                    if (direction != 0) {
+                        if (direction < 0) {
+                            PolyArcPath.invertDirection(slice);
+                        }
+                        slices.add(slice);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns 1 if a slice with the specified location is on the boundary
+     * of the result, -1 if it is on the boundary with opposite direction,
+     * and 0 if it is not on the boundary.
+     */
+    private static int getDirection(@NonNull CombineMode mode, boolean isFirstOperand, @NonNull Location location) {
+        switch (mode) {
+        case UNION:
+            return location == Location.OUTSIDE
+                    || isFirstOperand && location == Location.SAME_BOUNDARY ? 1 : 0;
+        case INTERSECTION:
+            return location == Location.INSIDE
+                    || isFirstOperand && location == Location.SAME_BOUNDARY ? 1 : 0;
+        case DIFFERENCE:
+            if (isFirstOperand) {
+                return location == Location.OUTSIDE || location == Location.OPPOSITE_BOUNDARY ? 1 : 0;
+            }
+            return location == Location.INSIDE ? -1 : 0;
+        case XOR:
+        default:
+            return location == Location.OUTSIDE ? 1 : location == Location.INSIDE ? -1 : 0;
+        }
+    }
+
+    /**
+     * Slices a loop at its split points.
+     *
+     * @return the slices, or null if the loop has no split points
+     */
+    private static @Nullable List<PolyArcPath> sliceAtSplitPoints(@NonNull Loop loop) {
+        PolyArcPath pline = loop.pline;
+        int n = pline.size();
+        PolyArcPath vertices = new PolyArcPath(n);
+        BitSet isSplitVertex = new BitSet();
+        int[] firstVertexOfSeg = new int[n];
+        boolean[] splitsAtEnd = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            PlineVertex v1 = pline.get(i);
+            PlineVertex v2 = pline.get(Utils.nextWrappingIndex(i, pline));
+            firstVertexOfSeg[i] = vertices.size();
+            PlineVertex current = new PlineVertex(v1.getX(), v1.getY(), v1.bulge());
+            boolean currentIsSplit = false;
+            List<Point2D.Double> points = loop.splitPoints.get(i);
+            if (points != null) {
+                Point2D.Double start = v1.pos();
+                points.sort(Comparator.comparingDouble(start::distanceSq));
+                for (Point2D.Double p : points) {
+                    if (Geom.almostEqual(p, current.pos(), realPrecision)) {
+                        currentIsSplit = true;
+                    } else if (Geom.almostEqual(p, v2.pos(), realPrecision)) {
+                        splitsAtEnd[i] = true;
+                    } else {
+                        SplitResult split = splitAtPoint(current, v2, p);
+                        isSplitVertex.set(vertices.size(), currentIsSplit);
+                        vertices.add(split.updatedStart);
+                        current = split.splitVertex;
+                        currentIsSplit = true;
+                    }
+                }
+            }
+            isSplitVertex.set(vertices.size(), currentIsSplit);
+            vertices.add(current);
+        }
+        for (int i = 0; i < n; i++) {
+            if (splitsAtEnd[i]) {
+                isSplitVertex.set(firstVertexOfSeg[Utils.nextWrappingIndex(i, pline)]);
+            }
+        }
+
+        int first = isSplitVertex.nextSetBit(0);
+        if (first < 0) {
+            return null;
+        }
+        List<PolyArcPath> slices = new ArrayList<>();
+        int m = vertices.size();
+        int start = first;
+        do {
+            int end = isSplitVertex.nextSetBit(start + 1);
+            if (end < 0) {
+                end = first;
+            }
+            PolyArcPath slice = new PolyArcPath();
+            for (int j = start; ; j = j == m - 1 ? 0 : j + 1) {
+                PlineVertex v = vertices.get(j);
+                if (j == end && !slice.isEmpty()) {
+                    slice.add(new PlineVertex(v.getX(), v.getY(), 0.0));
+                    break;
+                }
+                slice.add(new PlineVertex(v.getX(), v.getY(), v.bulge()));
+            }
+            slices.add(slice);
+            start = end;
+        } while (start != first);
+        return slices;
+    }
+
+    /**
+     * Locates a slice relative to the other operand. Uses the midpoint
+     * of the longest segment of the slice.
+     *
+     * @param slice    a slice
+     * @param isClosed whether the slice is a closed polyline
+     * @param others   the loops of the other operand
+     * @return the location, or null if the slice is degenerate
+     */
+    private static @Nullable Location locate(@NonNull PolyArcPath slice, boolean isClosed, @NonNull List<Loop> others,
+                                             @NonNull IntArrayList queryResults, @NonNull IntArrayDeque queryStack) {
+        int longest = -1;
+        double longestLength = realPrecision * realPrecision;
+        for (int i = 0, n = isClosed ? slice.size() : slice.size() - 1; i < n; i++) {
+            double length = slice.get(i).pos().distanceSq(slice.get(Utils.nextWrappingIndex(i, slice)).pos());
+            if (length > longestLength) {
+                longestLength = length;
+                longest = i;
+            }
+        }
+        if (longest < 0) {
+            return null;
+        }
+        PlineVertex v1 = slice.get(longest);
+        PlineVertex v2 = slice.get(Utils.nextWrappingIndex(longest, slice));
+        Point2D.Double p = segMidpoint(v1, v2);
+        Point2D.Double tangent = segTangent(v1, v2, p);
+
+        double eps = sliceJoinThreshold;
+        int windingNumber = 0;
+        for (Loop other : others) {
+            AABB b = other.bounds;
+            if (p.getX() < b.getMinX() - eps || p.getX() > b.getMaxX() + eps
+                    || p.getY() < b.getMinY() - eps || p.getY() > b.getMaxY() + eps) {
+                continue;
+            }
+            queryResults.clear();
+            other.spatialIndex.query(p.getX() - eps, p.getY() - eps, p.getX() + eps, p.getY() + eps, queryResults, queryStack);
+            for (int i = 0, n = queryResults.size(); i < n; i++) {
+                int segIndex = queryResults.getAsInt(i);
+                PlineVertex u1 = other.pline.get(segIndex);
+                PlineVertex u2 = other.pline.get(Utils.nextWrappingIndex(segIndex, other.pline));
+                Point2D.Double closest = closestPointOnSeg(u1, u2, p);
+                if (closest.distanceSq(p) < eps * eps) {
+                    Point2D.Double otherTangent = segTangent(u1, u2, closest);
+                    return tangent.getX() * otherTangent.getX() + tangent.getY() * otherTangent.getY() > 0
+                            ? Location.SAME_BOUNDARY : Location.OPPOSITE_BOUNDARY;
+                }
+            }
+            windingNumber += other.pline.getWindingNumber(p);
+        }
+        return windingNumber != 0 ? Location.INSIDE : Location.OUTSIDE;
+    }
+
+    /**
+     * Computes the tangent vector of the segment v1 to v2 at the specified
+     * point on the segment.
+     */
+    private static @NonNull Point2D.Double segTangent(@NonNull PlineVertex v1, @NonNull PlineVertex v2, @NonNull Point2D.Double p) {
+        if (v1.bulgeIsZero()) {
+            return new Point2D.Double(v2.getX() - v1.getX(), v2.getY() - v1.getY());
+        }
+        Point2D.Double center = arcRadiusAndCenter(v1, v2).getCenter();
+        double rx = p.getX() - center.getX(), ry = p.getY() - center.getY();
+        return v1.bulgeIsPos() ? new Point2D.Double(-ry, rx) : new Point2D.Double(ry, -rx);
+    }
+
+    /**
+     * Stitches open slices together into closed polylines.
+     */
+    private static void stitchSlices(@NonNull List<PolyArcPath> slices, @NonNull List<PolyArcPath> result,
+                                     @NonNull IntArrayList queryResults, @NonNull IntArrayDeque queryStack) {
+        int n = slices.size();
+        if (n == 0) {
+            return;
+        }
+        double eps = sliceJoinThreshold;
+        StaticSpatialIndex startPoints = new StaticSpatialIndex(n);
+        for (PolyArcPath slice : slices) {
+            PlineVertex v = slice.get(0);
+            startPoints.add(v.getX() - eps, v.getY() - eps, v.getX() + eps, v.getY() + eps);
+        }
+        startPoints.finish();
+
+        boolean[] used = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            if (used[i]) {
+                continue;
+            }
+            PolyArcPath pline = new PolyArcPath();
+            pline.isClosed(true);
+            Point2D.Double start = slices.get(i).get(0).pos();
+            for (int current = i; current >= 0; ) {
+                used[current] = true;
+                PolyArcPath slice = slices.get(current);
+                for (int j = 0, m = slice.size() - 1; j < m; j++) {
+                    pline.add(slice.get(j));
+                }
+                PlineVertex end = slice.lastVertex();
+                if (Geom.almostEqual(end.pos(), start, eps)) {
+                    break;
+                }
+
+                queryResults.clear();
+                startPoints.query(end.getX(), end.getY(), end.getX(), end.getY(), queryResults, queryStack);
+                current = -1;
+                for (int k = 0, m = queryResults.size(); k < m; k++) {
+                    int candidate = queryResults.getAsInt(k);
+                    if (!used[candidate] && Geom.almostEqual(slices.get(candidate).get(0).pos(), end.pos(), eps)) {
+                        current = candidate;
+                        break;
+                    }
+                }
+                if (current < 0) {
+                    // dead end: close the polyline with a line
+                    pline.add(new PlineVertex(end.getX(), end.getY(), 0.0));
+                }
+            }
+            if (pline.size() > 1 && Math.abs(pline.getArea()) > realPrecision * realPrecision) {
+                result.add(pline);
+            }
+        }
+    }
+
+    private static @NonNull AABB getApproxBounds(@NonNull PolyArcPath pline) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0, n = pline.size(); i < n; i++) {
+            AABB b = createFastApproxBoundingBox(pline.get(i), pline.get(Utils.nextWrappingIndex(i, pline)));
+            minX = Math.min(minX, b.getMinX());
+            minY = Math.min(minY, b.getMinY());
+            maxX = Math.max(maxX, b.getMaxX());
+            maxY = Math.max(maxY, b.getMaxY());
+        }
+        return new AABB(minX, minY, maxX, maxY);
+    }
+
+    private static @NonNull AABB union(@Nullable AABB a, @NonNull AABB b) {
+        return a == null ? b : new AABB(Math.min(a.getMinX(), b.getMinX()), Math.min(a.getMinY(), b.getMinY()),
+                Math.max(a.getMaxX(), b.getMaxX()), Math.max(a.getMaxY(), b.getMaxY()));
+    }
+
+    private static boolean intersects(@NonNull AABB a, @NonNull AABB b) {
+        return a.getMinX() <= b.getMaxX() && b.getMinX() <= a.getMaxX()
+                && a.getMinY() <= b.getMaxY() && b.getMinY() <= a.getMaxY();
+    }
+
+    private static boolean contains(@NonNull AABB a, @NonNull Point2D.Double p) {
+        return a.getMinX() <= p.getX() && p.getX() <= a.getMaxX()
+                && a.getMinY() <= p.getY() && p.getY() <= a.getMaxY();
+    }
+}
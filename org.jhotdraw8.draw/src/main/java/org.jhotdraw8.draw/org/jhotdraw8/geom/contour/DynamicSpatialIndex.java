@@ -0,0 +1,846 @@
+/*
+ * @(#)DynamicSpatialIndex.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom.contour;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.IntArrayDeque;
+import org.jhotdraw8.collection.IntArrayList;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * A spatial index that supports insertion, removal and update of items.
+ * <p>
+ * This is the dynamic counterpart of {@link StaticSpatialIndex}. A static
+ * index must be rebuilt whenever a bounding box changes, a dynamic index
+ * can be kept alive across edits.
+ * <p>
+ * The index is an R-tree with quadratic split. Like in
+ * {@link StaticSpatialIndex}, the bounding boxes are stored in
+ * {@code double[]} arrays with 4 entries per box: minX,minY,maxX,maxY.
+ * <p>
+ * Items are identified by the index that is returned by
+ * {@link #add(double, double, double, double)}. The index of a removed
+ * item may be reused by a later call to {@code add}.
+ * <p>
+ * This class is not thread-safe. Concurrent queries are safe if each
+ * query uses its own stack, and if the index is not modified.
+ */
+public class DynamicSpatialIndex {
+    /**
+     * Describes the bounding box of each item. Contains 4 entries for each
+     * item: minX,minY,maxX,maxY.
+     */
+    private double[] itemBoxes;
+    /**
+     * The leaf node that contains the item, or -1 if the item index is
+     * not in use.
+     */
+    private int[] itemNodes;
+    /**
+     * Item indices that are not in use and can be reused.
+     */
+    private final @NonNull IntArrayList freeItems = new IntArrayList();
+    /**
+     * The number of item indices that have been handed out.
+     */
+    private int itemCount;
+    /**
+     * The number of items in the index.
+     */
+    private int size;
+
+    /**
+     * Describes the bounding box of each node. Contains 4 entries for each
+     * node: minX,minY,maxX,maxY.
+     */
+    private double[] nodeBoxes;
+    /**
+     * The entries of each node: child nodes of inner nodes, items of leaf
+     * nodes. Contains {@code nodeSize + 1} entries for each node, so that
+     * a node can overflow by one entry before it is split.
+     */
+    private int[] nodeEntries;
+    /**
+     * The number of entries of each node.
+     */
+    private int[] nodeCounts;
+    /**
+     * The parent of each node, or -1 for the root node.
+     */
+    private int[] nodeParents;
+    /**
+     * The height of each node above the leaves. Leaf nodes have height 0.
+     */
+    private int[] nodeHeights;
+    /**
+     * Nodes that are not in use and can be reused.
+     */
+    private final @NonNull IntArrayList freeNodes = new IntArrayList();
+    /**
+     * The number of nodes that have been handed out.
+     */
+    private int nodeCount;
+    private int root;
+
+    /**
+     * Maximal number of entries in a node.
+     */
+    private final int nodeSize;
+    /**
+     * Minimal number of entries in a node, except for the root node.
+     */
+    private final int minNodeSize;
+    /**
+     * Stride of {@link #nodeEntries}.
+     */
+    private final int stride;
+
+    /**
+     * Creates a new instance.
+     */
+    public DynamicSpatialIndex() {
+        this(16);
+    }
+
+    /**
+     * Creates a new instance which uses the specified maximal number of
+     * entries per node.
+     *
+     * @param nodeSize number of entries per node
+     */
+    public DynamicSpatialIndex(int nodeSize) {
+        if (!(4 <= nodeSize && nodeSize <= 65535)) {
+            throw new IllegalArgumentException("node size (" + nodeSize + ") must be between 4 and 65535");
+        }
+        this.nodeSize = nodeSize;
+        this.minNodeSize = Math.max(2, nodeSize * 2 / 5);
+        this.stride = nodeSize + 1;
+        itemBoxes = new double[16 * 4];
+        itemNodes = new int[16];
+        nodeBoxes = new double[4 * 4];
+        nodeEntries = new int[4 * stride];
+        nodeCounts = new int[4];
+        nodeParents = new int[4];
+        nodeHeights = new int[4];
+        root = allocateNode(0);
+    }
+
+    /**
+     * Returns the number of items in the index.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the index is empty.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns true if the specified item index is in use.
+     *
+     * @param item an item index
+     * @return true if the index contains the item
+     */
+    public boolean contains(int item) {
+        return item >= 0 && item < itemCount && itemNodes[item] != -1;
+    }
+
+    /**
+     * Removes all items.
+     */
+    public void clear() {
+        size = 0;
+        itemCount = 0;
+        freeItems.clear();
+        nodeCount = 0;
+        freeNodes.clear();
+        root = allocateNode(0);
+    }
+
+    /**
+     * Adds an item with the specified bounding box.
+     *
+     * @param minX the minimal x coordinate of the bounding box
+     * @param minY the minimal y coordinate of the bounding box
+     * @param maxX the maximal x coordinate of the bounding box
+     * @param maxY the maximal y coordinate of the bounding box
+     * @return the index of the item
+     */
+    public int add(double minX, double minY, double maxX, double maxY) {
+        int item;
+        if (freeItems.isEmpty()) {
+            item = itemCount++;
+            if (item == itemNodes.length) {
+                itemNodes = Arrays.copyOf(itemNodes, item * 2);
+                itemBoxes = Arrays.copyOf(itemBoxes, item * 2 * 4);
+            }
+        } else {
+            item = freeItems.removeLastAsInt();
+        }
+        setItemBox(item, minX, minY, maxX, maxY);
+        insert(item);
+        size++;
+        return item;
+    }
+
+    /**
+     * Removes the specified item.
+     *
+     * @param item the index of the item
+     * @throws IllegalArgumentException if the index does not contain the item
+     */
+    public void remove(int item) {
+        checkItem(item);
+        detach(item);
+        freeItems.addAsInt(item);
+        size--;
+    }
+
+    /**
+     * Updates the bounding box of the specified item.
+     * <p>
+     * If the new bounding box is contained in the leaf node of the item,
+     * the item stays in its leaf node.
+     *
+     * @param item the index of the item
+     * @param minX the minimal x coordinate of the bounding box
+     * @param minY the minimal y coordinate of the bounding box
+     * @param maxX the maximal x coordinate of the bounding box
+     * @param maxY the maximal y coordinate of the bounding box
+     * @throws IllegalArgumentException if the index does not contain the item
+     */
+    public void update(int item, double minX, double minY, double maxX, double maxY) {
+        checkItem(item);
+        int leaf = itemNodes[item];
+        int p = leaf * 4;
+        if (nodeBoxes[p] <= minX && nodeBoxes[p + 1] <= minY
+                && maxX <= nodeBoxes[p + 2] && maxY <= nodeBoxes[p + 3]) {
+            setItemBox(item, minX, minY, maxX, maxY);
+            tighten(leaf);
+        } else {
+            detach(item);
+            setItemBox(item, minX, minY, maxX, maxY);
+            insert(item);
+        }
+    }
+
+    /**
+     * Returns the minimal x coordinate of the bounding box of the
+     * specified item.
+     *
+     * @param item the index of the item
+     * @return minX
+     */
+    public double getMinX(int item) {
+        checkItem(item);
+        return itemBoxes[item * 4];
+    }
+
+    /**
+     * Returns the minimal y coordinate of the bounding box of the
+     * specified item.
+     *
+     * @param item the index of the item
+     * @return minY
+     */
+    public double getMinY(int item) {
+        checkItem(item);
+        return itemBoxes[item * 4 + 1];
+    }
+
+    /**
+     * Returns the maximal x coordinate of the bounding box of the
+     * specified item.
+     *
+     * @param item the index of the item
+     * @return maxX
+     */
+    public double getMaxX(int item) {
+        checkItem(item);
+        return itemBoxes[item * 4 + 2];
+    }
+
+    /**
+     * Returns the maximal y coordinate of the bounding box of the
+     * specified item.
+     *
+     * @param item the index of the item
+     * @return maxY
+     */
+    public double getMaxY(int item) {
+        checkItem(item);
+        return itemBoxes[item * 4 + 3];
+    }
+
+    /**
+     * {@link #query(double, double, double, double, IntArrayList, IntArrayDeque)}
+     *
+     * @param minX
+     * @param minY
+     * @param maxX
+     * @param maxY
+     * @param results
+     */
+    public void query(double minX, double minY, double maxX, double maxY, @NonNull IntArrayList results) {
+        query(minX, minY, maxX, maxY, results, new IntArrayDeque(16));
+    }
+
+    /**
+     * Query the spatial index adding indexes to the results vector given. This overload accepts an
+     * existing vector to use as a stack and takes care of clearing the stack before use.
+     */
+    public void query(double minX, double minY, double maxX, double maxY, @NonNull IntArrayList results,
+                      @NonNull IntArrayDeque stack) {
+        visitQuery(minX, minY, maxX, maxY, index -> {
+            results.addAsInt(index);
+            return true;
+        }, stack);
+    }
+
+    /**
+     * {@link #visitQuery(double, double, double, double, IntPredicate, IntArrayDeque)}
+     *
+     * @param minX
+     * @param minY
+     * @param maxX
+     * @param maxY
+     * @param visitor
+     */
+    public void visitQuery(double minX, double minY, double maxX, double maxY, @NonNull IntPredicate visitor) {
+        visitQuery(minX, minY, maxX, maxY, visitor, new IntArrayDeque(16));
+    }
+
+    /**
+     * Query the spatial index, invoking a visitor function for each index that overlaps the bounding
+     * box given. Visitor function has the signature boolean(int index), if visitor returns false
+     * the query stops early, otherwise the query continues. This overload accepts an existing vector
+     * to use as a stack and takes care of clearing the stack before use.
+     */
+    public void visitQuery(double minX, double minY, double maxX, double maxY, @NonNull IntPredicate visitor,
+                           @NonNull IntArrayDeque stack) {
+        stack.clear();
+        if (size == 0) {
+            return;
+        }
+        stack.pushAsInt(root);
+        while (!stack.isEmpty()) {
+            int node = stack.popAsInt();
+            boolean isLeaf = nodeHeights[node] == 0;
+            double[] boxes = isLeaf ? itemBoxes : nodeBoxes;
+            for (int i = node * stride, end = i + nodeCounts[node]; i < end; i++) {
+                int entry = nodeEntries[i];
+                int pos = entry * 4;
+                if (maxX < boxes[pos] || maxY < boxes[pos + 1] || minX > boxes[pos + 2] ||
+                        minY > boxes[pos + 3]) {
+                    // no intersect
+                    continue;
+                }
+                if (isLeaf) {
+                    if (!visitor.test(entry)) {
+                        return;
+                    }
+                } else {
+                    stack.pushAsInt(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the item whose bounding box is nearest to the specified point.
+     *
+     * @param x           the x coordinate of the point
+     * @param y           the y coordinate of the point
+     * @param maxDistance the maximal distance
+     * @return the index of the nearest item, or -1 if no item is within
+     * the maximal distance
+     */
+    public int nearest(double x, double y, double maxDistance) {
+        int[] result = {-1};
+        visitNearest(x, y, maxDistance, index -> {
+            result[0] = index;
+            return false;
+        });
+        return result[0];
+    }
+
+    /**
+     * Adds the k items whose bounding boxes are nearest to the specified
+     * point to the results vector given, in the order of increasing
+     * distance.
+     *
+     * @param x           the x coordinate of the point
+     * @param y           the y coordinate of the point
+     * @param k           the maximal number of items
+     * @param maxDistance the maximal distance
+     * @param results     the results vector
+     */
+    public void nearest(double x, double y, int k, double maxDistance, @NonNull IntArrayList results) {
+        if (k <= 0) {
+            return;
+        }
+        int[] count = {0};
+        visitNearest(x, y, maxDistance, index -> {
+            results.addAsInt(index);
+            return ++count[0] < k;
+        });
+    }
+
+    /**
+     * Invokes a visitor function for each item whose bounding box is
+     * within the maximal distance of the specified point, in the order of
+     * increasing distance. The distance of a point inside a bounding box
+     * is 0. Visitor function has the signature boolean(int index), if
+     * visitor returns false the query stops early, otherwise the query
+     * continues.
+     *
+     * @param x           the x coordinate of the point
+     * @param y           the y coordinate of the point
+     * @param maxDistance the maximal distance
+     * @param visitor     the visitor
+     */
+    public void visitNearest(double x, double y, double maxDistance, @NonNull IntPredicate visitor) {
+        if (size == 0) {
+            return;
+        }
+        final double maxDistSq = maxDistance * maxDistance;
+        // Nodes are stored with their index, items with -1 - their index.
+        DistanceQueue queue = new DistanceQueue();
+        queue.add(distSq(nodeBoxes, root * 4, x, y), root);
+        while (!queue.isEmpty()) {
+            double dist = queue.peekDistance();
+            int entry = queue.remove();
+            if (dist > maxDistSq) {
+                return;
+            }
+            if (entry < 0) {
+                if (!visitor.test(-1 - entry)) {
+                    return;
+                }
+                continue;
+            }
+            boolean isLeaf = nodeHeights[entry] == 0;
+            double[] boxes = isLeaf ? itemBoxes : nodeBoxes;
+            for (int i = entry * stride, end = i + nodeCounts[entry]; i < end; i++) {
+                int child = nodeEntries[i];
+                double d = distSq(boxes, child * 4, x, y);
+                if (d <= maxDistSq) {
+                    queue.add(d, isLeaf ? -1 - child : child);
+                }
+            }
+        }
+    }
+
+    private static double distSq(double @NonNull [] boxes, int pos, double x, double y) {
+        double dx = Math.max(0, Math.max(boxes[pos] - x, x - boxes[pos + 2]));
+        double dy = Math.max(0, Math.max(boxes[pos + 1] - y, y - boxes[pos + 3]));
+        return dx * dx + dy * dy;
+    }
+
+    private void checkItem(int item) {
+        if (!contains(item)) {
+            throw new IllegalArgumentException("item (" + item + ") is not in the index");
+        }
+    }
+
+    private void setItemBox(int item, double minX, double minY, double maxX, double maxY) {
+        int pos = item * 4;
+        itemBoxes[pos] = minX;
+        itemBoxes[pos + 1] = minY;
+        itemBoxes[pos + 2] = maxX;
+        itemBoxes[pos + 3] = maxY;
+    }
+
+    private int allocateNode(int height) {
+        int node;
+        if (freeNodes.isEmpty()) {
+            node = nodeCount++;
+            if (node == nodeCounts.length) {
+                int capacity = node * 2;
+                nodeBoxes = Arrays.copyOf(nodeBoxes, capacity * 4);
+                nodeEntries = Arrays.copyOf(nodeEntries, capacity * stride);
+                nodeCounts = Arrays.copyOf(nodeCounts, capacity);
+                nodeParents = Arrays.copyOf(nodeParents, capacity);
+                nodeHeights = Arrays.copyOf(nodeHeights, capacity);
+            }
+        } else {
+            node = freeNodes.removeLastAsInt();
+        }
+        nodeCounts[node] = 0;
+        nodeParents[node] = -1;
+        nodeHeights[node] = height;
+        int pos = node * 4;
+        nodeBoxes[pos] = Double.POSITIVE_INFINITY;
+        nodeBoxes[pos + 1] = Double.POSITIVE_INFINITY;
+        nodeBoxes[pos + 2] = Double.NEGATIVE_INFINITY;
+        nodeBoxes[pos + 3] = Double.NEGATIVE_INFINITY;
+        return node;
+    }
+
+    private void addEntry(int node, int entry) {
+        nodeEntries[node * stride + nodeCounts[node]++] = entry;
+        if (nodeHeights[node] == 0) {
+            itemNodes[entry] = node;
+        } else {
+            nodeParents[entry] = node;
+        }
+    }
+
+    private void removeEntry(int node, int entry) {
+        int start = node * stride;
+        int last = start + nodeCounts[node] - 1;
+        for (int i = start; i <= last; i++) {
+            if (nodeEntries[i] == entry) {
+                nodeEntries[i] = nodeEntries[last];
+                nodeCounts[node]--;
+                return;
+            }
+        }
+        throw new AssertionError("entry " + entry + " not found in node " + node);
+    }
+
+    /**
+     * Inserts an item into the tree.
+     */
+    private void insert(int item) {
+        final int pos = item * 4;
+        final double minX = itemBoxes[pos], minY = itemBoxes[pos + 1],
+                maxX = itemBoxes[pos + 2], maxY = itemBoxes[pos + 3];
+
+        // choose the leaf that needs the least enlargement, extend the boxes on the way down
+        int node = root;
+        while (true) {
+            extend(node, minX, minY, maxX, maxY);
+            if (nodeHeights[node] == 0) {
+                break;
+            }
+            int best = -1;
+            double bestEnlargement = Double.POSITIVE_INFINITY, bestArea = Double.POSITIVE_INFINITY;
+            for (int i = node * stride, end = i + nodeCounts[node]; i < end; i++) {
+                int child = nodeEntries[i];
+                int p = child * 4;
+                double area = area(nodeBoxes[p], nodeBoxes[p + 1], nodeBoxes[p + 2], nodeBoxes[p + 3]);
+                double enlargement = area(Math.min(minX, nodeBoxes[p]), Math.min(minY, nodeBoxes[p + 1]),
+                        Math.max(maxX, nodeBoxes[p + 2]), Math.max(maxY, nodeBoxes[p + 3])) - area;
+                if (enlargement < bestEnlargement || enlargement == bestEnlargement && area < bestArea) {
+                    best = child;
+                    bestEnlargement = enlargement;
+                    bestArea = area;
+                }
+            }
+            node = best;
+        }
+        addEntry(node, item);
+
+        // split overflowing nodes on the way up
+        while (nodeCounts[node] > nodeSize) {
+            int sibling = split(node);
+            int parent = nodeParents[node];
+            if (parent == -1) {
+                parent = allocateNode(nodeHeights[node] + 1);
+                addEntry(parent, node);
+                addEntry(parent, sibling);
+                recomputeBox(parent);
+                root = parent;
+                break;
+            }
+            addEntry(parent, sibling);
+            node = parent;
+        }
+    }
+
+    /**
+     * Removes an item from the tree, but keeps its index in use.
+     */
+    private void detach(int item) {
+        int node = itemNodes[item];
+        removeEntry(node, item);
+        itemNodes[item] = -1;
+
+        // condense the tree: remove underfull nodes and collect their items for reinsertion
+        IntArrayList orphans = null;
+        while (node != root) {
+            int parent = nodeParents[node];
+            if (nodeCounts[node] < minNodeSize) {
+                removeEntry(parent, node);
+                if (orphans == null) {
+                    orphans = new IntArrayList();
+                }
+                freeSubtree(node, orphans);
+            } else {
+                recomputeBox(node);
+            }
+            node = parent;
+        }
+        recomputeBox(root);
+
+        // shorten the tree
+        while (nodeHeights[root] > 0 && nodeCounts[root] <= 1) {
+            int oldRoot = root;
+            if (nodeCounts[oldRoot] == 0) {
+                nodeHeights[oldRoot] = 0;
+                break;
+            }
+            root = nodeEntries[oldRoot * stride];
+            nodeParents[root] = -1;
+            freeNodes.addAsInt(oldRoot);
+        }
+
+        if (orphans != null) {
+            for (int i = 0, n = orphans.size(); i < n; i++) {
+                insert(orphans.getAsInt(i));
+            }
+        }
+    }
+
+    /**
+     * Frees the specified node and its descendants, and adds their items
+     * to the specified list.
+     */
+    private void freeSubtree(int node, @NonNull IntArrayList items) {
+        for (int i = node * stride, end = i + nodeCounts[node]; i < end; i++) {
+            int entry = nodeEntries[i];
+            if (nodeHeights[node] == 0) {
+                itemNodes[entry] = -1;
+                items.addAsInt(entry);
+            } else {
+                freeSubtree(entry, items);
+            }
+        }
+        freeNodes.addAsInt(node);
+    }
+
+    /**
+     * Recomputes the boxes of the specified node and of its ancestors,
+     * until a box does not change.
+     */
+    private void tighten(int node) {
+        while (node != -1 && recomputeBox(node)) {
+            node = nodeParents[node];
+        }
+    }
+
+    /**
+     * Splits the specified overflowing node with the quadratic split
+     * algorithm by Guttman.
+     *
+     * @return the new sibling node
+     */
+    private int split(int node) {
+        final int count = nodeCounts[node];
+        final boolean isLeaf = nodeHeights[node] == 0;
+        final double[] boxes = isLeaf ? itemBoxes : nodeBoxes;
+        final int[] entries = Arrays.copyOfRange(nodeEntries, node * stride, node * stride + count);
+        final int sibling = allocateNode(nodeHeights[node]);
+        nodeCounts[node] = 0;
+        int pos = node * 4;
+        nodeBoxes[pos] = Double.POSITIVE_INFINITY;
+        nodeBoxes[pos + 1] = Double.POSITIVE_INFINITY;
+        nodeBoxes[pos + 2] = Double.NEGATIVE_INFINITY;
+        nodeBoxes[pos + 3] = Double.NEGATIVE_INFINITY;
+
+        // pick the two seeds that would waste the most area if put together
+        int seed1 = 0, seed2 = 1;
+        double worst = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int pi = entries[i] * 4;
+            for (int j = i + 1; j < count; j++) {
+                int pj = entries[j] * 4;
+                double waste = area(Math.min(boxes[pi], boxes[pj]), Math.min(boxes[pi + 1], boxes[pj + 1]),
+                        Math.max(boxes[pi + 2], boxes[pj + 2]), Math.max(boxes[pi + 3], boxes[pj + 3]))
+                        - area(boxes[pi], boxes[pi + 1], boxes[pi + 2], boxes[pi + 3])
+                        - area(boxes[pj], boxes[pj + 1], boxes[pj + 2], boxes[pj + 3]);
+                if (waste > worst) {
+                    worst = waste;
+                    seed1 = i;
+                    seed2 = j;
+                }
+            }
+        }
+        boolean[] assigned = new boolean[count];
+        assign(node, entries[seed1], boxes);
+        assign(sibling, entries[seed2], boxes);
+        assigned[seed1] = assigned[seed2] = true;
+
+        // assign the remaining entries
+        for (int remaining = count - 2; remaining > 0; remaining--) {
+            if (nodeCounts[node] + remaining == minNodeSize) {
+                assignRemaining(node, entries, assigned, boxes);
+                break;
+            }
+            if (nodeCounts[sibling] + remaining == minNodeSize) {
+                assignRemaining(sibling, entries, assigned, boxes);
+                break;
+            }
+
+            // pick the entry with the greatest preference for one group
+            int next = -1;
+            double d1 = 0, d2 = 0, maxDiff = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                if (assigned[i]) {
+                    continue;
+                }
+                double e1 = enlargement(node, boxes, entries[i] * 4);
+                double e2 = enlargement(sibling, boxes, entries[i] * 4);
+                double diff = Math.abs(e1 - e2);
+                if (diff > maxDiff) {
+                    maxDiff = diff;
+                    next = i;
+                    d1 = e1;
+                    d2 = e2;
+                }
+            }
+            int target;
+            if (d1 != d2) {
+                target = d1 < d2 ? node : sibling;
+            } else {
+                double a1 = boxArea(node), a2 = boxArea(sibling);
+                target = a1 != a2 ? (a1 < a2 ? node : sibling)
+                        : (nodeCounts[node] <= nodeCounts[sibling] ? node : sibling);
+            }
+            assign(target, entries[next], boxes);
+            assigned[next] = true;
+        }
+        return sibling;
+    }
+
+    private void assign(int node, int entry, double @NonNull [] boxes) {
+        addEntry(node, entry);
+        int p = entry * 4;
+        extend(node, boxes[p], boxes[p + 1], boxes[p + 2], boxes[p + 3]);
+    }
+
+    private void assignRemaining(int node, int @NonNull [] entries, boolean @NonNull [] assigned,
+                                 double @NonNull [] boxes) {
+        for (int i = 0; i < entries.length; i++) {
+            if (!assigned[i]) {
+                assign(node, entries[i], boxes);
+                assigned[i] = true;
+            }
+        }
+    }
+
+    private double enlargement(int node, double @NonNull [] boxes, int p) {
+        int q = node * 4;
+        return area(Math.min(boxes[p], nodeBoxes[q]), Math.min(boxes[p + 1], nodeBoxes[q + 1]),
+                Math.max(boxes[p + 2], nodeBoxes[q + 2]), Math.max(boxes[p + 3], nodeBoxes[q + 3]))
+                - boxArea(node);
+    }
+
+    private double boxArea(int node) {
+        int q = node * 4;
+        return area(nodeBoxes[q], nodeBoxes[q + 1], nodeBoxes[q + 2], nodeBoxes[q + 3]);
+    }
+
+    private static double area(double minX, double minY, double maxX, double maxY) {
+        return (maxX - minX) * (maxY - minY);
+    }
+
+    private void extend(int node, double minX, double minY, double maxX, double maxY) {
+        int pos = node * 4;
+        nodeBoxes[pos] = Math.min(nodeBoxes[pos], minX);
+        nodeBoxes[pos + 1] = Math.min(nodeBoxes[pos + 1], minY);
+        nodeBoxes[pos + 2] = Math.max(nodeBoxes[pos + 2], maxX);
+        nodeBoxes[pos + 3] = Math.max(nodeBoxes[pos + 3], maxY);
+    }
+
+    /**
+     * Recomputes the box of the specified node from its entries.
+     *
+     * @return true if the box has changed
+     */
+    private boolean recomputeBox(int node) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY,
+                maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        double[] boxes = nodeHeights[node] == 0 ? itemBoxes : nodeBoxes;
+        for (int i = node * stride, end = i + nodeCounts[node]; i < end; i++) {
+            int p = nodeEntries[i] * 4;
+            minX = Math.min(minX, boxes[p]);
+            minY = Math.min(minY, boxes[p + 1]);
+            maxX = Math.max(maxX, boxes[p + 2]);
+            maxY = Math.max(maxY, boxes[p + 3]);
+        }
+        int pos = node * 4;
+        boolean changed = nodeBoxes[pos] != minX || nodeBoxes[pos + 1] != minY
+                || nodeBoxes[pos + 2] != maxX || nodeBoxes[pos + 3] != maxY;
+        nodeBoxes[pos] = minX;
+        nodeBoxes[pos + 1] = minY;
+        nodeBoxes[pos + 2] = maxX;
+        nodeBoxes[pos + 3] = maxY;
+        return changed;
+    }
+
+    /**
+     * A binary min-heap of entries ordered by their squared distance.
+     */
+    private static class DistanceQueue {
+        private double[] distances = new double[16];
+        private int[] entries = new int[16];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        double peekDistance() {
+            return distances[0];
+        }
+
+        void add(double distance, int entry) {
+            if (size == entries.length) {
+                distances = Arrays.copyOf(distances, size * 2);
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (distances[parent] <= distance) {
+                    break;
+                }
+                distances[i] = distances[parent];
+                entries[i] = entries[parent];
+                i = parent;
+            }
+            distances[i] = distance;
+            entries[i] = entry;
+        }
+
+        int remove() {
+            int result = entries[0];
+            int last = --size;
+            double distance = distances[last];
+            int entry = entries[last];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= last) {
+                    break;
+                }
+                if (child + 1 < last && distances[child + 1] < distances[child]) {
+                    child++;
+                }
+                if (distance <= distances[child]) {
+                    break;
+                }
+                distances[i] = distances[child];
+                entries[i] = entries[child];
+                i = child;
+            }
+            distances[i] = distance;
+            entries[i] = entry;
+            return result;
+        }
+    }
+}
@@ -9,10 +9,12 @@ import org.jhotdraw8.geom.PathIteratorPathBuilder;
 
 import java.awt.geom.AffineTransform;
 import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.function.BiPredicate;
 
+import static org.jhotdraw8.geom.contour.BulgeConversionFunctions.arcRadiusAndCenter;
 import static org.jhotdraw8.geom.contour.PlineVertex.createFastApproxBoundingBox;
 import static org.jhotdraw8.geom.contour.PlineVertex.segLength;
 
@@ -192,6 +194,61 @@ public class PolyArcPath extends ArrayList<PlineVertex> implements Cloneable {
         return result[0];
     }
 
+    /// Calculate the signed area of a closed polyline. The area is positive
+    /// if the polyline is counter clockwise, and negative if it is clockwise.
+    public double getArea() {
+        if (size() < 2) {
+            return 0.0;
+        }
+        double doubleArea = 0.0;
+        for (int i = 0, n = size(); i < n; i++) {
+            PlineVertex v1 = get(i);
+            PlineVertex v2 = get(i == n - 1 ? 0 : i + 1);
+            doubleArea += v1.getX() * v2.getY() - v2.getX() * v1.getY();
+            if (!v1.bulgeIsZero()) {
+                // add the area of the circular segment between the arc and its chord
+                double b = Math.abs(v1.bulge());
+                double theta = 4 * Math.atan(b);
+                double chord = v1.pos().distance(v2.pos());
+                double r = chord * (b * b + 1.0) / (4.0 * b);
+                double segmentArea = r * r * (theta - Math.sin(theta)) / 2.0;
+                doubleArea += v1.bulgeIsPos() ? 2 * segmentArea : -2 * segmentArea;
+            }
+        }
+        return doubleArea / 2.0;
+    }
 
+    /// Calculate the winding number of a closed polyline around a point.
+    /// The winding number is positive for a counter clockwise polyline, and
+    /// negative for a clockwise polyline. It is 0 if the point is outside.
+    /// The result is undefined if the point lies on the polyline.
+    public int getWindingNumber(Point2D.Double point) {
+        if (size() < 2) {
+            return 0;
+        }
+        int windingNumber = 0;
+        double px = point.getX(), py = point.getY();
+        for (int i = 0, n = size(); i < n; i++) {
+            PlineVertex v1 = get(i);
+            PlineVertex v2 = get(i == n - 1 ? 0 : i + 1);
+            // the chord of the segment
+            double side = (v2.getX() - v1.getX()) * (py - v1.getY()) - (px - v1.getX()) * (v2.getY() - v1.getY());
+            if (v1.getY() <= py) {
+                if (v2.getY() > py && side > 0) {
+                    windingNumber++;
+                }
+            } else if (v2.getY() <= py && side < 0) {
+                windingNumber--;
+            }
+            // the circular segment between an arc and its chord: the arc is on
+            // the right side of the chord if the bulge is positive
+            if (!v1.bulgeIsZero() && (v1.bulgeIsPos() ? side < 0 : side > 0)) {
+                BulgeConversionFunctions.ArcRadiusAndCenter arc = arcRadiusAndCenter(v1, v2);
+                if (arc.center.distanceSq(point) < arc.radius * arc.radius) {
+                    windingNumber += v1.bulgeIsPos() ? 1 : -1;
+                }
+            }
+        }
+        return windingNumber;
+    }
 }
-
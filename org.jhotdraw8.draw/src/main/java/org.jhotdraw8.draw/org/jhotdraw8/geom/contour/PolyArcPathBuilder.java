@@ -5,18 +5,49 @@
 package org.jhotdraw8.geom.contour;
 
 import org.jhotdraw8.geom.AbstractPathBuilder;
+import org.jhotdraw8.geom.BezierCurves;
+import org.jhotdraw8.geom.Geom;
 
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Path builder for {@link PolyArcPath}.
+ * <p>
+ * If the builder has been created with a tolerance, it approximates
+ * quadratic and cubic curves with circular arcs. Otherwise, it does not
+ * support curves.
  */
 public class PolyArcPathBuilder extends AbstractPathBuilder<List<PolyArcPath>> {
+    /**
+     * Maximal number of times that a curve is subdivided.
+     */
+    private static final int MAX_SUBDIVISION_DEPTH = 16;
+    /**
+     * Maximal bulge of an arc that approximates a curve, tan(90°/4).
+     */
+    private static final double MAX_CURVE_BULGE = Math.tan(Math.PI / 8);
     private final List<PolyArcPath> paths = new ArrayList<>();
     private PolyArcPath current;
+    private final double tolerance;
 
+    /**
+     * Creates a new instance that does not support curves.
+     */
     public PolyArcPathBuilder() {
+        this(0.0);
+    }
+
+    /**
+     * Creates a new instance that approximates curves with circular arcs.
+     *
+     * @param tolerance the maximal distance between a curve and the arcs
+     *                  that approximate it
+     */
+    public PolyArcPathBuilder(double tolerance) {
+        this.tolerance = tolerance;
     }
 
     @Override
@@ -41,7 +72,67 @@ public class PolyArcPathBuilder extends AbstractPathBuilder<List<PolyArcPath>> {
 
     @Override
     protected void doCurveTo(double x1, double y1, double x2, double y2, double x, double y) {
-        throw new UnsupportedOperationException();
+        if (tolerance <= 0) {
+            throw new UnsupportedOperationException();
+        }
+        arcsTo(getLastX(), getLastY(), x1, y1, x2, y2, x, y, 0);
+    }
+
+    /**
+     * Approximates the specified cubic curve with circular arcs. Each arc
+     * passes through the start point, the middle point and the end point of
+     * the curve. If an arc deviates too much from the curve, the curve
+     * is subdivided.
+     */
+    private void arcsTo(double x0, double y0, double x1, double y1, double x2, double y2, double x3, double y3, int depth) {
+        Point2D.Double m = BezierCurves.evalCubicCurve(x0, y0, x1, y1, x2, y2, x3, y3, 0.5);
+        double bulge = arcBulge(x0, y0, m.getX(), m.getY(), x3, y3);
+        if (depth < MAX_SUBDIVISION_DEPTH
+                && (Math.abs(bulge) > MAX_CURVE_BULGE
+                || !arcContains(x0, y0, x3, y3, bulge, BezierCurves.evalCubicCurve(x0, y0, x1, y1, x2, y2, x3, y3, 0.25))
+                || !arcContains(x0, y0, x3, y3, bulge, BezierCurves.evalCubicCurve(x0, y0, x1, y1, x2, y2, x3, y3, 0.75)))) {
+            BezierCurves.splitCubicCurve(x0, y0, x1, y1, x2, y2, x3, y3, 0.5,
+                    (a0, b0, a1, b1, a2, b2, a3, b3) -> arcsTo(a0, b0, a1, b1, a2, b2, a3, b3, depth + 1),
+                    (a0, b0, a1, b1, a2, b2, a3, b3) -> arcsTo(a0, b0, a1, b1, a2, b2, a3, b3, depth + 1));
+            return;
+        }
+        current.lastVertex().bulge(Math.abs(bulge) > MAX_CURVE_BULGE ? 0.0 : bulge);
+        current.addVertex(x3, y3);
+    }
+
+    /**
+     * Computes the bulge of the circular arc from point 0 through point 1
+     * to point 2. Returns 0 if the points are collinear.
+     */
+    private static double arcBulge(double x0, double y0, double x1, double y1, double x2, double y2) {
+        double ax = x1 - x0, ay = y1 - y0;
+        double bx = x2 - x0, by = y2 - y0;
+        double d = 2 * (ax * by - ay * bx);
+        if (Math.abs(d) <= Geom.REAL_THRESHOLD * (ax * ax + ay * ay + bx * bx + by * by)) {
+            return 0.0;
+        }
+        double a2 = ax * ax + ay * ay, b2 = bx * bx + by * by;
+        double cx = x0 + (by * a2 - ay * b2) / d;
+        double cy = y0 + (ax * b2 - bx * a2) / d;
+        double startAngle = Geom.atan2(y0 - cy, x0 - cx);
+        double endAngle = Geom.atan2(y2 - cy, x2 - cx);
+        // d > 0 if the points turn left, which is a counter clockwise arc
+        double sweep = d > 0 ? Utils.normalizeRadians(endAngle - startAngle)
+                : -Utils.normalizeRadians(startAngle - endAngle);
+        return Math.tan(sweep / 4);
+    }
+
+    /**
+     * Returns true if the specified point is within tolerance of the arc
+     * from point 0 to point 1.
+     */
+    private boolean arcContains(double x0, double y0, double x1, double y1, double bulge, Point2D.Double p) {
+        if (bulge == 0.0 || Geom.almostEqual(x0, y0, x1, y1)) {
+            return Line2D.ptSegDist(x0, y0, x1, y1, p.getX(), p.getY()) <= tolerance;
+        }
+        BulgeConversionFunctions.ArcRadiusAndCenter arc = BulgeConversionFunctions.arcRadiusAndCenter(
+                new PlineVertex(x0, y0, bulge), new PlineVertex(x1, y1));
+        return Math.abs(arc.center.distance(p) - arc.radius) <= tolerance;
     }
 
     @Override
@@ -63,7 +154,12 @@ public class PolyArcPathBuilder extends AbstractPathBuilder<List<PolyArcPath>> {
 
     @Override
     protected void doQuadTo(double x1, double y1, double x, double y) {
-        throw new UnsupportedOperationException();
+        if (tolerance <= 0) {
+            throw new UnsupportedOperationException();
+        }
+        double x0 = getLastX(), y0 = getLastY();
+        arcsTo(x0, y0, x0 + 2 * (x1 - x0) / 3, y0 + 2 * (y1 - y0) / 3,
+                x + 2 * (x1 - x) / 3, y + 2 * (y1 - y) / 3, x, y, 0);
     }
 
     @Override
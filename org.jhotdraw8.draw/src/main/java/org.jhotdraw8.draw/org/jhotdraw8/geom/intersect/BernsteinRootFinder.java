@@ -0,0 +1,395 @@
+/*
+ * @(#)BernsteinRootFinder.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.DoubleArrayList;
+import org.jhotdraw8.geom.Geom;
+
+import java.util.Arrays;
+
+import static java.lang.Math.abs;
+
+/**
+ * Finds the real roots of a polynomial in an interval, by subdividing the
+ * polynomial in the Bernstein basis.
+ * <p>
+ * The polynomial is converted into the Bernstein basis over the interval.
+ * By Descartes' rule of signs, the number of sign changes of the Bernstein
+ * coefficients is an upper bound for the number of roots in the interval.
+ * If there is no sign change, the interval contains no root. If there is
+ * exactly one sign change, the interval contains exactly one root, which
+ * is then refined with the Illinois variant of the regula falsi method.
+ * Otherwise, the interval is split in half with the de Casteljau algorithm.
+ * <p>
+ * This works for polynomials of any degree, for example for the polynomial
+ * of degree 9 that is produced by
+ * {@link IntersectCubicCurveCubicCurve#intersectCubicCurveCubicCurve}.
+ * <p>
+ * An instance of this class keeps its working arrays between calls.
+ * Once the arrays have grown to the degree of the polynomials, finding
+ * roots does not allocate objects. Instances are not thread-safe.
+ * <p>
+ * References:
+ * <dl>
+ *     <dt>Thomas W. Sederberg, Tomoyuki Nishita. (1990).
+ *     Curve intersection using Bézier clipping.</dt>
+ *     <dd><a href="https://doi.org/10.1016/0010-4485(90)90039-F">doi.org</a></dd>
+ *     <dt>Wikipedia. Bernstein polynomial, Descartes' rule of signs.</dt>
+ *     <dd><a href="https://en.wikipedia.org/wiki/Descartes%27_rule_of_signs">wikipedia.org</a></dd>
+ * </dl>
+ */
+public class BernsteinRootFinder {
+    /**
+     * Bernstein coefficients with an absolute value below this threshold
+     * are treated as zero. The coefficients are normalized, so that the
+     * largest coefficient has the absolute value 1.
+     */
+    private static final double ZERO = 1.0 / (1L << 40);
+    /**
+     * Roots that are closer than this fraction of the interval are merged.
+     */
+    private static final double MERGE = 1e-9;
+    /**
+     * Maximal subdivision depth. The width of an interval at this depth
+     * is 2^-52 of the width of the original interval.
+     */
+    private static final int MAX_DEPTH = 52;
+
+    /**
+     * The polynomial in the power basis, from lowest to highest degree,
+     * normalized.
+     */
+    private double @NonNull [] power = new double[0];
+    /**
+     * The Bernstein coefficients of each subdivision level.
+     */
+    private double @NonNull [] levels = new double[0];
+    private double @NonNull [] tmp = new double[0];
+    private int degree;
+    private double tolerance;
+    private double @NonNull [] roots = new double[0];
+    private int numRoots;
+    /**
+     * The merged roots, for {@link #findRoots(double[], double, double, DoubleArrayList)}.
+     */
+    private double @NonNull [] merged = new double[0];
+
+    /**
+     * Creates a new instance.
+     */
+    public BernsteinRootFinder() {
+    }
+
+    /**
+     * Finds the real roots of the polynomial in the closed interval
+     * {@code [min, max]}.
+     * <p>
+     * Multiple roots are reported only once.
+     *
+     * @param coefs  the coefficients of the polynomial from lowest to highest
+     *               degree, that is {@literal coefs[i]*x^i}
+     * @param min    the lower bound of the interval (inclusive)
+     * @param max    the upper bound of the interval (inclusive)
+     * @param result an array of length {@code coefs.length - 1} or more,
+     *               into which the roots are written in ascending order
+     * @return the number of roots
+     */
+    public int findRoots(double @NonNull [] coefs, double min, double max, double @NonNull [] result) {
+        return findRoots(coefs, coefs.length - 1, min, max, result);
+    }
+
+    /**
+     * Finds the real roots of the polynomial in the closed interval
+     * {@code [min, max]}, and adds them to the specified list in ascending
+     * order.
+     * <p>
+     * Multiple roots are reported only once.
+     *
+     * @param coefs  the coefficients of the polynomial from lowest to highest
+     *               degree, that is {@literal coefs[i]*x^i}
+     * @param min    the lower bound of the interval (inclusive)
+     * @param max    the upper bound of the interval (inclusive)
+     * @param result the list to which the roots are added
+     * @return the number of roots
+     */
+    public int findRoots(double @NonNull [] coefs, double min, double max, @NonNull DoubleArrayList result) {
+        if (merged.length < coefs.length) {
+            merged = new double[coefs.length];
+        }
+        final int n = findRoots(coefs, coefs.length - 1, min, max, merged);
+        for (int i = 0; i < n; i++) {
+            result.add(merged[i]);
+        }
+        return n;
+    }
+
+    /**
+     * Finds the real roots of the polynomial in the closed interval
+     * {@code [min, max]}.
+     * <p>
+     * Multiple roots are reported only once.
+     *
+     * @param coefs  the coefficients of the polynomial from lowest to highest
+     *               degree, that is {@literal coefs[i]*x^i}
+     * @param degree the degree of the polynomial
+     * @param min    the lower bound of the interval (inclusive)
+     * @param max    the upper bound of the interval (inclusive)
+     * @param result an array of length {@code degree} or more, into which
+     *               the roots are written in ascending order
+     * @return the number of roots
+     */
+    public int findRoots(double @NonNull [] coefs, int degree, double min, double max, double @NonNull [] result) {
+        // Drop leading zero coefficients
+        while (degree > 0 && coefs[degree] == 0) {
+            degree--;
+        }
+        if (degree <= 0 || !(min <= max)) {
+            return 0;
+        }
+        init(degree);
+        this.degree = degree;
+        this.numRoots = 0;
+        this.tolerance = Math.ulp(Math.max(abs(min), abs(max))) * 4;
+
+        // Normalize the polynomial, so that its largest coefficient has
+        // the absolute value 1.
+        double scale = 0;
+        for (int i = 0; i <= degree; i++) {
+            scale = Math.max(scale, abs(coefs[i]));
+        }
+        for (int i = 0; i <= degree; i++) {
+            power[i] = coefs[i] / scale;
+        }
+
+        toBernstein(min, max);
+        subdivide(min, max);
+
+        // Merge roots that are closer than the tolerance, or between which
+        // the polynomial is almost zero. This happens, when a subdivision
+        // point is close to a root, and at multiple roots.
+        // From each cluster, we take the root with the smallest value.
+        final double mergeTolerance = Math.max(tolerance, (max - min) * MERGE);
+        int n = 0;
+        double prev = 0, best = 0;
+        for (int i = 0; i < numRoots; i++) {
+            final double r = Math.min(max, Math.max(min, roots[i]));
+            final double value = abs(eval(r));
+            if (n > 0 && (r - prev <= mergeTolerance || abs(eval(0.5 * (prev + r))) <= ZERO)) {
+                if (value < best) {
+                    result[n - 1] = r;
+                    best = value;
+                }
+            } else if (n < result.length) {
+                result[n++] = r;
+                best = value;
+            }
+            prev = r;
+        }
+        return n;
+    }
+
+    private void init(int degree) {
+        final int n = degree + 1;
+        if (power.length < n) {
+            power = new double[n];
+            tmp = new double[n];
+            levels = new double[n * (MAX_DEPTH + 1)];
+            roots = new double[degree * 2 + 2];
+        }
+    }
+
+    /**
+     * Converts the polynomial in the power basis into the Bernstein basis
+     * over the interval [min, max], and stores the coefficients at level 0.
+     */
+    private void toBernstein(double min, double max) {
+        final int n = degree;
+        final double[] q = tmp;
+        System.arraycopy(power, 0, q, 0, n + 1);
+
+        // Taylor shift: q(t) = p(min + t)
+        for (int i = 0; i < n; i++) {
+            for (int j = n - 1; j >= i; j--) {
+                q[j] += min * q[j + 1];
+            }
+        }
+        // Scale: q(t) = p(min + (max - min)·t)
+        final double h = max - min;
+        double hk = 1;
+        for (int k = 1; k <= n; k++) {
+            hk *= h;
+            q[k] *= hk;
+        }
+        // Bernstein coefficients: b_i = Σ_{k=0..i} C(i,k)/C(n,k)·q_k
+        double maxAbs = 0;
+        for (int i = 0; i <= n; i++) {
+            double b = 0;
+            double cik = 1; // C(i,k)
+            double cnk = 1; // C(n,k)
+            for (int k = 0; k <= i; k++) {
+                b += cik / cnk * q[k];
+                cik = cik * (i - k) / (k + 1);
+                cnk = cnk * (n - k) / (k + 1);
+            }
+            levels[i] = b;
+            maxAbs = Math.max(maxAbs, abs(b));
+        }
+        if (maxAbs > 0) {
+            for (int i = 0; i <= n; i++) {
+                levels[i] /= maxAbs;
+            }
+        }
+    }
+
+    private void subdivide(double min, double max) {
+        subdivide(0, min, max);
+    }
+
+    /**
+     * Finds the roots of the Bernstein polynomial at the specified level
+     * in the interval [a, b].
+     */
+    private void subdivide(int level, double a, double b) {
+        final int n = degree;
+        final int off = level * (n + 1);
+        final double[] c = levels;
+
+        while (true) {
+            // Endpoints that are roots
+            if (abs(c[off]) <= ZERO) {
+                addRoot(a);
+                c[off] = 0;
+            }
+            if (abs(c[off + n]) <= ZERO) {
+                c[off + n] = 0;
+            }
+
+            int changes = signChanges(off);
+            if (changes == 0) {
+                break;
+            }
+            final double mid = 0.5 * (a + b);
+            final boolean tooSmall = level == MAX_DEPTH || mid <= a || mid >= b || b - a <= tolerance;
+            if (changes == 1 && c[off] != 0 && c[off + n] != 0) {
+                addRoot(illinois(a, b));
+                break;
+            }
+            if (tooSmall) {
+                // A multiple root, or a cluster of roots
+                if (abs(eval(mid)) <= ZERO) {
+                    addRoot(mid);
+                }
+                break;
+            }
+
+            // Split at t=0.5 with the de Casteljau algorithm.
+            // The left half goes to the next level, the right half
+            // replaces the current level.
+            final int loff = off + n + 1;
+            final double[] t = tmp;
+            System.arraycopy(c, off, t, 0, n + 1);
+            c[loff] = t[0];
+            for (int r = 1; r <= n; r++) {
+                for (int i = 0; i <= n - r; i++) {
+                    t[i] = 0.5 * (t[i] + t[i + 1]);
+                }
+                c[loff + r] = t[0];
+                c[off + n - r] = t[n - r];
+            }
+            subdivide(level + 1, a, mid);
+            a = mid;
+        }
+        if (abs(c[off + n]) <= ZERO) {
+            addRoot(b);
+        }
+    }
+
+    private int signChanges(int off) {
+        final double[] c = levels;
+        int changes = 0;
+        double prev = 0;
+        for (int i = off, end = off + degree; i <= end; i++) {
+            double v = c[i];
+            if (v != 0) {
+                if (prev != 0 && (v > 0) != (prev > 0)) {
+                    changes++;
+                }
+                prev = v;
+            }
+        }
+        return changes;
+    }
+
+    private void addRoot(double r) {
+        if (numRoots == roots.length) {
+            roots = Arrays.copyOf(roots, roots.length * 2);
+        }
+        if (numRoots == 0 || roots[numRoots - 1] != r) {
+            roots[numRoots++] = r;
+        }
+    }
+
+    /**
+     * Evaluates the normalized polynomial with the Horner scheme.
+     */
+    private double eval(double x) {
+        double result = 0;
+        for (int i = degree; i >= 0; i--) {
+            result = Geom.fma(result, x, power[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Refines a root in an interval with a sign change, using the Illinois
+     * variant of the regula falsi method.
+     */
+    private double illinois(double a, double b) {
+        double fa = eval(a);
+        double fb = eval(b);
+        if (fa == 0) {
+            return a;
+        }
+        if (fb == 0) {
+            return b;
+        }
+        if ((fa > 0) == (fb > 0)) {
+            // The sign change is not visible in the power basis due
+            // to rounding errors.
+            return abs(fa) < abs(fb) ? a : b;
+        }
+        int side = 0;
+        for (int i = 0; i < 128; i++) {
+            double x = (a * fb - b * fa) / (fb - fa);
+            if (!(x > a && x < b)) {
+                x = 0.5 * (a + b);
+            }
+            if (b - a <= tolerance || x <= a || x >= b) {
+                return x;
+            }
+            double fx = eval(x);
+            if (fx == 0) {
+                return x;
+            }
+            if ((fx > 0) == (fb > 0)) {
+                b = x;
+                fb = fx;
+                if (side == -1) {
+                    fa *= 0.5;
+                }
+                side = -1;
+            } else {
+                a = x;
+                fa = fx;
+                if (side == 1) {
+                    fb *= 0.5;
+                }
+                side = 1;
+            }
+        }
+        return 0.5 * (a + b);
+    }
+}
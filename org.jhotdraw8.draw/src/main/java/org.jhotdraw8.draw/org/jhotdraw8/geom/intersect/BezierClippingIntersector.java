@@ -0,0 +1,474 @@
+/*
+ * @(#)BezierClippingIntersector.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.annotation.NonNull;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Computes the intersections between two cubic Bézier curves with the
+ * Bézier clipping algorithm.
+ * <p>
+ * The algorithm computes the 'fat line' of one curve, which is the
+ * narrowest band parallel to the line through its end points, that
+ * contains the curve. Then it clips the parameter range of the other curve
+ * to the part of its control polygon that lies inside the fat line. Then
+ * it swaps the roles of the curves. If an iteration does not shrink the
+ * parameter range by at least 20 percent, the curves have more than one
+ * intersection, or are almost tangent, and the larger curve is split in
+ * half.
+ * <p>
+ * Pairs of curve pieces whose control polygons have disjoint bounds are
+ * discarded. An intersection is reported, when the bounds of both pieces
+ * are smaller than the tolerance. Intersections between which the curves
+ * stay within the tolerance of each other are merged.
+ * <p>
+ * This class is stateless and thread-safe. Use the shared instance
+ * {@link CubicCurveCubicCurveIntersector#BEZIER_CLIPPING}.
+ * <p>
+ * References:
+ * <dl>
+ *     <dt>Thomas W. Sederberg, Tomoyuki Nishita. (1990).
+ *     Curve intersection using Bézier clipping.</dt>
+ *     <dd><a href="https://doi.org/10.1016/0010-4485(90)90039-F">doi.org</a></dd>
+ * </dl>
+ */
+public class BezierClippingIntersector implements CubicCurveCubicCurveIntersector {
+    /**
+     * Parameter ranges that are smaller than this are not clipped any
+     * further.
+     */
+    private static final double PARAM_TOLERANCE = 1.0 / (1L << 40);
+    /**
+     * Intersections that are closer than this in the parameters of both
+     * curves are merged.
+     */
+    private static final double MERGE = 1e-9;
+    /**
+     * Bounds and fat lines are enlarged by this fraction of the largest
+     * coordinate of the curves, so that we do not miss intersections due
+     * to rounding errors.
+     */
+    private static final double GUARD = 0x1p-40;
+    /**
+     * Maximal number of times that a curve piece can be split.
+     */
+    private static final int MAX_DEPTH = 60;
+    /**
+     * Maximal number of curve pieces that are examined. This is only
+     * reached for curves that overlap each other.
+     */
+    private static final int MAX_PIECES = 1 << 12;
+    /**
+     * Maximal number of clipping iterations on a pair of curve pieces.
+     */
+    private static final int MAX_ITERATIONS = 256;
+    /**
+     * If clipping does not shrink a parameter range below this fraction,
+     * the curve is split.
+     */
+    private static final double MIN_SHRINK = 0.8;
+
+    // Layout of a stack frame: two curve pieces 'p' and 'q', each with
+    // 8 coordinates and a parameter range, a flag that tells whether 'p'
+    // is a piece of curve 'b', and the split depth.
+    private static final int P = 0;
+    private static final int P_FROM = 8;
+    private static final int P_TO = 9;
+    private static final int Q = 10;
+    private static final int Q_FROM = 18;
+    private static final int Q_TO = 19;
+    private static final int SWAPPED = 20;
+    private static final int DEPTH = 21;
+    private static final int FRAME = 22;
+
+    /**
+     * Creates a new instance.
+     */
+    public BezierClippingIntersector() {
+    }
+
+    @Override
+    public @NonNull IntersectionStatus intersect(
+            double a0x, double a0y, double a1x, double a1y, double a2x, double a2y, double a3x, double a3y,
+            double b0x, double b0y, double b1x, double b1y, double b2x, double b2y, double b3x, double b3y,
+            double epsilon, @NonNull IntersectionBuffer result) {
+        final int from = result.size();
+        final double[] curves = {a0x, a0y, a1x, a1y, a2x, a2y, a3x, a3y,
+                b0x, b0y, b1x, b1y, b2x, b2y, b3x, b3y};
+        double scale = 0;
+        for (double c : curves) {
+            scale = max(scale, abs(c));
+        }
+        final double guard = scale * GUARD;
+        final double tolerance = max(epsilon, guard);
+
+        // Each split replaces the top frame by one half and pushes the
+        // other half. So the stack holds at most one frame per depth.
+        final double[] s = new double[(MAX_DEPTH + 2) * FRAME];
+        final double[] range = new double[3];
+        System.arraycopy(curves, 0, s, P, 8);
+        s[P_TO] = 1;
+        System.arraycopy(curves, 8, s, Q, 8);
+        s[Q_TO] = 1;
+        int sp = 1;
+        int pieces = 1;
+        while (sp > 0) {
+            if (pieces++ == MAX_PIECES) {
+                // The curves overlap each other.
+                result.truncate(from);
+                return IntersectionStatus.NO_INTERSECTION_COINCIDENT;
+            }
+            if (clip(s, (sp - 1) * FRAME, tolerance, guard, range)) {
+                sp++;
+            } else {
+                sp--;
+                if (s[sp * FRAME + DEPTH] >= 0) {
+                    addIntersection(curves, s, sp * FRAME, tolerance, result, from);
+                }
+            }
+        }
+        if (result.size() == from) {
+            return IntersectionStatus.NO_INTERSECTION;
+        }
+        result.sortByArgumentA(from);
+        return IntersectionStatus.INTERSECTION;
+    }
+
+    /**
+     * Clips the pair of curve pieces in the stack frame at offset {@code f}.
+     * <p>
+     * If the pieces must be split, replaces the frame by the first half,
+     * pushes the second half, and returns true.
+     * <p>
+     * Otherwise returns false. If the pieces intersect, the frame contains
+     * the intersection, otherwise its depth is set to -1.
+     */
+    private static boolean clip(double @NonNull [] s, int f, double tolerance, double guard,
+                                double @NonNull [] range) {
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            if (!boundsIntersect(s, f + P, f + Q, guard)) {
+                s[f + DEPTH] = -1;
+                return false;
+            }
+            final double pSize = size(s, f + P);
+            final double qSize = size(s, f + Q);
+            if (pSize <= tolerance && qSize <= tolerance
+                    || s[f + P_TO] - s[f + P_FROM] <= PARAM_TOLERANCE && s[f + Q_TO] - s[f + Q_FROM] <= PARAM_TOLERANCE
+                    || s[f + DEPTH] >= MAX_DEPTH) {
+                return false;
+            }
+            if (pSize <= tolerance || qSize <= tolerance) {
+                // The direction of the fat line of a piece that is smaller
+                // than the tolerance is dominated by rounding errors.
+                // We subdivide the larger piece instead.
+                split(s, f, pSize >= qSize ? P : Q);
+                return true;
+            }
+
+            // Clip 'p' to the fat line of 'q'
+            if (!clipToFatLine(s, f + P, f + Q, tolerance, guard, qSize, range)) {
+                s[f + DEPTH] = -1;
+                return false;
+            }
+            final double t0 = range[0], t1 = range[1];
+            if (t1 - t0 > MIN_SHRINK && range[2] != 0) {
+                // Both pieces are within the tolerance of the same line:
+                // the curves are tangent to each other.
+                touch(s, f);
+                return false;
+            }
+            final double pFrom = s[f + P_FROM], pTo = s[f + P_TO];
+            subCurve(s, f + P, t0, t1);
+            s[f + P_FROM] = pFrom + (pTo - pFrom) * t0;
+            s[f + P_TO] = pFrom + (pTo - pFrom) * t1;
+
+            if (t1 - t0 > MIN_SHRINK) {
+                split(s, f, size(s, f + P) >= qSize ? P : Q);
+                return true;
+            }
+
+            // Swap the roles of the curves
+            for (int j = 0; j < 10; j++) {
+                final double tmp = s[f + P + j];
+                s[f + P + j] = s[f + Q + j];
+                s[f + Q + j] = tmp;
+            }
+            s[f + SWAPPED] = 1 - s[f + SWAPPED];
+        }
+        return false;
+    }
+
+    /**
+     * Reduces the pieces in the stack frame at offset {@code f} to the
+     * parameters at which they touch each other. We take the middle of
+     * piece 'p', and the point on the chord of piece 'q' that is closest
+     * to it.
+     */
+    private static void touch(double @NonNull [] s, int f) {
+        final int p = f + P, q = f + Q;
+        final double mx = 0.125 * (s[p] + 3 * s[p + 2] + 3 * s[p + 4] + s[p + 6]);
+        final double my = 0.125 * (s[p + 1] + 3 * s[p + 3] + 3 * s[p + 5] + s[p + 7]);
+        final double dx = s[q + 6] - s[q], dy = s[q + 7] - s[q + 1];
+        final double lenSq = dx * dx + dy * dy;
+        final double u = lenSq == 0 ? 0.5 : max(0, min(1, ((mx - s[q]) * dx + (my - s[q + 1]) * dy) / lenSq));
+        final double pMid = 0.5 * (s[f + P_FROM] + s[f + P_TO]);
+        final double qAt = s[f + Q_FROM] + (s[f + Q_TO] - s[f + Q_FROM]) * u;
+        s[f + P_FROM] = s[f + P_TO] = pMid;
+        s[f + Q_FROM] = s[f + Q_TO] = qAt;
+    }
+
+    /**
+     * Splits the curve piece at offset {@code c} of the stack frame at
+     * offset {@code f} in half. Replaces the frame by the first half, and
+     * pushes the second half.
+     */
+    private static void split(double @NonNull [] s, int f, int c) {
+        final int g = f + FRAME;
+        System.arraycopy(s, f, s, g, FRAME);
+        final double mid = 0.5 * (s[f + c + 8] + s[f + c + 9]);
+        keepLeft(s, f + c, 0.5);
+        s[f + c + 9] = mid;
+        keepRight(s, g + c, 0.5);
+        s[g + c + 8] = mid;
+        s[f + DEPTH] += 1;
+        s[g + DEPTH] += 1;
+    }
+
+    /**
+     * Clips curve piece 'p' to the fat line of curve piece 'q'.
+     *
+     * @param range on return, contains the clipped parameter range of 'p'
+     *              in [0,1] at indices 0 and 1, and at index 2 the value 1
+     *              if 'p' lies inside a fat line that is narrower than the
+     *              tolerance, and 0 otherwise
+     * @return false if 'p' does not intersect the fat line
+     */
+    private static boolean clipToFatLine(double @NonNull [] s, int p, int q, double tolerance, double guard,
+                                         double qSize, double @NonNull [] range) {
+        // Line through the end points of 'q'. If they coincide, we take
+        // the line to the farthest control point.
+        double x0 = s[q], y0 = s[q + 1];
+        double dx = s[q + 6] - x0, dy = s[q + 7] - y0;
+        double len = Math.hypot(dx, dy);
+        for (int i = 2; i <= 4 && len <= qSize * PARAM_TOLERANCE; i += 2) {
+            dx = s[q + i] - x0;
+            dy = s[q + i + 1] - y0;
+            len = Math.hypot(dx, dy);
+        }
+        if (len == 0) {
+            // 'q' is a point: we take the line that is perpendicular to 'p'
+            dx = s[p + 7] - s[p + 1];
+            dy = s[p] - s[p + 6];
+            len = Math.hypot(dx, dy);
+            if (len == 0) {
+                range[0] = 0;
+                range[1] = 1;
+                range[2] = 1;
+                return true;
+            }
+        }
+        final double nx = -dy / len, ny = dx / len;
+        final double c = -(nx * x0 + ny * y0);
+        final double d1 = nx * s[q + 2] + ny * s[q + 3] + c;
+        final double d2 = nx * s[q + 4] + ny * s[q + 5] + c;
+        final double factor = d1 * d2 > 0 ? 3.0 / 4.0 : 4.0 / 9.0;
+        final double dmin = factor * min(0, min(d1, d2)) - guard;
+        final double dmax = factor * max(0, max(d1, d2)) + guard;
+
+        // Intersect the convex hull of the points (i/3, distance of 'p_i')
+        // with the band [dmin, dmax]. The extremes lie on the vertices
+        // or on the edges of the hull, which are among the 6 segments
+        // between the points.
+        double tmin = Double.POSITIVE_INFINITY, tmax = Double.NEGATIVE_INFINITY;
+        final double e0 = nx * s[p] + ny * s[p + 1] + c;
+        final double e1 = nx * s[p + 2] + ny * s[p + 3] + c;
+        final double e2 = nx * s[p + 4] + ny * s[p + 5] + c;
+        final double e3 = nx * s[p + 6] + ny * s[p + 7] + c;
+        for (int i = 0; i < 4; i++) {
+            final double ei = i == 0 ? e0 : i == 1 ? e1 : i == 2 ? e2 : e3;
+            final double ti = i / 3.0;
+            if (dmin <= ei && ei <= dmax) {
+                tmin = min(tmin, ti);
+                tmax = max(tmax, ti);
+            }
+            for (int j = i + 1; j < 4; j++) {
+                final double ej = j == 1 ? e1 : j == 2 ? e2 : e3;
+                final double tj = j / 3.0;
+                for (int k = 0; k < 2; k++) {
+                    final double level = k == 0 ? dmin : dmax;
+                    if ((ei - level) * (ej - level) < 0) {
+                        final double t = ti + (tj - ti) * (level - ei) / (ej - ei);
+                        tmin = min(tmin, t);
+                        tmax = max(tmax, t);
+                    }
+                }
+            }
+        }
+        if (tmin > tmax) {
+            return false;
+        }
+        range[0] = max(0, tmin);
+        range[1] = min(1, tmax);
+        range[2] = dmax - dmin <= tolerance
+                && dmin <= min(min(e0, e1), min(e2, e3)) && max(max(e0, e1), max(e2, e3)) <= dmax ? 1 : 0;
+        return true;
+    }
+
+    /**
+     * Adds the intersection in the stack frame at offset {@code f} to the
+     * result, unless it is a duplicate of an intersection that is
+     * already in the result.
+     */
+    private static void addIntersection(double @NonNull [] curves, double @NonNull [] s, int f,
+                                        double tolerance, @NonNull IntersectionBuffer result, int from) {
+        final boolean swapped = s[f + SWAPPED] != 0;
+        final double ta = swapped ? 0.5 * (s[f + Q_FROM] + s[f + Q_TO]) : 0.5 * (s[f + P_FROM] + s[f + P_TO]);
+        final double tb = swapped ? 0.5 * (s[f + P_FROM] + s[f + P_TO]) : 0.5 * (s[f + Q_FROM] + s[f + Q_TO]);
+        final double distance = distance(curves, ta, tb);
+
+        // Merge with an intersection if the curves stay close to each other
+        // in between. This happens when the curves are almost tangent.
+        for (int i = from, n = result.size(); i < n; i++) {
+            final double ua = result.getArgumentA(i), ub = result.getArgumentB(i);
+            if (abs(ua - ta) <= MERGE && abs(ub - tb) <= MERGE
+                    || isCloseInBetween(curves, 0, ua, ta, 8, ub, tb, tolerance)
+                    && isCloseInBetween(curves, 8, ub, tb, 0, ua, ta, tolerance)) {
+                if (distance < distance(curves, ua, ub)) {
+                    result.set(i, eval(curves, 0, ta), eval(curves, 1, ta),
+                            ta, tangent(curves, 0, ta), tangent(curves, 1, ta),
+                            tb, tangent(curves, 8, tb), tangent(curves, 9, tb));
+                }
+                return;
+            }
+        }
+        result.add(eval(curves, 0, ta), eval(curves, 1, ta),
+                ta, tangent(curves, 0, ta), tangent(curves, 1, ta),
+                tb, tangent(curves, 8, tb), tangent(curves, 9, tb));
+    }
+
+    /**
+     * Returns true if the middle of curve 'c' between parameters 'c1' and
+     * 'c2' is within the tolerance of the chord of curve 'd' between
+     * parameters 'd1' and 'd2'.
+     */
+    private static boolean isCloseInBetween(double @NonNull [] curves, int c, double c1, double c2,
+                                            int d, double d1, double d2, double tolerance) {
+        final double mx = eval(curves, c, 0.5 * (c1 + c2)), my = eval(curves, c + 1, 0.5 * (c1 + c2));
+        final double x1 = eval(curves, d, d1), y1 = eval(curves, d + 1, d1);
+        final double dx = eval(curves, d, d2) - x1, dy = eval(curves, d + 1, d2) - y1;
+        final double lenSq = dx * dx + dy * dy;
+        final double u = lenSq == 0 ? 0 : max(0, min(1, ((mx - x1) * dx + (my - y1) * dy) / lenSq));
+        return Math.hypot(x1 + u * dx - mx, y1 + u * dy - my) <= tolerance;
+    }
+
+    /**
+     * Returns the distance between point 'ta' on curve 'a' and point 'tb'
+     * on curve 'b'.
+     */
+    private static double distance(double @NonNull [] curves, double ta, double tb) {
+        return Math.hypot(eval(curves, 0, ta) - eval(curves, 8, tb),
+                eval(curves, 1, ta) - eval(curves, 9, tb));
+    }
+
+    /**
+     * Evaluates a coordinate of a cubic curve.
+     *
+     * @param c the coordinates of the control points
+     * @param o the offset of the coordinate of the first control point
+     * @param t the parameter
+     * @return the coordinate
+     */
+    private static double eval(double @NonNull [] c, int o, double t) {
+        final double u = 1 - t;
+        return u * u * u * c[o] + 3 * t * u * u * c[o + 2] + 3 * t * t * u * c[o + 4] + t * t * t * c[o + 6];
+    }
+
+    /**
+     * Evaluates a coordinate of the tangent of a cubic curve, with the
+     * same scale as {@link org.jhotdraw8.geom.BezierCurves#evalCubicCurveTangent}.
+     */
+    private static double tangent(double @NonNull [] c, int o, double t) {
+        final double u = 1 - t;
+        return u * u * (c[o + 2] - c[o]) + 2 * t * u * (c[o + 4] - c[o + 2]) + t * t * (c[o + 6] - c[o + 4]);
+    }
+
+    /**
+     * Returns true if the bounds of the control polygons of the curves at
+     * offsets {@code p} and {@code q} intersect.
+     */
+    private static boolean boundsIntersect(double @NonNull [] s, int p, int q, double guard) {
+        for (int k = 0; k < 2; k++) {
+            final double pmin = min(min(s[p + k], s[p + 2 + k]), min(s[p + 4 + k], s[p + 6 + k]));
+            final double pmax = max(max(s[p + k], s[p + 2 + k]), max(s[p + 4 + k], s[p + 6 + k]));
+            final double qmin = min(min(s[q + k], s[q + 2 + k]), min(s[q + 4 + k], s[q + 6 + k]));
+            final double qmax = max(max(s[q + k], s[q + 2 + k]), max(s[q + 4 + k], s[q + 6 + k]));
+            if (pmax + guard < qmin || qmax + guard < pmin) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the larger of the width and the height of the bounds of the
+     * control polygon of the curve at offset {@code p}.
+     */
+    private static double size(double @NonNull [] s, int p) {
+        double size = 0;
+        for (int k = 0; k < 2; k++) {
+            final double pmin = min(min(s[p + k], s[p + 2 + k]), min(s[p + 4 + k], s[p + 6 + k]));
+            final double pmax = max(max(s[p + k], s[p + 2 + k]), max(s[p + 4 + k], s[p + 6 + k]));
+            size = max(size, pmax - pmin);
+        }
+        return size;
+    }
+
+    /**
+     * Replaces the curve at offset {@code p} by its piece in the parameter
+     * range [t0, t1].
+     */
+    private static void subCurve(double @NonNull [] s, int p, double t0, double t1) {
+        if (t1 < 1) {
+            keepLeft(s, p, t1);
+        }
+        if (t0 > 0) {
+            keepRight(s, p, t1 > 0 ? t0 / t1 : 0);
+        }
+    }
+
+    /**
+     * Replaces the curve at offset {@code p} by its piece in the parameter
+     * range [0, t], using the de Casteljau algorithm.
+     */
+    private static void keepLeft(double @NonNull [] s, int p, double t) {
+        for (int k = 0; k < 2; k++) {
+            final double x0 = s[p + k], x1 = s[p + 2 + k], x2 = s[p + 4 + k], x3 = s[p + 6 + k];
+            final double x01 = x0 + (x1 - x0) * t, x12 = x1 + (x2 - x1) * t, x23 = x2 + (x3 - x2) * t;
+            final double x012 = x01 + (x12 - x01) * t, x123 = x12 + (x23 - x12) * t;
+            s[p + 2 + k] = x01;
+            s[p + 4 + k] = x012;
+            s[p + 6 + k] = x012 + (x123 - x012) * t;
+        }
+    }
+
+    /**
+     * Replaces the curve at offset {@code p} by its piece in the parameter
+     * range [t, 1], using the de Casteljau algorithm.
+     */
+    private static void keepRight(double @NonNull [] s, int p, double t) {
+        for (int k = 0; k < 2; k++) {
+            final double x0 = s[p + k], x1 = s[p + 2 + k], x2 = s[p + 4 + k], x3 = s[p + 6 + k];
+            final double x01 = x0 + (x1 - x0) * t, x12 = x1 + (x2 - x1) * t, x23 = x2 + (x3 - x2) * t;
+            final double x012 = x01 + (x12 - x01) * t, x123 = x12 + (x23 - x12) * t;
+            s[p + k] = x012 + (x123 - x012) * t;
+            s[p + 2 + k] = x123;
+            s[p + 4 + k] = x23;
+        }
+    }
+}
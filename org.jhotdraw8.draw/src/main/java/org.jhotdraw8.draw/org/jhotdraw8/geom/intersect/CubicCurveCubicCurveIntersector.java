@@ -0,0 +1,101 @@
+/*
+ * @(#)CubicCurveCubicCurveIntersector.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.annotation.NonNull;
+
+/**
+ * Strategy for computing the intersections between two cubic Bézier curves.
+ * <p>
+ * The following implementations are provided:
+ * <dl>
+ *     <dt>{@link #BEZOUT}</dt>
+ *     <dd>Solves the polynomial of degree 9 that is given by the Bézout
+ *     resultant of the two curves. See {@link IntersectCubicCurveCubicCurve}.</dd>
+ *     <dt>{@link #BEZIER_CLIPPING}</dt>
+ *     <dd>Clips the curves against each others fat lines. This is faster,
+ *     and more robust if the curves are almost tangent to each other.
+ *     See {@link BezierClippingIntersector}.</dd>
+ * </dl>
+ * Implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface CubicCurveCubicCurveIntersector {
+    /**
+     * Solves the Bézout resultant.
+     */
+    @NonNull CubicCurveCubicCurveIntersector BEZOUT = IntersectCubicCurveCubicCurve::intersectCubicCurveCubicCurveEx;
+    /**
+     * Uses Bézier clipping.
+     */
+    @NonNull CubicCurveCubicCurveIntersector BEZIER_CLIPPING = new BezierClippingIntersector();
+
+    /**
+     * Computes the intersection points between cubic curve 'a' and cubic
+     * curve 'b', and appends them to the specified buffer.
+     * <p>
+     * The intersection points contain the parameters 't' of 'a' and
+     * of 'b' in the range [0,1], and the tangents of the curves at the
+     * intersection points.
+     *
+     * @param a0x     the x coordinate of control point P0 of 'a'
+     * @param a0y     the y coordinate of control point P0 of 'a'
+     * @param a1x     the x coordinate of control point P1 of 'a'
+     * @param a1y     the y coordinate of control point P1 of 'a'
+     * @param a2x     the x coordinate of control point P2 of 'a'
+     * @param a2y     the y coordinate of control point P2 of 'a'
+     * @param a3x     the x coordinate of control point P3 of 'a'
+     * @param a3y     the y coordinate of control point P3 of 'a'
+     * @param b0x     the x coordinate of control point P0 of 'b'
+     * @param b0y     the y coordinate of control point P0 of 'b'
+     * @param b1x     the x coordinate of control point P1 of 'b'
+     * @param b1y     the y coordinate of control point P1 of 'b'
+     * @param b2x     the x coordinate of control point P2 of 'b'
+     * @param b2y     the y coordinate of control point P2 of 'b'
+     * @param b3x     the x coordinate of control point P3 of 'b'
+     * @param b3y     the y coordinate of control point P3 of 'b'
+     * @param epsilon the tolerance
+     * @param result  the buffer to which the intersection points are
+     *                appended
+     * @return the status of the intersection
+     */
+    @NonNull IntersectionStatus intersect(
+            double a0x, double a0y, double a1x, double a1y, double a2x, double a2y, double a3x, double a3y,
+            double b0x, double b0y, double b1x, double b1y, double b2x, double b2y, double b3x, double b3y,
+            double epsilon, @NonNull IntersectionBuffer result);
+
+    /**
+     * Computes the intersection points between cubic curve 'a' and cubic
+     * curve 'b'.
+     *
+     * @param a0x     the x coordinate of control point P0 of 'a'
+     * @param a0y     the y coordinate of control point P0 of 'a'
+     * @param a1x     the x coordinate of control point P1 of 'a'
+     * @param a1y     the y coordinate of control point P1 of 'a'
+     * @param a2x     the x coordinate of control point P2 of 'a'
+     * @param a2y     the y coordinate of control point P2 of 'a'
+     * @param a3x     the x coordinate of control point P3 of 'a'
+     * @param a3y     the y coordinate of control point P3 of 'a'
+     * @param b0x     the x coordinate of control point P0 of 'b'
+     * @param b0y     the y coordinate of control point P0 of 'b'
+     * @param b1x     the x coordinate of control point P1 of 'b'
+     * @param b1y     the y coordinate of control point P1 of 'b'
+     * @param b2x     the x coordinate of control point P2 of 'b'
+     * @param b2y     the y coordinate of control point P2 of 'b'
+     * @param b3x     the x coordinate of control point P3 of 'b'
+     * @param b3y     the y coordinate of control point P3 of 'b'
+     * @param epsilon the tolerance
+     * @return the computed result
+     */
+    default @NonNull IntersectionResultEx intersect(
+            double a0x, double a0y, double a1x, double a1y, double a2x, double a2y, double a3x, double a3y,
+            double b0x, double b0y, double b1x, double b1y, double b2x, double b2y, double b3x, double b3y,
+            double epsilon) {
+        IntersectionBuffer result = new IntersectionBuffer();
+        IntersectionStatus status = intersect(a0x, a0y, a1x, a1y, a2x, a2y, a3x, a3y,
+                b0x, b0y, b1x, b1y, b2x, b2y, b3x, b3y, epsilon, result);
+        return result.toIntersectionResultEx(0, status);
+    }
+}
@@ -5,6 +5,7 @@
 package org.jhotdraw8.geom.intersect;
 
 import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.geom.Geom;
 
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
@@ -16,7 +17,54 @@ public class IntersectAABBLine {
 
     public static @NonNull IntersectionResultEx intersectLineAABBEx(double a0x, double a0y, double a1x, double a1y,
                                                                     double rminx, double rminy, double rmaxx, double rmaxy) {
-        return intersectLineAABBEx(new Point2D.Double(a0x, a0y), new Point2D.Double(a1x, a1y), rminx, rminy, rmaxx, rmaxy);
+        IntersectionBuffer result = new IntersectionBuffer(4);
+        IntersectionStatus status = intersectLineAABBEx(a0x, a0y, a1x, a1y, rminx, rminy, rmaxx, rmaxy, result);
+        return result.toIntersectionResultEx(0, status);
+    }
+
+    /**
+     * Computes the intersection of the line 'a' with the edges of an
+     * axis-aligned bounding box, and appends the intersection points to
+     * the provided buffer.
+     * <p>
+     * Produces the same results as
+     * {@link #intersectLineAABBEx(Point2D, Point2D, double, double, double, double)},
+     * but does not allocate objects.
+     *
+     * @param a0x    point 0 of 'a'
+     * @param a0y    point 0 of 'a'
+     * @param a1x    point 1 of 'a'
+     * @param a1y    point 1 of 'a'
+     * @param rminx  the minimal x coordinate of the box
+     * @param rminy  the minimal y coordinate of the box
+     * @param rmaxx  the maximal x coordinate of the box
+     * @param rmaxy  the maximal y coordinate of the box
+     * @param result the buffer to which the intersection points are appended
+     * @return the status of the intersection
+     */
+    public static @NonNull IntersectionStatus intersectLineAABBEx(double a0x, double a0y, double a1x, double a1y,
+                                                                  double rminx, double rminy, double rmaxx, double rmaxy,
+                                                                  @NonNull IntersectionBuffer result) {
+        final int from = result.size();
+        addLineLine(a0x, a0y, a1x, a1y, rminx, rminy, rmaxx, rminy, result);
+        addLineLine(a0x, a0y, a1x, a1y, rmaxx, rminy, rmaxx, rmaxy, result);
+        addLineLine(a0x, a0y, a1x, a1y, rmaxx, rmaxy, rminx, rmaxy, result);
+        addLineLine(a0x, a0y, a1x, a1y, rminx, rmaxy, rminx, rminy, result);
+        return result.size() == from ? IntersectionStatus.NO_INTERSECTION : IntersectionStatus.INTERSECTION;
+    }
+
+    /**
+     * Appends the intersection of two line segments to the buffer, if
+     * the status is {@link IntersectionStatus#INTERSECTION}.
+     */
+    private static void addLineLine(double a0x, double a0y, double a1x, double a1y,
+                                    double b0x, double b0y, double b1x, double b1y,
+                                    @NonNull IntersectionBuffer result) {
+        final int from = result.size();
+        if (IntersectLineLine.intersectLineLineEx(a0x, a0y, a1x, a1y, b0x, b0y, b1x, b1y, Geom.REAL_THRESHOLD, result)
+                != IntersectionStatus.INTERSECTION) {
+            result.truncate(from);
+        }
     }
 
     /**
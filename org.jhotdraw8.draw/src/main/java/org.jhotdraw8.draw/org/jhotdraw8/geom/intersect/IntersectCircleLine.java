@@ -120,16 +120,39 @@ public class IntersectCircleLine {
      * @return intersection result
      */
     public static @NonNull IntersectionResultEx intersectLineCircleEx(double x0, double y0, double x1, double y1, double cx, double cy, double r, double epsilon) {
-        List<IntersectionPointEx> result = new ArrayList<>(2);
+        IntersectionBuffer result = new IntersectionBuffer(2);
+        IntersectionStatus status = intersectLineCircleEx(x0, y0, x1, y1, cx, cy, r, epsilon, result);
+        return result.toIntersectionResultEx(0, status);
+    }
+
+    /**
+     * Computes the intersection of a line and a circle, and appends the
+     * intersection points to the provided buffer.
+     * <p>
+     * Produces the same results as
+     * {@link #intersectLineCircleEx(double, double, double, double, double, double, double, double)},
+     * but does not allocate objects.
+     *
+     * @param x0      point 0 of the line
+     * @param y0      point 0 of the line
+     * @param x1      point 1 of the line
+     * @param y1      point 1 of the line
+     * @param cx      the center of the circle
+     * @param cy      the center of the circle
+     * @param r       the radius of the circle
+     * @param epsilon epsilon value
+     * @param result  the buffer to which the intersection points are appended
+     * @return the status of the intersection
+     */
+    public static @NonNull IntersectionStatus intersectLineCircleEx(double x0, double y0, double x1, double y1, double cx, double cy, double r, double epsilon,
+                                                                    @NonNull IntersectionBuffer result) {
         final double Δx, Δy;
         Δx = x1 - x0;
         Δy = y1 - y0;
         if (Math.abs(Δx) < 1e-6 && Math.abs(Δy) < 1e-6) {
             // Line is a point. Check if it is inside or outside the circle.
             final double distanceSquared = (x0 - cx) * (x0 - cx) + (y0 - cy) * (y0 - cy);
-            return new IntersectionResultEx(
-                    (distanceSquared <= r * r) ? IntersectionStatus.NO_INTERSECTION_INSIDE : IntersectionStatus.NO_INTERSECTION_OUTSIDE,
-                    result);
+            return (distanceSquared <= r * r) ? IntersectionStatus.NO_INTERSECTION_INSIDE : IntersectionStatus.NO_INTERSECTION_OUTSIDE;
         }
 
         final double a, b, c, deter;
@@ -164,39 +187,33 @@ public class IntersectCircleLine {
                         t1 = swap;
                     }
                     if (minT <= t1 && t1 <= maxT) {
-                        Point2D.Double p = lerp(x0, y0, x1, y1, t1);
-                        result.add(new IntersectionPointEx(p,
-                                t1, new Point2D.Double(x1 - x0, y1 - y0),
-                                Geom.atan2(p.getY() - cy, p.getX() - cx),
-                                new Point2D.Double(p.getY() - cy, -p.getX() - cx)
-                        ));
+                        addLineCirclePoint(x0, y0, Δx, Δy, cx, cy, t1, result);
                     }
                     if (minT <= t2 && t2 <= maxT) {
-                        Point2D.Double p = lerp(x0, y0, x1, y1, t2);
-                        result.add(new IntersectionPointEx(p,
-                                t2, new Point2D.Double(x1 - x0, y1 - y0),
-                                Geom.atan2(p.getY() - cy, p.getX() - cx),
-                                new Point2D.Double(p.getY() - cy, -p.getX() - cx)
-                        ));
+                        addLineCirclePoint(x0, y0, Δx, Δy, cx, cy, t2, result);
                     }
                 }
             } else {
                 double t = (-b) / (2 * a);
                 if (minT <= t && t <= maxT) {
                     status = IntersectionStatus.INTERSECTION;
-                    Point2D.Double p = lerp(x0, y0, x1, y1, t);
-                    result.add(new IntersectionPointEx(p,
-                            t, new Point2D.Double(x1 - x0, y1 - y0),
-                            Geom.atan2(p.getY() - cy, p.getX() - cx),
-                            new Point2D.Double(p.getY() - cy, -p.getX() - cx)
-                    ));
+                    addLineCirclePoint(x0, y0, Δx, Δy, cx, cy, t, result);
                 } else {
                     status = IntersectionStatus.NO_INTERSECTION_OUTSIDE;
                 }
             }
         }
 
-        return new IntersectionResultEx(status, result);
+        return status;
+    }
+
+    private static void addLineCirclePoint(double x0, double y0, double Δx, double Δy, double cx, double cy, double t,
+                                           @NonNull IntersectionBuffer result) {
+        final double px = x0 + Δx * t;
+        final double py = y0 + Δy * t;
+        result.add(px, py,
+                t, Δx, Δy,
+                Geom.atan2(py - cy, px - cx), py - cy, -px - cx);
     }
 
     public static @NonNull IntersectionResult intersectLineCircle(double x0, double y0, double x1, double y1, double cx, double cy, double r) {
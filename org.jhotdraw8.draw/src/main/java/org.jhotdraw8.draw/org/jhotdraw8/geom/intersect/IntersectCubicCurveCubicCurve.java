@@ -14,6 +14,12 @@ import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Computes the intersections between two cubic Bézier curves by solving
+ * the Bézout resultant of the curves, which is a polynomial of degree 9.
+ * <p>
+ * See {@link CubicCurveCubicCurveIntersector} for alternative algorithms.
+ */
 public class IntersectCubicCurveCubicCurve {
     private static final double CURVE_A_B_TOLERANCE = 1e-3;
     private static final double ROOT_X_Y_TOLERANCE = 1e-4;
@@ -399,13 +405,47 @@ public class IntersectCubicCurveCubicCurve {
     public static IntersectionResultEx intersectCubicCurveCubicCurveEx(double a0x, double a0y, double a1x, double a1y, double a2x, double a2y, double a3x, double a3y,
                                                                        double b0x, double b0y, double b1x, double b1y, double b2x, double b2y, double b3x, double b3y,
                                                                        double epsilon) {
+        IntersectionBuffer result = new IntersectionBuffer();
+        IntersectionStatus status = intersectCubicCurveCubicCurveEx(a0x, a0y, a1x, a1y, a2x, a2y, a3x, a3y,
+                b0x, b0y, b1x, b1y, b2x, b2y, b3x, b3y, epsilon, result);
+        return result.toIntersectionResultEx(0, status);
+    }
+
+    /**
+     * Computes the intersection between cubic bezier curve 'a' and cubic bezier
+     * curve 'b', and appends the intersection points to the specified buffer.
+     * <p>
+     * This is the {@link CubicCurveCubicCurveIntersector#BEZOUT} strategy.
+     *
+     * @param a0x     the x coordinate of control point P0 of 'a'
+     * @param a0y     the y coordinate of control point P0 of 'a'
+     * @param a1x     the x coordinate of control point P1 of 'a'
+     * @param a1y     the y coordinate of control point P1 of 'a'
+     * @param a2x     the x coordinate of control point P2 of 'a'
+     * @param a2y     the y coordinate of control point P2 of 'a'
+     * @param a3x     the x coordinate of control point P3 of 'a'
+     * @param a3y     the y coordinate of control point P3 of 'a'
+     * @param b0x     the x coordinate of control point P0 of 'b'
+     * @param b0y     the y coordinate of control point P0 of 'b'
+     * @param b1x     the x coordinate of control point P1 of 'b'
+     * @param b1y     the y coordinate of control point P1 of 'b'
+     * @param b2x     the x coordinate of control point P2 of 'b'
+     * @param b2y     the y coordinate of control point P2 of 'b'
+     * @param b3x     the x coordinate of control point P3 of 'b'
+     * @param b3y     the y coordinate of control point P3 of 'b'
+     * @param epsilon the tolerance
+     * @param result  the buffer to which the intersection points are appended
+     * @return the status of the intersection
+     */
+    public static @NonNull IntersectionStatus intersectCubicCurveCubicCurveEx(
+            double a0x, double a0y, double a1x, double a1y, double a2x, double a2y, double a3x, double a3y,
+            double b0x, double b0y, double b1x, double b1y, double b2x, double b2y, double b3x, double b3y,
+            double epsilon, @NonNull IntersectionBuffer result) {
         IntersectionResult resultA = intersectCubicCurveCubicCurve(a0x, a0y, a1x, a1y, a2x, a2y, a3x, a3y, b0x, b0y, b1x, b1y, b2x, b2y, b3x, b3y, epsilon);
         IntersectionResult resultB = intersectCubicCurveCubicCurve(b0x, b0y, b1x, b1y, b2x, b2y, b3x, b3y, a0x, a0y, a1x, a1y, a2x, a2y, a3x, a3y, epsilon);
 
-        ArrayList<IntersectionPointEx> list = new ArrayList<>();
         for (IntersectionPoint ipA : resultA) {
-            double x = ipA.getX();
-            double y = ipA.getY();
+            double argumentA = ipA.getArgumentA();
             double argumentB = Double.NaN;
             for (IntersectionPoint ipB : resultB) {
                 if (Geom.almostEqual(ipA, ipB, CURVE_A_B_TOLERANCE)) {
@@ -414,15 +454,22 @@ public class IntersectCubicCurveCubicCurve {
                 }
             }
             assert !Double.isNaN(argumentB) : "argumentB must exist";
-            Point2D.Double tangentA = BezierCurves.evalCubicCurveTangent(a0x, a0y, a1x, a1y, a2x, a2y, a3x, a3y, ipA.getArgumentA());
-            Point2D.Double tangentB = BezierCurves.evalCubicCurveTangent(b0x, b0y, b1x, b1y, b2x, b2y, b3x, b3y, argumentB);
-            list.add(new IntersectionPointEx(
-                    x, y,
-                    ipA.getArgumentA(), tangentA.getX(), tangentA.getY(),
-                    argumentB, tangentB.getX(), tangentB.getY()
-            ));
+            result.add(ipA.getX(), ipA.getY(),
+                    argumentA, tangent(a0x, a1x, a2x, a3x, argumentA), tangent(a0y, a1y, a2y, a3y, argumentA),
+                    argumentB, tangent(b0x, b1x, b2x, b3x, argumentB), tangent(b0y, b1y, b2y, b3y, argumentB));
         }
+        return resultA.getStatus();
+    }
 
-        return new IntersectionResultEx(resultA.getStatus(), list);
+    /**
+     * Evaluates a coordinate of the tangent of a cubic curve, in the same
+     * way as {@link BezierCurves#evalCubicCurveTangent}, but without
+     * allocating a point.
+     */
+    private static double tangent(double p0, double p1, double p2, double p3, double t) {
+        final double p01 = Geom.lerp(p0, p1, t);
+        final double p12 = Geom.lerp(p1, p2, t);
+        final double p23 = Geom.lerp(p2, p3, t);
+        return Geom.lerp(p12, p23, t) - Geom.lerp(p01, p12, t);
     }
 }
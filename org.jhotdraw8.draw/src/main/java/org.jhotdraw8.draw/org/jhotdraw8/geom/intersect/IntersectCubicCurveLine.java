@@ -5,7 +5,6 @@
 package org.jhotdraw8.geom.intersect;
 
 import org.jhotdraw8.annotation.NonNull;
-import org.jhotdraw8.geom.BezierCurves;
 import org.jhotdraw8.geom.Geom;
 import org.jhotdraw8.geom.Points2D;
 
@@ -269,23 +268,99 @@ public class IntersectCubicCurveLine {
     public static IntersectionResultEx intersectLineCubicCurveEx(double a0x, double a0y, double a1x, double a1y,
                                                                  double p0x, double p0y, double p1x, double p1y, double p2x, double p2y, double p3x, double p3y,
                                                                  double epsilon) {
-        IntersectionResult result = intersectCubicCurveLine(
-                p0x, p0y, p1x, p1y, p2x, p2y, p3x, p3y,
-                a0x, a0y, a1x, a1y,
-                epsilon);
-        ArrayList<IntersectionPointEx> list = new ArrayList<>();
-        for (IntersectionPoint ip : result) {
-            double x = ip.getX();
-            double y = ip.getY();
-            Point2D.Double tangentA = BezierCurves.evalCubicCurveTangent(p0x, p0y, p1x, p1y, p2x, p2y, p3x, p3y, ip.getArgumentA());
-            list.add(new IntersectionPointEx(
-                    x, y,
-                    IntersectLinePoint.argumentOnLine(a0x, a0y, a1x, a1y, x, y), a1x - a0x, a1y - a0y,
-                    ip.getArgumentA(), tangentA.getX(), tangentA.getY()
-            ));
-        }
+        IntersectionBuffer result = new IntersectionBuffer(3);
+        IntersectionStatus status = intersectLineCubicCurveEx(a0x, a0y, a1x, a1y, p0x, p0y, p1x, p1y, p2x, p2y, p3x, p3y, epsilon, result);
+        return result.toIntersectionResultEx(0, status);
+    }
+
+    /**
+     * Computes the intersection between the line 'a' and the cubic bezier
+     * curve 'p', and appends the intersection points to the provided buffer.
+     * <p>
+     * Produces the same results as
+     * {@link #intersectLineCubicCurveEx(double, double, double, double, double, double, double, double, double, double, double, double, double)},
+     * but does not allocate objects.
+     *
+     * @param a0x     point 0 of 'a'
+     * @param a0y     point 0 of 'a'
+     * @param a1x     point 1 of 'a'
+     * @param a1y     point 1 of 'a'
+     * @param p0x     control point P0 of 'p'
+     * @param p0y     control point P0 of 'p'
+     * @param p1x     control point P1 of 'p'
+     * @param p1y     control point P1 of 'p'
+     * @param p2x     control point P2 of 'p'
+     * @param p2y     control point P2 of 'p'
+     * @param p3x     control point P3 of 'p'
+     * @param p3y     control point P3 of 'p'
+     * @param epsilon the tolerance
+     * @param result  the buffer to which the intersection points are appended
+     * @return the status of the intersection
+     */
+    public static @NonNull IntersectionStatus intersectLineCubicCurveEx(double a0x, double a0y, double a1x, double a1y,
+                                                                        double p0x, double p0y, double p1x, double p1y, double p2x, double p2y, double p3x, double p3y,
+                                                                        double epsilon, @NonNull IntersectionBuffer result) {
+        // Coefficients of the cubic, see intersectCubicCurveLine.
+        final double c3x, c3y, c2x, c2y, c1x, c1y;
+        c3x = -p0x + 3 * p1x - 3 * p2x + p3x;
+        c3y = -p0y + 3 * p1y - 3 * p2y + p3y;
+        c2x = 3 * p0x - 6 * p1x + 3 * p2x;
+        c2y = 3 * p0y - 6 * p1y + 3 * p2y;
+        c1x = -3 * p0x + 3 * p1x;
+        c1y = -3 * p0y + 3 * p1y;
+
+        // Convert line to normal form: nx·x + ny·y + cl = 0
+        final double nx, ny, cl;
+        nx = a0y - a1y;
+        ny = a1x - a0x;
+        cl = a0x * a1y - a1x * a0y;
 
-        return new IntersectionResultEx(result.getStatus(), list);
+        final double[] roots = result.roots;
+        final int numRoots = Polynomial.getRoots(
+                nx * c3x + ny * c3y,
+                nx * c2x + ny * c2y,
+                nx * c1x + ny * c1y,
+                nx * p0x + ny * p0y + cl,
+                roots);
+
+        final double minx = Math.min(a0x, a1x), miny = Math.min(a0y, a1y);
+        final double maxx = Math.max(a0x, a1x), maxy = Math.max(a0y, a1y);
+        IntersectionStatus status = IntersectionStatus.NO_INTERSECTION;
+        for (int i = 0; i < numRoots; i++) {
+            final double t = roots[i];
+            if (0 <= t && t <= 1) {
+                final double x01, y01, x12, y12, x23, y23, x012, y012, x123, y123, x, y;
+                x01 = lerp(p0x, p1x, t);
+                y01 = lerp(p0y, p1y, t);
+                x12 = lerp(p1x, p2x, t);
+                y12 = lerp(p1y, p2y, t);
+                x23 = lerp(p2x, p3x, t);
+                y23 = lerp(p2y, p3y, t);
+                x012 = lerp(x01, x12, t);
+                y012 = lerp(y01, y12, t);
+                x123 = lerp(x12, x23, t);
+                y123 = lerp(y12, y23, t);
+                x = lerp(x012, x123, t);
+                y = lerp(y012, y123, t);
+
+                // See if point is on line segment
+                final boolean onSegment;
+                if (Geom.almostEqual(a0x, a1x, epsilon)) {
+                    onSegment = miny <= y && y <= maxy;
+                } else if (Geom.almostEqual(a0y, a1y, epsilon)) {
+                    onSegment = minx <= x && x <= maxx;
+                } else {
+                    onSegment = minx <= x && miny <= y && x <= maxx && y <= maxy;
+                }
+                if (onSegment) {
+                    status = IntersectionStatus.INTERSECTION;
+                    result.add(x, y,
+                            argumentOnLine(a0x, a0y, a1x, a1y, x, y), a1x - a0x, a1y - a0y,
+                            t, x123 - x012, y123 - y012);
+                }
+            }
+        }
+        return status;
     }
 
     public static IntersectionResultEx intersectLineCubicCurveEx(double a0x, double a0y, double a1x, double a1y, double lastx, double lasty, double v, double v1, double v2, double v3, double x, double y) {
@@ -296,23 +371,39 @@ public class IntersectCubicCurveLine {
             double a0x, double a0y, double a1x, double a1y, double a2x, double a2y, double a3x, double a3y,
             double b0x, double b0y, double b1x, double b1y,
             double epsilon) {
-        IntersectionResult result = intersectCubicCurveLine(
-                a0x, a0y, a1x, a1y, a2x, a2y, a3x, a3y,
-                b0x, b0y, b1x, b1y,
-                epsilon);
-        ArrayList<IntersectionPointEx> list = new ArrayList<>();
-        for (IntersectionPoint ip : result) {
-            double x = ip.getX();
-            double y = ip.getY();
-            Point2D.Double tangentA = BezierCurves.evalCubicCurveTangent(a0x, a0y, a1x, a1y, a2x, a2y, a3x, a3y, ip.getArgumentA());
-            list.add(new IntersectionPointEx(
-                    x, y,
-                    ip.getArgumentA(), tangentA.getX(), tangentA.getY(),
-                    IntersectLinePoint.argumentOnLine(b0x, b0y, b1x, b1y, x, y), b1x - b0x, b1y - b0y
-            ));
-        }
+        IntersectionBuffer result = new IntersectionBuffer(3);
+        IntersectionStatus status = intersectCubicCurveLineEx(a0x, a0y, a1x, a1y, a2x, a2y, a3x, a3y, b0x, b0y, b1x, b1y, epsilon, result);
+        return result.toIntersectionResultEx(0, status);
+    }
 
-        return new IntersectionResultEx(result.getStatus(), list);
+    /**
+     * Computes the intersection between the cubic bezier curve 'a' and the
+     * line 'b', and appends the intersection points to the provided buffer.
+     *
+     * @param a0x     control point P0 of 'a'
+     * @param a0y     control point P0 of 'a'
+     * @param a1x     control point P1 of 'a'
+     * @param a1y     control point P1 of 'a'
+     * @param a2x     control point P2 of 'a'
+     * @param a2y     control point P2 of 'a'
+     * @param a3x     control point P3 of 'a'
+     * @param a3y     control point P3 of 'a'
+     * @param b0x     point 0 of 'b'
+     * @param b0y     point 0 of 'b'
+     * @param b1x     point 1 of 'b'
+     * @param b1y     point 1 of 'b'
+     * @param epsilon the tolerance
+     * @param result  the buffer to which the intersection points are appended
+     * @return the status of the intersection
+     */
+    public static @NonNull IntersectionStatus intersectCubicCurveLineEx(
+            double a0x, double a0y, double a1x, double a1y, double a2x, double a2y, double a3x, double a3y,
+            double b0x, double b0y, double b1x, double b1y,
+            double epsilon, @NonNull IntersectionBuffer result) {
+        final int from = result.size();
+        final IntersectionStatus status = intersectLineCubicCurveEx(b0x, b0y, b1x, b1y, a0x, a0y, a1x, a1y, a2x, a2y, a3x, a3y, epsilon, result);
+        result.swapAB(from);
+        return status;
     }
 
     public static IntersectionResultEx intersectCubicCurveLineEx(
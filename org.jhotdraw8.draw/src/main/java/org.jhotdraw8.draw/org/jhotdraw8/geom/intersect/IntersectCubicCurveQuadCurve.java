@@ -252,12 +252,15 @@ public class IntersectCubicCurveQuadCurve {
         for (IntersectionPoint ip : resultA) {
             double x = ip.getX();
             double y = ip.getY();
-            IntersectionResultEx resultB = IntersectCubicCurvePoint.intersectCubicCurvePointEx(b0x, b0y, b1x, b1y, b2x, b2y, b3x, b3y, x, y, epsilon);
-            IntersectionPointEx firstB = resultB.getFirst();
-            list.add(new IntersectionPointEx(ip,
-                    ip.getArgumentA(), BezierCurves.evalQuadCurveTangent(b0x, b0y, b1x, b1y, b2x, b2y, ip.getArgumentA()),
-                    firstB.getArgumentA(), firstB.getTangentA()
-            ));
+            IntersectionResultEx resultB = IntersectCubicCurvePoint.intersectCubicCurvePointEx(b0x, b0y, b1x, b1y, b2x, b2y, b3x, b3y, x, y, CURVE_A_B_TOLERANCE);
+            // resultB should never by empty, but if this happen we rather have no intersection than a crash.
+            if (!resultB.isEmpty()) {
+                IntersectionPointEx firstB = resultB.getFirst();
+                list.add(new IntersectionPointEx(ip,
+                        ip.getArgumentA(), BezierCurves.evalQuadCurveTangent(a0x, a0y, a1x, a1y, a2x, a2y, ip.getArgumentA()),
+                        firstB.getArgumentA(), firstB.getTangentA()
+                ));
+            }
         }
 
         return new IntersectionResultEx(resultA.getStatus(), list);
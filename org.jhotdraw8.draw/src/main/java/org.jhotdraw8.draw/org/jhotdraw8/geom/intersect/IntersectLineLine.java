@@ -98,6 +98,36 @@ public class IntersectLineLine {
         );
     }
 
+    /**
+     * Intersects a line segment 'a' with line segment 'b', and appends the
+     * intersection points to the provided buffer.
+     * <p>
+     * Produces the same results as
+     * {@link #intersectLineLineEx(double, double, double, double, double, double, double, double, double)},
+     * but does not allocate objects.
+     *
+     * @param a0x     start x coordinate of line segment 'a'
+     * @param a0y     start y coordinate of line segment 'a'
+     * @param a1x     end x coordinate of line segment 'a'
+     * @param a1y     end y coordinate of line segment 'a'
+     * @param b0x     start x coordinate of line segment 'b'
+     * @param b0y     start y coordinate of line segment 'b'
+     * @param b1x     end x coordinate of line segment 'b'
+     * @param b1y     end y coordinate of line segment 'b'
+     * @param epsilon the tolerance
+     * @param result  the buffer to which the intersection points are appended
+     * @return the status of the intersection
+     */
+    public static @NonNull IntersectionStatus intersectLineLineEx(
+            double a0x, double a0y, double a1x, double a1y,
+            double b0x, double b0y, double b1x, double b1y, double epsilon,
+            @NonNull IntersectionBuffer result) {
+        return IntersectRayRay.intersectRayRayEx(
+                a0x, a0y, a1x - a0x, a1y - a0y, 1,
+                b0x, b0y, b1x - b0x, b1y - b0y, 1, epsilon, result
+        );
+    }
+
     public static IntersectionResult intersectLineLine(
             double a0x, double a0y, double a1x, double a1y,
             double b0x, double b0y, double b1x, double b1y) {
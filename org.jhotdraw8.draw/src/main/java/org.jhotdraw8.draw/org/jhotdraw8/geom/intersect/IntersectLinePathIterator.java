@@ -5,11 +5,11 @@
 package org.jhotdraw8.geom.intersect;
 
 import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.geom.Geom;
 
 import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
-import java.util.List;
 
 public class IntersectLinePathIterator {
     private IntersectLinePathIterator() {
@@ -24,66 +24,84 @@ public class IntersectLinePathIterator {
     }
 
     public static @NonNull IntersectionResultEx intersectLinePathIteratorEx(double a0x, double a0y, double a1x, double a1y, @NonNull PathIterator pit, double maxT) {
-        List<IntersectionPointEx> result = new ArrayList<>();
-        final double[] seg = new double[6];
+        IntersectionBuffer result = new IntersectionBuffer();
+        IntersectionStatus status = intersectLinePathIteratorEx(a0x, a0y, a1x, a1y, pit, result);
+        return result.toIntersectionResultEx(0, status);
+    }
+
+    /**
+     * Computes the intersections of the line 'a' with the path 'b', and
+     * appends the intersection points to the provided buffer.
+     * <p>
+     * The segment index 'b' of an intersection point is the index of the
+     * path element in the path iterator.
+     * <p>
+     * Does not allocate objects, if the buffer is large enough.
+     *
+     * @param a0x    point 0 of 'a'
+     * @param a0y    point 0 of 'a'
+     * @param a1x    point 1 of 'a'
+     * @param a1y    point 1 of 'a'
+     * @param pit    the path iterator of 'b'
+     * @param result the buffer to which the intersection points are appended
+     * @return the status of the intersection
+     */
+    public static @NonNull IntersectionStatus intersectLinePathIteratorEx(double a0x, double a0y, double a1x, double a1y, @NonNull PathIterator pit,
+                                                                          @NonNull IntersectionBuffer result) {
+        final double[] seg = result.coords;
+        final int start = result.size();
         double firstx = 0, firsty = 0;
         double lastx = 0, lasty = 0;
         double x, y;
         int segmentIndex = 0;
-        int intersectionCount = 0;
-        boolean hasTangent = false;
         for (; !pit.isDone(); pit.next()) {
-            IntersectionResultEx inter;
+            final int from = result.size();
+            IntersectionStatus status;
             switch (pit.currentSegment(seg)) {
             case PathIterator.SEG_CLOSE:
-                inter = IntersectLineLine.intersectLineLineEx(a0x, a0y, a1x, a1y, lastx, lasty, firstx, firsty);
+                status = IntersectLineLine.intersectLineLineEx(a0x, a0y, a1x, a1y, lastx, lasty, firstx, firsty, Geom.REAL_THRESHOLD, result);
                 break;
             case PathIterator.SEG_CUBICTO:
                 x = seg[4];
                 y = seg[5];
-                inter = IntersectCubicCurveLine.intersectLineCubicCurveEx(a0x, a0y, a1x, a1y, lastx, lasty, seg[0], seg[1], seg[2], seg[3], x, y);
+                status = IntersectCubicCurveLine.intersectLineCubicCurveEx(a0x, a0y, a1x, a1y, lastx, lasty, seg[0], seg[1], seg[2], seg[3], x, y, Geom.REAL_THRESHOLD, result);
                 lastx = x;
                 lasty = y;
                 break;
             case PathIterator.SEG_LINETO:
                 x = seg[0];
                 y = seg[1];
-                inter = IntersectLineLine.intersectLineLineEx(a0x, a0y, a1x, a1y, lastx, lasty, x, y);
+                status = IntersectLineLine.intersectLineLineEx(a0x, a0y, a1x, a1y, lastx, lasty, x, y, Geom.REAL_THRESHOLD, result);
                 lastx = x;
                 lasty = y;
                 break;
             case PathIterator.SEG_MOVETO:
-                inter = null;
+                status = IntersectionStatus.NO_INTERSECTION;
                 lastx = firstx = seg[0];
                 lasty = firsty = seg[1];
                 break;
             case PathIterator.SEG_QUADTO:
                 x = seg[2];
                 y = seg[3];
-                inter = IntersectLineQuadCurve.intersectLineQuadCurveEx(a0x, a0y, a1x, a1y, lastx, lasty, seg[0], seg[1], x, y);
+                status = IntersectLineQuadCurve.intersectLineQuadCurveEx(a0x, a0y, a1x, a1y, lastx, lasty, seg[0], seg[1], x, y, Geom.REAL_THRESHOLD, result);
                 lastx = x;
                 lasty = y;
                 break;
             default:
-                inter = null;
+                status = IntersectionStatus.NO_INTERSECTION;
                 break;
             }
 
-            if (inter != null && inter.getStatus() == IntersectionStatus.INTERSECTION) {
-                result.addAll(inter.asList());
+            if (status == IntersectionStatus.INTERSECTION) {
+                result.setSegments(from, 0, segmentIndex);
+            } else {
+                result.truncate(from);
             }
 
             segmentIndex++;
         }
 
-        IntersectionStatus status;
-        if (result.isEmpty()) {
-            status = intersectionCount == 0 ? (hasTangent ? IntersectionStatus.NO_INTERSECTION_TANGENT : IntersectionStatus.NO_INTERSECTION_OUTSIDE) : IntersectionStatus.NO_INTERSECTION_INSIDE;
-        } else {
-            status = IntersectionStatus.INTERSECTION;
-        }
-
-        return new IntersectionResultEx(status, result);
+        return result.size() == start ? IntersectionStatus.NO_INTERSECTION_OUTSIDE : IntersectionStatus.INTERSECTION;
     }
 
 
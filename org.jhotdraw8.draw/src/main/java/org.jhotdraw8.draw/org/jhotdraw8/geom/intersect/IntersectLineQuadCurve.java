@@ -5,7 +5,6 @@
 package org.jhotdraw8.geom.intersect;
 
 import org.jhotdraw8.annotation.NonNull;
-import org.jhotdraw8.geom.BezierCurves;
 import org.jhotdraw8.geom.Geom;
 import org.jhotdraw8.geom.Points2D;
 
@@ -267,20 +266,90 @@ public class IntersectLineQuadCurve {
     public static IntersectionResultEx intersectLineQuadCurveEx(double a0x, double a0y, double a1x, double a1y,
                                                                 double p0x, double p0y, double p1x, double p1y, double p2x, double p2y,
                                                                 double epsilon) {
-        IntersectionResult result = intersectQuadCurveLine(p0x, p0y, p1x, p1y, p2x, p2y, a0x, a0y, a1x, a1y, epsilon);
-        ArrayList<IntersectionPointEx> list = new ArrayList<>();
-        for (IntersectionPoint ip : result) {
-            double px = ip.getX();
-            double py = ip.getY();
-            Point2D.Double tangentA = BezierCurves.evalQuadCurveTangent(p0x, p0y, p1x, p1y, p2x, p2y, ip.getArgumentA());
-            list.add(new IntersectionPointEx(
-                    px, py,
-                    IntersectLinePoint.argumentOnLine(a0x, a0y, a1x, a1y, px, py), a1x - a0x, a1y - a0y,
-                    ip.getArgumentA(), tangentA.getX(), tangentA.getY()
-            ));
-        }
-        return new IntersectionResultEx(result.getStatus(), list);
+        IntersectionBuffer result = new IntersectionBuffer(2);
+        IntersectionStatus status = intersectLineQuadCurveEx(a0x, a0y, a1x, a1y, p0x, p0y, p1x, p1y, p2x, p2y, epsilon, result);
+        return result.toIntersectionResultEx(0, status);
+    }
+
+    /**
+     * Computes the intersection between the line 'a' and the quadratic
+     * bezier curve 'p', and appends the intersection points to the provided
+     * buffer.
+     * <p>
+     * Produces the same results as
+     * {@link #intersectLineQuadCurveEx(double, double, double, double, double, double, double, double, double, double, double)},
+     * but does not allocate objects.
+     *
+     * @param a0x     point 0 of 'a'
+     * @param a0y     point 0 of 'a'
+     * @param a1x     point 1 of 'a'
+     * @param a1y     point 1 of 'a'
+     * @param p0x     control point P0 of 'p'
+     * @param p0y     control point P0 of 'p'
+     * @param p1x     control point P1 of 'p'
+     * @param p1y     control point P1 of 'p'
+     * @param p2x     control point P2 of 'p'
+     * @param p2y     control point P2 of 'p'
+     * @param epsilon the tolerance
+     * @param result  the buffer to which the intersection points are appended
+     * @return the status of the intersection
+     */
+    public static @NonNull IntersectionStatus intersectLineQuadCurveEx(double a0x, double a0y, double a1x, double a1y,
+                                                                       double p0x, double p0y, double p1x, double p1y, double p2x, double p2y,
+                                                                       double epsilon, @NonNull IntersectionBuffer result) {
+        // Coefficients of the quadratic, see intersectQuadCurveLine.
+        final double c2x, c2y, c1x, c1y;
+        c2x = p0x + p1x * -2 + p2x;
+        c2y = p0y + p1y * -2 + p2y;
+        c1x = (p0x - p1x) * -2;
+        c1y = (p0y - p1y) * -2;
+
+        // Convert line to normal form: nx·x + ny·y + cl = 0
+        final double nx, ny, cl;
+        nx = a0y - a1y;
+        ny = a1x - a0x;
+        cl = a0x * a1y - a1x * a0y;
+
+        final double[] roots = result.roots;
+        final int numRoots = Polynomial.getRoots(
+                0,
+                nx * c2x + ny * c2y,
+                nx * c1x + ny * c1y,
+                nx * p0x + ny * p0y + cl,
+                roots);
 
+        final double minx = Math.min(a0x, a1x), miny = Math.min(a0y, a1y);
+        final double maxx = Math.max(a0x, a1x), maxy = Math.max(a0y, a1y);
+        IntersectionStatus status = IntersectionStatus.NO_INTERSECTION;
+        for (int i = 0; i < numRoots; i++) {
+            final double t = roots[i];
+            if (-epsilon <= t && t <= 1 + epsilon) {
+                final double x01, y01, x12, y12, x, y;
+                x01 = lerp(p0x, p1x, t);
+                y01 = lerp(p0y, p1y, t);
+                x12 = lerp(p1x, p2x, t);
+                y12 = lerp(p1y, p2y, t);
+                x = lerp(x01, x12, t);
+                y = lerp(y01, y12, t);
+
+                // See if point is on line segment
+                final boolean onSegment;
+                if (a0x == a1x) {
+                    onSegment = miny <= y && y <= maxy;
+                } else if (a0y == a1y) {
+                    onSegment = minx <= x && x <= maxx;
+                } else {
+                    onSegment = minx <= x && miny <= y && x <= maxx && y <= maxy;
+                }
+                if (onSegment) {
+                    status = IntersectionStatus.INTERSECTION;
+                    result.add(x, y,
+                            argumentOnLine(a0x, a0y, a1x, a1y, x, y), a1x - a0x, a1y - a0y,
+                            t, x12 - x01, y12 - y01);
+                }
+            }
+        }
+        return status;
     }
 
     public static IntersectionResultEx intersectQuadCurveLineEx(
@@ -294,19 +363,37 @@ public class IntersectLineQuadCurve {
             double p0x, double p0y, double p1x, double p1y, double p2x, double p2y,
             double a0x, double a0y, double a1x, double a1y,
             double epsilon) {
-        IntersectionResult result = intersectQuadCurveLine(p0x, p0y, p1x, p1y, p2x, p2y, a0x, a0y, a1x, a1y, epsilon);
-        ArrayList<IntersectionPointEx> list = new ArrayList<>();
-        for (IntersectionPoint ip : result) {
-            double px = ip.getX();
-            double py = ip.getY();
-            Point2D.Double tangentA = BezierCurves.evalQuadCurveTangent(p0x, p0y, p1x, p1y, p2x, p2y, ip.getArgumentA());
-            list.add(new IntersectionPointEx(
-                    px, py,
-                    ip.getArgumentA(), tangentA.getX(), tangentA.getY(),
-                    IntersectLinePoint.argumentOnLine(a0x, a0y, a1x, a1y, px, py), a1x - a0x, a1y - a0y
-            ));
-        }
-        return new IntersectionResultEx(result.getStatus(), list);
+        IntersectionBuffer result = new IntersectionBuffer(2);
+        IntersectionStatus status = intersectQuadCurveLineEx(p0x, p0y, p1x, p1y, p2x, p2y, a0x, a0y, a1x, a1y, epsilon, result);
+        return result.toIntersectionResultEx(0, status);
+    }
 
+    /**
+     * Computes the intersection between the quadratic bezier curve 'p' and
+     * the line 'a', and appends the intersection points to the provided
+     * buffer.
+     *
+     * @param p0x     control point P0 of 'p'
+     * @param p0y     control point P0 of 'p'
+     * @param p1x     control point P1 of 'p'
+     * @param p1y     control point P1 of 'p'
+     * @param p2x     control point P2 of 'p'
+     * @param p2y     control point P2 of 'p'
+     * @param a0x     point 0 of 'a'
+     * @param a0y     point 0 of 'a'
+     * @param a1x     point 1 of 'a'
+     * @param a1y     point 1 of 'a'
+     * @param epsilon the tolerance
+     * @param result  the buffer to which the intersection points are appended
+     * @return the status of the intersection
+     */
+    public static @NonNull IntersectionStatus intersectQuadCurveLineEx(
+            double p0x, double p0y, double p1x, double p1y, double p2x, double p2y,
+            double a0x, double a0y, double a1x, double a1y,
+            double epsilon, @NonNull IntersectionBuffer result) {
+        final int from = result.size();
+        final IntersectionStatus status = intersectLineQuadCurveEx(a0x, a0y, a1x, a1y, p0x, p0y, p1x, p1y, p2x, p2y, epsilon, result);
+        result.swapAB(from);
+        return status;
     }
 }
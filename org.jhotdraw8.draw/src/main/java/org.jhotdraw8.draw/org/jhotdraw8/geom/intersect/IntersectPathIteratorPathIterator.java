@@ -0,0 +1,88 @@
+/*
+ * @(#)IntersectPathIteratorPathIterator.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.OrderedPair;
+import org.jhotdraw8.geom.Geom;
+
+import java.awt.geom.PathIterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the intersections between two or more paths that consist of
+ * lines, quadratic and cubic Bézier curves.
+ * <p>
+ * The segments are intersected with a sweep line over their x- and
+ * y-monotone pieces, see {@link SweepLineIntersector}.
+ */
+public class IntersectPathIteratorPathIterator {
+    private IntersectPathIteratorPathIterator() {
+    }
+
+    /**
+     * Computes the intersections between path 'a' and path 'b'.
+     *
+     * @param a path 'a'
+     * @param b path 'b'
+     * @return computed intersection
+     * @see #intersectPathIteratorPathIteratorEx(PathIterator, PathIterator, double)
+     */
+    public static @NonNull IntersectionResultEx intersectPathIteratorPathIteratorEx(@NonNull PathIterator a, @NonNull PathIterator b) {
+        return intersectPathIteratorPathIteratorEx(a, b, Geom.REAL_THRESHOLD);
+    }
+
+    /**
+     * Computes the intersections between path 'a' and path 'b' with a
+     * sweep line over the x-monotone pieces of their segments.
+     * <p>
+     * The paths may consist of lines, quadratic and cubic curves.
+     * <p>
+     * The result contains the parameters 't' of the segments of 'a' and
+     * 'b' in range [0,1], and the indices of the segments in the paths.
+     * The segment index counts all elements of a path, including
+     * {@link PathIterator#SEG_MOVETO}. An intersection at a point where two
+     * segments of a subpath join, is only reported for the second segment.
+     * The intersections are sorted by segment index and parameter of 'a'.
+     *
+     * @param a       path 'a'
+     * @param b       path 'b'
+     * @param epsilon the tolerance
+     * @return computed intersection
+     */
+    public static @NonNull IntersectionResultEx intersectPathIteratorPathIteratorEx(@NonNull PathIterator a, @NonNull PathIterator b, double epsilon) {
+        SweepLineIntersector sweep = new SweepLineIntersector();
+        sweep.addPathIterator(0, a);
+        sweep.addPathIterator(1, b);
+        return sweep.intersect(epsilon);
+    }
+
+    /**
+     * Computes the intersections between every pair of the given paths
+     * with a single sweep line.
+     * <p>
+     * The map contains an entry for each pair of path indices
+     * {@code (i, j)} with {@code i < j}, for which path {@code i} and path
+     * {@code j} intersect. The 'a' values of the intersection points refer
+     * to path {@code i}, the 'b' values to path {@code j}. The intersections
+     * of a path with itself are not computed.
+     * <p>
+     * See {@link #intersectPathIteratorPathIteratorEx(PathIterator, PathIterator, double)}
+     * for the values of the intersection points.
+     *
+     * @param paths   the paths
+     * @param epsilon the tolerance
+     * @return the intersections of each pair of paths, ordered by {@code i}
+     * and then by {@code j}
+     */
+    public static @NonNull Map<OrderedPair<Integer, Integer>, IntersectionResultEx> intersectAllPathIteratorsEx(@NonNull List<PathIterator> paths, double epsilon) {
+        SweepLineIntersector sweep = new SweepLineIntersector();
+        for (int i = 0, n = paths.size(); i < n; i++) {
+            sweep.addPathIterator(i, paths.get(i));
+        }
+        return sweep.intersectAll(epsilon);
+    }
+}
@@ -4,6 +4,7 @@
  */
 package org.jhotdraw8.geom.intersect;
 
+import org.jhotdraw8.annotation.Nullable;
 import org.jhotdraw8.geom.Geom;
 
 public class IntersectPointRay {
@@ -34,10 +35,47 @@ public class IntersectPointRay {
         }
     }
 
-    public static Double argumentOnRay(double ox, double oy,
-                                       double dx, double dy,
-                                       double amax,
-                                       double px, double py, double tolerance) {
+    /**
+     * Computes the argument of a point on a ray.
+     *
+     * @param ox        x origin of ray
+     * @param oy        y origin of ray
+     * @param dx        x direction of ray
+     * @param dy        y direction of ray
+     * @param amax      maximal parameter value of the ray
+     * @param px        x coordinate of point
+     * @param py        y coordinate of point
+     * @param tolerance the tolerance
+     * @return argument 't' at point px,py on the ray, or null if the point
+     * is not on the ray
+     * @see #argumentOnRayAsDouble(double, double, double, double, double, double, double, double)
+     */
+    public static @Nullable Double argumentOnRay(double ox, double oy,
+                                                 double dx, double dy,
+                                                 double amax,
+                                                 double px, double py, double tolerance) {
+        double t = argumentOnRayAsDouble(ox, oy, dx, dy, amax, px, py, tolerance);
+        return Double.isNaN(t) ? null : t;
+    }
+
+    /**
+     * Computes the argument of a point on a ray, without boxing the result.
+     *
+     * @param ox        x origin of ray
+     * @param oy        y origin of ray
+     * @param dx        x direction of ray
+     * @param dy        y direction of ray
+     * @param amax      maximal parameter value of the ray
+     * @param px        x coordinate of point
+     * @param py        y coordinate of point
+     * @param tolerance the tolerance
+     * @return argument 't' at point px,py on the ray, or {@link Double#NaN}
+     * if the point is not on the ray
+     */
+    public static double argumentOnRayAsDouble(double ox, double oy,
+                                               double dx, double dy,
+                                               double amax,
+                                               double px, double py, double tolerance) {
 
         // equations:
         // o + t * d = p
@@ -45,7 +83,7 @@ public class IntersectPointRay {
 
         boolean aIsPoint = Geom.almostZero(dx * amax) && Geom.almostZero(dy * amax);
         if (aIsPoint) {
-            return Geom.almostEqual(ox, px) && Geom.almostEqual(oy, py) ? 0.0 : null;
+            return Geom.almostEqual(ox, px) && Geom.almostEqual(oy, py) ? 0.0 : Double.NaN;
         }
         double t;
         if (Geom.almostZero(dx)) {
@@ -54,6 +92,6 @@ public class IntersectPointRay {
             t = (px - ox) / dx;
         }
         return -tolerance < t && t <= amax && Geom.almostEqual(ox + t * dx, px) && Geom.almostEqual(oy + t * dy, py)
-                ? t : null;
+                ? t : Double.NaN;
     }
 }
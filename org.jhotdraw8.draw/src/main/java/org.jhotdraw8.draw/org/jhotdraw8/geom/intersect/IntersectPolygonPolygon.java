@@ -5,9 +5,9 @@
 package org.jhotdraw8.geom.intersect;
 
 import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.geom.Geom;
 
 import java.awt.geom.Point2D;
-import java.util.ArrayList;
 import java.util.List;
 
 public class IntersectPolygonPolygon {
@@ -16,25 +16,22 @@ public class IntersectPolygonPolygon {
 
     /**
      * Computes the intersection between two polygons.
+     * <p>
+     * The result contains the parameters 't' of the edges in range [0,1],
+     * and the indices of the edges. Edge {@code i} goes from point {@code i}
+     * to point {@code i + 1}. An intersection at a point of a polygon, is
+     * only reported for the edge that starts at the point.
+     * <p>
+     * Uses a sweep line, see {@link IntersectPathIteratorPathIterator}.
      *
      * @param points1 the points of the first polygon
      * @param points2 the points of the second polygon
      * @return computed intersection
      */
     public static @NonNull IntersectionResultEx intersectPolygonPolygonEx(@NonNull List<Point2D.Double> points1, @NonNull List<Point2D.Double> points2) {
-        List<IntersectionPointEx> result = new ArrayList<>();
-        IntersectionStatus status = IntersectionStatus.NO_INTERSECTION;
-        int length = points1.size();
-
-        for (int i = 0; i < length; i++) {
-            Point2D.Double a1 = points1.get(i);
-            Point2D.Double a2 = points1.get((i + 1) % length);
-            IntersectionResultEx inter = IntersectLinePolygon.intersectLinePolygonEx(a1, a2, points2);
-
-            result.addAll(inter.asList());
-        }
-
-        return new IntersectionResultEx(result);
-
+        SweepLineIntersector sweep = new SweepLineIntersector();
+        sweep.addPolygon(0, points1);
+        sweep.addPolygon(1, points2);
+        return sweep.intersect(Geom.REAL_THRESHOLD);
     }
 }
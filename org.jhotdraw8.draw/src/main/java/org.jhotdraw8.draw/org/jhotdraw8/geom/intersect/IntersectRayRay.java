@@ -8,8 +8,6 @@ import org.jhotdraw8.annotation.NonNull;
 import org.jhotdraw8.geom.Geom;
 
 import java.awt.geom.Point2D;
-import java.util.ArrayList;
-import java.util.List;
 
 import static org.jhotdraw8.geom.Geom.REAL_THRESHOLD;
 
@@ -112,10 +110,38 @@ public class IntersectRayRay {
             double aox, double aoy, double adx, double ady, double amax,
             double box, double boy, double bdx, double bdy, double bmax,
             double epsilon) {
+        IntersectionBuffer result = new IntersectionBuffer(2);
+        IntersectionStatus status = intersectRayRayEx(aox, aoy, adx, ady, amax, box, boy, bdx, bdy, bmax, epsilon, result);
+        return result.toIntersectionResultEx(0, status);
+    }
 
-        Point2D.Double tangentA = new Point2D.Double(adx, ady);
-        Point2D.Double tangentB = new Point2D.Double(bdx, bdy);
-        List<IntersectionPointEx> result = new ArrayList<>();
+    /**
+     * Computes the intersection between two rays 'a' and 'b', and appends
+     * the intersection points to the provided buffer.
+     * <p>
+     * This method produces the same {@link IntersectionStatus} codes and
+     * intersection points as
+     * {@link #intersectRayRayEx(double, double, double, double, double, double, double, double, double, double, double)},
+     * but it does not allocate objects.
+     *
+     * @param aox     x origin of ray 'a'
+     * @param aoy     y origin of ray 'a'
+     * @param adx     x direction of ray 'a'
+     * @param ady     y direction of ray 'a'
+     * @param amax    maximal parameter value of ray 'a'
+     * @param box     x origin of ray 'b'
+     * @param boy     y origin of ray 'b'
+     * @param bdx     x direction of ray 'b'
+     * @param bdy     y direction of ray 'b'
+     * @param bmax    maximal parameter value of ray 'b'
+     * @param epsilon the tolerance
+     * @param result  the buffer to which the intersection points are appended
+     * @return the status of the intersection
+     */
+    public static @NonNull IntersectionStatus intersectRayRayEx(
+            double aox, double aoy, double adx, double ady, double amax,
+            double box, double boy, double bdx, double bdy, double bmax,
+            double epsilon, @NonNull IntersectionBuffer result) {
         IntersectionStatus status;
 
         double doy = aoy - boy;
@@ -132,16 +158,12 @@ public class IntersectRayRay {
             // considering it an intersection.
             if (-epsilon <= ua && ua <= amax && -epsilon <= ub && ub <= bmax) {
                 status = IntersectionStatus.INTERSECTION;
-                result.add(new IntersectionPointEx(
-                        new Point2D.Double(aox + ua * adx, aoy + ua * ady),
-                        ua, tangentA, ub, tangentB
-                ));
+                result.add(aox + ua * adx, aoy + ua * ady,
+                        ua, adx, ady, ub, bdx, bdy);
             } else {
                 status = IntersectionStatus.NO_INTERSECTION;
-                result.add(new IntersectionPointEx(
-                        new Point2D.Double(aox + ua * adx, aoy + ua * ady),
-                        ua, tangentA, ub, tangentB
-                ));
+                result.add(aox + ua * adx, aoy + ua * ady,
+                        ua, adx, ady, ub, bdx, bdy);
             }
         } else {
             if (Geom.almostZero(ua_t) || Geom.almostZero(ub_t)) {
@@ -153,35 +175,28 @@ public class IntersectRayRay {
                     if (Geom.almostEqual(aox, box) && Geom.almostEqual(aoy, boy)) {
                         // same point
                         status = IntersectionStatus.INTERSECTION;
-                        result.add(new IntersectionPointEx(
-                                new Point2D.Double(aox, aoy),
-                                0, tangentA, 0, tangentB
-                        ));
+                        result.add(aox, aoy,
+                                0, adx, ady, 0, bdx, bdy);
                     } else {
                         // distinct points
                         status = IntersectionStatus.NO_INTERSECTION_PARALLEL;
                     }
 
                 } else if (aIsPoint) {
-                    Double argB = IntersectPointRay.argumentOnRay(box, boy, bdx, bdy, bmax, aox, aoy, epsilon);
-                    if (argB != null) {
+                    double argB = IntersectPointRay.argumentOnRayAsDouble(box, boy, bdx, bdy, bmax, aox, aoy, epsilon);
+                    if (!Double.isNaN(argB)) {
                         status = IntersectionStatus.INTERSECTION;
-                        result.add(new IntersectionPointEx(
-                                new Point2D.Double(aox, aoy),
-                                0, tangentA,
-                                Geom.clamp(argB, 0, bmax), tangentB
-                        ));
+                        result.add(aox, aoy,
+                                0, adx, ady, Geom.clamp(argB, 0, bmax), bdx, bdy);
                     } else {
                         status = IntersectionStatus.NO_INTERSECTION_PARALLEL;
                     }
                 } else if (bIsPoint) {
-                    Double argA = IntersectPointRay.argumentOnRay(aox, aoy, adx, ady, bmax, box, boy, epsilon);
-                    if (argA != null) {
+                    double argA = IntersectPointRay.argumentOnRayAsDouble(aox, aoy, adx, ady, bmax, box, boy, epsilon);
+                    if (!Double.isNaN(argA)) {
                         status = IntersectionStatus.INTERSECTION;
-                        result.add(new IntersectionPointEx(
-                                new Point2D.Double(box, boy),
-                                Geom.clamp(argA, 0, amax), tangentA, 0, tangentB
-                        ));
+                        result.add(box, boy,
+                                Geom.clamp(argA, 0, amax), adx, ady, 0, bdx, bdy);
                     } else {
                         status = IntersectionStatus.NO_INTERSECTION_PARALLEL;
                     }
@@ -215,14 +230,10 @@ public class IntersectRayRay {
                         }
 
                         status = IntersectionStatus.NO_INTERSECTION_COINCIDENT;
-                        result.add(new IntersectionPointEx(
-                                new Point2D.Double(aox + at0 * adx, aoy + at0 * ady),
-                                at0, tangentA, bt0, tangentB
-                        ));
-                        result.add(new IntersectionPointEx(
-                                new Point2D.Double(aox + at1 * adx, aoy + at1 * ady),
-                                at1, tangentA, bt1, tangentB
-                        ));
+                        result.add(aox + at0 * adx, aoy + at0 * ady,
+                                at0, adx, ady, bt0, bdx, bdy);
+                        result.add(aox + at1 * adx, aoy + at1 * ady,
+                                at1, adx, ady, bt1, bdx, bdy);
                     } else {
                         status = IntersectionStatus.NO_INTERSECTION_PARALLEL;
                     }
@@ -232,7 +243,7 @@ public class IntersectRayRay {
             }
         }
 
-        return new IntersectionResultEx(status, result);
+        return status;
     }
 
 }
@@ -0,0 +1,418 @@
+/*
+ * @(#)IntersectionBuffer.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable buffer for intersection points.
+ * <p>
+ * This is the allocation-free counterpart of {@link IntersectionResultEx}.
+ * The {@code Intersect*} methods that take an {@code IntersectionBuffer}
+ * append their intersection points to the buffer and return the
+ * {@link IntersectionStatus}. The caller is responsible for clearing the
+ * buffer. Once the buffer has grown to its working size, computing
+ * intersections does not allocate any objects.
+ * <p>
+ * Each intersection point is stored as 8 consecutive values in a
+ * {@code double} array: x, y, argument 'a', tangent 'a' x, tangent 'a' y,
+ * argument 'b', tangent 'b' x, tangent 'b' y. The segment indices are
+ * stored in a separate {@code int} array.
+ * <p>
+ * Usage:
+ * <pre>{@code
+ * IntersectionBuffer buf = new IntersectionBuffer();
+ * for (...) {
+ *     buf.clear();
+ *     if (IntersectLineLine.intersectLineLineEx(a0x, a0y, a1x, a1y,
+ *             b0x, b0y, b1x, b1y, Geom.REAL_THRESHOLD, buf)
+ *             == IntersectionStatus.INTERSECTION) {
+ *         double t = buf.getArgumentA(0);
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ */
+public class IntersectionBuffer {
+    private static final int STRIDE = 8;
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int ARGUMENT_A = 2;
+    private static final int TANGENT_A_X = 3;
+    private static final int TANGENT_A_Y = 4;
+    private static final int ARGUMENT_B = 5;
+    private static final int TANGENT_B_X = 6;
+    private static final int TANGENT_B_Y = 7;
+
+    private double @NonNull [] values;
+    private int @NonNull [] segments;
+    private int size;
+    private final double @NonNull [] entry = new double[STRIDE];
+    /**
+     * Scratch array for the roots of polynomials up to degree 3.
+     */
+    final double @NonNull [] roots = new double[3];
+    /**
+     * Scratch array for the coordinates of a path segment.
+     */
+    final double @NonNull [] coords = new double[6];
+
+    /**
+     * Creates a new buffer with an initial capacity for 4 intersection
+     * points.
+     */
+    public IntersectionBuffer() {
+        this(4);
+    }
+
+    /**
+     * Creates a new buffer with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity in intersection points
+     */
+    public IntersectionBuffer(int initialCapacity) {
+        values = new double[Math.max(1, initialCapacity) * STRIDE];
+        segments = new int[Math.max(1, initialCapacity) * 2];
+    }
+
+    /**
+     * Removes all intersection points. Keeps the capacity of the buffer.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the number of intersection points.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the buffer is empty.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Shrinks the buffer to the specified size. This is used to discard
+     * intersection points that have been appended by an intermediate
+     * computation.
+     *
+     * @param newSize the new size, must be smaller or equal than the
+     *                current size
+     */
+    public void truncate(int newSize) {
+        Preconditions.checkIndex(newSize, size + 1);
+        size = newSize;
+    }
+
+    /**
+     * Appends an intersection point.
+     *
+     * @param x         the x coordinate of the point
+     * @param y         the y coordinate of the point
+     * @param argumentA the argument of 'a'
+     * @param tangentAX the x coordinate of the tangent of 'a'
+     * @param tangentAY the y coordinate of the tangent of 'a'
+     * @param argumentB the argument of 'b'
+     * @param tangentBX the x coordinate of the tangent of 'b'
+     * @param tangentBY the y coordinate of the tangent of 'b'
+     */
+    public void add(double x, double y,
+                    double argumentA, double tangentAX, double tangentAY,
+                    double argumentB, double tangentBX, double tangentBY) {
+        add(x, y, argumentA, tangentAX, tangentAY, 0, argumentB, tangentBX, tangentBY, 0);
+    }
+
+    /**
+     * Appends an intersection point.
+     *
+     * @param x         the x coordinate of the point
+     * @param y         the y coordinate of the point
+     * @param argumentA the argument of 'a'
+     * @param tangentAX the x coordinate of the tangent of 'a'
+     * @param tangentAY the y coordinate of the tangent of 'a'
+     * @param segmentA  the segment index of 'a'
+     * @param argumentB the argument of 'b'
+     * @param tangentBX the x coordinate of the tangent of 'b'
+     * @param tangentBY the y coordinate of the tangent of 'b'
+     * @param segmentB  the segment index of 'b'
+     */
+    public void add(double x, double y,
+                    double argumentA, double tangentAX, double tangentAY, int segmentA,
+                    double argumentB, double tangentBX, double tangentBY, int segmentB) {
+        if (size * STRIDE == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+            segments = Arrays.copyOf(segments, segments.length * 2);
+        }
+        final int i = size * STRIDE;
+        values[i + X] = x;
+        values[i + Y] = y;
+        values[i + ARGUMENT_A] = argumentA;
+        values[i + TANGENT_A_X] = tangentAX;
+        values[i + TANGENT_A_Y] = tangentAY;
+        values[i + ARGUMENT_B] = argumentB;
+        values[i + TANGENT_B_X] = tangentBX;
+        values[i + TANGENT_B_Y] = tangentBY;
+        segments[size * 2] = segmentA;
+        segments[size * 2 + 1] = segmentB;
+        size++;
+    }
+
+    /**
+     * Replaces the intersection point at the specified index. Keeps its
+     * segment indices.
+     *
+     * @param i         the index of the intersection point
+     * @param x         the x coordinate of the point
+     * @param y         the y coordinate of the point
+     * @param argumentA the argument of 'a'
+     * @param tangentAX the x coordinate of the tangent of 'a'
+     * @param tangentAY the y coordinate of the tangent of 'a'
+     * @param argumentB the argument of 'b'
+     * @param tangentBX the x coordinate of the tangent of 'b'
+     * @param tangentBY the y coordinate of the tangent of 'b'
+     */
+    public void set(int i, double x, double y,
+                    double argumentA, double tangentAX, double tangentAY,
+                    double argumentB, double tangentBX, double tangentBY) {
+        final int j = index(i);
+        values[j + X] = x;
+        values[j + Y] = y;
+        values[j + ARGUMENT_A] = argumentA;
+        values[j + TANGENT_A_X] = tangentAX;
+        values[j + TANGENT_A_Y] = tangentAY;
+        values[j + ARGUMENT_B] = argumentB;
+        values[j + TANGENT_B_X] = tangentBX;
+        values[j + TANGENT_B_Y] = tangentBY;
+    }
+
+    /**
+     * Sorts the intersection points in the range {@code [from, size())}
+     * by ascending argument of 'a'.
+     * <p>
+     * Uses insertion sort, because the number of intersection points
+     * between two curves is small.
+     *
+     * @param from the index of the first intersection point
+     */
+    public void sortByArgumentA(int from) {
+        final double[] tmp = entry;
+        for (int i = from + 1; i < size; i++) {
+            final double key = values[i * STRIDE + ARGUMENT_A];
+            int j = i - 1;
+            if (values[j * STRIDE + ARGUMENT_A] <= key) {
+                continue;
+            }
+            System.arraycopy(values, i * STRIDE, tmp, 0, STRIDE);
+            final int segA = segments[i * 2], segB = segments[i * 2 + 1];
+            while (j >= from && values[j * STRIDE + ARGUMENT_A] > key) {
+                j--;
+            }
+            System.arraycopy(values, (j + 1) * STRIDE, values, (j + 2) * STRIDE, (i - j - 1) * STRIDE);
+            System.arraycopy(segments, (j + 1) * 2, segments, (j + 2) * 2, (i - j - 1) * 2);
+            System.arraycopy(tmp, 0, values, (j + 1) * STRIDE, STRIDE);
+            segments[(j + 1) * 2] = segA;
+            segments[(j + 1) * 2 + 1] = segB;
+        }
+    }
+
+    /**
+     * Sets the segment indices of the intersection points in the range
+     * {@code [from, size())}.
+     *
+     * @param from     the index of the first intersection point
+     * @param segmentA the segment index of 'a'
+     * @param segmentB the segment index of 'b'
+     */
+    public void setSegments(int from, int segmentA, int segmentB) {
+        for (int i = from; i < size; i++) {
+            segments[i * 2] = segmentA;
+            segments[i * 2 + 1] = segmentB;
+        }
+    }
+
+    /**
+     * Swaps 'a' and 'b' of the intersection points in the range
+     * {@code [from, size())}.
+     *
+     * @param from the index of the first intersection point
+     */
+    public void swapAB(int from) {
+        for (int i = from; i < size; i++) {
+            final int j = i * STRIDE;
+            swap(j + ARGUMENT_A, j + ARGUMENT_B);
+            swap(j + TANGENT_A_X, j + TANGENT_B_X);
+            swap(j + TANGENT_A_Y, j + TANGENT_B_Y);
+            final int s = segments[i * 2];
+            segments[i * 2] = segments[i * 2 + 1];
+            segments[i * 2 + 1] = s;
+        }
+    }
+
+    private void swap(int i, int j) {
+        final double v = values[i];
+        values[i] = values[j];
+        values[j] = v;
+    }
+
+    private int index(int i) {
+        Preconditions.checkIndex(i, size);
+        return i * STRIDE;
+    }
+
+    /**
+     * The x coordinate of intersection point {@code i}, in the
+     * coordinate system of the curves.
+     *
+     * @param i the index of the intersection point, {@code 0 <= i < size()}
+     * @return the x coordinate
+     */
+    public double getX(int i) {
+        return values[index(i) + X];
+    }
+
+    /**
+     * The y coordinate of intersection point {@code i}, in the
+     * coordinate system of the curves.
+     *
+     * @param i the index of the intersection point, {@code 0 <= i < size()}
+     * @return the y coordinate
+     */
+    public double getY(int i) {
+        return values[index(i) + Y];
+    }
+
+    /**
+     * The argument of the parametric function 'a' at intersection point
+     * {@code i}, usually in the range [0, 1].
+     *
+     * @param i the index of the intersection point, {@code 0 <= i < size()}
+     * @return the argument of 'a'
+     */
+    public double getArgumentA(int i) {
+        return values[index(i) + ARGUMENT_A];
+    }
+
+    /**
+     * The x component of the tangent of 'a' at intersection point
+     * {@code i}. The tangent is not normalized.
+     *
+     * @param i the index of the intersection point, {@code 0 <= i < size()}
+     * @return the x component of the tangent of 'a'
+     */
+    public double getTangentAX(int i) {
+        return values[index(i) + TANGENT_A_X];
+    }
+
+    /**
+     * The y component of the tangent of 'a' at intersection point
+     * {@code i}. The tangent is not normalized.
+     *
+     * @param i the index of the intersection point, {@code 0 <= i < size()}
+     * @return the y component of the tangent of 'a'
+     */
+    public double getTangentAY(int i) {
+        return values[index(i) + TANGENT_A_Y];
+    }
+
+    /**
+     * The index of the segment of 'a' that contains intersection point
+     * {@code i}.
+     *
+     * @param i the index of the intersection point, {@code 0 <= i < size()}
+     * @return the segment index of 'a'
+     */
+    public int getSegmentA(int i) {
+        Preconditions.checkIndex(i, size);
+        return segments[i * 2];
+    }
+
+    /**
+     * The argument of the parametric function 'b' at intersection point
+     * {@code i}, usually in the range [0, 1].
+     *
+     * @param i the index of the intersection point, {@code 0 <= i < size()}
+     * @return the argument of 'b'
+     */
+    public double getArgumentB(int i) {
+        return values[index(i) + ARGUMENT_B];
+    }
+
+    /**
+     * The x component of the tangent of 'b' at intersection point
+     * {@code i}. The tangent is not normalized.
+     *
+     * @param i the index of the intersection point, {@code 0 <= i < size()}
+     * @return the x component of the tangent of 'b'
+     */
+    public double getTangentBX(int i) {
+        return values[index(i) + TANGENT_B_X];
+    }
+
+    /**
+     * The y component of the tangent of 'b' at intersection point
+     * {@code i}. The tangent is not normalized.
+     *
+     * @param i the index of the intersection point, {@code 0 <= i < size()}
+     * @return the y component of the tangent of 'b'
+     */
+    public double getTangentBY(int i) {
+        return values[index(i) + TANGENT_B_Y];
+    }
+
+    /**
+     * The index of the segment of 'b' that contains intersection point
+     * {@code i}.
+     *
+     * @param i the index of the intersection point, {@code 0 <= i < size()}
+     * @return the segment index of 'b'
+     */
+    public int getSegmentB(int i) {
+        Preconditions.checkIndex(i, size);
+        return segments[i * 2 + 1];
+    }
+
+    /**
+     * Returns the intersection point at the specified index as an object.
+     *
+     * @param i the index of the intersection point
+     * @return the intersection point
+     */
+    public @NonNull IntersectionPointEx get(int i) {
+        final int j = index(i);
+        return new IntersectionPointEx(values[j + X], values[j + Y],
+                values[j + ARGUMENT_A], values[j + TANGENT_A_X], values[j + TANGENT_A_Y], segments[i * 2],
+                values[j + ARGUMENT_B], values[j + TANGENT_B_X], values[j + TANGENT_B_Y], segments[i * 2 + 1]);
+    }
+
+    /**
+     * Converts the intersection points in the range {@code [from, size())}
+     * into an {@link IntersectionResultEx}.
+     *
+     * @param from   the index of the first intersection point
+     * @param status the status of the result
+     * @return the result
+     */
+    public @NonNull IntersectionResultEx toIntersectionResultEx(int from, @NonNull IntersectionStatus status) {
+        List<IntersectionPointEx> list = new ArrayList<>(size - from);
+        for (int i = from; i < size; i++) {
+            list.add(get(i));
+        }
+        return new IntersectionResultEx(status, list);
+    }
+}
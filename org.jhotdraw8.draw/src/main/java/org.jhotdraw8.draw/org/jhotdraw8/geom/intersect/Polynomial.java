@@ -11,6 +11,7 @@ import org.jhotdraw8.collection.DoubleArrayList;
 import org.jhotdraw8.geom.Geom;
 import org.jhotdraw8.geom.IntegralAlgorithms;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.ToDoubleFunction;
 
 import static java.lang.Math.abs;
@@ -22,7 +23,7 @@ import static java.lang.Math.max;
 import static java.lang.Math.sin;
 import static java.lang.Math.sqrt;
 
-public class Polynomial implements ToDoubleFunction<Double> {
+public class Polynomial implements ToDoubleFunction<Double>, DoubleUnaryOperator {
 
     private static final double ACCURACY = 6;
 
@@ -39,6 +40,11 @@ public class Polynomial implements ToDoubleFunction<Double> {
      * Machine precision for double is 2^-53.
      */
     private static final double EPSILON = 1.0 / (1L << 33);
+    /**
+     * The root finder of the current thread. A root finder is not
+     * thread-safe, and keeps its working arrays between calls.
+     */
+    private static final ThreadLocal<BernsteinRootFinder> ROOT_FINDER = ThreadLocal.withInitial(BernsteinRootFinder::new);
 
     /**
      * Holds the coefficients from lowest to highest degree, that is
@@ -139,6 +145,11 @@ public class Polynomial implements ToDoubleFunction<Double> {
         return eval(x);
     }
 
+    @Override
+    public double applyAsDouble(double x) {
+        return eval(x);
+    }
+
     /**
      * Searches for a root in the given interval using the bisection method.
      *
@@ -148,9 +159,25 @@ public class Polynomial implements ToDoubleFunction<Double> {
      * @return the root, null if no root could be found
      */
     public static @Nullable Double bisection(final @NonNull ToDoubleFunction<Double> func, double min, double max) {
+        double root = bisectionAsDouble(func::applyAsDouble, min, max);
+        return Double.isNaN(root) ? null : root;
+    }
+
+    /**
+     * Searches for a root in the given interval using the bisection method.
+     * <p>
+     * Same as {@link #bisection(ToDoubleFunction, double, double)}, but
+     * does not box the arguments and the result.
+     *
+     * @param func the function
+     * @param min  the lower bound of the interval
+     * @param max  the upper bound of the interval
+     * @return the root, {@link Double#NaN} if no root could be found
+     */
+    public static double bisectionAsDouble(final @NonNull DoubleUnaryOperator func, double min, double max) {
         double minValue = func.applyAsDouble(min);
         double maxValue = func.applyAsDouble(max);
-        Double result = null;
+        double result = Double.NaN;
 
         if (abs(minValue) <= EPSILON) {
             result = min;
@@ -219,17 +246,60 @@ public class Polynomial implements ToDoubleFunction<Double> {
      */
     private @NonNull double[] getCubicRoots() {
         final double[] results = new double[4];
-        int numResults = 0;
-
-        final double c3, c2, c1, c0;
-        c3 = this.coefs[3];
-        c2 = this.coefs[2] / c3;
-        c1 = this.coefs[1] / c3;
-        c0 = this.coefs[0] / c3;
-        if (c3 == 0) {
+        if (this.coefs[3] == 0) {
             throw new IllegalArgumentException("Not a cubic root! simplifiedDegree=" + simplifiedDegree());
         }
+        final int numResults = getCubicRoots(this.coefs[3], this.coefs[2], this.coefs[1], this.coefs[0], results);
+        return trim(numResults, results);
+    }
+
+    /**
+     * Computes the roots of the polynomial
+     * {@code c3*x^3 + c2*x^2 + c1*x + c0} without allocating objects.
+     * <p>
+     * Like {@link #getRoots()}, this method decreases the degree of the
+     * polynomial, if the coefficients of the highest degrees are
+     * almost zero.
+     *
+     * @param c3    the coefficient of degree 3
+     * @param c2    the coefficient of degree 2
+     * @param c1    the coefficient of degree 1
+     * @param c0    the coefficient of degree 0
+     * @param roots an array of length 3 or more, into which the roots are
+     *              written
+     * @return the number of roots
+     */
+    public static int getRoots(double c3, double c2, double c1, double c0, double @NonNull [] roots) {
+        if (abs(c3) > EPSILON) {
+            return getCubicRoots(c3, c2, c1, c0, roots);
+        }
+        if (abs(c2) > EPSILON) {
+            final double b = c1 / c2;
+            final double c = c0 / c2;
+            final double d = b * b - 4 * c;
+            if (d > 0) {
+                final double e = sqrt(d);
+                roots[0] = 0.5 * (-b + e);
+                roots[1] = 0.5 * (-b - e);
+                return 2;
+            } else if (d == 0) {
+                roots[0] = 0.5 * -b;
+                return 1;
+            }
+            return 0;
+        }
+        if (abs(c1) > EPSILON) {
+            roots[0] = -c0 / c1;
+            return 1;
+        }
+        return 0;
+    }
 
+    private static int getCubicRoots(double c3, double c2, double c1, double c0, double @NonNull [] results) {
+        int numResults = 0;
+        c2 = c2 / c3;
+        c1 = c1 / c3;
+        c0 = c0 / c3;
         final double a, b, offset, halfB;
         a = (3 * c1 - c2 * c2) / 3;
         b = (2 * c2 * c2 * c2 - 9 * c1 * c2 + 27 * c0) / 27;
@@ -285,7 +355,7 @@ public class Polynomial implements ToDoubleFunction<Double> {
             results[numResults++] = -tmp - offset;
         }
 
-        return trim(numResults, results);
+        return numResults;
     }
 
     /**
@@ -491,16 +561,33 @@ public class Polynomial implements ToDoubleFunction<Double> {
     }
 
     /**
-     * Gets roots in the given interval. Uses the bisection method for root
-     * finding. Can work with a polynomial of any degree.
+     * Gets roots in the given interval. Uses closed formulas for polynomials
+     * up to degree 4, and {@link BernsteinRootFinder} for polynomials of
+     * higher degree.
+     * <p>
+     * Uses a root finder that is reused by all calls in the current thread.
      *
      * @param min the lower bound of the interval (inclusive)
      * @param max the upper bound of the interval (inclusive)
      * @return a list of roots
      */
     public @NonNull DoubleArrayList getRootsInInterval(double min, double max) {
+        return getRootsInInterval(min, max, ROOT_FINDER.get());
+    }
+
+    /**
+     * Gets roots in the given interval. Uses closed formulas for polynomials
+     * up to degree 4, and the specified {@link BernsteinRootFinder} for
+     * polynomials of higher degree.
+     *
+     * @param min    the lower bound of the interval (inclusive)
+     * @param max    the upper bound of the interval (inclusive)
+     * @param finder the root finder, which keeps its working arrays
+     *               between calls
+     * @return a list of roots
+     */
+    public @NonNull DoubleArrayList getRootsInInterval(double min, double max, @NonNull BernsteinRootFinder finder) {
         DoubleArrayList roots = new DoubleArrayList(getDegree());
-        int numRoots = 0;
 
         switch (this.simplifiedDegree()) {
         case 0:
@@ -519,12 +606,7 @@ public class Polynomial implements ToDoubleFunction<Double> {
             break;
         }
         default: {
-            // get roots of derivative
-            Polynomial deriv = this.getDerivative();
-            DoubleArrayList droots = deriv.getRootsInInterval(min, max);
-
-            roots = getRootsInInterval(this, droots, min, max);
-            numRoots = roots.size();
+            finder.findRoots(coefs, min, max, roots);
             break;
         }
         }
@@ -543,34 +625,33 @@ public class Polynomial implements ToDoubleFunction<Double> {
      * @param max    the upper bound of the interval (inclusive)
      * @return a list of roots. The list if empty, if no roots have been found
      */
-    public static @NonNull DoubleArrayList getRootsInInterval(@NonNull ToDoubleFunction<Double> func, @NonNull DoubleArrayList droots, double min, double max) {
+    public static @NonNull DoubleArrayList getRootsInInterval(@NonNull DoubleUnaryOperator func, @NonNull DoubleArrayList droots, double min, double max) {
         final DoubleArrayList roots = new DoubleArrayList(droots.size());
-        int numRoots = 0;
 
         if (droots.size() > 0) {
             // find root on [min, droots[0]]
-            Double root = bisection(func, min, droots.get(0));
-            if (root != null) {
+            double root = bisectionAsDouble(func, min, droots.get(0));
+            if (!Double.isNaN(root)) {
                 roots.add(root);
             }
 
             // find root on [droots[i],droots[i+1]] for 0 <= i <= count-2
             for (int i = 0; i <= droots.size() - 2; i++) {
-                root = bisection(func, droots.get(i), droots.get(i + 1));
-                if (root != null) {
+                root = bisectionAsDouble(func, droots.get(i), droots.get(i + 1));
+                if (!Double.isNaN(root)) {
                     roots.add(root);
                 }
             }
 
             // find root on [droots[count-1],xmax]
-            root = bisection(func, droots.get(droots.size() - 1), max);
-            if (root != null) {
+            root = bisectionAsDouble(func, droots.get(droots.size() - 1), max);
+            if (!Double.isNaN(root)) {
                 roots.add(root);
             }
         } else {
             // polynomial is monotone on [min,max], has at most one root
-            Double root = bisection(func, min, max);
-            if (root != null) {
+            double root = bisectionAsDouble(func, min, max);
+            if (!Double.isNaN(root)) {
                 roots.add(root);
             }
         }
@@ -677,7 +758,7 @@ public class Polynomial implements ToDoubleFunction<Double> {
      * @param n    the number of trapezoids
      * @return the area of the function
      */
-    public static double trapezoid(@NonNull ToDoubleFunction<Double> func, double min, double max, int n) {
+    public static double trapezoid(@NonNull DoubleUnaryOperator func, double min, double max, int n) {
 
         double range = max - min;
         double _s = 0;
@@ -0,0 +1,588 @@
+/*
+ * @(#)SweepLineIntersector.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.IntArrayList;
+import org.jhotdraw8.collection.OrderedPair;
+
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Computes the intersections between the segments of two or more paths
+ * with a sweep line.
+ * <p>
+ * Each line, quadratic and cubic segment is split at the extrema of its
+ * x- and y-coordinates into pieces that are monotone in x and in y. The
+ * bounding box of a monotone piece is given by its end points.
+ * <p>
+ * A vertical sweep line moves over the pieces from left to right. A piece
+ * becomes active when the sweep line reaches its minimal x-coordinate,
+ * and inactive when the sweep line passes its maximal x-coordinate. The
+ * active pieces are kept in a balanced tree that is ordered by the
+ * minimal y-coordinates of the pieces, and that is augmented with the
+ * maximal y-coordinates of its subtrees. When a piece becomes active, the
+ * tree yields the active pieces whose y-ranges overlap the y-range of the
+ * piece. Only if these pieces belong to another path, their segments are
+ * intersected with the exact {@code Intersect*} algorithms. Each pair of
+ * segments is intersected at most once. The segments of a path are not
+ * intersected with each other.
+ * <p>
+ * The sweep runs in {@code O((n + p) log n)} time, where {@code n} is
+ * the number of pieces and {@code p} is the number of pairs of pieces
+ * with overlapping bounding boxes. This includes pairs of pieces of the
+ * same path, for example the {@code O(n)} pairs of adjacent pieces.
+ * <p>
+ * This is not the Bentley-Ottmann algorithm. Bentley-Ottmann keeps the
+ * pieces ordered by the y-coordinate at which they cross the sweep line,
+ * and swaps neighbours at intersection events. For curved pieces this
+ * order can not be maintained robustly with floating point arithmetic,
+ * and a curve pair may intersect more than once. Ordering by y-ranges
+ * needs no intersection events, and reports every candidate pair whose
+ * bounding boxes overlap.
+ */
+class SweepLineIntersector {
+    private static final int LINE = 1;
+    private static final int QUAD = 2;
+    private static final int CUBIC = 3;
+    private static final int COORDS_PER_SEGMENT = 8;
+    /**
+     * Tolerance for detecting intersections at the end of a segment.
+     */
+    private static final double ARGUMENT_TOLERANCE = 1e-6;
+
+    /**
+     * Segment data: path number, degree, index of the segment in the
+     * path, whether the segment has a successor in its subpath, and the
+     * control points.
+     */
+    private final IntArrayList segmentPath = new IntArrayList();
+    private final IntArrayList segmentDegree = new IntArrayList();
+    private final IntArrayList segmentIndex = new IntArrayList();
+    private final IntArrayList segmentHasSuccessor = new IntArrayList();
+    private double[] coords = new double[COORDS_PER_SEGMENT * 16];
+
+    /**
+     * Piece data: the segment of the piece and its bounding box.
+     */
+    private final IntArrayList pieceSegment = new IntArrayList();
+    private double[] pieceBounds = new double[4 * 16];
+
+    private final double[] splits = new double[6];
+
+    SweepLineIntersector() {
+    }
+
+    /**
+     * Adds the segments of a path.
+     *
+     * @param path the path number, a non-negative integer
+     * @param pit  the path iterator
+     */
+    void addPathIterator(int path, @NonNull PathIterator pit) {
+        final double[] seg = new double[6];
+        double firstx = 0, firsty = 0;
+        double lastx = 0, lasty = 0;
+        int subpathStart = segmentPath.size();
+        for (int index = 0; !pit.isDone(); pit.next(), index++) {
+            switch (pit.currentSegment(seg)) {
+            case PathIterator.SEG_CLOSE:
+                addSegment(path, index, LINE, lastx, lasty, firstx, firsty, 0, 0, 0, 0);
+                endSubpath(subpathStart, true);
+                subpathStart = segmentPath.size();
+                lastx = firstx;
+                lasty = firsty;
+                break;
+            case PathIterator.SEG_CUBICTO:
+                addSegment(path, index, CUBIC, lastx, lasty, seg[0], seg[1], seg[2], seg[3], seg[4], seg[5]);
+                lastx = seg[4];
+                lasty = seg[5];
+                break;
+            case PathIterator.SEG_LINETO:
+                addSegment(path, index, LINE, lastx, lasty, seg[0], seg[1], 0, 0, 0, 0);
+                lastx = seg[0];
+                lasty = seg[1];
+                break;
+            case PathIterator.SEG_MOVETO:
+                endSubpath(subpathStart, false);
+                subpathStart = segmentPath.size();
+                lastx = firstx = seg[0];
+                lasty = firsty = seg[1];
+                break;
+            case PathIterator.SEG_QUADTO:
+                addSegment(path, index, QUAD, lastx, lasty, seg[0], seg[1], seg[2], seg[3], 0, 0);
+                lastx = seg[2];
+                lasty = seg[3];
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported segment type: " + pit.currentSegment(seg));
+            }
+        }
+        endSubpath(subpathStart, false);
+    }
+
+    /**
+     * Adds the edges of a closed polygon. Edge {@code i} goes from point
+     * {@code i} to point {@code (i + 1) % points.size()}.
+     *
+     * @param path   the path number, a non-negative integer
+     * @param points the points of the polygon
+     */
+    void addPolygon(int path, @NonNull List<Point2D.Double> points) {
+        int subpathStart = segmentPath.size();
+        for (int i = 0, n = points.size(); i < n; i++) {
+            Point2D.Double p0 = points.get(i);
+            Point2D.Double p1 = points.get((i + 1) % n);
+            addSegment(path, i, LINE, p0.getX(), p0.getY(), p1.getX(), p1.getY(), 0, 0, 0, 0);
+        }
+        endSubpath(subpathStart, true);
+    }
+
+    private void endSubpath(int subpathStart, boolean closed) {
+        int end = segmentPath.size();
+        for (int i = subpathStart; i < end - 1; i++) {
+            segmentHasSuccessor.setAsInt(i, 1);
+        }
+        if (closed && end > subpathStart) {
+            segmentHasSuccessor.setAsInt(end - 1, 1);
+        }
+    }
+
+    private void addSegment(int path, int index, int degree,
+                            double x0, double y0, double x1, double y1,
+                            double x2, double y2, double x3, double y3) {
+        if (degree == LINE && x0 == x1 && y0 == y1) {
+            return;
+        }
+        final int s = segmentPath.size();
+        segmentPath.addAsInt(path);
+        segmentDegree.addAsInt(degree);
+        segmentIndex.addAsInt(index);
+        segmentHasSuccessor.addAsInt(0);
+        if (coords.length < (s + 1) * COORDS_PER_SEGMENT) {
+            coords = Arrays.copyOf(coords, coords.length * 2);
+        }
+        final int c = s * COORDS_PER_SEGMENT;
+        coords[c] = x0;
+        coords[c + 1] = y0;
+        coords[c + 2] = x1;
+        coords[c + 3] = y1;
+        coords[c + 4] = x2;
+        coords[c + 5] = y2;
+        coords[c + 6] = x3;
+        coords[c + 7] = y3;
+
+        // Split the segment into monotone pieces
+        int n = 0;
+        splits[n++] = 0;
+        if (degree == QUAD) {
+            n = addQuadExtremum(x0, x1, x2, n);
+            n = addQuadExtremum(y0, y1, y2, n);
+        } else if (degree == CUBIC) {
+            n = addCubicExtrema(x0, x1, x2, x3, n);
+            n = addCubicExtrema(y0, y1, y2, y3, n);
+        }
+        Arrays.sort(splits, 1, n);
+        splits[n++] = 1;
+        double px = x0, py = y0;
+        for (int i = 1; i < n; i++) {
+            if (splits[i] <= splits[i - 1]) {
+                continue;
+            }
+            double qx, qy;
+            if (i == n - 1) {
+                qx = degree == LINE ? x1 : degree == QUAD ? x2 : x3;
+                qy = degree == LINE ? y1 : degree == QUAD ? y2 : y3;
+            } else {
+                qx = eval(degree, c, 0, splits[i]);
+                qy = eval(degree, c, 1, splits[i]);
+            }
+            addPiece(s, px, py, qx, qy);
+            px = qx;
+            py = qy;
+        }
+    }
+
+    private int addQuadExtremum(double p0, double p1, double p2, int n) {
+        double d = p0 - 2 * p1 + p2;
+        if (d != 0) {
+            double t = (p0 - p1) / d;
+            if (t > 0 && t < 1) {
+                splits[n++] = t;
+            }
+        }
+        return n;
+    }
+
+    private int addCubicExtrema(double p0, double p1, double p2, double p3, int n) {
+        // the derivative is 3 * (a t^2 + b t + c)
+        double a = p3 - 3 * p2 + 3 * p1 - p0;
+        double b = 2 * (p2 - 2 * p1 + p0);
+        double c = p1 - p0;
+        if (a == 0) {
+            if (b != 0) {
+                double t = -c / b;
+                if (t > 0 && t < 1) {
+                    splits[n++] = t;
+                }
+            }
+            return n;
+        }
+        double disc = b * b - 4 * a * c;
+        if (disc < 0) {
+            return n;
+        }
+        double sq = Math.sqrt(disc);
+        // numerically stable quadratic formula
+        double q = -0.5 * (b + Math.copySign(sq, b));
+        double t1 = q / a;
+        double t2 = q != 0 ? c / q : t1;
+        if (t1 > 0 && t1 < 1) {
+            splits[n++] = t1;
+        }
+        if (t2 > 0 && t2 < 1 && t2 != t1) {
+            splits[n++] = t2;
+        }
+        return n;
+    }
+
+    private double eval(int degree, int c, int axis, double t) {
+        double u = 1 - t;
+        double p0 = coords[c + axis], p1 = coords[c + 2 + axis], p2 = coords[c + 4 + axis];
+        if (degree == QUAD) {
+            return u * u * p0 + 2 * u * t * p1 + t * t * p2;
+        }
+        double p3 = coords[c + 6 + axis];
+        return u * u * u * p0 + 3 * u * u * t * p1 + 3 * u * t * t * p2 + t * t * t * p3;
+    }
+
+    private void addPiece(int segment, double px, double py, double qx, double qy) {
+        final int p = pieceSegment.size();
+        pieceSegment.addAsInt(segment);
+        if (pieceBounds.length < (p + 1) * 4) {
+            pieceBounds = Arrays.copyOf(pieceBounds, pieceBounds.length * 2);
+        }
+        pieceBounds[p * 4] = Math.min(px, qx);
+        pieceBounds[p * 4 + 1] = Math.min(py, qy);
+        pieceBounds[p * 4 + 2] = Math.max(px, qx);
+        pieceBounds[p * 4 + 3] = Math.max(py, qy);
+    }
+
+    /**
+     * Computes the intersections between path 0 and path 1.
+     * <p>
+     * The arguments of the intersection points are the parameters {@code t}
+     * in the segments, the segment indices are the indices of the segments
+     * in the paths.
+     *
+     * @param epsilon the tolerance for bounding box tests and for the exact
+     *                intersection algorithms
+     * @return the intersections sorted by segment and argument of path 0
+     */
+    @NonNull IntersectionResultEx intersect(double epsilon) {
+        final IntersectionResultEx result = intersectAll(epsilon).get(new OrderedPair<>(0, 1));
+        return result == null ? new IntersectionResultEx(IntersectionStatus.NO_INTERSECTION) : result;
+    }
+
+    /**
+     * Computes the intersections between all pairs of paths.
+     * <p>
+     * The map contains an entry for each pair of path numbers {@code (a, b)}
+     * with {@code a < b} that has intersections. The 'a' values of the
+     * intersection points refer to path {@code a}, the 'b' values to path
+     * {@code b}. The entries are ordered by {@code a} and then by {@code b}.
+     *
+     * @param epsilon the tolerance for bounding box tests and for the exact
+     *                intersection algorithms
+     * @return the intersections of each pair of paths, sorted by segment
+     * and argument of path {@code a}
+     */
+    @NonNull Map<OrderedPair<Integer, Integer>, IntersectionResultEx> intersectAll(double epsilon) {
+        final int n = pieceSegment.size();
+        final int[] byMinX = sortPiecesByBound(0);
+        final int[] byMaxX = sortPiecesByBound(2);
+        final ActivePieces active = new ActivePieces(sortPiecesByBound(1));
+        final LongHashSet testedPairs = new LongHashSet();
+        final Map<Long, List<IntersectionPointEx>> results = new HashMap<>();
+
+        int expired = 0;
+        for (int i = 0; i < n; i++) {
+            final int p = byMinX[i];
+            final int seg = pieceSegment.getAsInt(p);
+            final int path = segmentPath.getAsInt(seg);
+            final double minX = pieceBounds[p * 4] - epsilon;
+
+            // Remove the pieces that the sweep line has passed. They have
+            // all been inserted, because their minimal x-coordinate is
+            // smaller than their maximal x-coordinate.
+            while (expired < n && pieceBounds[byMaxX[expired] * 4 + 2] < minX) {
+                active.remove(byMaxX[expired++]);
+            }
+
+            // Test the piece against the active pieces of the other paths
+            // with overlapping y-ranges.
+            active.visitOverlapping(pieceBounds[p * 4 + 1] - epsilon, pieceBounds[p * 4 + 3] + epsilon, q -> {
+                final int otherSeg = pieceSegment.getAsInt(q);
+                final int otherPath = segmentPath.getAsInt(otherSeg);
+                if (otherPath != path) {
+                    final int segA = path < otherPath ? seg : otherSeg;
+                    final int segB = path < otherPath ? otherSeg : seg;
+                    if (testedPairs.add((long) segA << 32 | segB)) {
+                        intersectSegments(segA, segB, epsilon, results);
+                    }
+                }
+            });
+            active.add(p);
+        }
+
+        final Long[] pathPairs = results.keySet().toArray(new Long[0]);
+        Arrays.sort(pathPairs);
+        final Map<OrderedPair<Integer, Integer>, IntersectionResultEx> map = new LinkedHashMap<>();
+        for (Long pathPair : pathPairs) {
+            final List<IntersectionPointEx> list = results.get(pathPair);
+            list.sort(Comparator.comparingInt(IntersectionPointEx::getSegmentA)
+                    .thenComparingDouble(IntersectionPointEx::getArgumentA));
+            map.put(new OrderedPair<>((int) (pathPair >>> 32), (int) (long) pathPair), new IntersectionResultEx(list));
+        }
+        return map;
+    }
+
+    private void intersectSegments(int segA, int segB, double epsilon, @NonNull Map<Long, List<IntersectionPointEx>> results) {
+        final int a = segA * COORDS_PER_SEGMENT;
+        final int b = segB * COORDS_PER_SEGMENT;
+        final double[] c = coords;
+        final IntersectionResultEx inter;
+        switch (segmentDegree.getAsInt(segA) * 4 + segmentDegree.getAsInt(segB)) {
+        case LINE * 4 + LINE:
+            inter = IntersectLineLine.intersectLineLineEx(c[a], c[a + 1], c[a + 2], c[a + 3],
+                    c[b], c[b + 1], c[b + 2], c[b + 3], epsilon);
+            break;
+        case LINE * 4 + QUAD:
+            inter = IntersectLineQuadCurve.intersectLineQuadCurveEx(c[a], c[a + 1], c[a + 2], c[a + 3],
+                    c[b], c[b + 1], c[b + 2], c[b + 3], c[b + 4], c[b + 5], epsilon);
+            break;
+        case LINE * 4 + CUBIC:
+            inter = IntersectCubicCurveLine.intersectLineCubicCurveEx(c[a], c[a + 1], c[a + 2], c[a + 3],
+                    c[b], c[b + 1], c[b + 2], c[b + 3], c[b + 4], c[b + 5], c[b + 6], c[b + 7], epsilon);
+            break;
+        case QUAD * 4 + LINE:
+            inter = IntersectLineQuadCurve.intersectQuadCurveLineEx(c[a], c[a + 1], c[a + 2], c[a + 3], c[a + 4], c[a + 5],
+                    c[b], c[b + 1], c[b + 2], c[b + 3], epsilon);
+            break;
+        case QUAD * 4 + QUAD:
+            inter = IntersectQuadCurveQuadCurve.intersectQuadCurveQuadCurveEx(c[a], c[a + 1], c[a + 2], c[a + 3], c[a + 4], c[a + 5],
+                    c[b], c[b + 1], c[b + 2], c[b + 3], c[b + 4], c[b + 5], epsilon);
+            break;
+        case QUAD * 4 + CUBIC:
+            inter = IntersectCubicCurveQuadCurve.intersectQuadCurveCubicCurveEx(c[a], c[a + 1], c[a + 2], c[a + 3], c[a + 4], c[a + 5],
+                    c[b], c[b + 1], c[b + 2], c[b + 3], c[b + 4], c[b + 5], c[b + 6], c[b + 7], epsilon);
+            break;
+        case CUBIC * 4 + LINE:
+            inter = IntersectCubicCurveLine.intersectCubicCurveLineEx(c[a], c[a + 1], c[a + 2], c[a + 3], c[a + 4], c[a + 5], c[a + 6], c[a + 7],
+                    c[b], c[b + 1], c[b + 2], c[b + 3], epsilon);
+            break;
+        case CUBIC * 4 + QUAD:
+            inter = IntersectCubicCurveQuadCurve.intersectCubicCurveQuadCurveEx(c[a], c[a + 1], c[a + 2], c[a + 3], c[a + 4], c[a + 5], c[a + 6], c[a + 7],
+                    c[b], c[b + 1], c[b + 2], c[b + 3], c[b + 4], c[b + 5], epsilon);
+            break;
+        case CUBIC * 4 + CUBIC:
+            inter = IntersectCubicCurveCubicCurve.intersectCubicCurveCubicCurveEx(c[a], c[a + 1], c[a + 2], c[a + 3], c[a + 4], c[a + 5], c[a + 6], c[a + 7],
+                    c[b], c[b + 1], c[b + 2], c[b + 3], c[b + 4], c[b + 5], c[b + 6], c[b + 7], epsilon);
+            break;
+        default:
+            throw new AssertionError("unsupported segment degrees");
+        }
+        if (inter.getStatus() != IntersectionStatus.INTERSECTION) {
+            return;
+        }
+
+        // An intersection at the end of a segment is also found at the
+        // start of its successor. We only keep the latter.
+        final boolean successorA = segmentHasSuccessor.getAsInt(segA) != 0;
+        final boolean successorB = segmentHasSuccessor.getAsInt(segB) != 0;
+        final double maxT = 1 - ARGUMENT_TOLERANCE;
+        List<IntersectionPointEx> result = null;
+        for (IntersectionPointEx ip : inter) {
+            if (successorA && ip.getArgumentA() >= maxT
+                    || successorB && ip.getArgumentB() >= maxT) {
+                continue;
+            }
+            if (result == null) {
+                result = results.computeIfAbsent((long) segmentPath.getAsInt(segA) << 32 | segmentPath.getAsInt(segB),
+                        k -> new ArrayList<>());
+            }
+            result.add(new IntersectionPointEx(ip, ip.getArgumentA(), ip.getTangentA(), segmentIndex.getAsInt(segA),
+                    ip.getArgumentB(), ip.getTangentB(), segmentIndex.getAsInt(segB)));
+        }
+    }
+
+    /**
+     * Returns the indices of all pieces sorted by the specified value of
+     * their bounding boxes.
+     *
+     * @param bound 0 for min x, 1 for min y, 2 for max x, 3 for max y
+     * @return the sorted piece indices
+     */
+    private int @NonNull [] sortPiecesByBound(int bound) {
+        final int n = pieceSegment.size();
+        final double[] sorted = new double[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = pieceBounds[i * 4 + bound];
+        }
+        Arrays.sort(sorted);
+        final long[] order = new long[n];
+        for (int i = 0; i < n; i++) {
+            long rank = Arrays.binarySearch(sorted, pieceBounds[i * 4 + bound]);
+            order[i] = rank << 32 | i;
+        }
+        Arrays.sort(order);
+        final int[] pieces = new int[n];
+        for (int i = 0; i < n; i++) {
+            pieces[i] = (int) order[i];
+        }
+        return pieces;
+    }
+
+    /**
+     * The pieces that intersect the sweep line, ordered by the minimal
+     * y-coordinate of their bounding boxes.
+     * <p>
+     * This is a balanced binary tree over all pieces, stored in an array.
+     * Its leaves are the pieces in the order of their minimal
+     * y-coordinates. Each node holds the largest maximal y-coordinate of
+     * the active pieces below it. Insertion and removal take
+     * {@code O(log n)} time. Finding the {@code m} active pieces whose
+     * y-ranges overlap a given range takes {@code O((1 + m) log n)} time,
+     * because the search only descends into nodes that contain a piece
+     * with {@code minY <= max} and {@code maxY >= min}.
+     */
+    private class ActivePieces {
+        private final int @NonNull [] byMinY;
+        private final double @NonNull [] sortedMinY;
+        private final int @NonNull [] leafOfPiece;
+        private final double @NonNull [] maxY;
+        private final int leafCount;
+
+        ActivePieces(int @NonNull [] byMinY) {
+            this.byMinY = byMinY;
+            final int n = byMinY.length;
+            sortedMinY = new double[n];
+            leafOfPiece = new int[n];
+            for (int i = 0; i < n; i++) {
+                sortedMinY[i] = pieceBounds[byMinY[i] * 4 + 1];
+                leafOfPiece[byMinY[i]] = i;
+            }
+            leafCount = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+            maxY = new double[2 * leafCount];
+            Arrays.fill(maxY, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int piece) {
+            update(leafOfPiece[piece] + leafCount, pieceBounds[piece * 4 + 3]);
+        }
+
+        void remove(int piece) {
+            update(leafOfPiece[piece] + leafCount, Double.NEGATIVE_INFINITY);
+        }
+
+        private void update(int node, double value) {
+            maxY[node] = value;
+            for (node >>>= 1; node > 0; node >>>= 1) {
+                maxY[node] = Math.max(maxY[2 * node], maxY[2 * node + 1]);
+            }
+        }
+
+        /**
+         * Visits the active pieces with {@code minY <= max} and
+         * {@code maxY >= min}.
+         */
+        void visitOverlapping(double min, double max, @NonNull IntConsumer visitor) {
+            // number of leaves with minY <= max
+            int lo = 0, hi = sortedMinY.length;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (sortedMinY[mid] <= max) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            visitOverlapping(1, 0, leafCount, lo, min, visitor);
+        }
+
+        private void visitOverlapping(int node, int from, int to, int end, double min, @NonNull IntConsumer visitor) {
+            if (from >= end || maxY[node] < min) {
+                return;
+            }
+            if (node >= leafCount) {
+                visitor.accept(byMinY[from]);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            visitOverlapping(2 * node, from, mid, end, min, visitor);
+            visitOverlapping(2 * node + 1, mid, to, end, min, visitor);
+        }
+    }
+
+    /**
+     * A minimal open addressing hash set for non-negative long values.
+     */
+    private static class LongHashSet {
+        private static final long FREE = -1L;
+        private long[] table = new long[64];
+        private int size;
+
+        LongHashSet() {
+            Arrays.fill(table, FREE);
+        }
+
+        boolean add(long value) {
+            if ((size + 1) * 2 > table.length) {
+                grow();
+            }
+            final int mask = table.length - 1;
+            for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+                if (table[i] == FREE) {
+                    table[i] = value;
+                    size++;
+                    return true;
+                }
+                if (table[i] == value) {
+                    return false;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            Arrays.fill(table, FREE);
+            final int mask = table.length - 1;
+            for (long value : old) {
+                if (value != FREE) {
+                    int i = hash(value) & mask;
+                    while (table[i] != FREE) {
+                        i = (i + 1) & mask;
+                    }
+                    table[i] = value;
+                }
+            }
+        }
+
+        private static int hash(long value) {
+            long h = value * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
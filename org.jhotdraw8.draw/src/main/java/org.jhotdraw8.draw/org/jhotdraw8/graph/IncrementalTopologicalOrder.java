@@ -0,0 +1,430 @@
+/*
+ * @(#)IncrementalTopologicalOrder.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.graph;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains a topological order of the vertices of a directed graph,
+ * while arrows are added to and removed from the graph.
+ * <p>
+ * Uses the dynamic topological sort algorithm by Pearce and Kelly.
+ * Adding an arrow {@code v → u} only reorders the vertices that lie
+ * between {@code u} and {@code v} in the current order, and that are
+ * reachable from {@code u} or can reach {@code v}. Removing an arrow
+ * never changes the order.
+ * <p>
+ * If an arrow would create a cycle, it is kept in the graph, but it is
+ * not used for ordering. The arrow is reconsidered when the next
+ * vertices of its start vertex are set again with
+ * {@link #setNext(Object, Iterable)}.
+ * <p>
+ * References:
+ * <dl>
+ *     <dt>David J. Pearce, Paul H.J. Kelly. (2006).
+ *     A Dynamic Topological Sort Algorithm for Directed Acyclic Graphs.</dt>
+ *     <dd><a href="https://doi.org/10.1145/1187436.1210590">doi.org</a></dd>
+ * </dl>
+ *
+ * @param <V> the vertex data type
+ */
+public class IncrementalTopologicalOrder<V> {
+    private static class Node<V> {
+        final V vertex;
+        /**
+         * The position of the vertex in the topological order.
+         */
+        int ord;
+        /**
+         * Arrows that are used for ordering.
+         */
+        final @NonNull List<Node<V>> next = new ArrayList<>(2);
+        final @NonNull List<Node<V>> prev = new ArrayList<>(2);
+        /**
+         * Arrows that would create a cycle.
+         */
+        @Nullable List<Node<V>> cyclicNext;
+        /**
+         * The start vertices of arrows in {@link #cyclicNext} that end
+         * at this vertex.
+         */
+        @Nullable List<Node<V>> cyclicPrev;
+        int mark;
+
+        Node(V vertex, int ord) {
+            this.vertex = vertex;
+            this.ord = ord;
+        }
+    }
+
+    private static final Comparator<Node<?>> ORD_COMPARATOR = Comparator.comparingInt(n -> n.ord);
+
+    private final @NonNull Map<V, Node<V>> nodeMap;
+    private int nextOrd;
+    private int stamp;
+    private final @NonNull List<Node<V>> deltaF = new ArrayList<>();
+    private final @NonNull List<Node<V>> deltaB = new ArrayList<>();
+    private final @NonNull List<Node<V>> stack = new ArrayList<>();
+
+    /**
+     * Creates a new instance which uses a non-identity hash map for
+     * storing the vertices.
+     */
+    public IncrementalTopologicalOrder() {
+        this(false);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param identityMap whether to use an identity hash map for storing
+     *                    the vertices
+     */
+    public IncrementalTopologicalOrder(boolean identityMap) {
+        this.nodeMap = identityMap ? new IdentityHashMap<>() : new HashMap<>();
+    }
+
+    private @NonNull Node<V> getOrAddNode(V v) {
+        Node<V> node = nodeMap.get(v);
+        if (node == null) {
+            if (nextOrd == Integer.MAX_VALUE) {
+                renumber();
+            }
+            node = new Node<>(v, nextOrd++);
+            nodeMap.put(v, node);
+        }
+        return node;
+    }
+
+    /**
+     * Assigns consecutive positions to the vertices, starting at 0,
+     * without changing their order.
+     * <p>
+     * Positions of removed vertices are not reused, so {@link #nextOrd}
+     * grows with every added vertex. This method is called when
+     * {@link #nextOrd} is about to overflow.
+     */
+    @SuppressWarnings("unchecked")
+    void renumber() {
+        final Node<V>[] nodes = (Node<V>[]) nodeMap.values().toArray(new Node<?>[0]);
+        Arrays.sort(nodes, ORD_COMPARATOR);
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i].ord = i;
+        }
+        nextOrd = nodes.length;
+    }
+
+    /**
+     * Returns true if the graph contains the specified vertex.
+     *
+     * @param v a vertex
+     * @return true if the vertex is in the graph
+     */
+    public boolean containsVertex(V v) {
+        return nodeMap.containsKey(v);
+    }
+
+    /**
+     * Returns the number of vertices.
+     *
+     * @return the vertex count
+     */
+    public int getVertexCount() {
+        return nodeMap.size();
+    }
+
+    /**
+     * Adds a vertex to the end of the topological order, if it
+     * is not already in the graph.
+     *
+     * @param v a vertex
+     */
+    public void addVertex(V v) {
+        getOrAddNode(v);
+    }
+
+    /**
+     * Removes a vertex and all arrows that start or end at it.
+     *
+     * @param v a vertex
+     */
+    public void removeVertex(V v) {
+        Node<V> node = nodeMap.remove(v);
+        if (node != null) {
+            for (Node<V> p : node.prev) {
+                p.next.remove(node);
+            }
+            for (Node<V> n : node.next) {
+                n.prev.remove(node);
+            }
+            if (node.cyclicPrev != null) {
+                for (Node<V> p : node.cyclicPrev) {
+                    if (p.cyclicNext != null && p.cyclicNext.remove(node) && p.cyclicNext.isEmpty()) {
+                        p.cyclicNext = null;
+                    }
+                }
+            }
+            clearCyclicNext(node);
+            node.next.clear();
+            node.prev.clear();
+            node.cyclicPrev = null;
+        }
+    }
+
+    private void removeCyclicArrow(@NonNull Node<V> x, @NonNull Node<V> y) {
+        if (x.cyclicNext != null && x.cyclicNext.remove(y)) {
+            if (x.cyclicNext.isEmpty()) {
+                x.cyclicNext = null;
+            }
+            if (y.cyclicPrev != null && y.cyclicPrev.remove(x) && y.cyclicPrev.isEmpty()) {
+                y.cyclicPrev = null;
+            }
+        }
+    }
+
+    private void clearCyclicNext(@NonNull Node<V> x) {
+        if (x.cyclicNext != null) {
+            for (Node<V> y : x.cyclicNext) {
+                if (y.cyclicPrev != null && y.cyclicPrev.remove(x) && y.cyclicPrev.isEmpty()) {
+                    y.cyclicPrev = null;
+                }
+            }
+            x.cyclicNext = null;
+        }
+    }
+
+    /**
+     * Removes all vertices and arrows.
+     */
+    public void clear() {
+        nodeMap.clear();
+        nextOrd = 0;
+    }
+
+    /**
+     * Adds an arrow from {@code v} to {@code u}. Adds the vertices if they
+     * are not in the graph yet.
+     *
+     * @param v the start vertex
+     * @param u the end vertex
+     * @return true if the arrow is used for ordering, false if it would
+     * create a cycle
+     */
+    public boolean addArrow(V v, V u) {
+        return addArrow(getOrAddNode(v), getOrAddNode(u));
+    }
+
+    /**
+     * Removes the arrow from {@code v} to {@code u}.
+     *
+     * @param v the start vertex
+     * @param u the end vertex
+     */
+    public void removeArrow(V v, V u) {
+        Node<V> x = nodeMap.get(v);
+        Node<V> y = nodeMap.get(u);
+        if (x != null && y != null) {
+            if (x.next.remove(y)) {
+                y.prev.remove(x);
+            } else {
+                removeCyclicArrow(x, y);
+            }
+        }
+    }
+
+    /**
+     * Sets the next vertices of the specified vertex. Adds arrows that
+     * are not in the graph yet, and removes arrows that are not in the
+     * specified iterable anymore.
+     * <p>
+     * Runs in time proportional to the number of old and new next vertices,
+     * plus the time needed for reordering the vertices for the new arrows.
+     *
+     * @param v    a vertex
+     * @param next the new next vertices of the vertex
+     */
+    public void setNext(V v, @NonNull Iterable<? extends V> next) {
+        final Node<V> x = getOrAddNode(v);
+
+        // Mark all old next vertices with 'old'. Re-mark the ones that are
+        // still present with 'kept'.
+        final int old = ++stamp;
+        final int kept = ++stamp;
+        for (Node<V> n : x.next) {
+            n.mark = old;
+        }
+        final List<Node<V>> added = new ArrayList<>();
+        for (V u : next) {
+            Node<V> n = getOrAddNode(u);
+            if (n.mark == old) {
+                n.mark = kept;
+            } else if (n.mark != kept) {
+                n.mark = kept;
+                added.add(n);
+            }
+        }
+
+        for (int i = x.next.size() - 1; i >= 0; i--) {
+            Node<V> n = x.next.get(i);
+            if (n.mark != kept) {
+                x.next.remove(i);
+                n.prev.remove(x);
+            }
+        }
+        // Arrows that would have created a cycle are retried, because
+        // removed arrows may have broken the cycle.
+        clearCyclicNext(x);
+        for (Node<V> n : added) {
+            addArrow(x, n);
+        }
+    }
+
+    private boolean addArrow(@NonNull Node<V> x, @NonNull Node<V> y) {
+        if (x.next.contains(y)) {
+            return true;
+        }
+        final int lb = y.ord;
+        final int ub = x.ord;
+        if (lb <= ub) {
+            if (x == y || !discover(x, y, lb, ub)) {
+                if (x.cyclicNext == null) {
+                    x.cyclicNext = new ArrayList<>(1);
+                }
+                if (!x.cyclicNext.contains(y)) {
+                    x.cyclicNext.add(y);
+                    if (y.cyclicPrev == null) {
+                        y.cyclicPrev = new ArrayList<>(1);
+                    }
+                    y.cyclicPrev.add(x);
+                }
+                return false;
+            }
+            reorder();
+        }
+        x.next.add(y);
+        y.prev.add(x);
+        return true;
+    }
+
+    /**
+     * Finds the affected region for a new arrow {@code x → y} with
+     * {@code y.ord < x.ord}.
+     *
+     * @return false if the arrow would create a cycle
+     */
+    private boolean discover(@NonNull Node<V> x, @NonNull Node<V> y, int lb, int ub) {
+        deltaF.clear();
+        deltaB.clear();
+
+        // Forward search from y, restricted to vertices with ord < ub.
+        final int forward = ++stamp;
+        stack.clear();
+        stack.add(y);
+        y.mark = forward;
+        while (!stack.isEmpty()) {
+            Node<V> n = stack.remove(stack.size() - 1);
+            deltaF.add(n);
+            for (Node<V> w : n.next) {
+                if (w == x) {
+                    return false;
+                }
+                if (w.mark != forward && w.ord < ub) {
+                    w.mark = forward;
+                    stack.add(w);
+                }
+            }
+        }
+
+        // Backward search from x, restricted to vertices with ord > lb.
+        final int backward = ++stamp;
+        stack.add(x);
+        x.mark = backward;
+        while (!stack.isEmpty()) {
+            Node<V> n = stack.remove(stack.size() - 1);
+            deltaB.add(n);
+            for (Node<V> w : n.prev) {
+                if (w.mark != backward && w.ord > lb) {
+                    w.mark = backward;
+                    stack.add(w);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves all vertices of deltaB before all vertices of deltaF, using
+     * the positions that they currently occupy.
+     */
+    private void reorder() {
+        deltaB.sort(ORD_COMPARATOR);
+        deltaF.sort(ORD_COMPARATOR);
+        final int[] pool = new int[deltaB.size() + deltaF.size()];
+        int i = 0;
+        for (Node<V> n : deltaB) {
+            pool[i++] = n.ord;
+        }
+        for (Node<V> n : deltaF) {
+            pool[i++] = n.ord;
+        }
+        Arrays.sort(pool);
+        i = 0;
+        for (Node<V> n : deltaB) {
+            n.ord = pool[i++];
+        }
+        for (Node<V> n : deltaF) {
+            n.ord = pool[i++];
+        }
+        deltaB.clear();
+        deltaF.clear();
+    }
+
+    /**
+     * Sorts the specified vertices by their position in the topological
+     * order. Vertices that are not in the graph are added to the graph.
+     * <p>
+     * Runs in {@code O(k log k)} time, where {@code k} is the number of
+     * specified vertices.
+     *
+     * @param vertices a list of vertices
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(@NonNull List<V> vertices) {
+        final Node<V>[] nodes = (Node<V>[]) new Node<?>[vertices.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = getOrAddNode(vertices.get(i));
+        }
+        Arrays.sort(nodes, ORD_COMPARATOR);
+        for (int i = 0; i < nodes.length; i++) {
+            vertices.set(i, nodes[i].vertex);
+        }
+    }
+
+    /**
+     * Returns true if {@code v} comes before {@code u} in the topological
+     * order.
+     *
+     * @param v a vertex in the graph
+     * @param u a vertex in the graph
+     * @return true if v comes before u
+     */
+    public boolean isBefore(V v, V u) {
+        Node<V> x = nodeMap.get(v);
+        Node<V> y = nodeMap.get(u);
+        if (x == null || y == null) {
+            throw new IllegalArgumentException("vertex is not in graph");
+        }
+        return x.ord < y.ord;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * @(#)IndexedDisjointSets.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.algo;
+
+import org.jhotdraw8.util.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * A union-find data structure over the integers {@code 0, ..., size - 1}.
+ * <p>
+ * Uses path halving and union by rank. Both operations run in amortized
+ * {@code O(α(n))} time, where {@code α} is the inverse Ackermann function.
+ * <p>
+ * References:
+ * <dl>
+ *     <dt>Robert E. Tarjan, Jan van Leeuwen. (1984).
+ *     Worst-case Analysis of Set Union Algorithms.</dt>
+ *     <dd><a href="https://dl.acm.org/doi/10.1145/62.2160">acm.org</a></dd>
+ * </dl>
+ */
+public class IndexedDisjointSets {
+    /**
+     * The parent of each element. An element is the representative of
+     * its set if it is its own parent.
+     */
+    private final int[] parent;
+    /**
+     * An upper bound for the height of the tree of each representative.
+     */
+    private final byte[] rank;
+    private int setCount;
+
+    /**
+     * Creates a new instance, in which each element is in its own set.
+     *
+     * @param size the number of elements
+     */
+    public IndexedDisjointSets(int size) {
+        parent = new int[size];
+        rank = new byte[size];
+        clear();
+    }
+
+    /**
+     * Puts each element back into its own set.
+     */
+    public void clear() {
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        Arrays.fill(rank, (byte) 0);
+        setCount = parent.length;
+    }
+
+    /**
+     * Returns the representative of the set that contains the specified
+     * element.
+     *
+     * @param x an element
+     * @return the representative of the set
+     */
+    public int find(int x) {
+        Preconditions.checkIndex(x, parent.length);
+        final int[] parent = this.parent;
+        int p;
+        while ((p = parent[x]) != x) {
+            int gp = parent[p];
+            parent[x] = gp;
+            x = gp;
+        }
+        return x;
+    }
+
+    /**
+     * Merges the sets that contain the specified elements.
+     *
+     * @param x an element
+     * @param y another element
+     * @return true if the elements were in different sets
+     */
+    public boolean union(int x, int y) {
+        int rx = find(x);
+        int ry = find(y);
+        if (rx == ry) {
+            return false;
+        }
+        if (rank[rx] < rank[ry]) {
+            parent[rx] = ry;
+        } else if (rank[rx] > rank[ry]) {
+            parent[ry] = rx;
+        } else {
+            parent[ry] = rx;
+            rank[rx]++;
+        }
+        setCount--;
+        return true;
+    }
+
+    /**
+     * Returns true if the specified elements are in the same set.
+     *
+     * @param x an element
+     * @param y another element
+     * @return true if both elements are in the same set
+     */
+    public boolean isSameSet(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     *
+     * @return the number of sets
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return parent.length;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * @(#)IndexedMinimumSpanningTreeAlgo.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.algo;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.IntArrayList;
+import org.jhotdraw8.graph.ChunkedMutableIndexedBidiGraph;
+import org.jhotdraw8.graph.IndexedDirectedGraph;
+import org.jhotdraw8.graph.MutableIndexedBidiGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Computes minimum spanning trees (or forests) of an
+ * {@link IndexedDirectedGraph}.
+ * <p>
+ * The graph is treated as an undirected graph: an arrow from {@code v} to
+ * {@code u} connects both vertices in both directions. Usually an
+ * undirected graph is represented by two arrows with the same arrow data.
+ * <p>
+ * The arrow data of each arrow is used as an index into a {@code double[]}
+ * array of arrow weights.
+ * <p>
+ * All computations are performed on primitive arrays and an
+ * {@link IndexedDisjointSets}, so that no objects are allocated per
+ * arrow.
+ * <p>
+ * The minimum spanning tree is returned as an {@link IntArrayList} with
+ * three consecutive entries per tree arrow: the start vertex, the end
+ * vertex and the arrow data.
+ * <p>
+ * References:
+ * <dl>
+ *     <dt>Joseph B. Kruskal. (1956).
+ *     On the Shortest Spanning Subtree of a Graph and the Traveling Salesman Problem.</dt>
+ *     <dd><a href="https://doi.org/10.1090/S0002-9939-1956-0078686-7">doi.org</a></dd>
+ *     <dt>Otakar Borůvka. (1926).
+ *     O jistém problému minimálním.</dt>
+ *     <dd><a href="https://en.wikipedia.org/wiki/Bor%C5%AFvka%27s_algorithm">wikipedia.org</a></dd>
+ * </dl>
+ */
+public class IndexedMinimumSpanningTreeAlgo {
+    public IndexedMinimumSpanningTreeAlgo() {
+    }
+
+    /**
+     * The arrows of the graph, excluding self-loops, in structure-of-arrays
+     * layout.
+     */
+    private static class ArrowArrays {
+        final int @NonNull [] from;
+        final int @NonNull [] to;
+        final int @NonNull [] data;
+        final int size;
+
+        ArrowArrays(@NonNull IndexedDirectedGraph graph) {
+            IntArrayList from = new IntArrayList(graph.getArrowCount());
+            IntArrayList to = new IntArrayList(graph.getArrowCount());
+            IntArrayList data = new IntArrayList(graph.getArrowCount());
+            for (int v = 0, n = graph.getVertexCount(); v < n; v++) {
+                for (int i = 0, m = graph.getNextCount(v); i < m; i++) {
+                    int u = graph.getNextAsInt(v, i);
+                    if (u != v) {
+                        from.addAsInt(v);
+                        to.addAsInt(u);
+                        data.addAsInt(graph.getNextArrowAsInt(v, i));
+                    }
+                }
+            }
+            this.from = from.toIntArray();
+            this.to = to.toIntArray();
+            this.data = data.toIntArray();
+            this.size = this.from.length;
+        }
+    }
+
+    /**
+     * Computes a minimum spanning tree with Kruskal's algorithm.
+     * <p>
+     * Runs in {@code O(m log m)} time, where {@code m} is the number of
+     * arrows.
+     *
+     * @param graph   the graph
+     * @param weights the weight of each arrow, indexed by arrow data
+     * @return the arrows of the minimum spanning tree
+     */
+    public @NonNull IntArrayList findMinimumSpanningTree(@NonNull IndexedDirectedGraph graph, double @NonNull [] weights) {
+        final ArrowArrays arrows = new ArrowArrays(graph);
+        final int m = arrows.size;
+
+        // Sort the arrows by weight without boxing: we replace each weight by
+        // its rank among the sorted weights, and sort (rank, arrow) pairs
+        // packed into longs.
+        final double[] sortedWeights = new double[m];
+        for (int i = 0; i < m; i++) {
+            sortedWeights[i] = weights[arrows.data[i]];
+        }
+        Arrays.sort(sortedWeights);
+        final long[] order = new long[m];
+        for (int i = 0; i < m; i++) {
+            long rank = Arrays.binarySearch(sortedWeights, weights[arrows.data[i]]);
+            order[i] = rank << 32 | i;
+        }
+        Arrays.sort(order);
+
+        final int n = graph.getVertexCount();
+        final IndexedDisjointSets sets = new IndexedDisjointSets(n);
+        final IntArrayList tree = new IntArrayList(Math.max(0, n - 1) * 3);
+        for (int i = 0; i < m && sets.getSetCount() > 1; i++) {
+            int a = (int) order[i];
+            if (sets.union(arrows.from[a], arrows.to[a])) {
+                tree.addAsInt(arrows.from[a]);
+                tree.addAsInt(arrows.to[a]);
+                tree.addAsInt(arrows.data[a]);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Computes a minimum spanning tree with Borůvka's algorithm.
+     * <p>
+     * In each round, the cheapest arrow leaving each tree of the forest is
+     * searched in parallel on the common fork/join pool, and then all these
+     * arrows are added to the forest. There are at most {@code log2(n)}
+     * rounds, where {@code n} is the number of vertices.
+     * <p>
+     * Ties between arrows with equal weights are broken consistently, so
+     * that the result is a minimum spanning tree even if weights are equal.
+     *
+     * @param graph   the graph
+     * @param weights the weight of each arrow, indexed by arrow data
+     * @return the arrows of the minimum spanning tree
+     */
+    public @NonNull IntArrayList findMinimumSpanningTreeParallel(@NonNull IndexedDirectedGraph graph, double @NonNull [] weights) {
+        final ArrowArrays arrows = new ArrowArrays(graph);
+        final int m = arrows.size;
+        final int n = graph.getVertexCount();
+        final IndexedDisjointSets sets = new IndexedDisjointSets(n);
+        final IntArrayList tree = new IntArrayList(Math.max(0, n - 1) * 3);
+        final int[] treeOf = new int[n];
+        final AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+
+        boolean merged = true;
+        while (merged && sets.getSetCount() > 1) {
+            for (int v = 0; v < n; v++) {
+                treeOf[v] = sets.find(v);
+                cheapest.set(v, -1);
+            }
+
+            IntStream.range(0, m).parallel().forEach(a -> {
+                int tv = treeOf[arrows.from[a]];
+                int tu = treeOf[arrows.to[a]];
+                if (tv != tu) {
+                    offerCheapest(cheapest, tv, a, arrows, weights);
+                    offerCheapest(cheapest, tu, a, arrows, weights);
+                }
+            });
+
+            merged = false;
+            for (int t = 0; t < n; t++) {
+                int a = cheapest.get(t);
+                if (a >= 0 && sets.union(arrows.from[a], arrows.to[a])) {
+                    tree.addAsInt(arrows.from[a]);
+                    tree.addAsInt(arrows.to[a]);
+                    tree.addAsInt(arrows.data[a]);
+                    merged = true;
+                }
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Sets arrow {@code a} as the cheapest arrow of tree {@code t} if it is
+     * cheaper than the current cheapest arrow.
+     */
+    private static void offerCheapest(@NonNull AtomicIntegerArray cheapest, int t, int a,
+                                      @NonNull ArrowArrays arrows, double @NonNull [] weights) {
+        final double w = weights[arrows.data[a]];
+        while (true) {
+            int b = cheapest.get(t);
+            if (b >= 0) {
+                int c = Double.compare(w, weights[arrows.data[b]]);
+                if (c > 0 || c == 0 && a >= b) {
+                    return;
+                }
+            }
+            if (cheapest.compareAndSet(t, b, a)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Computes a minimum spanning tree with Kruskal's algorithm, and returns
+     * it as a graph with the same vertices as the provided graph, and with two
+     * arrows for each edge of the minimum spanning tree.
+     *
+     * @param graph   the graph
+     * @param weights the weight of each arrow, indexed by arrow data
+     * @return the minimum spanning tree
+     */
+    public @NonNull MutableIndexedBidiGraph findMinimumSpanningTreeGraph(@NonNull IndexedDirectedGraph graph, double @NonNull [] weights) {
+        return toGraph(graph.getVertexCount(), findMinimumSpanningTree(graph, weights));
+    }
+
+    /**
+     * Converts the arrows of a minimum spanning tree into a graph with two
+     * arrows for each edge of the tree.
+     *
+     * @param vertexCount the number of vertices
+     * @param tree        the arrows of the minimum spanning tree
+     * @return the graph
+     */
+    public @NonNull MutableIndexedBidiGraph toGraph(int vertexCount, @NonNull IntArrayList tree) {
+        ChunkedMutableIndexedBidiGraph g = new ChunkedMutableIndexedBidiGraph();
+        if (vertexCount > 0) {
+            g.addVertexAsInt(vertexCount - 1);
+        }
+        for (int i = 0, n = tree.size(); i < n; i += 3) {
+            g.addArrowAsInt(tree.getAsInt(i), tree.getAsInt(i + 1), tree.getAsInt(i + 2));
+            g.addArrowAsInt(tree.getAsInt(i + 1), tree.getAsInt(i), tree.getAsInt(i + 2));
+        }
+        return g;
+    }
+}
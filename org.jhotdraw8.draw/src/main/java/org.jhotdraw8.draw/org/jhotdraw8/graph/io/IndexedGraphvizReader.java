@@ -0,0 +1,351 @@
+/*
+ * @(#)IndexedGraphvizReader.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.io;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.IndexedStringTable;
+import org.jhotdraw8.collection.IntArrayList;
+import org.jhotdraw8.graph.MutableIndexedBidiGraph;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StreamTokenizer;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reads a graph from a graphviz "dot" file in streaming mode.
+ * <p>
+ * Unlike {@link GraphvizReader}, this reader does not build an object graph.
+ * It interns the vertex names into an {@link IndexedStringTable}, and emits
+ * each vertex and each arrow to a {@link Handler} as soon as it has been
+ * parsed. The memory used by the reader is bounded by the size of the
+ * string table and by the length of the longest edge statement.
+ * <p>
+ * Parses the same productions as {@link GraphvizReader}.
+ * <b>Does not support subgraphs!</b>
+ *
+ * @author Werner Randelshofer
+ */
+public class IndexedGraphvizReader {
+    /**
+     * Receives the vertices and arrows that are read by an
+     * {@link IndexedGraphvizReader}.
+     */
+    public interface Handler {
+        /**
+         * Is invoked when a vertex is encountered for the first time.
+         * <p>
+         * Vertex indices are assigned in ascending order, starting at 0.
+         *
+         * @param v          the index of the vertex
+         * @param id         the id of the vertex
+         * @param attributes the attributes of the vertex, this map
+         *                   is empty if the vertex has no attributes
+         */
+        void vertex(int v, @NonNull String id, @NonNull Map<String, String> attributes);
+
+        /**
+         * Is invoked for each arrow.
+         *
+         * @param v          the index of the start vertex
+         * @param u          the index of the end vertex
+         * @param attributes the attributes of the arrow, this map
+         *                   is empty if the arrow has no attributes
+         */
+        void arrow(int v, int u, @NonNull Map<String, String> attributes);
+    }
+
+    /**
+     * Holds the vertex indices of the edge statement that is currently
+     * being parsed. Pairs of consecutive entries are arrows.
+     */
+    private final @NonNull IntArrayList arrows = new IntArrayList();
+
+    public IndexedGraphvizReader() {
+    }
+
+    /**
+     * Reads the specified file and adds its vertices and arrows to the
+     * provided graph.
+     *
+     * @param file  the file
+     * @param graph the graph
+     * @return the vertex names
+     * @throws IOException on failure
+     */
+    public @NonNull IndexedStringTable read(@NonNull Path file, @NonNull MutableIndexedBidiGraph graph) throws IOException {
+        try (Reader r = Files.newBufferedReader(file)) {
+            return read(r, graph);
+        }
+    }
+
+    /**
+     * Reads from the specified reader and adds the vertices and arrows to the
+     * provided graph. All arrows get arrow data 0.
+     *
+     * @param r     the reader
+     * @param graph the graph
+     * @return the vertex names
+     * @throws IOException on failure
+     */
+    public @NonNull IndexedStringTable read(@NonNull Reader r, @NonNull MutableIndexedBidiGraph graph) throws IOException {
+        return read(r, graph, attributes -> 0);
+    }
+
+    /**
+     * Reads from the specified reader and adds the vertices and arrows to the
+     * provided graph.
+     * <p>
+     * The vertex with name table index {@code i} is added to the graph
+     * with vertex index {@code graph.getVertexCount() + i}.
+     *
+     * @param r                 the reader
+     * @param graph             the graph
+     * @param arrowDataFunction computes the arrow data from the arrow attributes
+     * @return the vertex names
+     * @throws IOException on failure
+     */
+    public @NonNull IndexedStringTable read(@NonNull Reader r, @NonNull MutableIndexedBidiGraph graph,
+                                            @NonNull ToIntFunction<Map<String, String>> arrowDataFunction) throws IOException {
+        final int offset = graph.getVertexCount();
+        return read(r, new Handler() {
+            @Override
+            public void vertex(int v, @NonNull String id, @NonNull Map<String, String> attributes) {
+                graph.addVertexAsInt();
+            }
+
+            @Override
+            public void arrow(int v, int u, @NonNull Map<String, String> attributes) {
+                graph.addArrowAsInt(v + offset, u + offset, arrowDataFunction.applyAsInt(attributes));
+            }
+        });
+    }
+
+    /**
+     * Reads the specified file and emits its vertices and arrows to
+     * the provided handler.
+     *
+     * @param file    the file
+     * @param handler the handler
+     * @return the vertex names
+     * @throws IOException on failure
+     */
+    public @NonNull IndexedStringTable read(@NonNull Path file, @NonNull Handler handler) throws IOException {
+        try (Reader r = Files.newBufferedReader(file)) {
+            return read(r, handler);
+        }
+    }
+
+    /**
+     * Reads the specified string and emits its vertices and arrows to
+     * the provided handler.
+     *
+     * @param str     the string
+     * @param handler the handler
+     * @return the vertex names
+     * @throws IOException on failure
+     */
+    public @NonNull IndexedStringTable read(@NonNull String str, @NonNull Handler handler) throws IOException {
+        try (StringReader r = new StringReader(str)) {
+            return read(r, handler);
+        }
+    }
+
+    /**
+     * Reads from the specified reader and emits the vertices and arrows to
+     * the provided handler.
+     *
+     * @param r       the reader
+     * @param handler the handler
+     * @return the vertex names
+     * @throws IOException on failure
+     */
+    public @NonNull IndexedStringTable read(@NonNull Reader r, @NonNull Handler handler) throws IOException {
+        StreamTokenizer tt = new StreamTokenizer(r);
+        tt.resetSyntax();
+        tt.wordChars('a', 'z');
+        tt.wordChars('A', 'Z');
+        tt.wordChars(128 + 32, 255);
+        tt.whitespaceChars(0, ' ');
+        tt.commentChar('/');
+        tt.quoteChar('"');
+        tt.quoteChar('\'');
+        tt.wordChars('0', '9');
+        tt.wordChars('.', '.');
+
+        IndexedStringTable vertexNames = new IndexedStringTable();
+        parseGraph(tt, handler, vertexNames);
+        return vertexNames;
+    }
+
+    /**
+     * Parses the graph production.
+     */
+    private void parseGraph(@NonNull StreamTokenizer tt, @NonNull Handler h, @NonNull IndexedStringTable vertexNames) throws IOException {
+        if (tt.nextToken() != StreamTokenizer.TT_WORD) {
+            throwException(tt, "graph: `strict`, `graph` or expected `digraph`");
+        }
+        if (!"strict".equals(tt.sval)) {
+            tt.pushBack();
+        }
+        if (tt.nextToken() != StreamTokenizer.TT_WORD) {
+            throwException(tt, "graph: `graph` or expected `digraph`");
+        }
+        if (!"graph".equals(tt.sval) && !"digraph".equals(tt.sval)) {
+            throwException(tt, "graph: `graph` or expected `digraph`");
+        }
+
+        if (tt.nextToken() != StreamTokenizer.TT_WORD) {
+            tt.pushBack();
+        }
+
+        if (tt.nextToken() != '{') {
+            throwException(tt, "graph: expected `{`");
+        }
+        while (tt.nextToken() != '}' && tt.ttype != StreamTokenizer.TT_EOF) {
+            tt.pushBack();
+            parseStmtLst(tt, h, vertexNames);
+        }
+        if (tt.ttype != '}') {
+            throwException(tt, "graph: expected `}`");
+        }
+    }
+
+    /**
+     * Parses the stmtList production.
+     */
+    private void parseStmtLst(@NonNull StreamTokenizer tt, @NonNull Handler h, @NonNull IndexedStringTable vertexNames) throws IOException {
+        do {
+            tt.pushBack();
+            parseStmt(tt, h, vertexNames);
+            if (tt.nextToken() == ';') {
+                tt.nextToken();
+            }
+        } while (tt.ttype != '}' && tt.ttype != StreamTokenizer.TT_EOF);
+        tt.pushBack();
+    }
+
+    /**
+     * Parses the stmt production.
+     */
+    private void parseStmt(@NonNull StreamTokenizer tt, @NonNull Handler h, @NonNull IndexedStringTable vertexNames) throws IOException {
+        if (tt.nextToken() != '"' && tt.ttype != StreamTokenizer.TT_WORD) {
+            throwException(tt, "stmt: expected `node_id`");
+        }
+        String nodeId = tt.sval;
+        Map<String, String> attrList;
+        boolean isDefinitelyNodeStmt = false;
+        if (tt.nextToken() == '[') {
+            isDefinitelyNodeStmt = true;
+            tt.pushBack();
+            attrList = parseAttrList(tt);
+        } else {
+            tt.pushBack();
+            attrList = Collections.emptyMap();
+        }
+
+        int v = internVertex(h, vertexNames, nodeId, attrList);
+
+        if (!isDefinitelyNodeStmt && tt.nextToken() == '-') {
+            tt.pushBack();
+            parseEdgeRhs(tt, h, v, vertexNames);
+        }
+    }
+
+    private int internVertex(@NonNull Handler h, @NonNull IndexedStringTable vertexNames,
+                             @NonNull String nodeId, @NonNull Map<String, String> attrList) {
+        int size = vertexNames.size();
+        int v = vertexNames.intern(nodeId);
+        if (v == size) {
+            h.vertex(v, nodeId, attrList);
+        }
+        return v;
+    }
+
+    private void parseEdgeRhs(@NonNull StreamTokenizer tt, @NonNull Handler h, int v, @NonNull IndexedStringTable vertexNames) throws IOException {
+        arrows.clear();
+        do {
+            tt.pushBack();
+            if (tt.nextToken() != '-') {
+                throwException(tt, "edgeRHS: edgeop expected");
+            }
+            if (tt.nextToken() != '-' && tt.ttype != '>') {
+                throwException(tt, "edgeRHS: `--` or `->` expected");
+            }
+            boolean isEdge = tt.ttype == '-';
+
+            if (tt.nextToken() != '"' && tt.ttype != StreamTokenizer.TT_WORD) {
+                throwException(tt, "edgeRHS: expected `node_id`");
+            }
+
+            int u = internVertex(h, vertexNames, tt.sval, Collections.emptyMap());
+            arrows.addAsInt(v);
+            arrows.addAsInt(u);
+            if (isEdge) {
+                arrows.addAsInt(u);
+                arrows.addAsInt(v);
+            }
+            v = u;
+        } while (tt.nextToken() == '-');
+        tt.pushBack();
+
+        Map<String, String> attrList;
+        if (tt.nextToken() == '[') {
+            tt.pushBack();
+            attrList = parseAttrList(tt);
+        } else {
+            tt.pushBack();
+            attrList = Collections.emptyMap();
+        }
+
+        for (int i = 0, n = arrows.size(); i < n; i += 2) {
+            h.arrow(arrows.getAsInt(i), arrows.getAsInt(i + 1), attrList);
+        }
+    }
+
+    private @NonNull Map<String, String> parseAttrList(@NonNull StreamTokenizer tt) throws IOException {
+        Map<String, String> attrList = new LinkedHashMap<>();
+        if (tt.nextToken() != '[') {
+            throwException(tt, "attr_list: expected `[`");
+        }
+        while (tt.nextToken() != ']' && tt.ttype != StreamTokenizer.TT_EOF) {
+            parseAList(tt, attrList);
+        }
+        return attrList;
+    }
+
+    private void parseAList(@NonNull StreamTokenizer tt, @NonNull Map<String, String> attrList) throws IOException {
+        do {
+            tt.pushBack();
+            if (tt.nextToken() != '"' && tt.ttype != StreamTokenizer.TT_WORD) {
+                throwException(tt, "a_list: expected `ID`");
+            }
+            String key = tt.sval;
+            if (tt.nextToken() != '=') {
+                throwException(tt, "a_list: expected `=`");
+            }
+            if (tt.nextToken() != '"' && tt.ttype != StreamTokenizer.TT_WORD) {
+                throwException(tt, "a_list: expected `ID`");
+            }
+            String value = tt.sval;
+            attrList.put(key, value);
+            if (tt.nextToken() != ',' && tt.ttype != ';') {
+                tt.pushBack();
+            }
+        } while ((tt.nextToken() == '"' || tt.ttype == StreamTokenizer.TT_WORD));
+        tt.pushBack();
+    }
+
+    private void throwException(@NonNull StreamTokenizer tt, @NonNull String message) throws IOException {
+        throw new IOException(message + " but found " + tt);
+    }
+}
@@ -0,0 +1,603 @@
+/*
+ * @(#)IndexedReachabilityIndex.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.path;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+import org.jhotdraw8.collection.IntList;
+import org.jhotdraw8.graph.IndexedDirectedGraph;
+import org.jhotdraw8.graph.algo.IndexedStronglyConnectedComponentsAlgo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A precomputed reachability index for an {@link IndexedDirectedGraph}.
+ * <p>
+ * Answers the question "is there a walk from vertex {@code v} to vertex
+ * {@code u}?" without searching the graph for most queries.
+ * <p>
+ * The index is built as follows:
+ * <ol>
+ *     <li>The graph is condensed into a directed acyclic graph of its
+ *     strongly connected components. Two vertices in the same component
+ *     are always reachable from each other.</li>
+ *     <li>If the number of components is small, the transitive closure
+ *     of the condensation is stored as one bitset per component.
+ *     All queries are then answered in O(1).</li>
+ *     <li>Otherwise, each component is labeled with a small number of
+ *     GRAIL intervals, and with the pre-order interval of a depth-first
+ *     spanning tree. A query is answered in O(1) if one of the GRAIL
+ *     intervals proves that {@code u} is not reachable, or if the spanning
+ *     tree interval proves that it is. Only the remaining queries perform
+ *     a depth-first search, which is pruned by the intervals.</li>
+ * </ol>
+ * <p>
+ * The index supports incremental maintenance for added arrows:
+ * see {@link #arrowAdded(int, int)}. Added arrows are not merged into the
+ * strongly connected components: the closure, or the labels, are updated
+ * so that they cover the new walks.
+ * <p>
+ * This class is not thread-safe, because queries use shared scratch
+ * arrays.
+ * <p>
+ * References:
+ * <dl>
+ *     <dt>Hilmi Yildirim, Vineet Chaoji, Mohammed J. Zaki. (2010).
+ *     GRAIL: Scalable Reachability Index for Large Graphs.</dt>
+ *     <dd><a href="https://www.vldb.org/pvldb/vldb2010/papers/R24.pdf">vldb.org</a></dd>
+ * </dl>
+ */
+public class IndexedReachabilityIndex {
+    private final @NonNull IndexedDirectedGraph graph;
+    private final int labelCount;
+    private final int maxClosureComponents;
+
+    /**
+     * Maps a vertex to its strongly connected component.
+     * <p>
+     * Components are numbered in reverse topological order: if component
+     * {@code d} is reachable from component {@code c} then {@code d <= c}.
+     */
+    private int @NonNull [] componentOf;
+    private int componentCount;
+    /**
+     * Whether the components are still numbered in reverse topological
+     * order. This is no longer the case, after an arrow has been added
+     * from a component to a component with a higher number.
+     */
+    private boolean topologicallyOrdered;
+    /**
+     * The arrows of the condensation graph in compressed sparse row format.
+     */
+    private int @NonNull [] nextOffsets;
+    private int @NonNull [] nextComponents;
+    /**
+     * The reverse arrows of the condensation graph in compressed sparse
+     * row format, or null if they have not been needed yet.
+     */
+    private int @Nullable [] prevOffsets;
+    private int @Nullable [] prevComponents;
+    /**
+     * The arrows that have been added to the condensation graph with
+     * {@link #arrowAdded}, as linked lists. {@code nextHead[c]} and
+     * {@code prevHead[c]} are the first added arrow from and to component
+     * {@code c}, {@code nextLink[a]} and {@code prevLink[a]} are the arrow
+     * that follows arrow {@code a} in these lists, or -1.
+     */
+    private int @NonNull [] nextHead = new int[0];
+    private int @NonNull [] prevHead = new int[0];
+    private int @NonNull [] addedFrom = new int[0];
+    private int @NonNull [] addedTo = new int[0];
+    private int @NonNull [] nextLink = new int[0];
+    private int @NonNull [] prevLink = new int[0];
+    private int addedCount;
+    /**
+     * GRAIL labels. Label {@code i} of component {@code c} is the interval
+     * {@code [lows[i * componentCount + c], posts[i * componentCount + c]]}.
+     */
+    private int @NonNull [] lows;
+    private int @NonNull [] posts;
+    /**
+     * Pre-order number and pre-order number of the last descendant of
+     * each component in a depth-first spanning tree.
+     */
+    private int @NonNull [] preorder;
+    private int @NonNull [] lastDescendant;
+    /**
+     * The reflexive transitive closure of the condensation, or null if
+     * there are too many components.
+     */
+    private long @Nullable [][] closure;
+    /**
+     * Whether the index must be rebuilt before the next query.
+     */
+    private boolean invalid;
+
+    /**
+     * Scratch arrays for the pruned depth-first search.
+     */
+    private int @NonNull [] visitedStamps = new int[0];
+    private int stamp;
+    private int @NonNull [] stack = new int[0];
+
+    /**
+     * Creates a new reachability index for the specified graph, with
+     * 2 GRAIL labels and a transitive closure for up to 4096 strongly
+     * connected components.
+     *
+     * @param graph the graph
+     */
+    public IndexedReachabilityIndex(@NonNull IndexedDirectedGraph graph) {
+        this(graph, 2, 4096);
+    }
+
+    /**
+     * Creates a new reachability index for the specified graph.
+     *
+     * @param graph                the graph
+     * @param labelCount           the number of GRAIL labels per component,
+     *                             must be {@literal >= 1}
+     * @param maxClosureComponents the maximal number of strongly connected
+     *                             components for which the transitive closure
+     *                             is stored. The closure uses
+     *                             {@code componentCount^2/8} bytes.
+     */
+    public IndexedReachabilityIndex(@NonNull IndexedDirectedGraph graph, int labelCount, int maxClosureComponents) {
+        if (labelCount < 1) {
+            throw new IllegalArgumentException("labelCount must be >= 1. labelCount=" + labelCount);
+        }
+        this.graph = graph;
+        this.labelCount = labelCount;
+        this.maxClosureComponents = maxClosureComponents;
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the index from the graph.
+     */
+    public void rebuild() {
+        final int vertexCount = graph.getVertexCount();
+        final List<IntList> sccs = new IndexedStronglyConnectedComponentsAlgo().findStronglyConnectedComponents(graph);
+        final int k = sccs.size();
+        componentCount = k;
+        componentOf = new int[vertexCount];
+        for (int c = 0; c < k; c++) {
+            IntList scc = sccs.get(c);
+            for (int i = 0, n = scc.size(); i < n; i++) {
+                componentOf[scc.getAsInt(i)] = c;
+            }
+        }
+
+        buildCondensation(sccs);
+        topologicallyOrdered = true;
+        prevOffsets = prevComponents = null;
+        nextHead = prevHead = addedFrom = addedTo = nextLink = prevLink = new int[0];
+        addedCount = 0;
+        if (k <= maxClosureComponents) {
+            buildClosure();
+            lows = posts = preorder = lastDescendant = new int[0];
+        } else {
+            closure = null;
+            buildLabels();
+        }
+        invalid = false;
+    }
+
+    private void buildCondensation(@NonNull List<IntList> sccs) {
+        final int k = componentCount;
+        nextOffsets = new int[k + 1];
+        int[] targets = new int[Math.max(16, graph.getArrowCount())];
+        final int[] marks = new int[k];
+        int count = 0;
+        for (int c = 0; c < k; c++) {
+            nextOffsets[c] = count;
+            IntList scc = sccs.get(c);
+            for (int i = 0, n = scc.size(); i < n; i++) {
+                int v = scc.getAsInt(i);
+                for (int j = 0, m = graph.getNextCount(v); j < m; j++) {
+                    int d = componentOf[graph.getNextAsInt(v, j)];
+                    if (d != c && marks[d] != c + 1) {
+                        marks[d] = c + 1;
+                        if (count == targets.length) {
+                            targets = Arrays.copyOf(targets, count * 2);
+                        }
+                        targets[count++] = d;
+                    }
+                }
+            }
+        }
+        nextOffsets[k] = count;
+        nextComponents = Arrays.copyOf(targets, count);
+    }
+
+    private void buildClosure() {
+        final int k = componentCount;
+        final int words = (k + 63) >>> 6;
+        closure = new long[k][words];
+        // components are numbered in reverse topological order,
+        // so the rows of all next components are complete
+        for (int c = 0; c < k; c++) {
+            long[] row = closure[c];
+            row[c >>> 6] |= 1L << c;
+            for (int i = nextOffsets[c], end = nextOffsets[c + 1]; i < end; i++) {
+                long[] nextRow = closure[nextComponents[i]];
+                for (int w = 0; w < words; w++) {
+                    row[w] |= nextRow[w];
+                }
+            }
+        }
+    }
+
+    private void buildLabels() {
+        final int k = componentCount;
+        lows = new int[labelCount * k];
+        posts = new int[labelCount * k];
+        preorder = new int[k];
+        lastDescendant = new int[k];
+        if (k == 0) {
+            return;
+        }
+
+        final boolean[] hasPrev = new boolean[k];
+        for (int i : nextComponents) {
+            hasPrev[i] = true;
+        }
+        final Random random = new Random(0);
+        final int[] stack = new int[k];
+        final int[] parent = new int[k];
+        final int[] pos = new int[k];
+        final int[] rotation = new int[k];
+        final boolean[] visited = new boolean[k];
+        for (int label = 0; label < labelCount; label++) {
+            Arrays.fill(visited, false);
+            final int offset = label * k;
+            final boolean isTree = label == 0;
+            int rank = 0;
+            int pre = 0;
+            int rootRotation = random.nextInt(k);
+            for (int r = 0; r < k; r++) {
+                int root = (r + rootRotation) % k;
+                if (hasPrev[root] || visited[root]) {
+                    continue;
+                }
+                int top = 0;
+                stack[0] = root;
+                parent[root] = -1;
+                visited[root] = true;
+                pos[root] = 0;
+                lows[offset + root] = Integer.MAX_VALUE;
+                if (isTree) {
+                    preorder[root] = pre++;
+                }
+                while (top >= 0) {
+                    int x = stack[top];
+                    int from = nextOffsets[x];
+                    int deg = nextOffsets[x + 1] - from;
+                    if (pos[x] == 0 && deg > 0) {
+                        rotation[x] = random.nextInt(deg);
+                    }
+                    if (pos[x] < deg) {
+                        int c = nextComponents[from + (rotation[x] + pos[x]++) % deg];
+                        if (visited[c]) {
+                            // there are no back arrows in a DAG, so c has already been finished
+                            lows[offset + x] = Math.min(lows[offset + x], lows[offset + c]);
+                        } else {
+                            visited[c] = true;
+                            parent[c] = x;
+                            pos[c] = 0;
+                            lows[offset + c] = Integer.MAX_VALUE;
+                            if (isTree) {
+                                preorder[c] = pre++;
+                            }
+                            stack[++top] = c;
+                        }
+                    } else {
+                        top--;
+                        int post = rank++;
+                        posts[offset + x] = post;
+                        int low = Math.min(lows[offset + x], post);
+                        lows[offset + x] = low;
+                        if (isTree) {
+                            lastDescendant[x] = pre - 1;
+                        }
+                        int p = parent[x];
+                        if (p >= 0) {
+                            lows[offset + p] = Math.min(lows[offset + p], low);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if there is a walk from vertex {@code v} to vertex
+     * {@code u}. Every vertex is reachable from itself.
+     * <p>
+     * If vertices have been added to the graph since the index has been
+     * built, the index is rebuilt before the query is answered.
+     *
+     * @param v the index of the start vertex
+     * @param u the index of the goal vertex
+     * @return true if {@code u} is reachable from {@code v}
+     * @throws IndexOutOfBoundsException if {@code v} or {@code u} is not
+     *                                   a vertex of the graph
+     */
+    public boolean isReachable(int v, int u) {
+        if (v == u) {
+            return true;
+        }
+        if (invalid || graph.getVertexCount() != componentOf.length) {
+            rebuild();
+        }
+        Objects.checkIndex(v, componentOf.length);
+        Objects.checkIndex(u, componentOf.length);
+        final int cv = componentOf[v];
+        final int cu = componentOf[u];
+        if (cv == cu) {
+            return true;
+        }
+        if (closure != null) {
+            return (closure[cv][cu >>> 6] & (1L << cu)) != 0;
+        }
+        if (topologicallyOrdered && cu > cv || !isLabelContained(cv, cu)) {
+            return false;
+        }
+        if (isTreeDescendant(cv, cu)) {
+            return true;
+        }
+        return search(cv, cu);
+    }
+
+    /**
+     * Returns true if all labels of component {@code cu} are contained
+     * in the labels of component {@code cv}.
+     * This is a necessary condition for {@code cu} being reachable from
+     * {@code cv}.
+     */
+    private boolean isLabelContained(int cv, int cu) {
+        for (int offset = 0, end = labelCount * componentCount; offset < end; offset += componentCount) {
+            if (lows[offset + cu] < lows[offset + cv] || posts[offset + cu] > posts[offset + cv]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if component {@code cu} is a descendant of {@code cv}
+     * in the depth-first spanning tree.
+     * This is a sufficient condition for {@code cu} being reachable from
+     * {@code cv}.
+     */
+    private boolean isTreeDescendant(int cv, int cu) {
+        return preorder[cv] <= preorder[cu] && preorder[cu] <= lastDescendant[cv];
+    }
+
+    /**
+     * Performs a depth-first search from {@code cv} to {@code cu} in the
+     * condensation graph, which is pruned with the labels.
+     */
+    private boolean search(int cv, int cu) {
+        nextStamp();
+        int top = 0;
+        stack[0] = cv;
+        visitedStamps[cv] = stamp;
+        while (top >= 0) {
+            int x = stack[top--];
+            for (int i = nextOffsets[x], end = nextOffsets[x + 1]; i < end; i++) {
+                int c = nextComponents[i];
+                if (c == cu) {
+                    return true;
+                }
+                if (visitedStamps[c] == stamp || topologicallyOrdered && c < cu || !isLabelContained(c, cu)) {
+                    continue;
+                }
+                if (isTreeDescendant(c, cu)) {
+                    return true;
+                }
+                visitedStamps[c] = stamp;
+                stack[++top] = c;
+            }
+            for (int a = nextHead.length == 0 ? -1 : nextHead[x]; a != -1; a = nextLink[a]) {
+                int c = addedTo[a];
+                if (c == cu) {
+                    return true;
+                }
+                if (visitedStamps[c] == stamp || !isLabelContained(c, cu)) {
+                    continue;
+                }
+                if (isTreeDescendant(c, cu)) {
+                    return true;
+                }
+                visitedStamps[c] = stamp;
+                stack[++top] = c;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Prepares the scratch arrays for a new traversal of the condensation
+     * graph.
+     */
+    private void nextStamp() {
+        final int k = componentCount;
+        if (visitedStamps.length != k) {
+            visitedStamps = new int[k];
+            stack = new int[k];
+            stamp = 0;
+        }
+        if (++stamp == 0) {
+            Arrays.fill(visitedStamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Updates the index after an arrow from vertex {@code v} to vertex
+     * {@code u} has been added to the graph.
+     * <p>
+     * If {@code u} was already reachable from {@code v}, the index
+     * does not change. Otherwise, if the index stores the transitive
+     * closure, the closure is updated in {@code O(componentCount^2/64)}.
+     * <p>
+     * Otherwise, the arrow is added to the condensation graph, and the
+     * labels of all components from which {@code v} is reachable are
+     * widened to contain the labels of the component of {@code u}. The
+     * widening stops at components whose labels already contain them, so
+     * the update takes {@code O(labelCount * a + e)} time, where {@code a}
+     * is the number of components whose labels change, and {@code e} is the
+     * number of their incoming arrows. The first update after the index
+     * has been built computes the reverse arrows of the condensation graph
+     * in {@code O(componentCount + arrowCount)}.
+     * <p>
+     * The strongly connected components are not merged, when the arrow
+     * closes a cycle. Queries remain correct, but the labels become less
+     * selective, so that queries search more. Call {@link #rebuild()} after
+     * many arrows have been added.
+     * <p>
+     * If vertices have been added to the graph, the index is rebuilt on
+     * the next query, in {@code O(vertexCount + arrowCount)}.
+     *
+     * @param v the index of the start vertex of the arrow
+     * @param u the index of the end vertex of the arrow
+     */
+    public void arrowAdded(int v, int u) {
+        if (invalid) {
+            return;
+        }
+        if (graph.getVertexCount() != componentOf.length) {
+            invalid = true;
+            return;
+        }
+        if (isReachable(v, u)) {
+            return;
+        }
+        final int cv = componentOf[v];
+        final int cu = componentOf[u];
+        if (closure != null) {
+            final long[][] closure = this.closure;
+            final long[] uRow = closure[cu];
+            for (long[] row : closure) {
+                if ((row[cv >>> 6] & (1L << cv)) != 0) {
+                    for (int w = 0; w < row.length; w++) {
+                        row[w] |= uRow[w];
+                    }
+                }
+            }
+            return;
+        }
+
+        addCondensationArrow(cv, cu);
+        if (cu > cv) {
+            topologicallyOrdered = false;
+        }
+        widenLabels(cv, cu);
+    }
+
+    private void addCondensationArrow(int cv, int cu) {
+        if (nextHead.length == 0) {
+            nextHead = new int[componentCount];
+            prevHead = new int[componentCount];
+            Arrays.fill(nextHead, -1);
+            Arrays.fill(prevHead, -1);
+        }
+        final int a = addedCount++;
+        if (a == addedFrom.length) {
+            final int capacity = Math.max(16, a * 2);
+            addedFrom = Arrays.copyOf(addedFrom, capacity);
+            addedTo = Arrays.copyOf(addedTo, capacity);
+            nextLink = Arrays.copyOf(nextLink, capacity);
+            prevLink = Arrays.copyOf(prevLink, capacity);
+        }
+        addedFrom[a] = cv;
+        addedTo[a] = cu;
+        nextLink[a] = nextHead[cv];
+        nextHead[cv] = a;
+        prevLink[a] = prevHead[cu];
+        prevHead[cu] = a;
+    }
+
+    /**
+     * Widens the labels of component {@code cv}, and of all components
+     * from which {@code cv} is reachable, so that they contain the labels
+     * of component {@code cu}.
+     * <p>
+     * If the labels of a component already contain the labels of
+     * {@code cu}, then so do the labels of all components from which it
+     * is reachable, and the traversal does not continue there.
+     */
+    private void widenLabels(int cv, int cu) {
+        if (prevOffsets == null) {
+            buildPrevArrows();
+        }
+        final int[] prevOffsets = this.prevOffsets;
+        final int[] prevComponents = this.prevComponents;
+        assert prevComponents != null;
+        if (isLabelContained(cv, cu)) {
+            return;
+        }
+        nextStamp();
+        int top = 0;
+        stack[0] = cv;
+        visitedStamps[cv] = stamp;
+        while (top >= 0) {
+            int x = stack[top--];
+            for (int offset = 0, end = labelCount * componentCount; offset < end; offset += componentCount) {
+                lows[offset + x] = Math.min(lows[offset + x], lows[offset + cu]);
+                posts[offset + x] = Math.max(posts[offset + x], posts[offset + cu]);
+            }
+            for (int i = prevOffsets[x], end = prevOffsets[x + 1]; i < end; i++) {
+                int c = prevComponents[i];
+                if (visitedStamps[c] != stamp && !isLabelContained(c, cu)) {
+                    visitedStamps[c] = stamp;
+                    stack[++top] = c;
+                }
+            }
+            for (int a = prevHead[x]; a != -1; a = prevLink[a]) {
+                int c = addedFrom[a];
+                if (visitedStamps[c] != stamp && !isLabelContained(c, cu)) {
+                    visitedStamps[c] = stamp;
+                    stack[++top] = c;
+                }
+            }
+        }
+    }
+
+    private void buildPrevArrows() {
+        final int k = componentCount;
+        final int[] offsets = new int[k + 1];
+        for (int c : nextComponents) {
+            offsets[c + 1]++;
+        }
+        for (int c = 0; c < k; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        final int[] fill = Arrays.copyOf(offsets, k);
+        final int[] components = new int[nextComponents.length];
+        for (int c = 0; c < k; c++) {
+            for (int i = nextOffsets[c], end = nextOffsets[c + 1]; i < end; i++) {
+                components[fill[nextComponents[i]]++] = c;
+            }
+        }
+        prevOffsets = offsets;
+        prevComponents = components;
+    }
+
+    /**
+     * Returns the number of strongly connected components in the graph
+     * at the time when the index was built.
+     *
+     * @return the number of strongly connected components
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * @(#)DepthFirstAllWalksSpliterator.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.path.algo;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+import org.jhotdraw8.collection.AbstractEnumerator;
+import org.jhotdraw8.collection.ImmutableList;
+import org.jhotdraw8.collection.OrderedPair;
+import org.jhotdraw8.graph.Arc;
+import org.jhotdraw8.graph.path.backlink.ArcBackLinkWithCost;
+import org.jhotdraw8.util.TriFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Iterates over all walks from a set of start vertices to a set of goal
+ * vertices using a depth-first search.
+ * <p>
+ * Enumerates the same walks as {@link AllWalksSpliterator} but in
+ * depth-first order. Only enumerates walks that contain a goal once.
+ * <p>
+ * The search only holds the arcs of the vertices on the current walk in
+ * memory. Therefore, memory usage is bounded by
+ * {@code maxDepth * maximal number of next arcs of a vertex}, and does
+ * not depend on the number of walks.
+ * <p>
+ * This spliterator supports {@link #trySplit()}: it hands off half of
+ * the unexplored arcs of the shallowest vertex on the current walk to
+ * the new spliterator. This allows to enumerate walks with a parallel stream.
+ * <p>
+ * See {@link AllWalksSpliterator} for a description of the run time.
+ *
+ * @param <V> the vertex data type
+ * @param <A> the arrow data type
+ * @param <C> the cost number type
+ * @param <E> the element type of the path
+ */
+public class DepthFirstAllWalksSpliterator<V, A, C extends Number & Comparable<C>, E> extends AbstractEnumerator<OrderedPair<ImmutableList<E>, C>> {
+    /**
+     * Holds the unexplored back links of a vertex on the current walk.
+     *
+     * @param <V> the vertex data type
+     * @param <A> the arrow data type
+     * @param <C> the cost number type
+     */
+    private static class Frame<V, A, C extends Number & Comparable<C>> {
+        private final @NonNull ArcBackLinkWithCost<V, A, C>[] children;
+        private int lo;
+        private int hi;
+
+        Frame(@NonNull ArcBackLinkWithCost<V, A, C>[] children, int lo, int hi) {
+            this.children = children;
+            this.lo = lo;
+            this.hi = hi;
+        }
+    }
+
+    /**
+     * The stack of frames. The shallowest frame is at index 0.
+     */
+    private final @NonNull List<Frame<V, A, C>> stack = new ArrayList<>();
+    private final @NonNull Predicate<V> goalPredicate;
+    private final int maxDepth;
+    private final @NonNull C maxCost;
+    private final @NonNull TriFunction<V, V, A, C> costFunction;
+    private final @NonNull BiFunction<C, C, C> sumFunction;
+    private final @NonNull Function<V, Iterable<Arc<V, A>>> nextArcsFunction;
+    private final @NonNull Function<ArcBackLinkWithCost<V, A, C>,
+            OrderedPair<ImmutableList<E>, C>> sequenceFunction;
+    /**
+     * Reusable buffer for the back links of a vertex that is being expanded.
+     */
+    private final @NonNull List<ArcBackLinkWithCost<V, A, C>> buffer = new ArrayList<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param startVertices    the set of start vertices
+     * @param goalPredicate    the goal predicate
+     * @param nextArcsFunction the next arcs function
+     * @param sequenceFunction the function that maps back links to a sequence
+     * @param maxDepth         the maximal depth (inclusive) of the search
+     *                         Must be {@literal >= 0}.
+     * @param maxCost          the maximal cost (inclusive) of a sequence
+     *                         Must be {@literal >= zero}.
+     * @param zero             the zero cost value
+     * @param costFunction     the cost function.
+     * @param sumFunction      the function for adding two cost values
+     */
+    public DepthFirstAllWalksSpliterator(@NonNull Iterable<V> startVertices,
+                                         @NonNull Predicate<V> goalPredicate,
+                                         @NonNull Function<V, Iterable<Arc<V, A>>> nextArcsFunction,
+                                         @NonNull Function<ArcBackLinkWithCost<V, A, C>,
+                                                 OrderedPair<ImmutableList<E>, C>> sequenceFunction,
+                                         int maxDepth,
+                                         @NonNull C maxCost,
+                                         @NonNull C zero,
+                                         @NonNull TriFunction<V, V, A, C> costFunction,
+                                         @NonNull BiFunction<C, C, C> sumFunction) {
+        super(Long.MAX_VALUE, 0);
+        AlgoArguments.checkMaxDepthMaxCostArguments(maxDepth, zero, maxCost);
+
+        this.maxDepth = maxDepth;
+        this.maxCost = maxCost;
+        this.goalPredicate = goalPredicate;
+        this.nextArcsFunction = nextArcsFunction;
+        this.sequenceFunction = sequenceFunction;
+        this.costFunction = new CheckedNonNegativeArcCostFunction<>(zero, costFunction);
+        this.sumFunction = sumFunction;
+
+        for (V start : startVertices) {
+            buffer.add(new ArcBackLinkWithCost<>(start, null, null, zero));
+        }
+        pushBuffer();
+    }
+
+    /**
+     * Creates a new instance for {@link #trySplit()}.
+     */
+    private DepthFirstAllWalksSpliterator(@NonNull DepthFirstAllWalksSpliterator<V, A, C, E> that,
+                                          @NonNull Frame<V, A, C> frame) {
+        super(Long.MAX_VALUE, 0);
+        this.maxDepth = that.maxDepth;
+        this.maxCost = that.maxCost;
+        this.goalPredicate = that.goalPredicate;
+        this.nextArcsFunction = that.nextArcsFunction;
+        this.sequenceFunction = that.sequenceFunction;
+        this.costFunction = that.costFunction;
+        this.sumFunction = that.sumFunction;
+        stack.add(frame);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pushBuffer() {
+        if (!buffer.isEmpty()) {
+            stack.add(new Frame<>(buffer.toArray((ArcBackLinkWithCost<V, A, C>[]) new ArcBackLinkWithCost[0]), 0, buffer.size()));
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public boolean moveNext() {
+        while (!stack.isEmpty()) {
+            Frame<V, A, C> top = stack.get(stack.size() - 1);
+            if (top.lo == top.hi) {
+                stack.remove(stack.size() - 1);
+                continue;
+            }
+            ArcBackLinkWithCost<V, A, C> u = top.children[top.lo];
+            top.children[top.lo++] = null;// clear reference, so that it can be garbage collected
+            if (goalPredicate.test(u.getVertex())) {
+                this.current = sequenceFunction.apply(u);
+                return true;
+            }
+            if (u.getDepth() < maxDepth) {
+                for (Arc<V, A> v : nextArcsFunction.apply(u.getVertex())) {
+                    C cost = sumFunction.apply(u.getCost(), costFunction.apply(u.getVertex(), v.getEnd(), v.getArrow()));
+                    if (cost.compareTo(maxCost) <= 0) {
+                        buffer.add(new ArcBackLinkWithCost<>(v.getEnd(), v.getArrow(), u, cost));
+                    }
+                }
+                pushBuffer();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits off half of the unexplored back links of the shallowest
+     * frame that has at least two unexplored back links.
+     *
+     * @return a new spliterator or null if this spliterator can not be split
+     */
+    @Override
+    public @Nullable DepthFirstAllWalksSpliterator<V, A, C, E> trySplit() {
+        for (Frame<V, A, C> frame : stack) {
+            if (frame.hi - frame.lo >= 2) {
+                int mid = (frame.lo + frame.hi) >>> 1;
+                Frame<V, A, C> splitFrame = new Frame<>(frame.children, mid, frame.hi);
+                frame.hi = mid;
+                return new DepthFirstAllWalksSpliterator<>(this, splitFrame);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * @(#)IndexedAllWalksSpliterator.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.path.algo;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
+import org.jhotdraw8.collection.AbstractEnumerator;
+import org.jhotdraw8.collection.IntArrayList;
+import org.jhotdraw8.graph.IndexedDirectedGraph;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Iterates over all walks from a set of start vertices to a set of goal
+ * vertices using a depth-first search.
+ * <p>
+ * This implementation is optimized for {@link IndexedDirectedGraph}.
+ * See {@link DepthFirstAllWalksSpliterator} for a description of the
+ * algorithm.
+ * <p>
+ * The walks are provided as vertex indices in a reusable
+ * {@link IntArrayList}. The content of the list is only valid until
+ * {@link #moveNext()} is called again. Consumers that need to retain a
+ * walk must copy it, for example with {@link IntArrayList#toIntArray()}.
+ * <p>
+ * The search only holds the vertices of the current walk and one arrow
+ * index per vertex in memory. Memory usage is thus proportional to
+ * {@code maxDepth}, and does not depend on the number of walks or on the
+ * size of the graph.
+ * <p>
+ * This spliterator supports {@link #trySplit()}: it hands off half of
+ * the unexplored arrows of the shallowest vertex on the current walk to
+ * the new spliterator. This allows to enumerate walks with a parallel stream.
+ */
+public class IndexedAllWalksSpliterator extends AbstractEnumerator<IntArrayList> {
+    private final @NonNull IndexedDirectedGraph graph;
+    private final @NonNull IntPredicate goalPredicate;
+    private final int maxDepth;
+    /**
+     * The start vertices. Only the range {@code [startLo, startHi)} is
+     * unexplored.
+     */
+    private final int @NonNull [] startVertices;
+    private int startLo;
+    private int startHi;
+    /**
+     * The vertices on the current walk.
+     */
+    private int @NonNull [] walk;
+    /**
+     * For each vertex on the current walk: the range {@code [lo, hi)}
+     * of arrows that have not been explored yet.
+     */
+    private int @NonNull [] lo;
+    private int @NonNull [] hi;
+    /**
+     * The depth of the deepest vertex on the current walk that is
+     * being expanded; -1 if only the start vertices are left.
+     */
+    private int top = -1;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param graph         the graph
+     * @param startVertices the start vertices
+     * @param goalPredicate the goal predicate
+     * @param maxDepth      the maximal depth (inclusive) of the search
+     *                      Must be {@literal >= 0}.
+     */
+    public IndexedAllWalksSpliterator(@NonNull IndexedDirectedGraph graph,
+                                      int @NonNull [] startVertices,
+                                      @NonNull IntPredicate goalPredicate,
+                                      int maxDepth) {
+        this(graph, startVertices.clone(), 0, startVertices.length, goalPredicate, maxDepth);
+        AlgoArguments.checkMaxDepth(maxDepth);
+    }
+
+    private IndexedAllWalksSpliterator(@NonNull IndexedDirectedGraph graph,
+                                       int @NonNull [] startVertices, int startLo, int startHi,
+                                       @NonNull IntPredicate goalPredicate,
+                                       int maxDepth) {
+        super(Long.MAX_VALUE, NONNULL);
+        this.graph = graph;
+        this.startVertices = startVertices;
+        this.startLo = startLo;
+        this.startHi = startHi;
+        this.goalPredicate = goalPredicate;
+        this.maxDepth = maxDepth;
+        int capacity = (int) Math.max(1, Math.min(16, maxDepth + 1L));
+        this.walk = new int[capacity];
+        this.lo = new int[capacity];
+        this.hi = new int[capacity];
+        this.current = new IntArrayList(capacity);
+    }
+
+    @Override
+    public boolean moveNext() {
+        while (true) {
+            int depth;
+            if (top < 0) {
+                if (startLo == startHi) {
+                    return false;
+                }
+                depth = 0;
+                walk[0] = startVertices[startLo++];
+            } else {
+                if (lo[top] == hi[top]) {
+                    top--;
+                    continue;
+                }
+                depth = top + 1;
+                grow(depth + 1);
+                walk[depth] = graph.getNextAsInt(walk[top], lo[top]++);
+            }
+
+            int v = walk[depth];
+            if (goalPredicate.test(v)) {
+                IntArrayList c = current;
+                c.clear();
+                for (int i = 0; i <= depth; i++) {
+                    c.addAsInt(walk[i]);
+                }
+                return true;
+            }
+            if (depth < maxDepth) {
+                top = depth;
+                lo[depth] = 0;
+                hi[depth] = graph.getNextCount(v);
+            }
+        }
+    }
+
+    private void grow(int capacity) {
+        if (walk.length < capacity) {
+            int newLength = (int) Math.min((long) maxDepth + 1, Math.max(capacity, walk.length * 2L));
+            walk = Arrays.copyOf(walk, newLength);
+            lo = Arrays.copyOf(lo, newLength);
+            hi = Arrays.copyOf(hi, newLength);
+        }
+    }
+
+    /**
+     * Splits off half of the unexplored start vertices, or if there
+     * are less than two of them, half of the unexplored arrows of the
+     * shallowest vertex on the current walk, that has at least two
+     * unexplored arrows.
+     *
+     * @return a new spliterator or null if this spliterator can not be split
+     */
+    @Override
+    public @Nullable IndexedAllWalksSpliterator trySplit() {
+        if (startHi - startLo >= 2) {
+            int mid = (startLo + startHi) >>> 1;
+            IndexedAllWalksSpliterator that = new IndexedAllWalksSpliterator(graph, startVertices, mid, startHi, goalPredicate, maxDepth);
+            startHi = mid;
+            return that;
+        }
+        for (int d = 0; d <= top; d++) {
+            if (hi[d] - lo[d] >= 2) {
+                int mid = (lo[d] + hi[d]) >>> 1;
+                IndexedAllWalksSpliterator that = new IndexedAllWalksSpliterator(graph, startVertices, 0, 0, goalPredicate, maxDepth);
+                that.grow(d + 1);
+                System.arraycopy(walk, 0, that.walk, 0, d + 1);
+                // the ancestors of the split vertex have no unexplored arrows in the new spliterator
+                that.lo[d] = mid;
+                that.hi[d] = hi[d];
+                that.top = d;
+                hi[d] = mid;
+                return that;
+            }
+        }
+        return null;
+    }
+}
@@ -9,7 +9,6 @@ import javafx.collections.MapChangeListener;
 import javafx.css.StyleOrigin;
 import org.jhotdraw8.annotation.NonNull;
 import org.jhotdraw8.annotation.Nullable;
-import org.jhotdraw8.util.Preconditions;
 
 import java.util.AbstractCollection;
 import java.util.AbstractMap;
@@ -23,14 +22,17 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
-import static java.lang.Integer.highestOneBit;
-import static java.lang.Integer.max;
-
 /**
- * A map which stores its values in an array, and which can share its keys with
- * other SimpleStyleableMaps.
+ * A map which stores its values in compact arrays, and which can share its
+ * keys with other SimpleStyleableMaps.
  * <p>
  * This map stores one distinct value for each StyleOrigin.
+ * <p>
+ * For each StyleOrigin, the map stores a bitmap over the key indices, and a
+ * dense array that holds the values of the keys whose bit is set, in the
+ * order of the key indices. A StyleOrigin that never had a value does not
+ * allocate any arrays. Therefore, a map that only has values for a single
+ * StyleOrigin only allocates a single bitmap and a single value array.
  *
  * @param <K> key type
  * @param <V> value type
@@ -45,16 +47,27 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
     private static final Object NULL_VALUE = new Object();
     private static final Object NO_VALUE = null;
     private static final int numOrigins = 4;
-    private static final int numOriginsMask = 3;
     private @Nullable CopyOnWriteArrayList<MapChangeListener<? super K, ? super V>> changeListenerList;
 
     private @Nullable CopyOnWriteArrayList<InvalidationListener> invalidationListenerList;
     private @NonNull Map<K, Integer> keyMap;
     private final @NonNull StyleOrigin origin;
     private final int originOrdinal;
+    /**
+     * Holds the number of values for each StyleOrigin.
+     */
     private final @NonNull int[] sizes;
-
-    private Object[] values;
+    /**
+     * Holds a bitmap for each StyleOrigin. Bit {@code i} is set, if the key
+     * with index {@code i} has a value. The bitmap of a StyleOrigin that
+     * never had a value is null.
+     */
+    private final @Nullable long[][] bitmaps = new long[numOrigins][];
+    /**
+     * Holds the values for each StyleOrigin in the order of the key indices.
+     * The array of a StyleOrigin that never had a value is null.
+     */
+    private final @Nullable Object[][] values = new Object[numOrigins][];
     private final @NonNull SimpleStyleableMap<K, V> originalMap;
     static final int AUTO_ORIGIN = -StyleOrigin.INLINE.ordinal();
 
@@ -88,7 +101,6 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
      */
     public SimpleStyleableMap(@NonNull Map<K, Integer> keyMap) {
         this.keyMap = keyMap;
-        this.values = new Object[keyMap.size() * numOrigins];
         this.origin = StyleOrigin.USER;
         this.originOrdinal = origin.ordinal();
         this.sizes = new int[numOrigins];
@@ -146,12 +158,7 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
             return getStyleOrigin(key) != null;
         }
 
-        if (index != null
-                && index * numOrigins + origin.ordinal() < values.length) {
-            Object rawValue = values[index * numOrigins + origin.ordinal()];
-            return rawValue != NO_VALUE;
-        }
-        return false;
+        return index != null && getRawValueOfOrigin(origin.ordinal(), index) != NO_VALUE;
     }
 
     @Override
@@ -163,40 +170,22 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         if (value == null) {
             value = NULL_VALUE;
         }
-        for (int i = origin.ordinal(), n = values.length; i < n; i += numOrigins) {
-            if (Objects.equals(values[i], value)) {
+        int ordinal = origin.ordinal();
+        Object[] originValues = values[ordinal];
+        for (int i = 0, n = sizes[ordinal]; i < n; i++) {
+            if (Objects.equals(originValues[i], value)) {
                 return true;
             }
         }
         return false;
     }
 
-    private int ensureCapacity(K key) {
+    private int indexOf(K key) {
         Integer indexNullable = keyMap.get(key);
         if (indexNullable == null) {
             throw new UnsupportedOperationException("Could not retrieve key " + key + " from keyMap: " + keyMap);
         }
-        int index = indexNullable;
-        int minCapacity = (1 + index) * numOrigins;
-        if (values.length < minCapacity) {
-            int newCapacity = nextPowerOfTwoUp(1 + index) * numOrigins;
-            values = Arrays.copyOf(values, max(values.length, newCapacity));
-        }
-
-        return index;
-    }
-
-    /**
-     * Returns the next power of two that is equal or greater than the specified
-     * value.
-     *
-     * @param value a value in the range [0,1<<29].
-     * @return nextUp with nextUp @gt;= value && nextUp == highestOneBit(nextUp).
-     */
-    private int nextPowerOfTwoUp(int value) {
-        Preconditions.checkIndex(value, 1 << 29);
-        int highestOneBit = highestOneBit(value);
-        return (value == highestOneBit) ? value : highestOneBit << 1;
+        return indexNullable;
     }
 
     private int indexIfPresent(K key) {
@@ -245,9 +234,7 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         }
         int index = indexNullable;
         for (int i = numOrigins - 1; i >= 0; i--) {
-            final int arrayIndex = index * numOrigins + i;
-            Object value = arrayIndex < values.length ? values[arrayIndex] : null;
-            if (value != null) {
+            if (getRawValueOfOrigin(i, index) != NO_VALUE) {
                 return StyleOrigin.values()[i];
             }
         }
@@ -257,7 +244,7 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
     @SuppressWarnings("unchecked")
     @Override
     public V removeKey(@NonNull StyleOrigin origin, @NonNull K key) {
-        Object oldRawValue = setRawValue(origin.ordinal(), ensureCapacity(key), key, NO_VALUE);
+        Object oldRawValue = setRawValue(origin.ordinal(), indexOf(key), key, NO_VALUE);
         return rawValueToValue(oldRawValue);
     }
 
@@ -285,25 +272,110 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
      * @return rawValue: NO_VALUE means that no value is stored, NULL_VALUE means
      * that the null value is stored, all other values are stored values.
      */
-    @SuppressWarnings("unchecked")
     private @Nullable Object getRawValue(int ordinal, int index) {
-        Object value;
         if (ordinal < 0) {
-            value = null;
-            if (index * numOrigins < values.length) {
-                for (int i = -ordinal; i >= 0; i--) {
-                    final int valueIndex = index * numOrigins + i;
-                    value = values[valueIndex];
-                    if (value != NO_VALUE) {
-                        break;
-                    }
+            for (int i = -ordinal; i >= 0; i--) {
+                Object value = getRawValueOfOrigin(i, index);
+                if (value != NO_VALUE) {
+                    return value;
                 }
             }
-        } else {
-            final int arrayIndex = index * numOrigins + ordinal;
-            value = arrayIndex < values.length ? values[arrayIndex] : NO_VALUE;
+            return NO_VALUE;
+        }
+        return getRawValueOfOrigin(ordinal, index);
+    }
+
+    /**
+     * Gets a raw value from the specified ordinal StyleOrigin.
+     *
+     * @param ordinal the ordinal of the StyleOrigin
+     * @param index   the index of the Key
+     * @return the raw value or NO_VALUE
+     */
+    private @Nullable Object getRawValueOfOrigin(int ordinal, int index) {
+        final long[] bitmap = bitmaps[ordinal];
+        final int word = index >>> 6;
+        if (bitmap == null || word >= bitmap.length) {
+            return NO_VALUE;
+        }
+        final long bit = 1L << index;
+        return (bitmap[word] & bit) == 0 ? NO_VALUE : values[ordinal][rank(bitmap, word, bit)];
+    }
+
+    /**
+     * Returns the number of bits that are set in the bitmap before the
+     * specified bit.
+     */
+    private static int rank(@NonNull long[] bitmap, int word, long bit) {
+        int rank = Long.bitCount(bitmap[word] & (bit - 1));
+        for (int i = 0; i < word; i++) {
+            rank += Long.bitCount(bitmap[i]);
+        }
+        return rank;
+    }
+
+    /**
+     * Stores a raw value in the specified ordinal StyleOrigin, and updates
+     * the size of the StyleOrigin.
+     *
+     * @param ordinal     the ordinal of the StyleOrigin
+     * @param index       the index of the Key
+     * @param newRawValue the new raw value or NO_VALUE
+     * @return the old raw value or NO_VALUE
+     */
+    private @Nullable Object putRawValueOfOrigin(int ordinal, int index, @Nullable Object newRawValue) {
+        long[] bitmap = bitmaps[ordinal];
+        final int word = index >>> 6;
+        final long bit = 1L << index;
+        final boolean hasOldValue = bitmap != null && word < bitmap.length && (bitmap[word] & bit) != 0;
+        final int size = sizes[ordinal];
+        if (hasOldValue) {
+            final Object[] originValues = values[ordinal];
+            final int rank = rank(bitmap, word, bit);
+            final Object oldRawValue = originValues[rank];
+            if (newRawValue != NO_VALUE) {
+                originValues[rank] = newRawValue;
+            } else {
+                bitmap[word] &= ~bit;
+                System.arraycopy(originValues, rank + 1, originValues, rank, size - rank - 1);
+                originValues[size - 1] = null;
+                sizes[ordinal] = size - 1;
+            }
+            return oldRawValue;
+        }
+        if (newRawValue != NO_VALUE) {
+            if (bitmap == null || word >= bitmap.length) {
+                int length = Math.max(word + 1, (keyMap.size() + 63) >>> 6);
+                bitmap = bitmaps[ordinal] = bitmap == null ? new long[length] : Arrays.copyOf(bitmap, length);
+            }
+            Object[] originValues = values[ordinal];
+            if (originValues == null) {
+                originValues = values[ordinal] = new Object[4];
+            } else if (size == originValues.length) {
+                originValues = values[ordinal] = Arrays.copyOf(originValues, size + (size >>> 1));
+            }
+            final int rank = rank(bitmap, word, bit);
+            System.arraycopy(originValues, rank, originValues, rank + 1, size - rank);
+            originValues[rank] = newRawValue;
+            bitmap[word] |= bit;
+            sizes[ordinal] = size + 1;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Removes all values of the specified ordinal StyleOrigin without
+     * firing change events.
+     * <p>
+     * Keeps the arrays of the StyleOrigin, because styled values are
+     * typically reset and then set again.
+     */
+    private void clearOrigin(int ordinal) {
+        if (sizes[ordinal] != 0) {
+            Arrays.fill(bitmaps[ordinal], 0L);
+            Arrays.fill(values[ordinal], 0, sizes[ordinal], NO_VALUE);
+            sizes[ordinal] = 0;
         }
-        return value;
     }
 
 
@@ -327,7 +399,7 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
 
     @Override
     public V put(K key, V value) {
-        int index = ensureCapacity(key);
+        int index = indexOf(key);
         return setValue(originOrdinal, index, key, value);
     }
 
@@ -336,7 +408,7 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
     }
 
     protected @Nullable V put(int originOrdinal, @NonNull K key, V value) {
-        int index = ensureCapacity(key);
+        int index = indexOf(key);
         return setValue(originOrdinal, index, key, value);
     }
 
@@ -351,21 +423,13 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         if (origin == StyleOrigin.USER) {
             // We have to fire change events, so we need the keys.
             int ordinal = origin.ordinal();
-            for (Iterator<Entry<K, Integer>> i = keyMap.entrySet().iterator(); i.hasNext(); ) {
+            for (Iterator<Entry<K, Integer>> i = keyMap.entrySet().iterator(); i.hasNext() && sizes[ordinal] > 0; ) {
                 Entry<K, Integer> e = i.next();
-                Integer index = e.getValue();
-                if (index < values.length) {
-                    removeValue(ordinal, index, e.getKey());
-                }
+                removeValue(ordinal, e.getValue(), e.getKey());
             }
         } else {
             // We do not fire change events
-            int ordinal = origin.ordinal();
-            for (int i = 0, n = values.length; i < n; i++) {
-                if ((i & numOriginsMask) == ordinal) {
-                    values[i] = NO_VALUE;
-                }
-            }
+            clearOrigin(origin.ordinal());
         }
     }
 
@@ -373,9 +437,9 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
     public void resetStyledValues() {
         // Performance: this method is called very often.
         final int userOrdinal = StyleOrigin.USER.ordinal();
-        for (int i = 0, n = values.length; i < n; i++) {
-            if ((i & numOriginsMask) != userOrdinal) {
-                values[i] = NO_VALUE;
+        for (int i = 0; i < numOrigins; i++) {
+            if (i != userOrdinal) {
+                clearOrigin(i);
             }
         }
     }
@@ -399,14 +463,10 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         if (ordinal < 0) {
             throw new UnsupportedOperationException("can not remove styled value");
         }
-        final int arrayIndex = index * numOrigins + ordinal;
-
-        Object oldRawValue = arrayIndex < values.length ? values[arrayIndex] : NO_VALUE;
+        Object oldRawValue = putRawValueOfOrigin(ordinal, index, NO_VALUE);
         if (oldRawValue == NO_VALUE) {
             return null;
         } else {
-            values[index * numOrigins + ordinal] = null;
-            sizes[ordinal]--;
             V oldValue = rawValueToValue(oldRawValue);
             if (origin == StyleOrigin.USER) {
                 ChangeEvent change = new ChangeEvent(key, oldValue, null, false, true);
@@ -431,16 +491,7 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         if (ordinal < 0) {
             throw new UnsupportedOperationException("can not set styled value");
         }
-        int valueIndex = keyIndex * numOrigins + ordinal;
-        Object oldRawValue = values[valueIndex];
-        //noinspection ConstantConditions
-        if (oldRawValue == NO_VALUE) {
-            sizes[ordinal]++;
-        }
-        if (newRawValue == NO_VALUE) {
-            sizes[ordinal]--;
-        }
-        values[valueIndex] = newRawValue;
+        Object oldRawValue = putRawValueOfOrigin(ordinal, keyIndex, newRawValue);
         if (!Objects.equals(oldRawValue, newRawValue)) {
             if (ordinal == StyleOrigin.USER.ordinal()) {
                 // Only StyleOrigin.USER may fire a property change event.
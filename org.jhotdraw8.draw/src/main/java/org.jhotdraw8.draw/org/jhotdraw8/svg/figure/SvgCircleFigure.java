@@ -121,6 +121,7 @@ public class SvgCircleFigure extends AbstractLeafFigure
         applyTransformableFigureProperties(ctx, g);
         applySvgDefaultableCompositingProperties(ctx, g);
         applySvgShapeProperties(ctx, n0, n1);
+        applySvgPathLengthProperties(ctx, n0, n1);
 
         double cx = getStyledNonNull(CX).getConvertedValue(unit);
         double cy = getStyledNonNull(CY).getConvertedValue(unit);
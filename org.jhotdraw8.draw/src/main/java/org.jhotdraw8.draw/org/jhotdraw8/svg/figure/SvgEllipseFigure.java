@@ -127,6 +127,7 @@ public class SvgEllipseFigure extends AbstractLeafFigure
         applyTransformableFigureProperties(ctx, node);
         applySvgDefaultableCompositingProperties(ctx, node);
         applySvgShapeProperties(ctx, n0, n1);
+        applySvgPathLengthProperties(ctx, n0, n1);
 
         double cx = getStyledNonNull(CX).getConvertedValue(unit);
         double cy = getStyledNonNull(CY).getConvertedValue(unit);
@@ -123,6 +123,7 @@ public class SvgLineFigure extends AbstractLeafFigure
         applyStyleableFigureProperties(ctx, node);
         applyTransformableFigureProperties(ctx, node);
         applySvgDefaultableStrokeProperties(ctx, n);
+        applySvgPathLengthProperties(ctx, n);
         applySvgDefaultableCompositingProperties(ctx, n);
         n.setStartX(startX);
         n.setStartY(startY);
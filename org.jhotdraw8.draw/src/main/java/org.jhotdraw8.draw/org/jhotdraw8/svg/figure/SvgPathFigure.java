@@ -12,6 +12,7 @@ import javafx.scene.shape.FillRule;
 import javafx.scene.shape.PathElement;
 import javafx.scene.transform.Transform;
 import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
 import org.jhotdraw8.css.CssRectangle2D;
 import org.jhotdraw8.css.CssSize;
 import org.jhotdraw8.draw.figure.AbstractLeafFigure;
@@ -21,6 +22,7 @@ import org.jhotdraw8.draw.figure.PathIterableFigure;
 import org.jhotdraw8.draw.figure.StyleableFigure;
 import org.jhotdraw8.draw.key.StringStyleableKey;
 import org.jhotdraw8.draw.render.RenderContext;
+import org.jhotdraw8.geom.ArcLengthTable;
 import org.jhotdraw8.geom.AwtPathBuilder;
 import org.jhotdraw8.geom.FXPathElementsBuilder;
 import org.jhotdraw8.geom.FXSvgPaths;
@@ -34,6 +36,7 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.PathIterator;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Objects;
 
 
 /**
@@ -50,6 +53,9 @@ public class SvgPathFigure extends AbstractLeafFigure
     public static final @NonNull String TYPE_SELECTOR = "path";
     public static final @NonNull StringStyleableKey D = new StringStyleableKey("d");
 
+    private @Nullable ArcLengthTable cachedArcLengthTable;
+    private @Nullable String cachedArcLengthTableD;
+
     @Override
     public @NonNull Node createNode(@NonNull RenderContext ctx) {
         Group g = new Group();
@@ -75,6 +81,16 @@ public class SvgPathFigure extends AbstractLeafFigure
         return b.build().getPathIterator(tx);
     }
 
+    @Override
+    public @NonNull ArcLengthTable getArcLengthTable(@NonNull RenderContext ctx) {
+        String d = get(D);
+        if (cachedArcLengthTable == null || !Objects.equals(cachedArcLengthTableD, d)) {
+            cachedArcLengthTableD = d;
+            cachedArcLengthTable = ArcLengthTable.of(getPathIterator(ctx, null));
+        }
+        return cachedArcLengthTable;
+    }
+
 
     @Override
     public @NonNull Bounds getBoundsInLocal() {
@@ -137,6 +153,7 @@ public class SvgPathFigure extends AbstractLeafFigure
         applyTransformableFigureProperties(ctx, node);
         applySvgDefaultableCompositingProperties(ctx, node);
         applySvgShapeProperties(ctx, n0, n1);
+        applySvgPathLengthProperties(ctx, n0, n1);
 
         FXPathElementsBuilder bb = new FXPathElementsBuilder();
         String d = get(D);
@@ -5,15 +5,73 @@
 
 package org.jhotdraw8.svg.figure;
 
+import javafx.collections.ObservableList;
+import javafx.scene.shape.Shape;
 import org.jhotdraw8.annotation.NonNull;
-import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.PathIterableFigure;
 import org.jhotdraw8.draw.key.NullableDoubleStyleableKey;
+import org.jhotdraw8.draw.render.RenderContext;
+import org.jhotdraw8.geom.ArcLengthTable;
 
-public interface SvgPathLengthFigure extends Figure {
+public interface SvgPathLengthFigure extends PathIterableFigure {
     /**
      * pathLength.
      * <a href="https://www.w3.org/TR/2018/CR-SVG2-20181004/paths.html#PathLengthAttribute">link</a>.
      */
     public static final @NonNull NullableDoubleStyleableKey PATH_LENGTH = new NullableDoubleStyleableKey("pathLength", null);
 
+    /**
+     * Returns the arc-length table of the path of this figure in local
+     * coordinates.
+     * <p>
+     * The default implementation builds a new table on each call.
+     * Figures with paths that can have many segments override this method
+     * and cache the table until their geometry changes.
+     *
+     * @param ctx the render context
+     * @return the arc-length table
+     */
+    default @NonNull ArcLengthTable getArcLengthTable(@NonNull RenderContext ctx) {
+        return ArcLengthTable.of(getPathIterator(ctx, null));
+    }
+
+    /**
+     * Applies {@link #PATH_LENGTH} to the shape that
+     * {@link SvgDefaultableFigure#applySvgShapeProperties} has used for
+     * the stroke.
+     *
+     * @param ctx         the render context
+     * @param fillShape   the fill shape
+     * @param strokeShape the stroke shape
+     */
+    default void applySvgPathLengthProperties(@NonNull RenderContext ctx, @NonNull Shape fillShape, @NonNull Shape strokeShape) {
+        applySvgPathLengthProperties(ctx, strokeShape.isVisible() ? strokeShape : fillShape);
+    }
+
+    /**
+     * Applies {@link #PATH_LENGTH} to a {@link Shape} node.
+     * <p>
+     * Scales the stroke dash array and the stroke dash offset of the shape
+     * by the ratio of the computed length of the path and the author's
+     * path length. Does nothing if the path length is not a positive number,
+     * or if the stroke has no dashes.
+     * <p>
+     * This method must be called after the stroke properties have been
+     * applied to the shape.
+     *
+     * @param ctx   the render context
+     * @param shape a shape node
+     */
+    default void applySvgPathLengthProperties(@NonNull RenderContext ctx, @NonNull Shape shape) {
+        Double pathLength = getStyled(PATH_LENGTH);
+        ObservableList<Double> dashes = shape.getStrokeDashArray();
+        if (pathLength == null || !(pathLength > 0) || Double.isInfinite(pathLength) || dashes.isEmpty()) {
+            return;
+        }
+        double scale = getArcLengthTable(ctx).getLength() / pathLength;
+        for (int i = 0, n = dashes.size(); i < n; i++) {
+            dashes.set(i, dashes.get(i) * scale);
+        }
+        shape.setStrokeDashOffset(shape.getStrokeDashOffset() * scale);
+    }
 }
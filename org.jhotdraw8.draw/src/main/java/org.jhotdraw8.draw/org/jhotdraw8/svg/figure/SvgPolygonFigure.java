@@ -12,6 +12,7 @@ import javafx.scene.Node;
 import javafx.scene.shape.Polygon;
 import javafx.scene.transform.Transform;
 import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.annotation.Nullable;
 import org.jhotdraw8.collection.ImmutableList;
 import org.jhotdraw8.collection.ImmutableLists;
 import org.jhotdraw8.css.CssRectangle2D;
@@ -24,6 +25,7 @@ import org.jhotdraw8.draw.figure.PathIterableFigure;
 import org.jhotdraw8.draw.figure.StyleableFigure;
 import org.jhotdraw8.draw.key.DoubleListStyleableKey;
 import org.jhotdraw8.draw.render.RenderContext;
+import org.jhotdraw8.geom.ArcLengthTable;
 import org.jhotdraw8.geom.FXTransforms;
 
 import java.awt.geom.AffineTransform;
@@ -32,6 +34,7 @@ import java.awt.geom.PathIterator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 
 /**
@@ -48,6 +51,9 @@ public class SvgPolygonFigure extends AbstractLeafFigure
     public static final @NonNull String TYPE_SELECTOR = "polygon";
     public static final @NonNull DoubleListStyleableKey POINTS = SvgPolylineFigure.POINTS;
 
+    private @Nullable ArcLengthTable cachedArcLengthTable;
+    private @Nullable ImmutableList<Double> cachedArcLengthTablePoints;
+
     @Override
     public @NonNull Node createNode(@NonNull RenderContext ctx) {
         Group g = new Group();
@@ -76,6 +82,16 @@ public class SvgPolygonFigure extends AbstractLeafFigure
         return p.getPathIterator(tx);
     }
 
+    @Override
+    public @NonNull ArcLengthTable getArcLengthTable(@NonNull RenderContext ctx) {
+        ImmutableList<Double> points = get(POINTS);
+        if (cachedArcLengthTable == null || !Objects.equals(cachedArcLengthTablePoints, points)) {
+            cachedArcLengthTablePoints = points;
+            cachedArcLengthTable = ArcLengthTable.of(getPathIterator(ctx, null));
+        }
+        return cachedArcLengthTable;
+    }
+
 
     @Override
     public @NonNull Bounds getBoundsInLocal() {
@@ -143,6 +159,7 @@ public class SvgPolygonFigure extends AbstractLeafFigure
         applyTransformableFigureProperties(ctx, node);
         applySvgDefaultableCompositingProperties(ctx, node);
         applySvgShapeProperties(ctx, n0, n1);
+        applySvgPathLengthProperties(ctx, n0, n1);
         n0.getPoints().setAll(points == null ? Collections.emptyList() : points.asList());
         n1.getPoints().setAll(points == null ? Collections.emptyList() : points.asList());
     }
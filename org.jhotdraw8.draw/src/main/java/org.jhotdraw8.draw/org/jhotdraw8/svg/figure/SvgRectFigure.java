@@ -165,6 +165,7 @@ public class SvgRectFigure extends AbstractLeafFigure
         applyTransformableFigureProperties(ctx, node);
         applySvgDefaultableCompositingProperties(ctx, node);
         applySvgShapeProperties(ctx, n0, n1);
+        applySvgPathLengthProperties(ctx, n0, n1);
 
         double x = getNonNull(X).getConvertedValue(unit);
         double y = getNonNull(Y).getConvertedValue(unit);
@@ -0,0 +1,109 @@
+/*
+ * @(#)ArcLengthTableTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.Point2D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests {@link ArcLengthTable} and {@link ArcLengthTableBuilder}.
+ */
+public class ArcLengthTableTest {
+    @Test
+    public void testLinesAndClosePath() {
+        ArcLengthTableBuilder b = new ArcLengthTableBuilder();
+        b.moveTo(0, 0);
+        b.lineTo(1, 0);
+        b.lineTo(1, 1);
+        b.lineTo(0, 1);
+        b.closePath();
+        ArcLengthTable instance = b.build();
+
+        assertEquals(4, instance.size());
+        assertEquals(4.0, instance.getLength(), 1e-12);
+        assertEquals(2, instance.getSegmentAt(2.5));
+        assertEquals(0.5, instance.getArgumentAt(2, 2.5), 1e-12);
+        assertEquals(2.5, instance.getLengthAt(2, 0.5), 1e-12);
+        PointAndTangent p = instance.getPointAndTangentAt(2.5);
+        assertEquals(new Point2D.Double(0.5, 1), p.getPoint(Point2D.Double::new));
+        assertEquals(new Point2D.Double(-1, 0), p.getTangent(Point2D.Double::new));
+        PointAndTangent end = instance.getPointAndTangentAt(10);
+        assertEquals(new Point2D.Double(0, 0), end.getPoint(Point2D.Double::new));
+    }
+
+    @Test
+    public void testCubicCurveLengthMatchesPolyline() {
+        double[] c = {0, 0, 30, 80, 70, -20, 100, 50};
+        ArcLengthTableBuilder b = new ArcLengthTableBuilder();
+        b.moveTo(c[0], c[1]);
+        b.curveTo(c[2], c[3], c[4], c[5], c[6], c[7]);
+        ArcLengthTable instance = b.build();
+
+        double expected = 0;
+        Point2D.Double p = BezierCurves.evalCubicCurve(c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], 0);
+        for (int i = 1, n = 100_000; i <= n; i++) {
+            Point2D.Double q = BezierCurves.evalCubicCurve(c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], i / (double) n);
+            expected += p.distance(q);
+            p = q;
+        }
+        assertEquals(expected, instance.getLength(), 1e-6);
+        for (int i = 0; i <= 100; i++) {
+            double s = expected * i / 100;
+            double t = instance.getArgumentAt(0, s);
+            assertEquals(s, instance.getLengthAt(0, t), 1e-9, "s=" + s);
+        }
+    }
+
+    @Test
+    public void testPointAtHalfLengthOfSymmetricCurves() {
+        ArcLengthTableBuilder b = new ArcLengthTableBuilder();
+        b.moveTo(0, 0);
+        b.quadTo(1, 1, 2, 0);
+        b.curveTo(2, 3, 5, 1, 6, 0);
+        ArcLengthTable instance = b.build();
+
+        double quadLength = instance.getLength(0);
+        PointAndTangent p = instance.getPointAndTangentAt(quadLength / 2);
+        assertEquals(1.0, p.getX(), 1e-12);
+        assertEquals(0.5, p.getY(), 1e-12);
+        assertEquals(0.0, p.getTangentY(), 1e-12);
+
+        assertEquals(1, instance.getSegmentAt(quadLength + 1e-9));
+        assertEquals(quadLength, instance.getLengthAt(1, 0), 0.0);
+        assertEquals(instance.getLength(), instance.getLengthAt(1, 1), 1e-12);
+    }
+
+    @Test
+    public void testZeroLengthSegmentsAreSkipped() {
+        ArcLengthTableBuilder b = new ArcLengthTableBuilder();
+        b.moveTo(0, 0);
+        b.lineTo(0, 0);
+        b.lineTo(1, 0);
+        b.curveTo(1, 0, 1, 0, 1, 0);
+        ArcLengthTable instance = b.build();
+
+        assertEquals(3, instance.size());
+        assertEquals(1, instance.getSegmentAt(0));
+        assertEquals(1, instance.getSegmentAt(1));
+        assertEquals(new Point2D.Double(1, 0), instance.getPointAndTangentAt(5).getPoint(Point2D.Double::new));
+    }
+
+    @Test
+    public void testEmptyPath() {
+        ArcLengthTableBuilder b = new ArcLengthTableBuilder();
+        b.moveTo(3, 4);
+        ArcLengthTable instance = b.build();
+
+        assertEquals(0, instance.size());
+        assertEquals(-1, instance.getSegmentAt(0));
+        PointAndTangent p = instance.getPointAndTangentAt(0);
+        assertEquals(new Point2D.Double(3, 4), p.getPoint(Point2D.Double::new));
+        assertEquals(new Point2D.Double(1, 0), p.getTangent(Point2D.Double::new));
+    }
+}
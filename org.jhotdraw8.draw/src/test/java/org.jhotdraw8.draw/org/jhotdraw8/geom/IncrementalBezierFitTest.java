@@ -0,0 +1,177 @@
+/*
+ * @(#)IncrementalBezierFitTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link IncrementalBezierFit}.
+ */
+public class IncrementalBezierFitTest {
+    @Test
+    public void testEmptyAndSinglePoint() {
+        IncrementalBezierFit instance = new IncrementalBezierFit(2);
+        assertTrue(instance.isEmpty());
+        assertEquals("", instance.build(new PackedPathBuilder()).toSvgString());
+        instance.addPoint(3, 4);
+        assertEquals("M3,4", instance.build(new PackedPathBuilder()).toSvgString());
+        instance.addPoint(3.5, 4);
+        assertEquals("M3,4 C3.1666666666666665,4,3.3333333333333335,4,3.5,4",
+                instance.build(new PackedPathBuilder()).toSvgString());
+        instance.clear();
+        assertTrue(instance.isEmpty());
+    }
+
+    @Test
+    public void testLongNoisyStrokeStaysCloseAndBounded() {
+        double error = 2;
+        IncrementalBezierFit instance = new IncrementalBezierFit(error, 32);
+        List<Point2D.Double> stroke = wavyStroke(20_000);
+        for (Point2D.Double p : stroke) {
+            instance.addPoint(p.x, p.y);
+            assertTrue(instance.getTrailingPointCount() <= 32);
+        }
+        assertTrue(instance.getFinalizedSegmentCount() > 50);
+
+        PackedPath path = instance.build(new PackedPathBuilder());
+        List<Line2D.Double> lines = toLines(path.flatten(0.01));
+        Point2D.Double last = stroke.get(stroke.size() - 1);
+        assertEquals(last, lastPoint(path));
+        for (int i = 0; i < stroke.size(); i += 7) {
+            Point2D.Double p = stroke.get(i);
+            double min = lines.stream().mapToDouble(l -> l.ptSegDist(p)).min().orElse(Double.POSITIVE_INFINITY);
+            assertTrue(min <= 4 * error, "i=" + i + " distance=" + min);
+        }
+    }
+
+    @Test
+    public void testFinalizedSegmentsDoNotChange() {
+        IncrementalBezierFit instance = new IncrementalBezierFit(1);
+        PackedPath previous = PackedPath.EMPTY;
+        int previousFinalized = 0;
+        for (Point2D.Double p : wavyStroke(3000)) {
+            instance.addPoint(p.x, p.y);
+            PackedPath current = instance.build(new PackedPathBuilder());
+            assertSamePrefix(previous, current, previousFinalized + 1);
+            previous = current;
+            previousFinalized = instance.getFinalizedSegmentCount();
+        }
+    }
+
+    @Test
+    public void testBuildFromSegmentMatchesFullBuild() {
+        IncrementalBezierFit instance = new IncrementalBezierFit(1);
+        for (Point2D.Double p : wavyStroke(3000)) {
+            instance.addPoint(p.x, p.y);
+            int from = instance.getFinalizedSegmentCount();
+            List<double[]> full = segments(instance.build(new PackedPathBuilder()));
+            List<double[]> partial = segments(instance.build(from, new PackedPathBuilder()));
+            assertEquals(full.size() - from, partial.size());
+            // the partial path starts with a move-to the end of segment 'from'
+            double[] move = partial.get(0);
+            double[] joint = full.get(from);
+            assertEquals(joint[joint.length - 2], move[1]);
+            assertEquals(joint[joint.length - 1], move[2]);
+            for (int i = 1; i < partial.size(); i++) {
+                assertArrayEquals(full.get(from + i), partial.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testCornerIsKeptAsNode() {
+        IncrementalBezierFit instance = new IncrementalBezierFit(1);
+        for (int i = 0; i <= 40; i++) {
+            instance.addPoint(i * 2.5, 0);
+        }
+        for (int i = 1; i <= 40; i++) {
+            instance.addPoint(100, i * 2.5);
+        }
+        PackedPath path = instance.build(new PackedPathBuilder());
+        boolean hasCorner = false;
+        double[] c = new double[6];
+        for (PathIterator it = path.getPathIterator(null); !it.isDone(); it.next()) {
+            int n = PackedPath.coordCount(it.currentSegment(c));
+            hasCorner |= n > 0 && c[n - 2] == 100 && c[n - 1] == 0;
+        }
+        assertTrue(hasCorner, path.toSvgString());
+    }
+
+    private static List<Point2D.Double> wavyStroke(int n) {
+        Random rnd = new Random(0);
+        List<Point2D.Double> stroke = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double t = i * 0.5;
+            stroke.add(new Point2D.Double(t + rnd.nextDouble() * 0.5,
+                    40 * Math.sin(t / 30) + rnd.nextDouble() * 0.5));
+        }
+        return stroke;
+    }
+
+    /**
+     * Returns the segments of the path, each as the segment type followed
+     * by its coordinates.
+     */
+    private static List<double[]> segments(PackedPath path) {
+        List<double[]> segments = new ArrayList<>();
+        double[] c = new double[6];
+        for (PathIterator it = path.getPathIterator(null); !it.isDone(); it.next()) {
+            int op = it.currentSegment(c);
+            double[] segment = new double[1 + PackedPath.coordCount(op)];
+            segment[0] = op;
+            System.arraycopy(c, 0, segment, 1, segment.length - 1);
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    private static Point2D.Double lastPoint(PackedPath path) {
+        double[] c = new double[6];
+        Point2D.Double last = null;
+        for (PathIterator it = path.getPathIterator(null); !it.isDone(); it.next()) {
+            int n = PackedPath.coordCount(it.currentSegment(c));
+            last = new Point2D.Double(c[n - 2], c[n - 1]);
+        }
+        return last;
+    }
+
+    private static List<Line2D.Double> toLines(PackedPath flat) {
+        List<Line2D.Double> lines = new ArrayList<>();
+        double[] c = new double[6];
+        double x = 0, y = 0;
+        for (PathIterator it = flat.getPathIterator(null); !it.isDone(); it.next()) {
+            if (it.currentSegment(c) == PathIterator.SEG_LINETO) {
+                lines.add(new Line2D.Double(x, y, c[0], c[1]));
+            }
+            x = c[0];
+            y = c[1];
+        }
+        return lines;
+    }
+
+    private static void assertSamePrefix(PackedPath expected, PackedPath actual, int count) {
+        double[] e = new double[6], a = new double[6];
+        PathIterator ei = expected.getPathIterator(null), ai = actual.getPathIterator(null);
+        for (int i = 0; i < count && !ei.isDone(); i++, ei.next(), ai.next()) {
+            int op = ei.currentSegment(e);
+            assertEquals(op, ai.currentSegment(a));
+            for (int j = 0; j < PackedPath.coordCount(op); j++) {
+                assertEquals(e[j], a[j]);
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * @(#)PackedPathTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom;
+
+import javafx.geometry.BoundingBox;
+import org.jhotdraw8.annotation.NonNull;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Tests {@link PackedPath} and {@link PackedPathBuilder}.
+ */
+public class PackedPathTest {
+    private static final String[] PATHS = {
+            "",
+            "M0,0 L10,0 L10,10 Z",
+            "M0,0 C10,0 10,10 0,10 Q-5,5 0,0 Z M20,20 L30,30",
+            "M1.5,2.5 Q10,-20 30,4 C40,40 -10,30 5,5",
+            "M0,0 L0,0 Z M100,50 A30,20 15 1 0 40,60",
+    };
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsSvgString() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (String str : PATHS) {
+            tests.add(dynamicTest("\"" + str + "\"", () -> testSvgString(str)));
+        }
+        return tests;
+    }
+
+    private void testSvgString(String str) throws Exception {
+        Path2D.Double awt = SvgPaths.awtShapeFromSvgString(str);
+        PackedPath packed = SvgPaths.packedPathFromSvgString(str);
+        assertEquals(SvgPaths.doubleSvgStringFromAwt(awt), packed.toSvgString());
+        assertEquals(SvgPaths.doubleSvgStringFromAwt(awt), SvgPaths.doubleSvgStringFromAwt(packed.getPathIterator(null)));
+        assertEquals(packed, PackedPath.of(awt));
+        assertEquals(packed.hashCode(), PackedPath.of(awt).hashCode());
+        assertEquals(SvgPaths.doubleSvgStringFromAwt(awt), SvgPaths.doubleSvgStringFromAwt(packed.build(new AwtPathBuilder())));
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsTransformAndBounds() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (String str : PATHS) {
+            tests.add(dynamicTest("\"" + str + "\"", () -> testTransformAndBounds(str)));
+        }
+        return tests;
+    }
+
+    private void testTransformAndBounds(String str) throws Exception {
+        Path2D.Double awt = SvgPaths.awtShapeFromSvgString(str);
+        PackedPath packed = PackedPath.of(awt);
+        for (AffineTransform tx : Arrays.asList(new AffineTransform(),
+                AffineTransform.getTranslateInstance(5, -7),
+                new AffineTransform(1.5, 0.25, -0.75, 2, 10, 20))) {
+            PackedPath actual = packed.transform(tx);
+            assertPathEquals(awt.getPathIterator(tx), actual.getPathIterator(null));
+            assertPathEquals(awt.getPathIterator(tx), packed.getPathIterator(tx));
+
+            BoundingBoxBuilder bb = new BoundingBoxBuilder();
+            SvgPaths.buildFromPathIterator(bb, awt.getPathIterator(tx));
+            Rectangle2D.Double bounds = actual.getBounds2D();
+            if (packed.isEmpty()) {
+                assertEquals(new Rectangle2D.Double(), bounds);
+            } else {
+                BoundingBox expected = bb.build();
+                assertEquals(expected.getMinX(), bounds.getMinX(), 1e-12);
+                assertEquals(expected.getMinY(), bounds.getMinY(), 1e-12);
+                assertEquals(expected.getMaxX(), bounds.getMaxX(), 1e-12);
+                assertEquals(expected.getMaxY(), bounds.getMaxY(), 1e-12);
+            }
+        }
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsFlatten() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (String str : PATHS) {
+            for (double flatness : new double[]{1, 0.1, 0.001}) {
+                tests.add(dynamicTest("\"" + str + "\" " + flatness, () -> testFlatten(str, flatness)));
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Samples each curve segment, and checks that each sample is within
+     * the flatness of the line segments that replace the curve segment.
+     */
+    private void testFlatten(String str, double flatness) throws Exception {
+        PackedPath packed = SvgPaths.packedPathFromSvgString(str);
+        PackedPath flat = packed.flatten(flatness);
+
+        List<Line2D.Double> lines = new ArrayList<>();
+        double[] c = new double[6];
+        double x = 0, y = 0, startX = 0, startY = 0;
+        for (PathIterator it = flat.getPathIterator(null); !it.isDone(); it.next()) {
+            switch (it.currentSegment(c)) {
+            case PathIterator.SEG_MOVETO:
+                x = startX = c[0];
+                y = startY = c[1];
+                break;
+            case PathIterator.SEG_LINETO:
+                lines.add(new Line2D.Double(x, y, c[0], c[1]));
+                x = c[0];
+                y = c[1];
+                break;
+            case PathIterator.SEG_CLOSE:
+                x = startX;
+                y = startY;
+                break;
+            default:
+                throw new AssertionError("flattened path must not have curves");
+            }
+        }
+
+        x = 0;
+        y = 0;
+        for (PathIterator it = packed.getPathIterator(null); !it.isDone(); it.next()) {
+            int op = it.currentSegment(c);
+            for (int i = 0; i <= 100; i++) {
+                double t = i / 100.0;
+                Point2D.Double p;
+                if (op == PathIterator.SEG_QUADTO) {
+                    p = BezierCurves.evalQuadCurve(x, y, c[0], c[1], c[2], c[3], t);
+                } else if (op == PathIterator.SEG_CUBICTO) {
+                    p = BezierCurves.evalCubicCurve(x, y, c[0], c[1], c[2], c[3], c[4], c[5], t);
+                } else {
+                    break;
+                }
+                double min = lines.stream().mapToDouble(l -> l.ptSegDist(p)).min().orElse(Double.POSITIVE_INFINITY);
+                assertTrue(min <= flatness * (1 + 1e-9), "t=" + t + " distance=" + min);
+            }
+            int n = PackedPath.coordCount(op);
+            if (n > 0) {
+                x = c[n - 2];
+                y = c[n - 1];
+            }
+        }
+    }
+
+    @Test
+    public void testReverse() throws Exception {
+        assertEquals("M3,3 C2,2,1,1,0,0",
+                SvgPaths.packedPathFromSvgString("M0,0 C1,1 2,2 3,3").reverse().toSvgString());
+        assertEquals("M0,0 10,10 10,0 0,0 Z",
+                SvgPaths.packedPathFromSvgString("M0,0 L10,0 L10,10 Z").reverse().toSvgString());
+        assertEquals("M0,0 0,10 Q5,5,10,0 L0,0 Z",
+                SvgPaths.packedPathFromSvgString("M0,0 L10,0 Q5,5 0,10 L0,0 Z").reverse().toSvgString());
+        assertEquals("M2,2 1,1 M5,5 Q4,4,3,3",
+                SvgPaths.packedPathFromSvgString("M1,1 L2,2 M3,3 Q4,4 5,5").reverse().toSvgString());
+
+        PackedPath open = SvgPaths.packedPathFromSvgString(PATHS[3]);
+        assertEquals(open, open.reverse().reverse());
+    }
+
+    @Test
+    public void testBuilderInsertsMoveToAfterClosePath() {
+        PackedPathBuilder b = new PackedPathBuilder();
+        b.moveTo(1, 2);
+        b.lineTo(3, 4);
+        b.closePath();
+        b.lineTo(5, 6);
+        assertEquals("M1,2 3,4 Z M1,2 5,6", b.build().toSvgString());
+    }
+
+    private static void assertPathEquals(PathIterator expected, PathIterator actual) {
+        double[] e = new double[6], a = new double[6];
+        for (; !expected.isDone(); expected.next(), actual.next()) {
+            assertTrue(!actual.isDone());
+            int op = expected.currentSegment(e);
+            assertEquals(op, actual.currentSegment(a));
+            for (int i = 0; i < PackedPath.coordCount(op); i++) {
+                assertEquals(e[i], a[i], 1e-9);
+            }
+        }
+        assertTrue(actual.isDone());
+    }
+}
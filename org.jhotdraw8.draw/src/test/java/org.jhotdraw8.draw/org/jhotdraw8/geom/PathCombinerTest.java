@@ -0,0 +1,121 @@
+/*
+ * @(#)PathCombinerTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom;
+
+import org.jhotdraw8.geom.contour.ContourCombiner.CombineMode;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Shape;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.FlatteningPathIterator;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.QuadCurve2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link PathCombiner}.
+ */
+public class PathCombinerTest {
+    @Test
+    public void testCombineCurvesWithRectangle() {
+        Shape a = new Ellipse2D.Double(0, 0, 40, 30);
+        for (CombineMode mode : CombineMode.values()) {
+            Area expected = new Area(a);
+            Area other = new Area(new Rectangle2D.Double(20, 10, 40, 10));
+            switch (mode) {
+            case UNION:
+                expected.add(other);
+                break;
+            case INTERSECTION:
+                expected.intersect(other);
+                break;
+            case DIFFERENCE:
+                expected.subtract(other);
+                break;
+            case XOR:
+                expected.exclusiveOr(other);
+                break;
+            }
+            Path2D.Double actual = PathCombiner.combine(a.getPathIterator(null),
+                    new Rectangle2D.Double(20, 10, 40, 10).getPathIterator(null), mode, 0.01, new AwtPathBuilder());
+            assertEquals(area(expected.getPathIterator(null)), area(actual.getPathIterator(null)), 0.5, mode.toString());
+            if (mode != CombineMode.INTERSECTION) {
+                assertTrue(hasCurves(actual.getPathIterator(null)), "curves must be preserved");
+            }
+        }
+    }
+
+    @Test
+    public void testQuadCurve() {
+        // the area of a parabolic segment is 2/3 of its base times its height
+        Path2D.Double actual = PathCombiner.combine(new QuadCurve2D.Double(0, 0, 10, 20, 20, 0).getPathIterator(null),
+                new Path2D.Double().getPathIterator(null), CombineMode.UNION, 0.001, new AwtPathBuilder());
+        assertEquals(2 * 20 * 10 / 3.0, area(actual.getPathIterator(null)), 0.05);
+    }
+
+    @Test
+    public void testUnionAll() {
+        List<PathIterator> paths = new ArrayList<>();
+        Area expected = new Area();
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                Ellipse2D.Double e = new Ellipse2D.Double(i * 15, j * 15, 20, 20);
+                paths.add(e.getPathIterator(null));
+                expected.add(new Area(e));
+            }
+        }
+        Path2D.Double actual = PathCombiner.unionAll(paths, 0.01, new AwtPathBuilder());
+        assertEquals(area(expected.getPathIterator(null)), area(actual.getPathIterator(null)), 1);
+    }
+
+    private static boolean hasCurves(PathIterator it) {
+        double[] c = new double[6];
+        for (; !it.isDone(); it.next()) {
+            if (it.currentSegment(c) == PathIterator.SEG_CUBICTO) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the area enclosed by a path, holes must have the opposite
+     * direction of outer boundaries.
+     */
+    private static double area(PathIterator path) {
+        double area = 0;
+        double[] c = new double[6];
+        double startX = 0, startY = 0, x = 0, y = 0;
+        for (PathIterator it = new FlatteningPathIterator(path, 0.001, 16); !it.isDone(); it.next()) {
+            switch (it.currentSegment(c)) {
+            case PathIterator.SEG_MOVETO:
+                area += x * startY - startX * y;
+                startX = x = c[0];
+                startY = y = c[1];
+                break;
+            case PathIterator.SEG_LINETO:
+                area += x * c[1] - c[0] * y;
+                x = c[0];
+                y = c[1];
+                break;
+            default:
+                area += x * startY - startX * y;
+                x = startX;
+                y = startY;
+                break;
+            }
+        }
+        area += x * startY - startX * y;
+        return Math.abs(area / 2);
+    }
+}
@@ -101,4 +101,19 @@ public class PointAndTangentBuilderTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testPointAndTangentAtLengthOfCubicCurve() {
+        CubicCurve2D.Double cubicCurve = new CubicCurve2D.Double(0, 0, 1, 0, 1, 0, 1, 1);
+        PointAndTangentBuilder instance = new PointAndTangentBuilder(cubicCurve.getPathIterator(null), 0.125);
+        double length = instance.getArcLengthTable().getLength();
+        assertEquals(1.8021430341530635, length, 1e-9);
+
+        // The curve is symmetric to the line x=1-y.
+        PointAndTangent actualMiddlePAndT = instance.getPointAndTangentAtLength(length / 2);
+        assertEquals(0.875, actualMiddlePAndT.getX(), 1e-9);
+        assertEquals(0.125, actualMiddlePAndT.getY(), 1e-9);
+
+        PointAndTangent actualEndPAndT = instance.getPointAndTangentAtLength(length);
+        assertEquals(new Point2D.Double(1, 1), actualEndPAndT.getPoint(Point2D.Double::new));
+    }
+}
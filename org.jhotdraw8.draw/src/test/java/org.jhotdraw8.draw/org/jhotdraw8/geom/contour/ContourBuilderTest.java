@@ -10,6 +10,7 @@ import org.jhotdraw8.geom.AwtPathBuilder;
 import org.jhotdraw8.geom.Geom;
 import org.jhotdraw8.geom.SvgPaths;
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 
 import javax.swing.JComponent;
@@ -24,6 +25,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
 public class ContourBuilderTest {
@@ -128,6 +131,98 @@ public class ContourBuilderTest {
         return polylineOf(false, coords);
     }
 
+    @Test
+    public void testParallelSliceValidationHasSameResultAsSequential() {
+        PolyArcPath star = starOf(400, 100, 90);
+        for (double offset : new double[]{-3, 2, 7}) {
+            List<PolyArcPath> expected = new ContourBuilder(Integer.MAX_VALUE).parallelOffset(star, offset);
+            List<PolyArcPath> actual = new ContourBuilder(0).parallelOffset(star, offset);
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, actual, "offset=" + offset);
+        }
+    }
+
+    @Test
+    public void testParallelSliceValidationWithCoincidentArcVerticesDoesNotChangeRawOffset() {
+        PolyArcPath slot = slotWithArcsOf(0.5);
+        int longSlices = 0;
+        for (double offset : new double[]{20, 50}) {
+            int size = new ContourBuilder().createRawOffsetPline(slot, offset).size();
+            for (int k = 0; k < size; k++) {
+                PolyArcPath raw = withCoincidentVertex(new ContourBuilder().createRawOffsetPline(slot, offset), k);
+                PolyArcPath rawCopy = withCoincidentVertex(new ContourBuilder().createRawOffsetPline(slot, offset), k);
+
+                List<OpenPolylineSlice> expected = new ContourBuilder(Integer.MAX_VALUE).slicesFromRawOffset(slot, raw, offset);
+                assertEquals(rawCopy, raw, "offset=" + offset + " k=" + k);
+                List<OpenPolylineSlice> actual = new ContourBuilder(0).slicesFromRawOffset(slot, raw, offset);
+                assertEquals(rawCopy, raw, "offset=" + offset + " k=" + k);
+                assertEquals(expected.size(), actual.size(), "offset=" + offset + " k=" + k);
+                for (int j = 0; j < expected.size(); j++) {
+                    assertEquals(expected.get(j).pline, actual.get(j).pline, "offset=" + offset + " k=" + k);
+                    if (expected.get(j).pline.size() > 2) {
+                        longSlices++;
+                    }
+                }
+            }
+        }
+        assertTrue(longSlices > 0, "test data should produce slices through raw offset vertices");
+    }
+
+    @Test
+    public void testParallelOffsetsHasSameResultAsParallelOffset() {
+        PolyArcPath star = starOf(40, 100, 80);
+        double[] offsets = new double[50];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = i - 25;
+        }
+        ContourBuilder instance = new ContourBuilder();
+        List<List<PolyArcPath>> actual = instance.parallelOffsets(star, offsets);
+        assertEquals(offsets.length, actual.size());
+        for (int i = 0; i < offsets.length; i++) {
+            assertEquals(instance.parallelOffset(star, offsets[i]), actual.get(i), "offset=" + offsets[i]);
+        }
+    }
+
+    /**
+     * Creates a closed star shaped polyline with the specified number of
+     * spikes.
+     */
+    private static PolyArcPath starOf(int spikes, double outerRadius, double innerRadius) {
+        PolyArcPath p = new PolyArcPath();
+        for (int i = 0; i < spikes * 2; i++) {
+            double angle = Math.PI * i / spikes;
+            double r = (i & 1) == 0 ? outerRadius : innerRadius;
+            p.addVertex(200 + r * Math.cos(angle), 200 + r * Math.sin(angle), 0.0);
+        }
+        p.isClosed(true);
+        return p;
+    }
+
+    /**
+     * Creates a closed polyline with arc segments and a narrow slot.
+     */
+    private static PolyArcPath slotWithArcsOf(double bulge) {
+        return polylineOf(true, new double[][]{{0, 0, bulge}, {100, -20, bulge}, {200, 0, bulge}, {220, 100, bulge},
+                {200, 200, 0}, {105, 200, 0}, {105, 60, 0}, {95, 60, 0}, {95, 200, 0}, {0, 200, bulge}, {-20, 100, bulge}});
+    }
+
+    /**
+     * Inserts a coincident vertex with zero bulge before the vertex with
+     * the specified index.
+     */
+    private static PolyArcPath withCoincidentVertex(PolyArcPath pline, int index) {
+        PolyArcPath p = new PolyArcPath();
+        for (int i = 0; i < pline.size(); i++) {
+            PlineVertex v = pline.get(i);
+            if (i == index) {
+                p.addVertex(v.getX(), v.getY(), 0.0);
+            }
+            p.addVertex(v.getX(), v.getY(), v.bulge());
+        }
+        p.isClosed(pline.isClosed());
+        return p;
+    }
+
     private static PolyArcPath polylineOf(boolean closed, double[][] coords) {
         PolyArcPath p = new PolyArcPath();
         for (int i = 0; i < coords.length; i++) {
@@ -0,0 +1,219 @@
+/*
+ * @(#)ContourCombinerTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom.contour;
+
+import org.jhotdraw8.geom.contour.ContourCombiner.CombineMode;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Tests {@link ContourCombiner}.
+ */
+public class ContourCombinerTest {
+    @TestFactory
+    public List<DynamicTest> dynamicTestsCombine() {
+        PolyArcPath square = rect(0, 0, 10, 10);
+        PolyArcPath shiftedSquare = rect(5, 5, 10, 10);
+        PolyArcPath adjacentSquare = rect(10, 0, 10, 10);
+        PolyArcPath innerSquare = rect(2, 2, 4, 4);
+        PolyArcPath farSquare = rect(20, 20, 10, 10);
+        PolyArcPath circle = circle(0, 0, 10);
+        PolyArcPath shiftedCircle = circle(10, 0, 10);
+        double lens = 200 * Math.acos(0.5) - 5 * Math.sqrt(300);
+        return Arrays.asList(
+                dynamicTest("overlapping squares", () -> testCombine(square, shiftedSquare, 175, 25, 75, 150)),
+                dynamicTest("overlapping squares cw", () -> testCombine(square, reversed(shiftedSquare), 175, 25, 75, 150)),
+                dynamicTest("adjacent squares", () -> testCombine(square, adjacentSquare, 200, 0, 100, 200)),
+                dynamicTest("identical squares", () -> testCombine(square, rect(0, 0, 10, 10), 100, 100, 0, 0)),
+                dynamicTest("nested squares", () -> testCombine(square, innerSquare, 100, 16, 84, 84)),
+                dynamicTest("nested squares reversed", () -> testCombine(innerSquare, square, 100, 16, 0, 84)),
+                dynamicTest("disjoint squares", () -> testCombine(square, farSquare, 200, 0, 100, 200)),
+                dynamicTest("overlapping circles", () -> testCombine(circle, shiftedCircle,
+                        200 * Math.PI - lens, lens, 100 * Math.PI - lens, 200 * Math.PI - 2 * lens)),
+                dynamicTest("circle and square", () -> testCombine(circle, square,
+                        75 * Math.PI + 100, 25 * Math.PI, 75 * Math.PI, 50 * Math.PI + 100))
+        );
+    }
+
+    private void testCombine(PolyArcPath a, PolyArcPath b, double union, double intersection, double difference, double xor) {
+        assertEquals(union, area(ContourCombiner.combine(a, b, CombineMode.UNION)), 1e-6, "union");
+        assertEquals(intersection, area(ContourCombiner.combine(a, b, CombineMode.INTERSECTION)), 1e-6, "intersection");
+        assertEquals(difference, area(ContourCombiner.combine(a, b, CombineMode.DIFFERENCE)), 1e-6, "difference");
+        assertEquals(xor, area(ContourCombiner.combine(a, b, CombineMode.XOR)), 1e-6, "xor");
+    }
+
+    @Test
+    public void testUnionOfSharedEdgeIsOneLoop() {
+        List<PolyArcPath> union = ContourCombiner.combine(rect(0, 0, 10, 10), rect(10, 0, 10, 10), CombineMode.UNION);
+        assertEquals(1, union.size());
+        assertEquals(200, union.get(0).getArea(), 1e-9);
+    }
+
+    @Test
+    public void testDifferenceWithHoleHasClockwiseHole() {
+        List<PolyArcPath> difference = ContourCombiner.combine(rect(0, 0, 10, 10), rect(2, 2, 4, 4), CombineMode.DIFFERENCE);
+        assertEquals(2, difference.size());
+        assertEquals(100, Math.max(difference.get(0).getArea(), difference.get(1).getArea()), 1e-9);
+        assertEquals(-16, Math.min(difference.get(0).getArea(), difference.get(1).getArea()), 1e-9);
+
+        // the hole is honored when the result is used as an operand
+        assertEquals(84 - 6, area(ContourCombiner.combine(difference,
+                Collections.singletonList(rect(-1, 4.5, 12, 1)), CombineMode.DIFFERENCE)), 1e-9);
+    }
+
+    @TestFactory
+    public List<DynamicTest> dynamicTestsRandomStarsAgainstArea() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (int seed = 0; seed < 40; seed++) {
+            int s = seed;
+            tests.add(dynamicTest("seed " + s, () -> testRandomStarsAgainstArea(s)));
+        }
+        return tests;
+    }
+
+    private void testRandomStarsAgainstArea(int seed) {
+        Random rnd = new Random(seed);
+        PolyArcPath a = star(rnd, 0, 0);
+        PolyArcPath b = star(rnd, rnd.nextDouble() * 20 - 10, rnd.nextDouble() * 20 - 10);
+        for (CombineMode mode : CombineMode.values()) {
+            Area expected = new Area(toAwt(a));
+            Area other = new Area(toAwt(b));
+            switch (mode) {
+            case UNION:
+                expected.add(other);
+                break;
+            case INTERSECTION:
+                expected.intersect(other);
+                break;
+            case DIFFERENCE:
+                expected.subtract(other);
+                break;
+            case XOR:
+                expected.exclusiveOr(other);
+                break;
+            }
+            assertEquals(area(expected.getPathIterator(null)), area(ContourCombiner.combine(a, b, mode)), 1e-6, mode.toString());
+        }
+    }
+
+    @Test
+    public void testUnionAll() {
+        Random rnd = new Random(1);
+        List<List<PolyArcPath>> operands = new ArrayList<>();
+        Area expected = new Area();
+        for (int i = 0; i < 200; i++) {
+            PolyArcPath pline = rnd.nextBoolean()
+                    ? rect(rnd.nextDouble() * 200, rnd.nextDouble() * 200, 1 + rnd.nextDouble() * 20, 1 + rnd.nextDouble() * 20)
+                    : star(rnd, rnd.nextDouble() * 200, rnd.nextDouble() * 200);
+            operands.add(Collections.singletonList(pline));
+            expected.add(new Area(toAwt(pline)));
+        }
+        List<PolyArcPath> union = ContourCombiner.unionAll(operands);
+        assertEquals(area(expected.getPathIterator(null)), area(union), 1e-6);
+    }
+
+    private static PolyArcPath rect(double x, double y, double w, double h) {
+        PolyArcPath p = new PolyArcPath();
+        p.addVertex(x, y);
+        p.addVertex(x + w, y);
+        p.addVertex(x + w, y + h);
+        p.addVertex(x, y + h);
+        p.isClosed(true);
+        return p;
+    }
+
+    private static PolyArcPath circle(double cx, double cy, double r) {
+        PolyArcPath p = new PolyArcPath();
+        p.addVertex(cx - r, cy, 1);
+        p.addVertex(cx + r, cy, 1);
+        p.isClosed(true);
+        return p;
+    }
+
+    private static PolyArcPath reversed(PolyArcPath p) {
+        PolyArcPath r = new PolyArcPath();
+        for (PlineVertex v : p) {
+            r.addVertex(v.getX(), v.getY(), v.bulge());
+        }
+        r.isClosed(true);
+        PolyArcPath.invertDirection(r);
+        return r;
+    }
+
+    /**
+     * Creates a random star shaped polygon, which does not intersect itself.
+     */
+    private static PolyArcPath star(Random rnd, double cx, double cy) {
+        PolyArcPath p = new PolyArcPath();
+        int n = 3 + rnd.nextInt(12);
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * (i + rnd.nextDouble() * 0.8) / n;
+            double r = 2 + rnd.nextDouble() * 10;
+            p.addVertex(cx + r * Math.cos(angle), cy + r * Math.sin(angle));
+        }
+        p.isClosed(true);
+        return p;
+    }
+
+    private static Path2D.Double toAwt(PolyArcPath p) {
+        Path2D.Double path = new Path2D.Double();
+        path.append(p.getPathIterator(null), false);
+        return path;
+    }
+
+    private static double area(List<PolyArcPath> plines) {
+        double area = 0;
+        for (PolyArcPath p : plines) {
+            area += p.getArea();
+        }
+        return area;
+    }
+
+    /**
+     * Computes the area of a path that only contains lines.
+     */
+    private static double area(PathIterator it) {
+        double area = 0;
+        double[] c = new double[6];
+        double startX = 0, startY = 0, x = 0, y = 0;
+        for (; !it.isDone(); it.next()) {
+            switch (it.currentSegment(c)) {
+            case PathIterator.SEG_MOVETO:
+                area += x * startY - startX * y;
+                startX = x = c[0];
+                startY = y = c[1];
+                break;
+            case PathIterator.SEG_LINETO:
+                area += x * c[1] - c[0] * y;
+                x = c[0];
+                y = c[1];
+                break;
+            case PathIterator.SEG_CLOSE:
+                area += x * startY - startX * y;
+                x = startX;
+                y = startY;
+                break;
+            default:
+                throw new AssertionError("unexpected curve");
+            }
+        }
+        area += x * startY - startX * y;
+        return Math.abs(area / 2);
+    }
+}
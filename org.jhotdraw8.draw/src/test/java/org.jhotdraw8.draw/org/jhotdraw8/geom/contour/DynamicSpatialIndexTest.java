@@ -0,0 +1,139 @@
+/*
+ * @(#)DynamicSpatialIndexTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom.contour;
+
+import org.jhotdraw8.collection.IntArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link DynamicSpatialIndex} against a brute force search.
+ */
+public class DynamicSpatialIndexTest {
+    @Test
+    public void testRandomEditsAndQueries() {
+        Random rnd = new Random(0);
+        DynamicSpatialIndex instance = new DynamicSpatialIndex(6);
+        Map<Integer, double[]> expected = new HashMap<>();
+        List<Integer> items = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            int op = rnd.nextInt(10);
+            if (op < 5 || items.isEmpty()) {
+                double[] box = randomBox(rnd);
+                int item = instance.add(box[0], box[1], box[2], box[3]);
+                assertFalse(expected.containsKey(item));
+                expected.put(item, box);
+                items.add(item);
+            } else if (op < 7) {
+                int item = items.remove(rnd.nextInt(items.size()));
+                instance.remove(item);
+                expected.remove(item);
+                assertFalse(instance.contains(item));
+            } else {
+                int item = items.get(rnd.nextInt(items.size()));
+                double[] box = expected.get(item);
+                // small moves stay in their leaf, large moves do not
+                double d = rnd.nextBoolean() ? rnd.nextDouble() - 0.5 : rnd.nextDouble() * 200 - 100;
+                double[] moved = {box[0] + d, box[1] + d, box[2] + d, box[3] + d};
+                instance.update(item, moved[0], moved[1], moved[2], moved[3]);
+                expected.put(item, moved);
+            }
+            assertEquals(expected.size(), instance.size());
+
+            if (step % 50 == 0) {
+                double[] q = randomBox(rnd);
+                assertArrayEquals(bruteForceQuery(expected, q), query(instance, q), "step " + step);
+
+                double x = rnd.nextDouble() * 100, y = rnd.nextDouble() * 100;
+                IntArrayList nearest = new IntArrayList();
+                instance.nearest(x, y, 5, 20, nearest);
+                double[] expectedDistances = bruteForceDistances(expected, x, y, 5, 20);
+                assertEquals(expectedDistances.length, nearest.size(), "step " + step);
+                for (int i = 0; i < nearest.size(); i++) {
+                    assertEquals(expectedDistances[i], distance(expected.get(nearest.getAsInt(i)), x, y), 1e-12);
+                }
+            }
+        }
+        for (Map.Entry<Integer, double[]> entry : expected.entrySet()) {
+            assertEquals(entry.getValue()[0], instance.getMinX(entry.getKey()));
+            assertEquals(entry.getValue()[3], instance.getMaxY(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testRemoveAllAndReuse() {
+        DynamicSpatialIndex instance = new DynamicSpatialIndex(4);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, instance.add(i, i, i + 1, i + 1));
+        }
+        for (int i = 0; i < 100; i++) {
+            instance.remove(i);
+        }
+        assertTrue(instance.isEmpty());
+        assertEquals(-1, instance.nearest(0, 0, Double.POSITIVE_INFINITY));
+
+        int item = instance.add(5, 5, 6, 6);
+        assertTrue(instance.contains(item));
+        assertEquals(item, instance.nearest(0, 0, Double.POSITIVE_INFINITY));
+        assertEquals(-1, instance.nearest(0, 0, 7));
+        assertThrows(IllegalArgumentException.class, () -> instance.remove(item + 1));
+    }
+
+    @Test
+    public void testVisitQueryStopsEarly() {
+        DynamicSpatialIndex instance = new DynamicSpatialIndex();
+        for (int i = 0; i < 100; i++) {
+            instance.add(0, 0, 10, 10);
+        }
+        int[] count = {0};
+        instance.visitQuery(5, 5, 5, 5, index -> ++count[0] < 3);
+        assertEquals(3, count[0]);
+    }
+
+    private static double[] randomBox(Random rnd) {
+        double x = rnd.nextDouble() * 100, y = rnd.nextDouble() * 100;
+        return new double[]{x, y, x + rnd.nextDouble() * 10, y + rnd.nextDouble() * 10};
+    }
+
+    private static int[] query(DynamicSpatialIndex instance, double[] q) {
+        IntArrayList results = new IntArrayList();
+        instance.query(q[0], q[1], q[2], q[3], results);
+        int[] a = results.toIntArray();
+        Arrays.sort(a);
+        return a;
+    }
+
+    private static int[] bruteForceQuery(Map<Integer, double[]> boxes, double[] q) {
+        return boxes.entrySet().stream()
+                .filter(e -> !(q[2] < e.getValue()[0] || q[3] < e.getValue()[1]
+                        || q[0] > e.getValue()[2] || q[1] > e.getValue()[3]))
+                .mapToInt(Map.Entry::getKey).sorted().toArray();
+    }
+
+    private static double[] bruteForceDistances(Map<Integer, double[]> boxes, double x, double y, int k, double maxDistance) {
+        return boxes.values().stream().mapToDouble(b -> distance(b, x, y))
+                .filter(d -> d <= maxDistance).sorted().limit(k).toArray();
+    }
+
+    private static double distance(double[] b, double x, double y) {
+        double dx = Math.max(0, Math.max(b[0] - x, x - b[2]));
+        double dy = Math.max(0, Math.max(b[1] - y, y - b[3]));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * @(#)BernsteinRootFinderTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.DoubleArrayList;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Tests {@link BernsteinRootFinder}.
+ */
+public class BernsteinRootFinderTest {
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsFindRoots() {
+        return Arrays.asList(
+                dynamicTest("linear", () -> testFindRoots(new double[]{0.5}, new double[]{0.5})),
+                dynamicTest("roots outside", () -> testFindRoots(new double[]{-1, 0.25, 2}, new double[]{0.25})),
+                dynamicTest("roots at bounds", () -> testFindRoots(new double[]{0, 0.5, 1}, new double[]{0, 0.5, 1})),
+                dynamicTest("double root", () -> testFindRoots(new double[]{0.3, 0.3, 0.7}, new double[]{0.3, 0.7})),
+                // a root of multiplicity m can only be found with a precision of about 1e-16^(1/m)
+                dynamicTest("triple root", () -> testFindRoots(new double[]{0.6, 0.6, 0.6}, new double[]{0.6}, 1e-4)),
+                dynamicTest("degree 9", () -> testFindRoots(
+                        new double[]{0.05, 0.15, 0.25, 0.35, 0.45, 0.55, 0.65, 0.75, 0.85},
+                        new double[]{0.05, 0.15, 0.25, 0.35, 0.45, 0.55, 0.65, 0.75, 0.85})),
+                dynamicTest("close roots", () -> testFindRoots(new double[]{0.5, 0.5001}, new double[]{0.5, 0.5001}))
+        );
+    }
+
+    private void testFindRoots(double[] roots, double[] expected) {
+        testFindRoots(roots, expected, 1e-6);
+    }
+
+    private void testFindRoots(double[] roots, double[] expected, double delta) {
+        double[] coefs = fromRoots(roots);
+        double[] result = new double[roots.length];
+        int n = new BernsteinRootFinder().findRoots(coefs, 0, 1, result);
+        assertArrayEquals(expected, Arrays.copyOf(result, n), delta);
+    }
+
+    @Test
+    public void testNoRealRoots() {
+        // x^2 + 1
+        double[] result = new double[2];
+        assertEquals(0, new BernsteinRootFinder().findRoots(new double[]{1, 0, 1}, -10, 10, result));
+    }
+
+    @Test
+    public void testRandomPolynomialsOfDegree9() {
+        Random rnd = new Random(0);
+        BernsteinRootFinder instance = new BernsteinRootFinder();
+        double[] result = new double[9];
+        for (int i = 0; i < 1000; i++) {
+            double[] roots = new double[9];
+            for (int j = 0; j < roots.length; j++) {
+                roots[j] = rnd.nextDouble() * 3 - 1;
+            }
+            Arrays.sort(roots);
+            double[] coefs = fromRoots(roots);
+            for (int j = 0; j < coefs.length; j++) {
+                coefs[j] *= 1e6;
+            }
+            int n = instance.findRoots(coefs, 0, 1, result);
+
+            DoubleArrayList expected = new DoubleArrayList();
+            for (double r : roots) {
+                if (0 <= r && r <= 1 && (expected.isEmpty() || r - expected.get(expected.size() - 1) > 1e-6)) {
+                    expected.add(r);
+                }
+            }
+            assertArrayEquals(expected.toArray(), Arrays.copyOf(result, n), 1e-6,
+                    "roots " + Arrays.toString(roots));
+        }
+    }
+
+    @Test
+    public void testPolynomialGetRootsInIntervalOfDegree5() {
+        double[] roots = {-2, 0.1, 0.4, 0.8, 3};
+        Polynomial p = new Polynomial(false, fromRoots(roots));
+        DoubleArrayList actual = p.getRootsInInterval(0, 1);
+        assertArrayEquals(new double[]{0.1, 0.4, 0.8}, actual.toArray(), 1e-9);
+    }
+
+    /**
+     * Returns the coefficients of the polynomial with the specified roots,
+     * from lowest to highest degree.
+     */
+    private static double[] fromRoots(double[] roots) {
+        double[] coefs = new double[roots.length + 1];
+        coefs[0] = 1;
+        for (int i = 0; i < roots.length; i++) {
+            // multiply by (x - r)
+            for (int j = i + 1; j > 0; j--) {
+                coefs[j] = coefs[j - 1] - roots[i] * coefs[j];
+            }
+            coefs[0] = -roots[i] * coefs[0];
+        }
+        return coefs;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * @(#)BezierClippingIntersectorTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.geom.BezierCurves;
+import org.jhotdraw8.geom.Geom;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Tests {@link BezierClippingIntersector}, and compares it with
+ * {@link CubicCurveCubicCurveIntersector#BEZOUT}.
+ */
+public class BezierClippingIntersectorTest {
+    private static final CubicCurveCubicCurveIntersector CLIPPING = CubicCurveCubicCurveIntersector.BEZIER_CLIPPING;
+
+    @Test
+    public void testRandomCurvesFindAllIntersectionsOfBezout() {
+        Random rnd = new Random(0);
+        int count = 0;
+        for (int i = 0; i < 1000; i++) {
+            double[] c = new double[16];
+            for (int j = 0; j < c.length; j++) {
+                c[j] = rnd.nextDouble() * 100;
+            }
+            IntersectionResultEx expected = intersect(CubicCurveCubicCurveIntersector.BEZOUT, c);
+            IntersectionResultEx actual = intersect(CLIPPING, c);
+            String message = Arrays.toString(c);
+
+            // Bézier clipping may find intersections that Bézout misses,
+            // but not the other way round.
+            assertTrue(expected.size() <= actual.size(), message);
+            for (IntersectionPointEx e : expected) {
+                assertTrue(actual.stream().anyMatch(a -> Math.abs(a.getArgumentA() - e.getArgumentA()) < 1e-6
+                        && Math.abs(a.getArgumentB() - e.getArgumentB()) < 1e-6), message);
+            }
+            double prev = 0;
+            for (IntersectionPointEx a : actual) {
+                assertOnBothCurves(c, a, 1e-6);
+                assertTrue(prev <= a.getArgumentA(), "sorted by argument 'a'");
+                prev = a.getArgumentA();
+            }
+            count += actual.size();
+        }
+        assertTrue(count > 0, "test data should produce intersections");
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsNearTangentCurves() {
+        return Arrays.asList(
+                dynamicTest("1e-2", () -> testNearTangentCurves(1e-2, 2)),
+                dynamicTest("1e-4", () -> testNearTangentCurves(1e-4, 2)),
+                dynamicTest("1e-6", () -> testNearTangentCurves(1e-6, 2)),
+                dynamicTest("tangent", () -> testNearTangentCurves(0, 1)),
+                dynamicTest("-1e-6", () -> testNearTangentCurves(-1e-6, 0)),
+                dynamicTest("-1e-2", () -> testNearTangentCurves(-1e-2, 0))
+        );
+    }
+
+    /**
+     * Intersects an arch with an upside down arch that touches it at
+     * t = 0.5, and that has been moved down by the specified distance.
+     */
+    private void testNearTangentCurves(double distance, int expectedCount) {
+        double[] c = {0, 0, 100 / 3.0, 50, 200 / 3.0, 50, 100, 0,
+                0, 75 - distance, 100 / 3.0, 25 - distance, 200 / 3.0, 25 - distance, 100, 75 - distance};
+        IntersectionResultEx actual = intersect(CLIPPING, c);
+        assertEquals(expectedCount, actual.size(), actual.toString());
+        for (IntersectionPointEx a : actual) {
+            assertOnBothCurves(c, a, 1e-6);
+        }
+        if (expectedCount == 2) {
+            // The arches are symmetric
+            assertEquals(1.0, actual.get(0).getArgumentA() + actual.get(1).getArgumentA(), 1e-6);
+            assertTrue(actual.get(0).getArgumentA() < 0.5);
+        } else if (expectedCount == 1) {
+            assertEquals(0.5, actual.get(0).getArgumentA(), 1e-6);
+            assertEquals(0.5, actual.get(0).getArgumentB(), 1e-6);
+        }
+    }
+
+    @Test
+    public void testCurvesWithSharedEndPoint() {
+        double[] c = {0, 0, 10, 10, 20, 10, 30, 0,
+                30, 0, 40, -10, 50, -10, 60, 0};
+        IntersectionResultEx actual = intersect(CLIPPING, c);
+        assertEquals(1, actual.size());
+        assertEquals(1, actual.get(0).getArgumentA(), 1e-6);
+        assertEquals(0, actual.get(0).getArgumentB(), 1e-6);
+    }
+
+    @Test
+    public void testCoincidentCurves() {
+        double[] c = {0, 0, 100 / 3.0, 50, 200 / 3.0, 50, 100, 0,
+                0, 0, 100 / 3.0, 50, 200 / 3.0, 50, 100, 0};
+        IntersectionResultEx actual = intersect(CLIPPING, c);
+        assertEquals(IntersectionStatus.NO_INTERSECTION_COINCIDENT, actual.getStatus());
+        assertEquals(0, actual.size());
+    }
+
+    @Test
+    public void testBufferIsAppended() {
+        IntersectionBuffer buf = new IntersectionBuffer();
+        buf.add(1, 2, 3, 4, 5, 6, 7, 8);
+        IntersectionStatus status = CLIPPING.intersect(0, 0, 100 / 3.0, 50, 200 / 3.0, 50, 100, 0,
+                0, 30, 100 / 3.0, 30, 200 / 3.0, 30, 100, 30, Geom.REAL_THRESHOLD, buf);
+        assertEquals(IntersectionStatus.INTERSECTION, status);
+        assertEquals(3, buf.size());
+        assertEquals(3, buf.getArgumentA(0));
+        assertTrue(buf.getArgumentA(1) < buf.getArgumentA(2));
+        assertEquals(30, buf.getY(1), Geom.REAL_THRESHOLD);
+        assertEquals(30, buf.getY(2), Geom.REAL_THRESHOLD);
+    }
+
+    private static @NonNull IntersectionResultEx intersect(@NonNull CubicCurveCubicCurveIntersector engine, double[] c) {
+        return engine.intersect(c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7],
+                c[8], c[9], c[10], c[11], c[12], c[13], c[14], c[15], Geom.REAL_THRESHOLD);
+    }
+
+    private static void assertOnBothCurves(double[] c, @NonNull IntersectionPointEx ip, double delta) {
+        Point2D.Double a = BezierCurves.evalCubicCurve(c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], ip.getArgumentA());
+        Point2D.Double b = BezierCurves.evalCubicCurve(c[8], c[9], c[10], c[11], c[12], c[13], c[14], c[15], ip.getArgumentB());
+        assertEquals(a.getX(), ip.getX(), delta);
+        assertEquals(a.getY(), ip.getY(), delta);
+        assertEquals(a.getX(), b.getX(), delta);
+        assertEquals(a.getY(), b.getY(), delta);
+    }
+}
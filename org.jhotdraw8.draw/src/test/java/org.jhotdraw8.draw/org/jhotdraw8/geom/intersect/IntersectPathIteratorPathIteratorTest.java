@@ -0,0 +1,196 @@
+/*
+ * @(#)IntersectPathIteratorPathIteratorTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.OrderedPair;
+import org.jhotdraw8.geom.Geom;
+import org.jhotdraw8.geom.SvgPaths;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+public class IntersectPathIteratorPathIteratorTest {
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsIntersectPathIteratorPathIterator() {
+        return Arrays.asList(
+                dynamicTest("crossing lines", () -> testIntersectPathIteratorPathIterator(
+                        "M0,0 L10,10", "M0,10 L10,0", 1)),
+                dynamicTest("polyline through vertex", () -> testIntersectPathIteratorPathIterator(
+                        "M0,0 L5,5 L10,0", "M5,0 L5,10", 1)),
+                dynamicTest("rectangles", () -> testIntersectPathIteratorPathIterator(
+                        "M0,0 L10,0 L10,10 L0,10 Z", "M5,5 L15,5 L15,15 L5,15 Z", 2)),
+                dynamicTest("circle and line", () -> testIntersectPathIteratorPathIterator(
+                        "M5930,425 C5930,422.2404174804688,5927.759765625,420,5925,420 5922.240234375,420,5920,422.2404174804688,5920,425 5920,427.7595825195313,5922.240234375,430,5925,430 5927.759765625,430,5930,427.7595825195313,5930,425 Z",
+                        "M5900,424 L5950,426", 2)),
+                dynamicTest("quad and cubic", () -> testIntersectPathIteratorPathIterator(
+                        "M0,0 Q50,100 100,0", "M0,40 C30,-20 70,100 100,40", 2)),
+                dynamicTest("cubic and cubic", () -> testIntersectPathIteratorPathIterator(
+                        "M0,0 C0,100 100,100 100,0", "M-10,40 C30,70 70,30 110,60", 2)),
+                dynamicTest("disjoint", () -> testIntersectPathIteratorPathIterator(
+                        "M0,0 L10,0 L10,10 Z", "M20,20 L30,20 L30,30 Z", 0))
+        );
+    }
+
+    private void testIntersectPathIteratorPathIterator(String a, String b, int expectedCount) throws ParseException {
+        IntersectionResultEx actual = IntersectPathIteratorPathIterator.intersectPathIteratorPathIteratorEx(
+                SvgPaths.awtShapeFromSvgString(a).getPathIterator(null),
+                SvgPaths.awtShapeFromSvgString(b).getPathIterator(null));
+        assertEquals(expectedCount, actual.size(), actual.toString());
+        assertEquals(expectedCount == 0 ? IntersectionStatus.NO_INTERSECTION : IntersectionStatus.INTERSECTION,
+                actual.getStatus());
+    }
+
+    @Test
+    public void testRandomPolylinesMatchPairwiseIntersection() {
+        Random rnd = new Random(0);
+        for (int round = 0; round < 20; round++) {
+            List<Point2D.Double> pointsA = randomPoints(rnd, 30);
+            List<Point2D.Double> pointsB = randomPoints(rnd, 30);
+
+            IntersectionResultEx actual = IntersectPathIteratorPathIterator.intersectPathIteratorPathIteratorEx(
+                    toPath(pointsA).getPathIterator(null), toPath(pointsB).getPathIterator(null));
+
+            List<IntersectionPointEx> expected = new ArrayList<>();
+            for (int i = 0; i < pointsA.size() - 1; i++) {
+                for (int j = 0; j < pointsB.size() - 1; j++) {
+                    IntersectionResultEx inter = IntersectLineLine.intersectLineLineEx(
+                            pointsA.get(i), pointsA.get(i + 1), pointsB.get(j), pointsB.get(j + 1));
+                    if (inter.getStatus() == IntersectionStatus.INTERSECTION) {
+                        for (IntersectionPointEx ip : inter) {
+                            // path element 0 is the move-to
+                            expected.add(new IntersectionPointEx(ip, ip.getArgumentA(), ip.getTangentA(), i + 1,
+                                    ip.getArgumentB(), ip.getTangentB(), j + 1));
+                        }
+                    }
+                }
+            }
+            expected.sort((p, q) -> p.getSegmentA() != q.getSegmentA()
+                    ? Integer.compare(p.getSegmentA(), q.getSegmentA())
+                    : Double.compare(p.getArgumentA(), q.getArgumentA()));
+
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                IntersectionPointEx e = expected.get(i);
+                IntersectionPointEx a = actual.get(i);
+                assertEquals(e.getSegmentA(), a.getSegmentA());
+                assertEquals(e.getSegmentB(), a.getSegmentB());
+                assertEquals(e.getArgumentA(), a.getArgumentA(), 1e-9);
+                assertEquals(e.getArgumentB(), a.getArgumentB(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testRandomPolylinesMatchPairwisePathIntersection() {
+        Random rnd = new Random(1);
+        List<List<Point2D.Double>> points = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            points.add(randomPoints(rnd, 20));
+        }
+        List<PathIterator> paths = new ArrayList<>();
+        for (List<Point2D.Double> p : points) {
+            paths.add(toPath(p).getPathIterator(null));
+        }
+
+        Map<OrderedPair<Integer, Integer>, IntersectionResultEx> actual =
+                IntersectPathIteratorPathIterator.intersectAllPathIteratorsEx(paths, Geom.REAL_THRESHOLD);
+
+        List<OrderedPair<Integer, Integer>> expectedPairs = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            for (int j = i + 1; j < points.size(); j++) {
+                IntersectionResultEx expected = IntersectPathIteratorPathIterator.intersectPathIteratorPathIteratorEx(
+                        toPath(points.get(i)).getPathIterator(null), toPath(points.get(j)).getPathIterator(null));
+                if (expected.isEmpty()) {
+                    continue;
+                }
+                OrderedPair<Integer, Integer> pair = new OrderedPair<>(i, j);
+                expectedPairs.add(pair);
+                IntersectionResultEx a = actual.get(pair);
+                assertEquals(expected.size(), a.size(), pair.toString());
+                for (int k = 0; k < expected.size(); k++) {
+                    assertEquals(expected.get(k).getSegmentA(), a.get(k).getSegmentA());
+                    assertEquals(expected.get(k).getSegmentB(), a.get(k).getSegmentB());
+                    assertEquals(expected.get(k).getArgumentA(), a.get(k).getArgumentA(), 1e-9);
+                    assertEquals(expected.get(k).getArgumentB(), a.get(k).getArgumentB(), 1e-9);
+                }
+            }
+        }
+        assertEquals(expectedPairs, new ArrayList<>(actual.keySet()));
+    }
+
+    @Test
+    public void testPolygonPolygon() {
+        List<Point2D.Double> square = Arrays.asList(new Point2D.Double(0, 0), new Point2D.Double(10, 0),
+                new Point2D.Double(10, 10), new Point2D.Double(0, 10));
+        List<Point2D.Double> diamond = Arrays.asList(new Point2D.Double(5, -3), new Point2D.Double(13, 5),
+                new Point2D.Double(5, 13), new Point2D.Double(-3, 5));
+        IntersectionResultEx actual = IntersectPolygonPolygon.intersectPolygonPolygonEx(square, diamond);
+        assertEquals(IntersectionStatus.INTERSECTION, actual.getStatus());
+        assertEquals(8, actual.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, actual.get(2 * i).getSegmentA());
+            assertEquals(i, actual.get(2 * i + 1).getSegmentA());
+            assertEquals(0.2, actual.get(2 * i).getArgumentA(), 1e-9);
+            assertEquals(0.8, actual.get(2 * i + 1).getArgumentA(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testManyLongHorizontalLinesAndShortVerticalLines() {
+        // path 'a' has long horizontal lines, path 'b' has short vertical
+        // lines that cross every second horizontal line
+        Path2D.Double a = new Path2D.Double();
+        Path2D.Double b = new Path2D.Double();
+        for (int i = 0; i < 100; i++) {
+            a.moveTo(0, i * 10);
+            a.lineTo(1000, i * 10);
+        }
+        for (int i = 0; i < 50; i++) {
+            b.moveTo(i * 20 + 5, i * 20 - 5);
+            b.lineTo(i * 20 + 5, i * 20 + 5);
+        }
+        IntersectionResultEx actual = IntersectPathIteratorPathIterator.intersectPathIteratorPathIteratorEx(
+                a.getPathIterator(null), b.getPathIterator(null));
+        assertEquals(50, actual.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i * 20 + 5, actual.get(i).getX(), 1e-9);
+            assertEquals(i * 20, actual.get(i).getY(), 1e-9);
+            assertEquals(4 * i + 1, actual.get(i).getSegmentA());
+            assertEquals(2 * i + 1, actual.get(i).getSegmentB());
+        }
+    }
+
+    private static @NonNull List<Point2D.Double> randomPoints(@NonNull Random rnd, int count) {
+        List<Point2D.Double> points = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            points.add(new Point2D.Double(rnd.nextDouble() * 100, rnd.nextDouble() * 100));
+        }
+        return points;
+    }
+
+    private static @NonNull Path2D.Double toPath(@NonNull List<Point2D.Double> points) {
+        Path2D.Double path = new Path2D.Double();
+        path.moveTo(points.get(0).getX(), points.get(0).getY());
+        for (int i = 1; i < points.size(); i++) {
+            path.lineTo(points.get(i).getX(), points.get(i).getY());
+        }
+        return path;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * @(#)IntersectionBufferTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.geom.Geom;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link IntersectionBuffer}, and checks that the buffer variants
+ * of the {@code Intersect*} methods produce the same results as the
+ * object variants.
+ */
+public class IntersectionBufferTest {
+    @Test
+    public void testAddGrowsAndClearKeepsCapacity() {
+        IntersectionBuffer buf = new IntersectionBuffer(1);
+        for (int i = 0; i < 10; i++) {
+            buf.add(i, -i, i * 0.1, 1, 0, 1 - i * 0.1, 0, 1);
+        }
+        assertEquals(10, buf.size());
+        assertEquals(7, buf.getX(7));
+        assertEquals(-7, buf.getY(7));
+        assertEquals(0.7, buf.getArgumentA(7), 1e-12);
+        assertEquals(0.3, buf.getArgumentB(7), 1e-12);
+
+        buf.truncate(3);
+        assertEquals(3, buf.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> buf.getX(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> buf.truncate(4));
+
+        buf.clear();
+        assertEquals(0, buf.size());
+    }
+
+    @Test
+    public void testSwapAB() {
+        IntersectionBuffer buf = new IntersectionBuffer();
+        buf.add(1, 2, 0.25, 3, 4, 5, 0.75, 6, 7, 8);
+        buf.swapAB(0);
+        IntersectionPointEx p = buf.get(0);
+        assertEquals(0.75, p.getArgumentA());
+        assertEquals(6, p.getTangentA().getX());
+        assertEquals(7, p.getTangentA().getY());
+        assertEquals(8, p.getSegmentA());
+        assertEquals(0.25, p.getArgumentB());
+        assertEquals(3, p.getTangentB().getX());
+        assertEquals(4, p.getTangentB().getY());
+        assertEquals(5, p.getSegmentB());
+    }
+
+    @Test
+    public void testLineLineAppendsToBuffer() {
+        IntersectionBuffer buf = new IntersectionBuffer();
+        Random rnd = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            double[] c = randomCoords(rnd, 8);
+            IntersectionResultEx expected = IntersectLineLine.intersectLineLineEx(
+                    c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], Geom.REAL_THRESHOLD);
+            int from = buf.size();
+            IntersectionStatus status = IntersectLineLine.intersectLineLineEx(
+                    c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], Geom.REAL_THRESHOLD, buf);
+            assertEquals(expected.getStatus(), status);
+            assertSame(expected, buf, from);
+        }
+    }
+
+    @Test
+    public void testRayRayWithDegenerateRayAppendsToBuffer() {
+        IntersectionBuffer buf = new IntersectionBuffer();
+        // ray 'a' is the point (3,0) on ray 'b'
+        IntersectionStatus status = IntersectRayRay.intersectRayRayEx(
+                3, 0, 0, 0, 1, 0, 0, 1, 0, 10, Geom.REAL_THRESHOLD, buf);
+        assertEquals(IntersectionStatus.INTERSECTION, status);
+        assertEquals(1, buf.size());
+        assertEquals(3, buf.get(0).getArgumentB());
+
+        // ray 'a' is the point (3,1) next to ray 'b'
+        status = IntersectRayRay.intersectRayRayEx(
+                3, 1, 0, 0, 1, 0, 0, 1, 0, 10, Geom.REAL_THRESHOLD, buf);
+        assertEquals(IntersectionStatus.NO_INTERSECTION_PARALLEL, status);
+        assertEquals(1, buf.size());
+        assertTrue(Double.isNaN(IntersectPointRay.argumentOnRayAsDouble(0, 0, 1, 0, 10, 3, 1, Geom.REAL_THRESHOLD)));
+        assertEquals(3, IntersectPointRay.argumentOnRayAsDouble(0, 0, 1, 0, 10, 3, 0, Geom.REAL_THRESHOLD));
+    }
+
+    @Test
+    public void testLineCircleMatchesObjectVariant() {
+        IntersectionBuffer buf = new IntersectionBuffer();
+        Random rnd = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            double[] c = randomCoords(rnd, 7);
+            buf.clear();
+            IntersectionResultEx expected = IntersectCircleLine.intersectLineCircleEx(
+                    c[0], c[1], c[2], c[3], c[4], c[5], c[6] / 2, Geom.REAL_THRESHOLD);
+            IntersectionStatus status = IntersectCircleLine.intersectLineCircleEx(
+                    c[0], c[1], c[2], c[3], c[4], c[5], c[6] / 2, Geom.REAL_THRESHOLD, buf);
+            assertEquals(expected.getStatus(), status);
+            assertSame(expected, buf, 0);
+        }
+    }
+
+    @Test
+    public void testLineCubicCurveMatchesCurveLine() {
+        IntersectionBuffer buf = new IntersectionBuffer();
+        Random rnd = new Random(2);
+        int count = 0;
+        for (int i = 0; i < 1000; i++) {
+            double[] c = randomCoords(rnd, 12);
+            buf.clear();
+            IntersectionResult expected = IntersectCubicCurveLine.intersectCubicCurveLine(
+                    c[4], c[5], c[6], c[7], c[8], c[9], c[10], c[11],
+                    c[0], c[1], c[2], c[3], Geom.REAL_THRESHOLD);
+            IntersectionStatus status = IntersectCubicCurveLine.intersectLineCubicCurveEx(
+                    c[0], c[1], c[2], c[3],
+                    c[4], c[5], c[6], c[7], c[8], c[9], c[10], c[11], Geom.REAL_THRESHOLD, buf);
+            assertEquals(expected.getStatus(), status);
+            assertEquals(expected.size(), buf.size());
+            for (int j = 0; j < buf.size(); j++) {
+                assertEquals(expected.get(j).getX(), buf.getX(j), 1e-9);
+                assertEquals(expected.get(j).getY(), buf.getY(j), 1e-9);
+                assertEquals(expected.get(j).getArgumentA(), buf.getArgumentB(j), 1e-9);
+            }
+            count += buf.size();
+        }
+        assertEquals(true, count > 0, "test data should produce intersections");
+    }
+
+    @Test
+    public void testQuadCurveLineSwapsArguments() {
+        IntersectionBuffer buf = new IntersectionBuffer();
+        IntersectionStatus status = IntersectLineQuadCurve.intersectQuadCurveLineEx(
+                0, 0, 50, 100, 100, 0,
+                0, 25, 100, 25, Geom.REAL_THRESHOLD, buf);
+        assertEquals(IntersectionStatus.INTERSECTION, status);
+        assertEquals(2, buf.size());
+        for (int i = 0; i < buf.size(); i++) {
+            assertEquals(25, buf.getY(i), 1e-9);
+            assertEquals(buf.getX(i) / 100, buf.getArgumentB(i), 1e-9);
+            assertEquals(buf.getX(i) / 100, buf.getArgumentA(i), 1e-9);
+        }
+    }
+
+    @Test
+    public void testLineAABB() {
+        IntersectionBuffer buf = new IntersectionBuffer();
+        assertEquals(IntersectionStatus.INTERSECTION,
+                IntersectAABBLine.intersectLineAABBEx(-5, 5, 15, 5, 0, 0, 10, 10, buf));
+        assertEquals(2, buf.size());
+        assertEquals(0.75, buf.getArgumentA(0), 1e-9);
+        assertEquals(0.25, buf.getArgumentA(1), 1e-9);
+
+        buf.clear();
+        assertEquals(IntersectionStatus.NO_INTERSECTION,
+                IntersectAABBLine.intersectLineAABBEx(-5, 20, 15, 20, 0, 0, 10, 10, buf));
+        assertEquals(0, buf.size());
+    }
+
+    private static double[] randomCoords(Random rnd, int n) {
+        double[] c = new double[n];
+        for (int i = 0; i < n; i++) {
+            c[i] = rnd.nextDouble() * 100;
+        }
+        return c;
+    }
+
+    private static void assertSame(IntersectionResultEx expected, IntersectionBuffer actual, int from) {
+        assertEquals(expected.size(), actual.size() - from);
+        for (int i = 0; i < expected.size(); i++) {
+            IntersectionPointEx e = expected.get(i);
+            IntersectionPointEx a = actual.get(from + i);
+            assertEquals(e, a);
+            assertEquals(e.getArgumentA(), a.getArgumentA());
+            assertEquals(e.getArgumentB(), a.getArgumentB());
+            assertEquals(e.getTangentA(), a.getTangentA());
+            assertEquals(e.getTangentB(), a.getTangentB());
+        }
+    }
+}
@@ -7,6 +7,7 @@ package org.jhotdraw8.geom.intersect;
 import org.jhotdraw8.annotation.NonNull;
 import org.jhotdraw8.collection.DoubleArrayList;
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 
 import java.util.Arrays;
@@ -14,6 +15,8 @@ import java.util.List;
 
 import static java.lang.Math.sqrt;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
 /**
@@ -53,6 +56,15 @@ public class PolynomialTest {
         );
     }
 
+    @Test
+    public void testBisection() {
+        Polynomial instance = new Polynomial(2, 1);
+        assertEquals(-0.5, Polynomial.bisection(instance, -5, 5), 1e-6);
+        assertEquals(-0.5, Polynomial.bisectionAsDouble(instance, -5, 5), 1e-6);
+        assertNull(Polynomial.bisection(instance, 0, 5));
+        assertTrue(Double.isNaN(Polynomial.bisectionAsDouble(instance, 0, 5)));
+    }
+
     public static void testGetRoots(@NonNull Polynomial instance, @NonNull double[] expected) {
         Arrays.sort(expected);
         double[] actual = instance.getRoots();
@@ -0,0 +1,151 @@
+/*
+ * @(#)IncrementalTopologicalOrderTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Tests {@link IncrementalTopologicalOrder}.
+ */
+public class IncrementalTopologicalOrderTest {
+    @Test
+    public void testAddArrowReordersVertices() {
+        IncrementalTopologicalOrder<String> instance = new IncrementalTopologicalOrder<>();
+        instance.addVertex("c");
+        instance.addVertex("b");
+        instance.addVertex("a");
+        assertTrue(instance.addArrow("a", "b"));
+        assertTrue(instance.addArrow("b", "c"));
+        assertTrue(instance.isBefore("a", "b"));
+        assertTrue(instance.isBefore("b", "c"));
+
+        List<String> list = new ArrayList<>(Arrays.asList("c", "a", "b"));
+        instance.sort(list);
+        assertEquals(Arrays.asList("a", "b", "c"), list);
+    }
+
+    @Test
+    public void testCyclicArrowIsIgnoredUntilCycleIsBroken() {
+        IncrementalTopologicalOrder<String> instance = new IncrementalTopologicalOrder<>();
+        assertTrue(instance.addArrow("a", "b"));
+        assertTrue(instance.addArrow("b", "c"));
+        assertFalse(instance.addArrow("c", "a"));
+        assertFalse(instance.addArrow("a", "a"));
+        assertTrue(instance.isBefore("a", "c"));
+
+        // break the cycle a → b → c, and retry c → a
+        instance.setNext("a", Arrays.asList());
+        instance.setNext("c", Arrays.asList("a"));
+        assertTrue(instance.isBefore("c", "a"));
+        assertTrue(instance.isBefore("b", "c"));
+    }
+
+    @Test
+    public void testRemoveVertex() {
+        IncrementalTopologicalOrder<String> instance = new IncrementalTopologicalOrder<>();
+        instance.addArrow("a", "b");
+        instance.addArrow("b", "c");
+        instance.removeVertex("b");
+        assertEquals(2, instance.getVertexCount());
+        assertFalse(instance.containsVertex("b"));
+        assertTrue(instance.addArrow("c", "a"));
+        assertTrue(instance.isBefore("c", "a"));
+    }
+
+    @Test
+    public void testRemoveVertexWithCyclicArrows() {
+        IncrementalTopologicalOrder<String> instance = new IncrementalTopologicalOrder<>();
+        assertTrue(instance.addArrow("a", "b"));
+        assertFalse(instance.addArrow("b", "a"));
+        assertFalse(instance.addArrow("b", "b"));
+        instance.removeVertex("a");
+        instance.removeVertex("b");
+        assertEquals(0, instance.getVertexCount());
+        assertTrue(instance.addArrow("b", "a"));
+        assertTrue(instance.isBefore("b", "a"));
+    }
+
+    @Test
+    public void testRenumberKeepsOrder() {
+        IncrementalTopologicalOrder<String> instance = new IncrementalTopologicalOrder<>();
+        instance.addArrow("d", "c");
+        instance.addArrow("c", "b");
+        instance.addArrow("b", "a");
+        instance.addVertex("x");
+        instance.removeVertex("x");
+        instance.renumber();
+        List<String> list = new ArrayList<>(Arrays.asList("a", "b", "c", "d"));
+        instance.sort(list);
+        assertEquals(Arrays.asList("d", "c", "b", "a"), list);
+        instance.addVertex("e");
+        assertTrue(instance.isBefore("a", "e"));
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsRandomArrows() {
+        return Arrays.asList(
+                dynamicTest("sparse", () -> testRandomArrows(200, 300)),
+                dynamicTest("dense", () -> testRandomArrows(50, 1000)),
+                dynamicTest("empty", () -> testRandomArrows(0, 0))
+        );
+    }
+
+    /**
+     * Adds random arrows, and checks after each step that all accepted
+     * arrows are consistent with the order.
+     */
+    private void testRandomArrows(int vertexCount, int arrowCount) {
+        Random rnd = new Random(vertexCount * 31 + arrowCount);
+        IncrementalTopologicalOrder<Integer> instance = new IncrementalTopologicalOrder<>();
+        List<Integer> vertices = new ArrayList<>();
+        for (int i = 0; i < vertexCount; i++) {
+            instance.addVertex(i);
+            vertices.add(i);
+        }
+        Set<List<Integer>> accepted = new HashSet<>();
+        for (int i = 0; i < arrowCount; i++) {
+            int v = rnd.nextInt(vertexCount);
+            int u = rnd.nextInt(vertexCount);
+            if (instance.addArrow(v, u)) {
+                accepted.add(Arrays.asList(v, u));
+            } else if (v != u) {
+                assertTrue(instance.isBefore(u, v), "cyclic arrow " + v + "→" + u);
+            }
+            if (rnd.nextInt(8) == 0 && !accepted.isEmpty()) {
+                List<Integer> removed = accepted.iterator().next();
+                accepted.remove(removed);
+                instance.removeArrow(removed.get(0), removed.get(1));
+            }
+            for (List<Integer> arrow : accepted) {
+                assertTrue(instance.isBefore(arrow.get(0), arrow.get(1)), "arrow " + arrow);
+            }
+        }
+
+        instance.sort(vertices);
+        int[] position = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            position[vertices.get(i)] = i;
+        }
+        for (List<Integer> arrow : accepted) {
+            assertTrue(position[arrow.get(0)] < position[arrow.get(1)], "arrow " + arrow);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * @(#)IndexedMinimumSpanningTreeAlgoTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.IntArrayList;
+import org.jhotdraw8.graph.algo.IndexedDisjointSets;
+import org.jhotdraw8.graph.algo.IndexedMinimumSpanningTreeAlgo;
+import org.jhotdraw8.graph.algo.MinimumSpanningTreeAlgo;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Tests {@link IndexedMinimumSpanningTreeAlgo} and {@link IndexedDisjointSets}.
+ */
+public class IndexedMinimumSpanningTreeAlgoTest {
+    @Test
+    public void testDisjointSets() {
+        IndexedDisjointSets instance = new IndexedDisjointSets(6);
+        assertEquals(6, instance.getSetCount());
+        assertTrue(instance.union(0, 1));
+        assertTrue(instance.union(2, 3));
+        assertTrue(instance.union(1, 3));
+        assertFalse(instance.union(0, 2));
+        assertTrue(instance.isSameSet(0, 3));
+        assertFalse(instance.isSameSet(0, 4));
+        assertEquals(3, instance.getSetCount());
+        instance.clear();
+        assertFalse(instance.isSameSet(0, 1));
+        assertEquals(6, instance.getSetCount());
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsFindMinimumSpanningTree() {
+        return Arrays.asList(
+                dynamicTest("connected", () -> testFindMinimumSpanningTree(100, 400, 10)),
+                dynamicTest("disconnected", () -> testFindMinimumSpanningTree(100, 60, 1000)),
+                dynamicTest("many equal weights", () -> testFindMinimumSpanningTree(200, 1000, 3)),
+                dynamicTest("empty", () -> testFindMinimumSpanningTree(0, 0, 1))
+        );
+    }
+
+    private void testFindMinimumSpanningTree(int vertexCount, int edgeCount, int maxWeight) {
+        Random rnd = new Random(vertexCount * 31 + edgeCount);
+        ChunkedMutableIndexedBidiGraph graph = new ChunkedMutableIndexedBidiGraph();
+        SimpleMutableDirectedGraph<Integer, Integer> objectGraph = new SimpleMutableDirectedGraph<>();
+        if (vertexCount > 0) {
+            graph.addVertexAsInt(vertexCount - 1);
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            objectGraph.addVertex(v);
+        }
+        double[] weights = new double[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int v = rnd.nextInt(vertexCount), u = rnd.nextInt(vertexCount);
+            weights[e] = rnd.nextInt(maxWeight);
+            if (graph.isNextAsInt(v, u)) {
+                // the indexed graph does not support multiple arrows between the same vertices
+                continue;
+            }
+            graph.addArrowAsInt(v, u, e);
+            graph.addArrowAsInt(u, v, e);
+            objectGraph.addArrow(v, u, e);
+            objectGraph.addArrow(u, v, e);
+        }
+
+        IndexedMinimumSpanningTreeAlgo instance = new IndexedMinimumSpanningTreeAlgo();
+        IntArrayList kruskal = instance.findMinimumSpanningTree(graph, weights);
+        IntArrayList boruvka = instance.findMinimumSpanningTreeParallel(graph, weights);
+
+        SimpleMutableDirectedGraph<Integer, Integer> expected = new MinimumSpanningTreeAlgo()
+                .findMinimumSpanningTreeGraph(objectGraph, (Integer e) -> weights[e]);
+        double expectedWeight = 0;
+        for (Integer v : expected.getVertices()) {
+            for (Arc<Integer, Integer> arc : expected.getNextArcs(v)) {
+                expectedWeight += weights[arc.getArrow()];
+            }
+        }
+        expectedWeight /= 2;
+
+        assertEquals(expected.getArrowCount() / 2 * 3, kruskal.size());
+        assertEquals(expectedWeight, weight(kruskal, weights));
+        assertEquals(edgeSet(kruskal), edgeSet(boruvka));
+        assertEquals(expected.getArrowCount(), instance.toGraph(vertexCount, kruskal).getArrowCount());
+    }
+
+    private double weight(@NonNull IntArrayList tree, double @NonNull [] weights) {
+        double sum = 0;
+        for (int i = 0; i < tree.size(); i += 3) {
+            sum += weights[tree.getAsInt(i + 2)];
+        }
+        return sum;
+    }
+
+    private @NonNull Set<Integer> edgeSet(@NonNull IntArrayList tree) {
+        Set<Integer> edges = new HashSet<>();
+        for (int i = 0; i < tree.size(); i += 3) {
+            edges.add(tree.getAsInt(i + 2));
+        }
+        return edges;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * @(#)IndexedGraphvizReaderTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.io;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.collection.IndexedStringTable;
+import org.jhotdraw8.graph.ChunkedMutableIndexedBidiGraph;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link IndexedGraphvizReader}.
+ */
+public class IndexedGraphvizReaderTest {
+    private final static String DOT = "digraph G {\n"
+            + "a [label=\"A\"];\n"
+            + "a -> b -> c [weight=3];\n"
+            + "c -- d;\n"
+            + "b -> a;\n"
+            + "}";
+
+    @Test
+    public void testReadWithHandler() throws Exception {
+        List<String> events = new ArrayList<>();
+        IndexedStringTable names = new IndexedGraphvizReader().read(DOT, new IndexedGraphvizReader.Handler() {
+            @Override
+            public void vertex(int v, @NonNull String id, @NonNull Map<String, String> attributes) {
+                events.add("v" + v + ":" + id + attributes);
+            }
+
+            @Override
+            public void arrow(int v, int u, @NonNull Map<String, String> attributes) {
+                events.add(v + "->" + u + attributes);
+            }
+        });
+
+        assertEquals(List.of("v0:a{label=A}", "v1:b{}", "v2:c{}",
+                "0->1{weight=3}", "1->2{weight=3}",
+                "v3:d{}", "2->3{}", "3->2{}",
+                "1->0{}"), events);
+        assertEquals(4, names.size());
+        assertEquals("c", names.get(2));
+        assertEquals(3, names.indexOf("d"));
+        assertEquals(-1, names.indexOf("e"));
+    }
+
+    @Test
+    public void testReadIntoIndexedGraph() throws Exception {
+        ChunkedMutableIndexedBidiGraph graph = new ChunkedMutableIndexedBidiGraph();
+        IndexedStringTable names = new IndexedGraphvizReader().read(new StringReader(DOT), graph,
+                attributes -> Integer.parseInt(attributes.getOrDefault("weight", "0")));
+
+        assertEquals(4, graph.getVertexCount());
+        assertEquals(5, graph.getArrowCount());
+        int a = names.indexOf("a"), b = names.indexOf("b"), c = names.indexOf("c"), d = names.indexOf("d");
+        assertTrue(graph.isNextAsInt(a, b));
+        assertTrue(graph.isNextAsInt(b, a));
+        assertTrue(graph.isNextAsInt(c, d));
+        assertTrue(graph.isNextAsInt(d, c));
+        assertEquals(3, graph.getNextArrowAsInt(b, graph.findIndexOfNextAsInt(b, c)));
+    }
+
+    @Test
+    public void testInterningManyVertices() throws Exception {
+        StringBuilder buf = new StringBuilder("digraph {\n");
+        for (int i = 0; i < 1000; i++) {
+            buf.append('v').append(i).append(" -> v").append((i + 1) % 1000).append(";\n");
+        }
+        buf.append('}');
+        ChunkedMutableIndexedBidiGraph graph = new ChunkedMutableIndexedBidiGraph();
+        IndexedStringTable names = new IndexedGraphvizReader().read(new StringReader(buf.toString()), graph);
+        assertEquals(1000, names.size());
+        assertEquals(1000, graph.getArrowCount());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, names.indexOf("v" + i));
+            assertEquals(names.indexOf("v" + (i + 1) % 1000), graph.getNextAsInt(i, 0));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * @(#)IndexedReachabilityIndexTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.path;
+
+import org.jhotdraw8.annotation.NonNull;
+import org.jhotdraw8.graph.ChunkedMutableIndexedBidiGraph;
+import org.jhotdraw8.graph.IndexedDirectedGraph;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Tests {@link IndexedReachabilityIndex}.
+ */
+public class IndexedReachabilityIndexTest {
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsIsReachable() {
+        return Arrays.asList(
+                dynamicTest("closure, sparse", () -> testIsReachable(200, 220, 4096)),
+                dynamicTest("closure, dense", () -> testIsReachable(200, 600, 4096)),
+                dynamicTest("labels, sparse", () -> testIsReachable(200, 220, 0)),
+                dynamicTest("labels, dense", () -> testIsReachable(200, 600, 0))
+        );
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsArrowAdded() {
+        return Arrays.asList(
+                dynamicTest("closure", () -> testArrowAdded(100, 4096)),
+                dynamicTest("labels", () -> testArrowAdded(100, 0)),
+                dynamicTest("labels, many arrows", () -> testArrowAdded(300, 0))
+        );
+    }
+
+    @Test
+    public void testEmptyGraphWithLabels() {
+        ChunkedMutableIndexedBidiGraph graph = new ChunkedMutableIndexedBidiGraph();
+        IndexedReachabilityIndex instance = new IndexedReachabilityIndex(graph, 2, -1);
+        assertEquals(0, instance.getComponentCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> instance.isReachable(0, 1));
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsVertexAddedAfterIndexing() {
+        return Arrays.asList(
+                dynamicTest("closure", () -> testVertexAddedAfterIndexing(4096)),
+                dynamicTest("labels", () -> testVertexAddedAfterIndexing(0))
+        );
+    }
+
+    private void testVertexAddedAfterIndexing(int maxClosureComponents) {
+        ChunkedMutableIndexedBidiGraph graph = new ChunkedMutableIndexedBidiGraph();
+        graph.addVertexAsInt();
+        graph.addVertexAsInt();
+        graph.addArrowAsInt(0, 1);
+        IndexedReachabilityIndex instance = new IndexedReachabilityIndex(graph, 2, maxClosureComponents);
+        // the index is not notified about the new vertex and its arrow
+        graph.addVertexAsInt();
+        graph.addArrowAsInt(1, 2);
+        assertTrue(instance.isReachable(0, 2));
+        assertFalse(instance.isReachable(2, 0));
+        assertAllReachabilities(graph, instance);
+        assertThrows(IndexOutOfBoundsException.class, () -> instance.isReachable(0, 3));
+    }
+
+    private @NonNull ChunkedMutableIndexedBidiGraph createRandomGraph(int vertexCount, int arrowCount, @NonNull Random rnd) {
+        ChunkedMutableIndexedBidiGraph graph = new ChunkedMutableIndexedBidiGraph();
+        for (int i = 0; i < vertexCount; i++) {
+            graph.addVertexAsInt();
+        }
+        for (int i = 0; i < arrowCount; i++) {
+            graph.addArrowIfAbsentAsInt(rnd.nextInt(vertexCount), rnd.nextInt(vertexCount), 0);
+        }
+        return graph;
+    }
+
+    private void testIsReachable(int vertexCount, int arrowCount, int maxClosureComponents) {
+        Random rnd = new Random(vertexCount + arrowCount);
+        ChunkedMutableIndexedBidiGraph graph = createRandomGraph(vertexCount, arrowCount, rnd);
+        IndexedReachabilityIndex instance = new IndexedReachabilityIndex(graph, 2, maxClosureComponents);
+        assertAllReachabilities(graph, instance);
+    }
+
+    private void testArrowAdded(int vertexCount, int maxClosureComponents) {
+        Random rnd = new Random(vertexCount);
+        ChunkedMutableIndexedBidiGraph graph = createRandomGraph(vertexCount, vertexCount / 2, rnd);
+        IndexedReachabilityIndex instance = new IndexedReachabilityIndex(graph, 3, maxClosureComponents);
+        int componentCount = instance.getComponentCount();
+        for (int i = 0; i < vertexCount; i++) {
+            int v = rnd.nextInt(vertexCount), u = rnd.nextInt(vertexCount);
+            if (graph.addArrowIfAbsentAsInt(v, u, 0)) {
+                instance.arrowAdded(v, u);
+            }
+            if (i % 10 == 0) {
+                assertAllReachabilities(graph, instance);
+            }
+        }
+        assertAllReachabilities(graph, instance);
+        // the index has been updated incrementally, and not been rebuilt
+        assertEquals(componentCount, instance.getComponentCount());
+    }
+
+    private void assertAllReachabilities(@NonNull IndexedDirectedGraph graph, @NonNull IndexedReachabilityIndex instance) {
+        for (int v = 0, n = graph.getVertexCount(); v < n; v++) {
+            BitSet expected = reachableFrom(graph, v);
+            for (int u = 0; u < n; u++) {
+                assertEquals(expected.get(u), instance.isReachable(v, u), "v=" + v + " u=" + u);
+            }
+        }
+    }
+
+    private @NonNull BitSet reachableFrom(@NonNull IndexedDirectedGraph graph, int v) {
+        BitSet visited = new BitSet();
+        int[] stack = new int[graph.getVertexCount()];
+        int top = 0;
+        stack[0] = v;
+        visited.set(v);
+        while (top >= 0) {
+            int x = stack[top--];
+            for (int i = 0, n = graph.getNextCount(x); i < n; i++) {
+                int u = graph.getNextAsInt(x, i);
+                if (!visited.get(u)) {
+                    visited.set(u);
+                    stack[++top] = u;
+                }
+            }
+        }
+        return visited;
+    }
+}
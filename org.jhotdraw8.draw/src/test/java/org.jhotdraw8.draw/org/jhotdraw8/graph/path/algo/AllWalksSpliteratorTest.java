@@ -6,22 +6,30 @@ package org.jhotdraw8.graph.path.algo;
 
 import org.jhotdraw8.annotation.NonNull;
 import org.jhotdraw8.collection.ImmutableList;
+import org.jhotdraw8.collection.IntArrayList;
 import org.jhotdraw8.collection.ImmutableLists;
 import org.jhotdraw8.collection.OrderedPair;
+import org.jhotdraw8.graph.ChunkedMutableIndexedBidiGraph;
 import org.jhotdraw8.graph.DirectedGraph;
 import org.jhotdraw8.graph.SimpleMutableDirectedGraph;
 import org.jhotdraw8.graph.path.CombinedAllSequencesFinder;
 import org.jhotdraw8.graph.path.SimpleCombinedAllWalksFinder;
+import org.jhotdraw8.graph.path.backlink.ArcBackLinkWithCost;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.TestFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
 /**
@@ -116,4 +124,129 @@ public class AllWalksSpliteratorTest {
                 .map(OrderedPair::first).collect(Collectors.toList());
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsFindAllPathsDepthFirst() {
+        DirectedGraph<Integer, Double> graph = createGraph2();
+
+        return Arrays.asList(
+                dynamicTest("1", () -> testFindAllPathsDepthFirst(graph, 1, 5, 4, Arrays.asList(
+                        ImmutableLists.of(1, 2, 3, 4, 5),
+                        ImmutableLists.of(1, 2, 3, 5),
+                        ImmutableLists.of(1, 3, 4, 5),
+                        ImmutableLists.of(1, 3, 5)
+                ))),
+                dynamicTest("2", () -> testFindAllPathsDepthFirst(graph, 1, 5, 3, Arrays.asList(
+                        ImmutableLists.of(1, 2, 3, 5),
+                        ImmutableLists.of(1, 3, 4, 5),
+                        ImmutableLists.of(1, 3, 5)
+                )))
+        );
+    }
+
+    private void testFindAllPathsDepthFirst(@NonNull DirectedGraph<Integer, Double> graph, int start, int goal, double maxCost, List<ImmutableList<Integer>> expected) {
+        List<ImmutableList<Integer>> actual = StreamSupport.stream(newDepthFirstInstance(graph, start, goal, maxCost), false)
+                .map(OrderedPair::first).collect(Collectors.toList());
+        assertEquals(expected, actual);
+
+        Set<ImmutableList<Integer>> actualParallel = StreamSupport.stream(newDepthFirstInstance(graph, start, goal, maxCost), true)
+                .map(OrderedPair::first).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(expected), actualParallel);
+    }
+
+    private @NonNull DepthFirstAllWalksSpliterator<Integer, Double, Double, Integer> newDepthFirstInstance(
+            @NonNull DirectedGraph<Integer, Double> graph, int start, int goal, double maxCost) {
+        return new DepthFirstAllWalksSpliterator<>(
+                Collections.singletonList(start), a -> a == goal, graph::getNextArcs,
+                backLink -> ArcBackLinkWithCost.toVertexSequence(backLink, ArcBackLinkWithCost::getVertex),
+                Integer.MAX_VALUE, maxCost, 0.0, (u, v, a) -> a, Double::sum);
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsFindAllPathsIndexed() {
+        // same graph as createGraph2, but with vertex indices 0..4
+        ChunkedMutableIndexedBidiGraph graph = new ChunkedMutableIndexedBidiGraph();
+        for (int i = 0; i < 5; i++) {
+            graph.addVertexAsInt();
+        }
+        graph.addArrowAsInt(0, 1);
+        graph.addArrowAsInt(0, 2);
+        graph.addArrowAsInt(1, 2);
+        graph.addArrowAsInt(2, 3);
+        graph.addArrowAsInt(2, 4);
+        graph.addArrowAsInt(3, 4);
+
+        return Arrays.asList(
+                dynamicTest("1", () -> testFindAllPathsIndexed(graph, new int[]{0}, 4, 4, Arrays.asList(
+                        ImmutableLists.of(0, 1, 2, 3, 4),
+                        ImmutableLists.of(0, 1, 2, 4),
+                        ImmutableLists.of(0, 2, 3, 4),
+                        ImmutableLists.of(0, 2, 4)
+                ))),
+                dynamicTest("2", () -> testFindAllPathsIndexed(graph, new int[]{0}, 4, 3, Arrays.asList(
+                        ImmutableLists.of(0, 1, 2, 4),
+                        ImmutableLists.of(0, 2, 3, 4),
+                        ImmutableLists.of(0, 2, 4)
+                ))),
+                dynamicTest("3", () -> testFindAllPathsIndexed(graph, new int[]{0, 1, 2}, 4, 2, Arrays.asList(
+                        ImmutableLists.of(0, 2, 4),
+                        ImmutableLists.of(1, 2, 4),
+                        ImmutableLists.of(2, 3, 4),
+                        ImmutableLists.of(2, 4)
+                )))
+        );
+    }
+
+    private void testFindAllPathsIndexed(@NonNull ChunkedMutableIndexedBidiGraph graph, int[] starts, int goal, int maxDepth, List<ImmutableList<Integer>> expected) {
+        List<ImmutableList<Integer>> actual = StreamSupport.stream(new IndexedAllWalksSpliterator(graph, starts, v -> v == goal, maxDepth), false)
+                .map(l -> ImmutableLists.copyOf((Collection<Integer>) l)).collect(Collectors.toList());
+        assertEquals(expected, actual);
+
+        Set<ImmutableList<Integer>> actualParallel = StreamSupport.stream(new IndexedAllWalksSpliterator(graph, starts, v -> v == goal, maxDepth), true)
+                .map(l -> ImmutableLists.copyOf((Collection<Integer>) l)).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(expected), actualParallel);
+    }
+
+    @TestFactory
+    public @NonNull List<DynamicTest> dynamicTestsSplitIndexed() {
+        return Arrays.asList(
+                dynamicTest("1", () -> testSplitIndexed(1)),
+                dynamicTest("2", () -> testSplitIndexed(5)),
+                dynamicTest("3", () -> testSplitIndexed(100))
+        );
+    }
+
+    /**
+     * Splits the spliterator repeatedly before and during the enumeration
+     * and checks that all walks are enumerated exactly once.
+     */
+    private void testSplitIndexed(int splitEvery) {
+        // a complete DAG with 8 vertices has 2^6 = 64 walks from vertex 0 to vertex 7
+        ChunkedMutableIndexedBidiGraph graph = new ChunkedMutableIndexedBidiGraph();
+        for (int i = 0; i < 8; i++) {
+            graph.addVertexAsInt();
+        }
+        for (int i = 0; i < 8; i++) {
+            for (int j = i + 1; j < 8; j++) {
+                graph.addArrowAsInt(i, j);
+            }
+        }
+        List<IndexedAllWalksSpliterator> pending = new ArrayList<>();
+        pending.add(new IndexedAllWalksSpliterator(graph, new int[]{0}, v -> v == 7, Integer.MAX_VALUE));
+        Set<IntArrayList> actual = new HashSet<>();
+        int count = 0;
+        while (!pending.isEmpty()) {
+            IndexedAllWalksSpliterator s = pending.remove(pending.size() - 1);
+            while (s.moveNext()) {
+                assertTrue(actual.add(IntArrayList.of(s.current().toIntArray())), "duplicate walk " + s.current());
+                if (++count % splitEvery == 0) {
+                    IndexedAllWalksSpliterator split = s.trySplit();
+                    if (split != null) {
+                        pending.add(split);
+                    }
+                }
+            }
+        }
+        assertEquals(64, actual.size());
+    }
+}
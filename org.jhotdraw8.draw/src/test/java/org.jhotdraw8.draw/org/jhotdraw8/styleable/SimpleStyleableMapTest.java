@@ -8,6 +8,10 @@ package org.jhotdraw8.styleable;
 import javafx.css.StyleOrigin;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -118,5 +122,53 @@ public class SimpleStyleableMapTest {
         assertEquals(0, instance.getMap(StyleOrigin.AUTHOR).entrySet().size());
     }
 
-
+    /**
+     * Test of put, get, remove and resetStyledValues with more keys than
+     * fit into a single bitmap word.
+     */
+    @Test
+    public void testManyKeysInAllOrigins() {
+        // GIVEN
+        SimpleStyleableMap<String, Object> instance = new SimpleStyleableMap<>();
+        StyleOrigin[] origins = StyleOrigin.values();
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] expected = new Map[origins.length];
+        for (int i = 0; i < origins.length; i++) {
+            expected[i] = new HashMap<>();
+        }
+        Random rng = new Random(0);
+
+        for (int i = 0; i < 10_000; i++) {
+            // WHEN a random value is put or removed in a random origin
+            String key = "key" + rng.nextInt(150);
+            int o = rng.nextInt(origins.length);
+            if (rng.nextInt(3) == 0) {
+                assertEquals(expected[o].remove(key), instance.removeKey(origins[o], key));
+            } else {
+                Object value = rng.nextInt(10) == 0 ? null : rng.nextInt(5);
+                boolean hadKey = expected[o].containsKey(key);
+                Object oldValue = expected[o].put(key, value);
+                Object actualOldValue = instance.put(origins[o], key, value);
+                if (hadKey) {
+                    assertEquals(oldValue, actualOldValue);
+                }
+            }
+            if (i % 1000 == 999) {
+                instance.resetStyledValues();
+                for (StyleOrigin origin : origins) {
+                    if (origin != StyleOrigin.USER) {
+                        expected[origin.ordinal()].clear();
+                    }
+                }
+            }
+
+            // THEN the map must contain the same values as the expected maps
+            for (int j = 0; j < origins.length; j++) {
+                assertEquals(expected[j].size(), instance.size(origins[j]));
+                assertEquals(expected[j].containsKey(key), instance.containsKey(origins[j], key));
+                assertEquals(expected[j].get(key), instance.get(origins[j], key));
+            }
+        }
+        assertEquals(expected[StyleOrigin.USER.ordinal()], new HashMap<>(instance));
+    }
 }
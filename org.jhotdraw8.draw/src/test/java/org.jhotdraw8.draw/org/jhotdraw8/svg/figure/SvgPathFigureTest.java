@@ -0,0 +1,55 @@
+/*
+ * @(#)SvgPathFigureTest.java
+ * Copyright © 2022 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.svg.figure;
+
+import javafx.scene.shape.Path;
+import org.jhotdraw8.draw.render.SimpleRenderContext;
+import org.jhotdraw8.geom.ArcLengthTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the {@link SvgPathLengthFigure} support of {@link SvgPathFigure}.
+ */
+public class SvgPathFigureTest {
+    @Test
+    public void testArcLengthTableIsCachedUntilPathChanges() {
+        SimpleRenderContext ctx = new SimpleRenderContext();
+        SvgPathFigure f = new SvgPathFigure();
+        f.set(SvgPathFigure.D, "M0,0 L30,0 L30,40");
+        ArcLengthTable table = f.getArcLengthTable(ctx);
+        assertEquals(70, table.getLength(), 1e-9);
+        assertSame(table, f.getArcLengthTable(ctx));
+
+        f.set(SvgPathFigure.D, "M0,0 L30,0");
+        ArcLengthTable changed = f.getArcLengthTable(ctx);
+        assertNotSame(table, changed);
+        assertEquals(30, changed.getLength(), 1e-9);
+    }
+
+    @Test
+    public void testPathLengthScalesDashes() {
+        SimpleRenderContext ctx = new SimpleRenderContext();
+        SvgPathFigure f = new SvgPathFigure();
+        f.set(SvgPathFigure.D, "M0,0 L100,0");
+        Path shape = new Path();
+        shape.getStrokeDashArray().setAll(1.0, 2.0);
+        shape.setStrokeDashOffset(0.5);
+
+        f.applySvgPathLengthProperties(ctx, shape);
+        assertEquals(1.0, shape.getStrokeDashArray().get(0));
+        assertEquals(0.5, shape.getStrokeDashOffset());
+
+        f.set(SvgPathLengthFigure.PATH_LENGTH, 10.0);
+        f.applySvgPathLengthProperties(ctx, shape);
+        assertEquals(10.0, shape.getStrokeDashArray().get(0), 1e-9);
+        assertEquals(20.0, shape.getStrokeDashArray().get(1), 1e-9);
+        assertEquals(5.0, shape.getStrokeDashOffset(), 1e-9);
+    }
+}